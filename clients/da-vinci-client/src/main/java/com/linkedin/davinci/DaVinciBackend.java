@@ -4,6 +4,7 @@ import static com.linkedin.venice.ConfigKeys.PUSH_STATUS_STORE_DERIVED_SCHEMA_ID
 import static com.linkedin.venice.ConfigKeys.VALIDATE_VENICE_INTERNAL_SCHEMA_VERSION;
 import static java.lang.Thread.currentThread;
 
+import com.linkedin.davinci.client.DaVinciRecordTransformer;
 import com.linkedin.davinci.compression.StorageEngineBackedCompressorFactory;
 import com.linkedin.davinci.config.StoreBackendConfig;
 import com.linkedin.davinci.config.VeniceConfigLoader;
@@ -17,6 +18,8 @@ import com.linkedin.davinci.kafka.consumer.KafkaStoreIngestionService;
 import com.linkedin.davinci.kafka.consumer.StoreIngestionService;
 import com.linkedin.davinci.notifier.VeniceNotifier;
 import com.linkedin.davinci.repository.VeniceMetadataRepositoryBuilder;
+import com.linkedin.davinci.snapshot.PartitionSnapshotServer;
+import com.linkedin.davinci.snapshot.PeerSnapshotBootstrapper;
 import com.linkedin.davinci.stats.AggVersionedStorageEngineStats;
 import com.linkedin.davinci.stats.MetadataUpdateStats;
 import com.linkedin.davinci.stats.RocksDBMemoryStats;
@@ -53,18 +56,21 @@ import com.linkedin.venice.service.AbstractVeniceService;
 import com.linkedin.venice.service.ICProvider;
 import com.linkedin.venice.stats.TehutiUtils;
 import com.linkedin.venice.utils.ComplementSet;
+import com.linkedin.venice.utils.Pair;
 import com.linkedin.venice.utils.Utils;
 import com.linkedin.venice.utils.VeniceProperties;
 import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
 import com.linkedin.venice.writer.VeniceWriterFactory;
 import io.tehuti.metrics.MetricsRepository;
 import java.io.Closeable;
+import java.io.File;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
@@ -95,6 +101,18 @@ public class DaVinciBackend implements Closeable {
   private final ExecutorService ingestionReportExecutor = Executors.newSingleThreadExecutor();
   private final StorageEngineBackedCompressorFactory compressorFactory;
   private final Optional<ObjectCacheBackend> cacheBackend;
+  private final PartitionSnapshotServer snapshotServer;
+  private final PeerSnapshotBootstrapper snapshotBootstrapper;
+  /**
+   * The record transformers registered by the clients of each store, where an empty one means that the store got
+   * registered without a transformer, see {@link #registerRecordTransformer}.
+   */
+  private final Map<String, Optional<DaVinciRecordTransformer>> recordTransformers = new VeniceConcurrentHashMap<>();
+  /**
+   * Local versions which were transformed during ingestion, and which can only be bootstrapped once the client of the
+   * store registers its transformer, since both must match.
+   */
+  private final Map<String, Pair<Version, List<Integer>>> deferredBootstraps = new VeniceConcurrentHashMap<>();
   private DaVinciIngestionBackend ingestionBackend;
   private final AggVersionedStorageEngineStats aggVersionedStorageEngineStats;
 
@@ -222,11 +240,38 @@ public class DaVinciBackend implements Closeable {
           true,
           // TODO: consider how/if a repair task would be valid for Davinci users?
           null,
-          new PubSubClientsFactory(new ApacheKafkaProducerAdapterFactory()));
+          new PubSubClientsFactory(new ApacheKafkaProducerAdapterFactory()),
+          storeName -> recordTransformers.getOrDefault(storeName, Optional.empty()).orElse(null));
 
       ingestionService.start();
       ingestionService.addIngestionNotifier(ingestionListener);
 
+      /**
+       * Snapshots are only shared and restored with in-process ingestion, since the storage engines of isolated
+       * ingestion are owned by the forked process until the partitions are ready to serve.
+       */
+      String snapshotBaseDir = backendConfig.getDataBasePath() + File.separator + "snapshots";
+      if (!isIsolatedIngestion() && backendConfig.getSnapshotServerPort() > 0) {
+        snapshotServer = new PartitionSnapshotServer(
+            backendConfig.getSnapshotServerPort(),
+            snapshotBaseDir,
+            storageService.getStorageEngineRepository(),
+            storageMetadataService,
+            storeVersionStateSerializer);
+        snapshotServer.start();
+      } else {
+        snapshotServer = null;
+      }
+      snapshotBootstrapper = !isIsolatedIngestion() && !backendConfig.getSnapshotBootstrapPeers().isEmpty()
+          ? new PeerSnapshotBootstrapper(
+              backendConfig.getSnapshotBootstrapPeers(),
+              snapshotBaseDir,
+              backendConfig.getSnapshotTransferTimeoutSeconds(),
+              storageMetadataService,
+              partitionStateSerializer,
+              storeVersionStateSerializer)
+          : null;
+
       if (isIsolatedIngestion() && cacheConfig.isPresent()) {
         // TODO: There are 'some' cases where this mix might be ok, (like a batch only store, or with certain TTL
         // settings),
@@ -367,20 +412,122 @@ public class DaVinciBackend implements Closeable {
             storageMetadataService,
             ingestionService,
             storageService)
-        : new DefaultIngestionBackend(storageMetadataService, ingestionService, storageService);
+        : new DefaultIngestionBackend(
+            storageMetadataService,
+            ingestionService,
+            storageService,
+            snapshotBootstrapper);
     ingestionBackend.addIngestionNotifier(ingestionListener);
 
     // Subscribe all bootstrap version partitions.
     storeNameToBootstrapVersionMap.forEach((storeName, version) -> {
       List<Integer> partitions = storeNameToPartitionListMap.get(storeName);
       String versionTopic = version.kafkaTopicName();
-      LOGGER.info("Bootstrapping partitions {} for {}", partitions, versionTopic);
-      aggVersionedStorageEngineStats.setStorageEngine(versionTopic, storageService.getStorageEngine(versionTopic));
       StoreBackend storeBackend = getStoreOrThrow(storeName);
-      storeBackend.subscribe(ComplementSet.newSet(partitions), Optional.of(version));
+      if (storeBackend.getRecordTransformerFingerprint() != null) {
+        LOGGER.info("Deferring bootstrap of {} until its record transformer gets registered", versionTopic);
+        deferredBootstraps.put(storeName, new Pair<>(version, partitions));
+        return;
+      }
+      bootstrapVersion(storeBackend, version, partitions);
     });
   }
 
+  private void bootstrapVersion(StoreBackend storeBackend, Version version, List<Integer> partitions) {
+    String versionTopic = version.kafkaTopicName();
+    LOGGER.info("Bootstrapping partitions {} for {}", partitions, versionTopic);
+    aggVersionedStorageEngineStats.setStorageEngine(versionTopic, storageService.getStorageEngine(versionTopic));
+    storeBackend.subscribe(ComplementSet.newSet(partitions), Optional.of(version));
+  }
+
+  /**
+   * Register the record transformer of a store, or the lack thereof, before the store gets subscribed. All the clients
+   * of a store must agree on the transformer, since they share the local data.
+   *
+   * When the local data of the store was transformed by a transformer with a different output fingerprint, or from a
+   * different latest value schema, or was not transformed while it now should be, or the other way around, the local
+   * data gets dropped so that the store is re-ingested from scratch. Otherwise, the bootstrap of the local data which
+   * was deferred until now is resumed.
+   */
+  public synchronized void registerRecordTransformer(String storeName, DaVinciRecordTransformer recordTransformer) {
+    String outputFingerprint = recordTransformer == null ? null : recordTransformer.getOutputFingerprint();
+    Optional<DaVinciRecordTransformer> registeredTransformer = recordTransformers.get(storeName);
+    if (registeredTransformer != null) {
+      String registeredFingerprint =
+          registeredTransformer.map(DaVinciRecordTransformer::getOutputFingerprint).orElse(null);
+      if (!Objects.equals(registeredFingerprint, outputFingerprint)) {
+        throw new VeniceException(
+            "Record transformer conflicts with the one of another client, storeName=" + storeName + ", fingerprint="
+                + outputFingerprint + ", registeredFingerprint=" + registeredFingerprint);
+      }
+      return;
+    }
+    if (recordTransformer != null && (isIsolatedIngestion() || cacheBackend.isPresent())) {
+      throw new VeniceException(
+          "Record transformer is not supported along with ingestion isolation or the object cache, storeName="
+              + storeName);
+    }
+
+    StoreBackend storeBackend = getStoreOrThrow(storeName);
+    String fingerprint = getRecordTransformerFingerprint(storeName, recordTransformer);
+    Pair<Version, List<Integer>> deferredBootstrap = deferredBootstraps.remove(storeName);
+    if (!Objects.equals(storeBackend.getRecordTransformerFingerprint(), fingerprint)) {
+      LOGGER.info(
+          "Dropping local data of store {} since it was transformed with {} rather than {}",
+          storeName,
+          storeBackend.getRecordTransformerFingerprint(),
+          fingerprint);
+      if (deferredBootstrap != null) {
+        storageService.removeStorageEngine(deferredBootstrap.getFirst().kafkaTopicName());
+        deferredBootstrap = null;
+      }
+      deleteStore(storeName);
+      storeBackend = getStoreOrThrow(storeName);
+      storeBackend.setRecordTransformerFingerprint(fingerprint);
+    }
+    // Registered before resuming the bootstrap, since the ingestion tasks look the transformer up when created.
+    recordTransformers.put(storeName, Optional.ofNullable(recordTransformer));
+    if (deferredBootstrap != null) {
+      bootstrapVersion(storeBackend, deferredBootstrap.getFirst(), deferredBootstrap.getSecond());
+    }
+  }
+
+  /**
+   * The values are handed over to the transformer deserialized with the latest value schema of the store, hence the
+   * local data depends on that schema as well as on the output of the transformer.
+   */
+  private String getRecordTransformerFingerprint(String storeName, DaVinciRecordTransformer recordTransformer) {
+    if (recordTransformer == null) {
+      return null;
+    }
+    int valueSchemaId = schemaRepository.getSupersetOrLatestValueSchema(storeName).getId();
+    return recordTransformer.getOutputFingerprint() + ":" + valueSchemaId;
+  }
+
+  /**
+   * Re-ingest the subscribed partitions of a store whose local data was transformed from an older latest value schema,
+   * so that the transformer also gets the fields which were added since. This is checked whenever the store changes,
+   * e.g. when its superset schema is updated or a new version gets pushed, as well as when the transformer is
+   * registered.
+   */
+  private synchronized void tryRetransformStore(String storeName, StoreBackend storeBackend) {
+    DaVinciRecordTransformer recordTransformer =
+        recordTransformers.getOrDefault(storeName, Optional.empty()).orElse(null);
+    if (recordTransformer == null) {
+      return;
+    }
+    String fingerprint = getRecordTransformerFingerprint(storeName, recordTransformer);
+    if (!Objects.equals(storeBackend.getRecordTransformerFingerprint(), fingerprint)) {
+      LOGGER.info(
+          "Re-transforming local data of store {} since it was transformed with {} rather than {}",
+          storeName,
+          storeBackend.getRecordTransformerFingerprint(),
+          fingerprint);
+      storeBackend.setRecordTransformerFingerprint(fingerprint);
+      storeBackend.resubscribe();
+    }
+  }
+
   @Override
   public synchronized void close() {
     LOGGER.info("Closing Da Vinci backend");
@@ -414,6 +561,9 @@ public class DaVinciBackend implements Closeable {
     }
 
     try {
+      if (snapshotServer != null) {
+        snapshotServer.stop();
+      }
       ingestionBackend.close();
       ingestionService.stop();
       storageService.stop();
@@ -566,6 +716,7 @@ public class DaVinciBackend implements Closeable {
     public void handleStoreChanged(Store store) {
       StoreBackend storeBackend = storeByNameMap.get(store.getName());
       if (storeBackend != null) {
+        tryRetransformStore(store.getName(), storeBackend);
         DaVinciBackend.this.handleStoreChanged(storeBackend);
       }
     }
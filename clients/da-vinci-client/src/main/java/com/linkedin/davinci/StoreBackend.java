@@ -100,6 +100,15 @@ public class StoreBackend {
     config.store();
   }
 
+  String getRecordTransformerFingerprint() {
+    return config.getRecordTransformerFingerprint();
+  }
+
+  void setRecordTransformerFingerprint(String fingerprint) {
+    config.setRecordTransformerFingerprint(fingerprint);
+    config.store();
+  }
+
   public StoreBackendStats getStats() {
     return stats;
   }
@@ -180,6 +189,32 @@ public class StoreBackend {
     });
   }
 
+  /**
+   * Drop the local data of all the subscribed partitions and ingest them again, e.g. when the local data was
+   * transformed by a record transformer whose input changed since. The partitions are not served until they are ready
+   * again.
+   */
+  synchronized CompletableFuture<Void> resubscribe() {
+    if (subscription.isEmpty()) {
+      return CompletableFuture.completedFuture(null);
+    }
+    LOGGER.info("Re-ingesting partitions {} of store {}", subscription, storeName);
+    ComplementSet<Integer> partitions = ComplementSet.newSet(subscription);
+    subscription.clear();
+
+    if (daVinciFutureVersion != null) {
+      deleteFutureVersion();
+    }
+
+    if (daVinciCurrentVersion != null) {
+      VersionBackend version = daVinciCurrentVersion;
+      daVinciCurrentVersionRef.clear();
+      setDaVinciCurrentVersion(null);
+      version.delete();
+    }
+    return subscribe(partitions);
+  }
+
   public synchronized void unsubscribe(ComplementSet<Integer> partitions) {
     LOGGER.info("Unsubscribing from partitions {} of {}", partitions, storeName);
     subscription.removeAll(partitions);
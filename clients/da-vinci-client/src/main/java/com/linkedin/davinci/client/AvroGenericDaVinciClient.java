@@ -11,6 +11,8 @@ import static com.linkedin.venice.ConfigKeys.CLUSTER_NAME;
 import static com.linkedin.venice.ConfigKeys.INGESTION_USE_DA_VINCI_CLIENT;
 import static com.linkedin.venice.ConfigKeys.KAFKA_ADMIN_CLASS;
 import static com.linkedin.venice.ConfigKeys.KAFKA_BOOTSTRAP_SERVERS;
+import static com.linkedin.venice.ConfigKeys.PERSISTENCE_TYPE;
+import static com.linkedin.venice.ConfigKeys.SERVER_INGESTION_MODE;
 import static com.linkedin.venice.ConfigKeys.ZOOKEEPER_ADDRESS;
 import static com.linkedin.venice.client.store.ClientFactory.getAndStartAvroClient;
 import static com.linkedin.venice.client.store.ClientFactory.getTransportClient;
@@ -23,6 +25,8 @@ import com.linkedin.davinci.config.VeniceConfigLoader;
 import com.linkedin.davinci.storage.chunking.AbstractAvroChunkingAdapter;
 import com.linkedin.davinci.storage.chunking.GenericChunkingAdapter;
 import com.linkedin.davinci.storage.chunking.GenericRecordChunkingAdapter;
+import com.linkedin.davinci.storage.chunking.LazyRecordChunkingAdapter;
+import com.linkedin.davinci.storage.chunking.TransformedRecordChunkingAdapter;
 import com.linkedin.davinci.store.cache.backend.ObjectCacheBackend;
 import com.linkedin.davinci.store.cache.backend.ObjectCacheConfig;
 import com.linkedin.venice.client.exceptions.ServiceDiscoveryException;
@@ -41,10 +45,13 @@ import com.linkedin.venice.common.VeniceSystemStoreType;
 import com.linkedin.venice.compute.ComputeRequestWrapper;
 import com.linkedin.venice.controllerapi.D2ServiceDiscoveryResponseV2;
 import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.meta.IngestionMode;
+import com.linkedin.venice.meta.PersistenceType;
 import com.linkedin.venice.meta.Store;
 import com.linkedin.venice.meta.Version;
 import com.linkedin.venice.pubsub.adapter.kafka.admin.ApacheKafkaAdminAdapter;
 import com.linkedin.venice.serializer.FastSerializerDeserializerFactory;
+import com.linkedin.venice.serializer.LazyGenericRecord;
 import com.linkedin.venice.serializer.RecordDeserializer;
 import com.linkedin.venice.serializer.RecordSerializer;
 import com.linkedin.venice.service.ICProvider;
@@ -55,15 +62,20 @@ import com.linkedin.venice.utils.ReferenceCounted;
 import com.linkedin.venice.utils.VeniceProperties;
 import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
@@ -77,6 +89,16 @@ import org.apache.logging.log4j.Logger;
 public class AvroGenericDaVinciClient<K, V> implements DaVinciClient<K, V>, AvroGenericReadComputeStoreClient<K, V> {
   protected final Logger logger = LogManager.getLogger(getClass());
 
+  private static class PartitionKeys<K> {
+    final List<K> keys = new ArrayList<>();
+    final List<byte[]> keyBytes = new ArrayList<>();
+
+    void add(K key, byte[] keyBytes) {
+      this.keys.add(key);
+      this.keyBytes.add(keyBytes);
+    }
+  }
+
   private static class ReusableObjects {
     final ByteBuffer rawValue = ByteBuffer.allocate(1024 * 1024);
     final BinaryDecoder binaryDecoder = DecoderFactory.defaultFactory().createBinaryDecoder(new byte[16], null);
@@ -150,7 +172,10 @@ public class AvroGenericDaVinciClient<K, V> implements DaVinciClient<K, V>, Avro
     this.backendConfig = backendConfig;
     this.managedClients = managedClients;
     this.icProvider = icProvider;
-    this.chunkingAdapter = chunkingAdapter;
+    // The values persisted by a record transformer can only be read with its output schema.
+    this.chunkingAdapter = daVinciConfig.getRecordTransformer() == null
+        ? chunkingAdapter
+        : new TransformedRecordChunkingAdapter<>(daVinciConfig.getRecordTransformer().getOutputValueSchema());
     preValidation.run();
   }
 
@@ -286,6 +311,51 @@ public class AvroGenericDaVinciClient<K, V> implements DaVinciClient<K, V>, Avro
     }
   }
 
+  @Override
+  public CompletableFuture<GenericRecord> getLazy(K key, LazyGenericRecord reusableView) {
+    throwIfNotReady();
+    throwIfRecordTransformerEnabled("getLazy");
+    try (ReferenceCounted<VersionBackend> versionRef = storeBackend.getDaVinciCurrentVersion()) {
+      VersionBackend versionBackend = versionRef.get();
+      if (versionBackend == null) {
+        if (isVeniceQueryAllowed()) {
+          return getRemoteGenericRecord(key);
+        }
+        storeBackend.getStats().recordBadRequest();
+        throw new VeniceClientException("Da Vinci client is not subscribed, storeName=" + getStoreName());
+      }
+
+      byte[] keyBytes = keySerializer.serialize(key);
+      int partition = versionBackend.getPartition(keyBytes);
+
+      if (isPartitionReadyToServe(versionBackend, partition)) {
+        ReusableObjects reusableObjects = REUSABLE_OBJECTS.get();
+        GenericRecord value = versionBackend.read(
+            partition,
+            keyBytes,
+            LazyRecordChunkingAdapter.INSTANCE,
+            reusableObjects.binaryDecoder,
+            reusableObjects.rawValue,
+            reusableView);
+        return CompletableFuture.completedFuture(value);
+      }
+
+      if (isVeniceQueryAllowed()) {
+        return getRemoteGenericRecord(key);
+      }
+
+      if (!isPartitionSubscribed(versionBackend, partition)) {
+        storeBackend.getStats().recordBadRequest();
+        throw new NonLocalAccessException(versionBackend.toString(), partition);
+      }
+      return CompletableFuture.completedFuture(null);
+    }
+  }
+
+  private CompletableFuture<GenericRecord> getRemoteGenericRecord(K key) {
+    return veniceClient.get(key).thenApply(value -> (GenericRecord) value);
+  }
+
   CompletableFuture<Map<K, V>> batchGetFromLocalStorage(Iterable<K> keys) {
     // expose underlying getAll functionality.
     Map<K, V> result = new HashMap<>();
@@ -298,6 +368,9 @@ public class AvroGenericDaVinciClient<K, V> implements DaVinciClient<K, V>, Avro
         storeBackend.getStats().recordBadRequest();
         throw new VeniceClientException("Da Vinci client is not subscribed, storeName=" + getStoreName());
       }
+      if (daVinciConfig.getReadExecutor() != null) {
+        return batchGetFromLocalStorageInParallel(versionBackend, keys);
+      }
       Set<K> missingKeys = new HashSet<>();
       ReusableObjects reusableObjects = REUSABLE_OBJECTS.get();
       for (K key: keys) {
@@ -337,6 +410,67 @@ public class AvroGenericDaVinciClient<K, V> implements DaVinciClient<K, V>, Avro
     }
   }
 
+  /**
+   * Same as {@link #batchGetFromLocalStorage}, except that the keys are grouped by partition, and the partitions are
+   * read in parallel with {@link #executeInParallel}. Each partition gets its own result map, so that the tasks don't
+   * need to synchronize, and the maps are merged once all the partitions have been read.
+   */
+  private CompletableFuture<Map<K, V>> batchGetFromLocalStorageInParallel(
+      VersionBackend versionBackend,
+      Iterable<K> keys) {
+    Set<K> missingKeys = new HashSet<>();
+    Map<Integer, PartitionKeys<K>> keysByPartition = new HashMap<>();
+    for (K key: keys) {
+      byte[] keyBytes = keySerializer.serialize(key);
+      int partition = versionBackend.getPartition(keyBytes);
+
+      if (isPartitionReadyToServe(versionBackend, partition)) {
+        keysByPartition.computeIfAbsent(partition, p -> new PartitionKeys<>()).add(key, keyBytes);
+      } else if (isVeniceQueryAllowed()) {
+        missingKeys.add(key);
+      } else if (!isPartitionSubscribed(versionBackend, partition)) {
+        storeBackend.getStats().recordBadRequest();
+        throw new NonLocalAccessException(versionBackend.toString(), partition);
+      }
+    }
+
+    List<Map<K, V>> partitionResults = new ArrayList<>(keysByPartition.size());
+    List<Runnable> tasks = new ArrayList<>(keysByPartition.size());
+    for (Map.Entry<Integer, PartitionKeys<K>> entry: keysByPartition.entrySet()) {
+      int partition = entry.getKey();
+      PartitionKeys<K> partitionKeys = entry.getValue();
+      Map<K, V> partitionResult = new HashMap<>();
+      partitionResults.add(partitionResult);
+      tasks.add(() -> {
+        ReusableObjects reusableObjects = REUSABLE_OBJECTS.get();
+        for (int i = 0; i < partitionKeys.keys.size(); i++) {
+          V value = versionBackend.read(
+              partition,
+              partitionKeys.keyBytes.get(i),
+              getAvroChunkingAdapter(),
+              reusableObjects.binaryDecoder,
+              reusableObjects.rawValue,
+              null);
+          if (value != null) {
+            partitionResult.put(partitionKeys.keys.get(i), value);
+          }
+        }
+      });
+    }
+    executeInParallel(tasks);
+
+    Map<K, V> result = new HashMap<>();
+    partitionResults.forEach(result::putAll);
+    if (missingKeys.isEmpty()) {
+      return CompletableFuture.completedFuture(result);
+    }
+
+    return veniceClient.batchGet(missingKeys).thenApply(veniceResult -> {
+      result.putAll(veniceResult);
+      return result;
+    });
+  }
+
   @Override
   public CompletableFuture<Map<K, V>> batchGet(Set<K> keys) {
     throwIfNotReady();
@@ -366,6 +500,7 @@ public class AvroGenericDaVinciClient<K, V> implements DaVinciClient<K, V>, Avro
       Optional<ClientStats> stats,
       Optional<ClientStats> streamingStats,
       long preRequestTimeInNS) {
+    throwIfRecordTransformerEnabled("compute");
     return new AvroComputeRequestBuilderV4<K>(this, getLatestValueSchema()).setStats(streamingStats);
   }
 
@@ -411,6 +546,11 @@ public class AvroGenericDaVinciClient<K, V> implements DaVinciClient<K, V>, Avro
         return;
       }
 
+      if (daVinciConfig.getReadExecutor() != null) {
+        computeInParallel(versionBackend, computeRequestWrapper, keys, resultSchema, callback, preRequestTimeInNS);
+        return;
+      }
+
       Set<K> missingKeys = new HashSet<>();
 
       ReusableObjects reusableObjects = REUSABLE_OBJECTS.get();
@@ -462,12 +602,80 @@ public class AvroGenericDaVinciClient<K, V> implements DaVinciClient<K, V>, Avro
     }
   }
 
+  /**
+   * Same as {@link #compute(ComputeRequestWrapper, Set, Schema, StreamingCallback, long)}, except that the keys are
+   * grouped by partition, and the partitions are computed in parallel with {@link #executeInParallel}. Results are
+   * streamed into the callback by each task as they are computed, which {@link StreamingCallback} allows.
+   */
+  private void computeInParallel(
+      VersionBackend versionBackend,
+      ComputeRequestWrapper computeRequestWrapper,
+      Set<K> keys,
+      Schema resultSchema,
+      StreamingCallback<K, ComputeGenericRecord> callback,
+      long preRequestTimeInNS) {
+    Set<K> missingKeys = new HashSet<>();
+    Map<Integer, PartitionKeys<K>> keysByPartition = new HashMap<>();
+    for (K key: keys) {
+      byte[] keyBytes = keySerializer.serialize(key);
+      int partition = versionBackend.getPartition(keyBytes);
+
+      if (isPartitionReadyToServe(versionBackend, partition)) {
+        keysByPartition.computeIfAbsent(partition, p -> new PartitionKeys<>()).add(key, keyBytes);
+      } else if (isVeniceQueryAllowed()) {
+        missingKeys.add(key);
+      } else if (!isPartitionSubscribed(versionBackend, partition)) {
+        storeBackend.getStats().recordBadRequest();
+        callback.onCompletion(Optional.of(new NonLocalAccessException(versionBackend.toString(), partition)));
+        return;
+      }
+    }
+
+    Schema valueSchema = computeRequestWrapper.getValueSchema();
+    Schema computeResultSchema = getComputeResultSchema(computeRequestWrapper);
+    List<Runnable> tasks = new ArrayList<>(keysByPartition.size());
+    for (Map.Entry<Integer, PartitionKeys<K>> entry: keysByPartition.entrySet()) {
+      int partition = entry.getKey();
+      PartitionKeys<K> partitionKeys = entry.getValue();
+      tasks.add(() -> {
+        ReusableObjects reusableObjects = REUSABLE_OBJECTS.get();
+        GenericRecord reuseValueRecord =
+            reusableObjects.reuseValueRecordMap.computeIfAbsent(valueSchema, k -> new GenericData.Record(valueSchema));
+        Map<String, Object> globalContext = new HashMap<>();
+        for (int i = 0; i < partitionKeys.keys.size(); i++) {
+          GenericRecord computeResultValue = versionBackend.compute(
+              partition,
+              partitionKeys.keyBytes.get(i),
+              getGenericRecordChunkingAdapter(),
+              reusableObjects.binaryDecoder,
+              reusableObjects.rawValue,
+              reuseValueRecord,
+              globalContext,
+              computeRequestWrapper,
+              computeResultSchema);
+          callback.onRecordReceived(
+              partitionKeys.keys.get(i),
+              computeResultValue == null ? null : new ComputeGenericRecord(computeResultValue, valueSchema));
+        }
+      });
+    }
+    executeInParallel(tasks);
+
+    if (missingKeys.isEmpty()) {
+      callback.onCompletion(Optional.empty());
+      return;
+    }
+
+    veniceClient.compute(computeRequestWrapper, missingKeys, resultSchema, callback, preRequestTimeInNS);
+  }
+
   @Override
   public void computeWithKeyPrefixFilter(
       byte[] keyPrefix,
       ComputeRequestWrapper computeRequestWrapper,
       StreamingCallback<GenericRecord, GenericRecord> callback) {
     throwIfNotReady();
+    throwIfRecordTransformerEnabled("computeWithKeyPrefixFilter");
     try (ReferenceCounted<VersionBackend> versionRef = storeBackend.getDaVinciCurrentVersion()) {
       VersionBackend versionBackend = versionRef.get();
       if (versionBackend == null) {
@@ -484,39 +692,92 @@ public class AvroGenericDaVinciClient<K, V> implements DaVinciClient<K, V>, Avro
         return;
       }
 
-      ReusableObjects reusableObjects = REUSABLE_OBJECTS.get();
       Schema valueSchema = computeRequestWrapper.getValueSchema();
-      GenericRecord reuseValueRecord =
-          reusableObjects.reuseValueRecordMap.computeIfAbsent(valueSchema, k -> new GenericData.Record(valueSchema));
-
-      Map<String, Object> globalContext = new HashMap<>();
       Schema computeResultSchema = getComputeResultSchema(computeRequestWrapper);
 
+      // Each partition is scanned by its own task, which may run in parallel with the others, see executeInParallel.
+      List<Runnable> tasks = new ArrayList<>();
       int partitionCount = versionBackend.getPartitionCount();
       for (int currPartition = 0; currPartition < partitionCount; currPartition++) {
         if (isPartitionReadyToServe(versionBackend, currPartition)) {
-          try {
+          int partition = currPartition;
+          tasks.add(() -> {
+            ReusableObjects reusableObjects = REUSABLE_OBJECTS.get();
+            GenericRecord reuseValueRecord = reusableObjects.reuseValueRecordMap
+                .computeIfAbsent(valueSchema, k -> new GenericData.Record(valueSchema));
             versionBackend.computeWithKeyPrefixFilter(
                 keyPrefix,
-                currPartition,
+                partition,
                 callback,
                 computeRequestWrapper,
                 getGenericRecordChunkingAdapter(),
                 (RecordDeserializer<GenericRecord>) keyDeserializer,
                 reuseValueRecord,
                 reusableObjects.binaryDecoder,
-                globalContext,
+                new HashMap<>(),
                 computeResultSchema);
-          } catch (VeniceException e) {
-            callback.onCompletion(Optional.of(e));
-            return;
-          }
+          });
         }
       }
+      try {
+        executeInParallel(tasks);
+      } catch (VeniceException e) {
+        callback.onCompletion(Optional.of(e));
+        return;
+      }
       callback.onCompletion(Optional.empty());
     }
   }
 
+  /**
+   * Run the given tasks and wait for all of them to complete. If {@link DaVinciConfig#getReadExecutor()} is set, all
+   * tasks but the last one are submitted to it, and the last one runs on the caller thread, otherwise they all run
+   * sequentially on the caller thread. Tasks fall back to the caller thread if the executor rejects them.
+   *
+   * Tasks are expected to use the {@link ReusableObjects} of the thread running them, so that reads remain free of
+   * per-request allocations whichever thread serves them.
+   *
+   * @throws RuntimeException the first exception thrown by a task, once all of them are done.
+   */
+  private void executeInParallel(List<Runnable> tasks) {
+    Executor executor = daVinciConfig.getReadExecutor();
+    if (executor == null || tasks.size() < 2) {
+      tasks.forEach(Runnable::run);
+      return;
+    }
+
+    List<CompletableFuture<Void>> futures = new ArrayList<>(tasks.size() - 1);
+    for (Runnable task: tasks.subList(0, tasks.size() - 1)) {
+      try {
+        futures.add(CompletableFuture.runAsync(task, executor));
+      } catch (RejectedExecutionException e) {
+        futures.add(CompletableFuture.runAsync(task, Runnable::run));
+      }
+    }
+
+    RuntimeException error = null;
+    try {
+      tasks.get(tasks.size() - 1).run();
+    } catch (RuntimeException e) {
+      error = e;
+    }
+    // Wait for all the tasks even after a failure, since they rely on the version being retained by the caller.
+    for (CompletableFuture<Void> future: futures) {
+      try {
+        future.join();
+      } catch (CompletionException e) {
+        if (error == null) {
+          error = e.getCause() instanceof RuntimeException
+              ? (RuntimeException) e.getCause()
+              : new VeniceClientException(e.getCause());
+        }
+      }
+    }
+    if (error != null) {
+      throw error;
+    }
+  }
+
   private boolean handleCallbackForEmptyKeySet(Set<K> keys, StreamingCallback callback) {
     if (keys.isEmpty()) {
       // no result for empty key set
@@ -566,6 +827,17 @@ public class AvroGenericDaVinciClient<K, V> implements DaVinciClient<K, V>, Avro
     }
   }
 
+  /**
+   * Compute and lazy reads work against the value schemas of the store, which do not describe the values persisted by
+   * a record transformer.
+   */
+  private void throwIfRecordTransformerEnabled(String operation) {
+    if (daVinciConfig.getRecordTransformer() != null) {
+      throw new VeniceClientException(
+          operation + " is not supported along with a record transformer, storeName=" + getStoreName());
+    }
+  }
+
   protected AbstractAvroChunkingAdapter<V> getAvroChunkingAdapter() {
     return chunkingAdapter;
   }
@@ -605,7 +877,8 @@ public class AvroGenericDaVinciClient<K, V> implements DaVinciClient<K, V>, Avro
     if (kafkaBootstrapServers == null) {
       kafkaBootstrapServers = backendConfig.getString(KAFKA_BOOTSTRAP_SERVERS);
     }
-    VeniceProperties config = new PropertyBuilder().put(KAFKA_ADMIN_CLASS, ApacheKafkaAdminAdapter.class.getName())
+    PropertyBuilder propertyBuilder = new PropertyBuilder();
+    propertyBuilder.put(KAFKA_ADMIN_CLASS, ApacheKafkaAdminAdapter.class.getName())
         .put(ROCKSDB_LEVEL0_FILE_NUM_COMPACTION_TRIGGER, 4) // RocksDB default config
         .put(ROCKSDB_LEVEL0_SLOWDOWN_WRITES_TRIGGER, 20) // RocksDB default config
         .put(ROCKSDB_LEVEL0_STOPS_WRITES_TRIGGER, 36) // RocksDB default config
@@ -617,8 +890,20 @@ public class AvroGenericDaVinciClient<K, V> implements DaVinciClient<K, V>, Avro
         .put(ZOOKEEPER_ADDRESS, zkAddress)
         .put(KAFKA_BOOTSTRAP_SERVERS, kafkaBootstrapServers)
         .put(ROCKSDB_PLAIN_TABLE_FORMAT_ENABLED, daVinciConfig.getStorageClass() == StorageClass.MEMORY_BACKED_BY_DISK)
-        .put(INGESTION_USE_DA_VINCI_CLIENT, true)
-        .build();
+        .put(INGESTION_USE_DA_VINCI_CLIENT, true);
+    if (daVinciConfig.getStorageClass() == StorageClass.MEMORY_OFF_HEAP) {
+      /**
+       * The isolated ingestion process hands the ingested partitions over to the main process through the local
+       * storage, which does not work with storage that does not outlive the process.
+       */
+      String ingestionMode = backendConfig.getString(SERVER_INGESTION_MODE, IngestionMode.BUILT_IN.toString());
+      if (IngestionMode.valueOf(ingestionMode) == IngestionMode.ISOLATED) {
+        throw new VeniceException(
+            "Storage class " + StorageClass.MEMORY_OFF_HEAP + " does not support ingestion isolation");
+      }
+      propertyBuilder.put(PERSISTENCE_TYPE, PersistenceType.OFF_HEAP_MEMORY);
+    }
+    VeniceProperties config = propertyBuilder.build();
     logger.info("backendConfig=" + config.toString(true));
     return new VeniceConfigLoader(config, config);
   }
@@ -662,6 +947,17 @@ public class AvroGenericDaVinciClient<K, V> implements DaVinciClient<K, V>, Avro
     }
   }
 
+  /**
+   * Makes the client ready to serve the reads of the given store backend, without going through {@link #start()}.
+   */
+  // Visible for testing
+  synchronized void startWithStoreBackend(StoreBackend storeBackend, Schema keySchema) {
+    this.storeBackend = storeBackend;
+    keySerializer = FastSerializerDeserializerFactory.getFastAvroGenericSerializer(keySchema, false);
+    keyDeserializer = FastSerializerDeserializerFactory.getFastAvroGenericDeserializer(keySchema, keySchema);
+    ready.set(true);
+  }
+
   @Override
   public synchronized void start() {
     if (isReady()) {
@@ -681,6 +977,7 @@ public class AvroGenericDaVinciClient<K, V> implements DaVinciClient<K, V>, Avro
         cacheBackend = getBackend().getObjectCache();
       }
 
+      getBackend().registerRecordTransformer(getStoreName(), daVinciConfig.getRecordTransformer());
       storeBackend = getBackend().getStoreOrThrow(getStoreName());
       if (managedClients.isPresent()) {
         storeBackend.setManaged(daVinciConfig.isManaged());
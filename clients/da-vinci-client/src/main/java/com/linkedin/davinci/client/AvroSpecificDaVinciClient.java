@@ -1,6 +1,7 @@
 package com.linkedin.davinci.client;
 
 import com.linkedin.davinci.storage.chunking.SpecificRecordChunkingAdapter;
+import com.linkedin.venice.client.exceptions.VeniceClientException;
 import com.linkedin.venice.client.store.ClientConfig;
 import com.linkedin.venice.serializer.FastSerializerDeserializerFactory;
 import com.linkedin.venice.service.ICProvider;
@@ -25,6 +26,10 @@ public class AvroSpecificDaVinciClient<K, V extends SpecificRecord> extends Avro
         icProvider,
         new SpecificRecordChunkingAdapter<>(clientConfig.getSpecificValueClass()),
         () -> {
+          if (daVinciConfig.getRecordTransformer() != null) {
+            throw new VeniceClientException(
+                "Record transformer is only supported by the generic client, storeName=" + clientConfig.getStoreName());
+          }
           Class<V> valueClass = clientConfig.getSpecificValueClass();
           FastSerializerDeserializerFactory.verifyWhetherFastSpecificDeserializerWorks(valueClass);
         });
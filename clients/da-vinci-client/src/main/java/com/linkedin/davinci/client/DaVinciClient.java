@@ -1,8 +1,10 @@
 package com.linkedin.davinci.client;
 
 import com.linkedin.venice.client.store.AvroGenericStoreClient;
+import com.linkedin.venice.serializer.LazyGenericRecord;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import org.apache.avro.generic.GenericRecord;
 
 
 /**
@@ -55,4 +57,17 @@ public interface DaVinciClient<K, V> extends AvroGenericStoreClient<K, V> {
    * @return partition count
    */
   int getPartitionCount();
+
+  /**
+   * Look up a record value without deserializing it. The returned record is a view over the serialized value, which
+   * only decodes the fields being accessed, and is therefore much cheaper than {@link #get(Object)} when only a few
+   * fields of large records are needed.
+   *
+   * The lookup bypasses the object cache, if any. The value schema of the store must be a record.
+   *
+   * @param key the key to look up
+   * @param reusableView a view to reuse, which is invalidated by this call, or null to allocate a new one
+   * @return a future of the record, which is the reused view when it is served locally, or null if the key is absent
+   */
+  CompletableFuture<GenericRecord> getLazy(K key, LazyGenericRecord reusableView);
 }
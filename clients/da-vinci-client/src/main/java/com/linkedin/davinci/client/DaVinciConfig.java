@@ -1,6 +1,7 @@
 package com.linkedin.davinci.client;
 
 import com.linkedin.davinci.store.cache.backend.ObjectCacheConfig;
+import java.util.concurrent.Executor;
 
 
 public class DaVinciConfig {
@@ -40,6 +41,17 @@ public class DaVinciConfig {
    */
   private boolean readMetricsEnabled = false;
 
+  /**
+   * Executor used to serve the partitions touched by a batch get or a compute request in parallel. Requests are
+   * served sequentially on the caller thread when it is not set.
+   */
+  private Executor readExecutor = null;
+
+  /**
+   * Transformer applied to the records of the store during ingestion, before they are persisted locally.
+   */
+  private DaVinciRecordTransformer recordTransformer = null;
+
   public DaVinciConfig() {
   }
 
@@ -48,13 +60,16 @@ public class DaVinciConfig {
         .setIsolated(isIsolated())
         .setStorageClass(getStorageClass())
         .setNonLocalAccessPolicy(getNonLocalAccessPolicy())
-        .setCacheConfig(getCacheConfig());
+        .setCacheConfig(getCacheConfig())
+        .setReadExecutor(getReadExecutor())
+        .setRecordTransformer(getRecordTransformer());
   }
 
   @Override
   public String toString() {
     return "DaVinciConfig{" + "managed=" + managed + ", isolated=" + isolated + ", storageClass=" + storageClass
-        + ", nonLocalAccessPolicy=" + nonLocalAccessPolicy + ", cacheConfig=" + cacheConfig + "}";
+        + ", nonLocalAccessPolicy=" + nonLocalAccessPolicy + ", cacheConfig=" + cacheConfig + ", readExecutor="
+        + readExecutor + ", recordTransformer=" + recordTransformer + "}";
   }
 
   public boolean isManaged() {
@@ -113,4 +128,22 @@ public class DaVinciConfig {
   public void setReadMetricsEnabled(boolean readMetricsEnabled) {
     this.readMetricsEnabled = readMetricsEnabled;
   }
+
+  public Executor getReadExecutor() {
+    return readExecutor;
+  }
+
+  public DaVinciConfig setReadExecutor(Executor readExecutor) {
+    this.readExecutor = readExecutor;
+    return this;
+  }
+
+  public DaVinciRecordTransformer getRecordTransformer() {
+    return recordTransformer;
+  }
+
+  public DaVinciConfig setRecordTransformer(DaVinciRecordTransformer recordTransformer) {
+    this.recordTransformer = recordTransformer;
+    return this;
+  }
 }
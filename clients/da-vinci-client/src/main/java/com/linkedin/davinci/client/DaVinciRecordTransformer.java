@@ -0,0 +1,53 @@
+package com.linkedin.davinci.client;
+
+import com.linkedin.venice.utils.lazy.Lazy;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaNormalization;
+
+
+/**
+ * Transforms the records of a store during ingestion, before they are persisted locally, see
+ * {@link DaVinciConfig#setRecordTransformer}. This makes it possible to only keep the projection of the values which
+ * the application actually reads, to filter out records it does not care about, or to precompute derived values,
+ * which saves local storage and deserialization work on the read path.
+ *
+ * The value is handed over deserialized with the latest value schema of the store, while the key is only deserialized
+ * with the key schema of the store if the transformer needs it. The transformed value gets persisted with
+ * {@link #getOutputValueSchema()}, which is also the schema of the values served by the Da Vinci client. Every version
+ * of the store gets transformed while it is ingested, so a new version only becomes current once it has been fully
+ * transformed.
+ *
+ * The local data is tied to {@link #getOutputFingerprint()} and to the latest value schema of the store: when a client
+ * starts with a transformer whose fingerprint differs from the one the local data was transformed with, the local data
+ * is dropped and the store is re-ingested with the new transformer. Likewise, once a newer value schema is registered,
+ * the store is re-ingested on its next change, e.g. the next push, so that the transformer also gets the new fields.
+ *
+ * Transformers are called concurrently from the ingestion threads, hence implementations must be thread-safe.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the input values
+ * @param <O> the type of the output values
+ */
+public abstract class DaVinciRecordTransformer<K, V, O> {
+  /**
+   * @return the schema of the transformed values.
+   */
+  public abstract Schema getOutputValueSchema();
+
+  /**
+   * @param key the key of the record, which gets deserialized on first access
+   * @param value the value of the record, deserialized with the latest value schema of the store
+   * @return the transformed value, which must conform to {@link #getOutputValueSchema()}, or null to not persist the
+   *         record locally, in which case any previous value of the key gets deleted.
+   */
+  public abstract O transform(Lazy<K> key, V value);
+
+  /**
+   * Identifies the output of this transformer. It defaults to the fingerprint of the output schema, and should be
+   * overridden to also include a version of the transformation logic when it can change without the output schema
+   * changing, so that the local data gets re-transformed.
+   */
+  public String getOutputFingerprint() {
+    return Long.toHexString(SchemaNormalization.parsingFingerprint64(getOutputValueSchema()));
+  }
+}
@@ -7,6 +7,7 @@ import com.linkedin.venice.client.store.ComputeGenericRecord;
 import com.linkedin.venice.client.store.ComputeRequestBuilder;
 import com.linkedin.venice.client.store.streaming.StreamingCallback;
 import com.linkedin.venice.compute.ComputeRequestWrapper;
+import com.linkedin.venice.serializer.LazyGenericRecord;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -61,6 +62,11 @@ public class DelegatingAvroGenericDaVinciClient<K, V>
     return delegate.get(key, reusedValue);
   }
 
+  @Override
+  public CompletableFuture<GenericRecord> getLazy(K key, LazyGenericRecord reusableView) {
+    return delegate.getLazy(key, reusableView);
+  }
+
   @Override
   public CompletableFuture<Map<K, V>> batchGet(Set<K> keys) throws VeniceClientException {
     return delegate.batchGet(keys);
@@ -1,5 +1,20 @@
 package com.linkedin.davinci.client;
 
 public enum StorageClass {
-  DISK, MEMORY_BACKED_BY_DISK,
+  /**
+   * The data is stored in RocksDB, with the block based table format.
+   */
+  DISK,
+
+  /**
+   * The data is stored in RocksDB, with the plain table format, which is memory mapped.
+   */
+  MEMORY_BACKED_BY_DISK,
+
+  /**
+   * The data is only kept in off-heap memory, so reads do not go through RocksDB, and the data is re-ingested after
+   * each restart. The size of the memory segments can be tuned with
+   * {@link com.linkedin.venice.ConfigKeys#SERVER_OFF_HEAP_STORAGE_SEGMENT_SIZE}.
+   */
+  MEMORY_OFF_HEAP,
 }
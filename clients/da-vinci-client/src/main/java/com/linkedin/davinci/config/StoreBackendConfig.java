@@ -21,6 +21,7 @@ public class StoreBackendConfig {
 
   public static final String CONFIG_DIRECTORY = "config";
   public static final String IS_MANAGED = "managed";
+  public static final String RECORD_TRANSFORMER_FINGERPRINT = "recordTransformerFingerprint";
 
   private final File file;
   private final Properties props = new Properties();
@@ -81,4 +82,19 @@ public class StoreBackendConfig {
   public void setManaged(boolean isManaged) {
     props.setProperty(IS_MANAGED, String.valueOf(isManaged));
   }
+
+  /**
+   * @return the output fingerprint of the record transformer the local data was written with, or null if none.
+   */
+  public String getRecordTransformerFingerprint() {
+    return props.getProperty(RECORD_TRANSFORMER_FINGERPRINT);
+  }
+
+  public void setRecordTransformerFingerprint(String fingerprint) {
+    if (fingerprint == null) {
+      props.remove(RECORD_TRANSFORMER_FINGERPRINT);
+    } else {
+      props.setProperty(RECORD_TRANSFORMER_FINGERPRINT, fingerprint);
+    }
+  }
 }
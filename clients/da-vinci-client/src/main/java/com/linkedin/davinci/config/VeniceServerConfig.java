@@ -24,6 +24,7 @@ import static com.linkedin.venice.ConfigKeys.SERVER_BLOCKING_QUEUE_TYPE;
 import static com.linkedin.venice.ConfigKeys.SERVER_COMPUTE_FAST_AVRO_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_COMPUTE_QUEUE_CAPACITY;
 import static com.linkedin.venice.ConfigKeys.SERVER_COMPUTE_THREAD_NUM;
+import static com.linkedin.venice.ConfigKeys.SERVER_COMPUTE_VIRTUAL_THREAD_MAX_CONCURRENCY;
 import static com.linkedin.venice.ConfigKeys.SERVER_CONSUMER_POOL_SIZE_PER_KAFKA_CLUSTER;
 import static com.linkedin.venice.ConfigKeys.SERVER_DATABASE_CHECKSUM_VERIFICATION_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_DATABASE_LOOKUP_QUEUE_CAPACITY;
@@ -46,10 +47,14 @@ import static com.linkedin.venice.ConfigKeys.SERVER_HTTP2_INITIAL_WINDOW_SIZE;
 import static com.linkedin.venice.ConfigKeys.SERVER_HTTP2_MAX_CONCURRENT_STREAMS;
 import static com.linkedin.venice.ConfigKeys.SERVER_HTTP2_MAX_FRAME_SIZE;
 import static com.linkedin.venice.ConfigKeys.SERVER_HTTP2_MAX_HEADER_LIST_SIZE;
+import static com.linkedin.venice.ConfigKeys.SERVER_INCREMENTAL_WRITE_COMPUTE_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_INGESTION_CHECKPOINT_DURING_GRACEFUL_SHUTDOWN_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_INGESTION_ISOLATION_APPLICATION_PORT;
 import static com.linkedin.venice.ConfigKeys.SERVER_INGESTION_ISOLATION_SERVICE_PORT;
 import static com.linkedin.venice.ConfigKeys.SERVER_INGESTION_MODE;
+import static com.linkedin.venice.ConfigKeys.SERVER_INGESTION_OBJECT_POOLING_ENABLED;
+import static com.linkedin.venice.ConfigKeys.SERVER_INGESTION_OBJECT_POOL_CAPACITY;
+import static com.linkedin.venice.ConfigKeys.SERVER_INGESTION_OBJECT_POOL_LEAK_DETECTION_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_KAFKA_CONSUMER_OFFSET_COLLECTION_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_KAFKA_MAX_POLL_RECORDS;
 import static com.linkedin.venice.ConfigKeys.SERVER_KAFKA_POLL_RETRY_BACKOFF_MS;
@@ -64,6 +69,7 @@ import static com.linkedin.venice.ConfigKeys.SERVER_NETTY_IDLE_TIME_SECONDS;
 import static com.linkedin.venice.ConfigKeys.SERVER_NETTY_WORKER_THREADS;
 import static com.linkedin.venice.ConfigKeys.SERVER_NODE_CAPACITY_RCU;
 import static com.linkedin.venice.ConfigKeys.SERVER_NUM_SCHEMA_FAST_CLASS_WARMUP;
+import static com.linkedin.venice.ConfigKeys.SERVER_OFF_HEAP_STORAGE_SEGMENT_SIZE;
 import static com.linkedin.venice.ConfigKeys.SERVER_OPTIMIZE_DATABASE_FOR_BACKUP_VERSION_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_OPTIMIZE_DATABASE_FOR_BACKUP_VERSION_NO_READ_THRESHOLD_SECONDS;
 import static com.linkedin.venice.ConfigKeys.SERVER_OPTIMIZE_DATABASE_SERVICE_SCHEDULE_INTERNAL_SECONDS;
@@ -77,15 +83,22 @@ import static com.linkedin.venice.ConfigKeys.SERVER_REST_SERVICE_EPOLL_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_REST_SERVICE_STORAGE_THREAD_NUM;
 import static com.linkedin.venice.ConfigKeys.SERVER_ROCKSDB_STORAGE_CONFIG_CHECK_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_ROUTER_CONNECTION_WARMING_DELAY_MS;
+import static com.linkedin.venice.ConfigKeys.SERVER_SCAN_MAX_PAGE_SIZE_IN_BYTES;
+import static com.linkedin.venice.ConfigKeys.SERVER_SCAN_MAX_PAGE_TIME_MS;
 import static com.linkedin.venice.ConfigKeys.SERVER_SCHEMA_FAST_CLASS_WARMUP_TIMEOUT;
 import static com.linkedin.venice.ConfigKeys.SERVER_SCHEMA_PRESENCE_CHECK_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_SHARED_CONSUMER_ASSIGNMENT_STRATEGY;
 import static com.linkedin.venice.ConfigKeys.SERVER_SHARED_CONSUMER_NON_EXISTING_TOPIC_CLEANUP_DELAY_MS;
 import static com.linkedin.venice.ConfigKeys.SERVER_SHARED_KAFKA_PRODUCER_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_SHUTDOWN_DISK_UNHEALTHY_TIME_MS;
+import static com.linkedin.venice.ConfigKeys.SERVER_SNAPSHOT_BOOTSTRAP_PEERS;
+import static com.linkedin.venice.ConfigKeys.SERVER_SNAPSHOT_SERVER_PORT;
+import static com.linkedin.venice.ConfigKeys.SERVER_SNAPSHOT_TRANSFER_TIMEOUT_SECONDS;
 import static com.linkedin.venice.ConfigKeys.SERVER_SOURCE_TOPIC_OFFSET_CHECK_INTERVAL_MS;
 import static com.linkedin.venice.ConfigKeys.SERVER_SSL_HANDSHAKE_QUEUE_CAPACITY;
 import static com.linkedin.venice.ConfigKeys.SERVER_SSL_HANDSHAKE_THREAD_POOL_SIZE;
+import static com.linkedin.venice.ConfigKeys.SERVER_STORAGE_READ_VIRTUAL_THREAD_ENABLED;
+import static com.linkedin.venice.ConfigKeys.SERVER_STORAGE_READ_VIRTUAL_THREAD_MAX_CONCURRENCY;
 import static com.linkedin.venice.ConfigKeys.SERVER_STORE_TO_EARLY_TERMINATION_THRESHOLD_MS_MAP;
 import static com.linkedin.venice.ConfigKeys.SERVER_SYSTEM_STORE_PROMOTION_TO_LEADER_REPLICA_DELAY_SECONDS;
 import static com.linkedin.venice.ConfigKeys.SERVER_UNSUB_AFTER_BATCHPUSH;
@@ -204,6 +217,10 @@ public class VeniceServerConfig extends VeniceClusterConfig {
    */
   private final long storeWriterBufferNotifyDelta;
 
+  private final boolean ingestionObjectPoolingEnabled;
+  private final int ingestionObjectPoolCapacity;
+  private final boolean ingestionObjectPoolLeakDetectionEnabled;
+
   /**
    * The number of threads being used to serve get requests.
    */
@@ -277,6 +294,16 @@ public class VeniceServerConfig extends VeniceClusterConfig {
 
   private final boolean computeFastAvroEnabled;
 
+  private final boolean incrementalWriteComputeEnabled;
+
+  private final int offHeapStorageSegmentSize;
+
+  private final int snapshotServerPort;
+
+  private final List<String> snapshotBootstrapPeers;
+
+  private final int snapshotTransferTimeoutSeconds;
+
   private final long participantMessageConsumptionDelayMs;
 
   /**
@@ -296,6 +323,20 @@ public class VeniceServerConfig extends VeniceClusterConfig {
 
   private final int parallelBatchGetChunkSize;
 
+  private final long scanMaxPageSizeInBytes;
+
+  private final long scanMaxPageTimeMs;
+
+  /**
+   * Whether storage read and compute requests run on virtual threads, bounded by the max concurrency configs below,
+   * instead of on the fixed size thread pools.
+   */
+  private final boolean storageReadVirtualThreadEnabled;
+
+  private final int storageReadVirtualThreadMaxConcurrency;
+
+  private final int computeVirtualThreadMaxConcurrency;
+
   private final boolean keyValueProfilingEnabled;
 
   private final boolean enableDatabaseMemoryStats;
@@ -424,6 +465,10 @@ public class VeniceServerConfig extends VeniceClusterConfig {
     storeWriterBufferMemoryCapacity =
         serverProperties.getSizeInBytes(STORE_WRITER_BUFFER_MEMORY_CAPACITY, 10 * 1024 * 1024);
     storeWriterBufferNotifyDelta = serverProperties.getSizeInBytes(STORE_WRITER_BUFFER_NOTIFY_DELTA, 1 * 1024 * 1024);
+    ingestionObjectPoolingEnabled = serverProperties.getBoolean(SERVER_INGESTION_OBJECT_POOLING_ENABLED, false);
+    ingestionObjectPoolCapacity = serverProperties.getInt(SERVER_INGESTION_OBJECT_POOL_CAPACITY, 10000);
+    ingestionObjectPoolLeakDetectionEnabled =
+        serverProperties.getBoolean(SERVER_INGESTION_OBJECT_POOL_LEAK_DETECTION_ENABLED, false);
     restServiceStorageThreadNum = serverProperties.getInt(SERVER_REST_SERVICE_STORAGE_THREAD_NUM, 16);
     serverComputeThreadNum = serverProperties.getInt(SERVER_COMPUTE_THREAD_NUM, 16);
     nettyIdleTimeInSeconds = serverProperties.getInt(SERVER_NETTY_IDLE_TIME_SECONDS, (int) TimeUnit.HOURS.toSeconds(3));
@@ -461,6 +506,12 @@ public class VeniceServerConfig extends VeniceClusterConfig {
         TimeUnit.SECONDS.toMillis(serverProperties.getLong(SERVER_DISK_HEALTH_CHECK_TIMEOUT_IN_SECONDS, 30));
     diskHealthCheckServiceEnabled = serverProperties.getBoolean(SERVER_DISK_HEALTH_CHECK_SERVICE_ENABLED, true);
     computeFastAvroEnabled = serverProperties.getBoolean(SERVER_COMPUTE_FAST_AVRO_ENABLED, true);
+    incrementalWriteComputeEnabled = serverProperties.getBoolean(SERVER_INCREMENTAL_WRITE_COMPUTE_ENABLED, false);
+    offHeapStorageSegmentSize =
+        (int) serverProperties.getSizeInBytes(SERVER_OFF_HEAP_STORAGE_SEGMENT_SIZE, 16 * 1024 * 1024);
+    snapshotServerPort = serverProperties.getInt(SERVER_SNAPSHOT_SERVER_PORT, -1);
+    snapshotBootstrapPeers = serverProperties.getList(SERVER_SNAPSHOT_BOOTSTRAP_PEERS, Collections.emptyList());
+    snapshotTransferTimeoutSeconds = serverProperties.getInt(SERVER_SNAPSHOT_TRANSFER_TIMEOUT_SECONDS, 60);
     participantMessageConsumptionDelayMs = serverProperties.getLong(PARTICIPANT_MESSAGE_CONSUMPTION_DELAY_MS, 60000);
     serverPromotionToLeaderReplicaDelayMs =
         TimeUnit.SECONDS.toMillis(serverProperties.getLong(SERVER_PROMOTION_TO_LEADER_REPLICA_DELAY_SECONDS, 300));
@@ -470,6 +521,13 @@ public class VeniceServerConfig extends VeniceClusterConfig {
 
     enableParallelBatchGet = serverProperties.getBoolean(SERVER_ENABLE_PARALLEL_BATCH_GET, false);
     parallelBatchGetChunkSize = serverProperties.getInt(SERVER_PARALLEL_BATCH_GET_CHUNK_SIZE, 5);
+    scanMaxPageSizeInBytes = serverProperties.getSizeInBytes(SERVER_SCAN_MAX_PAGE_SIZE_IN_BYTES, 1024 * 1024);
+    scanMaxPageTimeMs = serverProperties.getLong(SERVER_SCAN_MAX_PAGE_TIME_MS, 100);
+    storageReadVirtualThreadEnabled = serverProperties.getBoolean(SERVER_STORAGE_READ_VIRTUAL_THREAD_ENABLED, false);
+    storageReadVirtualThreadMaxConcurrency =
+        serverProperties.getInt(SERVER_STORAGE_READ_VIRTUAL_THREAD_MAX_CONCURRENCY, 256);
+    computeVirtualThreadMaxConcurrency =
+        serverProperties.getInt(SERVER_COMPUTE_VIRTUAL_THREAD_MAX_CONCURRENCY, serverComputeThreadNum);
 
     keyValueProfilingEnabled = serverProperties.getBoolean(KEY_VALUE_PROFILING_ENABLED, false);
     enableDatabaseMemoryStats = serverProperties.getBoolean(SERVER_DATABASE_MEMORY_STATS_ENABLED, true);
@@ -660,6 +718,18 @@ public class VeniceServerConfig extends VeniceClusterConfig {
     return this.storeWriterBufferAfterLeaderLogicEnabled;
   }
 
+  public boolean isIngestionObjectPoolingEnabled() {
+    return ingestionObjectPoolingEnabled;
+  }
+
+  public int getIngestionObjectPoolCapacity() {
+    return ingestionObjectPoolCapacity;
+  }
+
+  public boolean isIngestionObjectPoolLeakDetectionEnabled() {
+    return ingestionObjectPoolLeakDetectionEnabled;
+  }
+
   public long getStoreWriterBufferMemoryCapacity() {
     return this.storeWriterBufferMemoryCapacity;
   }
@@ -760,6 +830,26 @@ public class VeniceServerConfig extends VeniceClusterConfig {
     return computeFastAvroEnabled;
   }
 
+  public boolean isIncrementalWriteComputeEnabled() {
+    return incrementalWriteComputeEnabled;
+  }
+
+  public int getOffHeapStorageSegmentSize() {
+    return offHeapStorageSegmentSize;
+  }
+
+  public int getSnapshotServerPort() {
+    return snapshotServerPort;
+  }
+
+  public List<String> getSnapshotBootstrapPeers() {
+    return snapshotBootstrapPeers;
+  }
+
+  public int getSnapshotTransferTimeoutSeconds() {
+    return snapshotTransferTimeoutSeconds;
+  }
+
   public long getParticipantMessageConsumptionDelayMs() {
     return participantMessageConsumptionDelayMs;
   }
@@ -784,6 +874,26 @@ public class VeniceServerConfig extends VeniceClusterConfig {
     return parallelBatchGetChunkSize;
   }
 
+  public long getScanMaxPageSizeInBytes() {
+    return scanMaxPageSizeInBytes;
+  }
+
+  public long getScanMaxPageTimeMs() {
+    return scanMaxPageTimeMs;
+  }
+
+  public boolean isStorageReadVirtualThreadEnabled() {
+    return storageReadVirtualThreadEnabled;
+  }
+
+  public int getStorageReadVirtualThreadMaxConcurrency() {
+    return storageReadVirtualThreadMaxConcurrency;
+  }
+
+  public int getComputeVirtualThreadMaxConcurrency() {
+    return computeVirtualThreadMaxConcurrency;
+  }
+
   public boolean isKeyValueProfilingEnabled() {
     return keyValueProfilingEnabled;
   }
@@ -19,6 +19,18 @@ public class ChangelogClientConfig<T extends SpecificRecord> {
   private String controllerD2ServiceName;
   private int controllerRequestRetryCount;
 
+  /**
+   * Pipelined polling: a background fetcher prefetches records from Kafka, a pool of workers decompresses, deserializes
+   * and assembles them in parallel (preserving the order within each partition), and
+   * {@link VeniceChangelogConsumer#poll} only drains the events which are ready.
+   */
+  private boolean pipelinedPollEnabled = false;
+  // Upper bound of records fetched but not yet returned by poll, beyond which the fetcher stops prefetching.
+  private int pipelineMaxBufferedRecords = 10000;
+  private int pipelineWorkerCount = 4;
+  // Local directory where seekToCompactedSnapshot materializes the version topic.
+  private String compactedSnapshotPath;
+
   public ChangelogClientConfig(String storeName) {
     this.innerClientConfig = new ClientConfig<>(storeName);
   }
@@ -117,6 +129,42 @@ public class ChangelogClientConfig<T extends SpecificRecord> {
     return this.controllerRequestRetryCount;
   }
 
+  public ChangelogClientConfig<T> setPipelinedPollEnabled(boolean pipelinedPollEnabled) {
+    this.pipelinedPollEnabled = pipelinedPollEnabled;
+    return this;
+  }
+
+  public boolean isPipelinedPollEnabled() {
+    return this.pipelinedPollEnabled;
+  }
+
+  public ChangelogClientConfig<T> setPipelineMaxBufferedRecords(int pipelineMaxBufferedRecords) {
+    this.pipelineMaxBufferedRecords = pipelineMaxBufferedRecords;
+    return this;
+  }
+
+  public int getPipelineMaxBufferedRecords() {
+    return this.pipelineMaxBufferedRecords;
+  }
+
+  public ChangelogClientConfig<T> setPipelineWorkerCount(int pipelineWorkerCount) {
+    this.pipelineWorkerCount = pipelineWorkerCount;
+    return this;
+  }
+
+  public int getPipelineWorkerCount() {
+    return this.pipelineWorkerCount;
+  }
+
+  public ChangelogClientConfig<T> setCompactedSnapshotPath(String compactedSnapshotPath) {
+    this.compactedSnapshotPath = compactedSnapshotPath;
+    return this;
+  }
+
+  public String getCompactedSnapshotPath() {
+    return this.compactedSnapshotPath;
+  }
+
   public ClientConfig<T> getInnerClientConfig() {
     return this.innerClientConfig;
   }
@@ -131,7 +179,12 @@ public class ChangelogClientConfig<T extends SpecificRecord> {
         .setD2ControllerClient(config.getD2ControllerClient())
         .setControllerD2ServiceName(config.controllerD2ServiceName)
         .setD2Client(config.getD2Client())
-        .setControllerRequestRetryCount(config.getControllerRequestRetryCount());
+        .setControllerRequestRetryCount(config.getControllerRequestRetryCount())
+        .setPipelinedPollEnabled(config.isPipelinedPollEnabled())
+        .setPipelineMaxBufferedRecords(config.getPipelineMaxBufferedRecords())
+        .setPipelineWorkerCount(config.getPipelineWorkerCount())
+        .setCompactedSnapshotPath(config.getCompactedSnapshotPath());
+    newConfig.getInnerClientConfig().setMetricsRepository(config.getInnerClientConfig().getMetricsRepository());
     return newConfig;
   }
 }
@@ -0,0 +1,268 @@
+package com.linkedin.davinci.consumer;
+
+import com.linkedin.davinci.stats.ChangelogConsumerPipelineStats;
+import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.kafka.protocol.KafkaMessageEnvelope;
+import com.linkedin.venice.message.KafkaKey;
+import com.linkedin.venice.pubsub.api.PubSubMessage;
+import com.linkedin.venice.utils.DaemonThreadFactory;
+import com.linkedin.venice.utils.Utils;
+import io.tehuti.metrics.MetricsRepository;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+
+/**
+ * The pipelined polling mode of {@link VeniceChangelogConsumerImpl}, see
+ * {@link ChangelogClientConfig#setPipelinedPollEnabled}.
+ *
+ * A background fetcher polls Kafka and hands the records of each partition over to a worker, chosen by partition, so
+ * that the records of a partition are always converted into change events by the same thread and in order, while
+ * different partitions get decompressed, deserialized and assembled in parallel. The ready events are buffered until
+ * {@link #poll} drains them. Once the fetched but not yet drained records reach the configured limit, the fetcher
+ * stops polling Kafka until the application catches up.
+ *
+ * A subscription, seek or topic switch of a partition bumps its epoch in {@link VeniceChangelogConsumerImpl}, and the
+ * records which were fetched under a previous epoch are discarded, as they belong to the old position. So are the
+ * ready events, unless the epoch got bumped by a topic switch of the consumer itself, e.g. on a version swap, in which
+ * case the events converted before the switch are still returned.
+ */
+class ChangelogConsumerPipeline<K, V> implements Closeable {
+  private static final Logger LOGGER = LogManager.getLogger(ChangelogConsumerPipeline.class);
+  static final long FETCH_TIMEOUT_MS = 100;
+
+  private final VeniceChangelogConsumerImpl<K, V> changelogConsumer;
+  private final Consumer<KafkaKey, KafkaMessageEnvelope> kafkaConsumer;
+  private final String topicSuffix;
+  private final int maxBufferedRecords;
+  private final ExecutorService[] workers;
+  private final Thread fetcher;
+  private final BlockingQueue<ReadyEvent<K, V>> readyEvents = new LinkedBlockingQueue<>();
+  private final AtomicInteger inFlightRecords = new AtomicInteger();
+  private final Object bufferLock = new Object();
+  private final AtomicReference<Throwable> failure = new AtomicReference<>();
+  private final ChangelogConsumerPipelineStats stats;
+  private volatile boolean running = true;
+
+  ChangelogConsumerPipeline(
+      VeniceChangelogConsumerImpl<K, V> changelogConsumer,
+      Consumer<KafkaKey, KafkaMessageEnvelope> kafkaConsumer,
+      String topicSuffix,
+      int maxBufferedRecords,
+      int workerCount,
+      MetricsRepository metricsRepository) {
+    if (maxBufferedRecords <= 0 || workerCount <= 0) {
+      throw new VeniceException(
+          "Invalid pipeline config, max buffered records: " + maxBufferedRecords + ", worker count: " + workerCount);
+    }
+    this.changelogConsumer = changelogConsumer;
+    this.kafkaConsumer = kafkaConsumer;
+    this.topicSuffix = topicSuffix;
+    this.maxBufferedRecords = maxBufferedRecords;
+    String storeName = changelogConsumer.storeName;
+    this.workers = new ExecutorService[workerCount];
+    for (int i = 0; i < workerCount; i++) {
+      workers[i] = Executors.newSingleThreadExecutor(new DaemonThreadFactory("ChangelogWorker-" + storeName + "-" + i));
+    }
+    this.stats = metricsRepository == null
+        ? null
+        : new ChangelogConsumerPipelineStats(
+            metricsRepository,
+            storeName,
+            inFlightRecords::get,
+            readyEvents::size);
+    this.fetcher = new DaemonThreadFactory("ChangelogFetcher-" + storeName).newThread(this::runFetcher);
+    this.fetcher.start();
+  }
+
+  Collection<PubSubMessage<K, ChangeEvent<V>, VeniceChangeCoordinate>> poll(long timeoutInMs) {
+    Throwable throwable = failure.getAndSet(null);
+    if (throwable != null) {
+      throw new VeniceException("Pipelined poll failed for store: " + changelogConsumer.storeName, throwable);
+    }
+    List<ReadyEvent<K, V>> drainedEvents = new ArrayList<>();
+    try {
+      ReadyEvent<K, V> firstEvent = readyEvents.poll(timeoutInMs, TimeUnit.MILLISECONDS);
+      if (firstEvent == null) {
+        return Collections.emptyList();
+      }
+      drainedEvents.add(firstEvent);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return Collections.emptyList();
+    }
+    readyEvents.drainTo(drainedEvents);
+    synchronized (bufferLock) {
+      bufferLock.notifyAll();
+    }
+
+    List<PubSubMessage<K, ChangeEvent<V>, VeniceChangeCoordinate>> pubSubMessages =
+        new ArrayList<>(drainedEvents.size());
+    for (ReadyEvent<K, V> event: drainedEvents) {
+      if (changelogConsumer.isDeliverableEpoch(event.message.getPartition(), event.epoch)) {
+        pubSubMessages.add(event.message);
+      }
+    }
+    if (stats != null && !pubSubMessages.isEmpty()) {
+      // The first event is the oldest one, so its lag is the one which matters.
+      long currentTimeMs = System.currentTimeMillis();
+      stats.recordDeliveryLag(currentTimeMs - drainedEvents.get(0).fetchTimeMs);
+      stats.recordEndToEndLag(currentTimeMs - pubSubMessages.get(0).getPubSubMessageTime());
+    }
+    return pubSubMessages;
+  }
+
+  private void runFetcher() {
+    while (running) {
+      try {
+        awaitBufferSpace();
+        if (!running) {
+          break;
+        }
+        List<PartitionBatch> batches = new ArrayList<>();
+        boolean assigned;
+        synchronized (kafkaConsumer) {
+          // Polling without any assignment is illegal, and nothing can be fetched anyway.
+          assigned = !kafkaConsumer.assignment().isEmpty();
+          if (assigned) {
+            ConsumerRecords<KafkaKey, KafkaMessageEnvelope> consumerRecords = kafkaConsumer.poll(FETCH_TIMEOUT_MS);
+            long fetchTimeMs = System.currentTimeMillis();
+            for (TopicPartition topicPartition: consumerRecords.partitions()) {
+              batches.add(
+                  new PartitionBatch(
+                      topicPartition.partition(),
+                      changelogConsumer.getPartitionEpoch(topicPartition.partition()),
+                      fetchTimeMs,
+                      consumerRecords.records(topicPartition)));
+            }
+          }
+        }
+        if (!assigned) {
+          Thread.sleep(FETCH_TIMEOUT_MS);
+          continue;
+        }
+        for (PartitionBatch batch: batches) {
+          inFlightRecords.addAndGet(batch.records.size());
+          workers[batch.partition % workers.length].execute(() -> process(batch));
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      } catch (Throwable t) {
+        if (!running) {
+          break;
+        }
+        LOGGER.error("Change log fetcher failed for store: {}", changelogConsumer.storeName, t);
+        failure.compareAndSet(null, t);
+        // Back off, so that a persistent failure does not turn into a busy loop.
+        if (!Utils.sleep(FETCH_TIMEOUT_MS)) {
+          break;
+        }
+      }
+    }
+  }
+
+  private void awaitBufferSpace() throws InterruptedException {
+    if (inFlightRecords.get() + readyEvents.size() < maxBufferedRecords) {
+      return;
+    }
+    long startTimeMs = System.currentTimeMillis();
+    synchronized (bufferLock) {
+      while (running && inFlightRecords.get() + readyEvents.size() >= maxBufferedRecords) {
+        bufferLock.wait(FETCH_TIMEOUT_MS);
+      }
+    }
+    if (stats != null) {
+      stats.recordBackpressureWaitTime(System.currentTimeMillis() - startTimeMs);
+    }
+  }
+
+  private void process(PartitionBatch batch) {
+    try {
+      List<PubSubMessage<K, ChangeEvent<V>, VeniceChangeCoordinate>> pubSubMessages = new ArrayList<>();
+      changelogConsumer.processPartitionRecords(
+          batch.records,
+          topicSuffix,
+          () -> !running || changelogConsumer.getPartitionEpoch(batch.partition) != batch.epoch,
+          pubSubMessages);
+      for (PubSubMessage<K, ChangeEvent<V>, VeniceChangeCoordinate> pubSubMessage: pubSubMessages) {
+        readyEvents.add(new ReadyEvent<>(pubSubMessage, batch.epoch, batch.fetchTimeMs));
+      }
+    } catch (Throwable t) {
+      LOGGER.error(
+          "Change log worker failed for store: {} partition: {}",
+          changelogConsumer.storeName,
+          batch.partition,
+          t);
+      failure.compareAndSet(null, t);
+    } finally {
+      inFlightRecords.addAndGet(-batch.records.size());
+    }
+  }
+
+  @Override
+  public void close() {
+    running = false;
+    synchronized (bufferLock) {
+      bufferLock.notifyAll();
+    }
+    try {
+      fetcher.join();
+      for (ExecutorService worker: workers) {
+        worker.shutdownNow();
+      }
+      for (ExecutorService worker: workers) {
+        worker.awaitTermination(FETCH_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    readyEvents.clear();
+  }
+
+  private static class PartitionBatch {
+    final int partition;
+    final long epoch;
+    final long fetchTimeMs;
+    final List<ConsumerRecord<KafkaKey, KafkaMessageEnvelope>> records;
+
+    PartitionBatch(
+        int partition,
+        long epoch,
+        long fetchTimeMs,
+        List<ConsumerRecord<KafkaKey, KafkaMessageEnvelope>> records) {
+      this.partition = partition;
+      this.epoch = epoch;
+      this.fetchTimeMs = fetchTimeMs;
+      this.records = records;
+    }
+  }
+
+  private static class ReadyEvent<K, V> {
+    final PubSubMessage<K, ChangeEvent<V>, VeniceChangeCoordinate> message;
+    final long epoch;
+    final long fetchTimeMs;
+
+    ReadyEvent(PubSubMessage<K, ChangeEvent<V>, VeniceChangeCoordinate> message, long epoch, long fetchTimeMs) {
+      this.message = message;
+      this.epoch = epoch;
+      this.fetchTimeMs = fetchTimeMs;
+    }
+  }
+}
@@ -0,0 +1,220 @@
+package com.linkedin.davinci.consumer;
+
+import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.utils.ByteUtils;
+import java.io.Closeable;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.apache.commons.io.FileUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.rocksdb.FlushOptions;
+import org.rocksdb.Options;
+import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+import org.rocksdb.Slice;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
+
+
+/**
+ * Local RocksDB materialization of the version topic, used by
+ * {@link VeniceChangelogConsumer#seekToCompactedSnapshot(java.util.Set)} to deduplicate the records of each partition
+ * before serving them.
+ *
+ * Entries are keyed by the partition (4 bytes, big endian) followed by the key bytes, so that each partition is a
+ * contiguous range which can be iterated and dropped on its own. Values are the value schema id (4 bytes) followed by
+ * the uncompressed and fully assembled value bytes.
+ *
+ * The snapshots are kept across restarts. Each partition records the version topic it was built from and the offset
+ * to resume consuming it from, under keys prefixed by {@link #METADATA_PREFIX} which sort after all the entries. That
+ * offset is written in the same batch as the entry of each record, so it always matches the content even though the
+ * write ahead log is disabled: the memtables are flushed in order, hence a crash can only lose the latest writes
+ * together with their offsets.
+ */
+class CompactedSnapshotStore implements Closeable {
+  private static final Logger LOGGER = LogManager.getLogger(CompactedSnapshotStore.class);
+  private static final int METADATA_PREFIX = -1;
+  private static final byte TOPIC_METADATA = 0;
+  private static final byte NEXT_OFFSET_METADATA = 1;
+
+  static {
+    RocksDB.loadLibrary();
+  }
+
+  private final String path;
+  private final Options options;
+  private final WriteOptions writeOptions;
+  private final RocksDB rocksDB;
+
+  CompactedSnapshotStore(String path) {
+    this.path = path;
+    File dir = new File(path);
+    try {
+      FileUtils.forceMkdir(dir);
+      this.options = new Options().setCreateIfMissing(true);
+      this.writeOptions = new WriteOptions().setDisableWAL(true);
+      this.rocksDB = RocksDB.open(options, path);
+    } catch (Exception e) {
+      throw new VeniceException("Failed to open the compacted snapshot store at: " + path, e);
+    }
+    LOGGER.info("Opened the compacted snapshot store at: {}", path);
+  }
+
+  /**
+   * @return the offset to resume consuming the given partition of the version topic from, which is the one of its end
+   *         of push once the snapshot is complete, or -1 if the partition holds no snapshot of this topic.
+   */
+  long getNextOffset(int partition, String versionTopic) {
+    try {
+      byte[] topic = rocksDB.get(metadataKey(partition, TOPIC_METADATA));
+      if (topic == null || !versionTopic.equals(new String(topic, StandardCharsets.UTF_8))) {
+        return -1;
+      }
+      byte[] nextOffset = rocksDB.get(metadataKey(partition, NEXT_OFFSET_METADATA));
+      return nextOffset == null ? -1 : ByteUtils.readLong(nextOffset, 0);
+    } catch (RocksDBException e) {
+      throw new VeniceException("Failed to read the metadata of the compacted snapshot of partition: " + partition, e);
+    }
+  }
+
+  /**
+   * Drop the snapshot of the given partition, in order to build a new one from the beginning of the version topic.
+   */
+  void resetPartition(int partition, String versionTopic) {
+    try (WriteBatch batch = new WriteBatch()) {
+      batch.deleteRange(partitionPrefix(partition), partitionPrefix(partition + 1));
+      batch.delete(metadataKey(partition, NEXT_OFFSET_METADATA));
+      batch.put(metadataKey(partition, TOPIC_METADATA), versionTopic.getBytes(StandardCharsets.UTF_8));
+      rocksDB.write(writeOptions, batch);
+    } catch (RocksDBException e) {
+      throw new VeniceException("Failed to reset the compacted snapshot of partition: " + partition, e);
+    }
+  }
+
+  void put(int partition, byte[] key, int schemaId, byte[] value, long offset) {
+    byte[] entry = new byte[ByteUtils.SIZE_OF_INT + value.length];
+    ByteUtils.writeInt(entry, schemaId, 0);
+    System.arraycopy(value, 0, entry, ByteUtils.SIZE_OF_INT, value.length);
+    try (WriteBatch batch = new WriteBatch()) {
+      batch.put(toStoreKey(partition, key), entry);
+      batch.put(metadataKey(partition, NEXT_OFFSET_METADATA), toOffsetBytes(offset + 1));
+      rocksDB.write(writeOptions, batch);
+    } catch (RocksDBException e) {
+      throw new VeniceException("Failed to put into the compacted snapshot of partition: " + partition, e);
+    }
+  }
+
+  void delete(int partition, byte[] key, long offset) {
+    try (WriteBatch batch = new WriteBatch()) {
+      batch.delete(toStoreKey(partition, key));
+      batch.put(metadataKey(partition, NEXT_OFFSET_METADATA), toOffsetBytes(offset + 1));
+      rocksDB.write(writeOptions, batch);
+    } catch (RocksDBException e) {
+      throw new VeniceException("Failed to delete from the compacted snapshot of partition: " + partition, e);
+    }
+  }
+
+  /**
+   * Mark the snapshot of the given partition as complete, so that it gets resumed from its end of push, which is then
+   * consumed again to serve the snapshot right away.
+   */
+  void completePartition(int partition, long endOfPushOffset) {
+    try {
+      rocksDB.put(writeOptions, metadataKey(partition, NEXT_OFFSET_METADATA), toOffsetBytes(endOfPushOffset));
+    } catch (RocksDBException e) {
+      throw new VeniceException("Failed to complete the compacted snapshot of partition: " + partition, e);
+    }
+  }
+
+  /**
+   * @return an iterator over the entries of the given partition, in key order, which must be closed by the caller.
+   */
+  PartitionIterator iterate(int partition) {
+    return new PartitionIterator(partition);
+  }
+
+  @Override
+  public void close() {
+    try (FlushOptions flushOptions = new FlushOptions().setWaitForFlush(true)) {
+      rocksDB.flush(flushOptions);
+    } catch (RocksDBException e) {
+      LOGGER.warn("Failed to flush the compacted snapshot store at: {}", path, e);
+    }
+    rocksDB.close();
+    writeOptions.close();
+    options.close();
+  }
+
+  private static byte[] partitionPrefix(int partition) {
+    byte[] prefix = new byte[ByteUtils.SIZE_OF_INT];
+    ByteUtils.writeInt(prefix, partition, 0);
+    return prefix;
+  }
+
+  private static byte[] metadataKey(int partition, byte type) {
+    byte[] metadataKey = new byte[ByteUtils.SIZE_OF_INT * 2 + 1];
+    ByteUtils.writeInt(metadataKey, METADATA_PREFIX, 0);
+    ByteUtils.writeInt(metadataKey, partition, ByteUtils.SIZE_OF_INT);
+    metadataKey[ByteUtils.SIZE_OF_INT * 2] = type;
+    return metadataKey;
+  }
+
+  private static byte[] toOffsetBytes(long offset) {
+    byte[] offsetBytes = new byte[ByteUtils.SIZE_OF_LONG];
+    ByteUtils.writeLong(offsetBytes, offset, 0);
+    return offsetBytes;
+  }
+
+  private static byte[] toStoreKey(int partition, byte[] key) {
+    byte[] storeKey = new byte[ByteUtils.SIZE_OF_INT + key.length];
+    ByteUtils.writeInt(storeKey, partition, 0);
+    System.arraycopy(key, 0, storeKey, ByteUtils.SIZE_OF_INT, key.length);
+    return storeKey;
+  }
+
+  class PartitionIterator implements Closeable {
+    private final Slice upperBound;
+    private final ReadOptions readOptions;
+    private final RocksIterator iterator;
+
+    private PartitionIterator(int partition) {
+      this.upperBound = new Slice(partitionPrefix(partition + 1));
+      this.readOptions = new ReadOptions().setIterateUpperBound(upperBound);
+      this.iterator = rocksDB.newIterator(readOptions);
+      iterator.seek(partitionPrefix(partition));
+    }
+
+    boolean isValid() {
+      return iterator.isValid();
+    }
+
+    byte[] key() {
+      byte[] storeKey = iterator.key();
+      return Arrays.copyOfRange(storeKey, ByteUtils.SIZE_OF_INT, storeKey.length);
+    }
+
+    int schemaId() {
+      return ByteUtils.readInt(iterator.value(), 0);
+    }
+
+    byte[] value() {
+      byte[] entry = iterator.value();
+      return Arrays.copyOfRange(entry, ByteUtils.SIZE_OF_INT, entry.length);
+    }
+
+    void next() {
+      iterator.next();
+    }
+
+    @Override
+    public void close() {
+      iterator.close();
+      readOptions.close();
+      upperBound.close();
+    }
+  }
+}
@@ -46,6 +46,36 @@ public interface VeniceChangelogConsumer<K, V> {
    */
   CompletableFuture<Void> seekToBeginningOfPush();
 
+  /**
+   * Seek to the beginning of the push for a set of partitions like {@link #seekToBeginningOfPush(Set)}, except that the
+   * batch data is not replayed record by record. The consumer first materializes the version topic up to the end of
+   * the push locally (see {@link ChangelogClientConfig#setCompactedSnapshotPath}), and then serves a deduplicated
+   * snapshot holding only the latest value of each key, before switching to the change stream just like
+   * {@link #seekToBeginningOfPush(Set)} would after the end of the push. The cost of bootstrapping is thus proportional
+   * to the amount of live data rather than to the size of the version topic.
+   *
+   * All the events of the snapshot of a partition carry the coordinate of the end of the push, so a checkpoint should
+   * only be taken once the snapshot has been fully consumed.
+   *
+   * The local snapshots are kept along with the offset they were materialized up to. Seeking to the compacted snapshot
+   * again, including after a restart, resumes consuming the version topic from that offset, or serves the snapshot
+   * right away if it is complete. A partition only gets rebuilt from the beginning once the current version changed.
+   *
+   * @param partitions the set of partitions to seek with
+   * @return a future which completes when the operation has succeeded for all partitions.
+   * @throws VeniceException if seek operation failed for any of the partitions, or seeking was performed on unsubscribed partitions
+   */
+  CompletableFuture<Void> seekToCompactedSnapshot(Set<Integer> partitions);
+
+  /**
+   * Seek to the compacted snapshot of all subscribed partitions. See {@link #seekToCompactedSnapshot(Set)} for more
+   * information.
+   *
+   * @return a future which completes when the operation has succeeded for all partitions.
+   * @throws VeniceException if seek operation failed for any of the partitions.
+   */
+  CompletableFuture<Void> seekToCompactedSnapshot();
+
   /**
    * Seek to the end of the last push for a given set of partitions. This instructs the consumer to begin consuming events
    * which are transmitted to Venice following the last batch push.
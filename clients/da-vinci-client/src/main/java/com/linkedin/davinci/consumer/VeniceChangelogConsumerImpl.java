@@ -5,6 +5,7 @@ import static com.linkedin.venice.schema.rmd.RmdConstants.*;
 import com.linkedin.davinci.repository.ThinClientMetaStoreBasedRepository;
 import com.linkedin.davinci.storage.chunking.AbstractAvroChunkingAdapter;
 import com.linkedin.davinci.storage.chunking.GenericChunkingAdapter;
+import com.linkedin.davinci.storage.chunking.RawBytesChunkingAdapter;
 import com.linkedin.davinci.storage.chunking.SpecificRecordChunkingAdapter;
 import com.linkedin.davinci.store.memory.InMemoryStorageEngine;
 import com.linkedin.davinci.store.record.ValueRecord;
@@ -17,6 +18,7 @@ import com.linkedin.venice.controllerapi.D2ControllerClient;
 import com.linkedin.venice.controllerapi.MultiSchemaResponse;
 import com.linkedin.venice.controllerapi.StoreResponse;
 import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.exceptions.VeniceUnsupportedOperationException;
 import com.linkedin.venice.kafka.protocol.ControlMessage;
 import com.linkedin.venice.kafka.protocol.KafkaMessageEnvelope;
 import com.linkedin.venice.kafka.protocol.Put;
@@ -35,12 +37,16 @@ import com.linkedin.venice.pubsub.api.PubSubMessage;
 import com.linkedin.venice.pubsub.api.PubSubTopicPartition;
 import com.linkedin.venice.schema.SchemaReader;
 import com.linkedin.venice.schema.rmd.RmdUtils;
+import com.linkedin.venice.serialization.IdentityRecordDeserializer;
 import com.linkedin.venice.serialization.avro.AvroProtocolDefinition;
+import com.linkedin.venice.serialization.avro.ChunkedValueManifestSerializer;
 import com.linkedin.venice.serializer.FastSerializerDeserializerFactory;
 import com.linkedin.venice.serializer.RecordDeserializer;
 import com.linkedin.venice.serializer.SerializerDeserializerFactory;
+import com.linkedin.venice.utils.ByteUtils;
 import com.linkedin.venice.utils.DictionaryUtils;
 import com.linkedin.venice.utils.VeniceProperties;
+import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
 import com.linkedin.venice.utils.lazy.Lazy;
 import com.linkedin.venice.views.ChangeCaptureView;
 import java.nio.ByteBuffer;
@@ -55,6 +61,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
@@ -72,10 +79,13 @@ public class VeniceChangelogConsumerImpl<K, V> implements VeniceChangelogConsume
   private final int partitionCount;
 
   protected static final VeniceCompressor NO_OP_COMPRESSOR = new NoopCompressor();
+  static final int COMPACTED_SNAPSHOT_EVENTS_PER_POLL = 1000;
+  private static final ChunkedValueManifestSerializer CHUNKED_VALUE_MANIFEST_SERIALIZER =
+      new ChunkedValueManifestSerializer(true);
 
   protected final CompressorFactory compressorFactory = new CompressorFactory();
 
-  protected final HashMap<Integer, VeniceCompressor> compressorMap = new HashMap<>();
+  protected final Map<Integer, VeniceCompressor> compressorMap = new VeniceConcurrentHashMap<>();
 
   protected ThinClientMetaStoreBasedRepository storeRepository;
 
@@ -110,11 +120,29 @@ public class VeniceChangelogConsumerImpl<K, V> implements VeniceChangelogConsume
   // to control and guarantee the behavior we're expecting.
   protected final InMemoryStorageEngine inMemoryStorageEngine;
   protected final Consumer<KafkaKey, KafkaMessageEnvelope> kafkaConsumer;
-  protected final Map<Integer, List<Long>> currentVersionHighWatermarks = new HashMap<>();
+  protected final Map<Integer, List<Long>> currentVersionHighWatermarks = new VeniceConcurrentHashMap<>();
   protected final int[] currentValuePayloadSize;
 
   protected final ChangelogClientConfig changelogClientConfig;
 
+  // Bumped whenever the position of a partition gets changed by a subscription, a seek or a topic switch, so that the
+  // records which the pipelined poll prefetched for the previous position can be told apart and discarded.
+  private final Map<Integer, Long> partitionEpochs = new VeniceConcurrentHashMap<>();
+  // The first epoch whose change events are still to be returned. Unlike the subscriptions and seeks requested by the
+  // application, the topic switches done by the consumer itself, e.g. on a version swap, do not move it, since the
+  // events converted before the switch are still valid.
+  private final Map<Integer, Long> partitionMinDeliverableEpochs = new VeniceConcurrentHashMap<>();
+  private volatile ChangelogConsumerPipeline<K, V> pipeline;
+
+  // Version topic partitions whose records are being materialized into the compacted snapshot store, rather than
+  // returned, until their end of push, see seekToCompactedSnapshot.
+  private final Set<Integer> compactingPartitions = VeniceConcurrentHashMap.newKeySet();
+  // Compacted snapshots being served, by partition. Their version topic partition stays paused until they are fully
+  // served, at which point the end of push is handled as usual. Guarded by its own monitor, which must never be
+  // acquired while holding the one of the kafka consumer.
+  private final Map<Integer, PendingSnapshot> pendingSnapshots = new HashMap<>();
+  private CompactedSnapshotStore compactedSnapshotStore;
+
   public VeniceChangelogConsumerImpl(
       ChangelogClientConfig changelogClientConfig,
       Consumer<KafkaKey, KafkaMessageEnvelope> kafkaConsumer) {
@@ -163,6 +191,13 @@ public class VeniceChangelogConsumerImpl<K, V> implements VeniceChangelogConsume
   }
 
   public CompletableFuture<Void> internalSubscribe(Set<Integer> partitions, String topic) {
+    return internalSubscribe(partitions, topic, true);
+  }
+
+  private CompletableFuture<Void> internalSubscribe(
+      Set<Integer> partitions,
+      String topic,
+      boolean discardConvertedEvents) {
     return CompletableFuture.supplyAsync(() -> {
       try {
         storeRepository.start();
@@ -188,6 +223,7 @@ public class VeniceChangelogConsumerImpl<K, V> implements VeniceChangelogConsume
 
         topicPartitionSet.addAll(topicPartitionList);
         kafkaConsumer.assign(topicPartitionSet);
+        bumpPartitionEpochs(partitions, discardConvertedEvents);
         for (TopicPartition topicPartition: topicPartitionList) {
           if (!topicPartition.topic().endsWith(ChangeCaptureView.CHANGE_CAPTURE_TOPIC_SUFFIX)) {
             compressorMap.put(topicPartition.partition(), getVersionCompressor(topicPartition));
@@ -302,8 +338,56 @@ public class VeniceChangelogConsumerImpl<K, V> implements VeniceChangelogConsume
     return this.subscribe(allPartitions);
   }
 
+  @Override
+  public CompletableFuture<Void> seekToCompactedSnapshot(Set<Integer> partitions) {
+    if (changelogClientConfig.isPipelinedPollEnabled()) {
+      throw new VeniceUnsupportedOperationException("seekToCompactedSnapshot", "when pipelined poll is enabled");
+    }
+    CompactedSnapshotStore snapshotStore = getOrOpenCompactedSnapshotStore();
+    String topic = getCurrentServingVersionTopic();
+    return internalSeek(partitions, topic, topicPartitions -> {
+      List<TopicPartition> topicPartitionsToRebuild = new ArrayList<>();
+      for (TopicPartition topicPartition: topicPartitions) {
+        compactingPartitions.add(topicPartition.partition());
+        long nextOffset = snapshotStore.getNextOffset(topicPartition.partition(), topicPartition.topic());
+        if (nextOffset < 0) {
+          snapshotStore.resetPartition(topicPartition.partition(), topicPartition.topic());
+          topicPartitionsToRebuild.add(topicPartition);
+        } else {
+          // Resume the snapshot kept from a previous run, which gets served right away if it reached the end of push
+          LOGGER.info("Resuming the compacted snapshot of {} from offset: {}", topicPartition, nextOffset);
+          kafkaConsumer.seek(topicPartition, nextOffset);
+        }
+      }
+      if (!topicPartitionsToRebuild.isEmpty()) {
+        kafkaConsumer.seekToBeginning(topicPartitionsToRebuild);
+      }
+    });
+  }
+
+  @Override
+  public CompletableFuture<Void> seekToCompactedSnapshot() {
+    return seekToCompactedSnapshot(
+        kafkaConsumer.assignment()
+            .stream()
+            .map(topicPartition -> topicPartition.partition())
+            .collect(Collectors.toSet()));
+  }
+
+  private synchronized CompactedSnapshotStore getOrOpenCompactedSnapshotStore() {
+    if (compactedSnapshotStore == null) {
+      String path = changelogClientConfig.getCompactedSnapshotPath();
+      if (path == null) {
+        throw new VeniceException("The compacted snapshot path is not configured for store: " + storeName);
+      }
+      compactedSnapshotStore = new CompactedSnapshotStore(path);
+    }
+    return compactedSnapshotStore;
+  }
+
   public CompletableFuture<Void> internalSeek(Set<Integer> partitions, String targetTopic, SeekFunction seekAction) {
     return CompletableFuture.supplyAsync(() -> {
+      cancelCompactedSnapshots(partitions);
       synchronized (kafkaConsumer) {
         Set<TopicPartition> topicPartitionSet = new HashSet<>(kafkaConsumer.assignment());
         // Prune out current subscriptions
@@ -325,6 +409,7 @@ public class VeniceChangelogConsumerImpl<K, V> implements VeniceChangelogConsume
         }
         kafkaConsumer.assign(topicPartitionListToAssign);
         seekAction.apply(topicPartitionListToSeek);
+        bumpPartitionEpochs(partitions, true);
       }
       return null;
     });
@@ -352,6 +437,11 @@ public class VeniceChangelogConsumerImpl<K, V> implements VeniceChangelogConsume
 
   @Override
   public void unsubscribe(Set<Integer> partitions) {
+    unsubscribe(partitions, true);
+  }
+
+  private void unsubscribe(Set<Integer> partitions, boolean discardConvertedEvents) {
+    cancelCompactedSnapshots(partitions);
     synchronized (kafkaConsumer) {
       Set<TopicPartition> topicPartitionSet = new HashSet<>(kafkaConsumer.assignment());
       Set<TopicPartition> newTopicPartitionAssignment = new HashSet<>(topicPartitionSet);
@@ -361,9 +451,34 @@ public class VeniceChangelogConsumerImpl<K, V> implements VeniceChangelogConsume
         }
       }
       kafkaConsumer.assign(newTopicPartitionAssignment);
+      bumpPartitionEpochs(partitions, discardConvertedEvents);
     }
   }
 
+  /**
+   * @param discardConvertedEvents whether the change events already converted for the previous position, but not yet
+   *                               returned, must be discarded
+   */
+  private void bumpPartitionEpochs(Set<Integer> partitions, boolean discardConvertedEvents) {
+    for (Integer partition: partitions) {
+      long epoch = partitionEpochs.merge(partition, 1L, Long::sum);
+      if (discardConvertedEvents) {
+        partitionMinDeliverableEpochs.put(partition, epoch);
+      }
+    }
+  }
+
+  long getPartitionEpoch(int partition) {
+    return partitionEpochs.getOrDefault(partition, 0L);
+  }
+
+  /**
+   * @return whether the change events converted from the records fetched under the given epoch can still be returned
+   */
+  boolean isDeliverableEpoch(int partition, long epoch) {
+    return epoch >= partitionMinDeliverableEpochs.getOrDefault(partition, 0L);
+  }
+
   @Override
   public void unsubscribeAll() {
     Set<Integer> allPartitions = new HashSet<>();
@@ -381,21 +496,60 @@ public class VeniceChangelogConsumerImpl<K, V> implements VeniceChangelogConsume
   protected Collection<PubSubMessage<K, ChangeEvent<V>, VeniceChangeCoordinate>> internalPoll(
       long timeoutInMs,
       String topicSuffix) {
+    if (changelogClientConfig.isPipelinedPollEnabled()) {
+      return getOrStartPipeline(topicSuffix).poll(timeoutInMs);
+    }
     List<PubSubMessage<K, ChangeEvent<V>, VeniceChangeCoordinate>> pubSubMessages = new ArrayList<>();
     List<Integer> partitionsToFilter = new ArrayList<>();
+    // Don't wait for new records when there are already snapshot events to return
+    long kafkaPollTimeoutInMs = serveCompactedSnapshots(pubSubMessages) ? 0 : timeoutInMs;
     ConsumerRecords<KafkaKey, KafkaMessageEnvelope> consumerRecords;
     synchronized (kafkaConsumer) {
-      consumerRecords = kafkaConsumer.poll(timeoutInMs);
+      consumerRecords = kafkaConsumer.poll(kafkaPollTimeoutInMs);
     }
-    for (ConsumerRecord<KafkaKey, KafkaMessageEnvelope> consumerRecord: consumerRecords) {
-      if (partitionsToFilter.contains(consumerRecord.partition())) {
+    for (TopicPartition topicPartition: consumerRecords.partitions()) {
+      if (partitionsToFilter.contains(topicPartition.partition())) {
         continue;
       }
+      if (processPartitionRecords(consumerRecords.records(topicPartition), topicSuffix, () -> false, pubSubMessages)) {
+        partitionsToFilter.add(topicPartition.partition());
+      }
+    }
+    return pubSubMessages;
+  }
+
+  /**
+   * Convert the records of a single partition, in order, into change events.
+   *
+   * @param isStale checked before each record, the remaining records are skipped as soon as it returns true.
+   * @return true if a control message switched the partition to another topic, in which case the remaining records
+   *         were skipped.
+   */
+  protected boolean processPartitionRecords(
+      List<ConsumerRecord<KafkaKey, KafkaMessageEnvelope>> consumerRecords,
+      String topicSuffix,
+      BooleanSupplier isStale,
+      List<PubSubMessage<K, ChangeEvent<V>, VeniceChangeCoordinate>> pubSubMessages) {
+    for (ConsumerRecord<KafkaKey, KafkaMessageEnvelope> consumerRecord: consumerRecords) {
+      if (isStale.getAsBoolean()) {
+        return false;
+      }
       PubSubTopicPartition pubSubTopicPartition = getPubSubTopicPartitionFromConsumerRecord(consumerRecord);
-      if (consumerRecord.key().isControlMessage()) {
+      if (pubSubTopicPartition.getPubSubTopic().isVersionTopic()
+          && compactingPartitions.contains(pubSubTopicPartition.getPartitionNumber())) {
+        if (!consumerRecord.key().isControlMessage()) {
+          materializeRecord(consumerRecord, pubSubTopicPartition);
+        } else {
+          ControlMessage controlMessage = (ControlMessage) consumerRecord.value().payloadUnion;
+          if (ControlMessageType.valueOf(controlMessage).equals(ControlMessageType.END_OF_PUSH)) {
+            startServingCompactedSnapshot(controlMessage, consumerRecord, pubSubTopicPartition, topicSuffix);
+            return true;
+          }
+        }
+      } else if (consumerRecord.key().isControlMessage()) {
         ControlMessage controlMessage = (ControlMessage) consumerRecord.value().payloadUnion;
         if (handleControlMessage(controlMessage, pubSubTopicPartition, topicSuffix)) {
-          partitionsToFilter.add(consumerRecord.partition());
+          return true;
         }
       } else {
         Optional<PubSubMessage<K, ChangeEvent<V>, VeniceChangeCoordinate>> pubSubMessage =
@@ -403,7 +557,159 @@ public class VeniceChangelogConsumerImpl<K, V> implements VeniceChangelogConsume
         pubSubMessage.ifPresent(pubSubMessages::add);
       }
     }
-    return pubSubMessages;
+    return false;
+  }
+
+  /**
+   * Store the latest value of each key of the version topic in the compacted snapshot store, fully assembled and
+   * decompressed, or remove it if it got deleted.
+   */
+  private void materializeRecord(
+      ConsumerRecord<KafkaKey, KafkaMessageEnvelope> consumerRecord,
+      PubSubTopicPartition pubSubTopicPartition) {
+    int partition = pubSubTopicPartition.getPartitionNumber();
+    byte[] keyBytes = consumerRecord.key().getKey();
+    MessageType messageType = MessageType.valueOf(consumerRecord.value());
+    if (messageType.equals(MessageType.DELETE)) {
+      compactedSnapshotStore.delete(partition, keyBytes, consumerRecord.offset());
+      return;
+    }
+    if (!messageType.equals(MessageType.PUT)) {
+      return;
+    }
+    Put put = (Put) consumerRecord.value().payloadUnion;
+    int valueSchemaId = put.getSchemaId();
+    if (valueSchemaId == AvroProtocolDefinition.CHUNKED_VALUE_MANIFEST.getCurrentProtocolVersion()) {
+      valueSchemaId = CHUNKED_VALUE_MANIFEST_SERIALIZER.deserialize(
+          ByteUtils.extractByteArray(put.getPutValue()),
+          AvroProtocolDefinition.CHUNKED_VALUE_MANIFEST.getCurrentProtocolVersion()).schemaId;
+    }
+    ByteBuffer value = bufferAndAssembleRecordChangeEvent(
+        pubSubTopicPartition,
+        put.getSchemaId(),
+        keyBytes,
+        put.getPutValue(),
+        consumerRecord.offset(),
+        RawBytesChunkingAdapter.INSTANCE,
+        Lazy.of(IdentityRecordDeserializer::getInstance),
+        valueSchemaId,
+        storeRepository);
+    // Chunks are only buffered in memory, so the snapshot does not move past them until their value got assembled
+    if (value != null) {
+      compactedSnapshotStore
+          .put(partition, keyBytes, valueSchemaId, ByteUtils.extractByteArray(value), consumerRecord.offset());
+    }
+  }
+
+  private void startServingCompactedSnapshot(
+      ControlMessage endOfPush,
+      ConsumerRecord<KafkaKey, KafkaMessageEnvelope> consumerRecord,
+      PubSubTopicPartition pubSubTopicPartition,
+      String topicSuffix) {
+    int partition = pubSubTopicPartition.getPartitionNumber();
+    compactingPartitions.remove(partition);
+    compactedSnapshotStore.completePartition(partition, consumerRecord.offset());
+    synchronized (kafkaConsumer) {
+      kafkaConsumer.pause(Collections.singleton(new TopicPartition(consumerRecord.topic(), partition)));
+    }
+    synchronized (pendingSnapshots) {
+      pendingSnapshots.put(
+          partition,
+          new PendingSnapshot(
+              compactedSnapshotStore.iterate(partition),
+              endOfPush,
+              pubSubTopicPartition,
+              consumerRecord.offset(),
+              consumerRecord.timestamp(),
+              topicSuffix));
+    }
+    LOGGER.info("Reached the end of push of {}, start serving its compacted snapshot", pubSubTopicPartition);
+  }
+
+  /**
+   * Add up to {@link #COMPACTED_SNAPSHOT_EVENTS_PER_POLL} events of the pending compacted snapshots to the given list,
+   * and handle the end of push of the snapshots which got fully served.
+   *
+   * @return true if any snapshot is being served.
+   */
+  private boolean serveCompactedSnapshots(
+      List<PubSubMessage<K, ChangeEvent<V>, VeniceChangeCoordinate>> pubSubMessages) {
+    List<PendingSnapshot> servedSnapshots = new ArrayList<>();
+    synchronized (pendingSnapshots) {
+      if (pendingSnapshots.isEmpty()) {
+        return false;
+      }
+      for (PendingSnapshot snapshot: pendingSnapshots.values()) {
+        CompactedSnapshotStore.PartitionIterator iterator = snapshot.iterator;
+        while (iterator.isValid() && pubSubMessages.size() < COMPACTED_SNAPSHOT_EVENTS_PER_POLL) {
+          byte[] keyBytes = iterator.key();
+          byte[] valueBytes = iterator.value();
+          V value = deserializeValueFromBytes(ByteBuffer.wrap(valueBytes), iterator.schemaId());
+          pubSubMessages.add(
+              new ImmutableChangeCapturePubSubMessage<>(
+                  keyDeserializer.deserialize(keyBytes),
+                  new ChangeEvent<>(null, value),
+                  snapshot.pubSubTopicPartition,
+                  snapshot.endOfPushOffset,
+                  snapshot.endOfPushTimestamp,
+                  keyBytes.length + valueBytes.length));
+          iterator.next();
+        }
+        if (!iterator.isValid()) {
+          servedSnapshots.add(snapshot);
+        }
+        if (pubSubMessages.size() >= COMPACTED_SNAPSHOT_EVENTS_PER_POLL) {
+          break;
+        }
+      }
+      for (PendingSnapshot snapshot: servedSnapshots) {
+        int partition = snapshot.pubSubTopicPartition.getPartitionNumber();
+        pendingSnapshots.remove(partition);
+        snapshot.iterator.close();
+      }
+    }
+    // Handled outside the monitor, as switching to the next topic needs the one of the kafka consumer
+    for (PendingSnapshot snapshot: servedSnapshots) {
+      LOGGER.info("Served the compacted snapshot of {}", snapshot.pubSubTopicPartition);
+      handleControlMessage(snapshot.endOfPush, snapshot.pubSubTopicPartition, snapshot.topicSuffix);
+    }
+    return true;
+  }
+
+  private void cancelCompactedSnapshots(Set<Integer> partitions) {
+    List<TopicPartition> partitionsToResume = new ArrayList<>();
+    synchronized (pendingSnapshots) {
+      for (Integer partition: partitions) {
+        compactingPartitions.remove(partition);
+        PendingSnapshot snapshot = pendingSnapshots.remove(partition);
+        if (snapshot != null) {
+          snapshot.iterator.close();
+          partitionsToResume.add(
+              new TopicPartition(snapshot.pubSubTopicPartition.getPubSubTopic().getName(), partition));
+        }
+      }
+    }
+    if (partitionsToResume.isEmpty()) {
+      return;
+    }
+    synchronized (kafkaConsumer) {
+      // A partition keeps being paused if it gets assigned again, which would happen when seeking within the topic
+      partitionsToResume.retainAll(kafkaConsumer.assignment());
+      kafkaConsumer.resume(partitionsToResume);
+    }
+  }
+
+  private synchronized ChangelogConsumerPipeline<K, V> getOrStartPipeline(String topicSuffix) {
+    if (pipeline == null) {
+      pipeline = new ChangelogConsumerPipeline<>(
+          this,
+          kafkaConsumer,
+          topicSuffix,
+          changelogClientConfig.getPipelineMaxBufferedRecords(),
+          changelogClientConfig.getPipelineWorkerCount(),
+          changelogClientConfig.getInnerClientConfig().getMetricsRepository());
+    }
+    return pipeline;
   }
 
   /**
@@ -654,7 +960,10 @@ public class VeniceChangelogConsumerImpl<K, V> implements VeniceChangelogConsume
             .put(pubSubTopicPartition.getPartitionNumber(), versionSwap.getLocalHighWatermarks());
       }
       switchToNewTopic(newServingVersionTopic, topicSuffix, pubSubTopicPartition.getPartitionNumber());
-      inMemoryStorageEngine.drop();
+      // Only drop the buffered chunks of this partition, as the other ones may be getting assembled concurrently.
+      if (inMemoryStorageEngine.containsPartition(pubSubTopicPartition.getPartitionNumber())) {
+        inMemoryStorageEngine.dropPartition(pubSubTopicPartition.getPartitionNumber());
+      }
       return true;
     }
     return false;
@@ -717,9 +1026,11 @@ public class VeniceChangelogConsumerImpl<K, V> implements VeniceChangelogConsume
   protected void switchToNewTopic(String newTopic, String topicSuffix, Integer partition) {
     String mergedTopicName = newTopic + topicSuffix;
     Set<Integer> partitions = Collections.singleton(partition);
-    unsubscribe(partitions);
+    // The events converted before the switch are still to be returned, while the records prefetched from the previous
+    // topic get discarded.
+    unsubscribe(partitions, false);
     try {
-      internalSubscribe(partitions, mergedTopicName).get();
+      internalSubscribe(partitions, mergedTopicName, false).get();
     } catch (InterruptedException | ExecutionException e) {
       throw new VeniceException("Subscribe to new topic:" + mergedTopicName + " is not successful, error: " + e);
     }
@@ -734,11 +1045,43 @@ public class VeniceChangelogConsumerImpl<K, V> implements VeniceChangelogConsume
 
   @Override
   public void close() {
+    if (pipeline != null) {
+      pipeline.close();
+    }
     this.unsubscribeAll();
     kafkaConsumer.close();
+    synchronized (this) {
+      if (compactedSnapshotStore != null) {
+        compactedSnapshotStore.close();
+      }
+    }
   }
 
   protected void setStoreRepository(ThinClientMetaStoreBasedRepository repository) {
     this.storeRepository = repository;
   }
+
+  private static class PendingSnapshot {
+    final CompactedSnapshotStore.PartitionIterator iterator;
+    final ControlMessage endOfPush;
+    final PubSubTopicPartition pubSubTopicPartition;
+    final long endOfPushOffset;
+    final long endOfPushTimestamp;
+    final String topicSuffix;
+
+    PendingSnapshot(
+        CompactedSnapshotStore.PartitionIterator iterator,
+        ControlMessage endOfPush,
+        PubSubTopicPartition pubSubTopicPartition,
+        long endOfPushOffset,
+        long endOfPushTimestamp,
+        String topicSuffix) {
+      this.iterator = iterator;
+      this.endOfPush = endOfPush;
+      this.pubSubTopicPartition = pubSubTopicPartition;
+      this.endOfPushOffset = endOfPushOffset;
+      this.endOfPushTimestamp = endOfPushTimestamp;
+      this.topicSuffix = topicSuffix;
+    }
+  }
 }
@@ -5,10 +5,12 @@ import com.linkedin.davinci.helix.LeaderFollowerPartitionStateModel;
 import com.linkedin.davinci.kafka.consumer.KafkaStoreIngestionService;
 import com.linkedin.davinci.kafka.consumer.LeaderFollowerStateType;
 import com.linkedin.davinci.notifier.VeniceNotifier;
+import com.linkedin.davinci.snapshot.PeerSnapshotBootstrapper;
 import com.linkedin.davinci.storage.StorageMetadataService;
 import com.linkedin.davinci.storage.StorageService;
 import com.linkedin.davinci.store.AbstractStorageEngine;
 import com.linkedin.venice.kafka.protocol.state.StoreVersionState;
+import com.linkedin.venice.utils.PartitionUtils;
 import com.linkedin.venice.utils.Utils;
 import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
 import java.util.Map;
@@ -27,6 +29,7 @@ public class DefaultIngestionBackend implements DaVinciIngestionBackend, VeniceI
   private final StorageMetadataService storageMetadataService;
   private final StorageService storageService;
   private final KafkaStoreIngestionService storeIngestionService;
+  private final PeerSnapshotBootstrapper snapshotBootstrapper;
   private final Map<String, AtomicReference<AbstractStorageEngine>> topicStorageEngineReferenceMap =
       new VeniceConcurrentHashMap<>();
 
@@ -34,9 +37,21 @@ public class DefaultIngestionBackend implements DaVinciIngestionBackend, VeniceI
       StorageMetadataService storageMetadataService,
       KafkaStoreIngestionService storeIngestionService,
       StorageService storageService) {
+    this(storageMetadataService, storeIngestionService, storageService, null);
+  }
+
+  /**
+   * @param snapshotBootstrapper if not null, new partitions are first restored from a snapshot of a peer if possible.
+   */
+  public DefaultIngestionBackend(
+      StorageMetadataService storageMetadataService,
+      KafkaStoreIngestionService storeIngestionService,
+      StorageService storageService,
+      PeerSnapshotBootstrapper snapshotBootstrapper) {
     this.storageMetadataService = storageMetadataService;
     this.storeIngestionService = storeIngestionService;
     this.storageService = storageService;
+    this.snapshotBootstrapper = snapshotBootstrapper;
   }
 
   @Override
@@ -55,6 +70,11 @@ public class DefaultIngestionBackend implements DaVinciIngestionBackend, VeniceI
       }
       return storageEngineAtomicReference;
     });
+    if (snapshotBootstrapper != null
+        && PartitionUtils.getAmplificationFactor(getStoreIngestionService().getMetadataRepo(), storeVersion) == 1) {
+      // Snapshots are taken per storage partition, so only stores without amplification are supported.
+      snapshotBootstrapper.bootstrap(storageEngine, storeVersion, partition);
+    }
     LOGGER.info(
         "Retrieved storage engine for store {} partition {}. Starting consumption in ingestion service",
         storeVersion,
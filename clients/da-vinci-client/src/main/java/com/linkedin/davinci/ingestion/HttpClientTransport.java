@@ -14,6 +14,7 @@ import com.linkedin.venice.utils.Utils;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import org.apache.avro.specific.SpecificRecordBase;
 import org.apache.commons.httpclient.HttpStatus;
 import org.apache.http.HttpResponse;
@@ -76,13 +77,25 @@ public class HttpClientTransport implements AutoCloseable {
       IngestionAction action,
       S param,
       int requestTimeoutInSeconds) {
-    HttpPost request = new HttpPost(forkedProcessRequestUrl + "/" + action.toString());
+    byte[] requestPayload;
     try {
-      byte[] requestPayload = serializeIngestionActionRequest(action, param);
-      request.setEntity(new ByteArrayEntity(requestPayload));
+      requestPayload = serializeIngestionActionRequest(action, param);
     } catch (Exception e) {
       throw new VeniceException("Unable to encode the provided byte array data", e);
     }
+    return sendRawRequest(action, requestPayload, requestTimeoutInSeconds);
+  }
+
+  /**
+   * Send a request whose payload is already serialized, e.g. a {@link IngestionAction#REPORT_BATCH} which is not a
+   * single Avro record.
+   */
+  public <T extends SpecificRecordBase> T sendRawRequest(
+      IngestionAction action,
+      byte[] requestPayload,
+      int requestTimeoutInSeconds) {
+    HttpPost request = new HttpPost(forkedProcessRequestUrl + "/" + action.toString());
+    request.setEntity(new ByteArrayEntity(requestPayload));
 
     HttpResponse response;
     try {
@@ -119,10 +132,20 @@ public class HttpClientTransport implements AutoCloseable {
     return sendRequestWithRetry(action, param, DEFAULT_REQUEST_RETRY_COUNT);
   }
 
+  public <T extends SpecificRecordBase> T sendRawRequest(IngestionAction action, byte[] requestPayload) {
+    return executeWithRetry(
+        () -> sendRawRequest(action, requestPayload, requestTimeoutInSeconds),
+        DEFAULT_REQUEST_RETRY_COUNT);
+  }
+
   public <T extends SpecificRecordBase, S extends SpecificRecordBase> T sendRequestWithRetry(
       IngestionAction action,
       S param,
       int maxAttempt) {
+    return executeWithRetry(() -> sendRequest(action, param, requestTimeoutInSeconds), maxAttempt);
+  }
+
+  private <T> T executeWithRetry(Supplier<T> request, int maxAttempt) {
     // Sanity check for maxAttempt argument.
     if (maxAttempt <= 0) {
       throw new IllegalArgumentException("maxAttempt must be a positive integer");
@@ -132,7 +155,7 @@ public class HttpClientTransport implements AutoCloseable {
     final long startTimeIsMs = System.currentTimeMillis();
     while (true) {
       try {
-        result = sendRequest(action, param, requestTimeoutInSeconds);
+        result = request.get();
         break;
       } catch (VeniceException e) {
         retryCount++;
@@ -1,9 +1,11 @@
 package com.linkedin.davinci.ingestion.isolated;
 
 import static com.linkedin.venice.ConfigKeys.SERVER_INGESTION_ISOLATION_REQUEST_TIMEOUT_SECONDS;
+import static com.linkedin.venice.ConfigKeys.SERVER_INGESTION_ISOLATION_SHARED_MEMORY_REPORT_ENABLED;
 
 import com.linkedin.davinci.config.VeniceConfigLoader;
 import com.linkedin.davinci.ingestion.HttpClientTransport;
+import com.linkedin.davinci.ingestion.utils.IsolatedIngestionReportRing;
 import com.linkedin.davinci.ingestion.utils.IsolatedIngestionUtils;
 import com.linkedin.venice.ingestion.protocol.IngestionMetricsReport;
 import com.linkedin.venice.ingestion.protocol.IngestionTaskReport;
@@ -11,18 +13,31 @@ import com.linkedin.venice.ingestion.protocol.enums.IngestionAction;
 import com.linkedin.venice.ingestion.protocol.enums.IngestionReportType;
 import com.linkedin.venice.security.SSLFactory;
 import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 
 /**
- * This class sends requests to monitor service in main process and retrieves responses.
+ * This class sends requests to monitor service in main process and retrieves responses. When
+ * {@link com.linkedin.venice.ConfigKeys#SERVER_INGESTION_ISOLATION_SHARED_MEMORY_REPORT_ENABLED} is set, the ingestion
+ * reports are rather written to the {@link IsolatedIngestionReportRing} created by the main process, as soon as it
+ * exists.
  */
 public class IsolatedIngestionRequestClient implements Closeable {
   private static final Logger LOGGER = LogManager.getLogger(IsolatedIngestionRequestClient.class);
 
   private HttpClientTransport httpClientTransport;
+  private final long requestTimeoutMs;
+  // Null when the reports are only sent through HTTP
+  private final Path reportRingPath;
+  private IsolatedIngestionReportRing reportRing;
 
   public IsolatedIngestionRequestClient(VeniceConfigLoader configLoader) {
     Optional<SSLFactory> sslFactory = IsolatedIngestionUtils.getSSLFactory(configLoader);
@@ -30,6 +45,15 @@ public class IsolatedIngestionRequestClient implements Closeable {
     int requestTimeoutInSeconds =
         configLoader.getCombinedProperties().getInt(SERVER_INGESTION_ISOLATION_REQUEST_TIMEOUT_SECONDS, 120);
     httpClientTransport = new HttpClientTransport(sslFactory, port, requestTimeoutInSeconds);
+    requestTimeoutMs = TimeUnit.SECONDS.toMillis(requestTimeoutInSeconds);
+    if (configLoader.getCombinedProperties()
+        .getBoolean(SERVER_INGESTION_ISOLATION_SHARED_MEMORY_REPORT_ENABLED, false)) {
+      reportRingPath = Paths.get(
+          configLoader.getVeniceServerConfig().getDataBasePath(),
+          IsolatedIngestionUtils.ISOLATED_INGESTION_REPORT_RING_FILENAME);
+    } else {
+      reportRingPath = null;
+    }
   }
 
   public boolean reportIngestionStatus(IngestionTaskReport report) {
@@ -44,6 +68,11 @@ public class IsolatedIngestionRequestClient implements Closeable {
         partitionId,
         topicName,
         report.offset);
+    IsolatedIngestionReportRing ring = getReportRing();
+    if (ring != null) {
+      // The caller relies on the report being handled once this returns true, just like with an HTTP request
+      return writeToReportRing(ring, Collections.singletonList(report), true);
+    }
     try {
       httpClientTransport.sendRequest(IngestionAction.REPORT, report);
       return true;
@@ -53,6 +82,95 @@ public class IsolatedIngestionRequestClient implements Closeable {
     }
   }
 
+  /**
+   * Send several reports in a single {@link IngestionAction#REPORT_BATCH} request, or in a single record of the
+   * {@link IsolatedIngestionReportRing} without waiting for them to be handled. The main process handles them in the
+   * given order.
+   */
+  public boolean reportIngestionStatus(List<IngestionTaskReport> reports) {
+    IsolatedIngestionReportRing ring = getReportRing();
+    if (ring == null && reports.size() == 1) {
+      return reportIngestionStatus(reports.get(0));
+    }
+    LOGGER.info("Sending a batch of {} ingestion reports", reports.size());
+    if (LOGGER.isDebugEnabled()) {
+      for (IngestionTaskReport report: reports) {
+        LOGGER.debug(
+            "Batched ingestion report {} for partition: {} of topic: {} at offset: {}",
+            IngestionReportType.valueOf(report.reportType),
+            report.partitionId,
+            report.topicName,
+            report.offset);
+      }
+    }
+    if (ring != null) {
+      return writeToReportRing(ring, reports, false);
+    }
+    try {
+      byte[] payload = IsolatedIngestionUtils.serializeIngestionTaskReportBatch(reports);
+      httpClientTransport.sendRawRequest(IngestionAction.REPORT_BATCH, payload);
+      return true;
+    } catch (Exception e) {
+      LOGGER.warn("Failed to send a batch of {} reports with exception", reports.size(), e);
+      return false;
+    }
+  }
+
+  private boolean writeToReportRing(
+      IsolatedIngestionReportRing ring,
+      List<IngestionTaskReport> reports,
+      boolean awaitHandling) {
+    try {
+      byte[] record = IsolatedIngestionUtils.serializeIngestionTaskReportBatch(reports);
+      if (!ring.fits(record.length)) {
+        // Lets the reports already in the ring be handled first, so that they are not overtaken by these ones
+        LOGGER.warn(
+            "Sending {} reports of {} bytes through HTTP, as they do not fit in the ring",
+            reports.size(),
+            record.length);
+        if (!ring.awaitAllRead(requestTimeoutMs)) {
+          LOGGER.warn("Timed out while waiting for the ring to be read");
+          return false;
+        }
+        httpClientTransport.sendRawRequest(IngestionAction.REPORT_BATCH, record);
+        return true;
+      }
+      long position = ring.write(record, requestTimeoutMs);
+      if (position < 0) {
+        LOGGER.warn("Timed out while waiting for room in the ring to write {} reports", reports.size());
+        return false;
+      }
+      if (awaitHandling && !ring.awaitRead(position, requestTimeoutMs)) {
+        LOGGER.warn("Timed out while waiting for the main process to handle {} reports", reports.size());
+        return false;
+      }
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOGGER.warn("Interrupted while writing {} reports to the ring", reports.size());
+      return false;
+    } catch (Exception e) {
+      LOGGER.warn("Failed to write {} reports to the ring with exception", reports.size(), e);
+      return false;
+    }
+  }
+
+  /**
+   * @return the ring to write the reports to, or null if they have to be sent through HTTP, which is also the case
+   *         until the main process has created the ring
+   */
+  private synchronized IsolatedIngestionReportRing getReportRing() {
+    if (reportRing == null && reportRingPath != null) {
+      try {
+        reportRing = IsolatedIngestionReportRing.open(reportRingPath);
+        LOGGER.info("Sending the ingestion reports through the ring at: {}", reportRingPath);
+      } catch (IOException e) {
+        LOGGER.warn("Sending the ingestion reports through HTTP, as the ring cannot be opened yet: {}", e.getMessage());
+      }
+    }
+    return reportRing;
+  }
+
   public void reportMetricUpdate(IngestionMetricsReport report) {
     try {
       httpClientTransport.sendRequest(IngestionAction.METRIC, report);
@@ -67,7 +185,14 @@ public class IsolatedIngestionRequestClient implements Closeable {
   }
 
   @Override
-  public void close() {
+  public synchronized void close() {
     httpClientTransport.close();
+    if (reportRing != null) {
+      try {
+        reportRing.close();
+      } catch (IOException e) {
+        LOGGER.warn("Failed to close the ingestion report ring", e);
+      }
+    }
   }
 }
@@ -66,14 +66,17 @@ import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.tehuti.metrics.MetricsRepository;
 import java.io.FileNotFoundException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -101,6 +104,7 @@ import org.apache.logging.log4j.Logger;
  */
 public class IsolatedIngestionServer extends AbstractVeniceService {
   private static final Logger LOGGER = LogManager.getLogger(IsolatedIngestionServer.class);
+  private static final int MAX_REPORT_BATCH_SIZE = 1000;
 
   private final RedundantExceptionFilter redundantExceptionFilter =
       new RedundantExceptionFilter(RedundantExceptionFilter.DEFAULT_BITSET_SIZE, TimeUnit.MINUTES.toMillis(10));
@@ -114,6 +118,12 @@ public class IsolatedIngestionServer extends AbstractVeniceService {
   private final int servicePort;
   private final ExecutorService longRunningTaskExecutor = Executors.newFixedThreadPool(10);
   private final ExecutorService statusReportingExecutor = Executors.newSingleThreadExecutor();
+  /**
+   * Non-terminal reports waiting to be sent to the main process. Each report also schedules a flush on
+   * {@link #statusReportingExecutor}, and the first flush to run sends all the pending reports in a single request, so
+   * reports get batched whenever they are produced faster than they can be sent.
+   */
+  private final BlockingQueue<IngestionTaskReport> pendingReports = new LinkedBlockingQueue<>();
   // Leader section id map helps to verify if the leader state transition is valid or not when processing
   // the message in the queue.
   private final Map<String, Map<Integer, AtomicLong>> leaderSessionIdMap = new VeniceConcurrentHashMap<>();
@@ -417,7 +427,16 @@ public class IsolatedIngestionServer extends AbstractVeniceService {
 
       stopConsumptionAndReport(report);
     } else {
-      statusReportingExecutor.execute(() -> reportClient.reportIngestionStatus(report));
+      pendingReports.add(report);
+      statusReportingExecutor.execute(this::flushPendingReports);
+    }
+  }
+
+  void flushPendingReports() {
+    List<IngestionTaskReport> reports = new ArrayList<>();
+    while (pendingReports.drainTo(reports, MAX_REPORT_BATCH_SIZE) > 0) {
+      getReportClient().reportIngestionStatus(reports);
+      reports.clear();
     }
   }
 
@@ -481,30 +500,33 @@ public class IsolatedIngestionServer extends AbstractVeniceService {
   void stopConsumptionAndReport(IngestionTaskReport report) {
     String topicName = report.topicName.toString();
     int partitionId = report.partitionId;
-    Future<?> executionFuture = submitStopConsumptionAndCloseStorageTask(report);
-    getStatusReportingExecutor().execute(() -> {
-      try {
-        executionFuture.get();
-      } catch (ExecutionException | InterruptedException e) {
+    /**
+     * The report is only queued for sending once the partition is closed, rather than having the reporting thread wait
+     * for it, so that closing one partition doesn't hold up the reports of all the other ones. Reports queued earlier
+     * for this partition are still sent first, since the reporting executor is single-threaded.
+     */
+    submitStopConsumptionAndCloseStorageTask(report).whenCompleteAsync((ignored, e) -> {
+      if (e != null) {
         LOGGER.warn(
             "Encounter exception when trying to stop consumption and close storage for {} of topic: {}",
             partitionId,
-            topicName);
+            topicName,
+            e);
       }
       if (getReportClient().reportIngestionStatus(report)) {
         setResourceToBeUnsubscribed(topicName, partitionId);
       }
-    });
+    }, getStatusReportingExecutor());
   }
 
   /**
    * Handle the logic of COMPLETED/ERROR here since we need to stop related ingestion task and close RocksDB partition.
    * Since the logic takes time to wait for completion, we need to execute it in async fashion to prevent blocking other operations.
    */
-  Future<?> submitStopConsumptionAndCloseStorageTask(IngestionTaskReport report) {
+  CompletableFuture<Void> submitStopConsumptionAndCloseStorageTask(IngestionTaskReport report) {
     String topicName = report.topicName.toString();
     int partitionId = report.partitionId;
-    return longRunningTaskExecutor.submit(() -> {
+    return CompletableFuture.runAsync(() -> {
       VeniceStoreVersionConfig storeConfig = getConfigLoader().getStoreConfig(topicName);
       // Make sure partition is not consuming so we can safely close the rocksdb partition
       long startTimeInMs = System.currentTimeMillis();
@@ -516,7 +538,7 @@ public class IsolatedIngestionServer extends AbstractVeniceService {
           partitionId,
           topicName,
           LatencyUtils.getElapsedTimeInMs(startTimeInMs));
-    });
+    }, longRunningTaskExecutor);
   }
 
   private void checkHeartbeatTimeout() {
@@ -1,15 +1,19 @@
 package com.linkedin.davinci.ingestion.main;
 
 import static com.linkedin.venice.ConfigKeys.SERVER_INGESTION_ISOLATION_CONNECTION_TIMEOUT_SECONDS;
+import static com.linkedin.venice.ConfigKeys.SERVER_INGESTION_ISOLATION_SHARED_MEMORY_REPORT_ENABLED;
 import static java.lang.Thread.currentThread;
 
 import com.linkedin.davinci.config.VeniceConfigLoader;
 import com.linkedin.davinci.ingestion.IsolatedIngestionBackend;
+import com.linkedin.davinci.ingestion.utils.IsolatedIngestionReportRing;
 import com.linkedin.davinci.ingestion.utils.IsolatedIngestionUtils;
 import com.linkedin.davinci.kafka.consumer.KafkaStoreIngestionService;
 import com.linkedin.davinci.notifier.VeniceNotifier;
 import com.linkedin.davinci.stats.IsolatedIngestionProcessHeartbeatStats;
 import com.linkedin.davinci.stats.IsolatedIngestionProcessStats;
+import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.ingestion.protocol.IngestionTaskReport;
 import com.linkedin.venice.meta.ReadOnlyStoreRepository;
 import com.linkedin.venice.service.AbstractVeniceService;
 import com.linkedin.venice.utils.Time;
@@ -24,6 +28,9 @@ import io.netty.channel.ServerChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.tehuti.metrics.MetricsRepository;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -41,7 +48,10 @@ import org.apache.logging.log4j.Logger;
 /**
  * This class is the listener service in main process which handles various kinds of reports sent from
  * isolated ingestion service. MainIngestionMonitorService itself is a Netty based server implementation, and the main
- * report handling logics happens in {@link MainIngestionReportHandler}.
+ * report handling logics happens in {@link MainIngestionReportHandler}. When
+ * {@link com.linkedin.venice.ConfigKeys#SERVER_INGESTION_ISOLATION_SHARED_MEMORY_REPORT_ENABLED} is set, the ingestion
+ * reports are rather read from a {@link IsolatedIngestionReportRing} by a dedicated thread, and handled by the same
+ * {@link MainIngestionReportHandler} logic.
  * Besides reports handling, it also maintains two executor services to send heartbeat check and collect metrics to/from
  * child process. Also, it maintains status for all the ongoing/completed topic partition ingestion tasks, which helps
  * {@link IsolatedIngestionBackend} to check which process a topic partition storage is located, as well as status recovery
@@ -69,6 +79,8 @@ public class MainIngestionMonitorService extends AbstractVeniceService {
   private KafkaStoreIngestionService storeIngestionService;
   private ReadOnlyStoreRepository storeRepository;
   private final VeniceConfigLoader configLoader;
+  private final IsolatedIngestionReportRing reportRing;
+  private Thread reportRingReaderThread;
   /**
    * Heartbeat timeout acknowledge disconnection between main and forked processes. After this timeout, main process
    * should (1) Try to kill lingering forked process to release port (2) Respawn new forked ingestion process to continue
@@ -102,6 +114,22 @@ public class MainIngestionMonitorService extends AbstractVeniceService {
         .childOption(ChannelOption.TCP_NODELAY, true);
 
     heartbeatClient = new MainIngestionRequestClient(configLoader);
+
+    if (configLoader.getCombinedProperties()
+        .getBoolean(SERVER_INGESTION_ISOLATION_SHARED_MEMORY_REPORT_ENABLED, false)) {
+      Path reportRingPath = Paths.get(
+          configLoader.getVeniceServerConfig().getDataBasePath(),
+          IsolatedIngestionUtils.ISOLATED_INGESTION_REPORT_RING_FILENAME);
+      try {
+        reportRing = IsolatedIngestionReportRing
+            .create(reportRingPath, IsolatedIngestionUtils.ISOLATED_INGESTION_REPORT_RING_CAPACITY);
+      } catch (IOException e) {
+        throw new VeniceException("Unable to create the ingestion report ring at: " + reportRingPath, e);
+      }
+      LOGGER.info("Created the ingestion report ring at: {}", reportRingPath);
+    } else {
+      reportRing = null;
+    }
   }
 
   @Override
@@ -113,6 +141,11 @@ public class MainIngestionMonitorService extends AbstractVeniceService {
         configLoader.getCombinedProperties().getLong(SERVER_INGESTION_ISOLATION_CONNECTION_TIMEOUT_SECONDS, 180)
             * Time.MS_PER_SECOND;
     setupMetricsCollection();
+    if (reportRing != null) {
+      reportRingReaderThread = new Thread(this::readReportRing, "IsolatedIngestionReportRingReader");
+      reportRingReaderThread.setDaemon(true);
+      reportRingReaderThread.start();
+    }
 
     // There is no async process in this function, so we are completely finished with the start-up process.
     return true;
@@ -123,6 +156,13 @@ public class MainIngestionMonitorService extends AbstractVeniceService {
     shutdownScheduler(heartbeatCheckScheduler, "Heartbeat check");
     shutdownScheduler(longRunningTaskExecutor, "Long running task");
     heartbeatClient.close();
+    if (reportRingReaderThread != null) {
+      reportRingReaderThread.interrupt();
+      reportRingReaderThread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+    if (reportRing != null) {
+      reportRing.close();
+    }
 
     ChannelFuture shutdown = serverFuture.channel().closeFuture();
     workerGroup.shutdownGracefully();
@@ -245,6 +285,47 @@ public class MainIngestionMonitorService extends AbstractVeniceService {
     return 0;
   }
 
+  /**
+   * Handles the reports of the ring in the order in which they were written, and only marks them as read once handled,
+   * so that the forked process waiting for a report to be read knows that it got handled.
+   */
+  private void readReportRing() {
+    MainIngestionReportHandler reportHandler = new MainIngestionReportHandler(this);
+    while (!currentThread().isInterrupted()) {
+      try {
+        List<byte[]> records = reportRing.poll();
+        if (records.isEmpty()) {
+          Thread.sleep(1);
+          continue;
+        }
+        for (byte[] record: records) {
+          for (IngestionTaskReport report: IsolatedIngestionUtils.deserializeIngestionTaskReportBatch(record)) {
+            try {
+              reportHandler.handleIngestionReport(report);
+            } catch (Exception e) {
+              LOGGER.error(
+                  "Encounter exception during ingestion task report handling for topic: {}, partition: {}",
+                  report.topicName,
+                  report.partitionId,
+                  e);
+            }
+          }
+        }
+        reportRing.commitRead();
+      } catch (InterruptedException e) {
+        currentThread().interrupt();
+      } catch (Exception e) {
+        LOGGER.error("Caught exception while reading the ingestion report ring", e);
+        try {
+          Thread.sleep(1);
+        } catch (InterruptedException ie) {
+          currentThread().interrupt();
+        }
+      }
+    }
+    LOGGER.info("Stopped reading the ingestion report ring");
+  }
+
   private void setupMetricsCollection() {
     if (metricsRepository == null) {
       LOGGER.warn("No metrics repository is set up in ingestion report listener, skipping metrics collection");
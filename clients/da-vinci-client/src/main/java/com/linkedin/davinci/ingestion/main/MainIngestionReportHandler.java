@@ -60,6 +60,12 @@ public class MainIngestionReportHandler extends SimpleChannelInboundHandler<Full
               deserializeIngestionActionRequest(IngestionAction.REPORT, readHttpRequestContent(msg));
           handleIngestionReport(ingestionReport);
           break;
+        case REPORT_BATCH:
+          for (IngestionTaskReport report: IsolatedIngestionUtils
+              .deserializeIngestionTaskReportBatch(readHttpRequestContent(msg))) {
+            handleIngestionReport(report);
+          }
+          break;
         default:
           throw new UnsupportedOperationException("Unrecognized ingestion action: " + action);
       }
@@ -0,0 +1,257 @@
+package com.linkedin.davinci.ingestion.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ * A ring of records in a memory-mapped file, through which the forked ingestion process sends its ingestion reports to
+ * the main process, see {@link com.linkedin.venice.ConfigKeys#SERVER_INGESTION_ISOLATION_SHARED_MEMORY_REPORT_ENABLED}.
+ *
+ * The file starts with a header holding the capacity of the ring, the position up to which records got written and the
+ * position up to which they got read. Both positions only grow, and each record is made of its length followed by its
+ * content, wrapping around the end of the ring. The header gets locked through {@link FileChannel#lock} whenever the
+ * records are copied in or out, so that the two processes never race each other, and so that the writes of one of them
+ * to the mapped memory are visible to the other one once it gets the lock. Any number of threads may write records,
+ * but only a single thread may read them.
+ */
+public class IsolatedIngestionReportRing implements Closeable {
+  static final int HEADER_SIZE = 64;
+  private static final int MAGIC = 0x56524952;
+  private static final int MAGIC_OFFSET = 0;
+  private static final int CAPACITY_OFFSET = 4;
+  private static final int WRITE_POSITION_OFFSET = 8;
+  private static final int READ_POSITION_OFFSET = 16;
+  private static final long WAIT_INTERVAL_MS = 1;
+  /**
+   * A JVM can only hold a single lock on a region of a file at a time, even through different channels, so the threads
+   * of a process take turns before locking the header.
+   */
+  private static final Object PROCESS_LOCK = new Object();
+
+  private final RandomAccessFile file;
+  private final MappedByteBuffer buffer;
+  private final int capacity;
+  // Only accessed by the reader
+  private long polledPosition;
+
+  private IsolatedIngestionReportRing(RandomAccessFile file, MappedByteBuffer buffer, int capacity, long readPosition) {
+    this.file = file;
+    this.buffer = buffer;
+    this.capacity = capacity;
+    this.polledPosition = readPosition;
+  }
+
+  /**
+   * Creates an empty ring, replacing any previous one at the same path. Only called by the main process, before the
+   * forked process sends any report.
+   */
+  public static IsolatedIngestionReportRing create(Path path, int capacity) throws IOException {
+    Files.deleteIfExists(path);
+    RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw");
+    try {
+      file.setLength(HEADER_SIZE + capacity);
+      MappedByteBuffer buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + capacity);
+      IsolatedIngestionReportRing ring = new IsolatedIngestionReportRing(file, buffer, capacity, 0);
+      synchronized (PROCESS_LOCK) {
+        try (FileLock ignored = ring.lockHeader()) {
+          buffer.putInt(CAPACITY_OFFSET, capacity);
+          buffer.putLong(WRITE_POSITION_OFFSET, 0);
+          buffer.putLong(READ_POSITION_OFFSET, 0);
+          // Written last, so that a ring opened while being created is never mistaken for a valid one
+          buffer.putInt(MAGIC_OFFSET, MAGIC);
+        }
+      }
+      return ring;
+    } catch (IOException | RuntimeException e) {
+      file.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Opens a ring created by {@link #create}.
+   *
+   * @throws IOException if there is no such ring, or if it is not fully created yet
+   */
+  public static IsolatedIngestionReportRing open(Path path) throws IOException {
+    if (!Files.exists(path)) {
+      throw new IOException("No ingestion report ring at: " + path);
+    }
+    RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw");
+    try {
+      long length = file.length();
+      if (length < HEADER_SIZE) {
+        throw new IOException("Ingestion report ring at: " + path + " is not created yet");
+      }
+      MappedByteBuffer buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, length);
+      synchronized (PROCESS_LOCK) {
+        try (FileLock ignored = file.getChannel().lock(0, HEADER_SIZE, false)) {
+          int capacity = buffer.getInt(CAPACITY_OFFSET);
+          if (buffer.getInt(MAGIC_OFFSET) != MAGIC || HEADER_SIZE + capacity != length) {
+            throw new IOException("Ingestion report ring at: " + path + " is not created yet");
+          }
+          return new IsolatedIngestionReportRing(file, buffer, capacity, buffer.getLong(READ_POSITION_OFFSET));
+        }
+      }
+    } catch (IOException | RuntimeException e) {
+      file.close();
+      throw e;
+    }
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * @return whether a record of the given length can ever be written to the ring
+   */
+  public boolean fits(int recordLength) {
+    return Integer.BYTES + (long) recordLength <= capacity;
+  }
+
+  /**
+   * Appends a record, waiting up to the given timeout for the reader to free enough room for it.
+   *
+   * @return the position right after the record, to be passed to {@link #awaitRead}, or -1 if there was not enough
+   *         room in time
+   */
+  public long write(byte[] record, long timeoutMs) throws IOException, InterruptedException {
+    if (!fits(record.length)) {
+      throw new IllegalArgumentException(
+          "Record of " + record.length + " bytes does not fit in an ingestion report ring of " + capacity + " bytes");
+    }
+    int recordSize = Integer.BYTES + record.length;
+    long deadlineMs = System.currentTimeMillis() + timeoutMs;
+    while (true) {
+      synchronized (PROCESS_LOCK) {
+        try (FileLock ignored = lockHeader()) {
+          long writePosition = buffer.getLong(WRITE_POSITION_OFFSET);
+          long readPosition = buffer.getLong(READ_POSITION_OFFSET);
+          if (capacity - (writePosition - readPosition) >= recordSize) {
+            copyIn(writePosition, ByteBuffer.allocate(Integer.BYTES).putInt(0, record.length).array());
+            copyIn(writePosition + Integer.BYTES, record);
+            long endPosition = writePosition + recordSize;
+            buffer.putLong(WRITE_POSITION_OFFSET, endPosition);
+            return endPosition;
+          }
+        }
+      }
+      if (System.currentTimeMillis() >= deadlineMs) {
+        return -1;
+      }
+      Thread.sleep(WAIT_INTERVAL_MS);
+    }
+  }
+
+  /**
+   * Waits up to the given timeout for the reader to be done with all the records before the given position.
+   *
+   * @return whether the reader got done with them in time
+   */
+  public boolean awaitRead(long position, long timeoutMs) throws InterruptedException {
+    long deadlineMs = System.currentTimeMillis() + timeoutMs;
+    // The read position is a single aligned long, so it can be checked without locking, at worst a bit late
+    while (buffer.getLong(READ_POSITION_OFFSET) < position) {
+      if (System.currentTimeMillis() >= deadlineMs) {
+        return false;
+      }
+      Thread.sleep(WAIT_INTERVAL_MS);
+    }
+    return true;
+  }
+
+  /**
+   * Waits up to the given timeout for the reader to be done with all the records written so far.
+   */
+  public boolean awaitAllRead(long timeoutMs) throws InterruptedException {
+    return awaitRead(buffer.getLong(WRITE_POSITION_OFFSET), timeoutMs);
+  }
+
+  /**
+   * Copies out the records written since the previous poll, in the order in which they were written. They only make
+   * room for further records once {@link #commitRead} is called. Must only be called by the reader.
+   *
+   * @return the records, or an empty list if there is none
+   */
+  public List<byte[]> poll() throws IOException {
+    // Checked without locking first, since the ring is empty most of the time
+    if (buffer.getLong(WRITE_POSITION_OFFSET) == polledPosition) {
+      return Collections.emptyList();
+    }
+    List<byte[]> records = new ArrayList<>();
+    synchronized (PROCESS_LOCK) {
+      try (FileLock ignored = lockHeader()) {
+        long writePosition = buffer.getLong(WRITE_POSITION_OFFSET);
+        byte[] lengthBytes = new byte[Integer.BYTES];
+        while (polledPosition < writePosition) {
+          copyOut(polledPosition, lengthBytes);
+          byte[] record = new byte[ByteBuffer.wrap(lengthBytes).getInt()];
+          copyOut(polledPosition + Integer.BYTES, record);
+          records.add(record);
+          polledPosition += Integer.BYTES + record.length;
+        }
+      }
+    }
+    return records;
+  }
+
+  /**
+   * Marks the records returned by the previous polls as read, which frees their room and lets {@link #awaitRead}
+   * return. Must only be called by the reader.
+   */
+  public void commitRead() throws IOException {
+    synchronized (PROCESS_LOCK) {
+      try (FileLock ignored = lockHeader()) {
+        buffer.putLong(READ_POSITION_OFFSET, polledPosition);
+      }
+    }
+  }
+
+  private FileLock lockHeader() throws IOException {
+    return file.getChannel().lock(0, HEADER_SIZE, false);
+  }
+
+  private void copyIn(long position, byte[] bytes) {
+    ByteBuffer view = buffer.duplicate();
+    int index = (int) (position % capacity);
+    int firstPart = Math.min(bytes.length, capacity - index);
+    view.position(HEADER_SIZE + index);
+    view.put(bytes, 0, firstPart);
+    if (firstPart < bytes.length) {
+      view.position(HEADER_SIZE);
+      view.put(bytes, firstPart, bytes.length - firstPart);
+    }
+  }
+
+  private void copyOut(long position, byte[] bytes) {
+    ByteBuffer view = buffer.duplicate();
+    int index = (int) (position % capacity);
+    int firstPart = Math.min(bytes.length, capacity - index);
+    view.position(HEADER_SIZE + index);
+    view.get(bytes, 0, firstPart);
+    if (firstPart < bytes.length) {
+      view.position(HEADER_SIZE);
+      view.get(bytes, firstPart, bytes.length - firstPart);
+    }
+  }
+
+  /**
+   * The mapping itself only goes away once the buffer gets garbage collected, since Java 8 cannot unmap it explicitly.
+   */
+  @Override
+  public void close() throws IOException {
+    file.close();
+  }
+}
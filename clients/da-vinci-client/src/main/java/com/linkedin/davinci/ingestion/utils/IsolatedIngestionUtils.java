@@ -13,6 +13,7 @@ import static com.linkedin.venice.ingestion.protocol.enums.IngestionAction.COMMA
 import static com.linkedin.venice.ingestion.protocol.enums.IngestionAction.HEARTBEAT;
 import static com.linkedin.venice.ingestion.protocol.enums.IngestionAction.METRIC;
 import static com.linkedin.venice.ingestion.protocol.enums.IngestionAction.REPORT;
+import static com.linkedin.venice.ingestion.protocol.enums.IngestionAction.REPORT_BATCH;
 import static com.linkedin.venice.ingestion.protocol.enums.IngestionAction.SHUTDOWN_COMPONENT;
 import static com.linkedin.venice.ingestion.protocol.enums.IngestionAction.UPDATE_METADATA;
 
@@ -68,6 +69,7 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.URI;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -77,7 +79,9 @@ import java.security.NoSuchAlgorithmException;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
 import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CountDownLatch;
@@ -99,6 +103,8 @@ public class IsolatedIngestionUtils {
   public static final String ISOLATED_INGESTION_CONFIG_FILENAME = "IsolatedIngestionConfig.conf";
   public static final String ISOLATED_INGESTION_KAFKA_CLUSTER_MAP_FILENAME = "IsolatedIngestionKafkaClusterMap.conf";
   public static final String FORKED_PROCESS_METADATA_FILENAME = "ForkedProcessMetadata.conf";
+  public static final String ISOLATED_INGESTION_REPORT_RING_FILENAME = "IsolatedIngestionReportRing.shm";
+  public static final int ISOLATED_INGESTION_REPORT_RING_CAPACITY = 16 * 1024 * 1024;
 
   public static final String PID = "pid";
 
@@ -140,7 +146,8 @@ public class IsolatedIngestionUtils {
               new AbstractMap.SimpleEntry<>(METRIC, ingestionDummyContentSerializer),
               new AbstractMap.SimpleEntry<>(HEARTBEAT, ingestionTaskCommandSerializer),
               new AbstractMap.SimpleEntry<>(UPDATE_METADATA, ingestionTaskReportSerializer),
-              new AbstractMap.SimpleEntry<>(SHUTDOWN_COMPONENT, ingestionTaskReportSerializer))
+              new AbstractMap.SimpleEntry<>(SHUTDOWN_COMPONENT, ingestionTaskReportSerializer),
+              new AbstractMap.SimpleEntry<>(REPORT_BATCH, ingestionDummyContentSerializer))
           .collect(Collectors.toMap(AbstractMap.SimpleEntry::getKey, AbstractMap.SimpleEntry::getValue));
 
   private static final IngestionTaskCommand DUMMY_COMMAND = new IngestionTaskCommand();
@@ -171,6 +178,39 @@ public class IsolatedIngestionUtils {
     return (T) (ingestionActionToResponseSerializerMap.get(action).deserialize(null, content));
   }
 
+  /**
+   * A {@link IngestionAction#REPORT_BATCH} request is the number of reports, followed by each serialized
+   * {@link IngestionTaskReport} prefixed by its length, so that many reports only cost a single round trip.
+   */
+  public static byte[] serializeIngestionTaskReportBatch(List<IngestionTaskReport> reports) {
+    List<byte[]> serializedReports = new ArrayList<>(reports.size());
+    int size = Integer.BYTES;
+    for (IngestionTaskReport report: reports) {
+      byte[] serializedReport = ingestionTaskReportSerializer.serialize(null, report);
+      serializedReports.add(serializedReport);
+      size += Integer.BYTES + serializedReport.length;
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(size);
+    buffer.putInt(serializedReports.size());
+    for (byte[] serializedReport: serializedReports) {
+      buffer.putInt(serializedReport.length);
+      buffer.put(serializedReport);
+    }
+    return buffer.array();
+  }
+
+  public static List<IngestionTaskReport> deserializeIngestionTaskReportBatch(byte[] content) {
+    ByteBuffer buffer = ByteBuffer.wrap(content);
+    int count = buffer.getInt();
+    List<IngestionTaskReport> reports = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      byte[] serializedReport = new byte[buffer.getInt()];
+      buffer.get(serializedReport);
+      reports.add(ingestionTaskReportSerializer.deserialize(null, serializedReport));
+    }
+    return reports;
+  }
+
   public static IngestionTaskCommand getDummyCommand() {
     return DUMMY_COMMAND;
   }
@@ -20,6 +20,7 @@ import static com.linkedin.venice.kafka.TopicManager.DEFAULT_KAFKA_OPERATION_TIM
 import static java.lang.Thread.currentThread;
 import static java.lang.Thread.sleep;
 
+import com.linkedin.davinci.client.DaVinciRecordTransformer;
 import com.linkedin.davinci.compression.StorageEngineBackedCompressorFactory;
 import com.linkedin.davinci.config.VeniceConfigLoader;
 import com.linkedin.davinci.config.VeniceServerConfig;
@@ -122,6 +123,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import org.apache.kafka.clients.CommonClientConfigs;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.protocol.SecurityProtocol;
@@ -141,6 +143,7 @@ public class KafkaStoreIngestionService extends AbstractVeniceService implements
   private static final String GROUP_ID_FORMAT = "%s_%s";
 
   private static final Logger LOGGER = LogManager.getLogger(KafkaStoreIngestionService.class);
+  private static final long STOP_CONSUMPTION_MIN_POLL_INTERVAL_MS = 10;
 
   private final VeniceConfigLoader veniceConfigLoader;
 
@@ -230,6 +233,58 @@ public class KafkaStoreIngestionService extends AbstractVeniceService implements
       boolean isDaVinciClient,
       RemoteIngestionRepairService remoteIngestionRepairService,
       PubSubClientsFactory pubSubClientsFactory) {
+    this(
+        storageEngineRepository,
+        veniceConfigLoader,
+        storageMetadataService,
+        clusterInfoProvider,
+        metadataRepo,
+        schemaRepo,
+        customizedViewFuture,
+        helixInstanceFuture,
+        liveClusterConfigRepository,
+        metricsRepository,
+        kafkaMessageEnvelopeSchemaReader,
+        clientConfig,
+        partitionStateSerializer,
+        zkSharedSchemaRepository,
+        icProvider,
+        isIsolatedIngestion,
+        compressorFactory,
+        cacheBackend,
+        isDaVinciClient,
+        remoteIngestionRepairService,
+        pubSubClientsFactory,
+        storeName -> null);
+  }
+
+  /**
+   * @param recordTransformerFunction returns the {@link DaVinciRecordTransformer} to apply to the records of the given
+   *                                  store during ingestion, or null if none.
+   */
+  public KafkaStoreIngestionService(
+      StorageEngineRepository storageEngineRepository,
+      VeniceConfigLoader veniceConfigLoader,
+      StorageMetadataService storageMetadataService,
+      ClusterInfoProvider clusterInfoProvider,
+      ReadOnlyStoreRepository metadataRepo,
+      ReadOnlySchemaRepository schemaRepo,
+      Optional<CompletableFuture<HelixCustomizedViewOfflinePushRepository>> customizedViewFuture,
+      Optional<CompletableFuture<HelixInstanceConfigRepository>> helixInstanceFuture,
+      ReadOnlyLiveClusterConfigRepository liveClusterConfigRepository,
+      MetricsRepository metricsRepository,
+      Optional<SchemaReader> kafkaMessageEnvelopeSchemaReader,
+      Optional<ClientConfig> clientConfig,
+      InternalAvroSpecificSerializer<PartitionState> partitionStateSerializer,
+      Optional<HelixReadOnlyZKSharedSchemaRepository> zkSharedSchemaRepository,
+      ICProvider icProvider,
+      boolean isIsolatedIngestion,
+      StorageEngineBackedCompressorFactory compressorFactory,
+      Optional<ObjectCacheBackend> cacheBackend,
+      boolean isDaVinciClient,
+      RemoteIngestionRepairService remoteIngestionRepairService,
+      PubSubClientsFactory pubSubClientsFactory,
+      Function<String, DaVinciRecordTransformer> recordTransformerFunction) {
     this.cacheBackend = cacheBackend;
     this.storageMetadataService = storageMetadataService;
     this.metadataRepo = metadataRepo;
@@ -410,13 +465,27 @@ public class KafkaStoreIngestionService extends AbstractVeniceService implements
               + "may not be killed if admin helix messaging channel is disabled");
     }
 
-    // TODO: Wire configs into these params
     KafkaValueSerializer kafkaValueSerializer = new OptimizedKafkaValueSerializer();
     kafkaMessageEnvelopeSchemaReader.ifPresent(kafkaValueSerializer::setSchemaReader);
-    KafkaPubSubMessageDeserializer pubSubDeserializer = new KafkaPubSubMessageDeserializer(
-        kafkaValueSerializer,
-        new LandFillObjectPool<>(KafkaMessageEnvelope::new),
-        new LandFillObjectPool<>(KafkaMessageEnvelope::new));
+    KafkaPubSubMessageDeserializer pubSubDeserializer;
+    if (serverConfig.isIngestionObjectPoolingEnabled()) {
+      /**
+       * The messages are released by the {@link StoreBufferService} drainers once persisted, see
+       * {@link StoreBufferService#releaseIfPooled}.
+       */
+      int poolCapacity = serverConfig.getIngestionObjectPoolCapacity();
+      pubSubDeserializer = new KafkaPubSubMessageDeserializer(
+          kafkaValueSerializer,
+          KafkaPubSubMessageDeserializer.createEnvelopePool(poolCapacity),
+          KafkaPubSubMessageDeserializer.createEnvelopePool(poolCapacity),
+          KafkaPubSubMessageDeserializer
+              .createMessagePool(poolCapacity, serverConfig.isIngestionObjectPoolLeakDetectionEnabled()));
+    } else {
+      pubSubDeserializer = new KafkaPubSubMessageDeserializer(
+          kafkaValueSerializer,
+          new LandFillObjectPool<>(KafkaMessageEnvelope::new),
+          new LandFillObjectPool<>(KafkaMessageEnvelope::new));
+    }
 
     aggKafkaConsumerService = new AggKafkaConsumerService(
         new ApacheKafkaConsumerAdapterFactory(),
@@ -479,6 +548,7 @@ public class KafkaStoreIngestionService extends AbstractVeniceService implements
         .setCompressorFactory(compressorFactory)
         .setVeniceViewWriterFactory(viewWriterFactory)
         .setPubSubTopicRepository(pubSubTopicRepository)
+        .setRecordTransformerFunction(recordTransformerFunction)
         .build();
   }
 
@@ -842,23 +912,41 @@ public class KafkaStoreIngestionService extends AbstractVeniceService implements
     if (isPartitionConsuming(topicName, partitionId)) {
       stopConsumption(veniceStore, partitionId);
       try {
+        /**
+         * The consumption usually stops within milliseconds, so poll with an exponential backoff capped at sleepSeconds
+         * rather than sleeping a whole sleepSeconds upfront, which would add at least that much to every handover of a
+         * partition between the isolated ingestion process and the main process. The overall deadline is unchanged.
+         */
         long startTimeInMs = System.currentTimeMillis();
-        for (int i = 0; i < numRetries; i++) {
+        long deadlineInMs = startTimeInMs + (long) numRetries * sleepSeconds * Time.MS_PER_SECOND;
+        long maxSleepInMs = (long) sleepSeconds * Time.MS_PER_SECOND;
+        long sleepInMs = STOP_CONSUMPTION_MIN_POLL_INTERVAL_MS;
+        boolean stopped = false;
+        while (true) {
           if (!isPartitionConsuming(topicName, partitionId)) {
-            LOGGER.info(
-                "Partition: {} of topic: {} has stopped consumption in {} ms.",
-                partitionId,
-                topicName,
-                LatencyUtils.getElapsedTimeInMs(startTimeInMs));
+            stopped = true;
+            break;
+          }
+          long remainingInMs = deadlineInMs - System.currentTimeMillis();
+          if (remainingInMs <= 0) {
             break;
           }
-          sleep((long) sleepSeconds * Time.MS_PER_SECOND);
+          sleep(Math.min(sleepInMs, remainingInMs));
+          sleepInMs = Math.min(sleepInMs * 2, maxSleepInMs);
+        }
+        if (stopped) {
+          LOGGER.info(
+              "Partition: {} of topic: {} has stopped consumption in {} ms.",
+              partitionId,
+              topicName,
+              LatencyUtils.getElapsedTimeInMs(startTimeInMs));
+        } else {
+          LOGGER.error(
+              "Partition: {} of store: {} is still consuming after waiting for it to stop for {} seconds.",
+              partitionId,
+              topicName,
+              numRetries * sleepSeconds);
         }
-        LOGGER.error(
-            "Partition: {} of store: {} is still consuming after waiting for it to stop for {} seconds.",
-            partitionId,
-            topicName,
-            numRetries * sleepSeconds);
       } catch (InterruptedException e) {
         LOGGER.warn("Waiting for partition to stop consumption was interrupted", e);
         currentThread().interrupt();
@@ -237,6 +237,7 @@ public class LeaderFollowerStoreIngestionTask extends StoreIngestionTask {
         new VeniceWriterOptions.Builder(getVersionTopic().getName()).setPartitioner(venicePartitioner)
             .setChunkingEnabled(isChunked)
             .setRmdChunkingEnabled(version.isRmdChunkingEnabled())
+            .setCompactEnvelopeEnabled(version.isCompactEnvelopeEnabled())
             .setPartitionCount(storeVersionPartitionCount * amplificationFactor)
             .build();
     this.veniceWriter = Lazy.of(() -> veniceWriterFactory.createVeniceWriter(writerOptions));
@@ -2782,11 +2783,28 @@ public class LeaderFollowerStoreIngestionTask extends StoreIngestionTask {
       readerUpdateProtocolVersion = update.updateSchemaId;
     }
 
-    final GenericRecord currValue = readStoredValueRecord(
-        partitionConsumptionState,
-        keyBytes,
-        readerValueSchemaId,
-        consumerRecord.getTopicPartition());
+    /**
+     * When enabled, try to apply the Update on the serialized stored value first. It falls back to the record based
+     * path when the stored value is chunked or was written with another value schema than the reader schema.
+     */
+    final ByteBuffer currValueBytes;
+    final GenericRecord currValue;
+    if (serverConfig.isIncrementalWriteComputeEnabled()) {
+      StoredValue storedValue = readStoredValueForIncrementalUpdate(
+          partitionConsumptionState,
+          keyBytes,
+          readerValueSchemaId,
+          consumerRecord.getTopicPartition());
+      currValueBytes = storedValue == null ? null : storedValue.bytes;
+      currValue = storedValue == null ? null : storedValue.record;
+    } else {
+      currValueBytes = null;
+      currValue = readStoredValueRecord(
+          partitionConsumptionState,
+          keyBytes,
+          readerValueSchemaId,
+          consumerRecord.getTopicPartition());
+    }
 
     // Apply Write Compute.
     final byte[] updatedValueBytes;
@@ -2796,13 +2814,21 @@ public class LeaderFollowerStoreIngestionTask extends StoreIngestionTask {
       // 'maybeCompress'.
       updatedValueBytes = compressor.get()
           .compress(
-              storeWriteComputeHandler.applyWriteCompute(
-                  currValue,
-                  update.schemaId,
-                  readerValueSchemaId,
-                  update.updateValue,
-                  update.updateSchemaId,
-                  readerUpdateProtocolVersion));
+              currValueBytes != null
+                  ? storeWriteComputeHandler.applyWriteComputeOnSerializedValue(
+                      currValueBytes,
+                      update.schemaId,
+                      readerValueSchemaId,
+                      update.updateValue,
+                      update.updateSchemaId,
+                      readerUpdateProtocolVersion)
+                  : storeWriteComputeHandler.applyWriteCompute(
+                      currValue,
+                      update.schemaId,
+                      readerValueSchemaId,
+                      update.updateValue,
+                      update.updateSchemaId,
+                      readerUpdateProtocolVersion));
       hostLevelIngestionStats.recordWriteComputeUpdateLatency(LatencyUtils.getLatencyInMS(writeComputeStartTimeInNS));
     } catch (Exception e) {
       writeComputeFailureCode = StatsErrorCode.WRITE_COMPUTE_UPDATE_FAILURE.code;
@@ -2810,7 +2836,7 @@ public class LeaderFollowerStoreIngestionTask extends StoreIngestionTask {
     }
 
     if (updatedValueBytes == null) {
-      if (currValue != null) {
+      if (currValue != null || currValueBytes != null) {
         throw new IllegalStateException(
             "Detect a situation where the current value exists and the Write Compute request"
                 + "deletes the current value. It is unexpected because Write Compute only supports partial update and does "
@@ -2863,6 +2889,90 @@ public class LeaderFollowerStoreIngestionTask extends StoreIngestionTask {
     }
   }
 
+  /**
+   * The existing value of a key, either as decompressed serialized bytes or, when it cannot be updated in its
+   * serialized form, as a record.
+   */
+  private static final class StoredValue {
+    final ByteBuffer bytes;
+    final GenericRecord record;
+
+    StoredValue(ByteBuffer bytes, GenericRecord record) {
+      this.bytes = bytes;
+      this.record = record;
+    }
+  }
+
+  /**
+   * Read the existing value as decompressed serialized bytes, so that an Update can be applied on it by
+   * {@link StoreWriteComputeProcessor#applyWriteComputeOnSerializedValue}. If a value for this key is found from the
+   * transient map then use that value, otherwise read it from the storage engine.
+   *
+   * When the value is chunked, or was written with another schema than {@param readerValueSchemaID}, it is deserialized
+   * into a record instead, from the value which was already read, so that it is only looked up once.
+   *
+   * @return null if there is no value for this key.
+   */
+  private StoredValue readStoredValueForIncrementalUpdate(
+      PartitionConsumptionState partitionConsumptionState,
+      byte[] keyBytes,
+      int readerValueSchemaID,
+      PubSubTopicPartition topicPartition) {
+    PartitionConsumptionState.TransientRecord transientRecord = partitionConsumptionState.getTransientRecord(keyBytes);
+    try {
+      if (transientRecord != null) {
+        hostLevelIngestionStats.recordWriteComputeCacheHitCount();
+        if (transientRecord.getValue() == null) {
+          return null;
+        }
+        if (transientRecord.getValueSchemaId() != readerValueSchemaID) {
+          return new StoredValue(null, constructValueFromTransientRecord(transientRecord, readerValueSchemaID));
+        }
+        ByteBuffer decompressedValue = compressor.get()
+            .decompress(transientRecord.getValue(), transientRecord.getValueOffset(), transientRecord.getValueLen());
+        return new StoredValue(decompressedValue, null);
+      }
+
+      long lookupStartTimeInNS = System.nanoTime();
+      int subPartition = getSubPartitionId(keyBytes, topicPartition);
+      byte[] storageKey = isChunked
+          ? ChunkingUtils.KEY_WITH_CHUNKING_SUFFIX_SERIALIZER.serializeNonChunkedKey(keyBytes)
+          : keyBytes;
+      byte[] storedValue = storageEngine.get(subPartition, storageKey);
+      final StoredValue currValue;
+      if (storedValue == null) {
+        currValue = null;
+      } else if (ValueRecord.parseSchemaId(storedValue) == readerValueSchemaID) {
+        // A chunked value has a negative manifest schema ID, so it never matches the reader schema ID.
+        currValue = new StoredValue(
+            compressor.get()
+                .decompress(
+                    storedValue,
+                    ValueRecord.SCHEMA_HEADER_LENGTH,
+                    storedValue.length - ValueRecord.SCHEMA_HEADER_LENGTH),
+            null);
+      } else {
+        currValue = new StoredValue(
+            null,
+            GenericRecordChunkingAdapter.INSTANCE.getFromTopLevelValue(
+                storageEngine,
+                readerValueSchemaID,
+                subPartition,
+                storedValue,
+                compressionStrategy,
+                serverConfig.isComputeFastAvroEnabled(),
+                schemaRepository,
+                storeName,
+                compressor.get()));
+      }
+      hostLevelIngestionStats.recordWriteComputeLookUpLatency(LatencyUtils.getLatencyInMS(lookupStartTimeInNS));
+      return currValue;
+    } catch (Exception e) {
+      writeComputeFailureCode = StatsErrorCode.WRITE_COMPUTE_DESERIALIZATION_FAILURE.code;
+      throw new VeniceException("Failed to read the stored value for write compute", e);
+    }
+  }
+
   /**
    * Read the existing value. If a value for this key is found from the transient map then use that value, otherwise read
    * it from the storage engine.
@@ -2902,16 +3012,7 @@ public class LeaderFollowerStoreIngestionTask extends StoreIngestionTask {
       // construct currValue from this transient record only if it's not null.
       if (transientRecord.getValue() != null) {
         try {
-          currValue = GenericRecordChunkingAdapter.INSTANCE.constructValue(
-              transientRecord.getValueSchemaId(),
-              readerValueSchemaID,
-              transientRecord.getValue(),
-              transientRecord.getValueOffset(),
-              transientRecord.getValueLen(),
-              serverConfig.isComputeFastAvroEnabled(),
-              schemaRepository,
-              storeName,
-              compressor.get());
+          currValue = constructValueFromTransientRecord(transientRecord, readerValueSchemaID);
         } catch (Exception e) {
           writeComputeFailureCode = StatsErrorCode.WRITE_COMPUTE_DESERIALIZATION_FAILURE.code;
           throw e;
@@ -2923,6 +3024,21 @@ public class LeaderFollowerStoreIngestionTask extends StoreIngestionTask {
     return currValue;
   }
 
+  private GenericRecord constructValueFromTransientRecord(
+      PartitionConsumptionState.TransientRecord transientRecord,
+      int readerValueSchemaID) {
+    return GenericRecordChunkingAdapter.INSTANCE.constructValue(
+        transientRecord.getValueSchemaId(),
+        readerValueSchemaID,
+        transientRecord.getValue(),
+        transientRecord.getValueOffset(),
+        transientRecord.getValueLen(),
+        serverConfig.isComputeFastAvroEnabled(),
+        schemaRepository,
+        storeName,
+        compressor.get());
+  }
+
   /**
    * Clone DIV check results from OffsetRecord to the DIV validator that is used for leader consumption thread.
    *
@@ -12,6 +12,7 @@ import com.linkedin.venice.kafka.protocol.Put;
 import com.linkedin.venice.kafka.protocol.Update;
 import com.linkedin.venice.kafka.protocol.enums.MessageType;
 import com.linkedin.venice.message.KafkaKey;
+import com.linkedin.venice.pubsub.PooledPubSubMessage;
 import com.linkedin.venice.pubsub.api.PubSubMessage;
 import com.linkedin.venice.pubsub.api.PubSubTopicPartition;
 import com.linkedin.venice.utils.DaemonThreadFactory;
@@ -278,6 +279,11 @@ public class StoreBufferService extends AbstractStoreBufferService {
           topicToTimeSpent.compute(
               consumerRecord.getTopicPartition(),
               (K, V) -> (V == null ? 0 : V) + System.currentTimeMillis() - startTime);
+
+          if (leaderProducedRecordContext == null) {
+            releaseIfPooled(consumerRecord);
+            consumerRecord = null;
+          }
         } catch (Throwable e) {
           if (e instanceof InterruptedException) {
             LOGGER.error("Drainer {} received InterruptedException, will exit", drainerIndex);
@@ -389,6 +395,8 @@ public class StoreBufferService extends AbstractStoreBufferService {
        * end-to-end completeness when producing to local Kafka is needed.
        */
       CompletableFuture<Void> recordFuture = new CompletableFuture<>();
+      // The record might already be released by the drainer once queued
+      int partition = consumerRecord.getTopicPartition().getPartitionNumber();
       getDrainerForConsumerRecord(consumerRecord, subPartition).put(
           new FollowerQueueNode(
               consumerRecord,
@@ -398,8 +406,7 @@ public class StoreBufferService extends AbstractStoreBufferService {
               recordFuture));
 
       // Setup the last queued record's future
-      PartitionConsumptionState partitionConsumptionState =
-          ingestionTask.getPartitionConsumptionState(consumerRecord.getTopicPartition().getPartitionNumber());
+      PartitionConsumptionState partitionConsumptionState = ingestionTask.getPartitionConsumptionState(partition);
       if (partitionConsumptionState != null) {
         partitionConsumptionState.setLastQueuedRecordPersistedFuture(recordFuture);
       }
@@ -414,6 +421,18 @@ public class StoreBufferService extends AbstractStoreBufferService {
     }
   }
 
+  /**
+   * Gives a {@link PooledPubSubMessage} back to its pool once persisted. This is only done for the records queued
+   * without a {@link LeaderProducedRecordContext}, whose processing ends with the drainer. The records produced by a
+   * leader might still be referenced by the callbacks of the other chunks of the same value, so they are left to the
+   * garbage collector.
+   */
+  static void releaseIfPooled(PubSubMessage<KafkaKey, KafkaMessageEnvelope, Long> consumerRecord) {
+    if (consumerRecord instanceof PooledPubSubMessage) {
+      ((PooledPubSubMessage) consumerRecord).release();
+    }
+  }
+
   private interface RecordHandler {
     void handle(
         PubSubMessage<KafkaKey, KafkaMessageEnvelope, Long> consumerRecord,
@@ -10,6 +10,7 @@ import static java.util.concurrent.TimeUnit.MINUTES;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 import com.linkedin.avroutil1.compatibility.shaded.org.apache.commons.lang3.Validate;
+import com.linkedin.davinci.client.DaVinciRecordTransformer;
 import com.linkedin.davinci.compression.StorageEngineBackedCompressorFactory;
 import com.linkedin.davinci.config.VeniceServerConfig;
 import com.linkedin.davinci.config.VeniceStoreVersionConfig;
@@ -80,7 +81,10 @@ import com.linkedin.venice.serialization.avro.AvroProtocolDefinition;
 import com.linkedin.venice.serialization.avro.InternalAvroSpecificSerializer;
 import com.linkedin.venice.serializer.AvroGenericDeserializer;
 import com.linkedin.venice.serializer.FastSerializerDeserializerFactory;
+import com.linkedin.venice.serializer.RecordDeserializer;
+import com.linkedin.venice.serializer.RecordSerializer;
 import com.linkedin.venice.stats.StatsErrorCode;
+import com.linkedin.venice.store.rocksdb.RocksDBUtils;
 import com.linkedin.venice.system.store.MetaStoreWriter;
 import com.linkedin.venice.utils.ByteUtils;
 import com.linkedin.venice.utils.ComplementSet;
@@ -275,6 +279,18 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
 
   private final Optional<ObjectCacheBackend> cacheBackend;
 
+  /**
+   * Transformer applied to the records before they are persisted, along with the serializers it needs, which are all
+   * null unless the {@link DaVinciRecordTransformer} of a Da Vinci client is registered for this store. The input
+   * schema is the latest value schema of the store when the ingestion started, and the value deserializers are
+   * created lazily, indexed by the id of their writer schema.
+   */
+  private final DaVinciRecordTransformer recordTransformer;
+  private final Schema recordTransformerInputSchema;
+  private final RecordDeserializer<Object> recordTransformerKeyDeserializer;
+  private final SparseConcurrentList<RecordDeserializer<Object>> recordTransformerValueDeserializers;
+  private final RecordSerializer<Object> recordTransformerOutputSerializer;
+
   protected final String localKafkaServer;
   protected final int localKafkaClusterId;
   protected final Set<String> localKafkaServerSingletonSet;
@@ -429,6 +445,24 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
     this.compressorFactory = builder.getCompressorFactory();
     this.compressor = Lazy.of(() -> compressorFactory.getCompressor(compressionStrategy, kafkaVersionTopic));
     this.isChunked = version.isChunkingEnabled();
+    this.recordTransformer = builder.getRecordTransformerFunction().apply(storeName);
+    if (recordTransformer == null) {
+      this.recordTransformerInputSchema = null;
+      this.recordTransformerKeyDeserializer = null;
+      this.recordTransformerValueDeserializers = null;
+      this.recordTransformerOutputSerializer = null;
+    } else {
+      if (isChunked) {
+        throw new VeniceException("Record transformer does not support chunked store: " + kafkaVersionTopic);
+      }
+      Schema keySchema = schemaRepository.getKeySchema(storeName).getSchema();
+      this.recordTransformerInputSchema = schemaRepository.getSupersetOrLatestValueSchema(storeName).getSchema();
+      this.recordTransformerKeyDeserializer =
+          FastSerializerDeserializerFactory.getFastAvroGenericDeserializer(keySchema, keySchema);
+      this.recordTransformerValueDeserializers = new SparseConcurrentList<>();
+      this.recordTransformerOutputSerializer =
+          FastSerializerDeserializerFactory.getFastAvroGenericSerializer(recordTransformer.getOutputValueSchema());
+    }
     this.msgForLagMeasurement = new String[subPartitionCount];
     for (int i = 0; i < this.msgForLagMeasurement.length; i++) {
       this.msgForLagMeasurement[i] = kafkaVersionTopic + "_" + i;
@@ -975,6 +1009,8 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
 
       // Check schema id availability before putting consumer record to drainer queue
       waitReadyToProcessRecord(record);
+      // The record might get released by the drainer as soon as it is queued
+      totalBytesRead += record.getPayloadSize();
       // This function may modify the original record in KME and it is unsafe to use the payload from KME directly after
       // this call.
       DelegateConsumerRecordResult delegateConsumerRecordResult = delegateConsumerRecord(
@@ -1004,7 +1040,6 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
           throw new VeniceException(
               consumerTaskId + " received unknown DelegateConsumerRecordResult enum for " + record.getTopicPartition());
       }
-      totalBytesRead += record.getPayloadSize();
       // Update the latest message consumption time
       PartitionConsumptionState partitionConsumptionState = partitionConsumptionStateMap.get(subPartition);
       if (partitionConsumptionState != null) {
@@ -2276,6 +2311,11 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
      */
     partitionConsumptionState.setDeferredWrite(storagePartitionConfig.isDeferredWrite());
 
+    /**
+     * If the push job built the SST files itself, the one of this partition gets ingested along with the local ones.
+     */
+    addStagedSSTFile(controlMessage, partition);
+
     /**
      * Indicate the batch push is done, and the internal storage engine needs to do some cleanup.
      */
@@ -2409,6 +2449,25 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
     return checkReadyToServeAfterProcess;
   }
 
+  /**
+   * Looks up the directory where the push job staged the SST files of all the partitions, if any, in the debug info of
+   * the End of Push control message, and adds the staged SST file of the given partition to the storage engine. Only
+   * the control messages go through the version topic in this case.
+   */
+  private void addStagedSSTFile(ControlMessage endOfPush, int partition) {
+    String stagingDir = null;
+    if (endOfPush.debugInfo != null) {
+      for (Map.Entry<CharSequence, CharSequence> entry: endOfPush.debugInfo.entrySet()) {
+        if (RocksDBUtils.SST_FILE_PUSH_STAGING_DIR_KEY.equals(entry.getKey().toString())) {
+          stagingDir = entry.getValue().toString();
+        }
+      }
+    }
+    if (stagingDir != null) {
+      storageEngine.addStagedSSTFile(partition, stagingDir);
+    }
+  }
+
   /**
    * Sync the metadata about offset in {@link OffsetRecord}.
    * {@link PartitionConsumptionState} will pass through some information to {@link OffsetRecord} for persistence and
@@ -2703,6 +2762,66 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
     }
   }
 
+  /**
+   * Apply the {@link #recordTransformer} to the value of the given {@link Put}. The value is decompressed and
+   * deserialized with {@link #recordTransformerInputSchema}, so that the transformer always gets the same shape of
+   * records, and the transformed value is serialized with the output schema of the transformer and compressed with
+   * the compressor of the version, since the read path decompresses it as usual.
+   *
+   * @return a new {@link Put} whose value leaves room for the schema header in front of it, as expected by
+   *         {@link #prependHeaderAndWriteToStorageEngine}, or null if the record got filtered out.
+   */
+  private Put transformPut(byte[] keyBytes, Put put) {
+    try {
+      VeniceCompressor veniceCompressor = compressor.get();
+      ByteBuffer valueBytes = veniceCompressor.decompress(put.putValue.duplicate());
+      Lazy<Object> key = Lazy.of(() -> recordTransformerKeyDeserializer.deserialize(keyBytes));
+      Object value = getRecordTransformerValueDeserializer(put.schemaId).deserialize(valueBytes);
+      Object transformedValue = recordTransformer.transform(key, value);
+      if (transformedValue == null) {
+        return null;
+      }
+
+      byte[] serializedValue = recordTransformerOutputSerializer.serialize(transformedValue);
+      ByteBuffer transformedPutValue;
+      if (veniceCompressor.getCompressionStrategy() == CompressionStrategy.NO_OP) {
+        byte[] paddedValue = new byte[ValueRecord.SCHEMA_HEADER_LENGTH + serializedValue.length];
+        System.arraycopy(serializedValue, 0, paddedValue, ValueRecord.SCHEMA_HEADER_LENGTH, serializedValue.length);
+        transformedPutValue = ByteBuffer.wrap(paddedValue, ValueRecord.SCHEMA_HEADER_LENGTH, serializedValue.length);
+      } else {
+        transformedPutValue =
+            veniceCompressor.compress(ByteBuffer.wrap(serializedValue), ValueRecord.SCHEMA_HEADER_LENGTH);
+      }
+
+      Put transformedPut = new Put();
+      transformedPut.putValue = transformedPutValue;
+      /**
+       * The output schema of the transformer is not registered with the store, so the value keeps the schema id of the
+       * record it was transformed from, as a positive id tells the read path that the value is not chunked. The id
+       * must not be used to decode the value: the Da Vinci client reads every value of a transformed store with
+       * {@link DaVinciRecordTransformer#getOutputValueSchema()}, see
+       * {@link com.linkedin.davinci.storage.chunking.TransformedRecordChunkingAdapter}.
+       */
+      transformedPut.schemaId = put.schemaId;
+      transformedPut.replicationMetadataVersionId = put.replicationMetadataVersionId;
+      transformedPut.replicationMetadataPayload = put.replicationMetadataPayload;
+      return transformedPut;
+    } catch (IOException e) {
+      throw new VeniceException("Failed to transform a record of: " + kafkaVersionTopic, e);
+    }
+  }
+
+  private RecordDeserializer<Object> getRecordTransformerValueDeserializer(int schemaId) {
+    RecordDeserializer<Object> deserializer = recordTransformerValueDeserializers.get(schemaId);
+    if (deserializer == null) {
+      Schema writerSchema = schemaRepository.getValueSchema(storeName, schemaId).getSchema();
+      deserializer =
+          FastSerializerDeserializerFactory.getFastAvroGenericDeserializer(writerSchema, recordTransformerInputSchema);
+      recordTransformerValueDeserializers.set(schemaId, deserializer);
+    }
+    return deserializer;
+  }
+
   private void writeToStorageEngine(int partition, byte[] keyBytes, Put put, long currentTimeMs) {
     boolean metricsEnabled = emitMetrics.get();
     boolean traceEnabled = LOGGER.isTraceEnabled();
@@ -2865,6 +2984,25 @@ public abstract class StoreIngestionTask implements Runnable, Closeable {
         keyLen = keyBytes.length;
         // update checksum for this PUT message if needed.
         partitionConsumptionState.maybeUpdateExpectedChecksum(keyBytes, put);
+        if (recordTransformer != null) {
+          Put transformedPut = transformPut(keyBytes, put);
+          if (transformedPut == null) {
+            /**
+             * The record got filtered out, so any previous value of the key must not be served anymore. In deferred
+             * write mode, i.e. during a sorted batch push, there is no previous value yet and deletions are not
+             * supported by the storage engine, so there is nothing to do.
+             */
+            if (!partitionConsumptionState.isDeferredWrite()) {
+              Delete transformedDelete = new Delete();
+              transformedDelete.schemaId = put.schemaId;
+              transformedDelete.replicationMetadataVersionId = put.replicationMetadataVersionId;
+              transformedDelete.replicationMetadataPayload = put.replicationMetadataPayload;
+              removeFromStorageEngine(producedPartition, keyBytes, transformedDelete);
+            }
+            break;
+          }
+          put = transformedPut;
+        }
         prependHeaderAndWriteToStorageEngine(
             // Leaders might consume from a RT topic and immediately write into StorageEngine,
             // so we need to re-calculate partition.
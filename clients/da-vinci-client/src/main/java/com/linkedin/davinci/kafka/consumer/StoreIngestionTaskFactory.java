@@ -1,5 +1,6 @@
 package com.linkedin.davinci.kafka.consumer;
 
+import com.linkedin.davinci.client.DaVinciRecordTransformer;
 import com.linkedin.davinci.compression.StorageEngineBackedCompressorFactory;
 import com.linkedin.davinci.config.VeniceServerConfig;
 import com.linkedin.davinci.config.VeniceStoreVersionConfig;
@@ -26,6 +27,7 @@ import java.util.Optional;
 import java.util.Properties;
 import java.util.Queue;
 import java.util.function.BooleanSupplier;
+import java.util.function.Function;
 
 
 public class StoreIngestionTaskFactory {
@@ -109,6 +111,7 @@ public class StoreIngestionTaskFactory {
     private MetaStoreWriter metaStoreWriter;
     private StorageEngineBackedCompressorFactory compressorFactory;
     private PubSubTopicRepository pubSubTopicRepository;
+    private Function<String, DaVinciRecordTransformer> recordTransformerFunction = storeName -> null;
 
     private interface Setter {
       void apply();
@@ -303,5 +306,16 @@ public class StoreIngestionTaskFactory {
     public Builder setPubSubTopicRepository(PubSubTopicRepository pubSubTopicRepository) {
       return set(() -> this.pubSubTopicRepository = pubSubTopicRepository);
     }
+
+    public Function<String, DaVinciRecordTransformer> getRecordTransformerFunction() {
+      return recordTransformerFunction;
+    }
+
+    /**
+     * @param recordTransformerFunction returns the record transformer of the given store, or null if none.
+     */
+    public Builder setRecordTransformerFunction(Function<String, DaVinciRecordTransformer> recordTransformerFunction) {
+      return set(() -> this.recordTransformerFunction = recordTransformerFunction);
+    }
   }
 }
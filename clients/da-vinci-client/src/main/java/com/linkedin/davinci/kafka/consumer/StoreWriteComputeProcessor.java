@@ -3,6 +3,7 @@ package com.linkedin.davinci.kafka.consumer;
 import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.meta.ReadOnlySchemaRepository;
 import com.linkedin.venice.schema.merge.MergeRecordHelper;
+import com.linkedin.venice.schema.writecompute.IncrementalWriteComputeProcessor;
 import com.linkedin.venice.schema.writecompute.WriteComputeProcessor;
 import com.linkedin.venice.schema.writecompute.WriteComputeSchemaValidator;
 import com.linkedin.venice.serializer.AvroGenericDeserializer;
@@ -26,6 +27,7 @@ public class StoreWriteComputeProcessor {
   private final String storeName;
   private final ReadOnlySchemaRepository schemaRepo;
   private final WriteComputeProcessor writeComputeProcessor;
+  private final IncrementalWriteComputeProcessor incrementalWriteComputeProcessor;
   private final Map<SchemaIds, ValueAndWriteComputeSchemas> schemaIdsToSchemasMap;
   private final Map<Schema, AvroSerializer<GenericRecord>> valueSchemaSerializerMap;
 
@@ -38,6 +40,7 @@ public class StoreWriteComputeProcessor {
     this.storeName = storeName;
     this.schemaRepo = schemaRepo;
     this.writeComputeProcessor = new WriteComputeProcessor(mergeRecordHelper);
+    this.incrementalWriteComputeProcessor = new IncrementalWriteComputeProcessor();
     this.schemaIdsToSchemasMap = new VeniceConcurrentHashMap<>();
     this.valueSchemaSerializerMap = new VeniceConcurrentHashMap<>();
   }
@@ -78,6 +81,38 @@ public class StoreWriteComputeProcessor {
     return getValueSerializer(valueSchema).serialize(updatedValue);
   }
 
+  /**
+   * Apply Update operation on the serialized current value, without deserializing it entirely.
+   * See {@link IncrementalWriteComputeProcessor} for details. The result is byte-identical to the one of
+   * {@link #applyWriteCompute(GenericRecord, int, int, ByteBuffer, int, int)}.
+   *
+   * @param currValueBytes decompressed bytes of the value currently stored on this Venice server, which must have been
+   *                       serialized with the reader value schema. It must not be null.
+   * @param writeComputeBytes serialized write-compute operation.
+   * @param writerValueSchemaId ID of the writer value schema.
+   * @param readerValueSchemaId ID of the reader value schema, which is also the schema of the current value.
+   * @param writerUpdateProtocolVersion Update protocol version used to serialize Update payload bytes.
+   * @param readerUpdateProtocolVersion Update protocol version used to deserialize Update payload bytes.
+   *
+   * @return Bytes of partially updated original value.
+   */
+  public byte[] applyWriteComputeOnSerializedValue(
+      @Nonnull ByteBuffer currValueBytes,
+      int writerValueSchemaId,
+      int readerValueSchemaId,
+      ByteBuffer writeComputeBytes,
+      int writerUpdateProtocolVersion,
+      int readerUpdateProtocolVersion) {
+    GenericRecord writeComputeRecord = deserializeWriteComputeRecord(
+        writeComputeBytes,
+        writerValueSchemaId,
+        readerValueSchemaId,
+        writerUpdateProtocolVersion,
+        readerUpdateProtocolVersion);
+    Schema valueSchema = getValueSchema(readerValueSchemaId);
+    return incrementalWriteComputeProcessor.updateRecordBytes(valueSchema, currValueBytes, writeComputeRecord);
+  }
+
   private ValueAndWriteComputeSchemas getValueAndWriteComputeSchemas(int valueSchemaId, int writeComputeSchemaId) {
     final SchemaIds schemaIds = new SchemaIds(valueSchemaId, writeComputeSchemaId);
 
@@ -10,6 +10,7 @@ import it.unimi.dsi.fastutil.ints.IntList;
  */
 public abstract class ReadResponse {
   private double databaseLookupLatency = -1;
+  private double chunkedValueLookupLatency = 0;
   private double readComputeLatency = -1;
   private double readComputeDeserializationLatency = -1;
   private double readComputeSerializationLatency = -1;
@@ -54,6 +55,17 @@ public abstract class ReadResponse {
     return this.databaseLookupLatency;
   }
 
+  /**
+   * The part of the database lookup latency spent on chunked values, i.e.: on the manifest and chunk lookups.
+   */
+  public void addChunkedValueLookupLatency(double latency) {
+    this.chunkedValueLookupLatency += latency;
+  }
+
+  public double getChunkedValueLookupLatency() {
+    return this.chunkedValueLookupLatency;
+  }
+
   public void setReadComputeLatency(double latency) {
     this.readComputeLatency = latency;
   }
@@ -0,0 +1,47 @@
+package com.linkedin.davinci.snapshot;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+
+/**
+ * Downloads partition snapshots from the {@link PartitionSnapshotServer} of a peer.
+ */
+public class PartitionSnapshotClient {
+  private final int timeoutMs;
+
+  public PartitionSnapshotClient(int timeoutMs) {
+    this.timeoutMs = timeoutMs;
+  }
+
+  /**
+   * Download the snapshot of a partition from the given peer into a directory, which must not exist yet.
+   *
+   * @param peer the host:port of the peer's snapshot server.
+   * @return the metadata of the downloaded snapshot.
+   */
+  public PartitionSnapshotStream.Metadata fetch(String peer, String topic, int partition, File targetDir)
+      throws IOException {
+    URL url = new URL("http://" + peer + "/" + PartitionSnapshotServer.SNAPSHOT_PATH + "/" + topic + "/" + partition);
+    HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+    connection.setConnectTimeout(timeoutMs);
+    connection.setReadTimeout(timeoutMs);
+    try {
+      int status = connection.getResponseCode();
+      if (status != HttpURLConnection.HTTP_OK) {
+        throw new IOException(
+            "Peer " + peer + " responded with status " + status + " to the snapshot request of " + topic
+                + " partition " + partition);
+      }
+      try (InputStream in = new BufferedInputStream(connection.getInputStream())) {
+        return PartitionSnapshotStream.decode(in, targetDir);
+      }
+    } finally {
+      connection.disconnect();
+    }
+  }
+}
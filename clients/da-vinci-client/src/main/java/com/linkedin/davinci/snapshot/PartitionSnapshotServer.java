@@ -0,0 +1,106 @@
+package com.linkedin.davinci.snapshot;
+
+import com.linkedin.davinci.storage.StorageEngineRepository;
+import com.linkedin.davinci.storage.StorageMetadataService;
+import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.kafka.protocol.state.StoreVersionState;
+import com.linkedin.venice.serialization.avro.InternalAvroSpecificSerializer;
+import com.linkedin.venice.service.AbstractVeniceService;
+import com.linkedin.venice.utils.DaemonThreadFactory;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpRequestDecoder;
+import io.netty.handler.codec.http.HttpResponseEncoder;
+import io.netty.handler.stream.ChunkedWriteHandler;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+
+/**
+ * Serves consistent snapshots of the local partitions to other Da Vinci instances, so that they can bootstrap from
+ * them instead of replaying the whole version topic, see {@link PeerSnapshotBootstrapper}.
+ *
+ * The only endpoint is: GET /{@value #SNAPSHOT_PATH}/{topic}/{partition}, which responds with a
+ * {@link PartitionSnapshotStream}, and only for partitions which have completed their batch push.
+ */
+public class PartitionSnapshotServer extends AbstractVeniceService {
+  private static final Logger LOGGER = LogManager.getLogger(PartitionSnapshotServer.class);
+  static final String SNAPSHOT_PATH = "snapshot";
+  /**
+   * The snapshots are only requested by the instances bootstrapping new partitions, so a couple of threads are enough
+   * to create the checkpoints off the event loop.
+   */
+  private static final int SNAPSHOT_THREAD_COUNT = 2;
+
+  private final int port;
+  private final ServerBootstrap bootstrap;
+  private final EventLoopGroup bossGroup;
+  private final EventLoopGroup workerGroup;
+  private final ExecutorService snapshotExecutor;
+  private ChannelFuture serverFuture;
+
+  public PartitionSnapshotServer(
+      int port,
+      String snapshotBaseDir,
+      StorageEngineRepository storageEngineRepository,
+      StorageMetadataService storageMetadataService,
+      InternalAvroSpecificSerializer<StoreVersionState> storeVersionStateSerializer) {
+    this.port = port;
+    this.bossGroup = new NioEventLoopGroup(1);
+    this.workerGroup = new NioEventLoopGroup();
+    this.snapshotExecutor =
+        Executors.newFixedThreadPool(SNAPSHOT_THREAD_COUNT, new DaemonThreadFactory("PartitionSnapshotServer"));
+    this.bootstrap = new ServerBootstrap();
+    bootstrap.group(bossGroup, workerGroup)
+        .channel(NioServerSocketChannel.class)
+        .childHandler(new ChannelInitializer<SocketChannel>() {
+          @Override
+          protected void initChannel(SocketChannel ch) {
+            ch.pipeline().addLast(new HttpRequestDecoder());
+            ch.pipeline().addLast(new HttpObjectAggregator(64 * 1024));
+            ch.pipeline().addLast(new HttpResponseEncoder());
+            ch.pipeline().addLast(new ChunkedWriteHandler());
+            ch.pipeline()
+                .addLast(
+                    new PartitionSnapshotServerHandler(
+                        snapshotBaseDir,
+                        storageEngineRepository,
+                        storageMetadataService,
+                        storeVersionStateSerializer,
+                        snapshotExecutor));
+          }
+        })
+        .option(ChannelOption.SO_REUSEADDR, true)
+        .childOption(ChannelOption.SO_KEEPALIVE, true)
+        .childOption(ChannelOption.TCP_NODELAY, true);
+  }
+
+  @Override
+  public boolean startInner() {
+    try {
+      serverFuture = bootstrap.bind(port).sync();
+    } catch (Exception e) {
+      throw new VeniceException("Partition snapshot server is unable to bind to port " + port, e);
+    }
+    LOGGER.info("Partition snapshot server started on port: {}", port);
+    return true;
+  }
+
+  @Override
+  public void stopInner() throws Exception {
+    ChannelFuture shutdown = serverFuture.channel().closeFuture();
+    workerGroup.shutdownGracefully();
+    bossGroup.shutdownGracefully();
+    shutdown.sync();
+    snapshotExecutor.shutdownNow();
+  }
+}
@@ -0,0 +1,156 @@
+package com.linkedin.davinci.snapshot;
+
+import static com.linkedin.davinci.ingestion.utils.IsolatedIngestionUtils.buildHttpResponse;
+
+import com.linkedin.davinci.storage.StorageEngineRepository;
+import com.linkedin.davinci.storage.StorageMetadataService;
+import com.linkedin.davinci.store.AbstractStorageEngine;
+import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.kafka.protocol.state.StoreVersionState;
+import com.linkedin.venice.offsets.OffsetRecord;
+import com.linkedin.venice.serialization.avro.InternalAvroSpecificSerializer;
+import com.linkedin.venice.utils.ExceptionUtils;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpChunkedInput;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import io.netty.handler.stream.ChunkedStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import org.apache.commons.io.FileUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+
+/**
+ * Handles the snapshot requests of {@link PartitionSnapshotServer}.
+ *
+ * The {@link OffsetRecord} and the {@link StoreVersionState} are captured before the RocksDB checkpoint gets created,
+ * so the checkpoint contains at least everything up to the offset. Records after it may be in the checkpoint as well,
+ * which is fine since the peer resumes from that offset and replaying a record is idempotent.
+ *
+ * Creating the checkpoint flushes the memtables and links or copies the files of the partition, so it runs on the
+ * snapshot executor rather than on the Netty event loop, and the response gets written once it completes.
+ */
+class PartitionSnapshotServerHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
+  private static final Logger LOGGER = LogManager.getLogger(PartitionSnapshotServerHandler.class);
+  private static final int CHUNK_SIZE = 256 * 1024;
+
+  private final String snapshotBaseDir;
+  private final StorageEngineRepository storageEngineRepository;
+  private final StorageMetadataService storageMetadataService;
+  private final InternalAvroSpecificSerializer<StoreVersionState> storeVersionStateSerializer;
+  private final Executor snapshotExecutor;
+
+  PartitionSnapshotServerHandler(
+      String snapshotBaseDir,
+      StorageEngineRepository storageEngineRepository,
+      StorageMetadataService storageMetadataService,
+      InternalAvroSpecificSerializer<StoreVersionState> storeVersionStateSerializer,
+      Executor snapshotExecutor) {
+    this.snapshotBaseDir = snapshotBaseDir;
+    this.storageEngineRepository = storageEngineRepository;
+    this.storageMetadataService = storageMetadataService;
+    this.storeVersionStateSerializer = storeVersionStateSerializer;
+    this.snapshotExecutor = snapshotExecutor;
+  }
+
+  @Override
+  protected void channelRead0(ChannelHandlerContext ctx, FullHttpRequest request) throws Exception {
+    // Expected path: /snapshot/{topic}/{partition}
+    String[] parts = new QueryStringDecoder(request.uri()).path().split("/");
+    if (!request.method().equals(HttpMethod.GET) || parts.length != 4
+        || !parts[1].equals(PartitionSnapshotServer.SNAPSHOT_PATH)) {
+      sendError(ctx, HttpResponseStatus.BAD_REQUEST, "Unsupported request: " + request.method() + " " + request.uri());
+      return;
+    }
+    String topic = parts[2];
+    int partition;
+    try {
+      partition = Integer.parseInt(parts[3]);
+    } catch (NumberFormatException e) {
+      sendError(ctx, HttpResponseStatus.BAD_REQUEST, "Invalid partition: " + parts[3]);
+      return;
+    }
+
+    AbstractStorageEngine storageEngine = storageEngineRepository.getLocalStorageEngine(topic);
+    if (storageEngine == null || !storageEngine.containsPartition(partition)) {
+      sendError(ctx, HttpResponseStatus.NOT_FOUND, "No local data for " + topic + " partition " + partition);
+      return;
+    }
+    OffsetRecord offsetRecord = storageMetadataService.getLastOffset(topic, partition);
+    StoreVersionState storeVersionState = storageMetadataService.getStoreVersionState(topic);
+    if (!offsetRecord.isEndOfPushReceived() || storeVersionState == null) {
+      sendError(ctx, HttpResponseStatus.NOT_FOUND, topic + " partition " + partition + " is not ready to be shared");
+      return;
+    }
+    byte[] offsetRecordBytes = offsetRecord.toBytes();
+    byte[] storeVersionStateBytes = storeVersionStateSerializer.serialize(topic, storeVersionState);
+
+    File snapshotDir = new File(snapshotBaseDir, topic + "_" + partition + "_" + System.nanoTime());
+    CompletableFuture.supplyAsync(() -> {
+      try {
+        storageEngine.createSnapshot(partition, snapshotDir.getAbsolutePath());
+        return PartitionSnapshotStream.encode(offsetRecordBytes, storeVersionStateBytes, snapshotDir);
+      } catch (IOException e) {
+        throw new VeniceException("Failed to encode the snapshot of " + topic + " partition " + partition, e);
+      }
+    }, snapshotExecutor).whenComplete((snapshotStream, e) -> {
+      if (e != null) {
+        FileUtils.deleteQuietly(snapshotDir);
+        exceptionCaught(ctx, e instanceof CompletionException ? e.getCause() : e);
+        return;
+      }
+      LOGGER.info("Sending snapshot of {} partition {} at offset record: {}", topic, partition, offsetRecord);
+      sendSnapshot(ctx, topic, partition, snapshotDir, snapshotStream);
+    });
+  }
+
+  private static void sendSnapshot(
+      ChannelHandlerContext ctx,
+      String topic,
+      int partition,
+      File snapshotDir,
+      InputStream snapshotStream) {
+    HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+    response.headers().set(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_OCTET_STREAM);
+    HttpUtil.setTransferEncodingChunked(response, true);
+    ctx.write(response);
+    ctx.writeAndFlush(new HttpChunkedInput(new ChunkedStream(snapshotStream, CHUNK_SIZE))).addListener(future -> {
+      snapshotStream.close();
+      FileUtils.deleteQuietly(snapshotDir);
+      if (future.isSuccess()) {
+        LOGGER.info("Sent snapshot of {} partition {}", topic, partition);
+      } else {
+        LOGGER.warn("Failed to send snapshot of {} partition {}", topic, partition, future.cause());
+      }
+    }).addListener(ChannelFutureListener.CLOSE);
+  }
+
+  @Override
+  public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+    LOGGER.error("Failed to serve snapshot request", cause);
+    sendError(
+        ctx,
+        HttpResponseStatus.INTERNAL_SERVER_ERROR,
+        ExceptionUtils.compactExceptionDescription(cause, "exceptionCaught"));
+  }
+
+  private static void sendError(ChannelHandlerContext ctx, HttpResponseStatus status, String message) {
+    ctx.writeAndFlush(buildHttpResponse(status, message)).addListener(ChannelFutureListener.CLOSE);
+  }
+}
@@ -0,0 +1,200 @@
+package com.linkedin.davinci.snapshot;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Comparator;
+
+
+/**
+ * Wire format of a partition snapshot transferred between Da Vinci instances:
+ *
+ * 1. Format version (int).
+ * 2. Serialized {@link com.linkedin.venice.offsets.OffsetRecord} of the partition (int length + bytes).
+ * 3. Serialized {@link com.linkedin.venice.kafka.protocol.state.StoreVersionState} of the version (int length + bytes).
+ * 4. Number of files in the snapshot (int), followed by each file as: name (UTF), length (long) and content.
+ *
+ * Both sides stream the snapshot, so that neither of them holds more than a buffer of it in memory.
+ */
+public final class PartitionSnapshotStream {
+  static final int FORMAT_VERSION = 1;
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * The metadata which comes along with the files of a snapshot.
+   */
+  public static class Metadata {
+    private final byte[] offsetRecord;
+    private final byte[] storeVersionState;
+
+    Metadata(byte[] offsetRecord, byte[] storeVersionState) {
+      this.offsetRecord = offsetRecord;
+      this.storeVersionState = storeVersionState;
+    }
+
+    public byte[] getOffsetRecord() {
+      return offsetRecord;
+    }
+
+    public byte[] getStoreVersionState() {
+      return storeVersionState;
+    }
+  }
+
+  private PartitionSnapshotStream() {
+  }
+
+  /**
+   * @return a stream of the snapshot in the given directory, which opens each file only when it is reached, so closing
+   *         the stream is enough to release all the files.
+   */
+  public static InputStream encode(byte[] offsetRecord, byte[] storeVersionState, File snapshotDir)
+      throws IOException {
+    File[] files = snapshotDir.listFiles(File::isFile);
+    if (files == null) {
+      throw new IOException("Failed to list snapshot files in " + snapshotDir.getAbsolutePath());
+    }
+    Arrays.sort(files, Comparator.comparing(File::getName));
+
+    ByteArrayOutputStream header = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(header);
+    out.writeInt(FORMAT_VERSION);
+    writeBytes(out, offsetRecord);
+    writeBytes(out, storeVersionState);
+    out.writeInt(files.length);
+    out.flush();
+
+    return new SnapshotInputStream(header.toByteArray(), files);
+  }
+
+  /**
+   * Read a snapshot stream, writing its files into the given directory, which must not exist yet.
+   *
+   * @return the metadata of the snapshot.
+   */
+  public static Metadata decode(InputStream inputStream, File targetDir) throws IOException {
+    DataInputStream in = new DataInputStream(inputStream);
+    int formatVersion = in.readInt();
+    if (formatVersion != FORMAT_VERSION) {
+      throw new IOException("Unsupported snapshot format version: " + formatVersion);
+    }
+    byte[] offsetRecord = readBytes(in);
+    byte[] storeVersionState = readBytes(in);
+    int fileCount = in.readInt();
+    if (fileCount < 0) {
+      throw new IOException("Invalid snapshot file count: " + fileCount);
+    }
+    if (!targetDir.mkdirs()) {
+      throw new IOException("Failed to create snapshot directory " + targetDir.getAbsolutePath());
+    }
+    byte[] buffer = new byte[BUFFER_SIZE];
+    for (int i = 0; i < fileCount; i++) {
+      String name = in.readUTF();
+      if (name.isEmpty() || name.contains("/") || name.contains(File.separator) || name.equals("..")) {
+        throw new IOException("Invalid snapshot file name: " + name);
+      }
+      long remaining = in.readLong();
+      try (OutputStream out = new FileOutputStream(new File(targetDir, name))) {
+        while (remaining > 0) {
+          int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+          if (read < 0) {
+            throw new IOException("Unexpected end of snapshot stream while reading file " + name);
+          }
+          out.write(buffer, 0, read);
+          remaining -= read;
+        }
+      }
+    }
+    return new Metadata(offsetRecord, storeVersionState);
+  }
+
+  /**
+   * Concatenates the header and the files of a snapshot. Unlike {@link java.io.SequenceInputStream}, closing it only
+   * closes the file being read, rather than opening all the remaining ones.
+   */
+  private static class SnapshotInputStream extends InputStream {
+    private final File[] files;
+    private InputStream current;
+    private int fileIndex = 0;
+    private boolean fileHeaderSent = false;
+
+    SnapshotInputStream(byte[] header, File[] files) {
+      this.files = files;
+      this.current = new ByteArrayInputStream(header);
+    }
+
+    @Override
+    public int read() throws IOException {
+      byte[] b = new byte[1];
+      return read(b, 0, 1) < 0 ? -1 : (b[0] & 0xff);
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (len == 0) {
+        return 0;
+      }
+      while (current != null) {
+        int read = current.read(b, off, len);
+        if (read > 0) {
+          return read;
+        }
+        nextStream();
+      }
+      return -1;
+    }
+
+    private void nextStream() throws IOException {
+      current.close();
+      current = null;
+      if (fileIndex >= files.length) {
+        return;
+      }
+      File file = files[fileIndex];
+      if (!fileHeaderSent) {
+        fileHeaderSent = true;
+        ByteArrayOutputStream fileHeader = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(fileHeader);
+        out.writeUTF(file.getName());
+        out.writeLong(file.length());
+        out.flush();
+        current = new ByteArrayInputStream(fileHeader.toByteArray());
+      } else {
+        fileHeaderSent = false;
+        fileIndex++;
+        current = new FileInputStream(file);
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (current != null) {
+        current.close();
+        current = null;
+      }
+    }
+  }
+
+  private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static byte[] readBytes(DataInputStream in) throws IOException {
+    int length = in.readInt();
+    if (length < 0) {
+      throw new IOException("Invalid length: " + length);
+    }
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return bytes;
+  }
+}
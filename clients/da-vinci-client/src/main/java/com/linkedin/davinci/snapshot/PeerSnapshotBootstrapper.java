@@ -0,0 +1,95 @@
+package com.linkedin.davinci.snapshot;
+
+import com.linkedin.davinci.storage.StorageMetadataService;
+import com.linkedin.davinci.store.AbstractStorageEngine;
+import com.linkedin.venice.kafka.protocol.state.PartitionState;
+import com.linkedin.venice.kafka.protocol.state.StoreVersionState;
+import com.linkedin.venice.offsets.OffsetRecord;
+import com.linkedin.venice.serialization.avro.InternalAvroSpecificSerializer;
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.FileUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+
+/**
+ * Bootstraps empty local partitions from snapshots served by the {@link PartitionSnapshotServer} of peers, so that a
+ * new instance only needs to consume the version topic from the offset of the snapshot, rather than from scratch.
+ *
+ * Peers are tried in order, and any failure simply moves on to the next one. If none of them can provide the
+ * snapshot, the partition is left untouched and gets bootstrapped by consuming the whole version topic as usual.
+ */
+public class PeerSnapshotBootstrapper {
+  private static final Logger LOGGER = LogManager.getLogger(PeerSnapshotBootstrapper.class);
+
+  private final List<String> peers;
+  private final String snapshotBaseDir;
+  private final PartitionSnapshotClient client;
+  private final StorageMetadataService storageMetadataService;
+  private final InternalAvroSpecificSerializer<PartitionState> partitionStateSerializer;
+  private final InternalAvroSpecificSerializer<StoreVersionState> storeVersionStateSerializer;
+
+  public PeerSnapshotBootstrapper(
+      List<String> peers,
+      String snapshotBaseDir,
+      int transferTimeoutSeconds,
+      StorageMetadataService storageMetadataService,
+      InternalAvroSpecificSerializer<PartitionState> partitionStateSerializer,
+      InternalAvroSpecificSerializer<StoreVersionState> storeVersionStateSerializer) {
+    this.peers = peers;
+    this.snapshotBaseDir = snapshotBaseDir;
+    this.client = new PartitionSnapshotClient((int) TimeUnit.SECONDS.toMillis(transferTimeoutSeconds));
+    this.storageMetadataService = storageMetadataService;
+    this.partitionStateSerializer = partitionStateSerializer;
+    this.storeVersionStateSerializer = storeVersionStateSerializer;
+  }
+
+  /**
+   * Restore the given partition from the snapshot of a peer, unless it already has some local data.
+   *
+   * @return whether the partition got restored from a peer.
+   */
+  public boolean bootstrap(AbstractStorageEngine storageEngine, String topic, int partition) {
+    if (peers.isEmpty()) {
+      return false;
+    }
+    OffsetRecord localOffsetRecord = storageMetadataService.getLastOffset(topic, partition);
+    if (localOffsetRecord.getLocalVersionTopicOffset() != OffsetRecord.LOWEST_OFFSET) {
+      return false;
+    }
+    for (String peer: peers) {
+      File snapshotDir = new File(snapshotBaseDir, topic + "_" + partition + "_" + System.nanoTime());
+      try {
+        long startTimeMs = System.currentTimeMillis();
+        PartitionSnapshotStream.Metadata metadata = client.fetch(peer, topic, partition, snapshotDir);
+        OffsetRecord offsetRecord = new OffsetRecord(metadata.getOffsetRecord(), partitionStateSerializer);
+        StoreVersionState storeVersionState =
+            storeVersionStateSerializer.deserialize(topic, metadata.getStoreVersionState());
+
+        storageEngine.restorePartitionFromSnapshot(partition, snapshotDir.getAbsolutePath());
+        storageMetadataService
+            .computeStoreVersionState(topic, previous -> previous != null ? previous : storeVersionState);
+        storageMetadataService.put(topic, partition, offsetRecord);
+        LOGGER.info(
+            "Restored {} partition {} from peer {} in {} ms, resuming from offset record: {}",
+            topic,
+            partition,
+            peer,
+            System.currentTimeMillis() - startTimeMs,
+            offsetRecord);
+        return true;
+      } catch (Exception e) {
+        LOGGER.warn("Failed to restore {} partition {} from peer {}", topic, partition, peer, e);
+      } finally {
+        FileUtils.deleteQuietly(snapshotDir);
+      }
+    }
+    LOGGER.info(
+        "No peer could provide a snapshot of {} partition {}, it will be consumed from scratch",
+        topic,
+        partition);
+    return false;
+  }
+}
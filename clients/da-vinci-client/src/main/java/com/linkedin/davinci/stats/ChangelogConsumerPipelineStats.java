@@ -0,0 +1,48 @@
+package com.linkedin.davinci.stats;
+
+import com.linkedin.venice.stats.AbstractVeniceStats;
+import com.linkedin.venice.stats.Gauge;
+import io.tehuti.metrics.MetricsRepository;
+import io.tehuti.metrics.Sensor;
+import io.tehuti.metrics.stats.Avg;
+import io.tehuti.metrics.stats.Max;
+import java.util.function.LongSupplier;
+
+
+/**
+ * Metrics of the pipelined polling mode of the change log consumer, which help to tell whether the application, the
+ * workers or Kafka is the bottleneck.
+ */
+public class ChangelogConsumerPipelineStats extends AbstractVeniceStats {
+  // Time between fetching the records from Kafka and handing them over to the application through poll.
+  private final Sensor deliveryLagSensor;
+  // Time between producing the records and handing them over to the application through poll.
+  private final Sensor endToEndLagSensor;
+  // Time the fetcher spent waiting for the application to drain the buffer.
+  private final Sensor backpressureWaitTimeSensor;
+
+  public ChangelogConsumerPipelineStats(
+      MetricsRepository metricsRepository,
+      String storeName,
+      LongSupplier inFlightRecordCount,
+      LongSupplier readyEventCount) {
+    super(metricsRepository, "changelog_consumer_pipeline_" + storeName);
+    registerSensor("in_flight_records", new Gauge(() -> inFlightRecordCount.getAsLong()));
+    registerSensor("ready_events", new Gauge(() -> readyEventCount.getAsLong()));
+    deliveryLagSensor = registerSensor("delivery_lag_ms", new Avg(), new Max());
+    endToEndLagSensor = registerSensor("end_to_end_lag_ms", new Avg(), new Max());
+    backpressureWaitTimeSensor = registerSensor("backpressure_wait_time_ms", new Avg(), new Max());
+  }
+
+  public void recordDeliveryLag(double lagMs) {
+    deliveryLagSensor.record(lagMs);
+  }
+
+  public void recordEndToEndLag(double lagMs) {
+    endToEndLagSensor.record(lagMs);
+  }
+
+  public void recordBackpressureWaitTime(double waitTimeMs) {
+    backpressureWaitTimeSensor.record(waitTimeMs);
+  }
+}
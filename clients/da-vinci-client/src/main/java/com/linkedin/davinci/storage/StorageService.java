@@ -2,6 +2,7 @@ package com.linkedin.davinci.storage;
 
 import static com.linkedin.venice.meta.PersistenceType.BLACK_HOLE;
 import static com.linkedin.venice.meta.PersistenceType.IN_MEMORY;
+import static com.linkedin.venice.meta.PersistenceType.OFF_HEAP_MEMORY;
 import static com.linkedin.venice.meta.PersistenceType.ROCKS_DB;
 
 import com.linkedin.davinci.config.VeniceConfigLoader;
@@ -13,6 +14,7 @@ import com.linkedin.davinci.store.AbstractStorageEngine;
 import com.linkedin.davinci.store.StorageEngineFactory;
 import com.linkedin.davinci.store.blackhole.BlackHoleStorageEngineFactory;
 import com.linkedin.davinci.store.memory.InMemoryStorageEngineFactory;
+import com.linkedin.davinci.store.memory.OffHeapStorageEngineFactory;
 import com.linkedin.davinci.store.rocksdb.RocksDBStorageEngineFactory;
 import com.linkedin.venice.ConfigKeys;
 import com.linkedin.venice.exceptions.VeniceException;
@@ -148,6 +150,7 @@ public class StorageService extends AbstractVeniceService {
             storeVersionStateSerializer,
             partitionStateSerializer));
     persistenceTypeToStorageEngineFactoryMap.put(BLACK_HOLE, new BlackHoleStorageEngineFactory());
+    persistenceTypeToStorageEngineFactoryMap.put(OFF_HEAP_MEMORY, new OffHeapStorageEngineFactory(serverConfig));
   }
 
   private void restoreAllStores(
@@ -109,6 +109,25 @@ public abstract class AbstractAvroChunkingAdapter<T> implements ChunkingAdapter<
     return new ChunkedValueInputStream(chunkedValueManifest.keysWithChunkIdSuffix.size());
   }
 
+  /**
+   * The chunks are decoded sequentially from a {@link ChunkedValueInputStream}, so they can be streamed from the
+   * storage engine one at a time instead of all being held in memory before decoding starts.
+   */
+  @Override
+  public boolean isChunkStreamingSupported() {
+    return true;
+  }
+
+  @Override
+  public ChunkedValueInputStream constructStreamingChunksContainer(
+      ChunkedValueManifest chunkedValueManifest,
+      ChunkedValueInputStream.ChunkFetcher chunkFetcher) {
+    return new ChunkedValueInputStream(
+        chunkedValueManifest.keysWithChunkIdSuffix.size(),
+        chunkedValueManifest.size,
+        chunkFetcher);
+  }
+
   @Override
   public T constructValue(
       int schemaId,
@@ -194,6 +213,32 @@ public abstract class AbstractAvroChunkingAdapter<T> implements ChunkingAdapter<
         false);
   }
 
+  /**
+   * Constructs the value from its top-level entry, which the caller already read from the storage engine.
+   */
+  public T getFromTopLevelValue(
+      AbstractStorageEngine store,
+      int readerSchemaID,
+      int partition,
+      byte[] topLevelValue,
+      CompressionStrategy compressionStrategy,
+      boolean fastAvroEnabled,
+      ReadOnlySchemaRepository schemaRepo,
+      String storeName,
+      VeniceCompressor compressor) {
+    return ChunkingUtils.getFromTopLevelValue(
+        this,
+        topLevelValue,
+        store,
+        readerSchemaID,
+        partition,
+        compressionStrategy,
+        fastAvroEnabled,
+        schemaRepo,
+        storeName,
+        compressor);
+  }
+
   public T get(
       String storeName,
       AbstractStorageEngine store,
@@ -6,6 +6,8 @@ import com.linkedin.davinci.store.record.ValueRecord;
 import com.linkedin.venice.read.protocol.response.MultiGetResponseRecordV1;
 import com.linkedin.venice.storage.protocol.ChunkedValueManifest;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 
 
 /**
@@ -68,4 +70,26 @@ public class BatchGetChunkingAdapter implements ChunkingAdapter<ByteBuffer, Mult
     }
     return ChunkingUtils.getFromStorage(BATCH_GET_CHUNKING_ADAPTER, store, partition, key, response);
   }
+
+  /**
+   * Looks up several keys at once, so that the chunks of all the large values among them can be fetched together.
+   *
+   * @see ChunkingUtils#getFromStorageInBatch(ChunkingAdapter, AbstractStorageEngine, int[], List, ReadResponse)
+   * @return the records, in the same order as the keys, with null for the keys which do not exist.
+   */
+  public static List<MultiGetResponseRecordV1> get(
+      AbstractStorageEngine store,
+      int[] partitions,
+      List<ByteBuffer> keys,
+      boolean isChunked,
+      ReadResponse response) {
+    if (isChunked) {
+      List<ByteBuffer> keysWithSuffix = new ArrayList<>(keys.size());
+      for (ByteBuffer key: keys) {
+        keysWithSuffix.add(ChunkingUtils.KEY_WITH_CHUNKING_SUFFIX_SERIALIZER.serializeNonChunkedKey(key));
+      }
+      keys = keysWithSuffix;
+    }
+    return ChunkingUtils.getFromStorageInBatch(BATCH_GET_CHUNKING_ADAPTER, store, partitions, keys, response);
+  }
 }
@@ -11,6 +11,11 @@ import java.io.InputStream;
  * without stitching it up into a single big byte array. This is in the hope of avoiding humongous allocations
  * and being more GC-efficient.
  *
+ * In streaming mode (see {@link #ChunkedValueInputStream(int, int, ChunkFetcher)}), the chunks are not set up-front,
+ * but fetched in order while the stream is being consumed, and released as soon as they have been fully read. This
+ * way, at most one chunk is held by the stream at any given time, and the consumer can start decoding the value as
+ * soon as the first chunk is available.
+ *
  * NOT intended for multi-threaded usage.
  */
 @NotThreadsafe
@@ -18,12 +23,37 @@ public class ChunkedValueInputStream extends InputStream {
   /** Each chunk is prefixed by a 4 bytes schema ID, which is not part of the payload and thus needs to be skipped */
   private static final int STARTING_OFFSET_IN_EACH_CHUNK = ValueRecord.SCHEMA_HEADER_LENGTH;
 
+  /**
+   * Used in streaming mode to retrieve the content of a chunk, including its schema ID header.
+   */
+  public interface ChunkFetcher {
+    byte[] fetch(int chunkIndex);
+  }
+
   private final byte[][] chunks;
+  private final ChunkFetcher chunkFetcher;
+  private final int expectedSize;
+  private int fetchedSize = 0;
   private int offsetInCurrentChunk = STARTING_OFFSET_IN_EACH_CHUNK;
   private int currentChunk = 0;
 
   public ChunkedValueInputStream(int numberOfChunks) {
     this.chunks = new byte[numberOfChunks][];
+    this.chunkFetcher = null;
+    this.expectedSize = -1;
+  }
+
+  /**
+   * Constructor for the streaming mode.
+   *
+   * @param numberOfChunks total number of chunks of the value
+   * @param expectedSize total size of the chunk payloads, excluding the schema ID headers
+   * @param chunkFetcher used to fetch each chunk the first time it is read
+   */
+  public ChunkedValueInputStream(int numberOfChunks, int expectedSize, ChunkFetcher chunkFetcher) {
+    this.chunks = new byte[numberOfChunks][];
+    this.chunkFetcher = chunkFetcher;
+    this.expectedSize = expectedSize;
   }
 
   public void setChunk(int chunkIndex, byte[] chunkContent) {
@@ -51,6 +81,7 @@ public class ChunkedValueInputStream extends InputStream {
     if (isFullyRead()) {
       return -1;
     }
+    fetchCurrentChunkIfNeeded();
     if (isCurrentChunkFullyRead()) {
       moveToNextChunk();
       return read();
@@ -92,6 +123,7 @@ public class ChunkedValueInputStream extends InputStream {
           return bytesRead;
         }
       }
+      fetchCurrentChunkIfNeeded();
       if (isCurrentChunkFullyRead()) {
         moveToNextChunk();
         // defensive code: we restart the loop to undergo the previous check again
@@ -106,10 +138,29 @@ public class ChunkedValueInputStream extends InputStream {
     return bytesRead;
   }
 
+  private void fetchCurrentChunkIfNeeded() {
+    if (chunkFetcher == null || chunks[currentChunk] != null) {
+      return;
+    }
+    byte[] chunkContent = chunkFetcher.fetch(currentChunk);
+    setChunk(currentChunk, chunkContent);
+    fetchedSize += chunkContent.length - STARTING_OFFSET_IN_EACH_CHUNK;
+    boolean isLastChunk = currentChunk == chunks.length - 1;
+    if (fetchedSize > expectedSize || (isLastChunk && fetchedSize != expectedSize)) {
+      throw new IllegalStateException(
+          "The streamed large value does not have the expected size! fetchedSize: " + fetchedSize + ", expectedSize: "
+              + expectedSize + ", chunk index: " + currentChunk);
+    }
+  }
+
   private void moveToNextChunk() {
+    if (chunkFetcher != null) {
+      // Release the chunk which has been fully read, so that it can be garbage collected.
+      chunks[currentChunk] = null;
+    }
     currentChunk++;
     offsetInCurrentChunk = STARTING_OFFSET_IN_EACH_CHUNK;
-    if (!isFullyRead() && chunks[currentChunk] == null) {
+    if (chunkFetcher == null && !isFullyRead() && chunks[currentChunk] == null) {
       // Defensive code. Should never happen, unless there is a regression in the code.
       throw new IllegalStateException(
           "All chunks should be set prior to calling read(), yet currentChunk (" + currentChunk + ") is null.");
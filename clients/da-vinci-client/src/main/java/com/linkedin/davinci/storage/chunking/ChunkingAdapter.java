@@ -88,6 +88,25 @@ public interface ChunkingAdapter<CHUNKS_CONTAINER, VALUE> {
    */
   CHUNKS_CONTAINER constructChunksContainer(ChunkedValueManifest chunkedValueManifest);
 
+  /**
+   * Adapters which consume the re-assembled value sequentially (e.g.: by decoding it) can return true here, in which
+   * case the chunks are not fetched up-front, but handed over lazily, in order, through the container returned by
+   * {@link #constructStreamingChunksContainer(ChunkedValueManifest, ChunkedValueInputStream.ChunkFetcher)}.
+   */
+  default boolean isChunkStreamingSupported() {
+    return false;
+  }
+
+  /**
+   * Used to construct a {@param CHUNKS_CONTAINER} container which fetches the chunks with {@param chunkFetcher}
+   * while the value is being constructed. Only called if {@link #isChunkStreamingSupported()} returns true.
+   */
+  default CHUNKS_CONTAINER constructStreamingChunksContainer(
+      ChunkedValueManifest chunkedValueManifest,
+      ChunkedValueInputStream.ChunkFetcher chunkFetcher) {
+    throw new VeniceException("Not implemented.");
+  }
+
   /**
    * Used to wrap a large value re-assembled with the use of a {@param CHUNKS_CONTAINER}
    * into the right type of {@param VALUE} class needed by the query code.
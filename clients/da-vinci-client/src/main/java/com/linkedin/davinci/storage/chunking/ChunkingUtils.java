@@ -19,6 +19,11 @@ import com.linkedin.venice.storage.protocol.ChunkedValueManifest;
 import com.linkedin.venice.utils.LatencyUtils;
 import com.linkedin.venice.writer.VeniceWriter;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.avro.io.BinaryDecoder;
 
@@ -57,7 +62,8 @@ import org.apache.avro.io.BinaryDecoder;
  * 4. Each chunk key is queried.
  * 5. The chunks are stitched back together using the various adpater interfaces of this package,
  *    depending on whether it is the single get or batch get/compute path that needs to re-assembe
- *    a chunked value.
+ *    a chunked value. Adapters which decode the value sequentially do not wait for all the chunks: these are
+ *    fetched one at a time while the value is being decoded, so that the whole value is never held in memory.
  */
 public class ChunkingUtils {
   static final ChunkedValueManifestSerializer CHUNKED_VALUE_MANIFEST_SERIALIZER =
@@ -272,6 +278,41 @@ public class ChunkingUtils {
         isRmdValue);
   }
 
+  /**
+   * Same as {@link #getFromStorage(ChunkingAdapter, AbstractStorageEngine, int, int, ByteBuffer, ReadResponse, Object, BinaryDecoder, CompressionStrategy, boolean, ReadOnlySchemaRepository, String, VeniceCompressor, boolean)},
+   * except that the top-level value was already read from the storage engine by the caller, so that only the chunks of
+   * a chunked value, if any, are read.
+   */
+  static <VALUE, CHUNKS_CONTAINER> VALUE getFromTopLevelValue(
+      ChunkingAdapter<CHUNKS_CONTAINER, VALUE> adapter,
+      byte[] topLevelValue,
+      AbstractStorageEngine store,
+      int readerSchemaID,
+      int partition,
+      CompressionStrategy compressionStrategy,
+      boolean fastAvroEnabled,
+      ReadOnlySchemaRepository schemaRepo,
+      String storeName,
+      VeniceCompressor compressor) {
+    return getFromStorage(
+        topLevelValue,
+        (topLevelValue == null ? 0 : topLevelValue.length),
+        0,
+        adapter,
+        store,
+        readerSchemaID,
+        partition,
+        null,
+        null,
+        null,
+        compressionStrategy,
+        fastAvroEnabled,
+        schemaRepo,
+        storeName,
+        compressor,
+        false);
+  }
+
   /**
    * Fetches the value associated with the given key, and potentially re-assembles it, if it is
    * a chunked value.
@@ -334,42 +375,64 @@ public class ChunkingUtils {
     // End of initial sanity checks. We have a chunked value, so we need to fetch all chunks
 
     ChunkedValueManifest chunkedValueManifest = CHUNKED_VALUE_MANIFEST_SERIALIZER.deserialize(value, writerSchemaId);
-    CHUNKS_CONTAINER assembledValueContainer = adapter.constructChunksContainer(chunkedValueManifest);
-    int actualSize = 0;
 
-    for (int chunkIndex = 0; chunkIndex < chunkedValueManifest.keysWithChunkIdSuffix.size(); chunkIndex++) {
-      // N.B.: This is done sequentially. Originally, each chunk was fetched concurrently in the same executor
-      // as the main queries, but this might cause deadlocks, so we are now doing it sequentially. If we want to
-      // optimize large value retrieval in the future, it's unclear whether the concurrent retrieval approach
-      // is optimal (as opposed to streaming the response out incrementally, for example). Since this is a
-      // premature optimization, we are not addressing it right now.
-      byte[] chunkKey = chunkedValueManifest.keysWithChunkIdSuffix.get(chunkIndex).array();
-      byte[] valueChunk =
-          isRmdValue ? store.getReplicationMetadata(partition, chunkKey) : store.get(partition, chunkKey);
-
-      if (valueChunk == null) {
-        throw new VeniceException("Chunk not found in " + getExceptionMessageDetails(store, partition, chunkIndex));
-      } else if (ValueRecord.parseSchemaId(valueChunk) != AvroProtocolDefinition.CHUNK.getCurrentProtocolVersion()) {
-        throw new VeniceException(
-            "Did not get the chunk schema ID while attempting to retrieve a chunk! " + "Instead, got schema ID: "
-                + ValueRecord.parseSchemaId(valueChunk) + " from "
-                + getExceptionMessageDetails(store, partition, chunkIndex));
+    if (adapter.isChunkStreamingSupported()) {
+      /**
+       * The chunks are fetched lazily while the value is being constructed, so the lookup latency is accumulated
+       * chunk by chunk rather than measured around the whole re-assembly.
+       */
+      if (response != null) {
+        double latency = LatencyUtils.getLatencyInMS(databaseLookupStartTimeInNS);
+        response.addDatabaseLookupLatency(latency);
+        response.addChunkedValueLookupLatency(latency);
+        response.incrementMultiChunkLargeValueCount();
       }
-
-      actualSize += valueChunk.length - ValueRecord.SCHEMA_HEADER_LENGTH;
-      adapter.addChunkIntoContainer(assembledValueContainer, chunkIndex, valueChunk);
+      CHUNKS_CONTAINER streamingValueContainer =
+          adapter.constructStreamingChunksContainer(chunkedValueManifest, chunkIndex -> {
+            long chunkLookupStartTimeInNS = (response != null) ? System.nanoTime() : 0;
+            byte[] valueChunk = getChunk(store, partition, chunkedValueManifest, chunkIndex, isRmdValue);
+            if (response != null) {
+              double latency = LatencyUtils.getLatencyInMS(chunkLookupStartTimeInNS);
+              response.addDatabaseLookupLatency(latency);
+              response.addChunkedValueLookupLatency(latency);
+            }
+            return valueChunk;
+          });
+      return adapter.constructValue(
+          chunkedValueManifest.schemaId,
+          streamingValueContainer,
+          reusedValue,
+          reusedDecoder,
+          response,
+          compressionStrategy,
+          fastAvroEnabled,
+          schemaRepo,
+          storeName,
+          compressor);
     }
 
-    // Sanity check based on size...
-    if (actualSize != chunkedValueManifest.size) {
-      throw new VeniceException(
-          "The fully assembled large value does not have the expected size! " + "actualSize: " + actualSize
-              + ", chunkedValueManifest.size: " + chunkedValueManifest.size + ", "
-              + getExceptionMessageDetails(store, partition, null));
+    /**
+     * N.B.: Originally, each chunk was fetched concurrently in the same executor as the main queries, but this might
+     * cause deadlocks. Instead, all the chunks are now fetched with a single multi-get, which saves one storage engine
+     * round trip per chunk. Adapters which decode the value sequentially avoid holding all chunks at once by
+     * streaming them instead (see above).
+     */
+    List<byte[]> valueChunks;
+    if (isRmdValue) {
+      valueChunks = new ArrayList<>(chunkedValueManifest.keysWithChunkIdSuffix.size());
+      for (ByteBuffer chunkKey: chunkedValueManifest.keysWithChunkIdSuffix) {
+        valueChunks.add(store.getReplicationMetadata(partition, chunkKey.array()));
+      }
+    } else {
+      valueChunks = store.multiGet(partition, getChunkKeys(chunkedValueManifest, new ArrayList<>()));
     }
+    CHUNKS_CONTAINER assembledValueContainer =
+        assembleChunks(adapter, store, partition, chunkedValueManifest, valueChunks, 0);
 
     if (response != null) {
-      response.addDatabaseLookupLatency(LatencyUtils.getLatencyInMS(databaseLookupStartTimeInNS));
+      double latency = LatencyUtils.getLatencyInMS(databaseLookupStartTimeInNS);
+      response.addDatabaseLookupLatency(latency);
+      response.addChunkedValueLookupLatency(latency);
       response.incrementMultiChunkLargeValueCount();
     }
 
@@ -386,6 +449,157 @@ public class ChunkingUtils {
         compressor);
   }
 
+  /**
+   * Batch flavor of {@link #getFromStorage}, for the adapters which implement the short variants of
+   * {@link ChunkingAdapter#constructValue}.
+   *
+   * The top-level keys are looked up one by one, then the chunks of all the chunked values are fetched with a
+   * single multi-get per partition, rather than with one lookup per chunk of each value.
+   *
+   * @return the values, in the same order as the keys, with null for the keys which do not exist.
+   */
+  static <VALUE, CHUNKS_CONTAINER> List<VALUE> getFromStorageInBatch(
+      ChunkingAdapter<CHUNKS_CONTAINER, VALUE> adapter,
+      AbstractStorageEngine store,
+      int[] partitions,
+      List<ByteBuffer> keyBuffers,
+      ReadResponse response) {
+    int keyCount = keyBuffers.size();
+    List<VALUE> values = new ArrayList<>(Collections.nCopies(keyCount, null));
+    ChunkedValueManifest[] chunkedValueManifests = null;
+    // Indices of the chunked values, grouped by partition since each partition is queried separately
+    Map<Integer, List<Integer>> chunkedValueIndicesByPartition = null;
+
+    for (int i = 0; i < keyCount; i++) {
+      long databaseLookupStartTimeInNS = (response != null) ? System.nanoTime() : 0;
+      byte[] value = store.get(partitions[i], keyBuffers.get(i));
+      if (value == null) {
+        if (response != null) {
+          response.addDatabaseLookupLatency(LatencyUtils.getLatencyInMS(databaseLookupStartTimeInNS));
+        }
+        continue;
+      }
+      int writerSchemaId = ValueRecord.parseSchemaId(value);
+
+      if (writerSchemaId > 0) {
+        // User-defined schema, thus not a chunked value.
+        if (response != null) {
+          response.addDatabaseLookupLatency(LatencyUtils.getLatencyInMS(databaseLookupStartTimeInNS));
+        }
+        values.set(i, adapter.constructValue(writerSchemaId, value));
+      } else if (writerSchemaId != AvroProtocolDefinition.CHUNKED_VALUE_MANIFEST.getCurrentProtocolVersion()) {
+        throw new VeniceException("Found a record with invalid schema ID: " + writerSchemaId);
+      } else {
+        if (chunkedValueManifests == null) {
+          chunkedValueManifests = new ChunkedValueManifest[keyCount];
+          chunkedValueIndicesByPartition = new HashMap<>();
+        }
+        chunkedValueManifests[i] = CHUNKED_VALUE_MANIFEST_SERIALIZER.deserialize(value, writerSchemaId);
+        chunkedValueIndicesByPartition.computeIfAbsent(partitions[i], p -> new ArrayList<>()).add(i);
+        if (response != null) {
+          double latency = LatencyUtils.getLatencyInMS(databaseLookupStartTimeInNS);
+          response.addDatabaseLookupLatency(latency);
+          response.addChunkedValueLookupLatency(latency);
+        }
+      }
+    }
+
+    if (chunkedValueManifests == null) {
+      return values;
+    }
+
+    for (Map.Entry<Integer, List<Integer>> entry: chunkedValueIndicesByPartition.entrySet()) {
+      int partition = entry.getKey();
+      List<Integer> chunkedValueIndices = entry.getValue();
+      List<byte[]> chunkKeys = new ArrayList<>();
+      for (int index: chunkedValueIndices) {
+        getChunkKeys(chunkedValueManifests[index], chunkKeys);
+      }
+
+      long databaseLookupStartTimeInNS = (response != null) ? System.nanoTime() : 0;
+      List<byte[]> valueChunks = store.multiGet(partition, chunkKeys);
+      if (response != null) {
+        double latency = LatencyUtils.getLatencyInMS(databaseLookupStartTimeInNS);
+        response.addDatabaseLookupLatency(latency);
+        response.addChunkedValueLookupLatency(latency);
+      }
+
+      int offset = 0;
+      for (int index: chunkedValueIndices) {
+        ChunkedValueManifest chunkedValueManifest = chunkedValueManifests[index];
+        CHUNKS_CONTAINER assembledValueContainer =
+            assembleChunks(adapter, store, partition, chunkedValueManifest, valueChunks, offset);
+        offset += chunkedValueManifest.keysWithChunkIdSuffix.size();
+        values.set(index, adapter.constructValue(chunkedValueManifest.schemaId, assembledValueContainer));
+        if (response != null) {
+          response.incrementMultiChunkLargeValueCount();
+        }
+      }
+    }
+    return values;
+  }
+
+  private static List<byte[]> getChunkKeys(ChunkedValueManifest chunkedValueManifest, List<byte[]> chunkKeys) {
+    for (ByteBuffer chunkKey: chunkedValueManifest.keysWithChunkIdSuffix) {
+      chunkKeys.add(chunkKey.array());
+    }
+    return chunkKeys;
+  }
+
+  /**
+   * Validates the chunks of a value, found in {@param valueChunks} starting at {@param offset}, and puts them
+   * together with the adapter.
+   */
+  private static <VALUE, CHUNKS_CONTAINER> CHUNKS_CONTAINER assembleChunks(
+      ChunkingAdapter<CHUNKS_CONTAINER, VALUE> adapter,
+      AbstractStorageEngine store,
+      int partition,
+      ChunkedValueManifest chunkedValueManifest,
+      List<byte[]> valueChunks,
+      int offset) {
+    CHUNKS_CONTAINER assembledValueContainer = adapter.constructChunksContainer(chunkedValueManifest);
+    int actualSize = 0;
+
+    for (int chunkIndex = 0; chunkIndex < chunkedValueManifest.keysWithChunkIdSuffix.size(); chunkIndex++) {
+      byte[] valueChunk = valueChunks.get(offset + chunkIndex);
+      validateChunk(store, partition, chunkIndex, valueChunk);
+      actualSize += valueChunk.length - ValueRecord.SCHEMA_HEADER_LENGTH;
+      adapter.addChunkIntoContainer(assembledValueContainer, chunkIndex, valueChunk);
+    }
+
+    // Sanity check based on size...
+    if (actualSize != chunkedValueManifest.size) {
+      throw new VeniceException(
+          "The fully assembled large value does not have the expected size! " + "actualSize: " + actualSize
+              + ", chunkedValueManifest.size: " + chunkedValueManifest.size + ", "
+              + getExceptionMessageDetails(store, partition, null));
+    }
+    return assembledValueContainer;
+  }
+
+  private static byte[] getChunk(
+      AbstractStorageEngine store,
+      int partition,
+      ChunkedValueManifest chunkedValueManifest,
+      int chunkIndex,
+      boolean isRmdValue) {
+    byte[] chunkKey = chunkedValueManifest.keysWithChunkIdSuffix.get(chunkIndex).array();
+    byte[] valueChunk = isRmdValue ? store.getReplicationMetadata(partition, chunkKey) : store.get(partition, chunkKey);
+    validateChunk(store, partition, chunkIndex, valueChunk);
+    return valueChunk;
+  }
+
+  private static void validateChunk(AbstractStorageEngine store, int partition, int chunkIndex, byte[] valueChunk) {
+    if (valueChunk == null) {
+      throw new VeniceException("Chunk not found in " + getExceptionMessageDetails(store, partition, chunkIndex));
+    } else if (ValueRecord.parseSchemaId(valueChunk) != AvroProtocolDefinition.CHUNK.getCurrentProtocolVersion()) {
+      throw new VeniceException(
+          "Did not get the chunk schema ID while attempting to retrieve a chunk! " + "Instead, got schema ID: "
+              + ValueRecord.parseSchemaId(valueChunk) + " from "
+              + getExceptionMessageDetails(store, partition, chunkIndex));
+    }
+  }
+
   private static String getExceptionMessageDetails(AbstractStorageEngine store, int partition, Integer chunkIndex) {
     String message = "store: " + store.getStoreName() + ", partition: " + partition;
     if (chunkIndex != null) {
@@ -0,0 +1,32 @@
+package com.linkedin.davinci.storage.chunking;
+
+import com.linkedin.venice.meta.ReadOnlySchemaRepository;
+import com.linkedin.venice.serializer.LazyGenericRecord;
+import com.linkedin.venice.serializer.RecordDeserializer;
+import com.linkedin.venice.serializer.SerializerDeserializerFactory;
+import org.apache.avro.Schema;
+
+
+/**
+ * Chunking adapter producing {@link LazyGenericRecord} views, which only decode the fields being accessed.
+ */
+public class LazyRecordChunkingAdapter extends AbstractAvroChunkingAdapter<LazyGenericRecord> {
+  public static final LazyRecordChunkingAdapter INSTANCE = new LazyRecordChunkingAdapter();
+
+  /** Singleton */
+  protected LazyRecordChunkingAdapter() {
+  }
+
+  @Override
+  protected RecordDeserializer<LazyGenericRecord> getDeserializer(
+      String storeName,
+      int writerSchemaId,
+      int readerSchemaId,
+      ReadOnlySchemaRepository schemaRepo,
+      boolean fastAvroEnabled) {
+    Schema writerSchema = schemaRepo.getValueSchema(storeName, writerSchemaId).getSchema();
+    Schema readerSchema = schemaRepo.getValueSchema(storeName, readerSchemaId).getSchema();
+    // Fast-avro is irrelevant here, since fields are decoded one at a time on access.
+    return SerializerDeserializerFactory.getLazyRecordDeserializer(writerSchema, readerSchema);
+  }
+}
@@ -0,0 +1,30 @@
+package com.linkedin.davinci.storage.chunking;
+
+import com.linkedin.venice.meta.ReadOnlySchemaRepository;
+import com.linkedin.venice.serializer.FastSerializerDeserializerFactory;
+import com.linkedin.venice.serializer.RecordDeserializer;
+import org.apache.avro.Schema;
+
+
+/**
+ * Chunking adapter for the values persisted by a {@link com.linkedin.davinci.client.DaVinciRecordTransformer}, which
+ * are all serialized with the output schema of the transformer, regardless of the value schema id in their header.
+ */
+public class TransformedRecordChunkingAdapter<V> extends AbstractAvroChunkingAdapter<V> {
+  private final RecordDeserializer<V> deserializer;
+
+  public TransformedRecordChunkingAdapter(Schema outputValueSchema) {
+    this.deserializer =
+        FastSerializerDeserializerFactory.getFastAvroGenericDeserializer(outputValueSchema, outputValueSchema);
+  }
+
+  @Override
+  protected RecordDeserializer<V> getDeserializer(
+      String storeName,
+      int writerSchemaId,
+      int readerSchemaId,
+      ReadOnlySchemaRepository schemaRepo,
+      boolean fastAvroEnabled) {
+    return deserializer;
+  }
+}
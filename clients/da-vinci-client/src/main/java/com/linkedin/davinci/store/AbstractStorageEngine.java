@@ -5,6 +5,7 @@ import com.linkedin.venice.compression.CompressionStrategy;
 import com.linkedin.venice.exceptions.PersistenceFailureException;
 import com.linkedin.venice.exceptions.StorageInitializationException;
 import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.exceptions.VeniceUnsupportedOperationException;
 import com.linkedin.venice.kafka.protocol.state.PartitionState;
 import com.linkedin.venice.kafka.protocol.state.StoreVersionState;
 import com.linkedin.venice.meta.PartitionerConfig;
@@ -329,6 +330,24 @@ public abstract class AbstractStorageEngine<Partition extends AbstractStoragePar
     LOGGER.info("Finished dropping store: {}", getStoreName());
   }
 
+  /**
+   * Create a consistent copy of the data of the given partition under the given directory, see
+   * {@link AbstractStoragePartition#createSnapshot}. The partition metadata (offset and store version state) is not
+   * part of the snapshot.
+   */
+  public synchronized void createSnapshot(int partitionId, String snapshotPath) {
+    getPartitionOrThrow(partitionId).createSnapshot(snapshotPath);
+  }
+
+  /**
+   * Replace the data of the given partition with a snapshot created by {@link #createSnapshot}, possibly on another
+   * host. The snapshot directory is consumed by this call. The partition metadata is left untouched, and it is up to
+   * the caller to make it consistent with the snapshot before ingesting the partition.
+   */
+  public synchronized void restorePartitionFromSnapshot(int partitionId, String snapshotPath) {
+    throw new VeniceUnsupportedOperationException("restorePartitionFromSnapshot");
+  }
+
   public synchronized Map<String, String> sync(int partitionId) {
     AbstractStoragePartition partition = partitionList.get(partitionId);
     if (partition == null) {
@@ -404,6 +423,15 @@ public abstract class AbstractStorageEngine<Partition extends AbstractStoragePar
     }
   }
 
+  /**
+   * Adds the SST file staged by the push job for the partition under the given dir to the data ingested by the next
+   * {@link #endBatchWrite(StoragePartitionConfig)} of the partition.
+   */
+  public synchronized void addStagedSSTFile(int partitionId, String stagingDir) {
+    LOGGER.info("Adding the staged sst file of partition: {} from: {}", partitionId, stagingDir);
+    getPartitionOrThrow(partitionId).addStagedSSTFile(stagingDir);
+  }
+
   private void executeWithSafeGuard(int partitionId, Runnable runnable) {
     executeWithSafeGuard(partitionId, () -> {
       runnable.run();
@@ -497,6 +525,13 @@ public abstract class AbstractStorageEngine<Partition extends AbstractStoragePar
     });
   }
 
+  public List<byte[]> multiGet(int partitionId, List<byte[]> keys) throws VeniceException {
+    return executeWithSafeGuard(partitionId, () -> {
+      AbstractStoragePartition partition = getPartitionOrThrow(partitionId);
+      return partition.multiGet(keys);
+    });
+  }
+
   public void getByKeyPrefix(int partitionId, byte[] partialKey, BytesStreamingCallback bytesStreamingCallback) {
     executeWithSafeGuard(partitionId, () -> {
       AbstractStoragePartition partition = getPartitionOrThrow(partitionId);
@@ -504,6 +539,20 @@ public abstract class AbstractStorageEngine<Partition extends AbstractStoragePar
     });
   }
 
+  public byte[] getByKeyPrefix(
+      int partitionId,
+      byte[] partialKey,
+      byte[] resumeAfterKey,
+      long maxPageSizeInBytes,
+      long maxPageTimeInNS,
+      BytesStreamingCallback bytesStreamingCallback) {
+    return executeWithSafeGuard(partitionId, () -> {
+      AbstractStoragePartition partition = getPartitionOrThrow(partitionId);
+      return partition
+          .getByKeyPrefix(partialKey, resumeAfterKey, maxPageSizeInBytes, maxPageTimeInNS, bytesStreamingCallback);
+    });
+  }
+
   public void delete(int partitionId, byte[] key) throws VeniceException {
     executeWithSafeGuard(partitionId, () -> {
       AbstractStoragePartition partition = getPartitionOrThrow(partitionId);
@@ -4,6 +4,8 @@ import com.linkedin.davinci.callback.BytesStreamingCallback;
 import com.linkedin.davinci.store.rocksdb.ReplicationMetadataRocksDBStoragePartition;
 import com.linkedin.venice.exceptions.VeniceUnsupportedOperationException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Supplier;
@@ -60,6 +62,20 @@ public abstract class AbstractStoragePartition {
 
   public abstract byte[] get(ByteBuffer key);
 
+  /**
+   * Get the values of several keys from the partition database.
+   * @param keys keys to be retrieved
+   * @return values in the same order as the keys, with null for the keys which do not exist.
+   */
+  public List<byte[]> multiGet(List<byte[]> keys) {
+    // Naive default impl is not optimized... only storage engines that support the optimization implement it.
+    List<byte[]> values = new ArrayList<>(keys.size());
+    for (byte[] key: keys) {
+      values.add(get(key));
+    }
+    return values;
+  }
+
   /**
    * Populate provided callback with key-value pairs from the partition database where the keys have provided prefix.
    * If prefix is null, callback will be populated will all key-value pairs from the partition database.
@@ -68,6 +84,25 @@ public abstract class AbstractStoragePartition {
    */
   public abstract void getByKeyPrefix(byte[] keyPrefix, BytesStreamingCallback callback);
 
+  /**
+   * Populate provided callback with one page of the key-value pairs from the partition database where the keys have
+   * provided prefix, in key order, starting after the provided key. The page ends once the keys and values passed to
+   * the callback reach {@code maxPageSizeInBytes}, or once {@code maxPageTimeInNS} elapsed, but it always holds at
+   * least one key-value pair if there is any left.
+   *
+   * @param keyPrefix the prefix of the keys, or null to scan all the key-value pairs
+   * @param resumeAfterKey the continuation key returned for the previous page, or null to start from the first key
+   * @return the continuation key to pass as {@code resumeAfterKey} to get the next page, or null if the scan is over
+   */
+  public byte[] getByKeyPrefix(
+      byte[] keyPrefix,
+      byte[] resumeAfterKey,
+      long maxPageSizeInBytes,
+      long maxPageTimeInNS,
+      BytesStreamingCallback callback) {
+    throw new UnsupportedOperationException("Method not supported for " + getClass().getSimpleName());
+  }
+
   /**
    * Delete a key from the partition database
    */
@@ -117,6 +152,15 @@ public abstract class AbstractStoragePartition {
   public void endBatchWrite() {
   }
 
+  /**
+   * Adds the SST file staged by the push job for this partition under the given dir to the data ingested by
+   * {@link #endBatchWrite()}. Only the storage partitions supporting the deferred write mode will execute this method,
+   * other storage partition implementation will throw VeniceUnsupportedOperationException.
+   */
+  public void addStagedSSTFile(String stagingDir) {
+    throw new VeniceUnsupportedOperationException("addStagedSSTFile");
+  }
+
   /**
    * Get the partition database size in bytes
    * @return partition database size
@@ -170,4 +214,13 @@ public abstract class AbstractStoragePartition {
   public long getRmdByteUsage() {
     throw new VeniceUnsupportedOperationException("getRmdByteUsage");
   }
+
+  /**
+   * Create a consistent copy of the data of this partition under the given directory, which must not exist yet.
+   * The copy can be used to restore the partition on another host with
+   * {@link AbstractStorageEngine#restorePartitionFromSnapshot}.
+   */
+  public void createSnapshot(String snapshotPath) {
+    throw new VeniceUnsupportedOperationException("createSnapshot");
+  }
 }
@@ -0,0 +1,91 @@
+package com.linkedin.davinci.store.cache;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Map;
+import org.apache.avro.generic.GenericFixed;
+import org.apache.avro.generic.IndexedRecord;
+import org.apache.avro.util.Utf8;
+
+
+/**
+ * Estimates the heap footprint of the deserialized keys and values held by the object cache, so that the cache can be
+ * bounded by memory rather than by entry count. The estimate walks Avro records, collections and maps, and assumes a
+ * 64 bits JVM without compressed references, which overestimates rather than underestimates. It is not meant to be
+ * exact, but to rank the entries of different stores against each other fairly.
+ */
+public final class ObjectSizeEstimator {
+  static final int OBJECT_HEADER_SIZE = 16;
+  static final int ARRAY_HEADER_SIZE = 24;
+  static final int REFERENCE_SIZE = 8;
+  // The size of any object whose type is unknown, which is not walked.
+  static final int DEFAULT_OBJECT_SIZE = 32;
+  // The size of a map entry, excluding the key and the value.
+  static final int MAP_ENTRY_SIZE = 48;
+  // The size of a byte buffer, excluding its backing array.
+  static final int BYTE_BUFFER_SIZE = 48;
+
+  private ObjectSizeEstimator() {
+  }
+
+  public static long estimateSize(Object object) {
+    if (object == null) {
+      return 0;
+    }
+    if (object instanceof IndexedRecord) {
+      IndexedRecord record = (IndexedRecord) object;
+      int fieldCount = record.getSchema().getFields().size();
+      long size = OBJECT_HEADER_SIZE + REFERENCE_SIZE + ARRAY_HEADER_SIZE + (long) fieldCount * REFERENCE_SIZE;
+      for (int i = 0; i < fieldCount; i++) {
+        size += estimateSize(record.get(i));
+      }
+      return size;
+    }
+    if (object instanceof Utf8) {
+      // The bytes, the length and the cached string.
+      return OBJECT_HEADER_SIZE + 2 * REFERENCE_SIZE + ARRAY_HEADER_SIZE + ((Utf8) object).getBytes().length;
+    }
+    if (object instanceof CharSequence) {
+      // The characters, the hash and the coder.
+      return OBJECT_HEADER_SIZE + REFERENCE_SIZE + ARRAY_HEADER_SIZE + 2L * ((CharSequence) object).length();
+    }
+    if (object instanceof ByteBuffer) {
+      ByteBuffer byteBuffer = (ByteBuffer) object;
+      return BYTE_BUFFER_SIZE + (byteBuffer.hasArray() ? ARRAY_HEADER_SIZE + byteBuffer.capacity() : 0);
+    }
+    if (object instanceof byte[]) {
+      return ARRAY_HEADER_SIZE + ((byte[]) object).length;
+    }
+    if (object instanceof GenericFixed) {
+      return OBJECT_HEADER_SIZE + 2 * REFERENCE_SIZE + ARRAY_HEADER_SIZE + ((GenericFixed) object).bytes().length;
+    }
+    if (object instanceof Collection) {
+      Collection<?> collection = (Collection<?>) object;
+      long size =
+          OBJECT_HEADER_SIZE + 2 * REFERENCE_SIZE + ARRAY_HEADER_SIZE + (long) collection.size() * REFERENCE_SIZE;
+      for (Object element: collection) {
+        size += estimateSize(element);
+      }
+      return size;
+    }
+    if (object instanceof Map) {
+      Map<?, ?> map = (Map<?, ?>) object;
+      long size = OBJECT_HEADER_SIZE + 4 * REFERENCE_SIZE + ARRAY_HEADER_SIZE;
+      for (Map.Entry<?, ?> entry: map.entrySet()) {
+        size += REFERENCE_SIZE + MAP_ENTRY_SIZE + estimateSize(entry.getKey()) + estimateSize(entry.getValue());
+      }
+      return size;
+    }
+    if (object instanceof Long || object instanceof Double) {
+      return OBJECT_HEADER_SIZE + 8;
+    }
+    if (object instanceof Number) {
+      return OBJECT_HEADER_SIZE;
+    }
+    if (object instanceof Boolean) {
+      // Boxed booleans are shared instances.
+      return 0;
+    }
+    return DEFAULT_OBJECT_SIZE;
+  }
+}
@@ -120,4 +120,17 @@ public interface VeniceStoreCache {
    * @return the miss count
    */
   long missCount();
+
+  /**
+   * Returns the approximate number of entries which were evicted from this cache, because of its size bound or because
+   * they expired.
+   * @return the eviction count
+   */
+  long evictionCount();
+
+  /**
+   * Returns the estimated memory footprint of the entries of this cache, in bytes.
+   * @return the weighted size, or -1 if the implementation does not track it
+   */
+  long weightedSize();
 }
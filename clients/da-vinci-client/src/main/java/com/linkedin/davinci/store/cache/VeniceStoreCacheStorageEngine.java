@@ -5,8 +5,10 @@ import com.linkedin.davinci.store.AbstractStorageEngine;
 import com.linkedin.davinci.store.AbstractStoragePartition;
 import com.linkedin.davinci.store.StoragePartitionConfig;
 import com.linkedin.davinci.store.cache.backend.ObjectCacheConfig;
+import com.linkedin.davinci.store.cache.caffeine.CaffeineVeniceStoreCache;
 import com.linkedin.venice.meta.PersistenceType;
 import com.linkedin.venice.serialization.avro.AvroProtocolDefinition;
+import com.linkedin.venice.serializer.FastSerializerDeserializerFactory;
 import java.util.Set;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -14,7 +16,6 @@ import org.apache.avro.Schema;
 
 
 public class VeniceStoreCacheStorageEngine extends AbstractStorageEngine<VeniceStoreCacheStoragePartition> {
-  private final ObjectCacheConfig cacheConfig;
   private final VeniceStoreCacheStoragePartition omniPartition;
   /**
    * Since there is only one storage partition per storage engine, we need to create a global lock here since
@@ -27,12 +28,18 @@ public class VeniceStoreCacheStorageEngine extends AbstractStorageEngine<VeniceS
       ObjectCacheConfig config,
       Schema keySchema,
       AsyncCacheLoader asyncCacheLoader) {
+    this(storeName, keySchema, new CaffeineVeniceStoreCache(config, asyncCacheLoader));
+  }
+
+  public VeniceStoreCacheStorageEngine(String storeName, Schema keySchema, VeniceStoreCache veniceCache) {
     super(
         storeName,
         AvroProtocolDefinition.STORE_VERSION_STATE.getSerializer(),
         AvroProtocolDefinition.PARTITION_STATE.getSerializer());
-    cacheConfig = config;
-    omniPartition = new VeniceStoreCacheStoragePartition(0, cacheConfig, keySchema, asyncCacheLoader);
+    omniPartition = new VeniceStoreCacheStoragePartition(
+        0,
+        FastSerializerDeserializerFactory.getFastAvroGenericDeserializer(keySchema, keySchema),
+        veniceCache);
     // Add the 0 partitionId automatically in order to satisfy the supers metadata (and we automatically created the
     // omniPartition for this engine)
     this.addStoragePartition(0);
@@ -39,11 +39,19 @@ public class VeniceStoreCacheStoragePartition extends AbstractStoragePartition {
       ObjectCacheConfig cacheConfig,
       RecordDeserializer keyRecordDeserializer,
       AsyncCacheLoader cacheLoader) {
-    super(partitionId);
     // TODO: At some point we may want other cache implementations aside from caffeine. The config should inform this
     // assignment.
     // TODO: We should also consult the cacheConfig to determine if we should be caching nulls with ttl
-    veniceCache = new CaffeineVeniceStoreCache(cacheConfig, cacheLoader);
+    this(partitionId, keyRecordDeserializer, new CaffeineVeniceStoreCache(cacheConfig, cacheLoader));
+  }
+
+  // To be used if the cache is built by the caller, e.g. a view of the cache shared by all the stores.
+  public VeniceStoreCacheStoragePartition(
+      Integer partitionId,
+      RecordDeserializer keyRecordDeserializer,
+      VeniceStoreCache veniceCache) {
+    super(partitionId);
+    this.veniceCache = veniceCache;
 
     // We could use a specific record deserializer here, but wiring in the specific key class value is a bit confusing
     // in the interface. Since
@@ -2,7 +2,10 @@ package com.linkedin.davinci.store.cache.backend;
 
 import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
 import com.linkedin.davinci.store.AbstractStorageEngine;
+import com.linkedin.davinci.store.cache.VeniceStoreCache;
 import com.linkedin.davinci.store.cache.VeniceStoreCacheStorageEngine;
+import com.linkedin.davinci.store.cache.caffeine.CaffeineVeniceStoreCache;
+import com.linkedin.davinci.store.cache.caffeine.SharedCaffeineCache;
 import com.linkedin.venice.client.store.ClientConfig;
 import com.linkedin.venice.meta.ReadOnlySchemaRepository;
 import com.linkedin.venice.meta.Store;
@@ -32,8 +35,12 @@ public class ObjectCacheBackend {
   private final VeniceConcurrentHashMap<String, VeniceStoreCacheStorageEngine> versionTopicToCacheEngineMap =
       new VeniceConcurrentHashMap<>();
   private final ObjectCacheConfig storeCacheConfig;
-  private final StoreCacheStats storeCacheStats;
+  private final MetricsRepository metricsRepository;
+  private final VeniceConcurrentHashMap<String, StoreCacheStats> storeNameToCacheStatsMap =
+      new VeniceConcurrentHashMap<>();
   private final ReadOnlySchemaRepository schemaRepository;
+  // Set when the caches of all the stores share a single memory budget, see ObjectCacheConfig#setMaxTotalWeightInBytes
+  private final Optional<SharedCaffeineCache> sharedCache;
 
   /**
    * @param clientConfig configurations that enabled the VeniceStoreCacheBackend to interact with a venice cluster (to set up ingestion) as well as
@@ -46,9 +53,11 @@ public class ObjectCacheBackend {
       ReadOnlySchemaRepository schemaRepository) {
     this.storeCacheConfig = cacheConfig;
     this.schemaRepository = schemaRepository;
-    MetricsRepository metricsRepository = Optional.ofNullable(clientConfig.getMetricsRepository())
+    this.metricsRepository = Optional.ofNullable(clientConfig.getMetricsRepository())
         .orElse(TehutiUtils.getMetricsRepository(String.format("venice-store-cache-%s", clientConfig.getStoreName())));
-    storeCacheStats = new StoreCacheStats(metricsRepository, clientConfig.getStoreName());
+    this.sharedCache = cacheConfig.getMaxTotalWeightInBytes().isPresent()
+        ? Optional.of(new SharedCaffeineCache(cacheConfig))
+        : Optional.empty();
   }
 
   public synchronized void close() {
@@ -62,7 +71,7 @@ public class ObjectCacheBackend {
     });
     versionTopicToCacheEngineMap.clear();
     // Clears out metrics
-    storeCacheStats.registerServingCache(null);
+    storeNameToCacheStatsMap.values().forEach(storeCacheStats -> storeCacheStats.registerServingCache(null));
   }
 
   public void clearCachedPartitions(Version version) {
@@ -104,16 +113,22 @@ public class ObjectCacheBackend {
   }
 
   private VeniceStoreCacheStorageEngine buildCacheEngine(Version version, AsyncCacheLoader cacheLoader) {
+    VeniceStoreCache cache = sharedCache.isPresent()
+        ? sharedCache.get().createStoreCache(cacheLoader)
+        : new CaffeineVeniceStoreCache(storeCacheConfig, cacheLoader);
     VeniceStoreCacheStorageEngine cacheStorageEngine = new VeniceStoreCacheStorageEngine(
         version.kafkaTopicName(),
-        storeCacheConfig,
         schemaRepository.getKeySchema(version.getStoreName()).getSchema(),
-        cacheLoader);
+        cache);
     // register the stats for this engine as it's now serving traffic
-    storeCacheStats.registerServingCache(cacheStorageEngine.getCache());
+    getStoreCacheStats(version.getStoreName()).registerServingCache(cacheStorageEngine.getCache());
     return cacheStorageEngine;
   }
 
+  StoreCacheStats getStoreCacheStats(String storeName) {
+    return storeNameToCacheStatsMap.computeIfAbsent(storeName, k -> new StoreCacheStats(metricsRepository, k));
+  }
+
   public <K, V> void update(K key, V val, Version version, AsyncCacheLoader<K, V> cacheLoader) {
     VeniceStoreCacheStorageEngine engine = versionTopicToCacheEngineMap
         .computeIfAbsent(version.kafkaTopicName(), k -> buildCacheEngine(version, cacheLoader));
@@ -6,6 +6,7 @@ import java.util.Optional;
 public class ObjectCacheConfig {
   private Optional<Long> maxCacheSize = Optional.empty();
   private Optional<Long> ttlInMilliseconds = Optional.empty();
+  private Optional<Long> maxTotalWeightInBytes = Optional.empty();
 
   public ObjectCacheConfig setMaxPerPartitionCacheSize(Long maxPerPartitionCacheSize) {
     this.maxCacheSize = Optional.of(maxPerPartitionCacheSize);
@@ -17,6 +18,16 @@ public class ObjectCacheConfig {
     return this;
   }
 
+  /**
+   * Bounds the estimated memory footprint of the deserialized objects cached across all the stores of the process.
+   * When set, the caches of all the stores share a single budget, and the entries which are least likely to be
+   * accessed again are evicted regardless of their store, instead of bounding each store by its own entry count.
+   */
+  public ObjectCacheConfig setMaxTotalWeightInBytes(Long maxTotalWeightInBytes) {
+    this.maxTotalWeightInBytes = Optional.of(maxTotalWeightInBytes);
+    return this;
+  }
+
   public Optional<Long> getMaxCacheSize() {
     return maxCacheSize;
   }
@@ -25,6 +36,10 @@ public class ObjectCacheConfig {
     return ttlInMilliseconds;
   }
 
+  public Optional<Long> getMaxTotalWeightInBytes() {
+    return maxTotalWeightInBytes;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (o == null) {
@@ -44,6 +59,9 @@ public class ObjectCacheConfig {
     if (!this.getMaxCacheSize().orElse(-1L).equals(c.getMaxCacheSize().orElse(-1L))) {
       return false;
     }
+    if (!this.getMaxTotalWeightInBytes().orElse(-1L).equals(c.getMaxTotalWeightInBytes().orElse(-1L))) {
+      return false;
+    }
     return true;
   }
 
@@ -52,11 +70,13 @@ public class ObjectCacheConfig {
     int result = 1;
     result = result * 31 + maxCacheSize.hashCode();
     result = result * 31 + ttlInMilliseconds.hashCode();
+    result = result * 31 + maxTotalWeightInBytes.hashCode();
     return result;
   }
 
   @Override
   public String toString() {
-    return "ObjectCacheConfig{" + "maxCacheSize=" + maxCacheSize + ", ttlInMilliseconds=" + ttlInMilliseconds + "}";
+    return "ObjectCacheConfig{" + "maxCacheSize=" + maxCacheSize + ", ttlInMilliseconds=" + ttlInMilliseconds
+        + ", maxTotalWeightInBytes=" + maxTotalWeightInBytes + "}";
   }
 }
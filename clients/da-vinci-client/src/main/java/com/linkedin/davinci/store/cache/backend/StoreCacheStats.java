@@ -11,6 +11,9 @@ public class StoreCacheStats extends AbstractVeniceStats {
   private final Sensor cacheHitRate;
   private final Sensor cacheMissCount;
   private final Sensor cacheHitCount;
+  private final Sensor cacheEvictionCount;
+  private final Sensor cacheEntryCount;
+  private final Sensor cacheWeightedSize;
   private VeniceStoreCache servingCache;
 
   public StoreCacheStats(MetricsRepository metricsRepository, String name) {
@@ -18,6 +21,9 @@ public class StoreCacheStats extends AbstractVeniceStats {
     cacheHitCount = registerSensor("cache_hit", new Gauge(this::getHitCount));
     cacheMissCount = registerSensor("cache_miss", new Gauge(this::getMissCount));
     cacheHitRate = registerSensor("cache_hit_rate", new Gauge(this::getHitRate));
+    cacheEvictionCount = registerSensor("cache_eviction", new Gauge(this::getEvictionCount));
+    cacheEntryCount = registerSensor("cache_entry_count", new Gauge(this::getEntryCount));
+    cacheWeightedSize = registerSensor("cache_weighted_size_in_bytes", new Gauge(this::getWeightedSize));
   }
 
   public synchronized void registerServingCache(VeniceStoreCache cache) {
@@ -35,4 +41,16 @@ public class StoreCacheStats extends AbstractVeniceStats {
   public final synchronized double getHitRate() {
     return servingCache == null ? 0 : servingCache.hitRate();
   }
+
+  public final synchronized long getEvictionCount() {
+    return servingCache == null ? 0 : servingCache.evictionCount();
+  }
+
+  public final synchronized long getEntryCount() {
+    return servingCache == null ? 0 : servingCache.size();
+  }
+
+  public final synchronized long getWeightedSize() {
+    return servingCache == null ? 0 : servingCache.weightedSize();
+  }
 }
@@ -19,7 +19,7 @@ public class CaffeineVeniceStoreCache implements VeniceStoreCache {
     Caffeine builder = Caffeine.newBuilder();
     cacheConfig.getTtlInMilliseconds().ifPresent(aLong -> builder.expireAfterWrite(aLong, TimeUnit.MILLISECONDS));
     cacheConfig.getMaxCacheSize().ifPresent(builder::maximumSize);
-    this.caffeineCache = builder.buildAsync(loadingFunction);
+    this.caffeineCache = builder.recordStats().buildAsync(loadingFunction);
   }
 
   @Override
@@ -88,4 +88,14 @@ public class CaffeineVeniceStoreCache implements VeniceStoreCache {
   public long missCount() {
     return caffeineCache.synchronous().stats().missCount();
   }
+
+  @Override
+  public long evictionCount() {
+    return caffeineCache.synchronous().stats().evictionCount();
+  }
+
+  @Override
+  public long weightedSize() {
+    return -1;
+  }
 }
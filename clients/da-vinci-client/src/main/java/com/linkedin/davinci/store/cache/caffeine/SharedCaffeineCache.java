@@ -0,0 +1,115 @@
+package com.linkedin.davinci.store.cache.caffeine;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.linkedin.davinci.store.cache.ObjectSizeEstimator;
+import com.linkedin.davinci.store.cache.backend.ObjectCacheConfig;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * A single Caffeine cache bounded by the estimated memory footprint of its entries, which is shared by the object
+ * caches of all the stores of the process, see {@link ObjectCacheConfig#setMaxTotalWeightInBytes}. Every store
+ * version gets its own {@link SharedCaffeineVeniceStoreCache} view through {@link #createStoreCache}, whose entries
+ * are keyed by the view and the original key. Since all the entries live in the same cache, the eviction policy of
+ * Caffeine picks its victims by recency and frequency across all the stores, so a hot store can use the memory a cold
+ * store does not need, instead of each store being capped by its own entry count.
+ */
+public class SharedCaffeineCache {
+  // The footprint of the cache entry itself, i.e. the Caffeine node, the future and the shared key.
+  static final int ENTRY_OVERHEAD_SIZE = 128;
+
+  private final AsyncLoadingCache<SharedCacheKey, WeightedValue> caffeineCache;
+
+  public SharedCaffeineCache(ObjectCacheConfig cacheConfig) {
+    this(cacheConfig, ForkJoinPool.commonPool());
+  }
+
+  SharedCaffeineCache(ObjectCacheConfig cacheConfig, Executor executor) {
+    long maxTotalWeightInBytes = cacheConfig.getMaxTotalWeightInBytes()
+        .orElseThrow(() -> new IllegalArgumentException("The max total weight of the shared cache is not set"));
+    Caffeine<Object, Object> builder = Caffeine.newBuilder().executor(executor);
+    cacheConfig.getTtlInMilliseconds().ifPresent(aLong -> builder.expireAfterWrite(aLong, TimeUnit.MILLISECONDS));
+    this.caffeineCache = builder.maximumWeight(maxTotalWeightInBytes)
+        .weigher((SharedCacheKey key, WeightedValue value) -> value.weight)
+        .removalListener((SharedCacheKey key, WeightedValue value, RemovalCause cause) -> {
+          if (key != null && value != null) {
+            key.owner.onRemoval(value, cause);
+          }
+        })
+        .buildAsync((key, loaderExecutor) -> key.owner.load(key.key, loaderExecutor));
+  }
+
+  /**
+   * @return a view of this cache holding the entries of a single store version, which loads the missing entries
+   *         with the given loader.
+   */
+  public SharedCaffeineVeniceStoreCache createStoreCache(AsyncCacheLoader cacheLoader) {
+    return new SharedCaffeineVeniceStoreCache(this, cacheLoader);
+  }
+
+  /**
+   * @return the estimated memory footprint of all the entries, in bytes.
+   */
+  public long weightedSize() {
+    return caffeineCache.synchronous().policy().eviction().get().weightedSize().orElse(0);
+  }
+
+  public void cleanUp() {
+    caffeineCache.synchronous().cleanUp();
+  }
+
+  AsyncLoadingCache<SharedCacheKey, WeightedValue> getCaffeineCache() {
+    return caffeineCache;
+  }
+
+  static WeightedValue weigh(Object key, Object value) {
+    if (value == null) {
+      return null;
+    }
+    long weight =
+        ENTRY_OVERHEAD_SIZE + ObjectSizeEstimator.estimateSize(key) + ObjectSizeEstimator.estimateSize(value);
+    return new WeightedValue(value, (int) Math.min(weight, Integer.MAX_VALUE));
+  }
+
+  static final class SharedCacheKey {
+    final SharedCaffeineVeniceStoreCache owner;
+    final Object key;
+
+    SharedCacheKey(SharedCaffeineVeniceStoreCache owner, Object key) {
+      this.owner = owner;
+      this.key = key;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof SharedCacheKey)) {
+        return false;
+      }
+      SharedCacheKey that = (SharedCacheKey) o;
+      return owner == that.owner && key.equals(that.key);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * System.identityHashCode(owner) + key.hashCode();
+    }
+  }
+
+  static final class WeightedValue {
+    final Object value;
+    final int weight;
+
+    WeightedValue(Object value, int weight) {
+      this.value = value;
+      this.weight = weight;
+    }
+  }
+}
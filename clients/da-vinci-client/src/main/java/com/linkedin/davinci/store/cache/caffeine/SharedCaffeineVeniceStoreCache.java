@@ -0,0 +1,200 @@
+package com.linkedin.davinci.store.cache.caffeine;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.linkedin.davinci.store.cache.VeniceStoreCache;
+import com.linkedin.davinci.store.cache.caffeine.SharedCaffeineCache.SharedCacheKey;
+import com.linkedin.davinci.store.cache.caffeine.SharedCaffeineCache.WeightedValue;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+
+/**
+ * The entries of a single store version within a {@link SharedCaffeineCache}. The statistics are tracked per view,
+ * since the statistics of the underlying Caffeine cache mix all the stores together. The entry count and the weighted
+ * size are maintained as the entries get added and removed, hence they are approximate.
+ */
+public class SharedCaffeineVeniceStoreCache implements VeniceStoreCache {
+  private final SharedCaffeineCache sharedCache;
+  private final AsyncLoadingCache<SharedCacheKey, WeightedValue> caffeineCache;
+  private final AsyncCacheLoader cacheLoader;
+  private final LongAdder requestCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+  private final LongAdder evictionCount = new LongAdder();
+  private final LongAdder entryCount = new LongAdder();
+  private final LongAdder weightedSize = new LongAdder();
+
+  SharedCaffeineVeniceStoreCache(SharedCaffeineCache sharedCache, AsyncCacheLoader cacheLoader) {
+    this.sharedCache = sharedCache;
+    this.caffeineCache = sharedCache.getCaffeineCache();
+    this.cacheLoader = cacheLoader;
+  }
+
+  @Override
+  public <K, V> V getIfPresent(K key) {
+    requestCount.increment();
+    WeightedValue weightedValue = caffeineCache.synchronous().getIfPresent(toSharedKey(key));
+    if (weightedValue == null) {
+      missCount.increment();
+      return null;
+    }
+    return (V) weightedValue.value;
+  }
+
+  @Override
+  public <K, V> Map<K, V> getAllPresent(Iterable<K> keys) {
+    List<SharedCacheKey> sharedKeys = toSharedKeys(keys);
+    Map<K, V> values = unwrap(caffeineCache.synchronous().getAllPresent(sharedKeys));
+    requestCount.add(sharedKeys.size());
+    missCount.add(sharedKeys.size() - values.size());
+    return values;
+  }
+
+  @Override
+  public <K, V> CompletableFuture<V> get(K key) {
+    requestCount.increment();
+    return caffeineCache.get(toSharedKey(key)).thenApply(weightedValue -> (V) valueOf(weightedValue));
+  }
+
+  @Override
+  public <K, V> CompletableFuture<V> get(K key, Function<K, V> mappingFunction) {
+    requestCount.increment();
+    return caffeineCache.get(toSharedKey(key), sharedKey -> {
+      missCount.increment();
+      return track(SharedCaffeineCache.weigh(key, mappingFunction.apply(key)));
+    }).thenApply(weightedValue -> (V) valueOf(weightedValue));
+  }
+
+  @Override
+  public <K, V> CompletableFuture<Map<K, V>> getAll(
+      Iterable<K> keys,
+      Function<Iterable<K>, Map<K, V>> mappingFunction) {
+    List<SharedCacheKey> sharedKeys = toSharedKeys(keys);
+    requestCount.add(sharedKeys.size());
+    return caffeineCache.getAll(sharedKeys, missingSharedKeys -> {
+      List<K> missingKeys = new ArrayList<>();
+      for (SharedCacheKey missingSharedKey: missingSharedKeys) {
+        missingKeys.add((K) missingSharedKey.key);
+      }
+      missCount.add(missingKeys.size());
+      Map<SharedCacheKey, WeightedValue> loadedValues = new HashMap<>();
+      mappingFunction.apply(missingKeys).forEach((key, value) -> {
+        WeightedValue weightedValue = track(SharedCaffeineCache.weigh(key, value));
+        if (weightedValue != null) {
+          loadedValues.put(toSharedKey(key), weightedValue);
+        }
+      });
+      return loadedValues;
+    }).thenApply(weightedValues -> this.<K, V>unwrap(weightedValues));
+  }
+
+  @Override
+  public <K, V> void insert(K key, V value) {
+    WeightedValue weightedValue = track(SharedCaffeineCache.weigh(key, value));
+    caffeineCache.put(toSharedKey(key), CompletableFuture.completedFuture(weightedValue));
+  }
+
+  @Override
+  public <K> void invalidate(K key) {
+    caffeineCache.synchronous().invalidate(toSharedKey(key));
+  }
+
+  /**
+   * Only discards the entries of this view, which requires a scan of the whole shared cache.
+   */
+  @Override
+  public void clear() {
+    caffeineCache.synchronous().asMap().keySet().removeIf(sharedKey -> sharedKey.owner == this);
+  }
+
+  @Override
+  public void close() {
+    sharedCache.cleanUp();
+  }
+
+  @Override
+  public long size() {
+    return entryCount.sum();
+  }
+
+  @Override
+  public double hitRate() {
+    long requests = requestCount.sum();
+    return requests == 0 ? 1.0 : (double) hitCount() / requests;
+  }
+
+  @Override
+  public long hitCount() {
+    return Math.max(requestCount.sum() - missCount.sum(), 0);
+  }
+
+  @Override
+  public long missCount() {
+    return missCount.sum();
+  }
+
+  @Override
+  public long evictionCount() {
+    return evictionCount.sum();
+  }
+
+  @Override
+  public long weightedSize() {
+    return weightedSize.sum();
+  }
+
+  CompletableFuture<WeightedValue> load(Object key, Executor executor) {
+    missCount.increment();
+    CompletableFuture<Object> future = cacheLoader.asyncLoad(key, executor);
+    return future.thenApply(value -> track(SharedCaffeineCache.weigh(key, value)));
+  }
+
+  void onRemoval(WeightedValue weightedValue, RemovalCause cause) {
+    entryCount.decrement();
+    weightedSize.add(-weightedValue.weight);
+    if (cause.wasEvicted()) {
+      evictionCount.increment();
+    }
+  }
+
+  private WeightedValue track(WeightedValue weightedValue) {
+    if (weightedValue != null) {
+      entryCount.increment();
+      weightedSize.add(weightedValue.weight);
+    }
+    return weightedValue;
+  }
+
+  private SharedCacheKey toSharedKey(Object key) {
+    return new SharedCacheKey(this, key);
+  }
+
+  private List<SharedCacheKey> toSharedKeys(Iterable<?> keys) {
+    List<SharedCacheKey> sharedKeys = new ArrayList<>();
+    for (Object key: keys) {
+      sharedKeys.add(toSharedKey(key));
+    }
+    return sharedKeys;
+  }
+
+  private static Object valueOf(WeightedValue weightedValue) {
+    return weightedValue == null ? null : weightedValue.value;
+  }
+
+  private <K, V> Map<K, V> unwrap(Map<SharedCacheKey, WeightedValue> weightedValues) {
+    if (weightedValues.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    Map<K, V> values = new HashMap<>(weightedValues.size());
+    weightedValues.forEach((sharedKey, weightedValue) -> values.put((K) sharedKey.key, (V) weightedValue.value));
+    return values;
+  }
+}
@@ -0,0 +1,531 @@
+package com.linkedin.davinci.store.memory;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiConsumer;
+
+
+/**
+ * An open-addressing hash table whose keys and values are stored in direct (off-heap) memory segments.
+ *
+ * Records are appended to the current segment as [key length][value length][key bytes][value bytes], and the index
+ * only holds two primitive arrays: the address of each record and the hash of its key. Hence, the Java heap footprint
+ * does not depend on the number or the size of the records, and reading a value only costs a few memory accesses
+ * plus a copy, without any JNI call.
+ *
+ * Records are never modified in place: an overwrite appends a new record and a delete leaves a tombstone in the index,
+ * and the space of the previous record becomes garbage. Once the garbage grows larger than both the live data and one
+ * segment, the live records are copied into fresh segments (arena compaction), so the memory used stays within twice
+ * the size of the live data. The segments which are no longer referenced are released by the GC, like any direct
+ * buffer, and count towards -XX:MaxDirectMemorySize.
+ *
+ * Concurrency model: there is a single writer (ingestion) and many readers, as for {@link InMemoryStoragePartition}.
+ * Writes take the write lock of a {@link StampedLock}, while reads are first attempted optimistically without any
+ * lock. Since records are immutable and the segments they live in stay reachable from the reader for the duration of
+ * the read, an optimistic read which overlaps with a write can only observe stale data, which is then detected by the
+ * stamp validation, and the read is retried under the read lock. The stamp is also validated once the value length is
+ * read and before the value gets allocated, since a stale record header could hold any length.
+ */
+class OffHeapHashTable {
+  private static final long EMPTY = 0;
+  private static final long TOMBSTONE = -1;
+  private static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES;
+  private static final int INITIAL_CAPACITY = 1024;
+  private static final double MAX_LOAD_FACTOR = 0.75;
+  /**
+   * Returned by the optimistic reads which raced with a writer, so they get retried under the read lock.
+   */
+  private static final byte[] STALE_VALUE = new byte[0];
+  private static final ByteBuffer STALE_BUFFER = ByteBuffer.allocate(0);
+
+  private final StampedLock lock = new StampedLock();
+  private final int segmentSize;
+
+  /**
+   * The fields below are only mutated under the write lock.
+   */
+  private ByteBuffer[] segments;
+  private int segmentCount;
+  private int writeOffset;
+  private long[] addresses;
+  private int[] hashes;
+  private int size;
+  private int tombstones;
+  private long allocatedBytes;
+  private long liveBytes;
+
+  OffHeapHashTable(int segmentSize) {
+    if (segmentSize <= RECORD_HEADER_SIZE) {
+      throw new IllegalArgumentException(
+          "Segment size must be larger than " + RECORD_HEADER_SIZE + " bytes, got: " + segmentSize);
+    }
+    this.segmentSize = segmentSize;
+    reset();
+  }
+
+  /**
+   * @return the value of the given key, or null if the key does not exist.
+   */
+  byte[] get(byte[] key) {
+    long stamp = lock.tryOptimisticRead();
+    if (stamp != 0) {
+      try {
+        byte[] value = getInternal(key, stamp);
+        if (value != STALE_VALUE && lock.validate(stamp)) {
+          return value;
+        }
+      } catch (RuntimeException e) {
+        // Raced with a writer, retry below under the read lock.
+      }
+    }
+    stamp = lock.readLock();
+    try {
+      return getInternal(key, 0);
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Copies the value of the given key into {@param valueToBePopulated}, starting at position 0, or into a new buffer
+   * if the value does not fit in it.
+   *
+   * @return the buffer holding the value, with its limit set to the value length, or null if the key does not exist.
+   */
+  ByteBuffer get(byte[] key, ByteBuffer valueToBePopulated) {
+    long stamp = lock.tryOptimisticRead();
+    if (stamp != 0) {
+      try {
+        ByteBuffer value = getInternal(key, valueToBePopulated, stamp);
+        if (value != STALE_BUFFER && lock.validate(stamp)) {
+          return value;
+        }
+      } catch (RuntimeException e) {
+        // Raced with a writer, retry below under the read lock.
+      }
+    }
+    stamp = lock.readLock();
+    try {
+      return getInternal(key, valueToBePopulated, 0);
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * @param stamp the stamp of the optimistic read, or 0 under the read lock
+   * @return the value of the given key, null if the key does not exist, or {@link #STALE_VALUE} if the optimistic read
+   *         raced with a writer before the value got allocated.
+   */
+  private byte[] getInternal(byte[] key, long stamp) {
+    ByteBuffer[] segments = this.segments;
+    long address = findAddress(segments, key);
+    if (address == EMPTY) {
+      return null;
+    }
+    ByteBuffer segment = segments[segmentIndex(address)];
+    int offset = segmentOffset(address);
+    int valueLength = valueLength(segment, offset);
+    if (stamp != 0 && !lock.validate(stamp)) {
+      return STALE_VALUE;
+    }
+    byte[] value = new byte[valueLength];
+    copyValue(segment, offset, value, 0, valueLength);
+    return value;
+  }
+
+  /**
+   * Same as {@link #getInternal(byte[], long)}, but returns {@link #STALE_BUFFER} if the optimistic read raced with a
+   * writer.
+   */
+  private ByteBuffer getInternal(byte[] key, ByteBuffer valueToBePopulated, long stamp) {
+    ByteBuffer[] segments = this.segments;
+    long address = findAddress(segments, key);
+    if (address == EMPTY) {
+      return null;
+    }
+    ByteBuffer segment = segments[segmentIndex(address)];
+    int offset = segmentOffset(address);
+    int valueLength = valueLength(segment, offset);
+    if (stamp != 0 && !lock.validate(stamp)) {
+      return STALE_BUFFER;
+    }
+    ByteBuffer output =
+        valueLength > valueToBePopulated.capacity() ? ByteBuffer.allocate(valueLength) : valueToBePopulated;
+    if (output.hasArray()) {
+      copyValue(segment, offset, output.array(), output.arrayOffset(), valueLength);
+    } else {
+      // Direct buffers have no backing array, so the value gets copied through a view of the buffer
+      ByteBuffer destination = output.duplicate();
+      destination.clear();
+      destination.put(valueView(segment, offset, valueLength));
+    }
+    output.position(0);
+    output.limit(valueLength);
+    return output;
+  }
+
+  private static void copyValue(ByteBuffer segment, int offset, byte[] dst, int dstOffset, int length) {
+    valueView(segment, offset, length).get(dst, dstOffset, length);
+  }
+
+  /**
+   * @return a view of the segment which only holds the value of the record at the given offset.
+   */
+  private static ByteBuffer valueView(ByteBuffer segment, int offset, int length) {
+    int valueOffset = offset + RECORD_HEADER_SIZE + segment.getInt(offset);
+    ByteBuffer source = segment.duplicate();
+    source.limit(valueOffset + length).position(valueOffset);
+    return source;
+  }
+
+  /**
+   * @return the address of the record of the given key, or {@link #EMPTY} if it does not exist.
+   */
+  private long findAddress(ByteBuffer[] segments, byte[] key) {
+    long[] addresses = this.addresses;
+    int[] hashes = this.hashes;
+    int hash = hash(key);
+    int mask = addresses.length - 1;
+    for (int slot = hash & mask, probes = 0; probes < addresses.length; slot = (slot + 1) & mask, probes++) {
+      long address = addresses[slot];
+      if (address == EMPTY) {
+        return EMPTY;
+      }
+      if (address != TOMBSTONE && hashes[slot] == hash && keyEquals(segments, address, key)) {
+        return address;
+      }
+    }
+    return EMPTY;
+  }
+
+  void put(byte[] key, ByteBuffer value) {
+    long stamp = lock.writeLock();
+    try {
+      int hash = hash(key);
+      int slot = findSlot(key, hash);
+      long address = append(key, value);
+      if (slot >= 0) {
+        liveBytes -= recordSize(addresses[slot]);
+        addresses[slot] = address;
+      } else {
+        slot = -slot - 1;
+        if (addresses[slot] == TOMBSTONE) {
+          tombstones--;
+        }
+        addresses[slot] = address;
+        hashes[slot] = hash;
+        size++;
+        if (size + tombstones > addresses.length * MAX_LOAD_FACTOR) {
+          rehash(size + 1 > addresses.length * MAX_LOAD_FACTOR / 2 ? addresses.length * 2 : addresses.length);
+        }
+      }
+      liveBytes += recordSize(address);
+      compactIfNeeded();
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  void delete(byte[] key) {
+    long stamp = lock.writeLock();
+    try {
+      int slot = findSlot(key, hash(key));
+      if (slot >= 0) {
+        liveBytes -= recordSize(addresses[slot]);
+        addresses[slot] = TOMBSTONE;
+        size--;
+        tombstones++;
+        compactIfNeeded();
+      }
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Must be called under the write lock.
+   *
+   * @return the slot of the given key if it exists, or (-(insertion slot) - 1) otherwise.
+   */
+  private int findSlot(byte[] key, int hash) {
+    int mask = addresses.length - 1;
+    int firstTombstone = -1;
+    for (int slot = hash & mask, probes = 0; probes < addresses.length; slot = (slot + 1) & mask, probes++) {
+      long address = addresses[slot];
+      if (address == EMPTY) {
+        return -(firstTombstone >= 0 ? firstTombstone : slot) - 1;
+      }
+      if (address == TOMBSTONE) {
+        if (firstTombstone < 0) {
+          firstTombstone = slot;
+        }
+      } else if (hashes[slot] == hash && keyEquals(segments, address, key)) {
+        return slot;
+      }
+    }
+    // The load factor guarantees that there is always a free slot, so the table can only be full of tombstones.
+    return -firstTombstone - 1;
+  }
+
+  /**
+   * Must be called under the write lock.
+   *
+   * @return the address of the appended record.
+   */
+  private long append(byte[] key, ByteBuffer value) {
+    int valueLength = value.remaining();
+    long recordSize = (long) RECORD_HEADER_SIZE + key.length + valueLength;
+    if (recordSize > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Record is too large to be stored off-heap, size: " + recordSize);
+    }
+    if (segmentCount == 0 || writeOffset + recordSize > segments[segmentCount - 1].capacity()) {
+      if (segmentCount > 0) {
+        // The tail of the current segment is lost
+        allocatedBytes += segments[segmentCount - 1].capacity() - writeOffset;
+      }
+      addSegment(ByteBuffer.allocateDirect(Math.max(segmentSize, (int) recordSize)));
+    }
+    ByteBuffer segment = segments[segmentCount - 1];
+    int offset = writeOffset;
+    segment.putInt(offset, key.length);
+    segment.putInt(offset + Integer.BYTES, valueLength);
+    ByteBuffer destination = segment.duplicate();
+    destination.position(offset + RECORD_HEADER_SIZE);
+    destination.put(key);
+    destination.put(value.duplicate());
+    writeOffset += (int) recordSize;
+    allocatedBytes += recordSize;
+    return address(segmentCount - 1, offset);
+  }
+
+  private void addSegment(ByteBuffer segment) {
+    if (segmentCount == segments.length) {
+      ByteBuffer[] newSegments = new ByteBuffer[segments.length * 2];
+      System.arraycopy(segments, 0, newSegments, 0, segmentCount);
+      // Readers may still use the previous array, which keeps referencing all the segments they can reach.
+      segments = newSegments;
+    }
+    segments[segmentCount++] = segment;
+    writeOffset = 0;
+  }
+
+  /**
+   * Must be called under the write lock.
+   */
+  private void rehash(int newCapacity) {
+    long[] oldAddresses = addresses;
+    int[] oldHashes = hashes;
+    long[] newAddresses = new long[newCapacity];
+    int[] newHashes = new int[newCapacity];
+    int mask = newCapacity - 1;
+    for (int i = 0; i < oldAddresses.length; i++) {
+      long address = oldAddresses[i];
+      if (address == EMPTY || address == TOMBSTONE) {
+        continue;
+      }
+      int slot = oldHashes[i] & mask;
+      while (newAddresses[slot] != EMPTY) {
+        slot = (slot + 1) & mask;
+      }
+      newAddresses[slot] = address;
+      newHashes[slot] = oldHashes[i];
+    }
+    hashes = newHashes;
+    addresses = newAddresses;
+    tombstones = 0;
+  }
+
+  /**
+   * Must be called under the write lock.
+   */
+  private void compactIfNeeded() {
+    long garbageBytes = allocatedBytes - liveBytes;
+    if (garbageBytes <= segmentSize || garbageBytes <= liveBytes) {
+      return;
+    }
+    ByteBuffer[] oldSegments = segments;
+    long[] oldAddresses = addresses;
+    long[] newAddresses = new long[oldAddresses.length];
+    segments = new ByteBuffer[Math.max(1, segmentCount)];
+    segmentCount = 0;
+    writeOffset = 0;
+    allocatedBytes = 0;
+    for (int slot = 0; slot < oldAddresses.length; slot++) {
+      long address = oldAddresses[slot];
+      if (address == EMPTY || address == TOMBSTONE) {
+        newAddresses[slot] = address;
+        continue;
+      }
+      ByteBuffer oldSegment = oldSegments[segmentIndex(address)];
+      int offset = segmentOffset(address);
+      int recordSize = recordSize(oldSegment, offset);
+      if (segmentCount == 0 || (long) writeOffset + recordSize > segments[segmentCount - 1].capacity()) {
+        if (segmentCount > 0) {
+          allocatedBytes += segments[segmentCount - 1].capacity() - writeOffset;
+        }
+        addSegment(ByteBuffer.allocateDirect(Math.max(segmentSize, recordSize)));
+      }
+      ByteBuffer source = oldSegment.duplicate();
+      source.limit(offset + recordSize).position(offset);
+      ByteBuffer destination = segments[segmentCount - 1].duplicate();
+      destination.position(writeOffset);
+      destination.put(source);
+      newAddresses[slot] = address(segmentCount - 1, writeOffset);
+      writeOffset += recordSize;
+      allocatedBytes += recordSize;
+    }
+    addresses = newAddresses;
+  }
+
+  /**
+   * Feeds a snapshot of the records whose key starts with the given prefix (or all of them if the prefix is null)
+   * to the consumer. The write lock is not held while the consumer runs, since records are immutable and the snapshot
+   * keeps the segments it refers to reachable.
+   */
+  void forEach(byte[] keyPrefix, BiConsumer<byte[], byte[]> consumer) {
+    ByteBuffer[] snapshotSegments;
+    long[] snapshotAddresses;
+    long stamp = lock.readLock();
+    try {
+      snapshotSegments = segments;
+      snapshotAddresses = addresses.clone();
+    } finally {
+      lock.unlockRead(stamp);
+    }
+    for (long address: snapshotAddresses) {
+      if (address == EMPTY || address == TOMBSTONE) {
+        continue;
+      }
+      ByteBuffer segment = snapshotSegments[segmentIndex(address)];
+      int offset = segmentOffset(address);
+      int keyLength = segment.getInt(offset);
+      if (keyPrefix != null && (keyLength < keyPrefix.length || !regionEquals(segment, offset, keyPrefix))) {
+        continue;
+      }
+      byte[] key = new byte[keyLength];
+      ByteBuffer source = segment.duplicate();
+      source.position(offset + RECORD_HEADER_SIZE);
+      source.get(key);
+      byte[] value = new byte[valueLength(segment, offset)];
+      source.get(value);
+      consumer.accept(key, value);
+    }
+  }
+
+  void clear() {
+    long stamp = lock.writeLock();
+    try {
+      reset();
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  private void reset() {
+    segments = new ByteBuffer[4];
+    segmentCount = 0;
+    writeOffset = 0;
+    addresses = new long[INITIAL_CAPACITY];
+    hashes = new int[INITIAL_CAPACITY];
+    size = 0;
+    tombstones = 0;
+    allocatedBytes = 0;
+    liveBytes = 0;
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * @return the number of off-heap bytes held by the segments which are in use.
+   */
+  long getOffHeapMemoryUsage() {
+    long stamp = lock.readLock();
+    try {
+      long usage = 0;
+      for (int i = 0; i < segmentCount; i++) {
+        usage += segments[i].capacity();
+      }
+      return usage;
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * @return the number of bytes of the records which are still reachable.
+   */
+  long getLiveBytes() {
+    return liveBytes;
+  }
+
+  private static boolean keyEquals(ByteBuffer[] segments, long address, byte[] key) {
+    ByteBuffer segment = segments[segmentIndex(address)];
+    int offset = segmentOffset(address);
+    return segment.getInt(offset) == key.length && regionEquals(segment, offset, key);
+  }
+
+  /**
+   * @return whether the key of the record at the given offset starts with the given bytes.
+   */
+  private static boolean regionEquals(ByteBuffer segment, int offset, byte[] bytes) {
+    int keyOffset = offset + RECORD_HEADER_SIZE;
+    for (int i = 0; i < bytes.length; i++) {
+      if (segment.get(keyOffset + i) != bytes[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return the value length of the record at the given offset, after checking that the record fits in its segment,
+   *         so that a corrupted or stale header never leads to an unbounded allocation.
+   */
+  private static int valueLength(ByteBuffer segment, int offset) {
+    int keyLength = segment.getInt(offset);
+    int valueLength = segment.getInt(offset + Integer.BYTES);
+    if (keyLength < 0 || valueLength < 0
+        || (long) offset + RECORD_HEADER_SIZE + keyLength + valueLength > segment.capacity()) {
+      throw new IllegalStateException(
+          "Invalid record header at offset: " + offset + ", key length: " + keyLength + ", value length: "
+              + valueLength + ", segment capacity: " + segment.capacity());
+    }
+    return valueLength;
+  }
+
+  private long recordSize(long address) {
+    return recordSize(segments[segmentIndex(address)], segmentOffset(address));
+  }
+
+  private static int recordSize(ByteBuffer segment, int offset) {
+    return RECORD_HEADER_SIZE + segment.getInt(offset) + segment.getInt(offset + Integer.BYTES);
+  }
+
+  /**
+   * The segment index is shifted by one, so that a valid address is never {@link #EMPTY} nor {@link #TOMBSTONE}.
+   */
+  private static long address(int segmentIndex, int offset) {
+    return ((long) (segmentIndex + 1) << 32) | offset;
+  }
+
+  private static int segmentIndex(long address) {
+    return (int) (address >>> 32) - 1;
+  }
+
+  private static int segmentOffset(long address) {
+    return (int) address;
+  }
+
+  private static int hash(byte[] key) {
+    int hash = 1;
+    for (byte b: key) {
+      hash = 31 * hash + b;
+    }
+    // Spread the bits, since the slot is taken from the lowest ones.
+    hash *= 0x9E3779B9;
+    return hash ^ (hash >>> 16);
+  }
+}
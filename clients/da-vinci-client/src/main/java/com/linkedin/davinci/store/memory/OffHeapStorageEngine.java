@@ -0,0 +1,51 @@
+package com.linkedin.davinci.store.memory;
+
+import com.linkedin.davinci.config.VeniceStoreVersionConfig;
+import com.linkedin.davinci.store.AbstractStorageEngine;
+import com.linkedin.davinci.store.StoragePartitionConfig;
+import com.linkedin.venice.meta.PersistenceType;
+import com.linkedin.venice.serialization.avro.AvroProtocolDefinition;
+import java.util.Collections;
+import java.util.Set;
+
+
+/**
+ * A non-persistent store which keeps its data in off-heap memory, see {@link OffHeapStoragePartition}.
+ */
+public class OffHeapStorageEngine extends AbstractStorageEngine<OffHeapStoragePartition> {
+  private final int segmentSize;
+
+  public OffHeapStorageEngine(VeniceStoreVersionConfig storeDef, int segmentSize) {
+    super(
+        storeDef.getStoreVersionName(),
+        AvroProtocolDefinition.STORE_VERSION_STATE.getSerializer(),
+        AvroProtocolDefinition.PARTITION_STATE.getSerializer());
+    this.segmentSize = segmentSize;
+    restoreStoragePartitions();
+  }
+
+  @Override
+  public PersistenceType getType() {
+    return PersistenceType.OFF_HEAP_MEMORY;
+  }
+
+  @Override
+  protected Set<Integer> getPersistedPartitionIds() {
+    // Nothing survives a restart
+    return Collections.emptySet();
+  }
+
+  @Override
+  public OffHeapStoragePartition createStoragePartition(StoragePartitionConfig storagePartitionConfig) {
+    return new OffHeapStoragePartition(storagePartitionConfig.getPartitionId(), segmentSize);
+  }
+
+  @Override
+  public synchronized long getStoreSizeInBytes() {
+    long size = 0;
+    for (int partitionId: getPartitionIds()) {
+      size += getPartitionOrThrow(partitionId).getPartitionSizeInBytes();
+    }
+    return size;
+  }
+}
@@ -0,0 +1,56 @@
+package com.linkedin.davinci.store.memory;
+
+import com.linkedin.davinci.config.VeniceServerConfig;
+import com.linkedin.davinci.config.VeniceStoreVersionConfig;
+import com.linkedin.davinci.store.AbstractStorageEngine;
+import com.linkedin.davinci.store.StorageEngineFactory;
+import com.linkedin.venice.exceptions.StorageInitializationException;
+import com.linkedin.venice.meta.PersistenceType;
+import java.util.Collections;
+import java.util.Set;
+
+
+public class OffHeapStorageEngineFactory extends StorageEngineFactory {
+  private final int segmentSize;
+
+  public OffHeapStorageEngineFactory(VeniceServerConfig serverConfig) {
+    this.segmentSize = serverConfig.getOffHeapStorageSegmentSize();
+  }
+
+  @Override
+  public AbstractStorageEngine getStorageEngine(VeniceStoreVersionConfig storeConfig)
+      throws StorageInitializationException {
+    verifyPersistenceType(storeConfig);
+    try {
+      return new OffHeapStorageEngine(storeConfig, segmentSize);
+    } catch (Exception e) {
+      throw new StorageInitializationException(e);
+    }
+  }
+
+  @Override
+  public Set<String> getPersistedStoreNames() {
+    // Nothing to restore here
+    return Collections.emptySet();
+  }
+
+  @Override
+  public void close() {
+    // Nothing to do here since we are not tracking specific created environments.
+  }
+
+  @Override
+  public void removeStorageEngine(AbstractStorageEngine engine) {
+    // Nothing to do here since we do not track the created storage engine
+  }
+
+  @Override
+  public void closeStorageEngine(AbstractStorageEngine engine) {
+    // Nothing to do here since we do not track the created storage engine
+  }
+
+  @Override
+  public PersistenceType getPersistenceType() {
+    return PersistenceType.OFF_HEAP_MEMORY;
+  }
+}
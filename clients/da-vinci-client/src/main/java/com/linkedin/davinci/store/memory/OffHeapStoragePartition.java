@@ -0,0 +1,100 @@
+package com.linkedin.davinci.store.memory;
+
+import com.linkedin.davinci.callback.BytesStreamingCallback;
+import com.linkedin.davinci.store.AbstractStoragePartition;
+import com.linkedin.davinci.store.StoragePartitionConfig;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Map;
+
+
+/**
+ * A non-persistent storage partition which keeps its keys and values off the Java heap, in an {@link OffHeapHashTable}.
+ *
+ * Compared to {@link InMemoryStoragePartition}, the heap footprint does not grow with the data, and compared to
+ * RocksDB, reads do not cross the JNI boundary. The data does not survive a restart, so partitions are always
+ * re-ingested from scratch, and updates of hybrid stores are applied in place like any other write.
+ */
+public class OffHeapStoragePartition extends AbstractStoragePartition {
+  private final OffHeapHashTable table;
+
+  public OffHeapStoragePartition(Integer partitionId, int segmentSize) {
+    super(partitionId);
+    this.table = new OffHeapHashTable(segmentSize);
+  }
+
+  @Override
+  public void put(byte[] key, byte[] value) {
+    table.put(key, ByteBuffer.wrap(value));
+  }
+
+  @Override
+  public void put(byte[] key, ByteBuffer value) {
+    table.put(key, value);
+  }
+
+  @Override
+  public <K, V> void put(K key, V value) {
+    throw new UnsupportedOperationException("Method not implemented!!");
+  }
+
+  @Override
+  public byte[] get(byte[] key) {
+    return table.get(key);
+  }
+
+  @Override
+  public ByteBuffer get(byte[] key, ByteBuffer valueToBePopulated) {
+    return table.get(key, valueToBePopulated);
+  }
+
+  @Override
+  public <K, V> V get(K key) {
+    throw new UnsupportedOperationException("Method not implemented!!");
+  }
+
+  @Override
+  public byte[] get(ByteBuffer key) {
+    byte[] keyBytes = new byte[key.remaining()];
+    key.duplicate().get(keyBytes);
+    return table.get(keyBytes);
+  }
+
+  @Override
+  public void getByKeyPrefix(byte[] keyPrefix, BytesStreamingCallback callback) {
+    table.forEach(keyPrefix, callback::onRecordReceived);
+    callback.onCompletion();
+  }
+
+  @Override
+  public void delete(byte[] key) {
+    table.delete(key);
+  }
+
+  @Override
+  public Map<String, String> sync() {
+    // no-op
+    return Collections.emptyMap();
+  }
+
+  @Override
+  public void drop() {
+    table.clear();
+  }
+
+  @Override
+  public void close() {
+    table.clear();
+  }
+
+  @Override
+  public boolean verifyConfig(StoragePartitionConfig storagePartitionConfig) {
+    // no need to do any special check
+    return true;
+  }
+
+  @Override
+  public long getPartitionSizeInBytes() {
+    return table.getOffHeapMemoryUsage();
+  }
+}
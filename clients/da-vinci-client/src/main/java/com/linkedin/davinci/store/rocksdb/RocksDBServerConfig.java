@@ -1,6 +1,7 @@
 package com.linkedin.davinci.store.rocksdb;
 
 import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.utils.Time;
 import com.linkedin.venice.utils.VeniceProperties;
 import java.util.Arrays;
 import org.rocksdb.CompactionStyle;
@@ -114,6 +115,20 @@ public class RocksDBServerConfig {
    */
   public static final String CAPPED_PREFIX_EXTRACTOR_LENGTH = "rocksdb.capped.prefix.extractor.length";
 
+  /**
+   * Whether to also use the capped prefix extractor with the block based table format, so that the scans by a key
+   * prefix at least as long as {@link #CAPPED_PREFIX_EXTRACTOR_LENGTH} can skip the files without any key of the prefix
+   * thanks to the prefix bloom filters. The whole key filtering of point lookups is unaffected.
+   */
+  public static final String ROCKSDB_BLOCK_BASED_TABLE_PREFIX_EXTRACTOR_ENABLED =
+      "rocksdb.block.based.table.prefix.extractor.enabled";
+
+  /**
+   * How long the iterator of a paused key prefix scan is kept for its next page. The idle ones get closed
+   * by a timer as well, so that they do not pin the files of the database when no other scan comes.
+   */
+  public static final String ROCKSDB_PAUSED_SCAN_IDLE_TIMEOUT_MS = "rocksdb.paused.scan.idle.timeout.ms";
+
   public static final String ROCKSDB_STORE_INDEX_IN_FILE = "rocksdb.store.index.in.file";
   public static final String ROCKSDB_HUGE_PAGE_TLB_SIZE = "rocksdb.huge.page.tlb.size";
   public static final String ROCKSDB_BLOOM_BITS_PER_KEY = "rocksdb.bloom.bits.per.key";
@@ -249,6 +264,8 @@ public class RocksDBServerConfig {
   private final int maxFileOpeningThreads;
   private final int databaseOpenOperationThrottle;
   private final int cappedPrefixExtractorLength;
+  private final boolean blockBasedTablePrefixExtractorEnabled;
+  private final long pausedScanIdleTimeoutMs;
 
   private final long writeQuotaBytesPerSecond;
   private final boolean autoTunedRateLimiterEnabled;
@@ -352,6 +369,9 @@ public class RocksDBServerConfig {
     this.maxFileOpeningThreads = props.getInt(ROCKSDB_MAX_FILE_OPENING_THREADS, 16);
     this.databaseOpenOperationThrottle = props.getInt(ROCKSDB_DB_OPEN_OPERATION_THROTTLE, 3);
     this.cappedPrefixExtractorLength = props.getInt(CAPPED_PREFIX_EXTRACTOR_LENGTH, 16);
+    this.blockBasedTablePrefixExtractorEnabled =
+        props.getBoolean(ROCKSDB_BLOCK_BASED_TABLE_PREFIX_EXTRACTOR_ENABLED, false);
+    this.pausedScanIdleTimeoutMs = props.getLong(ROCKSDB_PAUSED_SCAN_IDLE_TIMEOUT_MS, 30 * Time.MS_PER_SECOND);
     this.writeQuotaBytesPerSecond = props.getSizeInBytes(ROCKSDB_WRITE_QUOTA_BYTES_PER_SECOND, 100L * 1024 * 1024); // 100MB
                                                                                                                     // by
                                                                                                                     // default
@@ -524,6 +544,14 @@ public class RocksDBServerConfig {
     return cappedPrefixExtractorLength;
   }
 
+  public boolean isBlockBasedTablePrefixExtractorEnabled() {
+    return blockBasedTablePrefixExtractorEnabled;
+  }
+
+  public long getPausedScanIdleTimeoutMs() {
+    return pausedScanIdleTimeoutMs;
+  }
+
   public long getWriteQuotaBytesPerSecond() {
     return writeQuotaBytesPerSecond;
   }
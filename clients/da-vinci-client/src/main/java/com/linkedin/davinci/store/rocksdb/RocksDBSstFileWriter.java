@@ -11,7 +11,12 @@ import com.linkedin.venice.store.rocksdb.RocksDBUtils;
 import com.linkedin.venice.utils.ByteUtils;
 import com.linkedin.venice.utils.LatencyUtils;
 import java.io.File;
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -141,6 +146,89 @@ public class RocksDBSstFileWriter {
     ++recordNumInAllSSTFiles;
   }
 
+  /**
+   * Adds the SST file staged by the push job for this partition under the given dir, along with the checksum file
+   * holding its record count and checksum, see {@link RocksDBUtils#composeStagedSSTChecksumFileName}. The partitions
+   * without any record have a checksum file but no SST file, so nothing gets added for them.
+   *
+   * A missing checksum file fails the ingestion, since the partition would otherwise be served without its data.
+   *
+   * @param stagingDir the directory where the push job staged the SST files of all the partitions
+   * @return whether a non-empty SST file got added
+   */
+  public boolean addStagedSSTFile(String stagingDir) {
+    File checksumFile = new File(stagingDir, RocksDBUtils.composeStagedSSTChecksumFileName(partitionId));
+    String stagedSSTChecksum;
+    try {
+      stagedSSTChecksum = new String(Files.readAllBytes(checksumFile.toPath()), StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new VeniceException(
+          "Failed to read the checksum of the staged sst file for store: " + storeName + ", partition id: "
+              + partitionId + " from: " + checksumFile,
+          e);
+    }
+    long recordCount = RocksDBUtils.extractStagedSSTRecordCount(stagedSSTChecksum);
+    if (recordCount == 0) {
+      LOGGER.info("The staged sst file for store: {}, partition id: {} is empty, skipping it", storeName, partitionId);
+      return false;
+    }
+    addExternalSSTFile(
+        new File(stagingDir, RocksDBUtils.composeStagedSSTFileName(partitionId)).getAbsolutePath(),
+        recordCount,
+        RocksDBUtils.extractStagedSSTChecksum(stagedSSTChecksum));
+    return true;
+  }
+
+  /**
+   * Adds an SST file built outside of this writer, e.g. by the push job, to the files ingested by
+   * {@link #ingestSSTFiles}. The file gets copied, since it could be shared by all the replicas of the partition, and
+   * its checksum is verified the same way as the one of the files built by this writer.
+   *
+   * This is only supported when no record has been written to this writer, since the external file would otherwise
+   * overlap with the local files.
+   *
+   * @param externalSSTFilePath the full absolute path of the external SST file
+   * @param expectedRecordNumInSSTFile expected number of key/value pairs in the SST File
+   * @param checksumToMatch MD5 checksum of all the keys and values of the SST file, in order
+   */
+  public void addExternalSSTFile(String externalSSTFilePath, long expectedRecordNumInSSTFile, byte[] checksumToMatch) {
+    if (recordNumInAllSSTFiles > 0) {
+      throw new VeniceException(
+          "Cannot add external sst file: " + externalSSTFilePath + " for store: " + storeName + ", partition id: "
+              + partitionId + " since " + recordNumInAllSSTFiles + " records have already been written");
+    }
+    /**
+     * The current SST file is still opened by {@link #currentSSTFileWriter}, so the external file takes the next file
+     * no, and then gets ingested along with the other non-empty files of the temp dir.
+     */
+    String fullPathForExternalSSTFile = composeFullPathForSSTFile(currentSSTFileNo + 1);
+    try {
+      Files.copy(
+          Paths.get(externalSSTFilePath),
+          Paths.get(fullPathForExternalSSTFile),
+          StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      throw new VeniceException(
+          "Failed to copy external sst file: " + externalSSTFilePath + " to " + fullPathForExternalSSTFile,
+          e);
+    }
+    long startMs = System.currentTimeMillis();
+    if (!verifyChecksum(fullPathForExternalSSTFile, expectedRecordNumInSSTFile, checksumToMatch)) {
+      new File(fullPathForExternalSSTFile).delete();
+      throw new VeniceChecksumException(
+          "verifyChecksum: failure. external sstFile checksum didn't match for store: " + storeName + ", partition: "
+              + partitionId + ", sstFile: " + externalSSTFilePath + ", records: " + expectedRecordNumInSSTFile
+              + ", latency(ms): " + LatencyUtils.getElapsedTimeInMs(startMs));
+    }
+    recordNumInAllSSTFiles += expectedRecordNumInSSTFile;
+    LOGGER.info(
+        "Added external sst file: {} as {} for store: {}, partition id: {}",
+        externalSSTFilePath,
+        fullPathForExternalSSTFile,
+        storeName,
+        partitionId);
+  }
+
   /**
    * This functions checks whether there is any discrepancy between the checkpoint vs the current state.
    * If the number of SST files and the checkpoint do not match:
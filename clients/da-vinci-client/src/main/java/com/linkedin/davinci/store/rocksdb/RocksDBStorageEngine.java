@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
 import org.apache.commons.io.FileUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -163,6 +164,37 @@ public class RocksDBStorageEngine extends AbstractStorageEngine<RocksDBStoragePa
     }
   }
 
+  @Override
+  public synchronized void restorePartitionFromSnapshot(int partitionId, String snapshotPath) {
+    AbstractStoragePartition partition = getPartitionOrThrow(partitionId);
+    LOGGER.info("Restoring partition: {} of store: {} from snapshot: {}", partitionId, getStoreName(), snapshotPath);
+    ReadWriteLock readWriteLock = getRWLockForPartitionOrThrow(partitionId);
+    readWriteLock.writeLock().lock();
+    try {
+      /**
+       * Not going through {@link #dropPartition}, which would clear the partition offset, and drop the whole store if
+       * this is its only partition.
+       */
+      closePartition(partitionId);
+      partition.drop();
+      File partitionDbDir = new File(RocksDBUtils.composePartitionDbDir(rocksDbPath, getStoreName(), partitionId));
+      try {
+        FileUtils.moveDirectory(new File(snapshotPath), partitionDbDir);
+      } catch (IOException e) {
+        FileUtils.deleteQuietly(partitionDbDir);
+        throw new VeniceException(
+            "Failed to move snapshot: " + snapshotPath + " to: " + partitionDbDir + " for store: " + getStoreName(),
+            e);
+      } finally {
+        // The partition is re-opened even on failure, in which case it is empty, so that the engine stays consistent.
+        addStoragePartition(partitionId);
+      }
+    } finally {
+      readWriteLock.writeLock().unlock();
+    }
+    LOGGER.info("Restored partition: {} of store: {} from snapshot: {}", partitionId, getStoreName(), snapshotPath);
+  }
+
   @Override
   public long getRMDSizeInBytes() {
     Set<Integer> partitionIds = super.getPartitionIds();
@@ -8,16 +8,23 @@ import com.linkedin.davinci.store.AbstractStoragePartition;
 import com.linkedin.davinci.store.StoragePartitionConfig;
 import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.store.rocksdb.RocksDBUtils;
+import com.linkedin.venice.utils.DaemonThreadFactory;
 import com.linkedin.venice.utils.LatencyUtils;
 import java.io.File;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Supplier;
 import javax.annotation.concurrent.NotThreadSafe;
@@ -26,6 +33,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.rocksdb.BlockBasedTableConfig;
 import org.rocksdb.Cache;
+import org.rocksdb.Checkpoint;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.ColumnFamilyOptions;
@@ -61,6 +69,12 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
   static final byte[] REPLICATION_METADATA_COLUMN_FAMILY = "timestamp_metadata".getBytes();
 
   private static final FlushOptions WAIT_FOR_FLUSH_OPTIONS = new FlushOptions().setWaitForFlush(true);
+  static final int MAX_PAUSED_SCANS = 16;
+  /**
+   * Closes the idle paused scans of all the partitions, even when no other scan comes to expire them.
+   */
+  private static final ScheduledExecutorService PAUSED_SCAN_EXPIRY_EXECUTOR =
+      Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("RocksDB-paused-scan-expiry"));
 
   /**
    * Here RocksDB disables WAL, but relies on the 'flush', which will be invoked through {@link #sync()}
@@ -133,6 +147,17 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
 
   private RocksDBSstFileWriter rocksDBSstFileWriter = null;
 
+  /**
+   * The scans which stopped at the end of a page, keyed by the continuation key of the page and in pause order, so that
+   * the next page carries on with the same iterator instead of seeking again. An iterator pins the files of the
+   * database it was created with, hence the number of paused scans and their idle time are bounded.
+   */
+  private final LinkedHashMap<ByteBuffer, PausedScan> pausedScans = new LinkedHashMap<>();
+  /**
+   * The pending expiry of the paused scans, if any, guarded by {@link #pausedScans}.
+   */
+  private ScheduledFuture<?> pausedScanExpiryFuture;
+
   protected RocksDBStoragePartition(
       StoragePartitionConfig storagePartitionConfig,
       RocksDBStorageEngineFactory factory,
@@ -311,6 +336,9 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
       tableConfig.setBlockCacheCompressedSize(rocksDBServerConfig.getRocksDBBlockCacheCompressedSizeInBytes());
       tableConfig.setFormatVersion(rocksDBServerConfig.getBlockBaseFormatVersion());
       options.setTableFormatConfig(tableConfig);
+      if (rocksDBServerConfig.isBlockBasedTablePrefixExtractorEnabled()) {
+        options.useCappedPrefixExtractor(rocksDBServerConfig.getCappedPrefixExtractorLength());
+      }
     }
 
     if (storagePartitionConfig.isWriteOnlyConfig()) {
@@ -385,6 +413,17 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
     rocksDBSstFileWriter.ingestSSTFiles(rocksDB, columnFamilyHandleList);
   }
 
+  @Override
+  public synchronized void addStagedSSTFile(String stagingDir) {
+    makeSureRocksDBIsStillOpen();
+    if (!deferredWrite) {
+      throw new VeniceException(
+          "Staged sst file can only be added when 'deferredWrite' is enabled, partition=" + storeName + "_"
+              + partitionId);
+    }
+    rocksDBSstFileWriter.addStagedSSTFile(stagingDir);
+  }
+
   @Override
   public synchronized void put(byte[] key, byte[] value) {
     put(key, ByteBuffer.wrap(value));
@@ -480,6 +519,25 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
     }
   }
 
+  /**
+   * Looks up all the keys with a single RocksDB MultiGet call, which saves one JNI round trip per key and lets
+   * RocksDB batch the underlying block reads.
+   */
+  @Override
+  public List<byte[]> multiGet(List<byte[]> keys) {
+    readCloseRWLock.readLock().lock();
+    try {
+      makeSureRocksDBIsStillOpen();
+      return rocksDB.multiGetAsList(keys);
+    } catch (RocksDBException e) {
+      throw new VeniceException(
+          "Failed to multi-get values from store: " + storeName + ", partition id: " + partitionId,
+          e);
+    } finally {
+      readCloseRWLock.readLock().unlock();
+    }
+  }
+
   @Override
   public void getByKeyPrefix(byte[] keyPrefix, BytesStreamingCallback callback) {
     if (keyPrefix != null && rocksDBServerConfig.isRocksDBPlainTableFormatEnabled()) {
@@ -515,12 +573,179 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
     return rocksDBSstFileWriter.validateBatchIngestion();
   }
 
+  @Override
+  public byte[] getByKeyPrefix(
+      byte[] keyPrefix,
+      byte[] resumeAfterKey,
+      long maxPageSizeInBytes,
+      long maxPageTimeInNS,
+      BytesStreamingCallback callback) {
+    if (keyPrefix != null && rocksDBServerConfig.isRocksDBPlainTableFormatEnabled()) {
+      throw new VeniceException("Get by key prefix is not supported with RocksDB PlainTable Format.");
+    }
+
+    long startTimeInNS = System.nanoTime();
+    byte[] continuationKey = null;
+    readCloseRWLock.readLock().lock();
+    try {
+      makeSureRocksDBIsStillOpen();
+
+      PausedScan scan = resumeAfterKey == null ? null : takePausedScan(keyPrefix, resumeAfterKey);
+      if (scan == null) {
+        scan = new PausedScan(keyPrefix, getReadOptionsForIteration(keyPrefix));
+        if (resumeAfterKey != null) {
+          scan.iterator.seek(resumeAfterKey);
+          if (scan.iterator.isValid() && Arrays.equals(scan.iterator.key(), resumeAfterKey)) {
+            scan.iterator.next();
+          }
+        } else if (keyPrefix == null) {
+          scan.iterator.seekToFirst();
+        } else {
+          scan.iterator.seek(keyPrefix);
+        }
+      }
+
+      try {
+        RocksIterator iterator = scan.iterator;
+        long pageSizeInBytes = 0;
+        while (iterator.isValid()) {
+          byte[] key = iterator.key();
+          byte[] value = iterator.value();
+          callback.onRecordReceived(key, value);
+          iterator.next();
+          pageSizeInBytes += key.length + value.length;
+          if (pageSizeInBytes >= maxPageSizeInBytes || System.nanoTime() - startTimeInNS >= maxPageTimeInNS) {
+            if (iterator.isValid()) {
+              continuationKey = key;
+            }
+            break;
+          }
+        }
+      } finally {
+        if (continuationKey == null) {
+          scan.close();
+        } else {
+          pauseScan(continuationKey, scan);
+        }
+      }
+    } finally {
+      readCloseRWLock.readLock().unlock();
+      callback.onCompletion();
+    }
+    return continuationKey;
+  }
+
+  private PausedScan takePausedScan(byte[] keyPrefix, byte[] resumeAfterKey) {
+    synchronized (pausedScans) {
+      expireIdlePausedScans(System.nanoTime());
+      PausedScan pausedScan = pausedScans.remove(ByteBuffer.wrap(resumeAfterKey));
+      if (pausedScan != null && !Arrays.equals(pausedScan.keyPrefix, keyPrefix)) {
+        pausedScan.close();
+        return null;
+      }
+      return pausedScan;
+    }
+  }
+
+  private void pauseScan(byte[] continuationKey, PausedScan scan) {
+    synchronized (pausedScans) {
+      scan.pausedTimeInNS = System.nanoTime();
+      expireIdlePausedScans(scan.pausedTimeInNS);
+      // Removed first, so that the scan moves to the end of the pause order
+      PausedScan previousScan = pausedScans.remove(ByteBuffer.wrap(continuationKey));
+      if (previousScan != null) {
+        previousScan.close();
+      }
+      pausedScans.put(ByteBuffer.wrap(continuationKey), scan);
+      Iterator<PausedScan> iterator = pausedScans.values().iterator();
+      while (pausedScans.size() > MAX_PAUSED_SCANS) {
+        iterator.next().close();
+        iterator.remove();
+      }
+      schedulePausedScanExpiry();
+    }
+  }
+
+  /**
+   * Must be called while holding the monitor of {@link #pausedScans}.
+   */
+  private void expireIdlePausedScans(long currentTimeInNS) {
+    long idleTimeoutInNS = TimeUnit.MILLISECONDS.toNanos(rocksDBServerConfig.getPausedScanIdleTimeoutMs());
+    Iterator<PausedScan> iterator = pausedScans.values().iterator();
+    while (iterator.hasNext()) {
+      PausedScan pausedScan = iterator.next();
+      if (currentTimeInNS - pausedScan.pausedTimeInNS < idleTimeoutInNS) {
+        // The scans are in pause order, so the remaining ones are more recent.
+        break;
+      }
+      iterator.remove();
+      pausedScan.close();
+    }
+  }
+
+  /**
+   * Must be called while holding the monitor of {@link #pausedScans}. Schedules the expiry of the oldest paused scan,
+   * unless one is already pending.
+   */
+  private void schedulePausedScanExpiry() {
+    if (pausedScanExpiryFuture != null || pausedScans.isEmpty()) {
+      return;
+    }
+    long idleTimeoutInNS = TimeUnit.MILLISECONDS.toNanos(rocksDBServerConfig.getPausedScanIdleTimeoutMs());
+    long delayInNS = pausedScans.values().iterator().next().pausedTimeInNS + idleTimeoutInNS - System.nanoTime();
+    pausedScanExpiryFuture =
+        PAUSED_SCAN_EXPIRY_EXECUTOR.schedule(this::expirePausedScans, Math.max(0, delayInNS), TimeUnit.NANOSECONDS);
+  }
+
+  private void expirePausedScans() {
+    // The iterators must not be closed while the database is being closed
+    readCloseRWLock.readLock().lock();
+    try {
+      synchronized (pausedScans) {
+        pausedScanExpiryFuture = null;
+        if (!isClosed) {
+          expireIdlePausedScans(System.nanoTime());
+          schedulePausedScanExpiry();
+        }
+      }
+    } finally {
+      readCloseRWLock.readLock().unlock();
+    }
+  }
+
+  private void closePausedScans() {
+    synchronized (pausedScans) {
+      if (pausedScanExpiryFuture != null) {
+        pausedScanExpiryFuture.cancel(false);
+        pausedScanExpiryFuture = null;
+      }
+      pausedScans.values().forEach(PausedScan::close);
+      pausedScans.clear();
+    }
+  }
+
+  // Visible for testing
+  int getPausedScanCount() {
+    synchronized (pausedScans) {
+      return pausedScans.size();
+    }
+  }
+
   private ReadOptions getReadOptionsForIteration(byte[] keyPrefix) {
-    if (keyPrefix == null) {
-      return new ReadOptions();
-    } else {
-      return new ReadOptions().setIterateUpperBound(getPrefixIterationUpperBound(keyPrefix));
+    ReadOptions readOptions = new ReadOptions();
+    if (keyPrefix != null) {
+      readOptions.setIterateUpperBound(getPrefixIterationUpperBound(keyPrefix));
     }
+    if (rocksDBServerConfig.isBlockBasedTablePrefixExtractorEnabled()
+        && !rocksDBServerConfig.isRocksDBPlainTableFormatEnabled()) {
+      if (keyPrefix != null && keyPrefix.length >= rocksDBServerConfig.getCappedPrefixExtractorLength()) {
+        // All the keys of the scan share the extracted prefix, so the prefix bloom filters can be used.
+        readOptions.setPrefixSameAsStart(true);
+      } else {
+        readOptions.setTotalOrderSeek(true);
+      }
+    }
+    return readOptions;
   }
 
   private Slice getPrefixIterationUpperBound(byte[] prefix) {
@@ -596,6 +821,24 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
     return rocksDBSstFileWriter.sync();
   }
 
+  /**
+   * Uses a RocksDB checkpoint, which hard-links the immutable SST files whenever the snapshot directory is on the
+   * same file system, so that taking a snapshot is cheap regardless of the partition size.
+   */
+  @Override
+  public synchronized void createSnapshot(String snapshotPath) {
+    makeSureRocksDBIsStillOpen();
+    try (Checkpoint checkpoint = Checkpoint.create(rocksDB)) {
+      checkpoint.createCheckpoint(snapshotPath);
+    } catch (RocksDBException e) {
+      throw new VeniceException(
+          "Failed to create snapshot of store: " + storeName + ", partition id: " + partitionId + " in: "
+              + snapshotPath,
+          e);
+    }
+    LOGGER.info("Created snapshot of store: {}, partition id: {} in: {}", storeName, partitionId, snapshotPath);
+  }
+
   public void deleteFilesInDirectory(String fullPath) {
     File dir = new File(fullPath);
     if (dir.exists()) {
@@ -652,6 +895,7 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
     deRegisterDBStats();
     readCloseRWLock.writeLock().lock();
     try {
+      closePausedScans();
       rocksDB.close();
     } finally {
       isClosed = true;
@@ -682,6 +926,7 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
     readCloseRWLock.writeLock().lock();
     try {
       long startTimeInMs = System.currentTimeMillis();
+      closePausedScans();
       rocksDB.close();
       LOGGER.info(
           "RocksDB close for store: {}, partition {} took {} ms.",
@@ -786,4 +1031,22 @@ public class RocksDBStoragePartition extends AbstractStoragePartition {
   public RocksDBSstFileWriter getRocksDBSstFileWriter() {
     return rocksDBSstFileWriter;
   }
+
+  private class PausedScan {
+    final byte[] keyPrefix;
+    final ReadOptions readOptions;
+    final RocksIterator iterator;
+    long pausedTimeInNS;
+
+    PausedScan(byte[] keyPrefix, ReadOptions readOptions) {
+      this.keyPrefix = keyPrefix;
+      this.readOptions = readOptions;
+      this.iterator = rocksDB.newIterator(readOptions);
+    }
+
+    void close() {
+      iterator.close();
+      readOptions.close();
+    }
+  }
 }
@@ -182,6 +182,30 @@ public class StoreBackendTest {
     assertTrue(Math.abs(getMetric("subscribe_duration_ms.Max") - v2SubscribeDurationMs) < 50);
   }
 
+  @Test
+  void testResubscribe() throws Exception {
+    int partition = 0;
+    CompletableFuture subscribeResult = storeBackend.subscribe(ComplementSet.of(partition));
+    VersionBackend versionBackend = versionMap.get(version1.kafkaTopicName());
+    versionBackend.completePartition(partition);
+    subscribeResult.get(0, TimeUnit.SECONDS);
+
+    // The local data of the subscribed partitions is dropped and ingested again from the same version.
+    subscribeResult = storeBackend.resubscribe();
+    verify(ingestionBackend).removeStorageEngine(version1.kafkaTopicName());
+    assertFalse(subscribeResult.isDone());
+    VersionBackend resubscribedVersionBackend = versionMap.get(version1.kafkaTopicName());
+    assertNotNull(resubscribedVersionBackend);
+    assertTrue(resubscribedVersionBackend != versionBackend);
+
+    resubscribedVersionBackend.completePartition(partition);
+    subscribeResult.get(0, TimeUnit.SECONDS);
+    try (ReferenceCounted<VersionBackend> versionRef = storeBackend.getDaVinciCurrentVersion()) {
+      assertEquals(versionRef.get(), resubscribedVersionBackend);
+      assertTrue(versionRef.get().isReadyToServe(ComplementSet.of(partition)));
+    }
+  }
+
   @Test
   void testSubscribeSlowCurrentVersion() throws Exception {
     int partition = 0;
@@ -0,0 +1,197 @@
+package com.linkedin.davinci.client;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.linkedin.davinci.StoreBackend;
+import com.linkedin.davinci.VersionBackend;
+import com.linkedin.venice.client.store.ClientConfig;
+import com.linkedin.venice.client.store.ComputeGenericRecord;
+import com.linkedin.venice.client.store.streaming.StreamingCallback;
+import com.linkedin.venice.compute.ComputeRequestWrapper;
+import com.linkedin.venice.utils.ReferenceCounted;
+import com.linkedin.venice.utils.VeniceProperties;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+
+public class AvroGenericDaVinciClientTest {
+  private static final String STORE_NAME = "test_store";
+  private static final int PARTITION_COUNT = 3;
+  private static final int KEYS_PER_PARTITION = 2;
+  private static final Schema KEY_SCHEMA = Schema.create(Schema.Type.STRING);
+  private static final Schema VALUE_SCHEMA = Schema.parse(
+      "{\"type\": \"record\", \"name\": \"ValueRecord\", \"fields\": [{\"name\": \"partition\", \"type\": \"int\"}]}");
+
+  private ExecutorService executor;
+  private VersionBackend versionBackend;
+  private ComputeRequestWrapper computeRequestWrapper;
+  private Set<String> keys;
+  private Set<Thread> computeThreads;
+
+  @BeforeMethod
+  public void setUp() {
+    executor = Executors.newFixedThreadPool(PARTITION_COUNT);
+    keys = new HashSet<>();
+    for (int i = 0; i < PARTITION_COUNT * KEYS_PER_PARTITION; i++) {
+      keys.add("key" + i);
+    }
+
+    versionBackend = mock(VersionBackend.class);
+    // The last byte of a serialized key is the last digit of the key
+    doAnswer(invocation -> {
+      byte[] keyBytes = invocation.getArgument(0);
+      return (keyBytes[keyBytes.length - 1] - '0') % PARTITION_COUNT;
+    }).when(versionBackend).getPartition(any());
+    doReturn(true).when(versionBackend).isPartitionReadyToServe(anyInt());
+    stubCompute(-1);
+
+    computeRequestWrapper = mock(ComputeRequestWrapper.class);
+    doReturn(VALUE_SCHEMA).when(computeRequestWrapper).getValueSchema();
+    doReturn(VALUE_SCHEMA.toString()).when(computeRequestWrapper).getResultSchemaStr();
+    doReturn(Collections.emptyList()).when(computeRequestWrapper).getOperations();
+  }
+
+  @AfterMethod
+  public void cleanUp() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * Computes records which hold their partition, and records the threads computing them.
+   */
+  private void stubCompute(int failingPartition) {
+    computeThreads = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    doAnswer(invocation -> {
+      computeThreads.add(Thread.currentThread());
+      int partition = invocation.getArgument(0);
+      if (partition == failingPartition) {
+        throw new RuntimeException("Failed to compute partition: " + partition);
+      }
+      GenericRecord result = new GenericData.Record(VALUE_SCHEMA);
+      result.put("partition", partition);
+      return result;
+    }).when(versionBackend).compute(anyInt(), any(), any(), any(), any(), any(), any(), any(), any());
+  }
+
+  private static int partitionOf(String key) {
+    return (key.charAt(key.length() - 1) - '0') % PARTITION_COUNT;
+  }
+
+  private AvroGenericDaVinciClient<String, GenericRecord> createClient(DaVinciConfig daVinciConfig) {
+    AvroGenericDaVinciClient<String, GenericRecord> client = new AvroGenericDaVinciClient<>(
+        daVinciConfig,
+        new ClientConfig(STORE_NAME),
+        VeniceProperties.empty(),
+        Optional.empty());
+    StoreBackend storeBackend = mock(StoreBackend.class);
+    doAnswer(invocation -> new ReferenceCounted<>(versionBackend, backend -> {})).when(storeBackend)
+        .getDaVinciCurrentVersion();
+    client.startWithStoreBackend(storeBackend, KEY_SCHEMA);
+    return client;
+  }
+
+  private static class CollectingCallback extends StreamingCallback<String, ComputeGenericRecord> {
+    private final Map<String, ComputeGenericRecord> records = new ConcurrentHashMap<>();
+    private final AtomicInteger completions = new AtomicInteger();
+    private final AtomicReference<Optional<Exception>> completionException = new AtomicReference<>();
+
+    @Override
+    public void onRecordReceived(String key, ComputeGenericRecord value) {
+      records.put(key, value);
+    }
+
+    @Override
+    public void onCompletion(Optional<Exception> exception) {
+      completions.incrementAndGet();
+      completionException.set(exception);
+    }
+  }
+
+  private void verifyAllKeysComputed(CollectingCallback callback) {
+    Assert.assertEquals(callback.records.keySet(), keys);
+    for (Map.Entry<String, ComputeGenericRecord> entry: callback.records.entrySet()) {
+      Assert.assertEquals(entry.getValue().get("partition"), partitionOf(entry.getKey()));
+    }
+    for (int partition = 0; partition < PARTITION_COUNT; partition++) {
+      verify(versionBackend, times(KEYS_PER_PARTITION))
+          .compute(eq(partition), any(), any(), any(), any(), any(), any(), any(), any());
+    }
+  }
+
+  @Test
+  public void testComputeFansOutPartitionsToReadExecutor() {
+    AtomicInteger submittedTasks = new AtomicInteger();
+    AvroGenericDaVinciClient<String, GenericRecord> client = createClient(new DaVinciConfig().setReadExecutor(task -> {
+      submittedTasks.incrementAndGet();
+      executor.execute(task);
+    }));
+
+    CollectingCallback callback = new CollectingCallback();
+    client.compute(computeRequestWrapper, keys, VALUE_SCHEMA, callback, System.nanoTime());
+
+    // One task per partition, all but the last one being submitted to the read executor
+    Assert.assertEquals(submittedTasks.get(), PARTITION_COUNT - 1);
+    Assert.assertTrue(computeThreads.contains(Thread.currentThread()));
+    Assert.assertTrue(computeThreads.size() > 1);
+    verifyAllKeysComputed(callback);
+    Assert.assertEquals(callback.completions.get(), 1);
+    Assert.assertFalse(callback.completionException.get().isPresent());
+  }
+
+  @Test
+  public void testComputeFailsOnceAllPartitionsAreDone() {
+    stubCompute(1);
+    AvroGenericDaVinciClient<String, GenericRecord> client =
+        createClient(new DaVinciConfig().setReadExecutor(executor));
+
+    CollectingCallback callback = new CollectingCallback();
+    RuntimeException e = Assert.expectThrows(
+        RuntimeException.class,
+        () -> client.compute(computeRequestWrapper, keys, VALUE_SCHEMA, callback, System.nanoTime()));
+    Assert.assertEquals(e.getMessage(), "Failed to compute partition: 1");
+
+    // The other partitions were still computed before the failure got reported
+    for (String key: keys) {
+      Assert.assertEquals(callback.records.containsKey(key), partitionOf(key) != 1, "Unexpected result for: " + key);
+    }
+    Assert.assertEquals(callback.completions.get(), 0);
+  }
+
+  @Test
+  public void testComputeRunsRejectedTasksOnCallerThread() {
+    AvroGenericDaVinciClient<String, GenericRecord> client = createClient(new DaVinciConfig().setReadExecutor(task -> {
+      throw new RejectedExecutionException("The read executor is saturated");
+    }));
+
+    CollectingCallback callback = new CollectingCallback();
+    client.compute(computeRequestWrapper, keys, VALUE_SCHEMA, callback, System.nanoTime());
+
+    Assert.assertEquals(computeThreads, Collections.singleton(Thread.currentThread()));
+    verifyAllKeysComputed(callback);
+    Assert.assertEquals(callback.completions.get(), 1);
+    Assert.assertFalse(callback.completionException.get().isPresent());
+  }
+}
@@ -11,6 +11,7 @@ import com.linkedin.venice.controllerapi.D2ControllerClient;
 import com.linkedin.venice.controllerapi.MultiSchemaResponse;
 import com.linkedin.venice.controllerapi.StoreResponse;
 import com.linkedin.venice.kafka.protocol.ControlMessage;
+import com.linkedin.venice.kafka.protocol.Delete;
 import com.linkedin.venice.kafka.protocol.EndOfPush;
 import com.linkedin.venice.kafka.protocol.KafkaMessageEnvelope;
 import com.linkedin.venice.kafka.protocol.ProducerMetadata;
@@ -32,17 +33,24 @@ import com.linkedin.venice.schema.rmd.RmdUtils;
 import com.linkedin.venice.serialization.avro.AvroProtocolDefinition;
 import com.linkedin.venice.serializer.FastSerializerDeserializerFactory;
 import com.linkedin.venice.serializer.RecordSerializer;
+import com.linkedin.venice.utils.TestUtils;
 import com.linkedin.venice.utils.Utils;
 import com.linkedin.venice.views.ChangeCaptureView;
+import io.tehuti.metrics.MetricsRepository;
+import java.io.File;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.GenericRecord;
@@ -212,6 +220,290 @@ public class VeniceChangelogConsumerImplTest {
     verify(kafkaConsumer).close();
   }
 
+  @Test
+  public void testSeekToCompactedSnapshot() throws ExecutionException, InterruptedException {
+    D2ControllerClient d2ControllerClient = mock(D2ControllerClient.class);
+    StoreResponse storeResponse = mock(StoreResponse.class);
+    StoreInfo storeInfo = mock(StoreInfo.class);
+    doReturn(1).when(storeInfo).getCurrentVersion();
+    doReturn(2).when(storeInfo).getPartitionCount();
+    doReturn(storeInfo).when(storeResponse).getStore();
+    doReturn(storeResponse).when(d2ControllerClient).getStore(storeName);
+    MultiSchemaResponse multiRMDSchemaResponse = mock(MultiSchemaResponse.class);
+    MultiSchemaResponse.Schema rmdSchemaFromMultiSchemaResponse = mock(MultiSchemaResponse.Schema.class);
+    doReturn(rmdSchema.toString()).when(rmdSchemaFromMultiSchemaResponse).getSchemaStr();
+    doReturn(new MultiSchemaResponse.Schema[] { rmdSchemaFromMultiSchemaResponse }).when(multiRMDSchemaResponse)
+        .getSchemas();
+    doReturn(multiRMDSchemaResponse).when(d2ControllerClient).getAllReplicationMetadataSchemas(storeName);
+
+    Consumer<KafkaKey, KafkaMessageEnvelope> kafkaConsumer = mock(Consumer.class);
+    doReturn(new HashSet<>()).when(kafkaConsumer).assignment();
+    String versionTopic = Version.composeKafkaTopic(storeName, 1);
+    String changeCaptureTopic = versionTopic + ChangeCaptureView.CHANGE_CAPTURE_TOPIC_SUFFIX;
+    int partition = 0;
+    // Every key is written twice and the last one gets deleted, only the latest state must be served
+    List<ConsumerRecord<KafkaKey, KafkaMessageEnvelope>> consumerRecordList = new ArrayList<>();
+    for (long i = 0; i < 5; i++) {
+      consumerRecordList
+          .add(constructConsumerRecord(versionTopic, partition, "oldValue" + i, "key" + i, Arrays.asList(i, i)));
+    }
+    for (long i = 0; i < 5; i++) {
+      consumerRecordList
+          .add(constructConsumerRecord(versionTopic, partition, "newValue" + i, "key" + i, Arrays.asList(i, i)));
+    }
+    KafkaMessageEnvelope deleteEnvelope =
+        new KafkaMessageEnvelope(MessageType.DELETE.getValue(), new ProducerMetadata(), new Delete(), null);
+    consumerRecordList.add(
+        new ConsumerRecord<>(
+            versionTopic,
+            partition,
+            0,
+            new KafkaKey(MessageType.DELETE, keySerializer.serialize("key4")),
+            deleteEnvelope));
+    long endOfPushOffset = 11;
+    ConsumerRecord<KafkaKey, KafkaMessageEnvelope> endOfPush = constructEndOfPushMessage(versionTopic, partition);
+    endOfPush = new ConsumerRecord<>(versionTopic, partition, endOfPushOffset, endOfPush.key(), endOfPush.value());
+    consumerRecordList.add(endOfPush);
+    Map<TopicPartition, List<ConsumerRecord<KafkaKey, KafkaMessageEnvelope>>> consumerRecordsMap = new HashMap<>();
+    consumerRecordsMap.put(new TopicPartition(versionTopic, partition), consumerRecordList);
+    doReturn(new ConsumerRecords<>(consumerRecordsMap)).when(kafkaConsumer).poll(100);
+    doReturn(ConsumerRecords.empty()).when(kafkaConsumer).poll(0);
+
+    File snapshotDir = Utils.getTempDataDirectory();
+    ChangelogClientConfig changelogClientConfig =
+        new ChangelogClientConfig<>().setD2ControllerClient(d2ControllerClient)
+            .setSchemaReader(schemaReader)
+            .setStoreName(storeName)
+            .setViewName("")
+            .setCompactedSnapshotPath(snapshotDir.getAbsolutePath());
+    VeniceChangelogConsumerImpl<String, Utf8> veniceChangelogConsumer =
+        new VeniceAfterImageConsumerImpl<>(changelogClientConfig, kafkaConsumer);
+    ThinClientMetaStoreBasedRepository mockRepository = mock(ThinClientMetaStoreBasedRepository.class);
+    Store store = mock(Store.class);
+    when(store.getCurrentVersion()).thenReturn(1);
+    when(mockRepository.getStore(anyString())).thenReturn(store);
+    when(store.getVersion(Mockito.anyInt())).thenReturn(Optional.of(new VersionImpl(storeName, 1, "foo")));
+    veniceChangelogConsumer.setStoreRepository(mockRepository);
+    veniceChangelogConsumer.seekToCompactedSnapshot(new HashSet<>(Arrays.asList(partition))).get();
+    verify(kafkaConsumer).seekToBeginning(Arrays.asList(new TopicPartition(versionTopic, partition)));
+
+    // The version topic gets materialized, nothing is served until the end of push
+    Assert.assertTrue(veniceChangelogConsumer.poll(100).isEmpty());
+    verify(kafkaConsumer).pause(Collections.singleton(new TopicPartition(versionTopic, partition)));
+    verifyCompactedSnapshotServed(veniceChangelogConsumer, kafkaConsumer, changeCaptureTopic, partition);
+    veniceChangelogConsumer.close();
+
+    // The snapshot is kept, so a new consumer only consumes the end of push again before serving it
+    Consumer<KafkaKey, KafkaMessageEnvelope> newKafkaConsumer = mock(Consumer.class);
+    doReturn(new HashSet<>()).when(newKafkaConsumer).assignment();
+    consumerRecordsMap.put(new TopicPartition(versionTopic, partition), Collections.singletonList(endOfPush));
+    doReturn(new ConsumerRecords<>(consumerRecordsMap)).when(newKafkaConsumer).poll(100);
+    doReturn(ConsumerRecords.empty()).when(newKafkaConsumer).poll(0);
+    VeniceChangelogConsumerImpl<String, Utf8> newVeniceChangelogConsumer =
+        new VeniceAfterImageConsumerImpl<>(changelogClientConfig, newKafkaConsumer);
+    newVeniceChangelogConsumer.setStoreRepository(mockRepository);
+    newVeniceChangelogConsumer.seekToCompactedSnapshot(new HashSet<>(Arrays.asList(partition))).get();
+    verify(newKafkaConsumer).seek(new TopicPartition(versionTopic, partition), endOfPushOffset);
+    verify(newKafkaConsumer, never()).seekToBeginning(any());
+
+    Assert.assertTrue(newVeniceChangelogConsumer.poll(100).isEmpty());
+    verifyCompactedSnapshotServed(newVeniceChangelogConsumer, newKafkaConsumer, changeCaptureTopic, partition);
+    newVeniceChangelogConsumer.close();
+    Assert.assertTrue(snapshotDir.exists());
+  }
+
+  private void verifyCompactedSnapshotServed(
+      VeniceChangelogConsumerImpl<String, Utf8> veniceChangelogConsumer,
+      Consumer<KafkaKey, KafkaMessageEnvelope> kafkaConsumer,
+      String changeCaptureTopic,
+      int partition) {
+    List<PubSubMessage<String, ChangeEvent<Utf8>, VeniceChangeCoordinate>> pubSubMessages =
+        new ArrayList<>(veniceChangelogConsumer.poll(100));
+    Assert.assertEquals(pubSubMessages.size(), 4);
+    for (int i = 0; i < 4; i++) {
+      PubSubMessage<String, ChangeEvent<Utf8>, VeniceChangeCoordinate> pubSubMessage = pubSubMessages.get(i);
+      Assert.assertEquals(pubSubMessage.getKey().toString(), "key" + i);
+      Assert.assertNull(pubSubMessage.getValue().getPreviousValue());
+      Assert.assertEquals(pubSubMessage.getValue().getCurrentValue().toString(), "newValue" + i);
+    }
+    // Once the snapshot is served, the consumer moves on to the change capture topic
+    verify(kafkaConsumer).assign(new HashSet<>(Arrays.asList(new TopicPartition(changeCaptureTopic, partition))));
+  }
+
+  @Test
+  public void testPipelinedPoll() throws ExecutionException, InterruptedException {
+    D2ControllerClient d2ControllerClient = mock(D2ControllerClient.class);
+    StoreResponse storeResponse = mock(StoreResponse.class);
+    StoreInfo storeInfo = mock(StoreInfo.class);
+    doReturn(1).when(storeInfo).getCurrentVersion();
+    doReturn(2).when(storeInfo).getPartitionCount();
+    doReturn(storeInfo).when(storeResponse).getStore();
+    doReturn(storeResponse).when(d2ControllerClient).getStore(storeName);
+
+    Consumer<KafkaKey, KafkaMessageEnvelope> mockKafkaConsumer = mock(Consumer.class);
+    String versionTopic = Version.composeKafkaTopic(storeName, 1);
+    String changeCaptureTopic = versionTopic + ChangeCaptureView.CHANGE_CAPTURE_TOPIC_SUFFIX;
+    Map<TopicPartition, List<ConsumerRecord<KafkaKey, KafkaMessageEnvelope>>> consumerRecordsMap = new HashMap<>();
+    for (int partition = 0; partition < 2; partition++) {
+      List<ConsumerRecord<KafkaKey, KafkaMessageEnvelope>> consumerRecordList = new ArrayList<>();
+      consumerRecordList.add(constructStartOfPushMessage(versionTopic, partition));
+      for (long i = 0; i < 50; i++) {
+        consumerRecordList.add(
+            constructChangeCaptureConsumerRecord(
+                changeCaptureTopic,
+                partition,
+                "oldValue" + i,
+                "newValue" + i,
+                "key" + i,
+                Arrays.asList(i, i)));
+      }
+      consumerRecordsMap.put(new TopicPartition(changeCaptureTopic, partition), consumerRecordList);
+    }
+    doReturn(new HashSet<>(consumerRecordsMap.keySet())).when(mockKafkaConsumer).assignment();
+    // Only the first poll returns records, the following ones behave like Kafka, i.e. wait for the timeout.
+    AtomicBoolean polled = new AtomicBoolean(false);
+    doAnswer(invocation -> {
+      if (!polled.getAndSet(true)) {
+        return new ConsumerRecords<>(consumerRecordsMap);
+      }
+      Thread.sleep(invocation.getArgument(0, Long.class));
+      return ConsumerRecords.empty();
+    }).when(mockKafkaConsumer).poll(anyLong());
+
+    MetricsRepository metricsRepository = new MetricsRepository();
+    ChangelogClientConfig changelogClientConfig =
+        new ChangelogClientConfig<>().setD2ControllerClient(d2ControllerClient)
+            .setSchemaReader(schemaReader)
+            .setStoreName(storeName)
+            .setViewName("changeCaptureView")
+            .setPipelinedPollEnabled(true)
+            .setPipelineWorkerCount(2);
+    changelogClientConfig.getInnerClientConfig().setMetricsRepository(metricsRepository);
+    VeniceChangelogConsumerImpl<String, Utf8> veniceChangelogConsumer =
+        new VeniceChangelogConsumerImpl<>(changelogClientConfig, mockKafkaConsumer);
+    ThinClientMetaStoreBasedRepository mockRepository = mock(ThinClientMetaStoreBasedRepository.class);
+    Store store = mock(Store.class);
+    when(store.getCurrentVersion()).thenReturn(1);
+    when(mockRepository.getStore(anyString())).thenReturn(store);
+    when(store.getVersion(Mockito.anyInt())).thenReturn(Optional.of(new VersionImpl(storeName, 1, "foo")));
+    veniceChangelogConsumer.setStoreRepository(mockRepository);
+    veniceChangelogConsumer.subscribe(new HashSet<>(Arrays.asList(0, 1))).get();
+
+    Map<Integer, List<PubSubMessage<String, ChangeEvent<Utf8>, VeniceChangeCoordinate>>> messagesByPartition =
+        new HashMap<>();
+    TestUtils.waitForNonDeterministicAssertion(10, TimeUnit.SECONDS, () -> {
+      for (PubSubMessage<String, ChangeEvent<Utf8>, VeniceChangeCoordinate> pubSubMessage: veniceChangelogConsumer
+          .poll(100)) {
+        messagesByPartition.computeIfAbsent(pubSubMessage.getPartition(), p -> new ArrayList<>()).add(pubSubMessage);
+      }
+      Assert.assertEquals(messagesByPartition.size(), 2);
+      Assert.assertEquals(messagesByPartition.get(0).size(), 50);
+      Assert.assertEquals(messagesByPartition.get(1).size(), 50);
+    });
+    // The events of each partition must be returned in the order of their records
+    for (List<PubSubMessage<String, ChangeEvent<Utf8>, VeniceChangeCoordinate>> pubSubMessages: messagesByPartition
+        .values()) {
+      for (int i = 0; i < 50; i++) {
+        ChangeEvent<Utf8> changeEvent = pubSubMessages.get(i).getValue();
+        Assert.assertEquals(changeEvent.getCurrentValue().toString(), "newValue" + i);
+        Assert.assertEquals(changeEvent.getPreviousValue().toString(), "oldValue" + i);
+      }
+    }
+    Assert.assertNotNull(
+        metricsRepository.getMetric(".changelog_consumer_pipeline_" + storeName + "--delivery_lag_ms.Max"));
+
+    veniceChangelogConsumer.close();
+    verify(mockKafkaConsumer).close();
+  }
+
+  @Test
+  public void testPipelinedPollAcrossVersionSwap() throws ExecutionException, InterruptedException {
+    D2ControllerClient d2ControllerClient = mock(D2ControllerClient.class);
+    StoreResponse storeResponse = mock(StoreResponse.class);
+    StoreInfo storeInfo = mock(StoreInfo.class);
+    doReturn(1).when(storeInfo).getCurrentVersion();
+    doReturn(1).when(storeInfo).getPartitionCount();
+    doReturn(storeInfo).when(storeResponse).getStore();
+    doReturn(storeResponse).when(d2ControllerClient).getStore(storeName);
+
+    Consumer<KafkaKey, KafkaMessageEnvelope> mockKafkaConsumer = mock(Consumer.class);
+    String oldVersionTopic = Version.composeKafkaTopic(storeName, 1);
+    String newVersionTopic = Version.composeKafkaTopic(storeName, 2);
+    String oldChangeCaptureTopic = oldVersionTopic + ChangeCaptureView.CHANGE_CAPTURE_TOPIC_SUFFIX;
+    TopicPartition oldTopicPartition = new TopicPartition(oldChangeCaptureTopic, 0);
+    TopicPartition newTopicPartition =
+        new TopicPartition(newVersionTopic + ChangeCaptureView.CHANGE_CAPTURE_TOPIC_SUFFIX, 0);
+    // The events of the first batch are ready before the version swap, while the second batch contains events before
+    // and after it.
+    List<ConsumerRecord<KafkaKey, KafkaMessageEnvelope>> firstBatch = new ArrayList<>();
+    List<ConsumerRecord<KafkaKey, KafkaMessageEnvelope>> secondBatch = new ArrayList<>();
+    for (long i = 0; i < 10; i++) {
+      (i < 5 ? firstBatch : secondBatch).add(
+          constructChangeCaptureConsumerRecord(
+              oldChangeCaptureTopic,
+              0,
+              "oldValue" + i,
+              "newValue" + i,
+              "key" + i,
+              Arrays.asList(i, i)));
+    }
+    secondBatch.add(
+        constructVersionSwapMessage(oldVersionTopic, oldVersionTopic, newVersionTopic, 0, Arrays.asList(10L, 10L)));
+    for (long i = 10; i < 13; i++) {
+      secondBatch.add(
+          constructChangeCaptureConsumerRecord(
+              oldChangeCaptureTopic,
+              0,
+              "oldValue" + i,
+              "newValue" + i,
+              "key" + i,
+              Arrays.asList(i, i)));
+    }
+    doReturn(Collections.singleton(oldTopicPartition)).when(mockKafkaConsumer).assignment();
+    AtomicInteger pollCount = new AtomicInteger();
+    doAnswer(invocation -> {
+      switch (pollCount.getAndIncrement()) {
+        case 0:
+          return new ConsumerRecords<>(Collections.singletonMap(oldTopicPartition, firstBatch));
+        case 1:
+          return new ConsumerRecords<>(Collections.singletonMap(oldTopicPartition, secondBatch));
+        default:
+          Thread.sleep(invocation.getArgument(0, Long.class));
+          return ConsumerRecords.empty();
+      }
+    }).when(mockKafkaConsumer).poll(anyLong());
+
+    ChangelogClientConfig changelogClientConfig =
+        new ChangelogClientConfig<>().setD2ControllerClient(d2ControllerClient)
+            .setSchemaReader(schemaReader)
+            .setStoreName(storeName)
+            .setViewName("changeCaptureView")
+            .setPipelinedPollEnabled(true);
+    VeniceChangelogConsumerImpl<String, Utf8> veniceChangelogConsumer =
+        new VeniceChangelogConsumerImpl<>(changelogClientConfig, mockKafkaConsumer);
+    ThinClientMetaStoreBasedRepository mockRepository = mock(ThinClientMetaStoreBasedRepository.class);
+    Store store = mock(Store.class);
+    when(store.getCurrentVersion()).thenReturn(1);
+    when(mockRepository.getStore(anyString())).thenReturn(store);
+    when(store.getVersion(Mockito.anyInt())).thenReturn(Optional.of(new VersionImpl(storeName, 1, "foo")));
+    veniceChangelogConsumer.setStoreRepository(mockRepository);
+    veniceChangelogConsumer.subscribe(Collections.singleton(0)).get();
+
+    List<PubSubMessage<String, ChangeEvent<Utf8>, VeniceChangeCoordinate>> pubSubMessages = new ArrayList<>();
+    TestUtils.waitForNonDeterministicAssertion(10, TimeUnit.SECONDS, () -> {
+      pubSubMessages.addAll(veniceChangelogConsumer.poll(100));
+      Assert.assertEquals(pubSubMessages.size(), 10);
+    });
+    // All the events before the version swap are returned, in order, and none of the ones after it
+    for (int i = 0; i < 10; i++) {
+      Assert.assertEquals(pubSubMessages.get(i).getValue().getCurrentValue().toString(), "newValue" + i);
+    }
+    verify(mockKafkaConsumer).assign(argThat(topicPartitions -> topicPartitions.contains(newTopicPartition)));
+    Assert.assertTrue(veniceChangelogConsumer.poll(500).isEmpty());
+
+    veniceChangelogConsumer.close();
+  }
+
   private void prepareChangeCaptureRecordsToBePolled(
       long startIdx,
       long endIdx,
@@ -1,17 +1,29 @@
 package com.linkedin.davinci.ingestion.isolated;
 
 import static com.linkedin.venice.ConfigKeys.SERVER_INGESTION_ISOLATION_REQUEST_TIMEOUT_SECONDS;
+import static com.linkedin.venice.ConfigKeys.SERVER_INGESTION_ISOLATION_SHARED_MEMORY_REPORT_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_INGESTION_ISOLATION_SSL_ENABLED;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.linkedin.davinci.config.VeniceConfigLoader;
 import com.linkedin.davinci.config.VeniceServerConfig;
 import com.linkedin.davinci.ingestion.HttpClientTransport;
+import com.linkedin.davinci.ingestion.utils.IsolatedIngestionReportRing;
+import com.linkedin.davinci.ingestion.utils.IsolatedIngestionUtils;
 import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.ingestion.protocol.IngestionTaskReport;
+import com.linkedin.venice.utils.Utils;
 import com.linkedin.venice.utils.VeniceProperties;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -39,4 +51,59 @@ public class IsolatedIngestionRequestClientTest {
     when(transport.sendRequest(any(), any())).thenThrow(new VeniceException("test"));
     Assert.assertFalse(client.reportIngestionStatus(report));
   }
+
+  @Test
+  public void testClientReportStatusThroughRing() throws Exception {
+    String dataBasePath = Utils.getTempDataDirectory().getAbsolutePath();
+    VeniceProperties properties = mock(VeniceProperties.class);
+    when(properties.getInt(SERVER_INGESTION_ISOLATION_REQUEST_TIMEOUT_SECONDS, 120)).thenReturn(30);
+    when(properties.getBoolean(SERVER_INGESTION_ISOLATION_SHARED_MEMORY_REPORT_ENABLED, false)).thenReturn(true);
+    VeniceServerConfig veniceServerConfig = mock(VeniceServerConfig.class);
+    when(veniceServerConfig.getIngestionApplicationPort()).thenReturn(27105);
+    when(veniceServerConfig.getDataBasePath()).thenReturn(dataBasePath);
+    VeniceConfigLoader configLoader = mock(VeniceConfigLoader.class);
+    when(configLoader.getVeniceServerConfig()).thenReturn(veniceServerConfig);
+    when(configLoader.getCombinedProperties()).thenReturn(properties);
+    HttpClientTransport transport = mock(HttpClientTransport.class);
+    IsolatedIngestionRequestClient client = new IsolatedIngestionRequestClient(configLoader);
+    client.setHttpClientTransport(transport);
+    IngestionTaskReport report = new IngestionTaskReport();
+    report.topicName = "topic";
+    report.partitionId = 1;
+    report.reportType = 0;
+
+    // The main process has not created the ring yet
+    Assert.assertTrue(client.reportIngestionStatus(report));
+    verify(transport, times(1)).sendRequest(any(), any());
+
+    try (IsolatedIngestionReportRing ring = IsolatedIngestionReportRing.create(
+        Paths.get(dataBasePath, IsolatedIngestionUtils.ISOLATED_INGESTION_REPORT_RING_FILENAME),
+        IsolatedIngestionUtils.ISOLATED_INGESTION_REPORT_RING_CAPACITY)) {
+      // Batches are written without waiting for them to be read
+      Assert.assertTrue(client.reportIngestionStatus(Arrays.asList(report, report)));
+      List<byte[]> records = ring.poll();
+      Assert.assertEquals(records.size(), 1);
+      Assert.assertEquals(IsolatedIngestionUtils.deserializeIngestionTaskReportBatch(records.get(0)).size(), 2);
+      ring.commitRead();
+
+      // A single report is only acknowledged once read
+      CompletableFuture<Boolean> reported = CompletableFuture.supplyAsync(() -> client.reportIngestionStatus(report));
+      List<byte[]> singleRecords;
+      while ((singleRecords = ring.poll()).isEmpty()) {
+        Thread.sleep(1);
+      }
+      Assert.assertFalse(reported.isDone());
+      List<IngestionTaskReport> reports =
+          IsolatedIngestionUtils.deserializeIngestionTaskReportBatch(singleRecords.get(0));
+      Assert.assertEquals(reports.size(), 1);
+      Assert.assertEquals(reports.get(0).partitionId, 1);
+      ring.commitRead();
+      Assert.assertTrue(reported.get(30, TimeUnit.SECONDS));
+
+      verify(transport, times(1)).sendRequest(any(), any());
+      verify(transport, never()).sendRawRequest(any(), any());
+    } finally {
+      client.close();
+    }
+  }
 }
@@ -4,11 +4,13 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.linkedin.davinci.ingestion.utils.IsolatedIngestionUtils;
 import com.linkedin.davinci.notifier.VeniceNotifier;
 import com.linkedin.davinci.stats.IsolatedIngestionProcessStats;
 import com.linkedin.venice.exceptions.VeniceException;
@@ -25,10 +27,13 @@ import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpVersion;
 import io.tehuti.metrics.MetricsRepository;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import org.apache.logging.log4j.LogManager;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -91,6 +96,42 @@ public class MainIngestionReportHandlerTest {
     verify(pushStatusNotifier, times(1)).completed(anyString(), anyInt(), anyLong(), anyString(), any());
   }
 
+  @Test
+  public void testHandleIngestionReportBatch() {
+    MainIngestionMonitorService ingestionMonitorService = mock(MainIngestionMonitorService.class);
+    MainIngestionReportHandler ingestionReportHandler = new MainIngestionReportHandler(ingestionMonitorService);
+    ChannelHandlerContext ctx = mock(ChannelHandlerContext.class);
+    VeniceNotifier ingestionNotifier = mock(VeniceNotifier.class);
+    when(ingestionMonitorService.getIngestionNotifier()).thenReturn(Collections.singletonList(ingestionNotifier));
+    when(ingestionMonitorService.getPushStatusNotifierList()).thenReturn(Collections.emptyList());
+
+    List<IngestionTaskReport> reports = new ArrayList<>();
+    for (int partition = 0; partition < 3; partition++) {
+      IngestionTaskReport report = new IngestionTaskReport();
+      report.reportType = IngestionReportType.PROGRESS.getValue();
+      report.topicName = "topic";
+      report.partitionId = partition;
+      report.offset = partition * 100L;
+      report.message = "";
+      report.offsetRecordArray = Collections.emptyList();
+      reports.add(report);
+    }
+    FullHttpRequest msg = new DefaultFullHttpRequest(
+        HttpVersion.HTTP_1_1,
+        HttpMethod.POST,
+        "http://127.0.0.1:27015/REPORT_BATCH",
+        Unpooled.wrappedBuffer(IsolatedIngestionUtils.serializeIngestionTaskReportBatch(reports)));
+    ingestionReportHandler.channelRead0(ctx, msg);
+
+    InOrder inOrder = inOrder(ingestionNotifier);
+    for (int partition = 0; partition < 3; partition++) {
+      inOrder.verify(ingestionNotifier).progress("topic", partition, partition * 100L);
+    }
+    ArgumentCaptor<HttpResponse> responseArgumentCaptor = ArgumentCaptor.forClass(HttpResponse.class);
+    verify(ctx, times(1)).writeAndFlush(responseArgumentCaptor.capture());
+    Assert.assertEquals(responseArgumentCaptor.getValue().status(), HttpResponseStatus.OK);
+  }
+
   @Test
   public void testHandleException() {
     MainIngestionMonitorService ingestionMonitorService = mock(MainIngestionMonitorService.class);
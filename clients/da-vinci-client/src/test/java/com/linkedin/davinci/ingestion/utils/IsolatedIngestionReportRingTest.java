@@ -0,0 +1,110 @@
+package com.linkedin.davinci.ingestion.utils;
+
+import com.linkedin.venice.utils.Utils;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class IsolatedIngestionReportRingTest {
+  private static Path getRingPath() {
+    return Paths.get(Utils.getTempDataDirectory().getAbsolutePath(), "ring.shm");
+  }
+
+  @Test
+  public void testWriteAndPoll() throws Exception {
+    Path path = getRingPath();
+    try (IsolatedIngestionReportRing reader = IsolatedIngestionReportRing.create(path, 1024);
+        IsolatedIngestionReportRing writer = IsolatedIngestionReportRing.open(path)) {
+      Assert.assertEquals(writer.getCapacity(), 1024);
+      Assert.assertTrue(reader.poll().isEmpty());
+
+      long firstPosition = writer.write(new byte[] { 1, 2, 3 }, 0);
+      long secondPosition = writer.write(new byte[0], 0);
+      Assert.assertEquals(firstPosition, Integer.BYTES + 3);
+      Assert.assertEquals(secondPosition, firstPosition + Integer.BYTES);
+
+      List<byte[]> records = reader.poll();
+      Assert.assertEquals(records.size(), 2);
+      Assert.assertEquals(records.get(0), new byte[] { 1, 2, 3 });
+      Assert.assertEquals(records.get(1), new byte[0]);
+      // Polled records are not returned again, even before being committed
+      Assert.assertTrue(reader.poll().isEmpty());
+      Assert.assertFalse(writer.awaitRead(secondPosition, 0));
+      reader.commitRead();
+      Assert.assertTrue(writer.awaitRead(firstPosition, 0));
+      Assert.assertTrue(writer.awaitRead(secondPosition, 0));
+      Assert.assertTrue(writer.awaitAllRead(0));
+    }
+  }
+
+  @Test
+  public void testWrapAround() throws Exception {
+    Path path = getRingPath();
+    try (IsolatedIngestionReportRing reader = IsolatedIngestionReportRing.create(path, 64);
+        IsolatedIngestionReportRing writer = IsolatedIngestionReportRing.open(path)) {
+      // Records of 4 + 10 bytes, so that both the lengths and the contents end up split across the end of the ring
+      for (int i = 0; i < 20; i++) {
+        byte[] record = new byte[10];
+        for (int j = 0; j < record.length; j++) {
+          record[j] = (byte) (i * record.length + j);
+        }
+        Assert.assertTrue(writer.write(record, 0) > 0);
+        List<byte[]> records = reader.poll();
+        Assert.assertEquals(records.size(), 1);
+        Assert.assertEquals(records.get(0), record);
+        reader.commitRead();
+      }
+    }
+  }
+
+  @Test
+  public void testFullRing() throws Exception {
+    Path path = getRingPath();
+    try (IsolatedIngestionReportRing reader = IsolatedIngestionReportRing.create(path, 32);
+        IsolatedIngestionReportRing writer = IsolatedIngestionReportRing.open(path)) {
+      Assert.assertTrue(writer.fits(28));
+      Assert.assertFalse(writer.fits(29));
+      Assert.assertThrows(IllegalArgumentException.class, () -> writer.write(new byte[29], 0));
+
+      Assert.assertEquals(writer.write(new byte[12], 0), 16);
+      Assert.assertEquals(writer.write(new byte[12], 0), 32);
+      // Polling alone does not free any room
+      Assert.assertEquals(reader.poll().size(), 2);
+      Assert.assertEquals(writer.write(new byte[1], 10), -1);
+
+      // A writer waiting for room proceeds once the reader commits
+      CompletableFuture<Long> pendingWrite = CompletableFuture.supplyAsync(() -> {
+        try {
+          return writer.write(new byte[1], TimeUnit.SECONDS.toMillis(30));
+        } catch (Exception e) {
+          throw new RuntimeException(e);
+        }
+      });
+      reader.commitRead();
+      Assert.assertEquals((long) pendingWrite.get(30, TimeUnit.SECONDS), 37);
+      Assert.assertEquals(reader.poll().get(0), new byte[1]);
+    }
+  }
+
+  @Test
+  public void testOpenWithoutRing() throws IOException {
+    Path path = getRingPath();
+    Assert.assertThrows(IOException.class, () -> IsolatedIngestionReportRing.open(path));
+    // Not created by the main process yet
+    Files.write(path, new byte[8]);
+    Assert.assertThrows(IOException.class, () -> IsolatedIngestionReportRing.open(path));
+
+    try (IsolatedIngestionReportRing reader = IsolatedIngestionReportRing.create(path, 16);
+        IsolatedIngestionReportRing writer = IsolatedIngestionReportRing.open(path)) {
+      writer.write(new byte[] { 7 }, 0);
+      Assert.assertEquals(reader.poll().get(0), new byte[] { 7 });
+    }
+  }
+}
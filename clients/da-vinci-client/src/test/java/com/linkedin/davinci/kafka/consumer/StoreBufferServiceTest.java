@@ -1,6 +1,8 @@
 package com.linkedin.davinci.kafka.consumer;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -10,22 +12,32 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.linkedin.davinci.config.VeniceServerConfig;
+import com.linkedin.venice.ConfigKeys;
 import com.linkedin.venice.exceptions.VeniceChecksumException;
 import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.kafka.protocol.GUID;
 import com.linkedin.venice.kafka.protocol.KafkaMessageEnvelope;
 import com.linkedin.venice.kafka.protocol.ProducerMetadata;
 import com.linkedin.venice.kafka.protocol.Put;
 import com.linkedin.venice.kafka.protocol.enums.MessageType;
 import com.linkedin.venice.message.KafkaKey;
 import com.linkedin.venice.pubsub.ImmutablePubSubMessage;
+import com.linkedin.venice.pubsub.PooledPubSubMessage;
 import com.linkedin.venice.pubsub.PubSubTopicPartitionImpl;
 import com.linkedin.venice.pubsub.PubSubTopicRepository;
 import com.linkedin.venice.pubsub.api.PubSubMessage;
 import com.linkedin.venice.pubsub.api.PubSubTopic;
 import com.linkedin.venice.pubsub.api.PubSubTopicPartition;
+import com.linkedin.venice.pubsub.kafka.KafkaPubSubMessageDeserializer;
+import com.linkedin.venice.serialization.KafkaKeySerializer;
+import com.linkedin.venice.serialization.avro.OptimizedKafkaValueSerializer;
 import com.linkedin.venice.utils.DataProviderUtils;
+import com.linkedin.venice.utils.TestUtils;
 import com.linkedin.venice.utils.Utils;
+import com.linkedin.venice.utils.pools.BoundedObjectPool;
 import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -294,4 +306,68 @@ public class StoreBufferServiceTest {
     verify(sortedSBS).drainBufferedRecordsFromTopicPartition(any());
     verify(unsortedSBS).drainBufferedRecordsFromTopicPartition(any());
   }
+
+  /**
+   * With {@link ConfigKeys#SERVER_INGESTION_OBJECT_POOLING_ENABLED}, the drainers recycle the records queued without a
+   * leader context once persisted, and leak detection makes any read of a recycled record throw. The partition
+   * consumption state is looked up right after queueing, so holding that lookup until the drainer has released the
+   * record makes any later read of the record by the queueing thread fail the test.
+   */
+  @Test
+  public void testPooledRecordsAreNotReadOnceReleased() throws Exception {
+    StoreBufferService bufferService = new StoreBufferService(1, 10000, 1000, true);
+    BoundedObjectPool<KafkaMessageEnvelope> envelopePool = KafkaPubSubMessageDeserializer.createEnvelopePool(10);
+    KafkaPubSubMessageDeserializer deserializer = new KafkaPubSubMessageDeserializer(
+        new OptimizedKafkaValueSerializer(),
+        envelopePool,
+        envelopePool,
+        KafkaPubSubMessageDeserializer.createMessagePool(10, true));
+    String topic = Utils.getUniqueString("test_topic") + "_v1";
+    int partition = 1;
+    PubSubTopicPartition pubSubTopicPartition =
+        new PubSubTopicPartitionImpl(pubSubTopicRepository.getTopic(topic), partition);
+    String kafkaUrl = "blah";
+    PooledPubSubMessage leaderRecord =
+        (PooledPubSubMessage) deserializer.deserialize(createPutRecord(topic, partition, 0), pubSubTopicPartition);
+    PooledPubSubMessage followerRecord =
+        (PooledPubSubMessage) deserializer.deserialize(createPutRecord(topic, partition, 1), pubSubTopicPartition);
+
+    StoreIngestionTask mockTask = mock(StoreIngestionTask.class);
+    doAnswer(invocation -> {
+      TestUtils.waitForNonDeterministicAssertion(
+          TIMEOUT_IN_MS,
+          TimeUnit.MILLISECONDS,
+          () -> Assert.assertTrue(followerRecord.isReleased()));
+      return null;
+    }).when(mockTask).getPartitionConsumptionState(partition);
+
+    bufferService.start();
+    bufferService.putConsumerRecord(leaderRecord, mockTask, leaderContext, partition, kafkaUrl, 0L);
+    bufferService.putConsumerRecord(followerRecord, mockTask, null, partition, kafkaUrl, 0L);
+
+    verify(mockTask).processConsumerRecord(leaderRecord, leaderContext, partition, kafkaUrl, 0L);
+    verify(mockTask).processConsumerRecord(followerRecord, null, partition, kafkaUrl, 0L);
+    verify(mockTask, never()).setIngestionException(anyInt(), any());
+    // The records produced by a leader may still be referenced by the callbacks of their other chunks
+    Assert.assertFalse(leaderRecord.isReleased());
+    IllegalStateException e = Assert.expectThrows(IllegalStateException.class, followerRecord::getTopicPartition);
+    Assert.assertEquals(e.getCause().getMessage(), "Released at");
+    bufferService.stop();
+  }
+
+  private static ConsumerRecord<byte[], byte[]> createPutRecord(String topic, int partition, long offset) {
+    KafkaMessageEnvelope envelope = new KafkaMessageEnvelope();
+    envelope.messageType = MessageType.PUT.getValue();
+    envelope.producerMetadata = new ProducerMetadata();
+    envelope.producerMetadata.producerGUID = new GUID();
+    Put put = new Put();
+    put.schemaId = 1;
+    put.putValue = ByteBuffer.wrap(("value" + offset).getBytes());
+    put.replicationMetadataPayload = ByteBuffer.allocate(0);
+    envelope.payloadUnion = put;
+    byte[] keyBytes =
+        new KafkaKeySerializer().serialize(topic, new KafkaKey(MessageType.PUT, ("key" + offset).getBytes()));
+    byte[] valueBytes = new OptimizedKafkaValueSerializer().serialize(topic, envelope);
+    return new ConsumerRecord<>(topic, partition, offset, keyBytes, valueBytes);
+  }
 }
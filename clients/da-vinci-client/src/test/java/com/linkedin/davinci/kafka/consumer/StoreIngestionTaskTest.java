@@ -55,6 +55,7 @@ import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
+import com.linkedin.davinci.client.DaVinciRecordTransformer;
 import com.linkedin.davinci.compression.StorageEngineBackedCompressorFactory;
 import com.linkedin.davinci.config.VeniceServerConfig;
 import com.linkedin.davinci.config.VeniceStoreVersionConfig;
@@ -164,6 +165,7 @@ import com.linkedin.venice.utils.TestMockTime;
 import com.linkedin.venice.utils.TestUtils;
 import com.linkedin.venice.utils.Utils;
 import com.linkedin.venice.utils.VeniceProperties;
+import com.linkedin.venice.utils.lazy.Lazy;
 import com.linkedin.venice.utils.pools.LandFillObjectPool;
 import com.linkedin.venice.writer.VeniceWriter;
 import com.linkedin.venice.writer.VeniceWriterFactory;
@@ -263,6 +265,7 @@ public abstract class StoreIngestionTaskTest {
   private KafkaClusterBasedRecordThrottler kafkaClusterBasedRecordThrottler;
   private ReadOnlySchemaRepository mockSchemaRepo;
   private ReadOnlyStoreRepository mockMetadataRepo;
+  private DaVinciRecordTransformer recordTransformer;
   /** N.B.: This mock can be used to verify() calls, but not to return arbitrary things. */
   private PubSubConsumerAdapter mockLocalKafkaConsumer;
   private PubSubConsumerAdapter mockRemoteKafkaConsumer;
@@ -437,6 +440,7 @@ public abstract class StoreIngestionTaskTest {
     mockRecordsThrottler = mock(EventThrottler.class);
     mockSchemaRepo = mock(ReadOnlySchemaRepository.class);
     mockMetadataRepo = mock(ReadOnlyStoreRepository.class);
+    recordTransformer = null;
     mockLocalKafkaConsumer = mock(PubSubConsumerAdapter.class);
     mockRemoteKafkaConsumer = mock(PubSubConsumerAdapter.class);
     kafkaUrlToRecordsThrottler = new HashMap<>();
@@ -903,7 +907,8 @@ public abstract class StoreIngestionTaskTest {
         .setAggKafkaConsumerService(aggKafkaConsumerService)
         .setCompressorFactory(new StorageEngineBackedCompressorFactory(mockStorageMetadataService))
         .setPubSubTopicRepository(pubSubTopicRepository)
-        .setPartitionStateSerializer(partitionStateSerializer);
+        .setPartitionStateSerializer(partitionStateSerializer)
+        .setRecordTransformerFunction(storeName -> recordTransformer);
   }
 
   abstract KafkaConsumerService.ConsumerAssignmentStrategy getConsumerAssignmentStrategy();
@@ -1254,6 +1259,71 @@ public abstract class StoreIngestionTaskTest {
     }, isActiveActiveReplicationEnabled);
   }
 
+  @Test(dataProvider = "True-and-False", dataProviderClass = DataProviderUtils.class)
+  public void testVeniceMessagesProcessingWithRecordTransformer(boolean sortedInput) throws Exception {
+    VeniceAvroKafkaSerializer stringSerializer = new VeniceAvroKafkaSerializer(STRING_SCHEMA);
+    byte[] filteredValue = stringSerializer.serialize(null, "FilteredOut");
+    if (sortedInput) {
+      setStoreVersionStateSupplier(true);
+    }
+    localVeniceWriter.broadcastStartOfPush(sortedInput, new HashMap<>());
+    localVeniceWriter.put(putKeyFoo, putValue, EXISTING_SCHEMA_ID);
+    long fooLastOffset = getOffset(localVeniceWriter.put(putKeyFoo2, filteredValue, EXISTING_SCHEMA_ID));
+    if (sortedInput) {
+      // The partition stays in deferred-write mode until the end of push.
+      localVeniceWriter.broadcastEndOfPush(new HashMap<>());
+    }
+
+    SchemaEntry schemaEntry = new SchemaEntry(EXISTING_SCHEMA_ID, STRING_SCHEMA);
+    doReturn(true).when(mockSchemaRepo).hasValueSchema(storeNameWithoutVersionInfo, EXISTING_SCHEMA_ID);
+    doReturn(schemaEntry).when(mockSchemaRepo).getValueSchema(storeNameWithoutVersionInfo, EXISTING_SCHEMA_ID);
+    doReturn(schemaEntry).when(mockSchemaRepo).getSupersetOrLatestValueSchema(storeNameWithoutVersionInfo);
+    doReturn(new SchemaEntry(1, STRING_SCHEMA)).when(mockSchemaRepo).getKeySchema(storeNameWithoutVersionInfo);
+    if (sortedInput) {
+      // Same as the RocksDB storage partitions, which do not support deletions in deferred-write mode.
+      doThrow(new VeniceException("Deletion is unexpected in 'deferredWrite' mode")).when(mockAbstractStorageEngine)
+          .delete(anyInt(), any(byte[].class));
+    }
+    // The output schema differs from the input one, so that the transformed value is not readable with the latter.
+    Schema outputSchema = Schema.create(Schema.Type.INT);
+    recordTransformer = new DaVinciRecordTransformer<Object, Object, Integer>() {
+      @Override
+      public Schema getOutputValueSchema() {
+        return outputSchema;
+      }
+
+      @Override
+      public Integer transform(Lazy<Object> key, Object value) {
+        // The keys of this test are not Avro encoded, so they must not get deserialized.
+        return value.toString().equals("FilteredOut") ? null : value.toString().length();
+      }
+    };
+
+    runTest(Utils.setOf(PARTITION_FOO), () -> {
+      byte[] transformedValue = new VeniceAvroKafkaSerializer(outputSchema).serialize(null, "TestValuePut".length());
+      verify(mockAbstractStorageEngine, timeout(TEST_TIMEOUT_MS)).put(
+          PARTITION_FOO,
+          putKeyFoo,
+          ByteBuffer.wrap(ValueRecord.create(EXISTING_SCHEMA_ID, transformedValue).serialize()));
+
+      if (sortedInput) {
+        OffsetRecord expected = getOffsetRecord(fooLastOffset + 1, true);
+        verify(mockStorageMetadataService, timeout(TEST_TIMEOUT_MS)).put(topic, PARTITION_FOO, expected);
+        // There is no earlier value to delete during a sorted batch push, so the filtered record is simply skipped.
+        verify(mockAbstractStorageEngine, never()).delete(anyInt(), any(byte[].class));
+        verify(mockLogNotifier, never()).error(eq(topic), eq(PARTITION_FOO), anyString(), any());
+      } else {
+        verify(mockAbstractStorageEngine, timeout(TEST_TIMEOUT_MS)).delete(PARTITION_FOO, putKeyFoo2);
+        OffsetRecord expected = getOffsetRecord(fooLastOffset);
+        verify(mockStorageMetadataService, timeout(TEST_TIMEOUT_MS)).put(topic, PARTITION_FOO, expected);
+      }
+      verify(mockAbstractStorageEngine, never()).put(eq(PARTITION_FOO), eq(putKeyFoo2), any(ByteBuffer.class));
+      // The value deserializer of the transformer is created once per writer schema rather than once per record, the
+      // other lookup being the deserialization dry-run of the first record.
+      verify(mockSchemaRepo, atMost(2)).getValueSchema(storeNameWithoutVersionInfo, EXISTING_SCHEMA_ID);
+    }, false);
+  }
+
   /**
    * Test the situation where records arrive faster than the schemas.
    * In this case, Venice would keep polling schemaRepo until schemas arrive.
@@ -0,0 +1,81 @@
+package com.linkedin.davinci.snapshot;
+
+import com.linkedin.venice.utils.Utils;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class PartitionSnapshotStreamTest {
+  @Test
+  public void testRoundTrip() throws IOException {
+    File sourceDir = Utils.getTempDataDirectory();
+    File targetDir = new File(Utils.getTempDataDirectory(), "restored");
+    try {
+      Random random = new Random(42);
+      byte[] largeFile = new byte[300 * 1024];
+      random.nextBytes(largeFile);
+      Files.write(new File(sourceDir, "000001.sst").toPath(), largeFile);
+      Files.write(new File(sourceDir, "CURRENT").toPath(), "MANIFEST-000002\n".getBytes());
+      Files.write(new File(sourceDir, "EMPTY").toPath(), new byte[0]);
+
+      byte[] offsetRecord = new byte[] { 1, 2, 3 };
+      byte[] storeVersionState = new byte[] { 4, 5 };
+      byte[] encoded;
+      try (InputStream in = PartitionSnapshotStream.encode(offsetRecord, storeVersionState, sourceDir)) {
+        encoded = IOUtils.toByteArray(in);
+      }
+
+      PartitionSnapshotStream.Metadata metadata =
+          PartitionSnapshotStream.decode(new ByteArrayInputStream(encoded), targetDir);
+      Assert.assertEquals(metadata.getOffsetRecord(), offsetRecord);
+      Assert.assertEquals(metadata.getStoreVersionState(), storeVersionState);
+      String[] restoredFiles = targetDir.list();
+      Arrays.sort(restoredFiles);
+      Assert.assertEquals(restoredFiles, new String[] { "000001.sst", "CURRENT", "EMPTY" });
+      Assert.assertEquals(Files.readAllBytes(new File(targetDir, "000001.sst").toPath()), largeFile);
+      Assert.assertEquals(new String(Files.readAllBytes(new File(targetDir, "CURRENT").toPath())), "MANIFEST-000002\n");
+      Assert.assertEquals(new File(targetDir, "EMPTY").length(), 0);
+
+      // A truncated stream must be rejected rather than produce a partial snapshot silently
+      File truncatedDir = new File(targetDir.getParentFile(), "truncated");
+      Assert.assertThrows(
+          IOException.class,
+          () -> PartitionSnapshotStream
+              .decode(new ByteArrayInputStream(Arrays.copyOf(encoded, encoded.length - 10)), truncatedDir));
+    } finally {
+      FileUtils.deleteQuietly(sourceDir);
+      FileUtils.deleteQuietly(targetDir.getParentFile());
+    }
+  }
+
+  @Test
+  public void testInvalidFileName() throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeInt(PartitionSnapshotStream.FORMAT_VERSION);
+    out.writeInt(0);
+    out.writeInt(0);
+    out.writeInt(1);
+    out.writeUTF("../escaped");
+    out.writeLong(0);
+    File targetDir = new File(Utils.getTempDataDirectory(), "restored");
+    try {
+      Assert.assertThrows(
+          IOException.class,
+          () -> PartitionSnapshotStream.decode(new ByteArrayInputStream(bytes.toByteArray()), targetDir));
+    } finally {
+      FileUtils.deleteQuietly(targetDir.getParentFile());
+    }
+  }
+}
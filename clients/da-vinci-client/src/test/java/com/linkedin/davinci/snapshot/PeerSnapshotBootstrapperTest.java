@@ -0,0 +1,168 @@
+package com.linkedin.davinci.snapshot;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.linkedin.davinci.storage.StorageEngineRepository;
+import com.linkedin.davinci.storage.StorageMetadataService;
+import com.linkedin.davinci.store.AbstractStorageEngine;
+import com.linkedin.venice.kafka.protocol.state.PartitionState;
+import com.linkedin.venice.kafka.protocol.state.StoreVersionState;
+import com.linkedin.venice.meta.Version;
+import com.linkedin.venice.offsets.OffsetRecord;
+import com.linkedin.venice.serialization.avro.AvroProtocolDefinition;
+import com.linkedin.venice.serialization.avro.InternalAvroSpecificSerializer;
+import com.linkedin.venice.utils.Utils;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.commons.io.FileUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+
+public class PeerSnapshotBootstrapperTest {
+  private static final String TOPIC = Version.composeKafkaTopic(Utils.getUniqueString("store"), 1);
+  private static final int PARTITION = 0;
+  private static final long SNAPSHOT_OFFSET = 100;
+  private static final byte[] SNAPSHOT_FILE_CONTENT = "MANIFEST-000002\n".getBytes();
+  private static final InternalAvroSpecificSerializer<PartitionState> PARTITION_STATE_SERIALIZER =
+      AvroProtocolDefinition.PARTITION_STATE.getSerializer();
+  private static final InternalAvroSpecificSerializer<StoreVersionState> STORE_VERSION_STATE_SERIALIZER =
+      AvroProtocolDefinition.STORE_VERSION_STATE.getSerializer();
+
+  private File snapshotBaseDir;
+  private StorageMetadataService peerMetadataService;
+  private PartitionSnapshotServer snapshotServer;
+  private String peer;
+
+  @BeforeClass
+  public void setUp() {
+    snapshotBaseDir = Utils.getTempDataDirectory();
+    AbstractStorageEngine peerStorageEngine = mock(AbstractStorageEngine.class);
+    when(peerStorageEngine.containsPartition(PARTITION)).thenReturn(true);
+    doAnswer(invocation -> {
+      File snapshotDir = new File((String) invocation.getArgument(1));
+      Assert.assertTrue(snapshotDir.mkdirs());
+      Files.write(new File(snapshotDir, "CURRENT").toPath(), SNAPSHOT_FILE_CONTENT);
+      return null;
+    }).when(peerStorageEngine).createSnapshot(eq(PARTITION), anyString());
+    StorageEngineRepository peerStorageEngineRepository = mock(StorageEngineRepository.class);
+    when(peerStorageEngineRepository.getLocalStorageEngine(TOPIC)).thenReturn(peerStorageEngine);
+    peerMetadataService = mock(StorageMetadataService.class);
+    StoreVersionState storeVersionState = new StoreVersionState();
+    storeVersionState.sorted = true;
+    when(peerMetadataService.getStoreVersionState(TOPIC)).thenReturn(storeVersionState);
+
+    int port = Utils.getFreePort();
+    snapshotServer = new PartitionSnapshotServer(
+        port,
+        new File(snapshotBaseDir, "server").getAbsolutePath(),
+        peerStorageEngineRepository,
+        peerMetadataService,
+        STORE_VERSION_STATE_SERIALIZER);
+    snapshotServer.start();
+    peer = "localhost:" + port;
+  }
+
+  @AfterClass
+  public void cleanUp() throws Exception {
+    snapshotServer.stop();
+    FileUtils.deleteQuietly(snapshotBaseDir);
+  }
+
+  @Test
+  public void testBootstrapFromPeer() {
+    when(peerMetadataService.getLastOffset(TOPIC, PARTITION)).thenReturn(getPeerOffsetRecord(true));
+    StorageMetadataService localMetadataService = mock(StorageMetadataService.class);
+    when(localMetadataService.getLastOffset(TOPIC, PARTITION)).thenReturn(new OffsetRecord(PARTITION_STATE_SERIALIZER));
+    AbstractStorageEngine localStorageEngine = mock(AbstractStorageEngine.class);
+    AtomicReference<byte[]> restoredFileContent = new AtomicReference<>();
+    doAnswer(invocation -> {
+      File snapshotDir = new File((String) invocation.getArgument(1));
+      restoredFileContent.set(Files.readAllBytes(new File(snapshotDir, "CURRENT").toPath()));
+      return null;
+    }).when(localStorageEngine).restorePartitionFromSnapshot(eq(PARTITION), anyString());
+
+    // The first peer is down, so the snapshot comes from the second one
+    String unreachablePeer = "localhost:" + Utils.getFreePort();
+    PeerSnapshotBootstrapper bootstrapper =
+        createBootstrapper(Arrays.asList(unreachablePeer, peer), localMetadataService);
+    Assert.assertTrue(bootstrapper.bootstrap(localStorageEngine, TOPIC, PARTITION));
+
+    Assert.assertEquals(restoredFileContent.get(), SNAPSHOT_FILE_CONTENT);
+    // The ingestion resumes from the offset of the snapshot
+    verify(localMetadataService).put(
+        eq(TOPIC),
+        eq(PARTITION),
+        argThat(offsetRecord -> offsetRecord.getLocalVersionTopicOffset() == SNAPSHOT_OFFSET));
+    verify(localMetadataService).computeStoreVersionState(eq(TOPIC), any());
+    // The downloaded snapshot is cleaned up once restored
+    Assert.assertEquals(new File(snapshotBaseDir, "client").list().length, 0);
+  }
+
+  @Test
+  public void testFallbackToVersionTopicIngestion() {
+    // The peer only shares the partitions which have completed their batch push
+    when(peerMetadataService.getLastOffset(TOPIC, PARTITION)).thenReturn(getPeerOffsetRecord(false));
+    StorageMetadataService localMetadataService = mock(StorageMetadataService.class);
+    when(localMetadataService.getLastOffset(TOPIC, PARTITION)).thenReturn(new OffsetRecord(PARTITION_STATE_SERIALIZER));
+    AbstractStorageEngine localStorageEngine = mock(AbstractStorageEngine.class);
+
+    PeerSnapshotBootstrapper bootstrapper =
+        createBootstrapper(Arrays.asList("localhost:" + Utils.getFreePort(), peer), localMetadataService);
+    Assert.assertFalse(bootstrapper.bootstrap(localStorageEngine, TOPIC, PARTITION));
+
+    verify(localStorageEngine, never()).restorePartitionFromSnapshot(anyInt(), anyString());
+    verify(localMetadataService, never()).put(anyString(), anyInt(), any());
+    verify(localMetadataService, never()).computeStoreVersionState(anyString(), any());
+  }
+
+  @Test
+  public void testPartitionWithLocalDataIsNotBootstrapped() {
+    when(peerMetadataService.getLastOffset(TOPIC, PARTITION)).thenReturn(getPeerOffsetRecord(true));
+    StorageMetadataService localMetadataService = mock(StorageMetadataService.class);
+    OffsetRecord localOffsetRecord = new OffsetRecord(PARTITION_STATE_SERIALIZER);
+    localOffsetRecord.setCheckpointLocalVersionTopicOffset(10);
+    when(localMetadataService.getLastOffset(TOPIC, PARTITION)).thenReturn(localOffsetRecord);
+    AbstractStorageEngine localStorageEngine = mock(AbstractStorageEngine.class);
+
+    PeerSnapshotBootstrapper bootstrapper = createBootstrapper(Collections.singletonList(peer), localMetadataService);
+    Assert.assertFalse(bootstrapper.bootstrap(localStorageEngine, TOPIC, PARTITION));
+
+    verify(localStorageEngine, never()).restorePartitionFromSnapshot(anyInt(), anyString());
+    verify(localMetadataService, never()).put(anyString(), anyInt(), any());
+  }
+
+  private PeerSnapshotBootstrapper createBootstrapper(List<String> peers, StorageMetadataService metadataService) {
+    return new PeerSnapshotBootstrapper(
+        peers,
+        new File(snapshotBaseDir, "client").getAbsolutePath(),
+        10,
+        metadataService,
+        PARTITION_STATE_SERIALIZER,
+        STORE_VERSION_STATE_SERIALIZER);
+  }
+
+  private static OffsetRecord getPeerOffsetRecord(boolean endOfPushReceived) {
+    OffsetRecord offsetRecord = new OffsetRecord(PARTITION_STATE_SERIALIZER);
+    offsetRecord.setCheckpointLocalVersionTopicOffset(SNAPSHOT_OFFSET);
+    if (endOfPushReceived) {
+      offsetRecord.endOfPushReceived(SNAPSHOT_OFFSET / 2);
+    }
+    return offsetRecord;
+  }
+}
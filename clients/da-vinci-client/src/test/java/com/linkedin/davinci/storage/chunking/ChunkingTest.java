@@ -1,8 +1,11 @@
 package com.linkedin.davinci.storage.chunking;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 import com.linkedin.davinci.compression.StorageEngineBackedCompressorFactory;
 import com.linkedin.davinci.storage.StorageMetadataService;
@@ -11,13 +14,17 @@ import com.linkedin.davinci.store.record.ValueRecord;
 import com.linkedin.venice.compression.CompressionStrategy;
 import com.linkedin.venice.compression.VeniceCompressor;
 import com.linkedin.venice.helix.HelixReadOnlySchemaRepository;
+import com.linkedin.venice.read.protocol.response.MultiGetResponseRecordV1;
 import com.linkedin.venice.schema.SchemaEntry;
 import com.linkedin.venice.serialization.avro.AvroProtocolDefinition;
 import com.linkedin.venice.serializer.SerializerDeserializerFactory;
 import com.linkedin.venice.storage.protocol.ChunkedValueManifest;
 import com.linkedin.venice.utils.ByteUtils;
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
@@ -248,4 +255,118 @@ public class ChunkingTest {
       return null;
     });
   }
+
+  @Test
+  public void testTransformedRecordChunkingAdapter() {
+    // The transformed value keeps the value schema id of the record it was transformed from in its header, while it
+    // is serialized with the output schema of the transformer, so the id must not be used to decode it.
+    String storeName = "test_store";
+    int partition = 0;
+    Schema inputSchema = Schema.create(Schema.Type.STRING);
+    Schema outputSchema = Schema.create(Schema.Type.INT);
+    SchemaEntry schemaEntry = new SchemaEntry(1, inputSchema);
+    HelixReadOnlySchemaRepository schemaRepository = mock(HelixReadOnlySchemaRepository.class);
+    doReturn(schemaEntry).when(schemaRepository).getValueSchema(storeName, 1);
+    doReturn(schemaEntry).when(schemaRepository).getSupersetOrLatestValueSchema(storeName);
+
+    byte[] serializedValue = SerializerDeserializerFactory.getAvroGenericSerializer(outputSchema).serialize(42);
+    ByteBuffer key = ByteBuffer.wrap(new byte[] { 1 });
+    AbstractStorageEngine storageEngine = mock(AbstractStorageEngine.class);
+    doReturn(ValueRecord.create(1, serializedValue).serialize()).when(storageEngine).get(partition, key);
+
+    try (StorageEngineBackedCompressorFactory compressorFactory =
+        new StorageEngineBackedCompressorFactory(mock(StorageMetadataService.class))) {
+      Object value = new TransformedRecordChunkingAdapter<>(outputSchema).get(
+          storageEngine,
+          partition,
+          key,
+          false,
+          null,
+          null,
+          null,
+          CompressionStrategy.NO_OP,
+          true,
+          schemaRepository,
+          storeName,
+          compressorFactory.getCompressor(CompressionStrategy.NO_OP, storeName));
+      Assert.assertEquals(value, 42);
+    }
+  }
+
+  @Test
+  public void testBatchGetFetchesChunksWithMultiGet() {
+    int partition = 3;
+    byte[] smallValue = new byte[] { 1, 2, 3 };
+    byte[] smallValueWithHeader = new byte[smallValue.length + ValueRecord.SCHEMA_HEADER_LENGTH];
+    ByteUtils.writeInt(smallValueWithHeader, 1, 0);
+    System.arraycopy(smallValue, 0, smallValueWithHeader, ValueRecord.SCHEMA_HEADER_LENGTH, smallValue.length);
+
+    byte[] firstChunkKey = new byte[] { 10 };
+    byte[] secondChunkKey = new byte[] { 11 };
+    byte[] firstChunk = new byte[] { 0, 0, 0, 0, 4, 5 };
+    byte[] secondChunk = new byte[] { 0, 0, 0, 0, 6 };
+    ByteUtils.writeInt(firstChunk, AvroProtocolDefinition.CHUNK.currentProtocolVersion.get(), 0);
+    ByteUtils.writeInt(secondChunk, AvroProtocolDefinition.CHUNK.currentProtocolVersion.get(), 0);
+    ChunkedValueManifest chunkedValueManifest = new ChunkedValueManifest();
+    chunkedValueManifest.keysWithChunkIdSuffix =
+        Arrays.asList(ByteBuffer.wrap(firstChunkKey), ByteBuffer.wrap(secondChunkKey));
+    chunkedValueManifest.schemaId = 1;
+    chunkedValueManifest.size = 3;
+    byte[] serializedCVM = SerializerDeserializerFactory.getAvroGenericSerializer(ChunkedValueManifest.SCHEMA$)
+        .serialize(chunkedValueManifest);
+    byte[] serializedCVMwithHeader = new byte[serializedCVM.length + ValueRecord.SCHEMA_HEADER_LENGTH];
+    ByteUtils.writeInt(
+        serializedCVMwithHeader,
+        AvroProtocolDefinition.CHUNKED_VALUE_MANIFEST.currentProtocolVersion.get(),
+        0);
+    System.arraycopy(serializedCVM, 0, serializedCVMwithHeader, ValueRecord.SCHEMA_HEADER_LENGTH, serializedCVM.length);
+
+    List<ByteBuffer> keys = Arrays.asList(
+        ByteBuffer.wrap(new byte[] { 1 }),
+        ByteBuffer.wrap(new byte[] { 2 }),
+        ByteBuffer.wrap(new byte[] { 3 }));
+    AbstractStorageEngine storageEngine = mock(AbstractStorageEngine.class);
+    doReturn(smallValueWithHeader).when(storageEngine).get(partition, keys.get(0));
+    doReturn(serializedCVMwithHeader).when(storageEngine).get(partition, keys.get(1));
+    doReturn(Arrays.asList(firstChunk, secondChunk)).when(storageEngine).multiGet(eq(partition), any());
+
+    List<MultiGetResponseRecordV1> records = BatchGetChunkingAdapter
+        .get(storageEngine, new int[] { partition, partition, partition }, keys, false, null);
+
+    Assert.assertEquals(records.size(), 3);
+    Assert.assertEquals(ByteUtils.extractByteArray(records.get(0).value), smallValue);
+    Assert.assertEquals(ByteUtils.extractByteArray(records.get(1).value), new byte[] { 4, 5, 6 });
+    Assert.assertNull(records.get(2));
+    verify(storageEngine, never()).get(eq(partition), eq(firstChunkKey));
+  }
+
+  @Test
+  public void testStreamingChunkedValueInputStream() throws IOException {
+    byte[][] chunks = new byte[3][];
+    for (int i = 0; i < chunks.length; i++) {
+      chunks[i] = new byte[ValueRecord.SCHEMA_HEADER_LENGTH + 2];
+      chunks[i][ValueRecord.SCHEMA_HEADER_LENGTH] = (byte) (2 * i);
+      chunks[i][ValueRecord.SCHEMA_HEADER_LENGTH + 1] = (byte) (2 * i + 1);
+    }
+    List<Integer> fetchedChunks = new ArrayList<>();
+    ChunkedValueInputStream inputStream = new ChunkedValueInputStream(3, 6, chunkIndex -> {
+      fetchedChunks.add(chunkIndex);
+      return chunks[chunkIndex];
+    });
+
+    // Chunks are only fetched when they are needed
+    Assert.assertEquals(inputStream.read(), 0);
+    Assert.assertEquals(fetchedChunks, Collections.singletonList(0));
+    byte[] buffer = new byte[3];
+    Assert.assertEquals(inputStream.read(buffer, 0, 3), 3);
+    Assert.assertEquals(buffer, new byte[] { 1, 2, 3 });
+    Assert.assertEquals(fetchedChunks, Arrays.asList(0, 1));
+    Assert.assertEquals(inputStream.read(buffer, 0, 3), 2);
+    Assert.assertEquals(inputStream.read(), -1);
+    Assert.assertEquals(fetchedChunks, Arrays.asList(0, 1, 2));
+
+    // The total size is validated against the manifest
+    ChunkedValueInputStream wrongSizeInputStream = new ChunkedValueInputStream(3, 5, chunkIndex -> chunks[chunkIndex]);
+    Assert.assertThrows(IllegalStateException.class, () -> wrongSizeInputStream.read(new byte[6], 0, 6));
+  }
 }
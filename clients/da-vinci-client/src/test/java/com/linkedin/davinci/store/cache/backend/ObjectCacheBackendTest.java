@@ -92,4 +92,34 @@ public class ObjectCacheBackendTest {
     // Drop it (and don't throw an exception)
     cacheBackend.getCacheInvalidatingStoreChangeListener().handleStoreDeleted(mockStore);
   }
+
+  @Test
+  public void testSharedMemoryBudget() throws ExecutionException, InterruptedException {
+    ReadOnlySchemaRepository mockSchemaRepo = mock(ReadOnlySchemaRepository.class);
+    Mockito.when(mockSchemaRepo.getKeySchema(STORE_NAME)).thenReturn(new SchemaEntry(0, STORE_SCHEMA));
+    ObjectCacheConfig cacheConfig = new ObjectCacheConfig().setMaxTotalWeightInBytes(1024L * 1024L);
+    ClientConfig clientConfig = ClientConfig.defaultGenericClientConfig(Utils.getUniqueString());
+    ObjectCacheBackend cacheBackend = new ObjectCacheBackend(clientConfig, cacheConfig, mockSchemaRepo);
+
+    Version mockVersion = Mockito.mock(Version.class);
+    Mockito.when(mockVersion.getStoreName()).thenReturn(STORE_NAME);
+    Mockito.when(mockVersion.kafkaTopicName()).thenReturn(TOPIC_NAME);
+
+    GenericRecord keyRecord = new GenericData.Record(STORE_SCHEMA);
+    keyRecord.put("number", 1);
+    Assert.assertEquals(
+        cacheBackend.get(keyRecord, mockVersion, (k, executor) -> CompletableFuture.completedFuture("value")).get(),
+        "value");
+
+    // The occupancy of the store is reported, even though its entries live in the cache shared by all the stores
+    StoreCacheStats storeCacheStats = cacheBackend.getStoreCacheStats(STORE_NAME);
+    Assert.assertEquals(storeCacheStats.getEntryCount(), 1);
+    Assert.assertTrue(storeCacheStats.getWeightedSize() > 0);
+    Assert.assertEquals(storeCacheStats.getMissCount(), 1);
+
+    cacheBackend.clearCachedPartitions(mockVersion);
+    Assert.assertNull(((VeniceStoreCacheStorageEngine) cacheBackend.getStorageEngine(TOPIC_NAME)).getCache()
+        .getIfPresent(keyRecord));
+    cacheBackend.close();
+  }
 }
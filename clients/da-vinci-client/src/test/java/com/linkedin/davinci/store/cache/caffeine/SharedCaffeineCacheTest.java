@@ -0,0 +1,91 @@
+package com.linkedin.davinci.store.cache.caffeine;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.linkedin.davinci.store.cache.ObjectSizeEstimator;
+import com.linkedin.davinci.store.cache.VeniceStoreCache;
+import com.linkedin.davinci.store.cache.backend.ObjectCacheConfig;
+import java.util.concurrent.CompletableFuture;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class SharedCaffeineCacheTest {
+  private static final String VALUE = "value";
+  private static final AsyncCacheLoader<Integer, String> LOADER =
+      (key, executor) -> CompletableFuture.completedFuture(VALUE);
+
+  @Test
+  public void testStoresAreIsolated() throws Exception {
+    ObjectCacheConfig cacheConfig = new ObjectCacheConfig().setMaxTotalWeightInBytes(1024L * 1024L);
+    SharedCaffeineCache sharedCache = new SharedCaffeineCache(cacheConfig, Runnable::run);
+    VeniceStoreCache firstCache = sharedCache.createStoreCache(LOADER);
+    VeniceStoreCache secondCache = sharedCache.createStoreCache(LOADER);
+
+    firstCache.insert(1, "first");
+    secondCache.insert(1, "second");
+    Assert.assertEquals(firstCache.getIfPresent(1), "first");
+    Assert.assertEquals(secondCache.getIfPresent(1), "second");
+
+    // Only the first lookup of a missing key goes through the loader
+    Assert.assertEquals(firstCache.get(2).get(), VALUE);
+    Assert.assertEquals(firstCache.get(2).get(), VALUE);
+    Assert.assertEquals(firstCache.missCount(), 1);
+    Assert.assertEquals(firstCache.hitCount(), 2);
+    Assert.assertEquals(firstCache.size(), 2);
+    Assert.assertEquals(secondCache.size(), 1);
+
+    firstCache.clear();
+    sharedCache.cleanUp();
+    Assert.assertNull(firstCache.getIfPresent(1));
+    Assert.assertEquals(secondCache.getIfPresent(1), "second");
+    Assert.assertEquals(firstCache.size(), 0);
+    Assert.assertEquals(firstCache.weightedSize(), 0);
+    Assert.assertEquals(secondCache.weightedSize(), sharedCache.weightedSize());
+    Assert.assertEquals(firstCache.evictionCount(), 0);
+  }
+
+  @Test
+  public void testEvictionAcrossStores() {
+    long maxTotalWeight = 10L * SharedCaffeineCache.weigh(0, VALUE).weight;
+    ObjectCacheConfig cacheConfig = new ObjectCacheConfig().setMaxTotalWeightInBytes(maxTotalWeight);
+    SharedCaffeineCache sharedCache = new SharedCaffeineCache(cacheConfig, Runnable::run);
+    VeniceStoreCache firstCache = sharedCache.createStoreCache(LOADER);
+    VeniceStoreCache secondCache = sharedCache.createStoreCache(LOADER);
+
+    int insertedEntryCount = 0;
+    for (int i = 0; i < 5; i++) {
+      firstCache.insert(i, VALUE);
+      insertedEntryCount++;
+    }
+    for (int i = 0; i < 50; i++) {
+      secondCache.insert(i, VALUE);
+      insertedEntryCount++;
+    }
+    sharedCache.cleanUp();
+
+    // The budget is enforced on the sum of both stores, and each store accounts for its own share
+    Assert.assertTrue(sharedCache.weightedSize() <= maxTotalWeight);
+    Assert.assertEquals(firstCache.weightedSize() + secondCache.weightedSize(), sharedCache.weightedSize());
+    Assert.assertEquals(firstCache.size() + secondCache.size(), 10);
+    Assert.assertEquals(firstCache.evictionCount() + secondCache.evictionCount(), insertedEntryCount - 10);
+    Assert.assertTrue(secondCache.evictionCount() > 0);
+  }
+
+  @Test
+  public void testObjectSizeEstimate() {
+    Schema schema = Schema.parse(
+        "{\"type\":\"record\", \"name\":\"ValueRecord\", \"fields\": [{\"name\":\"name\", \"type\":\"string\"}]}");
+    GenericRecord smallRecord = new GenericData.Record(schema);
+    smallRecord.put("name", "a");
+    GenericRecord largeRecord = new GenericData.Record(schema);
+    largeRecord.put("name", new String(new char[1000]));
+
+    Assert.assertEquals(ObjectSizeEstimator.estimateSize(null), 0);
+    Assert.assertTrue(ObjectSizeEstimator.estimateSize(smallRecord) > ObjectSizeEstimator.estimateSize("a"));
+    Assert.assertTrue(
+        ObjectSizeEstimator.estimateSize(largeRecord) > ObjectSizeEstimator.estimateSize(smallRecord) + 1000);
+  }
+}
@@ -0,0 +1,159 @@
+package com.linkedin.davinci.store.memory;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class OffHeapHashTableTest {
+  private static final int SEGMENT_SIZE = 4 * 1024;
+
+  private static byte[] key(int i) {
+    return ("key_" + i).getBytes();
+  }
+
+  @Test
+  public void testPutGetDeleteAgainstHashMap() {
+    OffHeapHashTable table = new OffHeapHashTable(SEGMENT_SIZE);
+    Map<Integer, byte[]> expected = new HashMap<>();
+    Random random = new Random(42);
+    for (int i = 0; i < 50000; i++) {
+      // Few keys and many overwrites, to go through resizing, tombstone reuse and compaction.
+      int k = random.nextInt(3000);
+      if (random.nextInt(4) == 0) {
+        table.delete(key(k));
+        expected.remove(k);
+      } else {
+        byte[] value = new byte[random.nextInt(200)];
+        random.nextBytes(value);
+        table.put(key(k), ByteBuffer.wrap(value));
+        expected.put(k, value);
+      }
+    }
+
+    Assert.assertEquals(table.size(), expected.size());
+    long expectedLiveBytes = 0;
+    for (int k = 0; k < 3000; k++) {
+      byte[] value = expected.get(k);
+      Assert.assertEquals(table.get(key(k)), value);
+      if (value != null) {
+        expectedLiveBytes += 2 * Integer.BYTES + key(k).length + value.length;
+      }
+    }
+    Assert.assertEquals(table.getLiveBytes(), expectedLiveBytes);
+    // Compaction keeps the garbage below the size of the live data, plus one segment.
+    Assert.assertTrue(table.getOffHeapMemoryUsage() <= 2 * expectedLiveBytes + 2 * SEGMENT_SIZE);
+
+    Map<String, byte[]> scanned = new HashMap<>();
+    table.forEach(null, (k, v) -> scanned.put(new String(k), v));
+    Assert.assertEquals(scanned.size(), expected.size());
+    for (Map.Entry<Integer, byte[]> entry: expected.entrySet()) {
+      Assert.assertEquals(scanned.get(new String(key(entry.getKey()))), entry.getValue());
+    }
+
+    table.clear();
+    Assert.assertEquals(table.size(), 0);
+    Assert.assertNull(table.get(key(0)));
+    Assert.assertEquals(table.getOffHeapMemoryUsage(), 0);
+  }
+
+  @Test
+  public void testGetIntoReusedBuffer() {
+    OffHeapHashTable table = new OffHeapHashTable(SEGMENT_SIZE);
+    table.put(key(1), ByteBuffer.wrap(new byte[] { 1, 2, 3 }));
+    // Larger than a segment, so it gets its own segment.
+    byte[] largeValue = new byte[3 * SEGMENT_SIZE];
+    new Random().nextBytes(largeValue);
+    ByteBuffer directValue = ByteBuffer.allocateDirect(largeValue.length);
+    directValue.put(largeValue).flip();
+    table.put(key(2), directValue);
+    Assert.assertEquals(directValue.position(), 0);
+
+    ByteBuffer reused = ByteBuffer.allocate(16);
+    ByteBuffer result = table.get(key(1), reused);
+    Assert.assertSame(result, reused);
+    Assert.assertEquals(result, ByteBuffer.wrap(new byte[] { 1, 2, 3 }));
+
+    result = table.get(key(2), reused);
+    Assert.assertNotSame(result, reused);
+    Assert.assertEquals(result, ByteBuffer.wrap(largeValue));
+
+    Assert.assertNull(table.get(key(3), reused));
+
+    // Direct buffers have no backing array
+    ByteBuffer reusedDirect = ByteBuffer.allocateDirect(16);
+    reusedDirect.position(5);
+    result = table.get(key(1), reusedDirect);
+    Assert.assertSame(result, reusedDirect);
+    Assert.assertEquals(result, ByteBuffer.wrap(new byte[] { 1, 2, 3 }));
+
+    result = table.get(key(2), reusedDirect);
+    Assert.assertNotSame(result, reusedDirect);
+    Assert.assertEquals(result, ByteBuffer.wrap(largeValue));
+  }
+
+  @Test
+  public void testKeyPrefix() {
+    OffHeapHashTable table = new OffHeapHashTable(SEGMENT_SIZE);
+    table.put(new byte[] { 1, 2 }, ByteBuffer.wrap(new byte[] { 12 }));
+    table.put(new byte[] { 1, 3 }, ByteBuffer.wrap(new byte[] { 13 }));
+    table.put(new byte[] { 2, 1 }, ByteBuffer.wrap(new byte[] { 21 }));
+    table.put(new byte[] { 1 }, ByteBuffer.wrap(new byte[] { 1 }));
+
+    Map<Byte, byte[]> scanned = new HashMap<>();
+    table.forEach(new byte[] { 1 }, (k, v) -> scanned.put(v[0], k));
+    Assert.assertEquals(scanned.size(), 3);
+    Assert.assertEquals(scanned.get((byte) 12), new byte[] { 1, 2 });
+    Assert.assertEquals(scanned.get((byte) 13), new byte[] { 1, 3 });
+    Assert.assertEquals(scanned.get((byte) 1), new byte[] { 1 });
+  }
+
+  @Test(timeOut = 60000)
+  public void testConcurrentReadsDuringWrites() throws Exception {
+    OffHeapHashTable table = new OffHeapHashTable(SEGMENT_SIZE);
+    int keyCount = 1000;
+    for (int k = 0; k < keyCount; k++) {
+      table.put(key(k), ByteBuffer.wrap(value(k, 0)));
+    }
+    AtomicBoolean done = new AtomicBoolean(false);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      Future<?>[] readers = new Future<?>[4];
+      for (int r = 0; r < readers.length; r++) {
+        readers[r] = executor.submit(() -> {
+          Random random = new Random();
+          while (!done.get()) {
+            int k = random.nextInt(keyCount);
+            byte[] value = table.get(key(k));
+            // Each value encodes its own key, and keys are only ever overwritten, never deleted.
+            Assert.assertNotNull(value);
+            Assert.assertEquals(ByteBuffer.wrap(value).getInt(), k);
+          }
+        });
+      }
+      // Overwrites trigger compactions, which move every record.
+      for (int round = 1; round <= 50; round++) {
+        for (int k = 0; k < keyCount; k++) {
+          table.put(key(k), ByteBuffer.wrap(value(k, round)));
+        }
+      }
+      done.set(true);
+      for (Future<?> reader: readers) {
+        reader.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static byte[] value(int k, int round) {
+    return ByteBuffer.allocate(Integer.BYTES + round % 64).putInt(k).array();
+  }
+}
@@ -1,16 +1,25 @@
 package com.linkedin.davinci.store.rocksdb;
 
+import com.linkedin.venice.exceptions.VeniceChecksumException;
 import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.kafka.validation.checksum.CheckSum;
+import com.linkedin.venice.kafka.validation.checksum.CheckSumType;
+import com.linkedin.venice.store.rocksdb.RocksDBUtils;
 import com.linkedin.venice.utils.Utils;
 import com.linkedin.venice.utils.VeniceProperties;
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import org.apache.commons.io.FileUtils;
 import org.rocksdb.EnvOptions;
 import org.rocksdb.Options;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.SstFileWriter;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -263,6 +272,181 @@ public class RocksDBSstFileWriterTest {
     }
   }
 
+  @Test
+  public void testAddStagedSSTFile() throws Exception {
+    File stagingDir = Utils.getTempDataDirectory();
+    RocksDBSstFileWriter rocksDBSstFileWriter = null;
+    try {
+      rocksDBSstFileWriter = new RocksDBSstFileWriter(
+          STORE_NAME,
+          PARTITION_ID,
+          "",
+          new EnvOptions(),
+          new Options(),
+          DB_DIR,
+          IS_RMD,
+          ROCKS_DB_SERVER_CONFIG);
+      rocksDBSstFileWriter.open(new HashMap<>(), Optional.empty());
+      stageSstFile(stagingDir, 10, false);
+
+      Assert.assertTrue(rocksDBSstFileWriter.addStagedSSTFile(stagingDir.getAbsolutePath()));
+      Assert.assertEquals(rocksDBSstFileWriter.getRecordNumInAllSSTFiles(), 10);
+      // The staged file is copied next to the current sst file, and is left in place for the other replicas
+      Assert.assertTrue(new File(DB_DIR, RocksDBUtils.composeTempSSTFileName(1)).length() > 0);
+      Assert.assertTrue(new File(stagingDir, RocksDBUtils.composeStagedSSTFileName(PARTITION_ID)).exists());
+    } finally {
+      if (rocksDBSstFileWriter != null) {
+        rocksDBSstFileWriter.close();
+      }
+      deleteTempDatabaseDir();
+    }
+  }
+
+  @Test
+  public void testAddStagedSSTFileWithChecksumMismatch() throws Exception {
+    File stagingDir = Utils.getTempDataDirectory();
+    RocksDBSstFileWriter rocksDBSstFileWriter = null;
+    try {
+      rocksDBSstFileWriter = new RocksDBSstFileWriter(
+          STORE_NAME,
+          PARTITION_ID,
+          "",
+          new EnvOptions(),
+          new Options(),
+          DB_DIR,
+          IS_RMD,
+          ROCKS_DB_SERVER_CONFIG);
+      rocksDBSstFileWriter.open(new HashMap<>(), Optional.empty());
+      stageSstFile(stagingDir, 10, true);
+
+      RocksDBSstFileWriter writer = rocksDBSstFileWriter;
+      Assert.assertThrows(VeniceChecksumException.class, () -> writer.addStagedSSTFile(stagingDir.getAbsolutePath()));
+      Assert.assertEquals(writer.getRecordNumInAllSSTFiles(), 0);
+      // The copy of the staged file doesn't get ingested
+      Assert.assertFalse(new File(DB_DIR, RocksDBUtils.composeTempSSTFileName(1)).exists());
+    } finally {
+      if (rocksDBSstFileWriter != null) {
+        rocksDBSstFileWriter.close();
+      }
+      deleteTempDatabaseDir();
+    }
+  }
+
+  @Test(expectedExceptions = VeniceException.class, expectedExceptionsMessageRegExp = "Failed to read the checksum of the staged sst file.*")
+  public void testAddStagedSSTFileWithMissingChecksumFile() throws Exception {
+    File stagingDir = Utils.getTempDataDirectory();
+    RocksDBSstFileWriter rocksDBSstFileWriter = null;
+    try {
+      rocksDBSstFileWriter = new RocksDBSstFileWriter(
+          STORE_NAME,
+          PARTITION_ID,
+          "",
+          new EnvOptions(),
+          new Options(),
+          DB_DIR,
+          IS_RMD,
+          ROCKS_DB_SERVER_CONFIG);
+      rocksDBSstFileWriter.open(new HashMap<>(), Optional.empty());
+      stageSstFile(stagingDir, 10, false);
+      FileUtils.delete(new File(stagingDir, RocksDBUtils.composeStagedSSTChecksumFileName(PARTITION_ID)));
+
+      rocksDBSstFileWriter.addStagedSSTFile(stagingDir.getAbsolutePath());
+    } finally {
+      if (rocksDBSstFileWriter != null) {
+        rocksDBSstFileWriter.close();
+      }
+      deleteTempDatabaseDir();
+    }
+  }
+
+  @Test
+  public void testAddStagedSSTFileOfEmptyPartition() throws Exception {
+    File stagingDir = Utils.getTempDataDirectory();
+    RocksDBSstFileWriter rocksDBSstFileWriter = null;
+    try {
+      rocksDBSstFileWriter = new RocksDBSstFileWriter(
+          STORE_NAME,
+          PARTITION_ID,
+          "",
+          new EnvOptions(),
+          new Options(),
+          DB_DIR,
+          IS_RMD,
+          ROCKS_DB_SERVER_CONFIG);
+      rocksDBSstFileWriter.open(new HashMap<>(), Optional.empty());
+      // The empty partitions only have a checksum file
+      stageSstFile(stagingDir, 0, false);
+      Assert.assertFalse(new File(stagingDir, RocksDBUtils.composeStagedSSTFileName(PARTITION_ID)).exists());
+
+      Assert.assertFalse(rocksDBSstFileWriter.addStagedSSTFile(stagingDir.getAbsolutePath()));
+      Assert.assertEquals(rocksDBSstFileWriter.getRecordNumInAllSSTFiles(), 0);
+      Assert.assertEquals(getNumberOfFilesInTempDirectory(), 1);
+    } finally {
+      if (rocksDBSstFileWriter != null) {
+        rocksDBSstFileWriter.close();
+      }
+      deleteTempDatabaseDir();
+    }
+  }
+
+  @Test(expectedExceptions = VeniceException.class, expectedExceptionsMessageRegExp = "Cannot add external sst file.*1 records.*")
+  public void testAddStagedSSTFileAfterLocalWrites() throws Exception {
+    File stagingDir = Utils.getTempDataDirectory();
+    RocksDBSstFileWriter rocksDBSstFileWriter = null;
+    try {
+      rocksDBSstFileWriter = new RocksDBSstFileWriter(
+          STORE_NAME,
+          PARTITION_ID,
+          "",
+          new EnvOptions(),
+          new Options(),
+          DB_DIR,
+          IS_RMD,
+          ROCKS_DB_SERVER_CONFIG);
+      rocksDBSstFileWriter.open(new HashMap<>(), Optional.empty());
+      rocksDBSstFileWriter.put("local_key".getBytes(), ByteBuffer.wrap("local_value".getBytes()));
+      stageSstFile(stagingDir, 10, false);
+
+      rocksDBSstFileWriter.addStagedSSTFile(stagingDir.getAbsolutePath());
+    } finally {
+      if (rocksDBSstFileWriter != null) {
+        rocksDBSstFileWriter.close();
+      }
+      deleteTempDatabaseDir();
+    }
+  }
+
+  /**
+   * Stages the SST file of {@link #PARTITION_ID} and its checksum file the same way as the push job does.
+   */
+  private void stageSstFile(File stagingDir, int recordCount, boolean corruptChecksum)
+      throws RocksDBException, IOException {
+    CheckSum checkSum = CheckSum.getInstance(CheckSumType.MD5).get();
+    if (recordCount > 0) {
+      File sstFile = new File(stagingDir, RocksDBUtils.composeStagedSSTFileName(PARTITION_ID));
+      try (EnvOptions envOptions = new EnvOptions();
+          Options options = new Options();
+          SstFileWriter sstFileWriter = new SstFileWriter(envOptions, options)) {
+        sstFileWriter.open(sstFile.getAbsolutePath());
+        for (int i = 0; i < recordCount; i++) {
+          byte[] key = ("key_" + i).getBytes();
+          byte[] value = ("value_" + i).getBytes();
+          sstFileWriter.put(key, value);
+          checkSum.update(key);
+          checkSum.update(value);
+        }
+        sstFileWriter.finish();
+      }
+    }
+    byte[] checksum = checkSum.getCheckSum();
+    if (corruptChecksum) {
+      checksum[0]++;
+    }
+    Files.write(
+        new File(stagingDir, RocksDBUtils.composeStagedSSTChecksumFileName(PARTITION_ID)).toPath(),
+        RocksDBUtils.composeStagedSSTChecksum(recordCount, checksum).getBytes(StandardCharsets.UTF_8));
+  }
+
   private String getTempDatabaseDir() {
     File storeDir = new File(DB_DIR).getAbsoluteFile();
     if (!storeDir.mkdirs()) {
@@ -18,8 +18,11 @@ import com.linkedin.venice.offsets.OffsetRecord;
 import com.linkedin.venice.serialization.avro.AvroProtocolDefinition;
 import com.linkedin.venice.utils.Utils;
 import com.linkedin.venice.utils.VeniceProperties;
+import java.io.File;
+import java.io.IOException;
 import java.util.Optional;
 import java.util.Set;
+import org.apache.commons.io.FileUtils;
 import org.testng.Assert;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
@@ -183,6 +186,44 @@ public class RocksDBStorageEngineTest extends AbstractStorageEngineTest {
     Assert.assertTrue(persistedPartitionIds.contains(METADATA_PARTITION_ID));
   }
 
+  @Test
+  public void testRestorePartitionFromSnapshot() throws IOException {
+    int partitionId = PARTITION_ID + 2;
+    File snapshotParentDir = Utils.getTempDataDirectory();
+    RocksDBStorageEngine rocksDBStorageEngine = (RocksDBStorageEngine) getTestStoreEngine();
+    rocksDBStorageEngine.addStoragePartition(partitionId);
+    try {
+      for (int i = 0; i < 10; i++) {
+        rocksDBStorageEngine.put(partitionId, ("key_" + i).getBytes(), ("value_" + i).getBytes());
+      }
+      OffsetRecord offsetRecord = new OffsetRecord(AvroProtocolDefinition.PARTITION_STATE.getSerializer());
+      offsetRecord.setCheckpointLocalVersionTopicOffset(10);
+      rocksDBStorageEngine.putPartitionOffset(partitionId, offsetRecord);
+
+      String snapshotPath = new File(snapshotParentDir, "snapshot").getAbsolutePath();
+      rocksDBStorageEngine.createSnapshot(partitionId, snapshotPath);
+      rocksDBStorageEngine.put(partitionId, "key_after_snapshot".getBytes(), "value_after_snapshot".getBytes());
+      rocksDBStorageEngine.delete(partitionId, "key_0".getBytes());
+
+      rocksDBStorageEngine.restorePartitionFromSnapshot(partitionId, snapshotPath);
+      for (int i = 0; i < 10; i++) {
+        Assert.assertEquals(rocksDBStorageEngine.get(partitionId, ("key_" + i).getBytes()), ("value_" + i).getBytes());
+      }
+      Assert.assertNull(rocksDBStorageEngine.get(partitionId, "key_after_snapshot".getBytes()));
+      // The snapshot is consumed, and the partition metadata is left to the caller
+      Assert.assertFalse(new File(snapshotPath).exists());
+      Assert.assertEquals(rocksDBStorageEngine.getPartitionOffset(partitionId).get().getLocalVersionTopicOffset(), 10);
+      // The restored partition keeps serving writes
+      rocksDBStorageEngine.put(partitionId, "key_after_restore".getBytes(), "value_after_restore".getBytes());
+      Assert.assertEquals(
+          rocksDBStorageEngine.get(partitionId, "key_after_restore".getBytes()),
+          "value_after_restore".getBytes());
+    } finally {
+      rocksDBStorageEngine.dropPartition(partitionId);
+      FileUtils.deleteQuietly(snapshotParentDir);
+    }
+  }
+
   @Test
   public void testRocksDBStoragePartitionType() {
     // Verify that data partition is created as regular RocksDB partition, not a RMD-RocksDB Partition.
@@ -7,9 +7,11 @@ import static com.linkedin.davinci.store.rocksdb.RocksDBServerConfig.ROCKSDB_LEV
 import static com.linkedin.davinci.store.rocksdb.RocksDBServerConfig.ROCKSDB_LEVEL0_SLOWDOWN_WRITES_TRIGGER_WRITE_ONLY_VERSION;
 import static com.linkedin.davinci.store.rocksdb.RocksDBServerConfig.ROCKSDB_LEVEL0_STOPS_WRITES_TRIGGER;
 import static com.linkedin.davinci.store.rocksdb.RocksDBServerConfig.ROCKSDB_LEVEL0_STOPS_WRITES_TRIGGER_WRITE_ONLY_VERSION;
+import static com.linkedin.davinci.store.rocksdb.RocksDBServerConfig.ROCKSDB_PAUSED_SCAN_IDLE_TIMEOUT_MS;
 import static com.linkedin.davinci.store.rocksdb.RocksDBServerConfig.ROCKSDB_PLAIN_TABLE_FORMAT_ENABLED;
 import static com.linkedin.venice.ConfigKeys.PERSISTENCE_TYPE;
 
+import com.linkedin.davinci.callback.BytesStreamingCallback;
 import com.linkedin.davinci.config.VeniceServerConfig;
 import com.linkedin.davinci.store.AbstractStorageEngineTest;
 import com.linkedin.davinci.store.StoragePartitionConfig;
@@ -17,23 +19,34 @@ import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.kafka.validation.checksum.CheckSum;
 import com.linkedin.venice.kafka.validation.checksum.CheckSumType;
 import com.linkedin.venice.meta.PersistenceType;
+import com.linkedin.venice.store.rocksdb.RocksDBUtils;
 import com.linkedin.venice.utils.DataProviderUtils;
+import com.linkedin.venice.utils.TestUtils;
 import com.linkedin.venice.utils.Utils;
 import com.linkedin.venice.utils.VeniceProperties;
 import java.io.File;
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import org.apache.commons.lang.RandomStringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.rocksdb.ComparatorOptions;
+import org.rocksdb.EnvOptions;
 import org.rocksdb.Options;
+import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
+import org.rocksdb.SstFileWriter;
 import org.rocksdb.util.BytewiseComparator;
 import org.testng.Assert;
 import org.testng.annotations.DataProvider;
@@ -652,4 +665,296 @@ public class RocksDBStoragePartitionTest {
     storagePartition.drop();
     removeDir(storeDir);
   }
+
+  @Test
+  public void testGetByKeyPrefixWithPagination() {
+    String storeName = Utils.getUniqueString("test_store");
+    String storeDir = getTempDatabaseDir(storeName);
+    int partitionId = 0;
+    StoragePartitionConfig partitionConfig = new StoragePartitionConfig(storeName, partitionId);
+    VeniceProperties veniceServerProperties = AbstractStorageEngineTest.getServerProperties(PersistenceType.ROCKS_DB);
+    RocksDBServerConfig rocksDBServerConfig = new RocksDBServerConfig(veniceServerProperties);
+    VeniceServerConfig serverConfig = new VeniceServerConfig(veniceServerProperties);
+    RocksDBStorageEngineFactory factory = new RocksDBStorageEngineFactory(serverConfig);
+    RocksDBStoragePartition storagePartition = new RocksDBStoragePartition(
+        partitionConfig,
+        factory,
+        DATA_BASE_DIR,
+        null,
+        ROCKSDB_THROTTLER,
+        rocksDBServerConfig);
+
+    Map<String, String> inputRecords = generateInput(100, true, 0);
+    for (Map.Entry<String, String> entry: inputRecords.entrySet()) {
+      storagePartition.put(entry.getKey().getBytes(), entry.getValue().getBytes());
+      storagePartition.put(("other_" + entry.getKey()).getBytes(), entry.getValue().getBytes());
+    }
+
+    List<String> scannedKeys = new ArrayList<>();
+    BytesStreamingCallback callback = new BytesStreamingCallback() {
+      @Override
+      public void onRecordReceived(byte[] key, byte[] value) {
+        Assert.assertEquals(new String(value), inputRecords.get(new String(key)));
+        scannedKeys.add(new String(key));
+      }
+
+      @Override
+      public void onCompletion() {
+      }
+    };
+
+    // Every page holds a couple of records, and each page resumes the iterator paused by the previous one
+    byte[] keyPrefix = KEY_PREFIX.getBytes();
+    long maxPageTimeInNS = TimeUnit.MINUTES.toNanos(1);
+    int pageCount = 0;
+    byte[] continuationKey = null;
+    do {
+      int previousKeyCount = scannedKeys.size();
+      continuationKey = storagePartition.getByKeyPrefix(keyPrefix, continuationKey, 20, maxPageTimeInNS, callback);
+      Assert.assertTrue(scannedKeys.size() > previousKeyCount);
+      if (continuationKey != null) {
+        Assert.assertEquals(new String(continuationKey), scannedKeys.get(scannedKeys.size() - 1));
+      }
+      pageCount++;
+    } while (continuationKey != null);
+    Assert.assertTrue(pageCount > 1);
+    Assert.assertEquals(scannedKeys, new ArrayList<>(inputRecords.keySet()));
+
+    // A scan can also resume after a key whose iterator is not paused anymore
+    String resumeAfterKey = scannedKeys.get(49);
+    scannedKeys.clear();
+    continuationKey = storagePartition
+        .getByKeyPrefix(keyPrefix, resumeAfterKey.getBytes(), Long.MAX_VALUE, maxPageTimeInNS, callback);
+    Assert.assertNull(continuationKey);
+    Assert.assertEquals(scannedKeys, new ArrayList<>(inputRecords.keySet()).subList(50, 100));
+
+    storagePartition.drop();
+    removeDir(storeDir);
+  }
+
+  @Test
+  public void testIdlePausedScansExpire() {
+    String storeName = Utils.getUniqueString("test_store");
+    String storeDir = getTempDatabaseDir(storeName);
+    int partitionId = 0;
+    StoragePartitionConfig partitionConfig = new StoragePartitionConfig(storeName, partitionId);
+    Properties properties = new Properties();
+    properties.put(ROCKSDB_PAUSED_SCAN_IDLE_TIMEOUT_MS, 100);
+    VeniceProperties veniceServerProperties =
+        AbstractStorageEngineTest.getServerProperties(PersistenceType.ROCKS_DB, properties);
+    RocksDBServerConfig rocksDBServerConfig = new RocksDBServerConfig(veniceServerProperties);
+    VeniceServerConfig serverConfig = new VeniceServerConfig(veniceServerProperties);
+    RocksDBStorageEngineFactory factory = new RocksDBStorageEngineFactory(serverConfig);
+    RocksDBStoragePartition storagePartition = new RocksDBStoragePartition(
+        partitionConfig,
+        factory,
+        DATA_BASE_DIR,
+        null,
+        ROCKSDB_THROTTLER,
+        rocksDBServerConfig);
+
+    Map<String, String> inputRecords = generateInput(100, true, 0);
+    for (Map.Entry<String, String> entry: inputRecords.entrySet()) {
+      storagePartition.put(entry.getKey().getBytes(), entry.getValue().getBytes());
+    }
+    List<String> scannedKeys = new ArrayList<>();
+    BytesStreamingCallback callback = new BytesStreamingCallback() {
+      @Override
+      public void onRecordReceived(byte[] key, byte[] value) {
+        scannedKeys.add(new String(key));
+      }
+
+      @Override
+      public void onCompletion() {
+      }
+    };
+    byte[] keyPrefix = KEY_PREFIX.getBytes();
+    long maxPageTimeInNS = TimeUnit.MINUTES.toNanos(1);
+    byte[] continuationKey = storagePartition.getByKeyPrefix(keyPrefix, null, 20, maxPageTimeInNS, callback);
+    Assert.assertNotNull(continuationKey);
+    Assert.assertEquals(storagePartition.getPausedScanCount(), 1);
+
+    // No other scan comes, so the timer closes the idle iterator
+    TestUtils.waitForNonDeterministicAssertion(
+        10,
+        TimeUnit.SECONDS,
+        () -> Assert.assertEquals(storagePartition.getPausedScanCount(), 0));
+
+    // The scan can still resume after its continuation key, by seeking again
+    continuationKey =
+        storagePartition.getByKeyPrefix(keyPrefix, continuationKey, Long.MAX_VALUE, maxPageTimeInNS, callback);
+    Assert.assertNull(continuationKey);
+    Assert.assertEquals(scannedKeys, new ArrayList<>(inputRecords.keySet()));
+    Assert.assertEquals(storagePartition.getPausedScanCount(), 0);
+
+    storagePartition.drop();
+    removeDir(storeDir);
+  }
+
+  @Test
+  public void testAddStagedSSTFile() throws Exception {
+    String storeName = Utils.getUniqueString("test_store");
+    String storeDir = getTempDatabaseDir(storeName);
+    int partitionId = 0;
+    StoragePartitionConfig partitionConfig = new StoragePartitionConfig(storeName, partitionId);
+    partitionConfig.setDeferredWrite(true);
+    VeniceProperties veniceServerProperties = AbstractStorageEngineTest.getServerProperties(PersistenceType.ROCKS_DB);
+    RocksDBServerConfig rocksDBServerConfig = new RocksDBServerConfig(veniceServerProperties);
+    VeniceServerConfig serverConfig = new VeniceServerConfig(veniceServerProperties);
+    RocksDBStorageEngineFactory factory = new RocksDBStorageEngineFactory(serverConfig);
+    RocksDBStoragePartition storagePartition = new RocksDBStoragePartition(
+        partitionConfig,
+        factory,
+        DATA_BASE_DIR,
+        null,
+        ROCKSDB_THROTTLER,
+        rocksDBServerConfig);
+
+    // Only the control messages go through the version topic, so nothing is written locally
+    File stagingDir = Utils.getTempDataDirectory();
+    Map<String, String> inputRecords = generateInput(1000, true, 0);
+    stageSstFile(stagingDir, partitionId, inputRecords);
+    storagePartition.beginBatchWrite(new HashMap<>(), Optional.empty());
+    storagePartition.addStagedSSTFile(stagingDir.getAbsolutePath());
+    storagePartition.endBatchWrite();
+
+    for (Map.Entry<String, String> entry: inputRecords.entrySet()) {
+      Assert.assertEquals(storagePartition.get(entry.getKey().getBytes()), entry.getValue().getBytes());
+    }
+    // The staged files are shared by all the replicas, so they are left in place
+    Assert.assertTrue(new File(stagingDir, RocksDBUtils.composeStagedSSTFileName(partitionId)).exists());
+
+    storagePartition.drop();
+    removeDir(storeDir);
+  }
+
+  @Test
+  public void testAddStagedSSTFileAfterLocalWrites() throws Exception {
+    String storeName = Utils.getUniqueString("test_store");
+    String storeDir = getTempDatabaseDir(storeName);
+    int partitionId = 0;
+    StoragePartitionConfig partitionConfig = new StoragePartitionConfig(storeName, partitionId);
+    partitionConfig.setDeferredWrite(true);
+    VeniceProperties veniceServerProperties = AbstractStorageEngineTest.getServerProperties(PersistenceType.ROCKS_DB);
+    RocksDBServerConfig rocksDBServerConfig = new RocksDBServerConfig(veniceServerProperties);
+    VeniceServerConfig serverConfig = new VeniceServerConfig(veniceServerProperties);
+    RocksDBStorageEngineFactory factory = new RocksDBStorageEngineFactory(serverConfig);
+    RocksDBStoragePartition storagePartition = new RocksDBStoragePartition(
+        partitionConfig,
+        factory,
+        DATA_BASE_DIR,
+        null,
+        ROCKSDB_THROTTLER,
+        rocksDBServerConfig);
+
+    File stagingDir = Utils.getTempDataDirectory();
+    stageSstFile(stagingDir, partitionId, generateInput(10, true, 0));
+    storagePartition.beginBatchWrite(new HashMap<>(), Optional.empty());
+    storagePartition.put("local_key".getBytes(), "local_value".getBytes());
+    // The staged file would overlap with the local sst files
+    VeniceException ex = Assert.expectThrows(
+        VeniceException.class,
+        () -> storagePartition.addStagedSSTFile(stagingDir.getAbsolutePath()));
+    Assert.assertTrue(ex.getMessage().contains("records have already been written"), ex.getMessage());
+
+    storagePartition.drop();
+    removeDir(storeDir);
+  }
+
+  @Test
+  public void testAddStagedSSTFileWithoutDeferredWrite() throws Exception {
+    String storeName = Utils.getUniqueString("test_store");
+    String storeDir = getTempDatabaseDir(storeName);
+    int partitionId = 0;
+    StoragePartitionConfig partitionConfig = new StoragePartitionConfig(storeName, partitionId);
+    partitionConfig.setDeferredWrite(false);
+    VeniceProperties veniceServerProperties = AbstractStorageEngineTest.getServerProperties(PersistenceType.ROCKS_DB);
+    RocksDBServerConfig rocksDBServerConfig = new RocksDBServerConfig(veniceServerProperties);
+    VeniceServerConfig serverConfig = new VeniceServerConfig(veniceServerProperties);
+    RocksDBStorageEngineFactory factory = new RocksDBStorageEngineFactory(serverConfig);
+    RocksDBStoragePartition storagePartition = new RocksDBStoragePartition(
+        partitionConfig,
+        factory,
+        DATA_BASE_DIR,
+        null,
+        ROCKSDB_THROTTLER,
+        rocksDBServerConfig);
+
+    File stagingDir = Utils.getTempDataDirectory();
+    stageSstFile(stagingDir, partitionId, generateInput(10, true, 0));
+    VeniceException ex = Assert.expectThrows(
+        VeniceException.class,
+        () -> storagePartition.addStagedSSTFile(stagingDir.getAbsolutePath()));
+    Assert.assertTrue(ex.getMessage().contains("'deferredWrite' is enabled"), ex.getMessage());
+
+    storagePartition.drop();
+    removeDir(storeDir);
+  }
+
+  @Test
+  public void testCreateSnapshot() throws RocksDBException {
+    String storeName = Utils.getUniqueString("test_store");
+    String storeDir = getTempDatabaseDir(storeName);
+    int partitionId = 0;
+    StoragePartitionConfig partitionConfig = new StoragePartitionConfig(storeName, partitionId);
+    VeniceProperties veniceServerProperties = AbstractStorageEngineTest.getServerProperties(PersistenceType.ROCKS_DB);
+    RocksDBServerConfig rocksDBServerConfig = new RocksDBServerConfig(veniceServerProperties);
+    VeniceServerConfig serverConfig = new VeniceServerConfig(veniceServerProperties);
+    RocksDBStorageEngineFactory factory = new RocksDBStorageEngineFactory(serverConfig);
+    RocksDBStoragePartition storagePartition = new RocksDBStoragePartition(
+        partitionConfig,
+        factory,
+        DATA_BASE_DIR,
+        null,
+        ROCKSDB_THROTTLER,
+        rocksDBServerConfig);
+
+    Map<String, String> inputRecords = generateInput(100, false, 0);
+    for (Map.Entry<String, String> entry: inputRecords.entrySet()) {
+      storagePartition.put(entry.getKey().getBytes(), entry.getValue().getBytes());
+    }
+    String snapshotPath = new File(Utils.getTempDataDirectory(), "snapshot").getAbsolutePath();
+    storagePartition.createSnapshot(snapshotPath);
+    // The writes after the snapshot are not part of it
+    storagePartition.put("key_after_snapshot".getBytes(), "value_after_snapshot".getBytes());
+    storagePartition.delete((KEY_PREFIX + 0).getBytes());
+
+    try (Options options = new Options(); RocksDB snapshot = RocksDB.openReadOnly(options, snapshotPath)) {
+      for (Map.Entry<String, String> entry: inputRecords.entrySet()) {
+        Assert.assertEquals(snapshot.get(entry.getKey().getBytes()), entry.getValue().getBytes());
+      }
+      Assert.assertNull(snapshot.get("key_after_snapshot".getBytes()));
+    }
+    // The snapshot directory must not exist yet
+    Assert.assertThrows(VeniceException.class, () -> storagePartition.createSnapshot(snapshotPath));
+
+    storagePartition.drop();
+    removeDir(storeDir);
+  }
+
+  /**
+   * Stages the SST file of the partition and its checksum file the same way as the push job does.
+   */
+  private void stageSstFile(File stagingDir, int partitionId, Map<String, String> sortedRecords)
+      throws RocksDBException, IOException {
+    Optional<CheckSum> checkSum = CheckSum.getInstance(CheckSumType.MD5);
+    File sstFile = new File(stagingDir, RocksDBUtils.composeStagedSSTFileName(partitionId));
+    try (EnvOptions envOptions = new EnvOptions();
+        Options options = new Options();
+        SstFileWriter sstFileWriter = new SstFileWriter(envOptions, options)) {
+      sstFileWriter.open(sstFile.getAbsolutePath());
+      for (Map.Entry<String, String> entry: sortedRecords.entrySet()) {
+        byte[] key = entry.getKey().getBytes();
+        byte[] value = entry.getValue().getBytes();
+        sstFileWriter.put(key, value);
+        checkSum.get().update(key);
+        checkSum.get().update(value);
+      }
+      sstFileWriter.finish();
+    }
+    Files.write(
+        new File(stagingDir, RocksDBUtils.composeStagedSSTChecksumFileName(partitionId)).toPath(),
+        RocksDBUtils.composeStagedSSTChecksum(sortedRecords.size(), checkSum.get().getCheckSum())
+            .getBytes(StandardCharsets.UTF_8));
+  }
 }
@@ -2,6 +2,7 @@ package com.linkedin.venice.fastclient;
 
 import com.linkedin.venice.client.exceptions.VeniceClientException;
 import com.linkedin.venice.client.store.AvroGenericStoreClient;
+import com.linkedin.venice.client.store.ScanPage;
 import com.linkedin.venice.client.store.streaming.StreamingCallback;
 import com.linkedin.venice.client.store.streaming.VeniceResponseMap;
 import com.linkedin.venice.fastclient.factory.ClientFactory;
@@ -76,6 +77,12 @@ public class DelegatingAvroStoreClient<K, V> extends InternalAvroStoreClient<K,
     return delegate.batchGet(keys);
   }
 
+  @Override
+  public CompletableFuture<ScanPage<K, V>> scanByKeyPrefix(byte[] keyPrefix, String continuationToken)
+      throws VeniceClientException {
+    return delegate.scanByKeyPrefix(keyPrefix, continuationToken);
+  }
+
   @Override
   // Future implementation after stabilization of streaming batch get
   /**
@@ -5,6 +5,7 @@ import com.linkedin.venice.HttpConstants;
 import com.linkedin.venice.client.exceptions.VeniceClientException;
 import com.linkedin.venice.client.exceptions.VeniceClientHttpException;
 import com.linkedin.venice.client.store.AbstractAvroStoreClient;
+import com.linkedin.venice.client.store.ScanPage;
 import com.linkedin.venice.client.store.streaming.StreamingCallback;
 import com.linkedin.venice.client.store.streaming.VeniceResponseCompletableFuture;
 import com.linkedin.venice.client.store.streaming.VeniceResponseMap;
@@ -13,15 +14,22 @@ import com.linkedin.venice.client.store.transport.TransportClient;
 import com.linkedin.venice.client.store.transport.TransportClientResponse;
 import com.linkedin.venice.compression.CompressionStrategy;
 import com.linkedin.venice.compression.VeniceCompressor;
+import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.fastclient.meta.StoreMetadata;
 import com.linkedin.venice.fastclient.transport.R2TransportClient;
 import com.linkedin.venice.fastclient.transport.TransportClientResponseForRoute;
+import com.linkedin.venice.meta.QueryAction;
+import com.linkedin.venice.read.ScanPosition;
 import com.linkedin.venice.read.protocol.request.router.MultiGetRouterRequestKeyV1;
+import com.linkedin.venice.read.protocol.request.router.ScanRequestV1;
 import com.linkedin.venice.read.protocol.response.MultiGetResponseRecordV1;
+import com.linkedin.venice.read.protocol.response.ScanResponseRecordV1;
+import com.linkedin.venice.read.protocol.response.ScanResponseV1;
 import com.linkedin.venice.schema.avro.ReadAvroProtocolDefinition;
 import com.linkedin.venice.serializer.FastSerializerDeserializerFactory;
 import com.linkedin.venice.serializer.RecordDeserializer;
 import com.linkedin.venice.serializer.RecordSerializer;
+import com.linkedin.venice.utils.ByteUtils;
 import com.linkedin.venice.utils.EncodingUtils;
 import com.linkedin.venice.utils.LatencyUtils;
 import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
@@ -30,6 +38,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -65,6 +74,9 @@ public class DispatchingAvroGenericStoreClient<K, V> extends InternalAvroStoreCl
   // Key serializer
   private RecordSerializer<K> keySerializer;
   private RecordSerializer<MultiGetRouterRequestKeyV1> multiGetSerializer;
+  private RecordSerializer<ScanRequestV1> scanSerializer;
+  // Key deserializer, only used by scans
+  private RecordDeserializer<K> keyDeserializer;
 
   public DispatchingAvroGenericStoreClient(StoreMetadata metadata, ClientConfig config) {
     this.metadata = metadata;
@@ -511,6 +523,98 @@ public class DispatchingAvroGenericStoreClient<K, V> extends InternalAvroStoreCl
     requestContext.markComplete(transportClientResponse);
   }
 
+  /**
+   * Sends the scan of one partition to a single replica, since a page is cheap to fetch again from the continuation
+   * token of the previous page. The limits of the page are left to the storage node.
+   */
+  @Override
+  public CompletableFuture<ScanPage<K, V>> scanByKeyPrefix(byte[] keyPrefix, String continuationToken)
+      throws VeniceClientException {
+    verifyMetadataInitialized();
+    int currentVersion = getCurrentVersion();
+    ScanPosition position;
+    try {
+      position = continuationToken == null
+          ? new ScanPosition(currentVersion, 0, null)
+          : ScanPosition.fromToken(continuationToken);
+    } catch (VeniceException e) {
+      throw new VeniceClientException(e.getMessage(), e);
+    }
+    if (position.getVersion() != currentVersion) {
+      throw new VeniceClientException(
+          "The current version of store: " + getStoreName() + " changed from: " + position.getVersion() + " to: "
+              + currentVersion + " during the scan, please restart it");
+    }
+    int partitionCount = metadata.getPartitionCount(currentVersion);
+    if (position.getPartition() < 0 || position.getPartition() >= partitionCount) {
+      throw new VeniceClientException("Invalid scan continuation token: " + continuationToken);
+    }
+
+    RequestContext requestContext = new RequestContext();
+    List<String> routes = metadata.getReplicas(requestContext.requestId, currentVersion, position.getPartition(), 1);
+    if (routes.isEmpty()) {
+      throw new VeniceClientException(
+          "No available route for store: " + getStoreName() + ", version: " + currentVersion + ", partition: "
+              + position.getPartition());
+    }
+    String route = routes.get(0);
+    String url = route + URI_SEPARATOR + QueryAction.SCAN.toString().toLowerCase() + URI_SEPARATOR
+        + getResourceName(currentVersion) + URI_SEPARATOR + position.getPartition();
+    Map<String, String> headers = new HashMap<>();
+    headers.put(
+        HttpConstants.VENICE_API_VERSION,
+        Integer.toString(ReadAvroProtocolDefinition.SCAN_REQUEST_V1.getProtocolVersion()));
+    ScanRequestV1 scanRequest = new ScanRequestV1();
+    scanRequest.keyPrefix = keyPrefix == null ? null : ByteBuffer.wrap(keyPrefix);
+    byte[] resumeAfterKey = position.getResumeAfterKey();
+    scanRequest.resumeAfterKey = resumeAfterKey == null ? null : ByteBuffer.wrap(resumeAfterKey);
+    scanRequest.maxPageSizeInBytes = 0;
+    scanRequest.maxPageTimeInMs = 0;
+
+    CompletableFuture<HttpStatus> routeRequestFuture =
+        metadata.trackHealthBasedOnRequestToInstance(route, currentVersion, position.getPartition());
+    return transportClient.post(url, headers, scanSerializer.serialize(scanRequest))
+        .handleAsync((response, throwable) -> {
+          if (throwable != null) {
+            routeRequestFuture.complete(
+                (throwable instanceof VeniceClientHttpException)
+                    ? HttpStatus.fromCode(((VeniceClientHttpException) throwable).getHttpStatus())
+                    : HttpStatus.S_503_SERVICE_UNAVAILABLE);
+            throw (throwable instanceof VeniceClientException)
+                ? (VeniceClientException) throwable
+                : new VeniceClientException("Failed to scan store: " + getStoreName(), throwable);
+          }
+          if (response == null) {
+            routeRequestFuture.complete(HttpStatus.S_404_NOT_FOUND);
+            throw new VeniceClientException(
+                "Partition: " + position.getPartition() + " of resource: " + getResourceName(currentVersion)
+                    + " is not found on: " + route);
+          }
+          routeRequestFuture.complete(HttpStatus.S_200_OK);
+          return toScanPage(response, position, partitionCount);
+        }, deserializationExecutor);
+  }
+
+  private ScanPage<K, V> toScanPage(TransportClientResponse response, ScanPosition position, int partitionCount) {
+    ScanResponseV1 scanResponse = FastSerializerDeserializerFactory
+        .getFastAvroSpecificDeserializer(ScanResponseV1.SCHEMA$, ScanResponseV1.class)
+        .deserialize(response.getBody());
+    CompressionStrategy compressionStrategy = response.getCompressionStrategy();
+    VeniceCompressor compressor = metadata.getCompressor(compressionStrategy, position.getVersion());
+    Map<K, V> records = new LinkedHashMap<>(scanResponse.records.size());
+    for (ScanResponseRecordV1 record: scanResponse.records) {
+      ByteBuffer value = decompressRecord(compressionStrategy, record.value, position.getVersion(), compressor);
+      records.put(
+          keyDeserializer.deserialize(record.key),
+          getDataRecordDeserializer(record.schemaId).deserialize(value));
+    }
+
+    ScanPosition nextPosition = position.next(
+        scanResponse.continuationKey == null ? null : ByteUtils.extractByteArray(scanResponse.continuationKey),
+        partitionCount);
+    return new ScanPage<>(records, nextPosition == null ? null : nextPosition.toToken());
+  }
+
   /* Batch get helper methods */
   protected RecordDeserializer<MultiGetResponseRecordV1> getMultiGetResponseRecordDeserializer(int schemaId) {
     // TODO: get multi-get response write schema from Router
@@ -561,7 +665,7 @@ public class DispatchingAvroGenericStoreClient<K, V> extends InternalAvroStoreCl
                 getStoreName(),
                 version));
       }
-      return compressor.decompress(data);
+      return AbstractAvroStoreClient.decompressIntoSizedBuffer(compressor, data);
     } catch (Exception e) {
       throw new VeniceClientException(
           String.format(
@@ -602,6 +706,10 @@ public class DispatchingAvroGenericStoreClient<K, V> extends InternalAvroStoreCl
     if (keySerializer == null) {
       keySerializer = getKeySerializer(getKeySchema());
     }
+    if (keyDeserializer == null) {
+      Schema keySchema = getKeySchema();
+      keyDeserializer = FastSerializerDeserializerFactory.getFastAvroGenericDeserializer(keySchema, keySchema);
+    }
   }
 
   @Override
@@ -610,6 +718,7 @@ public class DispatchingAvroGenericStoreClient<K, V> extends InternalAvroStoreCl
 
     this.multiGetSerializer =
         FastSerializerDeserializerFactory.getAvroGenericSerializer(MultiGetRouterRequestKeyV1.SCHEMA$);
+    this.scanSerializer = FastSerializerDeserializerFactory.getAvroGenericSerializer(ScanRequestV1.SCHEMA$);
   }
 
   protected RecordSerializer getKeySerializer(Schema keySchema) {
@@ -102,6 +102,15 @@ public class RequestBasedMetadata extends AbstractStoreMetadata {
     return partitioner.getPartitionId(key, versionPartitionCountMap.get(version));
   }
 
+  @Override
+  public int getPartitionCount(int version) {
+    Integer partitionCount = versionPartitionCountMap.get(version);
+    if (partitionCount == null) {
+      throw new VeniceClientException("Unknown version number: " + version + " for store: " + storeName);
+    }
+    return partitionCount;
+  }
+
   @Override
   public List<String> getReplicas(int version, int partitionId) {
     String key = getVersionPartitionMapKey(version, partitionId);
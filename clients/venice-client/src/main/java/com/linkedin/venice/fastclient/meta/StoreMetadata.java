@@ -25,6 +25,8 @@ public interface StoreMetadata extends SchemaReader {
 
   int getPartitionId(int version, byte[] key);
 
+  int getPartitionCount(int version);
+
   List<String> getReplicas(int version, int partitionId);
 
   /**
@@ -134,6 +134,15 @@ public abstract class VeniceClientBasedMetadata extends AbstractStoreMetadata {
     return partitioner.getPartitionId(key, versionPartitionCountMap.get().get(version));
   }
 
+  @Override
+  public int getPartitionCount(int version) {
+    Int2IntMap partitionCountMap = versionPartitionCountMap.get();
+    if (partitionCountMap == null || !partitionCountMap.containsKey(version)) {
+      throw new VeniceClientException("Unknown version number: " + version + " for store: " + storeName);
+    }
+    return partitionCountMap.get(version);
+  }
+
   @Override
   public List<String> getReplicas(int version, int partitionId) {
     return readyToServeInstancesMap
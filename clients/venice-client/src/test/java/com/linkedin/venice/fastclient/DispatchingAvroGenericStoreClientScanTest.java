@@ -0,0 +1,307 @@
+package com.linkedin.venice.fastclient;
+
+import com.linkedin.common.callback.Callback;
+import com.linkedin.common.util.None;
+import com.linkedin.r2.message.RequestContext;
+import com.linkedin.r2.message.rest.RestRequest;
+import com.linkedin.r2.message.rest.RestResponse;
+import com.linkedin.r2.message.rest.RestResponseBuilder;
+import com.linkedin.r2.transport.common.Client;
+import com.linkedin.venice.client.exceptions.VeniceClientException;
+import com.linkedin.venice.client.store.ScanPage;
+import com.linkedin.venice.compression.CompressionStrategy;
+import com.linkedin.venice.compression.CompressorFactory;
+import com.linkedin.venice.compression.VeniceCompressor;
+import com.linkedin.venice.fastclient.meta.AbstractStoreMetadata;
+import com.linkedin.venice.read.ScanPosition;
+import com.linkedin.venice.read.protocol.request.router.ScanRequestV1;
+import com.linkedin.venice.read.protocol.response.ScanResponseRecordV1;
+import com.linkedin.venice.read.protocol.response.ScanResponseV1;
+import com.linkedin.venice.schema.writecompute.DerivedSchemaEntry;
+import com.linkedin.venice.serializer.FastSerializerDeserializerFactory;
+import com.linkedin.venice.serializer.RecordDeserializer;
+import com.linkedin.venice.serializer.RecordSerializer;
+import com.linkedin.venice.utils.ByteUtils;
+import io.tehuti.metrics.MetricsRepository;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.avro.Schema;
+import org.apache.avro.specific.SpecificRecord;
+import org.apache.avro.util.Utf8;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+
+public class DispatchingAvroGenericStoreClientScanTest {
+  private static final String STORE_NAME = "test_store";
+  private static final String ROUTE = "https://host1.linkedin.com";
+  private static final Schema STRING_SCHEMA = new Schema.Parser().parse("\"string\"");
+  private static final RecordSerializer<String> STRING_SERIALIZER =
+      FastSerializerDeserializerFactory.getAvroGenericSerializer(STRING_SCHEMA);
+  private static final RecordDeserializer<Utf8> STRING_DESERIALIZER =
+      FastSerializerDeserializerFactory.getAvroGenericDeserializer(STRING_SCHEMA, STRING_SCHEMA);
+  private static final long TIMEOUT_IN_SECONDS = 10;
+
+  private final AtomicInteger currentVersion = new AtomicInteger(1);
+  private ScanServer scanServer;
+  private DispatchingAvroGenericStoreClient<Object, Object> client;
+
+  @BeforeMethod
+  public void setUp() {
+    currentVersion.set(1);
+    // The keys are ordered by their serialized bytes within each partition, and no key of the partition 1 starts with a
+    List<Map<String, String>> partitions = new ArrayList<>();
+    partitions.add(records("a0", "a1", "a2", "b0"));
+    partitions.add(records("b1"));
+    partitions.add(records("a3", "b2"));
+    scanServer = new ScanServer(partitions, 2);
+
+    ClientConfig.ClientConfigBuilder clientConfigBuilder =
+        new ClientConfig.ClientConfigBuilder<Object, Object, SpecificRecord>();
+    clientConfigBuilder.setStoreName(STORE_NAME);
+    clientConfigBuilder.setR2Client(scanServer);
+    clientConfigBuilder.setMetricsRepository(new MetricsRepository());
+    clientConfigBuilder.setDualReadEnabled(false);
+    ClientConfig clientConfig = clientConfigBuilder.build();
+
+    AbstractStoreMetadata metadata = new AbstractStoreMetadata(clientConfig) {
+      @Override
+      public int getCurrentStoreVersion() {
+        return currentVersion.get();
+      }
+
+      @Override
+      public int getPartitionId(int version, ByteBuffer key) {
+        throw new IllegalStateException("Scans should not compute the partition of any key");
+      }
+
+      @Override
+      public int getPartitionCount(int version) {
+        return partitions.size();
+      }
+
+      @Override
+      public List<String> getReplicas(int version, int partitionId) {
+        return Collections.singletonList(ROUTE);
+      }
+
+      @Override
+      public VeniceCompressor getCompressor(CompressionStrategy compressionStrategy, int version) {
+        return new CompressorFactory().getCompressor(compressionStrategy);
+      }
+
+      @Override
+      public void start() {
+      }
+
+      @Override
+      public Schema getKeySchema() {
+        return STRING_SCHEMA;
+      }
+
+      @Override
+      public Schema getValueSchema(int id) {
+        return STRING_SCHEMA;
+      }
+
+      @Override
+      public int getValueSchemaId(Schema schema) {
+        return 1;
+      }
+
+      @Override
+      public Schema getLatestValueSchema() {
+        return STRING_SCHEMA;
+      }
+
+      @Override
+      public Integer getLatestValueSchemaId() {
+        return 1;
+      }
+
+      @Override
+      public Schema getUpdateSchema(int valueSchemaId) {
+        return null;
+      }
+
+      @Override
+      public DerivedSchemaEntry getLatestUpdateSchema() {
+        return null;
+      }
+    };
+    metadata.setRoutingStrategy((requestId, replicas, requiredReplicaCount) -> replicas);
+
+    client = new DispatchingAvroGenericStoreClient<>(metadata, clientConfig);
+    client.start();
+  }
+
+  @AfterMethod
+  public void cleanUp() {
+    client.close();
+  }
+
+  @Test
+  public void testScanWalksAcrossPartitions() throws Exception {
+    // The serialized keys start with their length, which is the same for all of them
+    byte[] keyPrefix = Arrays.copyOf(STRING_SERIALIZER.serialize("a0"), 2);
+    List<Integer> pageSizes = new ArrayList<>();
+    Assert.assertEquals(scanAll(keyPrefix, pageSizes), Arrays.asList("a0", "a1", "a2", "a3"));
+    // The partition 0 takes two pages, and the empty page of the partition 1 does not end the scan
+    Assert.assertEquals(pageSizes, Arrays.asList(2, 1, 0, 1));
+    Assert.assertEquals(scanServer.scannedPartitions, Arrays.asList(0, 0, 1, 2));
+  }
+
+  @Test
+  public void testScanOfAllRecords() throws Exception {
+    List<Integer> pageSizes = new ArrayList<>();
+    Assert.assertEquals(scanAll(null, pageSizes), Arrays.asList("a0", "a1", "a2", "b0", "b1", "a3", "b2"));
+    Assert.assertEquals(pageSizes, Arrays.asList(2, 2, 1, 2));
+    Assert.assertEquals(scanServer.scannedPartitions, Arrays.asList(0, 0, 1, 2));
+  }
+
+  @Test
+  public void testScanFailsWhenCurrentVersionChanges() throws Exception {
+    ScanPage<Object, Object> page = client.scanByKeyPrefix(null, null).get(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
+    Assert.assertTrue(page.hasMore());
+
+    currentVersion.set(2);
+    try {
+      client.scanByKeyPrefix(null, page.getContinuationToken());
+      Assert.fail("The scan should fail once the current version changes");
+    } catch (VeniceClientException e) {
+      Assert.assertEquals(
+          e.getMessage(),
+          "The current version of store: " + STORE_NAME + " changed from: 1 to: 2 during the scan, please restart it");
+    }
+    Assert.assertEquals(scanServer.scannedPartitions, Collections.singletonList(0));
+  }
+
+  @Test
+  public void testScanWithInvalidContinuationToken() {
+    // The version matches, but the store only has 3 partitions
+    String token = new ScanPosition(1, 3, null).toToken();
+    try {
+      client.scanByKeyPrefix(null, token);
+      Assert.fail("The scan should fail with an invalid continuation token");
+    } catch (VeniceClientException e) {
+      Assert.assertEquals(e.getMessage(), "Invalid scan continuation token: " + token);
+    }
+    Assert.assertTrue(scanServer.scannedPartitions.isEmpty());
+  }
+
+  /**
+   * Fetches all the pages of a scan, and returns the keys of the records in the order they were returned.
+   */
+  private List<String> scanAll(byte[] keyPrefix, List<Integer> pageSizes) throws Exception {
+    List<String> keys = new ArrayList<>();
+    String continuationToken = null;
+    do {
+      ScanPage<Object, Object> page =
+          client.scanByKeyPrefix(keyPrefix, continuationToken).get(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
+      pageSizes.add(page.getRecords().size());
+      for (Map.Entry<Object, Object> record: page.getRecords().entrySet()) {
+        String key = record.getKey().toString();
+        Assert.assertEquals(record.getValue().toString(), "value_" + key);
+        keys.add(key);
+      }
+      continuationToken = page.getContinuationToken();
+    } while (continuationToken != null);
+    return keys;
+  }
+
+  private static Map<String, String> records(String... keys) {
+    Map<String, String> records = new TreeMap<>();
+    for (String key: keys) {
+      records.put(key, "value_" + key);
+    }
+    return records;
+  }
+
+  /**
+   * Serves the scans of the partitions of the current version the same way as the storage nodes, i.e. one page of at
+   * most {@code pageSize} records whose key starts with the prefix, and which follow the resume key.
+   */
+  private static class ScanServer implements Client {
+    private final RecordDeserializer<ScanRequestV1> scanRequestDeserializer =
+        FastSerializerDeserializerFactory.getAvroSpecificDeserializer(ScanRequestV1.class);
+    private final RecordSerializer<ScanResponseV1> scanResponseSerializer =
+        FastSerializerDeserializerFactory.getAvroGenericSerializer(ScanResponseV1.SCHEMA$);
+    private final List<Map<String, String>> partitions;
+    private final int pageSize;
+    final List<Integer> scannedPartitions = Collections.synchronizedList(new ArrayList<>());
+
+    ScanServer(List<Map<String, String>> partitions, int pageSize) {
+      this.partitions = partitions;
+      this.pageSize = pageSize;
+    }
+
+    @Override
+    public Future<RestResponse> restRequest(RestRequest request) {
+      throw new IllegalStateException("Unexpected rest request");
+    }
+
+    @Override
+    public Future<RestResponse> restRequest(RestRequest request, RequestContext requestContext) {
+      throw new IllegalStateException("Unexpected rest request");
+    }
+
+    @Override
+    public void restRequest(RestRequest request, Callback<RestResponse> callback) {
+      // [0]""/[1]"scan"/[2]{$resourceName}/[3]{$partition}
+      String[] requestParts = request.getURI().getPath().split("/");
+      Assert.assertEquals(requestParts.length, 4);
+      Assert.assertEquals(requestParts[1], "scan");
+      Assert.assertEquals(requestParts[2], STORE_NAME + "_v1");
+      int partition = Integer.parseInt(requestParts[3]);
+      scannedPartitions.add(partition);
+
+      ScanRequestV1 scanRequest = scanRequestDeserializer.deserialize(request.getEntity().copyBytes());
+      byte[] keyPrefix = scanRequest.keyPrefix == null ? null : ByteUtils.extractByteArray(scanRequest.keyPrefix);
+      String resumeAfterKey = scanRequest.resumeAfterKey == null
+          ? null
+          : STRING_DESERIALIZER.deserialize(ByteUtils.extractByteArray(scanRequest.resumeAfterKey)).toString();
+
+      ScanResponseV1 scanResponse = new ScanResponseV1();
+      scanResponse.records = new ArrayList<>();
+      for (Map.Entry<String, String> entry: partitions.get(partition).entrySet()) {
+        byte[] keyBytes = STRING_SERIALIZER.serialize(entry.getKey());
+        if (keyPrefix != null && !Arrays.equals(Arrays.copyOf(keyBytes, keyPrefix.length), keyPrefix)) {
+          continue;
+        }
+        if (resumeAfterKey != null && entry.getKey().compareTo(resumeAfterKey) <= 0) {
+          continue;
+        }
+        if (scanResponse.records.size() == pageSize) {
+          scanResponse.continuationKey = scanResponse.records.get(pageSize - 1).key;
+          break;
+        }
+        ScanResponseRecordV1 record = new ScanResponseRecordV1();
+        record.key = ByteBuffer.wrap(keyBytes);
+        record.value = ByteBuffer.wrap(STRING_SERIALIZER.serialize(entry.getValue()));
+        record.schemaId = 1;
+        scanResponse.records.add(record);
+      }
+      callback.onSuccess(
+          new RestResponseBuilder().setEntity(scanResponseSerializer.serialize(scanResponse)).setStatus(200).build());
+    }
+
+    @Override
+    public void restRequest(RestRequest request, RequestContext requestContext, Callback<RestResponse> callback) {
+      throw new IllegalStateException("Unexpected rest request");
+    }
+
+    @Override
+    public void shutdown(Callback<None> callback) {
+    }
+  }
+}
@@ -96,6 +96,7 @@ public class TestClientSimulator implements Client {
   private Map<String, String> keyValues = new HashMap<>(); // all keys in the simulation
   private Map<String, String> requestedKeyValues = new HashMap<>(); // subset/all of keyValues are a part of requests
   private Map<String, Integer> keysToPartitions = new HashMap<>();
+  private int numPartitions = 1;
   private Map<String, Set<Integer>> routeToPartitions = new HashMap<>();
   private Map<Integer, List<String>> partitionToReplicas = new HashMap<>();
   private boolean longTailRetryEnabledForSingleGet = false;
@@ -134,6 +135,7 @@ public class TestClientSimulator implements Client {
    * @return partitioned Keys with partition numbers from 0 to numPartitions - 1
    */
   public TestClientSimulator partitionKeys(int numPartitions) {
+    this.numPartitions = numPartitions;
     int i = 0;
     for (String key: keyValues.keySet()) {
       keysToPartitions.put(key, i++ % numPartitions);
@@ -543,6 +545,11 @@ public class TestClientSimulator implements Client {
         }
       }
 
+      @Override
+      public int getPartitionCount(int version) {
+        return numPartitions;
+      }
+
       @Override
       public List<String> getReplicas(int version, int partitionId) {
         if (partitionToReplicas.containsKey(partitionId)) {
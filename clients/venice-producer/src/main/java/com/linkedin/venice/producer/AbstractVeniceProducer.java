@@ -1,5 +1,9 @@
 package com.linkedin.venice.producer;
 
+import static com.linkedin.venice.ConfigKeys.CLIENT_PRODUCER_BATCHING_ENABLED;
+import static com.linkedin.venice.ConfigKeys.CLIENT_PRODUCER_BATCH_LINGER_MS;
+import static com.linkedin.venice.ConfigKeys.CLIENT_PRODUCER_BATCH_MAX_RECORDS;
+import static com.linkedin.venice.ConfigKeys.CLIENT_PRODUCER_BATCH_THREAD_NUM;
 import static com.linkedin.venice.ConfigKeys.CLIENT_PRODUCER_THREAD_NUM;
 import static com.linkedin.venice.ConfigKeys.KAFKA_BOOTSTRAP_SERVERS;
 import static com.linkedin.venice.ConfigKeys.SSL_KAFKA_BOOTSTRAP_SERVERS;
@@ -41,6 +45,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericContainer;
 import org.apache.avro.generic.GenericRecord;
@@ -57,6 +62,9 @@ import org.apache.logging.log4j.Logger;
 public abstract class AbstractVeniceProducer<K, V> implements VeniceProducer<K, V> {
   private static final Logger LOGGER = LogManager.getLogger(AbstractVeniceProducer.class);
   private static final DurableWrite DURABLE_WRITE = new DurableWrite();
+  private static final long DEFAULT_BATCH_LINGER_MS = 5;
+  private static final int DEFAULT_BATCH_MAX_RECORDS = 100;
+  private static final int DEFAULT_BATCH_THREAD_NUM = 4;
 
   private VeniceProperties producerConfigs;
   private boolean configured = false;
@@ -66,6 +74,12 @@ public abstract class AbstractVeniceProducer<K, V> implements VeniceProducer<K,
   private SchemaReader schemaReader;
   private ThreadPoolExecutor producerExecutor;
   private VeniceWriter<byte[], byte[], byte[]> veniceWriter;
+  private VenicePartitioner venicePartitioner;
+  private int partitionCount;
+  /**
+   * Null unless {@link com.linkedin.venice.ConfigKeys#CLIENT_PRODUCER_BATCHING_ENABLED} is true.
+   */
+  private PartitionWriteBatcher writeBatcher;
 
   private RecordSerializer<Object> keySerializer;
   private static final Schema STRING_SCHEMA = Schema.create(Schema.Type.STRING);
@@ -106,6 +120,14 @@ public abstract class AbstractVeniceProducer<K, V> implements VeniceProducer<K,
 
     VersionCreationResponse versionCreationResponse = requestTopic();
     this.veniceWriter = getVeniceWriter(versionCreationResponse);
+    if (producerConfigs.getBoolean(CLIENT_PRODUCER_BATCHING_ENABLED, false)) {
+      this.writeBatcher = new PartitionWriteBatcher(
+          partitionCount,
+          producerConfigs.getInt(CLIENT_PRODUCER_BATCH_MAX_RECORDS, DEFAULT_BATCH_MAX_RECORDS),
+          producerConfigs.getLong(CLIENT_PRODUCER_BATCH_LINGER_MS, DEFAULT_BATCH_LINGER_MS),
+          producerConfigs.getInt(CLIENT_PRODUCER_BATCH_THREAD_NUM, DEFAULT_BATCH_THREAD_NUM),
+          producerMetrics);
+    }
   }
 
   private VeniceWriter<byte[], byte[], byte[]> getVeniceWriter(VersionCreationResponse versionCreationResponse) {
@@ -126,10 +148,10 @@ public abstract class AbstractVeniceProducer<K, V> implements VeniceProducer<K,
       VersionCreationResponse versionCreationResponse,
       Properties veniceWriterProperties) {
     int amplificationFactor = versionCreationResponse.getAmplificationFactor();
-    Integer partitionCount = versionCreationResponse.getPartitions();
+    this.partitionCount = versionCreationResponse.getPartitions();
     Properties partitionerProperties = new Properties();
     partitionerProperties.putAll(versionCreationResponse.getPartitionerParams());
-    VenicePartitioner venicePartitioner = PartitionUtils.getVenicePartitioner(
+    this.venicePartitioner = PartitionUtils.getVenicePartitioner(
         versionCreationResponse.getPartitionerClass(),
         amplificationFactor,
         new VeniceProperties(partitionerProperties));
@@ -239,16 +261,13 @@ public abstract class AbstractVeniceProducer<K, V> implements VeniceProducer<K,
       byte[] keyBytes = keySerializer.serialize(key);
       byte[] valueBytes = getSerializer(valueSchema).serialize(value);
 
-      veniceWriter.put(keyBytes, valueBytes, valueSchemaId, logicalTime, callback);
-
-      try {
-        completableFuture.get();
-      } catch (InterruptedException | ExecutionException e) {
-        throw new VeniceException(e);
-      }
-
-      return DURABLE_WRITE;
-    }, producerExecutor);
+      int schemaId = valueSchemaId;
+      return produce(
+          keyBytes,
+          () -> veniceWriter.put(keyBytes, valueBytes, schemaId, logicalTime, callback),
+          callback,
+          completableFuture);
+    }, producerExecutor).thenCompose(Function.identity()).thenApply(ignored -> DURABLE_WRITE);
   }
 
   @Override
@@ -289,16 +308,8 @@ public abstract class AbstractVeniceProducer<K, V> implements VeniceProducer<K,
 
       byte[] keyBytes = keySerializer.serialize(key);
 
-      veniceWriter.delete(keyBytes, logicalTime, callback);
-
-      try {
-        completableFuture.get();
-      } catch (InterruptedException | ExecutionException e) {
-        throw new VeniceException(e);
-      }
-
-      return DURABLE_WRITE;
-    }, producerExecutor);
+      return produce(keyBytes, () -> veniceWriter.delete(keyBytes, logicalTime, callback), callback, completableFuture);
+    }, producerExecutor).thenCompose(Function.identity()).thenApply(ignored -> DURABLE_WRITE);
   }
 
   @Override
@@ -367,22 +378,48 @@ public abstract class AbstractVeniceProducer<K, V> implements VeniceProducer<K,
       byte[] keyBytes = keySerializer.serialize(key);
       byte[] updateBytes = getSerializer(updateSchema).serialize(updateRecord);
 
-      veniceWriter.update(
+      return produce(
           keyBytes,
-          updateBytes,
-          updateSchemaEntry.getValueSchemaID(),
-          updateSchemaEntry.getId(),
+          () -> veniceWriter.update(
+              keyBytes,
+              updateBytes,
+              updateSchemaEntry.getValueSchemaID(),
+              updateSchemaEntry.getId(),
+              callback,
+              logicalTime),
           callback,
-          logicalTime);
+          completableFuture);
+    }, producerExecutor).thenCompose(Function.identity()).thenApply(ignored -> DURABLE_WRITE);
+  }
 
+  /**
+   * Without batching, produces the write right away, and blocks the producer thread until the write is durable. With
+   * batching, adds the write to the batch of its partition, and returns right away.
+   *
+   * @return the future completed by the callback of the write
+   */
+  private CompletableFuture<Void> produce(
+      byte[] keyBytes,
+      Runnable write,
+      PubSubProducerCallback callback,
+      CompletableFuture<Void> completableFuture) {
+    if (writeBatcher == null) {
+      write.run();
       try {
         completableFuture.get();
       } catch (InterruptedException | ExecutionException e) {
         throw new VeniceException(e);
       }
-
-      return DURABLE_WRITE;
-    }, producerExecutor);
+    } else {
+      writeBatcher.add(venicePartitioner.getPartitionId(keyBytes, partitionCount), () -> {
+        try {
+          write.run();
+        } catch (Exception e) {
+          callback.onCompletion(null, e);
+        }
+      });
+    }
+    return completableFuture;
   }
 
   /**
@@ -418,6 +455,9 @@ public abstract class AbstractVeniceProducer<K, V> implements VeniceProducer<K,
     } catch (InterruptedException e) {
       LOGGER.warn("Caught InterruptedException while closing the Venice producer ExecutorService", e);
     }
+    if (writeBatcher != null) {
+      writeBatcher.close();
+    }
 
     Utils.closeQuietlyWithErrorLogged(veniceWriter);
   }
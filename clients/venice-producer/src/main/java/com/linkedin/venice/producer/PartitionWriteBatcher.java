@@ -0,0 +1,181 @@
+package com.linkedin.venice.producer;
+
+import com.linkedin.venice.utils.DaemonThreadFactory;
+import com.linkedin.venice.utils.LatencyUtils;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+
+/**
+ * Accumulates the writes of a {@link AbstractVeniceProducer} into a batch per partition, see
+ * {@link com.linkedin.venice.ConfigKeys#CLIENT_PRODUCER_BATCHING_ENABLED}.
+ *
+ * A batch gets sealed once it holds {@link #maxBatchRecords} writes, or once the linger time of its first write is
+ * over. Sealing only hands the batch over to the pool of {@link #batchProducerExecutor}, so neither the thread adding
+ * the write which filled the batch nor the linger thread ever produce it, and the lock of the partition is only held
+ * to add a write or to seal a batch. The sealed batches of a partition are produced by at most one pool thread at a
+ * time, in the order in which they were sealed, and the writes of a batch are produced back to back, in the order in
+ * which they were added, so that they end up in the same compressed record batch of the PubSub producer.
+ *
+ * Each write reports its own completion through its callback, so a batch never fails as a whole.
+ */
+class PartitionWriteBatcher {
+  private static final Logger LOGGER = LogManager.getLogger(PartitionWriteBatcher.class);
+
+  private final int maxBatchRecords;
+  private final long lingerMs;
+  private final VeniceProducerMetrics producerMetrics;
+  private final Object[] partitionLocks;
+  // All the following arrays are guarded by the lock of each partition
+  private final Batch[] openBatches;
+  private final Queue<Batch>[] sealedBatches;
+  private final boolean[] producing;
+  private final ScheduledExecutorService lingerExecutor;
+  private final ExecutorService batchProducerExecutor;
+
+  private static class Batch {
+    private final List<Runnable> writes = new ArrayList<>();
+    private final long creationTimeNs = System.nanoTime();
+  }
+
+  PartitionWriteBatcher(
+      int partitionCount,
+      int maxBatchRecords,
+      long lingerMs,
+      int producerThreadCount,
+      VeniceProducerMetrics producerMetrics) {
+    this.maxBatchRecords = maxBatchRecords;
+    this.lingerMs = lingerMs;
+    this.producerMetrics = producerMetrics;
+    this.partitionLocks = new Object[partitionCount];
+    this.openBatches = new Batch[partitionCount];
+    this.sealedBatches = new Queue[partitionCount];
+    this.producing = new boolean[partitionCount];
+    for (int i = 0; i < partitionCount; i++) {
+      partitionLocks[i] = new Object();
+      sealedBatches[i] = new ArrayDeque<>();
+    }
+    this.lingerExecutor = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("ClientProducerLinger"));
+    // Rejects the batches once shut down, rather than silently discarding them
+    this.batchProducerExecutor =
+        Executors.newFixedThreadPool(producerThreadCount, new DaemonThreadFactory("ClientProducerBatch"));
+  }
+
+  /**
+   * @param write produces a single record, and must report its failures through the callback of the record rather
+   *              than throwing them
+   */
+  void add(int partition, Runnable write) {
+    synchronized (partitionLocks[partition]) {
+      Batch batch = openBatches[partition];
+      if (batch == null) {
+        Batch newBatch = new Batch();
+        openBatches[partition] = newBatch;
+        lingerExecutor.schedule(() -> sealIfOpen(partition, newBatch), lingerMs, TimeUnit.MILLISECONDS);
+        batch = newBatch;
+      }
+      batch.writes.add(write);
+      if (batch.writes.size() >= maxBatchRecords) {
+        seal(partition, batch);
+      }
+    }
+  }
+
+  private void sealIfOpen(int partition, Batch batch) {
+    synchronized (partitionLocks[partition]) {
+      // The batch might already have been sealed because it got full
+      if (openBatches[partition] == batch) {
+        seal(partition, batch);
+      }
+    }
+  }
+
+  /**
+   * Must be called while holding the lock of the partition, so that the batches of a partition are sealed in order.
+   */
+  private void seal(int partition, Batch batch) {
+    openBatches[partition] = null;
+    producerMetrics.recordBatch(batch.writes.size(), LatencyUtils.getLatencyInMS(batch.creationTimeNs));
+    sealedBatches[partition].add(batch);
+    if (producing[partition]) {
+      // The thread producing the previous batches of the partition will produce this one as well
+      return;
+    }
+    producing[partition] = true;
+    try {
+      batchProducerExecutor.execute(() -> produceSealedBatches(partition));
+    } catch (RejectedExecutionException e) {
+      // Only happens once closed, the writes still get produced so that their callbacks complete
+      LOGGER.warn("The batch producer is closed, producing the batches of partition: {} right away", partition);
+      producing[partition] = false;
+      Batch sealedBatch;
+      while ((sealedBatch = sealedBatches[partition].poll()) != null) {
+        produce(partition, sealedBatch);
+      }
+    }
+  }
+
+  private void produceSealedBatches(int partition) {
+    while (true) {
+      Batch batch;
+      synchronized (partitionLocks[partition]) {
+        batch = sealedBatches[partition].poll();
+        if (batch == null) {
+          producing[partition] = false;
+          return;
+        }
+      }
+      produce(partition, batch);
+    }
+  }
+
+  private void produce(int partition, Batch batch) {
+    for (Runnable write: batch.writes) {
+      try {
+        write.run();
+      } catch (Exception e) {
+        LOGGER.error("Caught an exception while producing a write of partition: {}", partition, e);
+      }
+    }
+  }
+
+  /**
+   * Seals the open batches of all the partitions right away.
+   */
+  void sealAll() {
+    for (int partition = 0; partition < openBatches.length; partition++) {
+      synchronized (partitionLocks[partition]) {
+        Batch batch = openBatches[partition];
+        if (batch != null) {
+          seal(partition, batch);
+        }
+      }
+    }
+  }
+
+  /**
+   * Produces all the pending batches before returning, unless it gets interrupted.
+   */
+  void close() {
+    lingerExecutor.shutdownNow();
+    sealAll();
+    batchProducerExecutor.shutdown();
+    try {
+      if (!batchProducerExecutor.awaitTermination(60, TimeUnit.SECONDS)) {
+        LOGGER.warn("Timed out while producing the pending batches");
+      }
+    } catch (InterruptedException e) {
+      LOGGER.warn("Caught InterruptedException while producing the pending batches", e);
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -4,6 +4,7 @@ import com.linkedin.venice.stats.AbstractVeniceStats;
 import com.linkedin.venice.stats.TehutiUtils;
 import io.tehuti.metrics.MetricsRepository;
 import io.tehuti.metrics.Sensor;
+import io.tehuti.metrics.stats.Avg;
 import io.tehuti.metrics.stats.Max;
 import io.tehuti.metrics.stats.Min;
 import io.tehuti.metrics.stats.OccurrenceRate;
@@ -20,6 +21,8 @@ public class VeniceProducerMetrics extends AbstractVeniceStats {
   private Sensor failedOperationSensor = null;
   private Sensor produceLatencySensor = null;
   private Sensor pendingOperationSensor = null;
+  private Sensor batchSizeSensor = null;
+  private Sensor batchLingerTimeSensor = null;
 
   private final AtomicInteger pendingOperationCounter = new AtomicInteger(0);
 
@@ -41,6 +44,9 @@ public class VeniceProducerMetrics extends AbstractVeniceStats {
           TehutiUtils.getPercentileStat(getName() + AbstractVeniceStats.DELIMITER + produceLatencySensorName));
 
       pendingOperationSensor = registerSensor("pending_write_operation", new Min(), new Max());
+
+      batchSizeSensor = registerSensor("write_batch_size", new Avg(), new Max());
+      batchLingerTimeSensor = registerSensor("write_batch_linger_time", new Avg(), new Max());
     } else {
       enableMetrics = false;
     }
@@ -88,4 +94,14 @@ public class VeniceProducerMetrics extends AbstractVeniceStats {
       pendingOperationSensor.record(pendingOperationCounter.decrementAndGet());
     }
   }
+
+  /**
+   * @param lingerTimeMs the time between the first write of the batch and the moment it got produced
+   */
+  public void recordBatch(int batchSize, double lingerTimeMs) {
+    if (enableMetrics) {
+      batchSizeSensor.record(batchSize);
+      batchLingerTimeSensor.record(lingerTimeMs);
+    }
+  }
 }
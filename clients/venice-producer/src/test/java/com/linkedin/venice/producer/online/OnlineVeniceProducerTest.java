@@ -1,5 +1,8 @@
 package com.linkedin.venice.producer.online;
 
+import static com.linkedin.venice.ConfigKeys.CLIENT_PRODUCER_BATCHING_ENABLED;
+import static com.linkedin.venice.ConfigKeys.CLIENT_PRODUCER_BATCH_LINGER_MS;
+import static com.linkedin.venice.ConfigKeys.CLIENT_PRODUCER_BATCH_MAX_RECORDS;
 import static com.linkedin.venice.ConfigKeys.CLIENT_PRODUCER_SCHEMA_REFRESH_INTERVAL_SECONDS;
 import static com.linkedin.venice.utils.TestWriteUtils.loadFileAsStringQuietlyWithErrorLogged;
 import static com.linkedin.venice.writer.VeniceWriter.APP_DEFAULT_LOGICAL_TS;
@@ -40,6 +43,7 @@ import com.linkedin.venice.meta.RoutingStrategy;
 import com.linkedin.venice.meta.Version;
 import com.linkedin.venice.meta.VersionImpl;
 import com.linkedin.venice.meta.ZKStore;
+import com.linkedin.venice.producer.DurableWrite;
 import com.linkedin.venice.producer.VeniceProducer;
 import com.linkedin.venice.pubsub.api.PubSubProducerCallback;
 import com.linkedin.venice.schema.SchemaReader;
@@ -56,11 +60,14 @@ import com.linkedin.venice.writer.update.UpdateBuilder;
 import io.tehuti.metrics.MetricsRepository;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Properties;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import org.apache.avro.Schema;
@@ -119,6 +126,7 @@ public class OnlineVeniceProducerTest {
   private static final String FAILED_OPERATION_METRIC_NAME = ".test_store--failed_write_operation.OccurrenceRate";
   private static final String MIN_PENDING_OPERATION_METRIC_NAME = ".test_store--pending_write_operation.Min";
   private static final String MAX_PENDING_OPERATION_METRIC_NAME = ".test_store--pending_write_operation.Max";
+  private static final String MAX_BATCH_SIZE_METRIC_NAME = ".test_store--write_batch_size.Max";
 
   @Test
   public void testConstructor() throws IOException, ExecutionException, InterruptedException {
@@ -344,6 +352,71 @@ public class OnlineVeniceProducerTest {
     }
   }
 
+  @Test
+  public void testPutWithBatching() throws IOException, ExecutionException, InterruptedException {
+    SchemaReader kmeSchemaReader = getKmeSchemaReader();
+    AbstractAvroStoreClient storeClient = getMockStoreClient();
+
+    MetricsRepository metricsRepository = new MetricsRepository();
+    Properties backendConfigs = new Properties();
+    backendConfigs.put(CLIENT_PRODUCER_BATCHING_ENABLED, "true");
+    backendConfigs.put(CLIENT_PRODUCER_BATCH_MAX_RECORDS, "5");
+    backendConfigs.put(CLIENT_PRODUCER_BATCH_LINGER_MS, "10");
+    try (TestOnlineVeniceProducer producer = new TestOnlineVeniceProducer(
+        storeClient,
+        kmeSchemaReader,
+        new VeniceProperties(backendConfigs),
+        metricsRepository)) {
+      Set<String> producingThreadNames = ConcurrentHashMap.newKeySet();
+      doAnswer(invocation -> {
+        producingThreadNames.add(Thread.currentThread().getName());
+        ((PubSubProducerCallback) invocation.getArguments()[4]).onCompletion(null, null);
+        return null;
+      }).when(producer.mockVeniceWriter).put(any(), any(), anyInt(), anyLong(), any());
+
+      int writeCount = 12;
+      List<CompletableFuture<DurableWrite>> futures = new ArrayList<>();
+      for (int i = 0; i < writeCount; i++) {
+        futures.add(producer.asyncPut("KEY" + i, mockValue1));
+      }
+      for (CompletableFuture<DurableWrite> future: futures) {
+        Assert.assertNotNull(future.get());
+      }
+      verify(producer.mockVeniceWriter, times(writeCount))
+          .put(any(), any(), eq(1), eq(APP_DEFAULT_LOGICAL_TS), any(PubSubProducerCallback.class));
+      // Neither the threads filling the batches nor the linger thread produce them
+      for (String threadName: producingThreadNames) {
+        Assert.assertTrue(threadName.startsWith("ClientProducerBatch"), "Produced by " + threadName);
+      }
+
+      double maxBatchSize = metricsRepository.getMetric(MAX_BATCH_SIZE_METRIC_NAME).value();
+      Assert.assertTrue(maxBatchSize >= 1.0 && maxBatchSize <= 5.0, "Got " + maxBatchSize);
+      Assert.assertEquals(metricsRepository.getMetric(FAILED_OPERATION_METRIC_NAME).value(), 0.0);
+    }
+  }
+
+  @Test
+  public void testPutWithBatchingAndFailedWrite() throws IOException, ExecutionException, InterruptedException {
+    SchemaReader kmeSchemaReader = getKmeSchemaReader();
+    AbstractAvroStoreClient storeClient = getMockStoreClient();
+
+    MetricsRepository metricsRepository = new MetricsRepository();
+    Properties backendConfigs = new Properties();
+    backendConfigs.put(CLIENT_PRODUCER_BATCHING_ENABLED, "true");
+    try (TestOnlineVeniceProducer producer = new TestOnlineVeniceProducer(
+        storeClient,
+        kmeSchemaReader,
+        new VeniceProperties(backendConfigs),
+        metricsRepository,
+        true)) {
+      assertThrowsExceptionFromFuture(VeniceException.class, () -> producer.asyncPut("KEY1", mockValue1).get());
+      assertThrowsExceptionFromFuture(VeniceException.class, () -> producer.asyncDelete("KEY1").get());
+
+      Assert.assertEquals(metricsRepository.getMetric(SUCCESS_OPERATION_METRIC_NAME).value(), 0.0);
+      Assert.assertTrue(metricsRepository.getMetric(FAILED_OPERATION_METRIC_NAME).value() > 0.0);
+    }
+  }
+
   @Test
   public void testDelete() throws IOException, ExecutionException, InterruptedException {
     SchemaReader kmeSchemaReader = getKmeSchemaReader();
@@ -5,6 +5,7 @@ import static com.linkedin.venice.compression.CompressionStrategy.ZSTD_WITH_DICT
 import static com.linkedin.venice.hadoop.VenicePushJob.COMPRESSION_METRIC_COLLECTION_ENABLED;
 import static com.linkedin.venice.hadoop.VenicePushJob.COMPRESSION_STRATEGY;
 import static com.linkedin.venice.hadoop.VenicePushJob.TOPIC_PROP;
+import static com.linkedin.venice.hadoop.VenicePushJob.VALIDATE_INPUT_FILE_SCHEMA_IN_MAPPER;
 import static com.linkedin.venice.hadoop.VenicePushJob.ZSTD_COMPRESSION_LEVEL;
 import static com.linkedin.venice.hadoop.VenicePushJob.ZSTD_DICTIONARY_CREATION_REQUIRED;
 import static com.linkedin.venice.hadoop.VenicePushJob.ZSTD_DICTIONARY_CREATION_SUCCESS;
@@ -21,7 +22,11 @@ import com.linkedin.venice.utils.VeniceProperties;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.function.Consumer;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.mapred.FileSplit;
+import org.apache.hadoop.mapred.InputSplit;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.hadoop.mapred.Mapper;
 import org.apache.hadoop.mapred.OutputCollector;
@@ -51,6 +56,11 @@ public abstract class AbstractVeniceMapper<INPUT_KEY, INPUT_VALUE> extends Abstr
   private CompressorFactory compressorFactory;
   private VeniceCompressor[] compressor;
 
+  // Input file schema validation of a single pass push, see VenicePushJob#SINGLE_PASS_PUSH_ENABLED
+  private boolean validateInputFileSchema;
+  private JobConf jobConf;
+  private Path validatedInputFile;
+
   byte[] recordKey = null, recordValue = null;
   BytesWritable keyBW = new BytesWritable(), valueBW = new BytesWritable();
 
@@ -66,6 +76,9 @@ public abstract class AbstractVeniceMapper<INPUT_KEY, INPUT_VALUE> extends Abstr
     if (recordKey == null) {
       maybeSprayAllPartitions(output, reporter);
     }
+    if (validateInputFileSchema) {
+      maybeValidateInputFileSchema(reporter);
+    }
     if (process(inputKey, inputValue, keyBW, valueBW, reporter)) {
       // key/value pair is valid.
       output.collect(keyBW, valueBW);
@@ -94,6 +107,26 @@ public abstract class AbstractVeniceMapper<INPUT_KEY, INPUT_VALUE> extends Abstr
         TASK_ID_WHICH_SHOULD_SPRAY_ALL_PARTITIONS);
   }
 
+  private void maybeValidateInputFileSchema(Reporter reporter) throws IOException {
+    InputSplit inputSplit = reporter.getInputSplit();
+    if (!(inputSplit instanceof FileSplit)) {
+      throw new VeniceException("Cannot validate the schema of the input split: " + inputSplit);
+    }
+    Path inputFile = ((FileSplit) inputSplit).getPath();
+    if (!inputFile.equals(validatedInputFile)) {
+      validateInputFileSchema(inputFile.getFileSystem(jobConf), inputFile);
+      validatedInputFile = inputFile;
+    }
+  }
+
+  /**
+   * A method for child classes to check that the schema of an input file is the one the push job has been set up
+   * with, and to throw {@link com.linkedin.venice.hadoop.exceptions.VeniceInconsistentSchemaException} otherwise.
+   * This is only called for the single pass pushes, see {@link VenicePushJob#SINGLE_PASS_PUSH_ENABLED}, which do not
+   * validate the schemas of all the input files ahead of the push.
+   */
+  abstract protected void validateInputFileSchema(FileSystem fs, Path inputFile) throws IOException;
+
   /**
    * This function will return true if the input key/value pair is valid.
    */
@@ -188,6 +221,8 @@ public abstract class AbstractVeniceMapper<INPUT_KEY, INPUT_VALUE> extends Abstr
   @Override
   protected void configureTask(VeniceProperties props, JobConf job) {
     this.compressorFactory = new CompressorFactory();
+    this.validateInputFileSchema = props.getBoolean(VALIDATE_INPUT_FILE_SCHEMA_IN_MAPPER, false);
+    this.jobConf = job;
     this.veniceRecordReader = getRecordReader(props);
     if (this.veniceRecordReader == null) {
       throw new VeniceException("Record reader not initialized");
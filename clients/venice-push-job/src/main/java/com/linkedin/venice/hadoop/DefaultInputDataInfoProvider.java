@@ -53,6 +53,12 @@ public class DefaultInputDataInfoProvider implements InputDataInfoProvider {
   public static final int DEFAULT_COMPRESSION_DICTIONARY_SAMPLE_SIZE = 200 * BYTES_PER_MB; // 200MB
   /** Maximum final dictionary size TODO add more details about the current limits */
   public static final String COMPRESSION_DICTIONARY_SIZE_LIMIT = "compression.dictionary.size.limit";
+  /**
+   * Number of input splits sampled to build the dictionary of a single pass push, see
+   * {@link VenicePushJob#SINGLE_PASS_PUSH_ENABLED}
+   */
+  public static final String COMPRESSION_DICTIONARY_SAMPLE_SPLIT_COUNT = "compression.dictionary.sample.split.count";
+  public static final int DEFAULT_COMPRESSION_DICTIONARY_SAMPLE_SPLIT_COUNT = 20;
 
   /**
    * Config to control the thread pool size for HDFS operations.
@@ -89,7 +95,7 @@ public class DefaultInputDataInfoProvider implements InputDataInfoProvider {
   }
 
   /**
-   * 1. Check whether it's Vson input or Avro input
+   * 1. Check whether it's Vson input, Avro input or Parquet input
    * 2. Check schema consistency;
    * 3. Populate key schema, value schema;
    * 4. Load samples for dictionary compression if enabled
@@ -108,7 +114,8 @@ public class DefaultInputDataInfoProvider implements InputDataInfoProvider {
       throw new RuntimeException("No data found at source path: " + srcPath);
     }
 
-    if (!pushJobSetting.isIncrementalPush && !pushJobSetting.useMapperToBuildDict) {
+    if (!pushJobSetting.isIncrementalPush && !pushJobSetting.useMapperToBuildDict
+        && !pushJobSetting.singlePassPushEnabled) {
       if (this.storeSetting.compressionStrategy == CompressionStrategy.ZSTD_WITH_DICT) {
         LOGGER.info("Zstd compression enabled for {}", pushJobSetting.storeName);
         initZstdConfig(fileStatuses.length);
@@ -132,11 +139,14 @@ public class DefaultInputDataInfoProvider implements InputDataInfoProvider {
 
     final AtomicLong inputFileDataSize = new AtomicLong(0);
     if (pushJobSchemaInfo.isAvro()) {
-      LOGGER.info("Detected Avro input format.");
+      pushJobSchemaInfo.setParquet(VeniceParquetRecordReader.isParquetFile(fs, fileStatuses[0].getPath()));
+      LOGGER.info("Detected {} input format.", pushJobSchemaInfo.isParquet() ? "Parquet" : "Avro");
       pushJobSchemaInfo.setKeyField(props.getString(KEY_FIELD_PROP, DEFAULT_KEY_FIELD_PROP));
       pushJobSchemaInfo.setValueField(props.getString(VALUE_FIELD_PROP, DEFAULT_VALUE_FIELD_PROP));
 
-      if (!pushJobSetting.useMapperToBuildDict) {
+      if (pushJobSetting.singlePassPushEnabled) {
+        pushJobSchemaInfo.setAvroSchema(getAvroFileHeader(fs, fileStatuses[0].getPath(), false));
+      } else if (!pushJobSetting.useMapperToBuildDict) {
         pushJobSchemaInfo.setAvroSchema(checkAvroSchemaConsistency(fs, fileStatuses, inputFileDataSize));
       } else {
         pushJobSchemaInfo.setAvroSchema(getAvroFileHeader(fs, fileStatuses[0].getPath(), false));
@@ -156,7 +166,9 @@ public class DefaultInputDataInfoProvider implements InputDataInfoProvider {
       pushJobSchemaInfo.setKeyField(props.getString(KEY_FIELD_PROP, ""));
       pushJobSchemaInfo.setValueField(props.getString(VALUE_FIELD_PROP, ""));
 
-      if (!pushJobSetting.useMapperToBuildDict) {
+      if (pushJobSetting.singlePassPushEnabled) {
+        pushJobSchemaInfo.setVsonSchema(getVsonFileHeader(fs, fileStatuses[0].getPath(), false));
+      } else if (!pushJobSetting.useMapperToBuildDict) {
         pushJobSchemaInfo.setVsonSchema(checkVsonSchemaConsistency(fs, fileStatuses, inputFileDataSize));
       } else {
         pushJobSchemaInfo.setVsonSchema(getVsonFileHeader(fs, fileStatuses[0].getPath(), false));
@@ -173,6 +185,18 @@ public class DefaultInputDataInfoProvider implements InputDataInfoProvider {
       pushJobSchemaInfo.setValueSchemaString(VsonAvroSchemaAdapter.parse(vsonValueSchema.toString()).toString());
     }
 
+    if (pushJobSetting.singlePassPushEnabled) {
+      // The schemas of the other files get validated by the mappers, only their size is needed upfront
+      for (FileStatus fileStatus: fileStatuses) {
+        if (fileStatus.isDirectory()) {
+          throw new VeniceException(
+              "Input directory: " + fileStatus.getPath().getParent().getName() + " should not have sub directory: "
+                  + fileStatus.getPath().getName());
+        }
+        inputFileDataSize.addAndGet(fileStatus.getLen());
+      }
+    }
+
     return new InputDataInfo(
         pushJobSchemaInfo,
         inputFileDataSize.get() * INPUT_DATA_SIZE_FACTOR,
@@ -384,9 +408,22 @@ public class DefaultInputDataInfoProvider implements InputDataInfoProvider {
     return new Pair<>(recordReader.getFileSchema(), recordReader.getStoreSchema());
   }
 
+  /**
+   * The Parquet files are read with the projection of their schema on the key and value fields, so the file schemas
+   * are only checked for consistency on these two fields, see {@link VeniceParquetRecordReader}.
+   */
   private VeniceAvroRecordReader getVeniceAvroRecordReader(FileSystem fs, Path path) {
     String keyField = props.getString(KEY_FIELD_PROP, DEFAULT_KEY_FIELD_PROP);
     String valueField = props.getString(VALUE_FIELD_PROP, DEFAULT_VALUE_FIELD_PROP);
+    if (VeniceParquetRecordReader.isParquetFile(fs, path)) {
+      return new VeniceParquetRecordReader(
+          null,
+          keyField,
+          valueField,
+          fs,
+          path,
+          pushJobSetting.etlValueSchemaTransformation);
+    }
     return new VeniceAvroRecordReader(
         null,
         keyField,
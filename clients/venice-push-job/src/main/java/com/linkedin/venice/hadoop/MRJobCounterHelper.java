@@ -36,6 +36,9 @@ public class MRJobCounterHelper {
       "Mapper spray all partitions triggered count";
   private static final String MAPPER_NUM_RECORDS_SUCCESSFULLY_PROCESSED = "Mapper num records successfully processed";
   private static final String MAPPER_ZSTD_DICT_TRAIN_SUCCESS = "Mapper Zstd dict train success";
+  private static final String REDUCER_PIPELINE_PRODUCE_TIME_MS = "Reducer pipeline produce time ms";
+  private static final String REDUCER_PIPELINE_BACKPRESSURE_COUNT = "Reducer pipeline backpressure count";
+  private static final String REDUCER_PIPELINE_BACKPRESSURE_TIME_MS = "Reducer pipeline backpressure time ms";
   /** Error Counters */
   private static final String MAPPER_ERROR_DATA_MODIFIED_DURING_PUSH_JOB =
       "Mapper Error: Data modified during push job";
@@ -48,6 +51,7 @@ public class MRJobCounterHelper {
   private static final String COUNTER_PUT_OR_DELETE_RECORDS = "put or delete records";
 
   private static final String REPUSH_TTL_FILTERED_COUNT = "Repush ttl filtered count";
+  private static final String REPUSH_SPLIT_COMPACTION_DROPPED_COUNT = "Repush split compaction dropped count";
 
   static final GroupAndCounterNames WRITE_ACL_FAILURE_GROUP_COUNTER_NAME =
       new GroupAndCounterNames(COUNTER_GROUP_KAFKA, AUTHORIZATION_FAILURES);
@@ -88,6 +92,15 @@ public class MRJobCounterHelper {
   static final GroupAndCounterNames MAPPER_SPRAY_ALL_PARTITIONS_TRIGGERED_COUNT_NAME =
       new GroupAndCounterNames(MR_JOB_STATUS, MAPPER_SPRAY_ALL_PARTITIONS_TRIGGERED_COUNT);
 
+  static final GroupAndCounterNames REDUCER_PIPELINE_PRODUCE_TIME_MS_GROUP_COUNTER_NAME =
+      new GroupAndCounterNames(MR_JOB_STATUS, REDUCER_PIPELINE_PRODUCE_TIME_MS);
+
+  static final GroupAndCounterNames REDUCER_PIPELINE_BACKPRESSURE_COUNT_GROUP_COUNTER_NAME =
+      new GroupAndCounterNames(MR_JOB_STATUS, REDUCER_PIPELINE_BACKPRESSURE_COUNT);
+
+  static final GroupAndCounterNames REDUCER_PIPELINE_BACKPRESSURE_TIME_MS_GROUP_COUNTER_NAME =
+      new GroupAndCounterNames(MR_JOB_STATUS, REDUCER_PIPELINE_BACKPRESSURE_TIME_MS);
+
   static final GroupAndCounterNames TOTAL_PUT_OR_DELETE_COUNT_GROUP_COUNTER_NAME =
       new GroupAndCounterNames(COUNTER_GROUP_KAFKA_INPUT_FORMAT, COUNTER_PUT_OR_DELETE_RECORDS);
 
@@ -118,6 +131,9 @@ public class MRJobCounterHelper {
   static final GroupAndCounterNames REPUSH_TTL_FILTER_COUNT_GROUP_COUNTER_NAME =
       new GroupAndCounterNames(MR_JOB_STATUS, REPUSH_TTL_FILTERED_COUNT);
 
+  static final GroupAndCounterNames REPUSH_SPLIT_COMPACTION_DROPPED_COUNT_GROUP_COUNTER_NAME =
+      new GroupAndCounterNames(MR_JOB_STATUS, REPUSH_SPLIT_COMPACTION_DROPPED_COUNT);
+
   private MRJobCounterHelper() {
     // Util class
   }
@@ -126,6 +142,18 @@ public class MRJobCounterHelper {
     incrAmountWithGroupCounterName(reporter, REDUCER_CLOSED_COUNT_GROUP_COUNTER_NAME, amount);
   }
 
+  static void incrReducerPipelineProduceTimeMs(Reporter reporter, long amount) {
+    incrAmountWithGroupCounterName(reporter, REDUCER_PIPELINE_PRODUCE_TIME_MS_GROUP_COUNTER_NAME, amount);
+  }
+
+  static void incrReducerPipelineBackpressureCount(Reporter reporter, long amount) {
+    incrAmountWithGroupCounterName(reporter, REDUCER_PIPELINE_BACKPRESSURE_COUNT_GROUP_COUNTER_NAME, amount);
+  }
+
+  static void incrReducerPipelineBackpressureTimeMs(Reporter reporter, long amount) {
+    incrAmountWithGroupCounterName(reporter, REDUCER_PIPELINE_BACKPRESSURE_TIME_MS_GROUP_COUNTER_NAME, amount);
+  }
+
   static void incrMapperSprayAllPartitionsTriggeredCount(Reporter reporter, long amount) {
     incrAmountWithGroupCounterName(reporter, MAPPER_SPRAY_ALL_PARTITIONS_TRIGGERED_COUNT_NAME, amount);
   }
@@ -206,6 +234,18 @@ public class MRJobCounterHelper {
     return getCountFromCounters(counters, REDUCER_CLOSED_COUNT_GROUP_COUNTER_NAME);
   }
 
+  static long getReducerPipelineProduceTimeMs(Counters counters) {
+    return getCountFromCounters(counters, REDUCER_PIPELINE_PRODUCE_TIME_MS_GROUP_COUNTER_NAME);
+  }
+
+  static long getReducerPipelineBackpressureCount(Counters counters) {
+    return getCountFromCounters(counters, REDUCER_PIPELINE_BACKPRESSURE_COUNT_GROUP_COUNTER_NAME);
+  }
+
+  static long getReducerPipelineBackpressureTimeMs(Counters counters) {
+    return getCountFromCounters(counters, REDUCER_PIPELINE_BACKPRESSURE_TIME_MS_GROUP_COUNTER_NAME);
+  }
+
   static long getMapperSprayAllPartitionsTriggeredCount(Counters counters) {
     return getCountFromCounters(counters, MAPPER_SPRAY_ALL_PARTITIONS_TRIGGERED_COUNT_NAME);
   }
@@ -226,11 +266,11 @@ public class MRJobCounterHelper {
     return getCountFromCounters(counters, RECORD_TOO_LARGE_FAILURE_GROUP_COUNTER_NAME);
   }
 
-  static long getTotalKeySize(Counters counters) {
+  public static long getTotalKeySize(Counters counters) {
     return getCountFromCounters(counters, TOTAL_KEY_SIZE_GROUP_COUNTER_NAME);
   }
 
-  static long getTotalValueSize(Counters counters) {
+  public static long getTotalValueSize(Counters counters) {
     return getCountFromCounters(counters, TOTAL_VALUE_SIZE_GROUP_COUNTER_NAME);
   }
 
@@ -346,6 +386,14 @@ public class MRJobCounterHelper {
     incrAmountWithGroupCounterName(reporter, REPUSH_TTL_FILTER_COUNT_GROUP_COUNTER_NAME, amount);
   }
 
+  public static long getRepushSplitCompactionDroppedRecordCount(Counters counters) {
+    return getCountFromCounters(counters, REPUSH_SPLIT_COMPACTION_DROPPED_COUNT_GROUP_COUNTER_NAME);
+  }
+
+  public static void incrRepushSplitCompactionDroppedRecordCount(Reporter reporter, long amount) {
+    incrAmountWithGroupCounterName(reporter, REPUSH_SPLIT_COMPACTION_DROPPED_COUNT_GROUP_COUNTER_NAME, amount);
+  }
+
   /**
    * Bundle counter group name and counter name in this POJO
    */
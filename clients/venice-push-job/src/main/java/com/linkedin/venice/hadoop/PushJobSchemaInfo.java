@@ -7,6 +7,7 @@ import org.apache.avro.Schema;
 
 public class PushJobSchemaInfo {
   private boolean isAvro = true;
+  private boolean isParquet = false;
   private int valueSchemaId; // Value schema id retrieved from backend for valueSchemaString
   private int derivedSchemaId = -1;
   private String keyField;
@@ -27,6 +28,17 @@ public class PushJobSchemaInfo {
     isAvro = avro;
   }
 
+  /**
+   * @return whether the Avro records of the input are read from Parquet files
+   */
+  public boolean isParquet() {
+    return isParquet;
+  }
+
+  public void setParquet(boolean parquet) {
+    isParquet = parquet;
+  }
+
   public int getValueSchemaId() {
     return valueSchemaId;
   }
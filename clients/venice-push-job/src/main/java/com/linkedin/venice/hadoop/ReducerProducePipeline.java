@@ -0,0 +1,136 @@
+package com.linkedin.venice.hadoop;
+
+import com.linkedin.venice.exceptions.VeniceException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+
+/**
+ * Hands the records of a {@link VeniceReducer} over to a producing thread, so that the chunking, the envelope and
+ * checksum computation, and the batching and compression of the Kafka producer, which all happen within
+ * {@link com.linkedin.venice.writer.VeniceWriter#put}, overlap with the shuffle, the copies and the duplicate key
+ * detection of the reducer thread. See {@link VenicePushJob#REDUCER_PIPELINED_PRODUCING_ENABLED}.
+ *
+ * A reducer only ever produces to the partition of its task, so a single producing thread keeps the records of the
+ * partition in the order of the reducer input. The number of records submitted but not yet produced is bounded by the
+ * in-flight window, and the reducer thread blocks when the window is full, which is reported as backpressure.
+ *
+ * The first failure of the producing thread stops it, and gets rethrown to the reducer thread by the following
+ * {@link #submit} or {@link #throwIfFailed}.
+ */
+class ReducerProducePipeline {
+  private static final Logger LOGGER = LogManager.getLogger(ReducerProducePipeline.class);
+  private static final Runnable END_OF_INPUT = () -> {};
+  private static final long OFFER_TIMEOUT_MS = 100;
+
+  private final BlockingQueue<Runnable> window;
+  private final Thread producingThread;
+  private final AtomicLong producedRecordCount = new AtomicLong();
+  private final AtomicLong produceTimeInNS = new AtomicLong();
+  private volatile Throwable failure = null;
+  private long backpressureCount = 0;
+  private long backpressureTimeInNS = 0;
+
+  ReducerProducePipeline(String name, int maxInFlightRecords) {
+    this.window = new ArrayBlockingQueue<>(maxInFlightRecords);
+    this.producingThread = new Thread(this::produce, name);
+    this.producingThread.setDaemon(true);
+    this.producingThread.start();
+  }
+
+  private void produce() {
+    try {
+      while (true) {
+        Runnable task = window.take();
+        if (task == END_OF_INPUT) {
+          return;
+        }
+        long startTimeInNS = System.nanoTime();
+        task.run();
+        produceTimeInNS.addAndGet(System.nanoTime() - startTimeInNS);
+        producedRecordCount.incrementAndGet();
+      }
+    } catch (InterruptedException e) {
+      failure = new VeniceException("The producing thread got interrupted", e);
+    } catch (Throwable e) {
+      LOGGER.error("Failed to produce a record", e);
+      failure = e;
+    }
+  }
+
+  /**
+   * Blocks while the in-flight window is full.
+   */
+  void submit(Runnable task) {
+    throwIfFailed();
+    if (window.offer(task)) {
+      return;
+    }
+    backpressureCount++;
+    long startTimeInNS = System.nanoTime();
+    try {
+      offer(task);
+    } finally {
+      backpressureTimeInNS += System.nanoTime() - startTimeInNS;
+    }
+  }
+
+  /**
+   * Waits for all the submitted records to be produced. Does not throw the failure of the producing thread, if any,
+   * so that the reducer can close its writer first, see {@link #throwIfFailed}.
+   */
+  void drain() {
+    try {
+      offer(END_OF_INPUT);
+      producingThread.join();
+    } catch (VeniceException e) {
+      // The producing thread failed, and is not consuming anymore
+      producingThread.interrupt();
+    } catch (InterruptedException e) {
+      producingThread.interrupt();
+      Thread.currentThread().interrupt();
+      throw new VeniceException("Interrupted while waiting for the records to be produced", e);
+    }
+  }
+
+  private void offer(Runnable task) {
+    try {
+      while (!window.offer(task, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+        throwIfFailed();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new VeniceException("Interrupted while submitting a record to produce", e);
+    }
+  }
+
+  void throwIfFailed() {
+    Throwable failure = this.failure;
+    if (failure instanceof VeniceException) {
+      throw (VeniceException) failure;
+    }
+    if (failure != null) {
+      throw new VeniceException("Failed to produce a record", failure);
+    }
+  }
+
+  long getProducedRecordCount() {
+    return producedRecordCount.get();
+  }
+
+  long getProduceTimeInNS() {
+    return produceTimeInNS.get();
+  }
+
+  long getBackpressureCount() {
+    return backpressureCount;
+  }
+
+  long getBackpressureTimeInNS() {
+    return backpressureTimeInNS;
+  }
+}
@@ -0,0 +1,223 @@
+package com.linkedin.venice.hadoop;
+
+import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.exceptions.VeniceUnsupportedOperationException;
+import com.linkedin.venice.kafka.validation.checksum.CheckSum;
+import com.linkedin.venice.kafka.validation.checksum.CheckSumType;
+import com.linkedin.venice.partitioner.VenicePartitioner;
+import com.linkedin.venice.pubsub.adapter.SimplePubSubProduceResultImpl;
+import com.linkedin.venice.pubsub.api.PubSubProduceResult;
+import com.linkedin.venice.pubsub.api.PubSubProducerCallback;
+import com.linkedin.venice.serialization.KeyWithChunkingSuffixSerializer;
+import com.linkedin.venice.store.rocksdb.RocksDBUtils;
+import com.linkedin.venice.utils.ByteUtils;
+import com.linkedin.venice.writer.AbstractVeniceWriter;
+import com.linkedin.venice.writer.DeleteMetadata;
+import com.linkedin.venice.writer.PutMetadata;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.rocksdb.EnvOptions;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.SstFileWriter;
+
+
+/**
+ * An {@link AbstractVeniceWriter} which writes the records of a reducer into a RocksDB SST file, in the same format
+ * as the servers store them, rather than producing them to the version topic, see
+ * {@link VenicePushJob#SST_FILE_PUSH_ENABLED}.
+ *
+ * The records must be written in the order of their keys, which is the order of the reducer input. Once closed
+ * gracefully, the SST file gets staged under the staging dir of the push, along with a checksum file holding the
+ * record count and the MD5 checksum of all the keys and values, which the servers verify before ingesting the file.
+ * The checksum file is written last, and is also written when the partition has no record at all.
+ *
+ * The records are completed synchronously, so the callback of each record is invoked before it returns.
+ */
+public class SstFileVeniceWriter extends AbstractVeniceWriter<byte[], byte[], byte[]> {
+  private static final Logger LOGGER = LogManager.getLogger(SstFileVeniceWriter.class);
+
+  static {
+    RocksDB.loadLibrary();
+  }
+
+  private final int partition;
+  private final int partitionCount;
+  private final VenicePartitioner partitioner;
+  private final boolean isChunkingEnabled;
+  private final Path stagingDir;
+  private final Configuration conf;
+  private final KeyWithChunkingSuffixSerializer keyWithChunkingSuffixSerializer = new KeyWithChunkingSuffixSerializer();
+  private final CheckSum checkSum = CheckSum.getInstance(CheckSumType.MD5).get();
+  private final java.nio.file.Path localSSTFile;
+  private final EnvOptions envOptions;
+  private final Options options;
+  private final SstFileWriter sstFileWriter;
+  private long recordCount = 0;
+  private boolean closed = false;
+
+  /**
+   * @param partition the partition whose records are written, which is the task id of the reducer
+   * @param partitionCount the partition count of the version topic
+   * @param stagingDir the staging dir of the push, see {@link VenicePushJob#SST_FILE_PUSH_STAGING_DIR}
+   */
+  public SstFileVeniceWriter(
+      String topicName,
+      int partition,
+      int partitionCount,
+      VenicePartitioner partitioner,
+      boolean isChunkingEnabled,
+      Path stagingDir,
+      Configuration conf) {
+    super(topicName);
+    this.partition = partition;
+    this.partitionCount = partitionCount;
+    this.partitioner = partitioner;
+    this.isChunkingEnabled = isChunkingEnabled;
+    this.stagingDir = stagingDir;
+    this.conf = conf;
+    this.envOptions = new EnvOptions();
+    this.options = new Options();
+    this.sstFileWriter = new SstFileWriter(envOptions, options);
+    try {
+      this.localSSTFile = Files.createTempFile(topicName + "_" + partition, ".sst");
+      sstFileWriter.open(localSSTFile.toString());
+    } catch (IOException | RocksDBException e) {
+      close(sstFileWriter, envOptions, options);
+      throw new VeniceException("Failed to open the local sst file of partition: " + partition, e);
+    }
+  }
+
+  @Override
+  public Future<PubSubProduceResult> put(
+      byte[] key,
+      byte[] value,
+      int valueSchemaId,
+      PubSubProducerCallback callback) {
+    return put(key, value, valueSchemaId, callback, null);
+  }
+
+  @Override
+  public Future<PubSubProduceResult> put(
+      byte[] key,
+      byte[] value,
+      int valueSchemaId,
+      PubSubProducerCallback callback,
+      PutMetadata putMetadata) {
+    if (putMetadata != null) {
+      throw new VeniceUnsupportedOperationException("put with replication metadata");
+    }
+    // The record is only written if the reducer got the records of the right partition
+    int recordPartition = partitioner.getPartitionId(key, partitionCount);
+    PubSubProduceResult produceResult =
+        new SimplePubSubProduceResultImpl(topicName, recordPartition, recordCount, key.length + value.length);
+    if (recordPartition == partition) {
+      byte[] storageKey = isChunkingEnabled ? keyWithChunkingSuffixSerializer.serializeNonChunkedKey(key) : key;
+      byte[] storageValue = new byte[ByteUtils.SIZE_OF_INT + value.length];
+      ByteUtils.writeInt(storageValue, valueSchemaId, 0);
+      System.arraycopy(value, 0, storageValue, ByteUtils.SIZE_OF_INT, value.length);
+      try {
+        sstFileWriter.put(storageKey, storageValue);
+      } catch (RocksDBException e) {
+        throw new VeniceException(
+            "Failed to write record: " + recordCount + " to the sst file of partition: " + partition,
+            e);
+      }
+      checkSum.update(storageKey);
+      checkSum.update(storageValue);
+      recordCount++;
+    }
+    if (callback != null) {
+      callback.onCompletion(produceResult, null);
+    }
+    return CompletableFuture.completedFuture(produceResult);
+  }
+
+  @Override
+  public Future<PubSubProduceResult> delete(
+      byte[] key,
+      PubSubProducerCallback callback,
+      DeleteMetadata deleteMetadata) {
+    throw new VeniceUnsupportedOperationException("delete");
+  }
+
+  @Override
+  public Future<PubSubProduceResult> update(
+      byte[] key,
+      byte[] update,
+      int valueSchemaId,
+      int derivedSchemaId,
+      PubSubProducerCallback callback) {
+    throw new VeniceUnsupportedOperationException("update");
+  }
+
+  @Override
+  public void flush() {
+    // The records are written synchronously
+  }
+
+  @Override
+  public void close() throws IOException {
+    close(true);
+  }
+
+  /**
+   * @param gracefulClose whether to stage the SST file, which is skipped otherwise so that the servers fail on the
+   *                      missing checksum file rather than ingesting partial data
+   */
+  @Override
+  public void close(boolean gracefulClose) throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      if (!gracefulClose) {
+        LOGGER.warn("Not staging the sst file of partition: {} since the writer is not closed gracefully", partition);
+        return;
+      }
+      FileSystem fs = stagingDir.getFileSystem(conf);
+      byte[] checksum = new byte[0];
+      if (recordCount > 0) {
+        sstFileWriter.finish();
+        checksum = checkSum.getCheckSum();
+        fs.copyFromLocalFile(
+            false,
+            true,
+            new Path(localSSTFile.toUri()),
+            new Path(stagingDir, RocksDBUtils.composeStagedSSTFileName(partition)));
+      }
+      try (FSDataOutputStream out =
+          fs.create(new Path(stagingDir, RocksDBUtils.composeStagedSSTChecksumFileName(partition)), true)) {
+        out.write(RocksDBUtils.composeStagedSSTChecksum(recordCount, checksum).getBytes(StandardCharsets.UTF_8));
+      }
+      LOGGER.info("Staged the sst file of partition: {} with {} records under: {}", partition, recordCount, stagingDir);
+    } catch (RocksDBException e) {
+      throw new VeniceException("Failed to finish the sst file of partition: " + partition, e);
+    } finally {
+      close(sstFileWriter, envOptions, options);
+      Files.deleteIfExists(localSSTFile);
+    }
+  }
+
+  private static void close(SstFileWriter sstFileWriter, EnvOptions envOptions, Options options) {
+    sstFileWriter.close();
+    envOptions.close();
+    options.close();
+  }
+
+  // Visible for testing
+  long getRecordCount() {
+    return recordCount;
+  }
+}
@@ -1,8 +1,15 @@
 package com.linkedin.venice.hadoop;
 
+import com.linkedin.venice.hadoop.exceptions.VeniceInconsistentSchemaException;
 import com.linkedin.venice.utils.VeniceProperties;
+import java.io.IOException;
+import org.apache.avro.Schema;
+import org.apache.avro.file.DataFileStream;
+import org.apache.avro.generic.GenericDatumReader;
 import org.apache.avro.generic.IndexedRecord;
 import org.apache.avro.mapred.AvroWrapper;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.NullWritable;
 
 
@@ -16,4 +23,22 @@ public class VeniceAvroMapper extends AbstractVeniceMapper<AvroWrapper<IndexedRe
   protected FilterChain<NullWritable> getFilterChain(final VeniceProperties props) {
     throw new UnsupportedOperationException("VeniceAvroMapper hasn't implemented the filter yet");
   }
+
+  @Override
+  protected void validateInputFileSchema(FileSystem fs, Path inputFile) throws IOException {
+    Schema fileSchema;
+    try (DataFileStream<Object> avroDataFileStream =
+        new DataFileStream<>(fs.open(inputFile), new GenericDatumReader<>())) {
+      fileSchema = avroDataFileStream.getSchema();
+    }
+    Schema expectedSchema = ((VeniceAvroRecordReader) veniceRecordReader).getFileSchema();
+    if (!expectedSchema.equals(fileSchema)) {
+      throw new VeniceInconsistentSchemaException(
+          String.format(
+              "Inconsistent file Avro schema found. File: %s.\n Expected file schema: %s.\n Real File schema: %s.",
+              inputFile.getName(),
+              expectedSchema,
+              fileSchema));
+    }
+  }
 }
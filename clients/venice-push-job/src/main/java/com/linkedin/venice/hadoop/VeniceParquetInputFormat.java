@@ -0,0 +1,104 @@
+package com.linkedin.venice.hadoop;
+
+import static com.linkedin.venice.hadoop.VenicePushJob.SCHEMA_STRING_PROP;
+
+import java.io.IOException;
+import org.apache.avro.generic.IndexedRecord;
+import org.apache.avro.mapred.AvroWrapper;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapred.InputFormat;
+import org.apache.hadoop.mapred.InputSplit;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.RecordReader;
+import org.apache.hadoop.mapred.Reporter;
+import org.apache.parquet.avro.AvroReadSupport;
+import org.apache.parquet.avro.GenericDataSupplier;
+import org.apache.parquet.hadoop.ParquetInputFormat;
+import org.apache.parquet.hadoop.mapred.Container;
+import org.apache.parquet.hadoop.mapred.DeprecatedParquetInputFormat;
+
+
+/**
+ * The input format of the pushes of Parquet files, which reads the input records as Avro records of the file schema
+ * of the push, i.e. the projection of the input files on the key and value fields, see
+ * {@link VeniceParquetRecordReader#getProjectedFileSchema}. Only the columns of these two fields get read.
+ *
+ * The input files are split the same way as by {@link DeprecatedParquetInputFormat}, and each split reads the row
+ * groups which start within it, so the large input files are processed by several mappers.
+ */
+public class VeniceParquetInputFormat implements InputFormat<AvroWrapper<IndexedRecord>, NullWritable> {
+  private final DeprecatedParquetInputFormat<IndexedRecord> parquetInputFormat = new DeprecatedParquetInputFormat<>();
+
+  @Override
+  public InputSplit[] getSplits(JobConf job, int numSplits) throws IOException {
+    setupProjection(job);
+    return parquetInputFormat.getSplits(job, numSplits);
+  }
+
+  @Override
+  public RecordReader<AvroWrapper<IndexedRecord>, NullWritable> getRecordReader(
+      InputSplit split,
+      JobConf job,
+      Reporter reporter) throws IOException {
+    setupProjection(job);
+    return new AvroWrapperRecordReader(parquetInputFormat.getRecordReader(split, job, reporter));
+  }
+
+  private static void setupProjection(JobConf job) {
+    String fileSchemaString = job.get(SCHEMA_STRING_PROP);
+    if (fileSchemaString == null) {
+      throw new IllegalStateException("The file schema of the push is not set: " + SCHEMA_STRING_PROP);
+    }
+    ParquetInputFormat.setReadSupportClass(job, AvroReadSupport.class);
+    AvroReadSupport.setAvroDataSupplier(job, GenericDataSupplier.class);
+    job.set(AvroReadSupport.AVRO_REQUESTED_PROJECTION, fileSchemaString);
+    job.set(AvroReadSupport.AVRO_READ_SCHEMA, fileSchemaString);
+  }
+
+  /**
+   * Exposes the records read by the {@link DeprecatedParquetInputFormat} the same way as the Avro input format does.
+   */
+  private static class AvroWrapperRecordReader implements RecordReader<AvroWrapper<IndexedRecord>, NullWritable> {
+    private final RecordReader<Void, Container<IndexedRecord>> parquetRecordReader;
+    private final Container<IndexedRecord> container;
+
+    AvroWrapperRecordReader(RecordReader<Void, Container<IndexedRecord>> parquetRecordReader) {
+      this.parquetRecordReader = parquetRecordReader;
+      this.container = parquetRecordReader.createValue();
+    }
+
+    @Override
+    public boolean next(AvroWrapper<IndexedRecord> key, NullWritable value) throws IOException {
+      if (!parquetRecordReader.next(null, container)) {
+        return false;
+      }
+      key.datum(container.get());
+      return true;
+    }
+
+    @Override
+    public AvroWrapper<IndexedRecord> createKey() {
+      return new AvroWrapper<>(null);
+    }
+
+    @Override
+    public NullWritable createValue() {
+      return NullWritable.get();
+    }
+
+    @Override
+    public long getPos() throws IOException {
+      return parquetRecordReader.getPos();
+    }
+
+    @Override
+    public void close() throws IOException {
+      parquetRecordReader.close();
+    }
+
+    @Override
+    public float getProgress() throws IOException {
+      return parquetRecordReader.getProgress();
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package com.linkedin.venice.hadoop;
+
+import static com.linkedin.venice.hadoop.VenicePushJob.KEY_FIELD_PROP;
+import static com.linkedin.venice.hadoop.VenicePushJob.VALUE_FIELD_PROP;
+
+import com.linkedin.venice.hadoop.exceptions.VeniceInconsistentSchemaException;
+import com.linkedin.venice.utils.VeniceProperties;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.IndexedRecord;
+import org.apache.avro.mapred.AvroWrapper;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.NullWritable;
+
+
+/**
+ * The mapper of the pushes of Parquet files, whose input records are read by {@link VeniceParquetInputFormat} with the
+ * projected file schema of the push, so they get processed the same way as the ones of the Avro files.
+ */
+public class VeniceParquetMapper extends VeniceAvroMapper {
+  private String keyField;
+  private String valueField;
+
+  @Override
+  public AbstractVeniceRecordReader<AvroWrapper<IndexedRecord>, NullWritable> getRecordReader(VeniceProperties props) {
+    keyField = props.getString(KEY_FIELD_PROP);
+    valueField = props.getString(VALUE_FIELD_PROP);
+    return super.getRecordReader(props);
+  }
+
+  @Override
+  protected void validateInputFileSchema(FileSystem fs, Path inputFile) {
+    Schema fileSchema = VeniceParquetRecordReader.getProjectedFileSchema(fs, inputFile, keyField, valueField);
+    Schema expectedSchema = ((VeniceAvroRecordReader) veniceRecordReader).getFileSchema();
+    if (!expectedSchema.equals(fileSchema)) {
+      throw new VeniceInconsistentSchemaException(
+          String.format(
+              "Inconsistent file Parquet schema found. File: %s.\n Expected file schema: %s.\n Real File schema: %s.",
+              inputFile.getName(),
+              expectedSchema,
+              fileSchema));
+    }
+  }
+}
@@ -0,0 +1,190 @@
+package com.linkedin.venice.hadoop;
+
+import com.linkedin.avroutil1.compatibility.AvroCompatibilityHelper;
+import com.linkedin.venice.etl.ETLValueSchemaTransformation;
+import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.hadoop.exceptions.VeniceSchemaFieldNotFoundException;
+import com.linkedin.venice.utils.Pair;
+import com.linkedin.venice.utils.Utils;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.IndexedRecord;
+import org.apache.avro.mapred.AvroWrapper;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.parquet.avro.AvroParquetReader;
+import org.apache.parquet.avro.AvroReadSupport;
+import org.apache.parquet.avro.AvroSchemaConverter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.ParquetFileWriter;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.hadoop.metadata.FileMetaData;
+import org.apache.parquet.hadoop.util.HadoopInputFile;
+
+
+/**
+ * A {@link VeniceAvroRecordReader} which reads a Parquet file rather than an Avro file.
+ *
+ * The file schema of the reader is the projection of the Avro schema of the Parquet file on the key and value fields,
+ * see {@link #getProjectedFileSchema}, so only the columns of these two fields get read from the file, and the Avro
+ * records get built directly with the projected schema. This is also the schema the mappers read the input splits
+ * with, see {@link VeniceParquetInputFormat}, which means the other columns of the input files are never read nor
+ * required to be consistent across files.
+ */
+public class VeniceParquetRecordReader extends VeniceAvroRecordReader {
+  private static final Logger LOGGER = LogManager.getLogger(VeniceParquetRecordReader.class);
+  /**
+   * The key of the Parquet file metadata holding the Avro schema the file was written with, if any
+   */
+  private static final String AVRO_SCHEMA_METADATA_KEY = "parquet.avro.schema";
+
+  private final ParquetReader<IndexedRecord> parquetReader;
+
+  /**
+   * @param topicName Topic which is to be published to
+   * @param keyFieldStr Field name of the key field
+   * @param valueFieldStr Field name of the value field
+   * @param fs File system where the source data exists
+   * @param hdfsPath Path of the parquet file in the File system
+   * @param etlValueSchemaTransformation The type of transformation that was applied to this schema during ETL.
+   */
+  public VeniceParquetRecordReader(
+      String topicName,
+      String keyFieldStr,
+      String valueFieldStr,
+      FileSystem fs,
+      Path hdfsPath,
+      ETLValueSchemaTransformation etlValueSchemaTransformation) {
+    super(
+        topicName,
+        getProjectedFileSchema(fs, hdfsPath, keyFieldStr, valueFieldStr),
+        keyFieldStr,
+        valueFieldStr,
+        etlValueSchemaTransformation);
+    Configuration conf = new Configuration(fs.getConf());
+    conf.set(AvroReadSupport.AVRO_REQUESTED_PROJECTION, getFileSchema().toString());
+    conf.set(AvroReadSupport.AVRO_READ_SCHEMA, getFileSchema().toString());
+    try {
+      this.parquetReader = AvroParquetReader.<IndexedRecord>builder(HadoopInputFile.fromPath(hdfsPath, conf))
+          .withDataModel(GenericData.get())
+          .withConf(conf)
+          .build();
+    } catch (IOException e) {
+      throw new VeniceException("Encountered exception reading Parquet data from " + hdfsPath, e);
+    }
+  }
+
+  /**
+   * @return whether the file starts with the magic bytes of the Parquet files
+   */
+  public static boolean isParquetFile(FileSystem fs, Path path) {
+    byte[] magic = new byte[ParquetFileWriter.MAGIC.length];
+    try (FSDataInputStream inputStream = fs.open(path)) {
+      inputStream.readFully(0, magic);
+    } catch (EOFException e) {
+      return false;
+    } catch (IOException e) {
+      throw new VeniceException("Encountered exception reading the header of " + path, e);
+    }
+    return Arrays.equals(magic, ParquetFileWriter.MAGIC);
+  }
+
+  /**
+   * Reads the Avro schema of a Parquet file from its footer, which is either the schema the file was written with, or
+   * the one converted from the Parquet schema of the file otherwise, and projects it on the key and value fields.
+   */
+  public static Schema getProjectedFileSchema(FileSystem fs, Path path, String keyFieldStr, String valueFieldStr) {
+    FileMetaData fileMetaData;
+    try (ParquetFileReader fileReader = ParquetFileReader.open(HadoopInputFile.fromPath(path, fs.getConf()))) {
+      fileMetaData = fileReader.getFooter().getFileMetaData();
+    } catch (IOException e) {
+      throw new VeniceException(
+          "Encountered exception reading Parquet footer from " + path
+              + ". Check if the file exists and the data is in Parquet format.",
+          e);
+    }
+    String avroSchema = fileMetaData.getKeyValueMetaData().get(AVRO_SCHEMA_METADATA_KEY);
+    Schema fileSchema = avroSchema == null
+        ? new AvroSchemaConverter(fs.getConf()).convert(fileMetaData.getSchema())
+        : AvroCompatibilityHelper.parse(avroSchema);
+    return projectSchema(fileSchema, keyFieldStr, valueFieldStr);
+  }
+
+  static Schema projectSchema(Schema fileSchema, String keyFieldStr, String valueFieldStr) {
+    List<Schema.Field> projectedFields = new ArrayList<>(2);
+    for (String fieldStr: new String[] { keyFieldStr, valueFieldStr }) {
+      Schema.Field field = fileSchema.getField(fieldStr);
+      if (field == null) {
+        throw new VeniceSchemaFieldNotFoundException(
+            fieldStr,
+            "Could not find field: " + fieldStr + " from " + fileSchema.toString());
+      }
+      projectedFields.add(AvroCompatibilityHelper.newField(field).build());
+    }
+    Schema projectedSchema = Schema
+        .createRecord(fileSchema.getName(), fileSchema.getDoc(), fileSchema.getNamespace(), fileSchema.isError());
+    projectedSchema.setFields(projectedFields);
+    return projectedSchema;
+  }
+
+  @Override
+  public Iterator<Pair<byte[], byte[]>> iterator() {
+    return new ParquetIterator();
+  }
+
+  @Override
+  public void close() {
+    Utils.closeQuietlyWithErrorLogged(parquetReader);
+  }
+
+  private class ParquetIterator implements Iterator<Pair<byte[], byte[]>> {
+    private IndexedRecord nextRecord = readNextRecord();
+
+    @Override
+    public boolean hasNext() {
+      return nextRecord != null;
+    }
+
+    @Override
+    public Pair<byte[], byte[]> next() {
+      if (nextRecord == null) {
+        throw new NoSuchElementException();
+      }
+      AvroWrapper<IndexedRecord> hadoopKey = new AvroWrapper<>(nextRecord);
+      NullWritable hadoopValue = NullWritable.get();
+      nextRecord = readNextRecord();
+      try {
+        byte[] keyBytes = getKeySerializer().serialize(topicName, getAvroKey(hadoopKey, hadoopValue));
+        Object avroValue = getAvroValue(hadoopKey, hadoopValue);
+        byte[] valueBytes = null;
+        if (avroValue != null) {
+          valueBytes = getValueSerializer().serialize(topicName, avroValue);
+        }
+        return Pair.create(keyBytes, valueBytes);
+      } catch (VeniceException e) {
+        LOGGER.error("Failed to get next record", e);
+      }
+      return null;
+    }
+
+    private IndexedRecord readNextRecord() {
+      try {
+        return parquetReader.read();
+      } catch (IOException e) {
+        throw new VeniceException("Failed to read the next Parquet record", e);
+      }
+    }
+  }
+}
@@ -50,6 +50,7 @@ import com.linkedin.venice.hadoop.input.kafka.VeniceKafkaInputReducer;
 import com.linkedin.venice.hadoop.input.kafka.ttl.TTLResolutionPolicy;
 import com.linkedin.venice.hadoop.output.avro.ValidateSchemaAndBuildDictMapperOutput;
 import com.linkedin.venice.hadoop.schema.HDFSRmdSchemaSource;
+import com.linkedin.venice.hadoop.spark.SparkJobClientWrapper;
 import com.linkedin.venice.hadoop.ssl.TempFileSSLConfigurator;
 import com.linkedin.venice.hadoop.utils.HadoopUtils;
 import com.linkedin.venice.hadoop.utils.VPJSSLUtils;
@@ -68,6 +69,7 @@ import com.linkedin.venice.serialization.avro.InternalAvroSpecificSerializer;
 import com.linkedin.venice.status.PushJobDetailsStatus;
 import com.linkedin.venice.status.protocol.PushJobDetails;
 import com.linkedin.venice.status.protocol.PushJobDetailsStatusTuple;
+import com.linkedin.venice.store.rocksdb.RocksDBUtils;
 import com.linkedin.venice.utils.DictionaryUtils;
 import com.linkedin.venice.utils.EncodingUtils;
 import com.linkedin.venice.utils.PartitionUtils;
@@ -78,6 +80,7 @@ import com.linkedin.venice.utils.lazy.Lazy;
 import com.linkedin.venice.writer.VeniceWriter;
 import com.linkedin.venice.writer.VeniceWriterFactory;
 import com.linkedin.venice.writer.VeniceWriterOptions;
+import java.io.Closeable;
 import java.io.FileReader;
 import java.io.IOException;
 import java.nio.ByteBuffer;
@@ -92,6 +95,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.Random;
 import java.util.Set;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
@@ -109,8 +113,12 @@ import org.apache.hadoop.io.NullWritable;
 import org.apache.hadoop.mapred.Counters;
 import org.apache.hadoop.mapred.FileInputFormat;
 import org.apache.hadoop.mapred.FileOutputFormat;
+import org.apache.hadoop.mapred.InputFormat;
+import org.apache.hadoop.mapred.InputSplit;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.hadoop.mapred.Partitioner;
+import org.apache.hadoop.mapred.RecordReader;
+import org.apache.hadoop.mapred.Reporter;
 import org.apache.hadoop.mapred.RunningJob;
 import org.apache.hadoop.mapred.lib.NullOutputFormat;
 import org.apache.kafka.clients.CommonClientConfigs;
@@ -234,6 +242,20 @@ public class VenicePushJob implements AutoCloseable {
   // Optional
   public static final String KAFKA_INPUT_MAX_RECORDS_PER_MAPPER = "kafka.input.max.records.per.mapper";
   public static final String KAFKA_INPUT_COMBINER_ENABLED = "kafka.input.combiner.enabled";
+  /**
+   * Whether to compact the records of each Kafka input split within its mapper, before the shuffle, so that the
+   * shuffle only carries the records which could still be the latest write of their key. Unlike
+   * {@link #KAFKA_INPUT_COMBINER_ENABLED}, this also compacts chunked topics, at the cost of spilling the whole split
+   * to the local disk of the mapper, see {@link com.linkedin.venice.hadoop.input.kafka.KafkaInputSplitCompactor}.
+   */
+  public static final String KAFKA_INPUT_SPLIT_COMPACTION_ENABLED = "kafka.input.split.compaction.enabled";
+  /**
+   * The memory used by the external merge-sort of {@link #KAFKA_INPUT_SPLIT_COMPACTION_ENABLED}, on top of the sort
+   * buffer of the mapper output.
+   */
+  public static final String KAFKA_INPUT_SPLIT_COMPACTION_SORT_MEMORY_MB =
+      "kafka.input.split.compaction.sort.memory.mb";
+  public static final int DEFAULT_KAFKA_INPUT_SPLIT_COMPACTION_SORT_MEMORY_MB = 64;
   // Whether to build a new dict in the repushed version or not while the original version has already enabled dict
   // compression.
   public static final String KAFKA_INPUT_COMPRESSION_BUILD_NEW_DICT_ENABLED =
@@ -360,6 +382,63 @@ public class VenicePushJob implements AutoCloseable {
   public static final String PUSH_JOB_STATUS_UPLOAD_ENABLE = "push.job.status.upload.enable";
   public static final String REDUCER_SPECULATIVE_EXECUTION_ENABLE = "reducer.speculative.execution.enable";
 
+  /**
+   * Config to run the jobs of the push on Spark rather than MapReduce, see {@link SparkJobClientWrapper}. The
+   * properties starting with "spark." are passed on to the Spark application. The repush from a Kafka topic always
+   * runs on MapReduce.
+   */
+  public static final String SPARK_ENGINE_ENABLED = "push.job.spark.engine.enabled";
+
+  /**
+   * Config to push in a single pass over the input: the schemas of the input files get validated by the mappers of the
+   * push itself instead of a validation over all the files before the push, and the Zstd dictionary gets trained on a
+   * random sample of the records of a few random input splits, see
+   * {@link DefaultInputDataInfoProvider#COMPRESSION_DICTIONARY_SAMPLE_SPLIT_COUNT}. The compression metrics are not
+   * collected with this mode, since they require a pass over the whole input ahead of the push.
+   */
+  public static final String SINGLE_PASS_PUSH_ENABLED = "single.pass.push.enabled";
+
+  /**
+   * Config to skip the validation of the schemas of the input files altogether in a single pass push, when the input
+   * is known to be produced with a single schema.
+   */
+  public static final String SINGLE_PASS_PUSH_TRUSTED_INPUT = "single.pass.push.trusted.input";
+
+  /**
+   * Set by the push job for the mappers of a single pass push, to validate the schema of their input files.
+   */
+  public static final String VALIDATE_INPUT_FILE_SCHEMA_IN_MAPPER = "validate.input.file.schema.in.mapper";
+
+  /**
+   * Config to produce the records of the reducers from a separate thread, which overlaps the producing with the
+   * reducer input processing, see {@link ReducerProducePipeline}.
+   */
+  public static final String REDUCER_PIPELINED_PRODUCING_ENABLED = "reducer.pipelined.producing.enabled";
+
+  /**
+   * The maximum number of records handed over to the producing thread of a reducer but not yet produced, beyond which
+   * the reducer blocks. Only used when {@link #REDUCER_PIPELINED_PRODUCING_ENABLED} is true.
+   */
+  public static final String REDUCER_PIPELINE_MAX_IN_FLIGHT_RECORDS = "reducer.pipeline.max.in.flight.records";
+  public static final int DEFAULT_REDUCER_PIPELINE_MAX_IN_FLIGHT_RECORDS = 1000;
+
+  /**
+   * Config to build the RocksDB SST file of each partition in its reducer, and to stage it under
+   * {@link #SST_FILE_PUSH_STAGING_DIR}, rather than producing the records to the version topic, see
+   * {@link SstFileVeniceWriter}. Only the control messages go through the version topic, and the servers ingest the
+   * staged SST files upon End of Push, so the staging dir must be readable by all the servers, at the same path.
+   *
+   * The staged SST files hold the only copy of the data of the version, which any replica bootstrapping later on, or
+   * any Da Vinci client, ingests as well. So they are kept for as long as the version exists: the staging dir of a
+   * version is only deleted if its push fails, or by a later SST file push of the store, once the version is retired.
+   */
+  public static final String SST_FILE_PUSH_ENABLED = "sst.file.push.enabled";
+  /**
+   * The dir under which the SST files of each push get staged, in a sub-dir named after the version topic. Required
+   * when {@link #SST_FILE_PUSH_ENABLED} is true.
+   */
+  public static final String SST_FILE_PUSH_STAGING_DIR = "sst.file.push.staging.dir";
+
   /**
    * The interval of number of messages upon which certain info is printed in the reducer logs.
    */
@@ -473,6 +552,10 @@ public class VenicePushJob implements AutoCloseable {
     RepushInfoResponse repushInfoResponse;
     long rewindTimeInSecondsOverride;
     boolean kafkaInputCombinerEnabled;
+    boolean kafkaInputSplitCompactionEnabled;
+    int kafkaInputSplitCompactionSortMemoryMB;
+    boolean sstFilePushEnabled;
+    String sstFilePushStagingDir;
     boolean kafkaInputBuildNewDictEnabled;
     BufferReplayPolicy validateRemoteReplayPolicy;
     boolean suppressEndOfPushMessage;
@@ -483,6 +566,12 @@ public class VenicePushJob implements AutoCloseable {
     /** Refer {@link #USE_MAPPER_TO_BUILD_DICTIONARY} **/
     boolean useMapperToBuildDict;
     String useMapperToBuildDictOutputPath;
+    /** Refer {@link #SPARK_ENGINE_ENABLED} **/
+    boolean sparkEngineEnabled;
+    /** Refer {@link #SINGLE_PASS_PUSH_ENABLED} **/
+    boolean singlePassPushEnabled;
+    /** Refer {@link #SINGLE_PASS_PUSH_TRUSTED_INPUT} **/
+    boolean singlePassPushTrustedInput;
     boolean repushTTLEnabled;
     // specify ttl time to drop stale records.
     long repushTTLInSeconds;
@@ -515,6 +604,7 @@ public class VenicePushJob implements AutoCloseable {
     int amplificationFactor;
     boolean chunkingEnabled;
     boolean rmdChunkingEnabled;
+    boolean compactEnvelopeEnabled;
   }
 
   private TopicInfo kafkaTopicInfo;
@@ -660,17 +750,38 @@ public class VenicePushJob implements AutoCloseable {
     pushJobSettingToReturn.isSourceETL = props.getBoolean(SOURCE_ETL, false);
     pushJobSettingToReturn.isSourceKafka = props.getBoolean(SOURCE_KAFKA, false);
     pushJobSettingToReturn.kafkaInputCombinerEnabled = props.getBoolean(KAFKA_INPUT_COMBINER_ENABLED, false);
+    pushJobSettingToReturn.kafkaInputSplitCompactionEnabled =
+        props.getBoolean(KAFKA_INPUT_SPLIT_COMPACTION_ENABLED, false);
+    pushJobSettingToReturn.kafkaInputSplitCompactionSortMemoryMB =
+        props.getInt(KAFKA_INPUT_SPLIT_COMPACTION_SORT_MEMORY_MB, DEFAULT_KAFKA_INPUT_SPLIT_COMPACTION_SORT_MEMORY_MB);
     pushJobSettingToReturn.kafkaInputBuildNewDictEnabled =
         props.getBoolean(KAFKA_INPUT_COMPRESSION_BUILD_NEW_DICT_ENABLED, true);
     pushJobSettingToReturn.suppressEndOfPushMessage = props.getBoolean(SUPPRESS_END_OF_PUSH_MESSAGE, false);
     pushJobSettingToReturn.deferVersionSwap = props.getBoolean(DEFER_VERSION_SWAP, false);
     pushJobSettingToReturn.repushTTLEnabled = props.getBoolean(REPUSH_TTL_ENABLE, false);
     pushJobSettingToReturn.repushTTLInSeconds = NOT_SET;
+    pushJobSettingToReturn.sstFilePushEnabled = props.getBoolean(SST_FILE_PUSH_ENABLED, false);
 
     if (pushJobSettingToReturn.repushTTLEnabled && !pushJobSettingToReturn.isSourceKafka) {
       throw new VeniceException("Repush with TTL is only supported while using Kafka Input Format");
     }
 
+    if (pushJobSettingToReturn.sstFilePushEnabled) {
+      if (pushJobSettingToReturn.isSourceKafka || pushJobSettingToReturn.isIncrementalPush
+          || pushJobSettingToReturn.enableWriteCompute) {
+        throw new VeniceException("SST file push is only supported for batch pushes from files");
+      }
+      if (pushJobSettingToReturn.suppressEndOfPushMessage) {
+        throw new VeniceException("SST file push is not supported while suppressing the End of Push message");
+      }
+      pushJobSettingToReturn.sstFilePushStagingDir = props.getString(SST_FILE_PUSH_STAGING_DIR);
+      /**
+       * The End of Push message carries the staging dir of the push, which is only supported when it is sent by the
+       * push job itself.
+       */
+      pushJobSettingToReturn.sendControlMessagesDirectly = true;
+    }
+
     final String D2_PREFIX = "d2://";
     if (pushJobSettingToReturn.veniceControllerUrl.startsWith(D2_PREFIX)) {
       pushJobSettingToReturn.d2Routing = true;
@@ -745,6 +856,20 @@ public class VenicePushJob implements AutoCloseable {
         props.getBoolean(COMPRESSION_METRIC_COLLECTION_ENABLED, DEFAULT_COMPRESSION_METRIC_COLLECTION_ENABLED);
     pushJobSettingToReturn.useMapperToBuildDict =
         props.getBoolean(USE_MAPPER_TO_BUILD_DICTIONARY, DEFAULT_USE_MAPPER_TO_BUILD_DICTIONARY);
+    pushJobSettingToReturn.singlePassPushEnabled =
+        !pushJobSettingToReturn.isSourceKafka && props.getBoolean(SINGLE_PASS_PUSH_ENABLED, false);
+    if (pushJobSettingToReturn.singlePassPushEnabled) {
+      if (pushJobSettingToReturn.compressionMetricCollectionEnabled || pushJobSettingToReturn.useMapperToBuildDict) {
+        LOGGER.warn(
+            "Disabling \"{}\" and \"{}\" since \"{}\" is enabled",
+            COMPRESSION_METRIC_COLLECTION_ENABLED,
+            USE_MAPPER_TO_BUILD_DICTIONARY,
+            SINGLE_PASS_PUSH_ENABLED);
+      }
+      pushJobSettingToReturn.compressionMetricCollectionEnabled = false;
+      pushJobSettingToReturn.useMapperToBuildDict = false;
+      pushJobSettingToReturn.singlePassPushTrustedInput = props.getBoolean(SINGLE_PASS_PUSH_TRUSTED_INPUT, false);
+    }
     if (pushJobSettingToReturn.compressionMetricCollectionEnabled && !pushJobSettingToReturn.useMapperToBuildDict) {
       // TODO the idea is to only have compressionMetricCollectionEnabled as a config and remove useMapperToBuildDict
       // feature flag after its stable.
@@ -758,6 +883,11 @@ public class VenicePushJob implements AutoCloseable {
       pushJobSettingToReturn.useMapperToBuildDictOutputPath = props
           .getString(MAPPER_OUTPUT_DIRECTORY, VALIDATE_SCHEMA_AND_BUILD_DICTIONARY_MAPPER_OUTPUT_PARENT_DIR_DEFAULT);
     }
+    pushJobSettingToReturn.sparkEngineEnabled = props.getBoolean(SPARK_ENGINE_ENABLED, false);
+    if (pushJobSettingToReturn.sparkEngineEnabled && pushJobSettingToReturn.isSourceKafka) {
+      LOGGER.warn("Ignoring \"{}\" since the repush from a Kafka topic only runs on MapReduce", SPARK_ENGINE_ENABLED);
+      pushJobSettingToReturn.sparkEngineEnabled = false;
+    }
     return pushJobSettingToReturn;
   }
 
@@ -1101,7 +1231,12 @@ public class VenicePushJob implements AutoCloseable {
           runJobAndUpdateStatus();
 
           if (!pushJobSetting.suppressEndOfPushMessage) {
-            if (pushJobSetting.sendControlMessagesDirectly) {
+            if (pushJobSetting.sstFilePushEnabled) {
+              getVeniceWriter(kafkaTopicInfo).broadcastEndOfPush(
+                  Collections.singletonMap(
+                      RocksDBUtils.SST_FILE_PUSH_STAGING_DIR_KEY,
+                      getSstFilePushStagingDir(kafkaTopicInfo.topic).toUri().getPath()));
+            } else if (pushJobSetting.sendControlMessagesDirectly) {
               getVeniceWriter(kafkaTopicInfo).broadcastEndOfPush(Collections.emptyMap());
             } else {
               controllerClient.writeEndOfPush(pushJobSetting.storeName, kafkaTopicInfo.version);
@@ -1129,6 +1264,9 @@ public class VenicePushJob implements AutoCloseable {
         }
 
         updatePushJobDetailsWithCheckpoint(PushJobCheckpoints.JOB_STATUS_POLLING_COMPLETED);
+        if (pushJobSetting.sstFilePushEnabled) {
+          cleanUpRetiredSstFilePushStagingDirs(controllerClient);
+        }
         pushJobDetails.overallStatus.add(getPushJobDetailsStatusTuple(PushJobDetailsStatus.COMPLETED.getValue()));
         pushJobDetails.jobDurationInMs = System.currentTimeMillis() - jobStartTimeMs;
         updatePushJobDetailsWithConfigs();
@@ -1160,6 +1298,10 @@ public class VenicePushJob implements AutoCloseable {
         } catch (Exception ex) {
           LOGGER.info("Failed to stop and cleanup the job. New pushes might be blocked.", ex);
         }
+        if (pushJobSetting.sstFilePushEnabled && kafkaTopicInfo != null && kafkaTopicInfo.topic != null) {
+          // The version of the failed push never gets served, so nothing is going to ingest its staged SST files
+          cleanUpSstFilePushStagingDir(getSstFilePushStagingDir(kafkaTopicInfo.topic));
+        }
       }
       throwVeniceException(e);
     } finally {
@@ -1174,6 +1316,79 @@ public class VenicePushJob implements AutoCloseable {
     }
   }
 
+  /**
+   * @return the dir where the reducers stage the SST files of the given version topic
+   */
+  static Path getSstFilePushStagingDir(String stagingDir, String topic) {
+    return new Path(stagingDir, topic);
+  }
+
+  private Path getSstFilePushStagingDir(String topic) {
+    return getSstFilePushStagingDir(pushJobSetting.sstFilePushStagingDir, topic);
+  }
+
+  /**
+   * Deletes the staging dirs of the versions of the store which do not exist anymore, since no replica is going to
+   * ingest their SST files, see {@link #SST_FILE_PUSH_ENABLED}.
+   */
+  private void cleanUpRetiredSstFilePushStagingDirs(ControllerClient controllerClient) {
+    StoreResponse storeResponse = ControllerClient.retryableRequest(
+        controllerClient,
+        pushJobSetting.controllerRetries,
+        c -> c.getStore(pushJobSetting.storeName));
+    if (storeResponse.isError()) {
+      LOGGER.warn(
+          "Not cleaning up the SST file push staging dirs of the retired versions since the store info can't be "
+              + "fetched: {}",
+          storeResponse.getError());
+      return;
+    }
+    Set<Integer> versionNumbers = new HashSet<>();
+    for (Version version: storeResponse.getStore().getVersions()) {
+      versionNumbers.add(version.getNumber());
+    }
+    Path stagingParentDir = new Path(pushJobSetting.sstFilePushStagingDir);
+    try {
+      FileSystem fs = stagingParentDir.getFileSystem(new Configuration());
+      for (Path stagingDir: getRetiredSstFilePushStagingDirs(
+          fs.listStatus(stagingParentDir),
+          pushJobSetting.storeName,
+          versionNumbers)) {
+        LOGGER.info("Cleaning up the SST file push staging dir of a retired version: {}", stagingDir);
+        cleanUpSstFilePushStagingDir(stagingDir);
+      }
+    } catch (IOException e) {
+      LOGGER.error("Failed to list the SST file push staging dirs under: {}", stagingParentDir, e);
+    }
+  }
+
+  /**
+   * @return the staging dirs of the versions of the store which are not part of the given versions
+   */
+  static List<Path> getRetiredSstFilePushStagingDirs(
+      FileStatus[] stagingDirs,
+      String storeName,
+      Set<Integer> versionNumbers) {
+    List<Path> retiredStagingDirs = new ArrayList<>();
+    for (FileStatus stagingDir: stagingDirs) {
+      String topic = stagingDir.getPath().getName();
+      if (stagingDir.isDirectory() && Version.isVersionTopic(topic)
+          && Version.parseStoreFromVersionTopic(topic).equals(storeName)
+          && !versionNumbers.contains(Version.parseVersionFromVersionTopicName(topic))) {
+        retiredStagingDirs.add(stagingDir.getPath());
+      }
+    }
+    return retiredStagingDirs;
+  }
+
+  private void cleanUpSstFilePushStagingDir(Path stagingDir) {
+    try {
+      stagingDir.getFileSystem(new Configuration()).delete(stagingDir, true);
+    } catch (IOException e) {
+      LOGGER.error("Failed to clean up the SST file push staging dir: {}", stagingDir, e);
+    }
+  }
+
   private PushJobHeartbeatSender createPushJobHeartbeatSender(final boolean sslEnabled) {
     try {
       return pushJobHeartbeatSenderFactory.createHeartbeatSender(
@@ -1249,6 +1464,11 @@ public class VenicePushJob implements AutoCloseable {
               "Repush with ttl filtered out {} records",
               MRJobCounterHelper.getRepushTtlFilterCount(runningJob.getCounters()));
         }
+        if (pushJobSetting.kafkaInputSplitCompactionEnabled) {
+          LOGGER.info(
+              "Repush with split compaction dropped {} records",
+              MRJobCounterHelper.getRepushSplitCompactionDroppedRecordCount(runningJob.getCounters()));
+        }
       }
       if (reducerClosedCount < kafkaTopicInfo.partitionCount) {
         /**
@@ -1586,7 +1806,8 @@ public class VenicePushJob implements AutoCloseable {
 
   private RunningJob runJobWithConfig(JobConf jobConf) throws IOException {
     if (jobClientWrapper == null) {
-      jobClientWrapper = new DefaultJobClientWrapper();
+      jobClientWrapper =
+          pushJobSetting.sparkEngineEnabled ? new SparkJobClientWrapper(props) : new DefaultJobClientWrapper();
     }
     try {
       return jobClientWrapper.runJobWithConfig(jobConf);
@@ -1790,7 +2011,10 @@ public class VenicePushJob implements AutoCloseable {
       }
 
       if (isZstdDictCreationRequired) {
-        if (!pushJobSetting.useMapperToBuildDict) {
+        if (pushJobSetting.singlePassPushEnabled) {
+          compressionDictionary = trainZstdDictionaryOnSampledSplits();
+          isZstdDictCreationSuccess = compressionDictionary != null;
+        } else if (!pushJobSetting.useMapperToBuildDict) {
           LOGGER.info("Training Zstd dictionary");
           compressionDictionary = ByteBuffer.wrap(getInputDataInfoProvider().getZstdDictTrainSamples());
           isZstdDictCreationSuccess = true;
@@ -1824,6 +2048,97 @@ public class VenicePushJob implements AutoCloseable {
     }
   }
 
+  /**
+   * Trains the Zstd dictionary of a single pass push on a random sample of the values of a few random input splits,
+   * which are read on the driver with the input format of the push, see {@link #SINGLE_PASS_PUSH_ENABLED}.
+   *
+   * @return the dictionary, or null if not enough values could be sampled and the store does not use
+   *         {@link CompressionStrategy#ZSTD_WITH_DICT}
+   */
+  private ByteBuffer trainZstdDictionaryOnSampledSplits() {
+    JobConf sampleConf = new JobConf();
+    setupInputFormatConf(sampleConf, pushJobSchemaInfo, inputDirectory);
+    ZstdDictReservoirSampler sampler = new ZstdDictReservoirSampler(
+        props.getInt(
+            DefaultInputDataInfoProvider.COMPRESSION_DICTIONARY_SAMPLE_SIZE,
+            DefaultInputDataInfoProvider.DEFAULT_COMPRESSION_DICTIONARY_SAMPLE_SIZE),
+        new Random());
+    AbstractVeniceRecordReader<Object, Object> veniceRecordReader = getSampledSplitRecordReader();
+    try {
+      InputFormat<Object, Object> inputFormat = sampleConf.getInputFormat();
+      List<InputSplit> splits = new ArrayList<>(Arrays.asList(inputFormat.getSplits(sampleConf, 1)));
+      Collections.shuffle(splits);
+      int splitCount = Math.min(
+          splits.size(),
+          props.getInt(
+              DefaultInputDataInfoProvider.COMPRESSION_DICTIONARY_SAMPLE_SPLIT_COUNT,
+              DefaultInputDataInfoProvider.DEFAULT_COMPRESSION_DICTIONARY_SAMPLE_SPLIT_COUNT));
+      LOGGER.info("Sampling {} out of {} input splits to train the Zstd dictionary", splitCount, splits.size());
+      for (InputSplit split: splits.subList(0, splitCount)) {
+        RecordReader<Object, Object> recordReader = inputFormat.getRecordReader(split, sampleConf, Reporter.NULL);
+        try {
+          Object key = recordReader.createKey();
+          Object value = recordReader.createValue();
+          while (recordReader.next(key, value)) {
+            sampler.add(veniceRecordReader.getValueBytes(key, value));
+          }
+        } finally {
+          recordReader.close();
+        }
+      }
+    } catch (IOException e) {
+      throw new VeniceException("Failed to sample the input splits to train the Zstd dictionary", e);
+    }
+
+    LOGGER.info(
+        "Training Zstd dictionary on {} sampled values of {} bytes in total",
+        sampler.getSampleCount(),
+        sampler.getSampleSize());
+    try {
+      if (sampler.getSampleCount() < PushJobZstdConfig.MINIMUM_NUMBER_OF_SAMPLES_REQUIRED_TO_BUILD_ZSTD_DICTIONARY) {
+        throw new VeniceException(
+            "Only " + sampler.getSampleCount() + " values could be sampled, while at least "
+                + PushJobZstdConfig.MINIMUM_NUMBER_OF_SAMPLES_REQUIRED_TO_BUILD_ZSTD_DICTIONARY
+                + " are required to train the Zstd dictionary");
+      }
+      return ByteBuffer.wrap(
+          sampler.trainDictionary(
+              props.getInt(
+                  DefaultInputDataInfoProvider.COMPRESSION_DICTIONARY_SIZE_LIMIT,
+                  VeniceWriter.DEFAULT_MAX_SIZE_FOR_USER_PAYLOAD_PER_MESSAGE_IN_BYTES)));
+    } catch (Exception e) {
+      if (storeSetting.compressionStrategy == CompressionStrategy.ZSTD_WITH_DICT) {
+        throwVeniceException(e);
+      }
+      // The dictionary is not needed for the push job to succeed
+      LOGGER.warn("Failed to train the Zstd dictionary", e);
+      return null;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private AbstractVeniceRecordReader<Object, Object> getSampledSplitRecordReader() {
+    AbstractVeniceRecordReader<?, ?> recordReader;
+    if (pushJobSchemaInfo.isAvro()) {
+      recordReader = new VeniceAvroRecordReader(
+          null,
+          AvroSchemaParseUtils.parseSchemaFromJSON(
+              pushJobSchemaInfo.getFileSchemaString(),
+              pushJobSetting.extendedSchemaValidityCheckEnabled),
+          pushJobSchemaInfo.getKeyField(),
+          pushJobSchemaInfo.getValueField(),
+          pushJobSetting.etlValueSchemaTransformation);
+    } else {
+      recordReader = new VeniceVsonRecordReader(
+          null,
+          pushJobSchemaInfo.getVsonFileKeySchema(),
+          pushJobSchemaInfo.getVsonFileValueSchema(),
+          pushJobSchemaInfo.getKeyField(),
+          pushJobSchemaInfo.getValueField());
+    }
+    return (AbstractVeniceRecordReader<Object, Object>) recordReader;
+  }
+
   private void throwVeniceException(Throwable e) throws VeniceException {
     if (!(e instanceof VeniceException)) {
       e = new VeniceException("Exception or error caught during VenicePushJob: " + e.getMessage(), e);
@@ -1903,6 +2218,14 @@ public class VenicePushJob implements AutoCloseable {
           CompressionStrategy.valueOf(pushJobDetails.valueCompressionStrategy).name(),
           pushJobDetails.totalCompressedValueBytes,
           pushJobSetting.compressionMetricCollectionEnabled ? "Enabled" : "Disabled");
+      if (props.getBoolean(REDUCER_PIPELINED_PRODUCING_ENABLED, false)) {
+        Counters counters = runningJob.getCounters();
+        LOGGER.info(
+            "\tReducer pipeline produce time: {} ms, backpressure: {} times for {} ms",
+            MRJobCounterHelper.getReducerPipelineProduceTimeMs(counters),
+            MRJobCounterHelper.getReducerPipelineBackpressureCount(counters),
+            MRJobCounterHelper.getReducerPipelineBackpressureTimeMs(counters));
+      }
       if (pushJobSetting.compressionMetricCollectionEnabled) {
         LOGGER.info("\tData size if compressed using Gzip: {} Bytes ", pushJobDetails.totalGzipCompressedValueBytes);
         if (isZstdDictCreationSuccess) {
@@ -2290,6 +2613,11 @@ public class VenicePushJob implements AutoCloseable {
       throw new VeniceException("Write compute is only available for incremental push jobs.");
     }
 
+    if (setting.sstFilePushEnabled && storeResponse.getStore().isActiveActiveReplicationEnabled()) {
+      // The servers would have no replication metadata for the records of the staged SST files
+      throw new VeniceException("SST file push is not supported for active-active replication enabled stores.");
+    }
+
     if (setting.enableWriteCompute && storeSetting.isWriteComputeEnabled) {
       /*
         If write compute is enabled, we would perform a topic switch from the controller and have the
@@ -2412,6 +2740,7 @@ public class VenicePushJob implements AutoCloseable {
     kafkaTopicInfo.amplificationFactor = versionCreationResponse.getAmplificationFactor();
     kafkaTopicInfo.chunkingEnabled = storeSetting.isChunkingEnabled && !Version.isRealTimeTopic(kafkaTopicInfo.topic);
     kafkaTopicInfo.rmdChunkingEnabled = kafkaTopicInfo.chunkingEnabled && storeSetting.isRmdChunkingEnabled;
+    kafkaTopicInfo.compactEnvelopeEnabled = versionCreationResponse.isCompactEnvelopeEnabled();
 
     if (pushJobSetting.isSourceKafka) {
       /**
@@ -2759,6 +3088,7 @@ public class VenicePushJob implements AutoCloseable {
     conf.setBoolean(ALLOW_DUPLICATE_KEY, pushJobSetting.isDuplicateKeyAllowed);
     conf.setBoolean(VeniceWriter.ENABLE_CHUNKING, kafkaTopicInfo.chunkingEnabled);
     conf.setBoolean(VeniceWriter.ENABLE_RMD_CHUNKING, kafkaTopicInfo.rmdChunkingEnabled);
+    conf.setBoolean(VeniceWriter.ENABLE_COMPACT_ENVELOPE, kafkaTopicInfo.compactEnvelopeEnabled);
 
     conf.set(STORAGE_QUOTA_PROP, Long.toString(storeSetting.storeStorageQuota));
 
@@ -2806,6 +3136,14 @@ public class VenicePushJob implements AutoCloseable {
     }
 
     conf.set(TELEMETRY_MESSAGE_INTERVAL, props.getString(TELEMETRY_MESSAGE_INTERVAL, "10000"));
+    conf.setBoolean(REDUCER_PIPELINED_PRODUCING_ENABLED, props.getBoolean(REDUCER_PIPELINED_PRODUCING_ENABLED, false));
+    conf.setInt(
+        REDUCER_PIPELINE_MAX_IN_FLIGHT_RECORDS,
+        props.getInt(REDUCER_PIPELINE_MAX_IN_FLIGHT_RECORDS, DEFAULT_REDUCER_PIPELINE_MAX_IN_FLIGHT_RECORDS));
+    if (pushJobSetting.sstFilePushEnabled) {
+      conf.setBoolean(SST_FILE_PUSH_ENABLED, true);
+      conf.set(SST_FILE_PUSH_STAGING_DIR, pushJobSetting.sstFilePushStagingDir);
+    }
     conf.set(ETL_VALUE_SCHEMA_TRANSFORMATION, pushJobSetting.etlValueSchemaTransformation.name());
     conf.setBoolean(EXTENDED_SCHEMA_VALIDITY_CHECK_ENABLED, pushJobSetting.extendedSchemaValidityCheckEnabled);
 
@@ -2871,6 +3209,12 @@ public class VenicePushJob implements AutoCloseable {
       if (pushJobSetting.kafkaInputCombinerEnabled) {
         jobConf.setCombinerClass(KafkaInputFormatCombiner.class);
       }
+      if (pushJobSetting.kafkaInputSplitCompactionEnabled) {
+        jobConf.setBoolean(KAFKA_INPUT_SPLIT_COMPACTION_ENABLED, true);
+        jobConf.setInt(
+            KAFKA_INPUT_SPLIT_COMPACTION_SORT_MEMORY_MB,
+            pushJobSetting.kafkaInputSplitCompactionSortMemoryMB);
+      }
     } else {
       // TODO:The job is using path-filter to check the consistency of avro file schema ,
       // but doesn't specify the path filter for the input directory of map-reduce job.
@@ -2885,13 +3229,22 @@ public class VenicePushJob implements AutoCloseable {
 
       jobConf.set(KEY_FIELD_PROP, pushJobSchemaInfo.getKeyField());
       jobConf.set(VALUE_FIELD_PROP, pushJobSchemaInfo.getValueField());
+      jobConf.setBoolean(
+          VALIDATE_INPUT_FILE_SCHEMA_IN_MAPPER,
+          pushJobSetting.singlePassPushEnabled && !pushJobSetting.singlePassPushTrustedInput);
 
       if (pushJobSchemaInfo.isAvro()) {
         jobConf.set(SCHEMA_STRING_PROP, pushJobSchemaInfo.getFileSchemaString());
         jobConf.set(AvroJob.INPUT_SCHEMA, pushJobSchemaInfo.getFileSchemaString());
         jobConf.setClass("avro.serialization.data.model", GenericData.class, GenericData.class);
-        jobConf.setInputFormat(AvroInputFormat.class);
-        jobConf.setMapperClass(VeniceAvroMapper.class);
+        if (pushJobSchemaInfo.isParquet()) {
+          // Only the columns of the key and value fields, which make up the file schema, are read
+          jobConf.setInputFormat(VeniceParquetInputFormat.class);
+          jobConf.setMapperClass(VeniceParquetMapper.class);
+        } else {
+          jobConf.setInputFormat(AvroInputFormat.class);
+          jobConf.setMapperClass(VeniceAvroMapper.class);
+        }
         jobConf.setBoolean(VSON_PUSH, false);
       } else {
         jobConf.setInputFormat(VsonSequenceFileInputFormat.class);
@@ -2912,7 +3265,9 @@ public class VenicePushJob implements AutoCloseable {
     } else {
       jobConf.setPartitionerClass(this.mapRedPartitionerClass);
     }
-    jobConf.setReduceSpeculativeExecution(pushJobSetting.enableReducerSpeculativeExecution);
+    // The attempts of the same reducer would stage their SST files at the same path
+    jobConf.setReduceSpeculativeExecution(
+        pushJobSetting.enableReducerSpeculativeExecution && !pushJobSetting.sstFilePushEnabled);
     jobConf.setNumReduceTasks(topicInfo.partitionCount * topicInfo.amplificationFactor);
     jobConf.setMapOutputKeyClass(BytesWritable.class);
     jobConf.setMapOutputValueClass(BytesWritable.class);
@@ -3227,6 +3582,9 @@ public class VenicePushJob implements AutoCloseable {
   @Override
   public void close() {
     closeVeniceWriter();
+    if (jobClientWrapper instanceof Closeable) {
+      Utils.closeQuietlyWithErrorLogged((Closeable) jobClientWrapper);
+    }
     Utils.closeQuietlyWithErrorLogged(controllerClient);
     Utils.closeQuietlyWithErrorLogged(kmeSchemaSystemStoreControllerClient);
     Utils.closeQuietlyWithErrorLogged(livenessHeartbeatStoreControllerClient);
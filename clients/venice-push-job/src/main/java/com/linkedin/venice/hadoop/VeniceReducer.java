@@ -2,8 +2,13 @@ package com.linkedin.venice.hadoop;
 
 import static com.linkedin.venice.hadoop.VenicePushJob.ALLOW_DUPLICATE_KEY;
 import static com.linkedin.venice.hadoop.VenicePushJob.DEFAULT_IS_DUPLICATED_KEY_ALLOWED;
+import static com.linkedin.venice.hadoop.VenicePushJob.DEFAULT_REDUCER_PIPELINE_MAX_IN_FLIGHT_RECORDS;
 import static com.linkedin.venice.hadoop.VenicePushJob.DERIVED_SCHEMA_ID_PROP;
 import static com.linkedin.venice.hadoop.VenicePushJob.ENABLE_WRITE_COMPUTE;
+import static com.linkedin.venice.hadoop.VenicePushJob.REDUCER_PIPELINED_PRODUCING_ENABLED;
+import static com.linkedin.venice.hadoop.VenicePushJob.REDUCER_PIPELINE_MAX_IN_FLIGHT_RECORDS;
+import static com.linkedin.venice.hadoop.VenicePushJob.SST_FILE_PUSH_ENABLED;
+import static com.linkedin.venice.hadoop.VenicePushJob.SST_FILE_PUSH_STAGING_DIR;
 import static com.linkedin.venice.hadoop.VenicePushJob.STORAGE_QUOTA_PROP;
 import static com.linkedin.venice.hadoop.VenicePushJob.TELEMETRY_MESSAGE_INTERVAL;
 import static com.linkedin.venice.hadoop.VenicePushJob.TOPIC_PROP;
@@ -157,6 +162,11 @@ public class VeniceReducer extends AbstractMapReduceTask
   }
 
   public static final String MAP_REDUCE_JOB_ID_PROP = "mapred.job.id";
+  /**
+   * The total size of the keys and values produced by the mappers, which is set by the engines whose reducers cannot
+   * query the counters of the job, see {@link com.linkedin.venice.hadoop.spark.SparkJobClientWrapper}.
+   */
+  public static final String TOTAL_INCOMING_DATA_SIZE_PROP = "total.incoming.data.size";
   private static final Logger LOGGER = LogManager.getLogger(VeniceReducer.class);
 
   private long lastTimeThroughputWasLoggedInNS = System.nanoTime();
@@ -166,6 +176,8 @@ public class VeniceReducer extends AbstractMapReduceTask
   private int valueSchemaId = -1;
   private int derivedValueSchemaId = -1;
   private boolean enableWriteCompute = false;
+  private boolean sstFilePushEnabled = false;
+  private JobConf jobConf;
 
   private VeniceProperties props;
   private JobID mapReduceJobId;
@@ -173,6 +185,10 @@ public class VeniceReducer extends AbstractMapReduceTask
   private final Set<Integer> partitionSet = ConcurrentHashMap.newKeySet();
   private DuplicateKeyPrinter duplicateKeyPrinter;
   private Exception sendException = null;
+  /**
+   * Only set when {@link VenicePushJob#REDUCER_PIPELINED_PRODUCING_ENABLED} is true.
+   */
+  private ReducerProducePipeline producePipeline = null;
 
   /**
    * Visible for testing purpose
@@ -183,7 +199,8 @@ public class VeniceReducer extends AbstractMapReduceTask
   protected ReducerProduceCallback callback = null;
   private Reporter previousReporter = null;
   /**
-   * This doesn't need to be atomic since {@link #reduce(BytesWritable, Iterator, OutputCollector, Reporter)} will be called sequentially.
+   * This doesn't need to be atomic since {@link #reduce(BytesWritable, Iterator, OutputCollector, Reporter)} will be called sequentially,
+   * and the messages are only sent by the producing thread of {@link #producePipeline} when there is one.
    */
   private long messageSent = 0;
   private final AtomicLong messageCompleted = new AtomicLong();
@@ -225,25 +242,33 @@ public class VeniceReducer extends AbstractMapReduceTask
         && (!hasReportedFailure(reporter, this.isDuplicateKeyAllowed))) {
       VeniceWriterMessage message = extract(key, values, reporter);
       if (message != null) {
-        try {
-          sendMessageToKafka(reporter, message.getConsumer());
-        } catch (VeniceException e) {
-          if (e instanceof TopicAuthorizationVeniceException) {
-            MRJobCounterHelper.incrWriteAclAuthorizationFailureCount(reporter, 1);
-            LOGGER.error(e);
-            return;
-          } else if (e instanceof RecordTooLargeException) {
-            MRJobCounterHelper.incrRecordTooLargeFailureCount(reporter, 1);
-            LOGGER.error(e);
-            return;
-          }
-          throw e;
+        if (producePipeline != null) {
+          producePipeline.submit(() -> produce(reporter, message.getConsumer()));
+        } else {
+          produce(reporter, message.getConsumer());
         }
       }
     }
     updateExecutionTimeStatus(timeOfLastReduceFunctionStartInNS);
   }
 
+  private void produce(Reporter reporter, Consumer<AbstractVeniceWriter<byte[], byte[], byte[]>> writerConsumer) {
+    try {
+      sendMessageToKafka(reporter, writerConsumer);
+    } catch (VeniceException e) {
+      if (e instanceof TopicAuthorizationVeniceException) {
+        MRJobCounterHelper.incrWriteAclAuthorizationFailureCount(reporter, 1);
+        LOGGER.error(e);
+        return;
+      } else if (e instanceof RecordTooLargeException) {
+        MRJobCounterHelper.incrRecordTooLargeFailureCount(reporter, 1);
+        LOGGER.error(e);
+        return;
+      }
+      throw e;
+    }
+  }
+
   protected PubSubProducerCallback getCallback() {
     return callback;
   }
@@ -355,7 +380,7 @@ public class VeniceReducer extends AbstractMapReduceTask
       Consumer<AbstractVeniceWriter<byte[], byte[], byte[]>> writerConsumer) {
     maybePropagateCallbackException();
     if (veniceWriter == null) {
-      veniceWriter = createBasicVeniceWriter();
+      veniceWriter = sstFilePushEnabled ? createSstFileVeniceWriter() : createBasicVeniceWriter();
     }
     writerConsumer.accept(veniceWriter);
     messageSent++;
@@ -390,6 +415,7 @@ public class VeniceReducer extends AbstractMapReduceTask
     VeniceWriterFactory veniceWriterFactoryFactory = new VeniceWriterFactory(writerProps);
     boolean chunkingEnabled = props.getBoolean(VeniceWriter.ENABLE_CHUNKING, false);
     boolean rmdChunkingEnabled = props.getBoolean(VeniceWriter.ENABLE_RMD_CHUNKING, false);
+    boolean compactEnvelopeEnabled = props.getBoolean(VeniceWriter.ENABLE_COMPACT_ENVELOPE, false);
     VenicePartitioner partitioner = PartitionUtils.getVenicePartitioner(props);
 
     VeniceWriterOptions options =
@@ -398,12 +424,25 @@ public class VeniceReducer extends AbstractMapReduceTask
             .setWriteComputeSerializer(new DefaultSerializer())
             .setChunkingEnabled(chunkingEnabled)
             .setRmdChunkingEnabled(rmdChunkingEnabled)
+            .setCompactEnvelopeEnabled(compactEnvelopeEnabled)
             .setTime(SystemTime.INSTANCE)
             .setPartitioner(partitioner)
             .build();
     return veniceWriterFactoryFactory.createVeniceWriter(options);
   }
 
+  private SstFileVeniceWriter createSstFileVeniceWriter() {
+    String topic = props.getString(TOPIC_PROP);
+    return new SstFileVeniceWriter(
+        topic,
+        getTaskId(),
+        getPartitionCount(),
+        PartitionUtils.getVenicePartitioner(props),
+        isChunkingEnabled(),
+        VenicePushJob.getSstFilePushStagingDir(props.getString(SST_FILE_PUSH_STAGING_DIR), topic),
+        jobConf);
+  }
+
   private void telemetry() {
     if (messageSent % telemetryMessageInterval == 0) {
       double timeSinceLastMeasurementInSeconds =
@@ -436,18 +475,29 @@ public class VeniceReducer extends AbstractMapReduceTask
   @Override
   public void close() throws IOException {
     try {
+      if (producePipeline != null) {
+        producePipeline.drain();
+        reportPipelineCounters();
+      }
       LOGGER.info("Kafka message progress before flushing and closing producer:");
       logMessageProgress();
+      if (veniceWriter == null && sstFilePushEnabled) {
+        // The servers expect the staged checksum file of every partition, including the ones without any record
+        veniceWriter = createSstFileVeniceWriter();
+      }
       if (veniceWriter != null) {
         boolean shouldEndAllSegments = false;
         try {
           veniceWriter.flush();
           shouldEndAllSegments = messageErrored.get() == 0 && messageSent == messageCompleted.get()
-              && previousReporter.getProgress() == 1.0;
+              && (previousReporter == null ? messageSent == 0 : previousReporter.getProgress() == 1.0);
         } finally {
           veniceWriter.close(shouldEndAllSegments);
         }
       }
+      if (producePipeline != null) {
+        producePipeline.throwIfFailed();
+      }
       maybePropagateCallbackException();
       LOGGER.info("Kafka message progress after flushing and closing producer:");
       logMessageProgress();
@@ -466,6 +516,25 @@ public class VeniceReducer extends AbstractMapReduceTask
     }
   }
 
+  private void reportPipelineCounters() {
+    if (previousReporter == null) {
+      return;
+    }
+    MRJobCounterHelper.incrReducerPipelineProduceTimeMs(
+        previousReporter,
+        TimeUnit.NANOSECONDS.toMillis(producePipeline.getProduceTimeInNS()));
+    MRJobCounterHelper.incrReducerPipelineBackpressureCount(previousReporter, producePipeline.getBackpressureCount());
+    MRJobCounterHelper.incrReducerPipelineBackpressureTimeMs(
+        previousReporter,
+        TimeUnit.NANOSECONDS.toMillis(producePipeline.getBackpressureTimeInNS()));
+    LOGGER.info(
+        "Produced {} records from the pipeline in {}, the reducer got blocked {} times for {}",
+        producePipeline.getProducedRecordCount(),
+        Utils.makeTimePretty(producePipeline.getProduceTimeInNS()),
+        producePipeline.getBackpressureCount(),
+        Utils.makeTimePretty(producePipeline.getBackpressureTimeInNS()));
+  }
+
   protected DuplicateKeyPrinter initDuplicateKeyPrinter(JobConf job) {
     return new DuplicateKeyPrinter(job);
   }
@@ -478,9 +547,16 @@ public class VeniceReducer extends AbstractMapReduceTask
     this.valueSchemaId = props.getInt(VALUE_SCHEMA_ID_PROP);
     this.derivedValueSchemaId = (props.containsKey(DERIVED_SCHEMA_ID_PROP)) ? props.getInt(DERIVED_SCHEMA_ID_PROP) : -1;
     this.enableWriteCompute = (props.containsKey(ENABLE_WRITE_COMPUTE)) && props.getBoolean(ENABLE_WRITE_COMPUTE);
+    this.sstFilePushEnabled = props.getBoolean(SST_FILE_PUSH_ENABLED, false);
+    this.jobConf = job;
     this.duplicateKeyPrinter = initDuplicateKeyPrinter(job);
     this.telemetryMessageInterval = props.getInt(TELEMETRY_MESSAGE_INTERVAL, 10000);
     initStorageQuotaFields(props, job);
+    if (props.getBoolean(REDUCER_PIPELINED_PRODUCING_ENABLED, false)) {
+      this.producePipeline = new ReducerProducePipeline(
+          "VeniceReducer-producer-" + getTaskId(),
+          props.getInt(REDUCER_PIPELINE_MAX_IN_FLIGHT_RECORDS, DEFAULT_REDUCER_PIPELINE_MAX_IN_FLIGHT_RECORDS));
+    }
     /**
      * A dummy background task that reports progress every 5 minutes.
      */
@@ -505,6 +581,9 @@ public class VeniceReducer extends AbstractMapReduceTask
   }
 
   private long getTotalIncomingDataSizeInBytes(JobConf jobConfig) {
+    if (jobConfig.get(TOTAL_INCOMING_DATA_SIZE_PROP) != null) {
+      return jobConfig.getLong(TOTAL_INCOMING_DATA_SIZE_PROP, 0);
+    }
     JobClient hadoopJobClient = null;
     String jobIdProp = null;
     JobID jobID = null;
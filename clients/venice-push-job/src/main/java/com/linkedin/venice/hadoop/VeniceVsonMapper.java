@@ -1,13 +1,27 @@
 package com.linkedin.venice.hadoop;
 
+import static com.linkedin.venice.hadoop.VenicePushJob.FILE_KEY_SCHEMA;
+import static com.linkedin.venice.hadoop.VenicePushJob.FILE_VALUE_SCHEMA;
+
+import com.linkedin.venice.hadoop.exceptions.VeniceInconsistentSchemaException;
+import com.linkedin.venice.schema.vson.VsonSchema;
 import com.linkedin.venice.utils.VeniceProperties;
+import java.io.IOException;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapred.JobConf;
 
 
 /**
  * Mapper that reads Vson input and deserializes it as Avro object and then Avro binary
  */
 public class VeniceVsonMapper extends AbstractVeniceMapper<BytesWritable, BytesWritable> {
+  private VsonSchema expectedKeySchema;
+  private VsonSchema expectedValueSchema;
+
   @Override
   public AbstractVeniceRecordReader<BytesWritable, BytesWritable> getRecordReader(VeniceProperties props) {
     return new VeniceVsonRecordReader(props);
@@ -17,4 +31,34 @@ public class VeniceVsonMapper extends AbstractVeniceMapper<BytesWritable, BytesW
   protected FilterChain<BytesWritable> getFilterChain(final VeniceProperties props) {
     throw new UnsupportedOperationException("VeniceVsonMapper hasn't implemented the filter yet");
   }
+
+  @Override
+  protected void configureTask(VeniceProperties props, JobConf job) {
+    super.configureTask(props, job);
+    this.expectedKeySchema = VsonSchema.parse(props.getString(FILE_KEY_SCHEMA));
+    this.expectedValueSchema = VsonSchema.parse(props.getString(FILE_VALUE_SCHEMA));
+  }
+
+  @Override
+  protected void validateInputFileSchema(FileSystem fs, Path inputFile) throws IOException {
+    SequenceFile.Metadata fileMetadata;
+    try (SequenceFile.Reader fileReader = new SequenceFile.Reader(fs, inputFile, fs.getConf())) {
+      fileMetadata = fileReader.getMetadata();
+    }
+    Text fileKeySchema = fileMetadata.get(new Text(FILE_KEY_SCHEMA));
+    Text fileValueSchema = fileMetadata.get(new Text(FILE_VALUE_SCHEMA));
+    if (fileKeySchema == null || fileValueSchema == null
+        || !expectedKeySchema.equals(VsonSchema.parse(fileKeySchema.toString()))
+        || !expectedValueSchema.equals(VsonSchema.parse(fileValueSchema.toString()))) {
+      throw new VeniceInconsistentSchemaException(
+          String.format(
+              "Inconsistent file Vson schema found. File: %s.\n Expected key schema: %s.\n"
+                  + "Expected value schema: %s.\n File key schema: %s.\n File value schema: %s.",
+              inputFile.getName(),
+              expectedKeySchema,
+              expectedValueSchema,
+              fileKeySchema,
+              fileValueSchema));
+    }
+  }
 }
@@ -0,0 +1,77 @@
+package com.linkedin.venice.hadoop;
+
+import com.github.luben.zstd.ZstdDictTrainer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+
+/**
+ * Keeps a uniform random sample of the values offered to it, within a budget of bytes, to train the Zstd dictionary
+ * of a single pass push, see {@link VenicePushJob#SINGLE_PASS_PUSH_ENABLED}.
+ *
+ * Unlike {@link InputDataInfoProvider#loadZstdTrainingSamples}, which keeps the first values of every file, the sample
+ * is not biased towards the head of the input: the values are kept until the budget is filled, and the number of
+ * values kept at that point becomes the capacity of the reservoir. Every following value then replaces a random value
+ * of the reservoir with a probability of capacity / number of values seen so far (algorithm R), unless the
+ * replacement would exceed the budget.
+ */
+public class ZstdDictReservoirSampler {
+  private static final int UNBOUNDED_CAPACITY = -1;
+
+  private final int maxSampleSize;
+  private final Random random;
+  private final List<byte[]> samples = new ArrayList<>();
+  private long sampleSize = 0;
+  private long seenCount = 0;
+  private int capacity = UNBOUNDED_CAPACITY;
+
+  public ZstdDictReservoirSampler(int maxSampleSize, Random random) {
+    this.maxSampleSize = maxSampleSize;
+    this.random = random;
+  }
+
+  public void add(byte[] value) {
+    if (value == null || value.length == 0) {
+      return;
+    }
+    seenCount++;
+    if (capacity == UNBOUNDED_CAPACITY) {
+      if (sampleSize + value.length <= maxSampleSize) {
+        samples.add(value);
+        sampleSize += value.length;
+        return;
+      }
+      capacity = samples.size();
+    }
+    long index = (long) (random.nextDouble() * seenCount);
+    if (index >= capacity) {
+      return;
+    }
+    byte[] replaced = samples.get((int) index);
+    if (sampleSize - replaced.length + value.length <= maxSampleSize) {
+      samples.set((int) index, value);
+      sampleSize += value.length - replaced.length;
+    }
+  }
+
+  public int getSampleCount() {
+    return samples.size();
+  }
+
+  public long getSampleSize() {
+    return sampleSize;
+  }
+
+  List<byte[]> getSamples() {
+    return samples;
+  }
+
+  public byte[] trainDictionary(int maxDictSize) {
+    ZstdDictTrainer trainer = new ZstdDictTrainer(maxSampleSize, maxDictSize);
+    for (byte[] sample: samples) {
+      trainer.addSample(sample);
+    }
+    return trainer.trainSamples();
+  }
+}
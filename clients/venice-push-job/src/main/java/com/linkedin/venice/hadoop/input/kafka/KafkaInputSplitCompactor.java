@@ -0,0 +1,246 @@
+package com.linkedin.venice.hadoop.input.kafka;
+
+import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.hadoop.MRJobCounterHelper;
+import com.linkedin.venice.hadoop.VeniceMRPartitioner;
+import com.linkedin.venice.hadoop.VenicePushJob;
+import com.linkedin.venice.hadoop.input.kafka.avro.KafkaInputMapperKey;
+import com.linkedin.venice.hadoop.input.kafka.avro.KafkaInputMapperValue;
+import com.linkedin.venice.hadoop.input.kafka.chunk.ChunkAssembler;
+import com.linkedin.venice.serialization.avro.AvroProtocolDefinition;
+import com.linkedin.venice.serialization.avro.ChunkedValueManifestSerializer;
+import com.linkedin.venice.serializer.FastSerializerDeserializerFactory;
+import com.linkedin.venice.serializer.RecordDeserializer;
+import com.linkedin.venice.storage.protocol.ChunkedValueManifest;
+import com.linkedin.venice.utils.ByteUtils;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.Set;
+import org.apache.avro.io.OptimizedBinaryDecoderFactory;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.io.WritableComparator;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.OutputCollector;
+import org.apache.hadoop.mapred.Reporter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+
+/**
+ * This class compacts the output of {@link VeniceKafkaInputMapper} within its input split, so that the shuffle only
+ * carries the records which could still be the latest write of their key, see
+ * {@link VenicePushJob#KAFKA_INPUT_SPLIT_COMPACTION_ENABLED}.
+ *
+ * All the records collected by the mapper are spilled into a local sequence file, which gets sorted with
+ * {@link KafkaInputKeyComparator} by an external merge-sort bounded by
+ * {@link VenicePushJob#KAFKA_INPUT_SPLIT_COMPACTION_SORT_MEMORY_MB}, once the whole split has been read. The sorted
+ * records of each key, which are in descending order by offset, are then compacted the same way as
+ * {@link ChunkAssembler} picks the latest write of a key:
+ * 1. Only the latest regular PUT, DELETE or manifest is kept, since it supersedes all the older ones, no matter what
+ *    the other splits of the same partition contain.
+ * 2. The chunks which are more recent than the latest manifest are kept, since their manifest could be in a later
+ *    split, and so are the chunks belonging to the latest manifest.
+ * 3. The older chunks are dropped only if they belong to one of the superseded manifests, since a chunk which does not
+ *    belong to any manifest of the split might belong to a manifest of another split.
+ *
+ * The records with an empty key, i.e. the ones spraying all the partitions, are passed through right away.
+ */
+public class KafkaInputSplitCompactor implements OutputCollector<BytesWritable, BytesWritable>, Closeable {
+  private static final Logger LOGGER = LogManager.getLogger(KafkaInputSplitCompactor.class);
+  private static final OptimizedBinaryDecoderFactory OPTIMIZED_BINARY_DECODER_FACTORY =
+      OptimizedBinaryDecoderFactory.defaultFactory();
+  private static final RecordDeserializer<KafkaInputMapperKey> KAFKA_INPUT_MAPPER_KEY_AVRO_SPECIFIC_DESERIALIZER =
+      FastSerializerDeserializerFactory
+          .getFastAvroSpecificDeserializer(KafkaInputMapperKey.SCHEMA$, KafkaInputMapperKey.class);
+  private static final RecordDeserializer<KafkaInputMapperValue> KAFKA_INPUT_MAPPER_VALUE_AVRO_SPECIFIC_DESERIALIZER =
+      FastSerializerDeserializerFactory
+          .getFastAvroSpecificDeserializer(KafkaInputMapperValue.SCHEMA$, KafkaInputMapperValue.class);
+  private static final int CHUNK_SCHEMA_ID = AvroProtocolDefinition.CHUNK.getCurrentProtocolVersion();
+  private static final int CHUNKED_VALUE_MANIFEST_SCHEMA_ID =
+      AvroProtocolDefinition.CHUNKED_VALUE_MANIFEST.getCurrentProtocolVersion();
+
+  private final JobConf conf;
+  private final boolean isChunkingEnabled;
+  private final boolean isRmdChunkingEnabled;
+  private final int sortMemoryInBytes;
+  private final FileSystem localFs;
+  private final Path workingDir;
+  private final Path unsortedFile;
+  private final Path sortedFile;
+  private final ChunkedValueManifestSerializer manifestSerializer = new ChunkedValueManifestSerializer(true);
+
+  private SequenceFile.Writer writer;
+  private OutputCollector<BytesWritable, BytesWritable> output;
+  private long spilledRecordCount = 0;
+
+  // Compaction state of the key being processed
+  private byte[] currentKeyBytes = null;
+  private boolean latestWriteFound;
+  private final Set<ByteBuffer> latestManifestChunkSuffixes = new HashSet<>();
+  private final Set<ByteBuffer> supersededManifestChunkSuffixes = new HashSet<>();
+
+  public KafkaInputSplitCompactor(
+      JobConf conf,
+      boolean isChunkingEnabled,
+      boolean isRmdChunkingEnabled,
+      int sortMemoryInBytes) throws IOException {
+    this.conf = conf;
+    this.isChunkingEnabled = isChunkingEnabled;
+    this.isRmdChunkingEnabled = isRmdChunkingEnabled;
+    this.sortMemoryInBytes = sortMemoryInBytes;
+    this.localFs = FileSystem.getLocal(conf);
+    this.workingDir = localFs.makeQualified(
+        new Path(Files.createTempDirectory(KafkaInputSplitCompactor.class.getSimpleName()).toUri()));
+    this.unsortedFile = new Path(workingDir, "unsorted");
+    this.sortedFile = new Path(workingDir, "sorted");
+    this.writer = SequenceFile.createWriter(
+        conf,
+        SequenceFile.Writer.file(unsortedFile),
+        SequenceFile.Writer.keyClass(BytesWritable.class),
+        SequenceFile.Writer.valueClass(BytesWritable.class));
+  }
+
+  /**
+   * Sets the collector which receives the records surviving the compaction.
+   */
+  public void setOutput(OutputCollector<BytesWritable, BytesWritable> output) {
+    this.output = output;
+  }
+
+  @Override
+  public void collect(BytesWritable key, BytesWritable value) throws IOException {
+    if (key.getLength() == VeniceMRPartitioner.EMPTY_KEY_LENGTH) {
+      output.collect(key, value);
+      return;
+    }
+    writer.append(key, value);
+    spilledRecordCount++;
+  }
+
+  /**
+   * Sorts all the records collected so far, and passes the ones surviving the compaction to the output. This must be
+   * called once, after the whole input split has been collected.
+   */
+  public void compact(Reporter reporter) throws IOException {
+    if (writer == null) {
+      throw new IllegalStateException("The input split has already been compacted");
+    }
+    writer.close();
+    writer = null;
+    if (spilledRecordCount == 0) {
+      return;
+    }
+
+    SequenceFile.Sorter sorter = new SequenceFile.Sorter(
+        localFs,
+        new KafkaInputKeyComparator(),
+        BytesWritable.class,
+        BytesWritable.class,
+        conf);
+    sorter.setMemory(sortMemoryInBytes);
+    // Sorting a large split can take longer than the task timeout, so the task keeps reporting progress meanwhile
+    sorter.setProgressable(reporter);
+    sorter.sort(new Path[] { unsortedFile }, sortedFile, true);
+
+    long droppedRecordCount = 0;
+    BytesWritable key = new BytesWritable();
+    BytesWritable value = new BytesWritable();
+    KafkaInputMapperKey mapperKey = null;
+    KafkaInputMapperValue mapperValue = null;
+    try (SequenceFile.Reader reader = new SequenceFile.Reader(conf, SequenceFile.Reader.file(sortedFile))) {
+      while (reader.next(key, value)) {
+        mapperKey = KAFKA_INPUT_MAPPER_KEY_AVRO_SPECIFIC_DESERIALIZER.deserialize(
+            mapperKey,
+            OPTIMIZED_BINARY_DECODER_FACTORY.createOptimizedBinaryDecoder(key.getBytes(), 0, key.getLength()));
+        if (!isCurrentKey(mapperKey.key)) {
+          currentKeyBytes = ByteUtils.extractByteArray(mapperKey.key);
+          latestWriteFound = false;
+          latestManifestChunkSuffixes.clear();
+          supersededManifestChunkSuffixes.clear();
+        }
+        mapperValue = KAFKA_INPUT_MAPPER_VALUE_AVRO_SPECIFIC_DESERIALIZER.deserialize(
+            mapperValue,
+            OPTIMIZED_BINARY_DECODER_FACTORY.createOptimizedBinaryDecoder(value.getBytes(), 0, value.getLength()));
+        if (shouldKeep(mapperValue)) {
+          output.collect(key, value);
+        } else {
+          droppedRecordCount++;
+        }
+      }
+    }
+    MRJobCounterHelper.incrRepushSplitCompactionDroppedRecordCount(reporter, droppedRecordCount);
+    LOGGER.info(
+        "Compacted the input split from {} records down to {} records",
+        spilledRecordCount,
+        spilledRecordCount - droppedRecordCount);
+  }
+
+  private boolean isCurrentKey(ByteBuffer key) {
+    return currentKeyBytes != null && WritableComparator.compareBytes(
+        currentKeyBytes,
+        0,
+        currentKeyBytes.length,
+        key.array(),
+        key.position(),
+        key.remaining()) == 0;
+  }
+
+  /**
+   * @param mapperValue the next value of the current key, in descending order by offset
+   */
+  private boolean shouldKeep(KafkaInputMapperValue mapperValue) {
+    if (!isChunkingEnabled) {
+      if (latestWriteFound) {
+        return false;
+      }
+      latestWriteFound = true;
+      return true;
+    }
+
+    if (mapperValue.schemaId == CHUNK_SCHEMA_ID) {
+      return !latestWriteFound || latestManifestChunkSuffixes.contains(mapperValue.chunkedKeySuffix)
+          || !supersededManifestChunkSuffixes.contains(mapperValue.chunkedKeySuffix);
+    }
+    boolean isLatestWrite = !latestWriteFound;
+    latestWriteFound = true;
+    if (mapperValue.schemaId == CHUNKED_VALUE_MANIFEST_SCHEMA_ID) {
+      Set<ByteBuffer> chunkSuffixes = isLatestWrite ? latestManifestChunkSuffixes : supersededManifestChunkSuffixes;
+      addChunkSuffixes(mapperValue.value, chunkSuffixes);
+      if (isRmdChunkingEnabled) {
+        addChunkSuffixes(mapperValue.replicationMetadataPayload, chunkSuffixes);
+      }
+    }
+    return isLatestWrite;
+  }
+
+  private void addChunkSuffixes(ByteBuffer serializedManifest, Set<ByteBuffer> chunkSuffixes) {
+    ChunkedValueManifest manifest = manifestSerializer
+        .deserialize(ByteUtils.extractByteArray(serializedManifest), CHUNKED_VALUE_MANIFEST_SCHEMA_ID);
+    for (ByteBuffer keyWithChunkIdSuffix: manifest.keysWithChunkIdSuffix) {
+      chunkSuffixes.add(
+          ByteBuffer.wrap(
+              keyWithChunkIdSuffix.array(),
+              keyWithChunkIdSuffix.position() + currentKeyBytes.length,
+              keyWithChunkIdSuffix.remaining() - currentKeyBytes.length));
+    }
+  }
+
+  @Override
+  public void close() {
+    try {
+      if (writer != null) {
+        writer.close();
+        writer = null;
+      }
+      localFs.delete(workingDir, true);
+    } catch (IOException e) {
+      throw new VeniceException("Failed to clean up the split compaction directory: " + workingDir, e);
+    }
+  }
+}
@@ -11,15 +11,21 @@ import com.linkedin.venice.hadoop.input.kafka.avro.KafkaInputMapperValue;
 import com.linkedin.venice.hadoop.input.kafka.ttl.VeniceKafkaInputTTLFilter;
 import com.linkedin.venice.serializer.FastSerializerDeserializerFactory;
 import com.linkedin.venice.serializer.RecordSerializer;
+import com.linkedin.venice.utils.ByteUtils;
 import com.linkedin.venice.utils.VeniceProperties;
 import java.io.IOException;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.BytesWritable;
 import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.OutputCollector;
 import org.apache.hadoop.mapred.Reporter;
 
 
 /**
- * This class is designed specifically for {@link KafkaInputFormat}, and right now, it is doing simple pass-through.
+ * This class is designed specifically for {@link KafkaInputFormat}, and right now, it is doing simple pass-through,
+ * unless {@link VenicePushJob#KAFKA_INPUT_SPLIT_COMPACTION_ENABLED} is set, in which case the records are compacted
+ * within the input split by {@link KafkaInputSplitCompactor} before being passed through.
  */
 public class VeniceKafkaInputMapper extends AbstractVeniceMapper<KafkaInputMapperKey, KafkaInputMapperValue> {
   private static final RecordSerializer KAFKA_INPUT_MAPPER_KEY_SERIALIZER =
@@ -27,6 +33,9 @@ public class VeniceKafkaInputMapper extends AbstractVeniceMapper<KafkaInputMappe
   private static final RecordSerializer KAFKA_INPUT_MAPPER_VALUE_SERIALIZER =
       FastSerializerDeserializerFactory.getFastAvroGenericSerializer(KafkaInputMapperValue.SCHEMA$);
 
+  private KafkaInputSplitCompactor splitCompactor;
+  private Reporter reporter;
+
   @Override
   protected AbstractVeniceRecordReader<KafkaInputMapperKey, KafkaInputMapperValue> getRecordReader(
       VeniceProperties props) {
@@ -48,12 +57,68 @@ public class VeniceKafkaInputMapper extends AbstractVeniceMapper<KafkaInputMappe
     return filterChain;
   }
 
+  /**
+   * The single pass pushes, which validate the schemas of their input files in the mappers, never read from Kafka.
+   */
+  @Override
+  protected void validateInputFileSchema(FileSystem fs, Path inputFile) {
+    throw new UnsupportedOperationException();
+  }
+
   @Override
   protected void configureTask(VeniceProperties props, JobConf job) {
     /**
      * Do nothing but create the filter for {@link KafkaInputFormat}.
      */
     this.veniceFilterChain = getFilterChain(props);
+    if (props.getBoolean(VenicePushJob.KAFKA_INPUT_SPLIT_COMPACTION_ENABLED, false)) {
+      int sortMemoryMB = props.getInt(
+          VenicePushJob.KAFKA_INPUT_SPLIT_COMPACTION_SORT_MEMORY_MB,
+          VenicePushJob.DEFAULT_KAFKA_INPUT_SPLIT_COMPACTION_SORT_MEMORY_MB);
+      try {
+        this.splitCompactor = new KafkaInputSplitCompactor(
+            job,
+            isChunkingEnabled(),
+            isRmdChunkingEnabled(),
+            sortMemoryMB * ByteUtils.BYTES_PER_MB);
+      } catch (IOException e) {
+        throw new VeniceException("failed to instantiate the split compactor for KIF", e);
+      }
+    }
+  }
+
+  @Override
+  public void map(
+      KafkaInputMapperKey inputKey,
+      KafkaInputMapperValue inputValue,
+      OutputCollector<BytesWritable, BytesWritable> output,
+      Reporter reporter) throws IOException {
+    if (splitCompactor == null) {
+      super.map(inputKey, inputValue, output, reporter);
+      return;
+    }
+    /**
+     * The records are only passed to the actual output once the whole split has been read, in {@link #close()}.
+     */
+    splitCompactor.setOutput(output);
+    this.reporter = reporter;
+    super.map(inputKey, inputValue, splitCompactor, reporter);
+  }
+
+  @Override
+  public void close() {
+    if (splitCompactor == null) {
+      super.close();
+      return;
+    }
+    try {
+      splitCompactor.compact(reporter);
+    } catch (IOException e) {
+      throw new VeniceException("failed to compact the input split", e);
+    } finally {
+      splitCompactor.close();
+      super.close();
+    }
   }
 
   @Override
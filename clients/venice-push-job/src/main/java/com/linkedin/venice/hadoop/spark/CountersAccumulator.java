@@ -0,0 +1,71 @@
+package com.linkedin.venice.hadoop.spark;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.hadoop.mapred.Counters;
+import org.apache.spark.util.AccumulatorV2;
+
+
+/**
+ * Aggregates the MapReduce counters of the Spark tasks of a job on the driver. {@link Counters} is not serializable,
+ * so the accumulator keeps the values by group and name, and only rebuilds the {@link Counters} in {@link #value()}.
+ */
+class CountersAccumulator extends AccumulatorV2<Counters, Counters> {
+  private static final long serialVersionUID = 1L;
+
+  private final HashMap<String, HashMap<String, Long>> values = new HashMap<>();
+
+  @Override
+  public boolean isZero() {
+    return values.isEmpty();
+  }
+
+  @Override
+  public CountersAccumulator copy() {
+    CountersAccumulator copy = new CountersAccumulator();
+    copy.add(this);
+    return copy;
+  }
+
+  @Override
+  public void reset() {
+    values.clear();
+  }
+
+  @Override
+  public void add(Counters counters) {
+    for (Counters.Group group: counters) {
+      for (Counters.Counter counter: group) {
+        add(group.getName(), counter.getName(), counter.getValue());
+      }
+    }
+  }
+
+  @Override
+  public void merge(AccumulatorV2<Counters, Counters> other) {
+    add((CountersAccumulator) other);
+  }
+
+  @Override
+  public Counters value() {
+    Counters counters = new Counters();
+    for (Map.Entry<String, HashMap<String, Long>> group: values.entrySet()) {
+      for (Map.Entry<String, Long> counter: group.getValue().entrySet()) {
+        counters.incrCounter(group.getKey(), counter.getKey(), counter.getValue());
+      }
+    }
+    return counters;
+  }
+
+  private void add(CountersAccumulator other) {
+    for (Map.Entry<String, HashMap<String, Long>> group: other.values.entrySet()) {
+      for (Map.Entry<String, Long> counter: group.getValue().entrySet()) {
+        add(group.getKey(), counter.getKey(), counter.getValue());
+      }
+    }
+  }
+
+  private void add(String group, String name, long amount) {
+    values.computeIfAbsent(group, k -> new HashMap<>()).merge(name, amount, Long::sum);
+  }
+}
@@ -0,0 +1,479 @@
+package com.linkedin.venice.hadoop.spark;
+
+import com.linkedin.venice.hadoop.AbstractMapReduceTask;
+import com.linkedin.venice.hadoop.JobClientWrapper;
+import com.linkedin.venice.hadoop.MRJobCounterHelper;
+import com.linkedin.venice.hadoop.VenicePushJob;
+import com.linkedin.venice.hadoop.VeniceReducer;
+import com.linkedin.venice.utils.VeniceProperties;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Serializable;
+import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.io.WritableComparator;
+import org.apache.hadoop.mapred.Counters;
+import org.apache.hadoop.mapred.InputSplit;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.JobContext;
+import org.apache.hadoop.mapred.JobID;
+import org.apache.hadoop.mapred.Mapper;
+import org.apache.hadoop.mapred.OutputCollector;
+import org.apache.hadoop.mapred.OutputCommitter;
+import org.apache.hadoop.mapred.Partitioner;
+import org.apache.hadoop.mapred.RecordWriter;
+import org.apache.hadoop.mapred.Reducer;
+import org.apache.hadoop.mapred.RunningJob;
+import org.apache.hadoop.mapred.TaskAttemptContext;
+import org.apache.hadoop.mapred.TaskAttemptID;
+import org.apache.hadoop.mapred.TaskID;
+import org.apache.hadoop.mapreduce.TaskType;
+import org.apache.hadoop.util.ReflectionUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.spark.SerializableWritable;
+import org.apache.spark.SparkConf;
+import org.apache.spark.SparkContext;
+import org.apache.spark.SparkEnv;
+import org.apache.spark.TaskContext;
+import org.apache.spark.api.java.JavaHadoopRDD;
+import org.apache.spark.api.java.JavaPairRDD;
+import org.apache.spark.api.java.JavaSparkContext;
+import org.apache.spark.api.java.function.Function2;
+import org.apache.spark.api.java.function.VoidFunction;
+import org.apache.spark.broadcast.Broadcast;
+import org.apache.spark.serializer.KryoSerializer;
+import org.apache.spark.storage.StorageLevel;
+import scala.Tuple2;
+
+
+/**
+ * Runs the jobs of {@link VenicePushJob} on Spark rather than MapReduce, see
+ * {@link VenicePushJob#SPARK_ENGINE_ENABLED}. The mappers, partitioner, reducers and output format configured in the
+ * {@link JobConf} are the very same as with MapReduce, they are only driven by Spark tasks, so the records get
+ * validated, compressed, partitioned and produced exactly like with MapReduce.
+ *
+ * For the jobs with reducers, the output of the mappers is kept in the memory of the executors, serialized and only
+ * spilled to the local disks when it does not fit, and a single shuffle partitions the records and sorts them by key
+ * ({@link JavaPairRDD#repartitionAndSortWithinPartitions}), every Venice partition being reduced by the Spark task of
+ * the same index. The mappers run to completion before the reducers start, so that the reducers know the total size of
+ * the input upfront to enforce the storage quota, instead of querying the counters of the job like with MapReduce.
+ *
+ * All the jobs of a push run within the same Spark application, so the validation of the input and the push do not
+ * each pay the scheduling of a MapReduce job. The repush from a Kafka topic is not supported, since it relies on the
+ * key comparators and the combiner of MapReduce.
+ *
+ * The counters of the tasks are aggregated on the driver and exposed by the returned {@link RunningJob}. As for any
+ * Spark accumulator, the counters of the mappers could be overcounted if some cached map output gets lost and has to
+ * be recomputed.
+ */
+public class SparkJobClientWrapper implements JobClientWrapper, Closeable {
+  private static final Logger LOGGER = LogManager.getLogger(SparkJobClientWrapper.class);
+  private static final String SPARK_CONF_PREFIX = "spark.";
+  private static final String JOB_TRACKER_ID = new SimpleDateFormat("yyyyMMddHHmmss").format(new Date());
+  private static final AtomicInteger JOB_COUNTER = new AtomicInteger();
+
+  private final JavaSparkContext sparkContext;
+  private final boolean ownsSparkContext;
+
+  /**
+   * Uses the Spark application the push job has been submitted with, all the properties starting with "spark." being
+   * added to the configuration of the application. The application is only stopped when closed if it gets started
+   * here, rather than being already running in the JVM, e.g. when the push job runs within a larger Spark application.
+   */
+  public SparkJobClientWrapper(VeniceProperties props) {
+    // The environment of the driver is set as long as a Spark context is running
+    this.ownsSparkContext = SparkEnv.get() == null;
+    this.sparkContext = createSparkContext(props);
+  }
+
+  /**
+   * Runs the jobs within the given Spark context, which is left to its creator to stop.
+   */
+  public SparkJobClientWrapper(JavaSparkContext sparkContext) {
+    this.sparkContext = sparkContext;
+    this.ownsSparkContext = false;
+  }
+
+  private static JavaSparkContext createSparkContext(VeniceProperties props) {
+    SparkConf sparkConf = new SparkConf();
+    for (String key: props.keySet()) {
+      if (key.startsWith(SPARK_CONF_PREFIX)) {
+        sparkConf.set(key, props.getString(key));
+      }
+    }
+    sparkConf.setIfMissing("spark.app.name", VenicePushJob.class.getSimpleName());
+    // The map output only consists of byte arrays, for which Kryo is much cheaper than the Java serialization
+    sparkConf.setIfMissing("spark.serializer", KryoSerializer.class.getName());
+    return JavaSparkContext.fromSparkContext(SparkContext.getOrCreate(sparkConf));
+  }
+
+  @Override
+  public RunningJob runJobWithConfig(JobConf jobConf) throws IOException {
+    JobID jobId = new JobID(JOB_TRACKER_ID, JOB_COUNTER.incrementAndGet());
+    JobConf conf = new JobConf(jobConf);
+    conf.set(VeniceReducer.MAP_REDUCE_JOB_ID_PROP, jobId.toString());
+    CountersAccumulator counters = new CountersAccumulator();
+    sparkContext.sc().register(counters, conf.getJobName());
+    sparkContext.setJobGroup(jobId.toString(), conf.getJobName(), true);
+    LOGGER.info("Running job {} ({}) on Spark", jobId, conf.getJobName());
+    try {
+      if (conf.getNumReduceTasks() == 0) {
+        runMapOnlyJob(conf, counters);
+      } else {
+        runMapReduceJob(conf, counters);
+      }
+    } catch (Exception e) {
+      throw new IOException("Spark job " + jobId + " (" + conf.getJobName() + ") failed", e);
+    } finally {
+      sparkContext.clearJobGroup();
+    }
+    LOGGER.info("Spark job {} completed", jobId);
+    return SparkRunningJob.create(jobId, conf.getJobName(), counters.value(), sparkContext);
+  }
+
+  private void runMapOnlyJob(JobConf conf, CountersAccumulator counters) throws IOException {
+    // The tasks write their output straight to the output directory, as there is no job commit in Spark
+    conf.setOutputCommitter(DirectOutputCommitter.class);
+    conf.getOutputFormat().checkOutputSpecs(FileSystem.get(conf), conf);
+    readInput(conf).mapPartitionsWithInputSplit(new MapOnlyTask(broadcast(conf), counters), false).count();
+  }
+
+  private void runMapReduceJob(JobConf conf, CountersAccumulator counters) {
+    JavaPairRDD<ShuffleKey, byte[]> mapOutput = JavaPairRDD
+        .fromJavaRDD(readInput(conf).mapPartitionsWithInputSplit(new MapTask(broadcast(conf), counters), false))
+        .persist(StorageLevel.MEMORY_AND_DISK_SER());
+    try {
+      long mapOutputRecordCount = mapOutput.count();
+      Counters mapCounters = counters.value();
+      long totalIncomingDataSize =
+          MRJobCounterHelper.getTotalKeySize(mapCounters) + MRJobCounterHelper.getTotalValueSize(mapCounters);
+      LOGGER.info("Mapped {} records, of {} bytes in total", mapOutputRecordCount, totalIncomingDataSize);
+
+      JobConf reduceConf = new JobConf(conf);
+      reduceConf.setLong(VeniceReducer.TOTAL_INCOMING_DATA_SIZE_PROP, totalIncomingDataSize);
+      mapOutput
+          .repartitionAndSortWithinPartitions(
+              new ShufflePartitioner(conf.getNumReduceTasks()),
+              new ShuffleKeyComparator())
+          .foreachPartition(new ReduceTask(broadcast(reduceConf), counters));
+    } finally {
+      mapOutput.unpersist(false);
+    }
+  }
+
+  /**
+   * Reads the input with the input format of the job. The mappers are run by
+   * {@link JavaHadoopRDD#mapPartitionsWithInputSplit} so that they can get their input split from the reporter, like
+   * with MapReduce.
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private JavaHadoopRDD<Object, Object> readInput(JobConf conf) {
+    Class inputFormatClass = conf.getInputFormat().getClass();
+    return (JavaHadoopRDD<Object, Object>) sparkContext.hadoopRDD(conf, inputFormatClass, Object.class, Object.class);
+  }
+
+  private Broadcast<SerializableWritable<JobConf>> broadcast(JobConf conf) {
+    return sparkContext.broadcast(new SerializableWritable<>(conf));
+  }
+
+  /**
+   * Stops the Spark application, if it was started by this class.
+   */
+  @Override
+  public void close() {
+    if (ownsSparkContext) {
+      sparkContext.stop();
+    }
+  }
+
+  static JobConf createTaskConf(JobConf conf, TaskType taskType) {
+    TaskContext taskContext = TaskContext.get();
+    JobConf taskConf = new JobConf(conf);
+    TaskID taskId =
+        new TaskID(JobID.forName(conf.get(VeniceReducer.MAP_REDUCE_JOB_ID_PROP)), taskType, taskContext.partitionId());
+    taskConf.set(
+        AbstractMapReduceTask.MAPRED_TASK_ID_PROP_NAME,
+        new TaskAttemptID(taskId, taskContext.attemptNumber()).toString());
+    return taskConf;
+  }
+
+  /**
+   * The key of a map output record, along with the reducer it goes to as decided by the partitioner of the job.
+   */
+  static final class ShuffleKey implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    final int partition;
+    final byte[] key;
+
+    ShuffleKey(int partition, byte[] key) {
+      this.partition = partition;
+      this.key = key;
+    }
+  }
+
+  static final class ShufflePartitioner extends org.apache.spark.Partitioner {
+    private static final long serialVersionUID = 1L;
+
+    private final int partitionCount;
+
+    ShufflePartitioner(int partitionCount) {
+      this.partitionCount = partitionCount;
+    }
+
+    @Override
+    public int numPartitions() {
+      return partitionCount;
+    }
+
+    @Override
+    public int getPartition(Object key) {
+      return ((ShuffleKey) key).partition;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof ShufflePartitioner && ((ShufflePartitioner) o).partitionCount == partitionCount;
+    }
+
+    @Override
+    public int hashCode() {
+      return partitionCount;
+    }
+  }
+
+  /**
+   * Sorts the keys like the default comparator of {@link BytesWritable} does with MapReduce.
+   */
+  static final class ShuffleKeyComparator implements Comparator<ShuffleKey>, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public int compare(ShuffleKey o1, ShuffleKey o2) {
+      return WritableComparator.compareBytes(o1.key, 0, o1.key.length, o2.key, 0, o2.key.length);
+    }
+  }
+
+  /**
+   * Runs the mapper of the job over an input split, and assigns each output record to its reducer.
+   */
+  static final class MapTask
+      implements Function2<InputSplit, Iterator<Tuple2<Object, Object>>, Iterator<Tuple2<ShuffleKey, byte[]>>> {
+    private static final long serialVersionUID = 1L;
+
+    private final Broadcast<SerializableWritable<JobConf>> conf;
+    private final CountersAccumulator counters;
+
+    MapTask(Broadcast<SerializableWritable<JobConf>> conf, CountersAccumulator counters) {
+      this.conf = conf;
+      this.counters = counters;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterator<Tuple2<ShuffleKey, byte[]>> call(InputSplit inputSplit, Iterator<Tuple2<Object, Object>> input) {
+      JobConf taskConf = createTaskConf(conf.value().value(), TaskType.MAP);
+      Mapper<Object, Object, BytesWritable, BytesWritable> mapper =
+          ReflectionUtils.newInstance(taskConf.getMapperClass(), taskConf);
+      Partitioner<BytesWritable, BytesWritable> partitioner =
+          ReflectionUtils.newInstance(taskConf.getPartitionerClass(), taskConf);
+      return new MapOutputIterator(
+          input,
+          mapper,
+          partitioner,
+          taskConf.getNumReduceTasks(),
+          new SparkTaskReporter(inputSplit),
+          counters);
+    }
+  }
+
+  /**
+   * Maps the input lazily, so that the output of a task never needs to be held in memory all at once.
+   */
+  static final class MapOutputIterator implements Iterator<Tuple2<ShuffleKey, byte[]>> {
+    private final Iterator<Tuple2<Object, Object>> input;
+    private final Mapper<Object, Object, BytesWritable, BytesWritable> mapper;
+    private final CountersAccumulator counters;
+    private final SparkTaskReporter reporter;
+    private final ArrayDeque<Tuple2<ShuffleKey, byte[]>> buffer = new ArrayDeque<>();
+    private final OutputCollector<BytesWritable, BytesWritable> collector;
+    private boolean closed = false;
+
+    MapOutputIterator(
+        Iterator<Tuple2<Object, Object>> input,
+        Mapper<Object, Object, BytesWritable, BytesWritable> mapper,
+        Partitioner<BytesWritable, BytesWritable> partitioner,
+        int numReduceTasks,
+        SparkTaskReporter reporter,
+        CountersAccumulator counters) {
+      this.input = input;
+      this.mapper = mapper;
+      this.reporter = reporter;
+      this.counters = counters;
+      // The mappers reuse the same writables for all their output records, hence the copies
+      this.collector = (key, value) -> buffer.add(
+          new Tuple2<>(
+              new ShuffleKey(partitioner.getPartition(key, value, numReduceTasks), key.copyBytes()),
+              value.copyBytes()));
+    }
+
+    @Override
+    public boolean hasNext() {
+      try {
+        while (buffer.isEmpty() && input.hasNext()) {
+          Tuple2<Object, Object> record = input.next();
+          mapper.map(record._1(), record._2(), collector, reporter);
+        }
+        if (buffer.isEmpty() && !closed) {
+          closed = true;
+          mapper.close();
+          reporter.setProgress(1.0f);
+          counters.add(reporter.getCounters());
+        }
+      } catch (IOException e) {
+        throw new RuntimeException("Failed to map the input", e);
+      }
+      return !buffer.isEmpty();
+    }
+
+    @Override
+    public Tuple2<ShuffleKey, byte[]> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return buffer.poll();
+    }
+  }
+
+  /**
+   * Runs the mapper of a job without reducers over an input split, and writes its output with the output format of
+   * the job.
+   */
+  static final class MapOnlyTask
+      implements Function2<InputSplit, Iterator<Tuple2<Object, Object>>, Iterator<Object>> {
+    private static final long serialVersionUID = 1L;
+
+    private final Broadcast<SerializableWritable<JobConf>> conf;
+    private final CountersAccumulator counters;
+
+    MapOnlyTask(Broadcast<SerializableWritable<JobConf>> conf, CountersAccumulator counters) {
+      this.conf = conf;
+      this.counters = counters;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterator<Object> call(InputSplit inputSplit, Iterator<Tuple2<Object, Object>> input) throws Exception {
+      JobConf taskConf = createTaskConf(conf.value().value(), TaskType.MAP);
+      SparkTaskReporter reporter = new SparkTaskReporter(inputSplit);
+      String outputName = String.format("part-%05d", TaskContext.getPartitionId());
+      RecordWriter<Object, Object> recordWriter =
+          taskConf.getOutputFormat().getRecordWriter(FileSystem.get(taskConf), taskConf, outputName, reporter);
+      Mapper<Object, Object, Object, Object> mapper = ReflectionUtils.newInstance(taskConf.getMapperClass(), taskConf);
+      try {
+        while (input.hasNext()) {
+          Tuple2<Object, Object> record = input.next();
+          mapper.map(record._1(), record._2(), recordWriter::write, reporter);
+        }
+      } finally {
+        mapper.close();
+        recordWriter.close(reporter);
+      }
+      reporter.setProgress(1.0f);
+      counters.add(reporter.getCounters());
+      return Collections.emptyIterator();
+    }
+  }
+
+  /**
+   * Runs the reducer of the job over the sorted records of a partition, grouping the values of the same key like
+   * MapReduce does. The reducers of the push job do not emit any output, they produce to Kafka.
+   *
+   * Like with MapReduce, the reducer is set up and closed even if its partition has no record, since it may still have
+   * something to do for it, e.g. stage the checksum file of an empty partition with
+   * {@link com.linkedin.venice.hadoop.VenicePushJob#SST_FILE_PUSH_ENABLED}.
+   */
+  static final class ReduceTask implements VoidFunction<Iterator<Tuple2<ShuffleKey, byte[]>>> {
+    private static final long serialVersionUID = 1L;
+
+    private final Broadcast<SerializableWritable<JobConf>> conf;
+    private final CountersAccumulator counters;
+
+    ReduceTask(Broadcast<SerializableWritable<JobConf>> conf, CountersAccumulator counters) {
+      this.conf = conf;
+      this.counters = counters;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void call(Iterator<Tuple2<ShuffleKey, byte[]>> records) throws Exception {
+      JobConf taskConf = createTaskConf(conf.value().value(), TaskType.REDUCE);
+      SparkTaskReporter reporter = new SparkTaskReporter(null);
+      Reducer<BytesWritable, BytesWritable, Object, Object> reducer =
+          ReflectionUtils.newInstance(taskConf.getReducerClass(), taskConf);
+      OutputCollector<Object, Object> collector = (key, value) -> {
+        throw new UnsupportedOperationException("The reducers are not expected to emit any output");
+      };
+      try {
+        Tuple2<ShuffleKey, byte[]> record = records.hasNext() ? records.next() : null;
+        while (record != null) {
+          byte[] key = record._1().key;
+          List<BytesWritable> values = new ArrayList<>(1);
+          values.add(new BytesWritable(record._2()));
+          record = null;
+          while (records.hasNext()) {
+            Tuple2<ShuffleKey, byte[]> nextRecord = records.next();
+            if (!Arrays.equals(nextRecord._1().key, key)) {
+              record = nextRecord;
+              break;
+            }
+            values.add(new BytesWritable(nextRecord._2()));
+          }
+          reducer.reduce(new BytesWritable(key), values.iterator(), collector, reporter);
+        }
+        reporter.setProgress(1.0f);
+      } finally {
+        reducer.close();
+      }
+      counters.add(reporter.getCounters());
+    }
+  }
+
+  /**
+   * Lets the tasks of the jobs without reducers write their output straight to the output directory.
+   */
+  static final class DirectOutputCommitter extends OutputCommitter {
+    @Override
+    public void setupJob(JobContext jobContext) {
+    }
+
+    @Override
+    public void setupTask(TaskAttemptContext taskContext) {
+    }
+
+    @Override
+    public boolean needsTaskCommit(TaskAttemptContext taskContext) {
+      return false;
+    }
+
+    @Override
+    public void commitTask(TaskAttemptContext taskContext) {
+    }
+
+    @Override
+    public void abortTask(TaskAttemptContext taskContext) {
+    }
+  }
+}
@@ -0,0 +1,65 @@
+package com.linkedin.venice.hadoop.spark;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import org.apache.hadoop.mapred.Counters;
+import org.apache.hadoop.mapred.JobID;
+import org.apache.hadoop.mapred.RunningJob;
+import org.apache.spark.api.java.JavaSparkContext;
+
+
+/**
+ * The completed Spark job, exposed as a {@link RunningJob} to {@link com.linkedin.venice.hadoop.VenicePushJob}.
+ * {@link RunningJob} is a wide interface of which the push job only uses the identity, the counters and the kill of
+ * the job, so it is implemented by a proxy which rejects the other methods.
+ */
+final class SparkRunningJob implements InvocationHandler {
+  private final JobID jobId;
+  private final String jobName;
+  private final Counters counters;
+  private final JavaSparkContext sparkContext;
+
+  private SparkRunningJob(JobID jobId, String jobName, Counters counters, JavaSparkContext sparkContext) {
+    this.jobId = jobId;
+    this.jobName = jobName;
+    this.counters = counters;
+    this.sparkContext = sparkContext;
+  }
+
+  static RunningJob create(JobID jobId, String jobName, Counters counters, JavaSparkContext sparkContext) {
+    return (RunningJob) Proxy.newProxyInstance(
+        RunningJob.class.getClassLoader(),
+        new Class<?>[] { RunningJob.class },
+        new SparkRunningJob(jobId, jobName, counters, sparkContext));
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) {
+    switch (method.getName()) {
+      case "getID":
+        return jobId;
+      case "getJobID":
+        return jobId.toString();
+      case "getJobName":
+        return jobName;
+      case "getCounters":
+        return counters;
+      case "isComplete":
+      case "isSuccessful":
+        return true;
+      case "killJob":
+        // The job group is named after the job, see SparkJobClientWrapper
+        sparkContext.cancelJobGroup(jobId.toString());
+        return null;
+      case "equals":
+        return proxy == args[0];
+      case "hashCode":
+        return System.identityHashCode(proxy);
+      case "toString":
+        return "SparkRunningJob{jobId=" + jobId + ", jobName=" + jobName + "}";
+      default:
+        throw new UnsupportedOperationException(method.getName() + " is not supported for the Spark jobs");
+    }
+  }
+}
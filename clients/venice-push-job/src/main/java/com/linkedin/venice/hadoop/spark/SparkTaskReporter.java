@@ -0,0 +1,73 @@
+package com.linkedin.venice.hadoop.spark;
+
+import org.apache.hadoop.mapred.Counters;
+import org.apache.hadoop.mapred.InputSplit;
+import org.apache.hadoop.mapred.Reporter;
+
+
+/**
+ * The {@link Reporter} handed over to the mappers and reducers running within a Spark task. The counters are local to
+ * the task, like the counters of a MapReduce task, and get added to the counters of the job once the task completes.
+ * The counters can be updated concurrently by the producer callbacks of the reducers, hence the synchronization.
+ */
+class SparkTaskReporter implements Reporter {
+  private final Counters counters = new Counters();
+  private final InputSplit inputSplit;
+  private volatile float progress = 0;
+
+  /**
+   * @param inputSplit the input split of a map task, or null for a reduce task
+   */
+  SparkTaskReporter(InputSplit inputSplit) {
+    this.inputSplit = inputSplit;
+  }
+
+  @Override
+  public void setStatus(String status) {
+  }
+
+  @Override
+  public synchronized Counters.Counter getCounter(Enum<?> name) {
+    return counters.findCounter(name);
+  }
+
+  @Override
+  public synchronized Counters.Counter getCounter(String group, String name) {
+    return counters.findCounter(group, name);
+  }
+
+  @Override
+  public synchronized void incrCounter(Enum<?> key, long amount) {
+    counters.incrCounter(key, amount);
+  }
+
+  @Override
+  public synchronized void incrCounter(String group, String counter, long amount) {
+    counters.incrCounter(group, counter, amount);
+  }
+
+  @Override
+  public InputSplit getInputSplit() throws UnsupportedOperationException {
+    if (inputSplit == null) {
+      throw new UnsupportedOperationException("Input only available on map");
+    }
+    return inputSplit;
+  }
+
+  @Override
+  public float getProgress() {
+    return progress;
+  }
+
+  @Override
+  public void progress() {
+  }
+
+  void setProgress(float progress) {
+    this.progress = progress;
+  }
+
+  synchronized Counters getCounters() {
+    return counters;
+  }
+}
@@ -0,0 +1,113 @@
+package com.linkedin.venice.hadoop;
+
+import com.linkedin.venice.kafka.validation.checksum.CheckSum;
+import com.linkedin.venice.kafka.validation.checksum.CheckSumType;
+import com.linkedin.venice.partitioner.DefaultVenicePartitioner;
+import com.linkedin.venice.partitioner.VenicePartitioner;
+import com.linkedin.venice.pubsub.api.PubSubProduceResult;
+import com.linkedin.venice.store.rocksdb.RocksDBUtils;
+import com.linkedin.venice.utils.ByteUtils;
+import com.linkedin.venice.utils.Utils;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.rocksdb.Options;
+import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.SstFileReader;
+import org.rocksdb.SstFileReaderIterator;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class TestSstFileVeniceWriter {
+  private static final String TOPIC = "test_store_v1";
+  private static final int VALUE_SCHEMA_ID = 1;
+  private static final int PARTITION_COUNT = 2;
+
+  private final VenicePartitioner partitioner = new DefaultVenicePartitioner();
+
+  @Test
+  public void testSstFileIsStagedWithItsChecksum() throws IOException, RocksDBException {
+    File stagingDir = Utils.getTempDataDirectory();
+    List<byte[]> keys = new ArrayList<>();
+    List<byte[]> misroutedKeys = new ArrayList<>();
+    for (int i = 0; keys.size() < 10; i++) {
+      byte[] key = String.format("key%03d", i).getBytes();
+      (partitioner.getPartitionId(key, PARTITION_COUNT) == 0 ? keys : misroutedKeys).add(key);
+    }
+
+    List<PubSubProduceResult> produceResults = new ArrayList<>();
+    SstFileVeniceWriter writer = createWriter(stagingDir, 0);
+    for (byte[] key: keys) {
+      writer.put(key, "value".getBytes(), VALUE_SCHEMA_ID, (result, e) -> produceResults.add(result));
+    }
+    // The records of another partition are not written, but reported with their own partition
+    writer.put(misroutedKeys.get(0), "value".getBytes(), VALUE_SCHEMA_ID, (result, e) -> produceResults.add(result));
+    Assert.assertEquals(produceResults.size(), keys.size() + 1);
+    Assert.assertEquals(produceResults.get(keys.size()).getPartition(), 1);
+    Assert.assertEquals(writer.getRecordCount(), keys.size());
+    writer.close(true);
+
+    // The SST file holds the records in the format of the servers, which the staged checksum covers
+    CheckSum checkSum = CheckSum.getInstance(CheckSumType.MD5).get();
+    File sstFile = new File(stagingDir, RocksDBUtils.composeStagedSSTFileName(0));
+    try (Options options = new Options();
+        SstFileReader reader = new SstFileReader(options);
+        ReadOptions readOptions = new ReadOptions()) {
+      reader.open(sstFile.getAbsolutePath());
+      try (SstFileReaderIterator iterator = reader.newIterator(readOptions)) {
+        iterator.seekToFirst();
+        for (byte[] key: keys) {
+          Assert.assertTrue(iterator.isValid());
+          Assert.assertEquals(iterator.key(), key);
+          Assert.assertEquals(ByteUtils.readInt(iterator.value(), 0), VALUE_SCHEMA_ID);
+          Assert.assertEquals(
+              Arrays.copyOfRange(iterator.value(), ByteUtils.SIZE_OF_INT, iterator.value().length),
+              "value".getBytes());
+          checkSum.update(iterator.key());
+          checkSum.update(iterator.value());
+          iterator.next();
+        }
+        Assert.assertFalse(iterator.isValid());
+      }
+    }
+    String stagedChecksum = readStagedChecksum(stagingDir, 0);
+    Assert.assertEquals(RocksDBUtils.extractStagedSSTRecordCount(stagedChecksum), keys.size());
+    Assert.assertEquals(RocksDBUtils.extractStagedSSTChecksum(stagedChecksum), checkSum.getCheckSum());
+  }
+
+  @Test
+  public void testEmptyPartitionOnlyStagesItsChecksum() throws IOException {
+    File stagingDir = Utils.getTempDataDirectory();
+    createWriter(stagingDir, 1).close(true);
+    Assert.assertFalse(new File(stagingDir, RocksDBUtils.composeStagedSSTFileName(1)).exists());
+    Assert.assertEquals(RocksDBUtils.extractStagedSSTRecordCount(readStagedChecksum(stagingDir, 1)), 0);
+
+    // Nothing gets staged if the writer is not closed gracefully
+    createWriter(stagingDir, 0).close(false);
+    Assert.assertFalse(new File(stagingDir, RocksDBUtils.composeStagedSSTChecksumFileName(0)).exists());
+  }
+
+  private SstFileVeniceWriter createWriter(File stagingDir, int partition) {
+    return new SstFileVeniceWriter(
+        TOPIC,
+        partition,
+        PARTITION_COUNT,
+        partitioner,
+        false,
+        new Path(stagingDir.toURI()),
+        new Configuration());
+  }
+
+  private String readStagedChecksum(File stagingDir, int partition) throws IOException {
+    File checksumFile = new File(stagingDir, RocksDBUtils.composeStagedSSTChecksumFileName(partition));
+    return new String(Files.readAllBytes(checksumFile.toPath()), StandardCharsets.UTF_8);
+  }
+}
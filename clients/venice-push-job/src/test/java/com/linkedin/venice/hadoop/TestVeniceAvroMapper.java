@@ -4,6 +4,7 @@ import static com.linkedin.venice.hadoop.VenicePushJob.COMPRESSION_METRIC_COLLEC
 import static com.linkedin.venice.hadoop.VenicePushJob.COMPRESSION_STRATEGY;
 import static com.linkedin.venice.hadoop.VenicePushJob.STORAGE_ENGINE_OVERHEAD_RATIO;
 import static com.linkedin.venice.hadoop.VenicePushJob.STORAGE_QUOTA_PROP;
+import static com.linkedin.venice.hadoop.VenicePushJob.VALIDATE_INPUT_FILE_SCHEMA_IN_MAPPER;
 import static com.linkedin.venice.hadoop.VenicePushJob.ZSTD_DICTIONARY_CREATION_REQUIRED;
 import static com.linkedin.venice.hadoop.VenicePushJob.ZSTD_DICTIONARY_CREATION_SUCCESS;
 import static org.mockito.Mockito.any;
@@ -19,15 +20,24 @@ import static org.mockito.Mockito.when;
 import com.linkedin.venice.compression.CompressionStrategy;
 import com.linkedin.venice.exceptions.UndefinedPropertyException;
 import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.hadoop.exceptions.VeniceInconsistentSchemaException;
+import com.linkedin.venice.utils.Utils;
 import com.linkedin.venice.utils.VeniceProperties;
+import java.io.File;
 import java.io.IOException;
 import org.apache.avro.Schema;
+import org.apache.avro.file.DataFileWriter;
 import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
 import org.apache.avro.generic.IndexedRecord;
 import org.apache.avro.mapred.AvroWrapper;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.BytesWritable;
 import org.apache.hadoop.io.NullWritable;
 import org.apache.hadoop.mapred.Counters;
+import org.apache.hadoop.mapred.FileSplit;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.hadoop.mapred.OutputCollector;
 import org.apache.hadoop.mapred.Reporter;
@@ -42,6 +52,8 @@ public class TestVeniceAvroMapper extends AbstractTestVeniceMapper<VeniceAvroMap
   private static long uncompressedValueSize = 18L;
   private static long gzipCompressedValueSize = 34L;
   private static long zstdCompressedValueSize = 27L;
+  private static final String INCONSISTENT_SCHEMA_STR = "{\"type\": \"record\", \"name\": \"TestRecord\", \"fields\": ["
+      + "{\"name\": \"key\", \"type\": \"string\"}, {\"name\": \"value\", \"type\": \"int\"}]}";
 
   protected VeniceAvroMapper newMapper() {
     return new TestVeniceAvroMapperClass();
@@ -463,6 +475,27 @@ public class TestVeniceAvroMapper extends AbstractTestVeniceMapper<VeniceAvroMap
     }
   }
 
+  @Test
+  public void testMapValidatesInputFileSchema() throws IOException {
+    File inputDir = Utils.getTempDataDirectory();
+    Path inputFile = writeAvroFile(inputDir, "input.avro", SCHEMA_STR);
+    Path inconsistentInputFile = writeAvroFile(inputDir, "inconsistent_input.avro", INCONSISTENT_SCHEMA_STR);
+    AvroWrapper<IndexedRecord> wrapper = getAvroWrapper("key_field_value", "value_field_value");
+    OutputCollector<BytesWritable, BytesWritable> output = mock(OutputCollector.class);
+
+    try (VeniceAvroMapper mapper =
+        getMapper(1, 1, jobConf -> jobConf.setBoolean(VALIDATE_INPUT_FILE_SCHEMA_IN_MAPPER, true))) {
+      mapper.map(wrapper, NullWritable.get(), output, createMockReporterOfSplit(inputFile));
+      verify(output).collect(any(), any());
+
+      Reporter reporter = createMockReporterOfSplit(inconsistentInputFile);
+      Assert.assertThrows(
+          VeniceInconsistentSchemaException.class,
+          () -> mapper.map(wrapper, NullWritable.get(), output, reporter));
+      verify(output).collect(any(), any());
+    }
+  }
+
   @Test(expectedExceptions = UnsupportedOperationException.class)
   public void testEmptyFilter() {
     try (VeniceAvroMapper mapper = new VeniceAvroMapper()) {
@@ -477,6 +510,22 @@ public class TestVeniceAvroMapper extends AbstractTestVeniceMapper<VeniceAvroMap
     return new AvroWrapper<>(record);
   }
 
+  private Path writeAvroFile(File dir, String fileName, String schemaStr) throws IOException {
+    File file = new File(dir, fileName);
+    Schema schema = Schema.parse(schemaStr);
+    try (DataFileWriter<GenericRecord> writer = new DataFileWriter<>(new GenericDatumWriter<>(schema))) {
+      writer.create(schema, file);
+    }
+    return new Path(file.toURI());
+  }
+
+  private Reporter createMockReporterOfSplit(Path inputFile) throws IOException {
+    long length = inputFile.getFileSystem(new Configuration()).getFileStatus(inputFile).getLen();
+    Reporter mockReporter = mock(Reporter.class);
+    when(mockReporter.getInputSplit()).thenReturn(new FileSplit(inputFile, 0, length, (String[]) null));
+    return mockReporter;
+  }
+
   private Reporter createMockReporterWithCount(long countToReturn) {
     Reporter mockReporter = mock(Reporter.class);
     Counters.Counter mockCounter = mock(Counters.Counter.class);
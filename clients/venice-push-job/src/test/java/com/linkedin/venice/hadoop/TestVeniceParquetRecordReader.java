@@ -0,0 +1,116 @@
+package com.linkedin.venice.hadoop;
+
+import static com.linkedin.venice.hadoop.VenicePushJob.SCHEMA_STRING_PROP;
+
+import com.linkedin.avroutil1.compatibility.AvroCompatibilityHelper;
+import com.linkedin.venice.etl.ETLValueSchemaTransformation;
+import com.linkedin.venice.hadoop.exceptions.VeniceSchemaFieldNotFoundException;
+import com.linkedin.venice.serialization.avro.VeniceAvroKafkaSerializer;
+import com.linkedin.venice.utils.Pair;
+import com.linkedin.venice.utils.Utils;
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.generic.IndexedRecord;
+import org.apache.avro.mapred.AvroWrapper;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapred.FileInputFormat;
+import org.apache.hadoop.mapred.InputSplit;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.RecordReader;
+import org.apache.hadoop.mapred.Reporter;
+import org.apache.parquet.avro.AvroParquetWriter;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class TestVeniceParquetRecordReader {
+  private static final String FILE_SCHEMA_STRING = "{\"type\": \"record\", \"name\": \"TestRecord\", \"fields\": ["
+      + "{\"name\": \"key\", \"type\": \"string\"}, {\"name\": \"unused\", \"type\": \"string\"}, "
+      + "{\"name\": \"value\", \"type\": \"int\"}]}";
+  private static final Schema FILE_SCHEMA = AvroCompatibilityHelper.parse(FILE_SCHEMA_STRING);
+  private static final int RECORD_COUNT = 10;
+
+  @Test
+  public void testOnlyTheKeyAndValueFieldsAreRead() throws IOException {
+    Path inputFile = writeParquetFile(Utils.getTempDataDirectory());
+    FileSystem fs = inputFile.getFileSystem(new Configuration());
+    Assert.assertTrue(VeniceParquetRecordReader.isParquetFile(fs, inputFile));
+
+    try (VeniceParquetRecordReader recordReader =
+        new VeniceParquetRecordReader(null, "key", "value", fs, inputFile, ETLValueSchemaTransformation.NONE)) {
+      Schema fileSchema = recordReader.getFileSchema();
+      Assert.assertEquals(fileSchema.getFields().size(), 2);
+      Assert.assertNull(fileSchema.getField("unused"));
+
+      VeniceAvroKafkaSerializer keySerializer = new VeniceAvroKafkaSerializer("\"string\"");
+      VeniceAvroKafkaSerializer valueSerializer = new VeniceAvroKafkaSerializer("\"int\"");
+      Iterator<Pair<byte[], byte[]>> iterator = recordReader.iterator();
+      for (int i = 0; i < RECORD_COUNT; i++) {
+        Assert.assertTrue(iterator.hasNext());
+        Pair<byte[], byte[]> record = iterator.next();
+        Assert.assertEquals(record.getFirst(), keySerializer.serialize(null, "key" + i));
+        Assert.assertEquals(record.getSecond(), valueSerializer.serialize(null, i));
+      }
+      Assert.assertFalse(iterator.hasNext());
+    }
+
+    Assert.assertThrows(
+        VeniceSchemaFieldNotFoundException.class,
+        () -> VeniceParquetRecordReader.getProjectedFileSchema(fs, inputFile, "key", "missing"));
+  }
+
+  @Test
+  public void testInputFormatReadsTheProjectedRecords() throws IOException {
+    File inputDir = Utils.getTempDataDirectory();
+    Path inputFile = writeParquetFile(inputDir);
+    FileSystem fs = inputFile.getFileSystem(new Configuration());
+    Schema projectedSchema = VeniceParquetRecordReader.getProjectedFileSchema(fs, inputFile, "key", "value");
+    JobConf job = new JobConf();
+    FileInputFormat.setInputPaths(job, new Path(inputDir.toURI()));
+    job.set(SCHEMA_STRING_PROP, projectedSchema.toString());
+
+    VeniceParquetInputFormat inputFormat = new VeniceParquetInputFormat();
+    int recordCount = 0;
+    for (InputSplit split: inputFormat.getSplits(job, 1)) {
+      RecordReader<AvroWrapper<IndexedRecord>, NullWritable> recordReader =
+          inputFormat.getRecordReader(split, job, Reporter.NULL);
+      try {
+        AvroWrapper<IndexedRecord> key = recordReader.createKey();
+        NullWritable value = recordReader.createValue();
+        while (recordReader.next(key, value)) {
+          GenericRecord record = (GenericRecord) key.datum();
+          Assert.assertEquals(record.getSchema(), projectedSchema);
+          Assert.assertEquals(record.get("key").toString(), "key" + recordCount);
+          Assert.assertEquals(record.get("value"), recordCount);
+          recordCount++;
+        }
+      } finally {
+        recordReader.close();
+      }
+    }
+    Assert.assertEquals(recordCount, RECORD_COUNT);
+  }
+
+  private Path writeParquetFile(File dir) throws IOException {
+    Path file = new Path(new File(dir, "input.parquet").toURI());
+    try (ParquetWriter<GenericRecord> writer =
+        AvroParquetWriter.<GenericRecord>builder(file).withSchema(FILE_SCHEMA).build()) {
+      for (int i = 0; i < RECORD_COUNT; i++) {
+        GenericRecord record = new GenericData.Record(FILE_SCHEMA);
+        record.put("key", "key" + i);
+        record.put("unused", new String(new char[100]).replace('\0', 'x'));
+        record.put("value", i);
+        writer.write(record);
+      }
+    }
+    return file;
+  }
+}
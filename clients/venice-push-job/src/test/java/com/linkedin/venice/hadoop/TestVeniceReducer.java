@@ -5,11 +5,14 @@ import static com.linkedin.venice.hadoop.MRJobCounterHelper.TOTAL_VALUE_SIZE_GRO
 import static com.linkedin.venice.hadoop.VenicePushJob.ALLOW_DUPLICATE_KEY;
 import static com.linkedin.venice.hadoop.VenicePushJob.DERIVED_SCHEMA_ID_PROP;
 import static com.linkedin.venice.hadoop.VenicePushJob.ENABLE_WRITE_COMPUTE;
+import static com.linkedin.venice.hadoop.VenicePushJob.REDUCER_PIPELINED_PRODUCING_ENABLED;
+import static com.linkedin.venice.hadoop.VenicePushJob.REDUCER_PIPELINE_MAX_IN_FLIGHT_RECORDS;
 import static com.linkedin.venice.hadoop.VenicePushJob.STORAGE_QUOTA_PROP;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyInt;
 import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -407,6 +410,62 @@ public class TestVeniceReducer extends AbstractTestVeniceMR {
     verify(mockCollector, never()).collect(any(), any());
   }
 
+  @Test
+  public void testReduceWithPipelinedProducing() throws IOException {
+    List<String> producedKeys = Collections.synchronizedList(new ArrayList<>());
+    AbstractVeniceWriter mockWriter = mock(AbstractVeniceWriter.class);
+    doAnswer(invocation -> {
+      producedKeys.add(new String((byte[]) invocation.getArgument(0)));
+      PubSubProducerCallback callback = invocation.getArgument(3);
+      callback.onCompletion(new SimplePubSubProduceResultImpl(TOPIC_NAME, TASK_ID, producedKeys.size(), 1), null);
+      return null;
+    }).when(mockWriter).put(any(), any(), anyInt(), any(), any());
+    VeniceReducer reducer = new VeniceReducer();
+    reducer.setVeniceWriter(mockWriter);
+    JobConf jobConf = setupJobConf();
+    jobConf.setBoolean(REDUCER_PIPELINED_PRODUCING_ENABLED, true);
+    jobConf.setInt(REDUCER_PIPELINE_MAX_IN_FLIGHT_RECORDS, 2);
+    reducer.configure(jobConf);
+
+    OutputCollector mockCollector = mock(OutputCollector.class);
+    Reporter mockReporter = createZeroCountReporterMock();
+    when(mockReporter.getProgress()).thenReturn(1.0f);
+    List<String> keys = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      keys.add("test_key_" + i);
+      BytesWritable keyWritable = new BytesWritable(keys.get(i).getBytes());
+      List<BytesWritable> values = Collections.singletonList(new BytesWritable("test_value".getBytes()));
+      reducer.reduce(keyWritable, values.iterator(), mockCollector, mockReporter);
+    }
+    reducer.close();
+
+    // The records are produced in the order of the reducer input
+    Assert.assertEquals(producedKeys, keys);
+    verify(mockReporter, times(100)).incrCounter(
+        MRJobCounterHelper.OUTPUT_RECORD_COUNT_GROUP_COUNTER_NAME.getGroupName(),
+        MRJobCounterHelper.OUTPUT_RECORD_COUNT_GROUP_COUNTER_NAME.getCounterName(),
+        1);
+    verify(mockWriter).close(true);
+  }
+
+  @Test
+  public void testReduceWithPipelinedProducingFailure() {
+    AbstractVeniceWriter mockWriter = mock(AbstractVeniceWriter.class);
+    when(mockWriter.put(any(), any(), anyInt(), any(), any())).thenThrow(new VeniceException("expected exception"));
+    VeniceReducer reducer = new VeniceReducer();
+    reducer.setVeniceWriter(mockWriter);
+    JobConf jobConf = setupJobConf();
+    jobConf.setBoolean(REDUCER_PIPELINED_PRODUCING_ENABLED, true);
+    reducer.configure(jobConf);
+
+    BytesWritable keyWritable = new BytesWritable("test_key".getBytes());
+    List<BytesWritable> values = Collections.singletonList(new BytesWritable("test_value".getBytes()));
+    reducer.reduce(keyWritable, values.iterator(), mock(OutputCollector.class), createZeroCountReporterMock());
+    // The failure of the producing thread is rethrown to the reducer once it closes, at the latest
+    Assert.assertThrows(VeniceException.class, reducer::close);
+    verify(mockWriter).close(false);
+  }
+
   @Test
   public void testReduceWithDifferentReporters() {
     AbstractVeniceWriter mockWriter = mock(AbstractVeniceWriter.class);
@@ -4,22 +4,33 @@ import static com.linkedin.venice.hadoop.VenicePushJob.FILE_KEY_SCHEMA;
 import static com.linkedin.venice.hadoop.VenicePushJob.FILE_VALUE_SCHEMA;
 import static com.linkedin.venice.hadoop.VenicePushJob.KEY_FIELD_PROP;
 import static com.linkedin.venice.hadoop.VenicePushJob.VALUE_FIELD_PROP;
+import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import com.linkedin.venice.hadoop.exceptions.VeniceInconsistentSchemaException;
 import com.linkedin.venice.schema.vson.VsonAvroSchemaAdapter;
 import com.linkedin.venice.schema.vson.VsonAvroSerializer;
 import com.linkedin.venice.serialization.avro.VeniceAvroKafkaSerializer;
 import com.linkedin.venice.utils.Pair;
+import com.linkedin.venice.utils.Utils;
 import com.linkedin.venice.utils.VeniceProperties;
+import java.io.File;
 import java.io.IOException;
 import java.util.HashMap;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapred.FileSplit;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.hadoop.mapred.OutputCollector;
+import org.apache.hadoop.mapred.Reporter;
 import org.mockito.ArgumentCaptor;
 import org.testng.Assert;
 import org.testng.annotations.BeforeTest;
@@ -98,6 +109,27 @@ public class TestVeniceVsonMapper extends AbstractTestVeniceMapper<VeniceVsonMap
         valueSerializer.serialize("fake_topic", valueRecord.get("userId")));
   }
 
+  @Test
+  public void testMapValidatesInputFileSchema() throws IOException {
+    File inputDir = Utils.getTempDataDirectory();
+    Path inputFile = writeVsonFile(inputDir, "input", fileKeySchemaStr, fileValueSchemaStr);
+    Path inconsistentInputFile =
+        writeVsonFile(inputDir, "inconsistent_input", fileKeySchemaStr, "{\"userId\": \"int32\"}");
+    Pair<BytesWritable, BytesWritable> record = generateRecord();
+    OutputCollector<BytesWritable, BytesWritable> collector = mock(OutputCollector.class);
+
+    VeniceVsonMapper mapper =
+        getMapper(1, 1, jobConf -> jobConf.setBoolean(VenicePushJob.VALIDATE_INPUT_FILE_SCHEMA_IN_MAPPER, true));
+    mapper.map(record.getFirst(), record.getSecond(), collector, createMockReporterOfSplit(inputFile));
+    verify(collector).collect(any(), any());
+
+    Reporter reporter = createMockReporterOfSplit(inconsistentInputFile);
+    Assert.assertThrows(
+        VeniceInconsistentSchemaException.class,
+        () -> mapper.map(record.getFirst(), record.getSecond(), collector, reporter));
+    verify(collector).collect(any(), any());
+  }
+
   @Override
   protected JobConf setupJobConf(int numReducers, int taskId) {
     JobConf jobConf = super.setupJobConf(numReducers, taskId);
@@ -129,4 +161,29 @@ public class TestVeniceVsonMapper extends AbstractTestVeniceMapper<VeniceVsonMap
 
     return new Pair<>(keyBytes, valueBytes);
   }
+
+  private Path writeVsonFile(File dir, String fileName, String keySchemaStr, String valueSchemaStr)
+      throws IOException {
+    SequenceFile.Metadata metadata = new SequenceFile.Metadata();
+    metadata.set(new Text(FILE_KEY_SCHEMA), new Text(keySchemaStr));
+    metadata.set(new Text(FILE_VALUE_SCHEMA), new Text(valueSchemaStr));
+    Path file = new Path(new File(dir, fileName).toURI());
+    try (SequenceFile.Writer writer = SequenceFile.createWriter(
+        new Configuration(),
+        SequenceFile.Writer.file(file),
+        SequenceFile.Writer.keyClass(BytesWritable.class),
+        SequenceFile.Writer.valueClass(BytesWritable.class),
+        SequenceFile.Writer.metadata(metadata))) {
+      Pair<BytesWritable, BytesWritable> record = generateRecord();
+      writer.append(record.getFirst(), record.getSecond());
+    }
+    return file;
+  }
+
+  private Reporter createMockReporterOfSplit(Path inputFile) throws IOException {
+    long length = inputFile.getFileSystem(new Configuration()).getFileStatus(inputFile).getLen();
+    Reporter mockReporter = mock(Reporter.class);
+    when(mockReporter.getInputSplit()).thenReturn(new FileSplit(inputFile, 0, length, (String[]) null));
+    return mockReporter;
+  }
 }
@@ -0,0 +1,69 @@
+package com.linkedin.venice.hadoop;
+
+import com.linkedin.venice.utils.ByteUtils;
+import java.util.Random;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class TestZstdDictReservoirSampler {
+  private static final int VALUE_SIZE = 10;
+
+  private static byte[] getValue(int index) {
+    byte[] value = new byte[VALUE_SIZE];
+    ByteUtils.writeInt(value, index, 0);
+    return value;
+  }
+
+  private static int getIndex(byte[] value) {
+    return ByteUtils.readInt(value, 0);
+  }
+
+  @Test
+  public void testKeepsAllValuesWithinBudget() {
+    ZstdDictReservoirSampler sampler = new ZstdDictReservoirSampler(100 * VALUE_SIZE, new Random(0));
+    for (int i = 0; i < 50; i++) {
+      sampler.add(getValue(i));
+    }
+    sampler.add(null);
+    sampler.add(new byte[0]);
+    Assert.assertEquals(sampler.getSampleCount(), 50);
+    Assert.assertEquals(sampler.getSampleSize(), 50 * VALUE_SIZE);
+    for (int i = 0; i < 50; i++) {
+      Assert.assertEquals(getIndex(sampler.getSamples().get(i)), i);
+    }
+  }
+
+  @Test
+  public void testSamplesBeyondBudget() {
+    int capacity = 100;
+    int valueCount = 10000;
+    ZstdDictReservoirSampler sampler = new ZstdDictReservoirSampler(capacity * VALUE_SIZE, new Random(0));
+    for (int i = 0; i < valueCount; i++) {
+      sampler.add(getValue(i));
+    }
+    Assert.assertEquals(sampler.getSampleCount(), capacity);
+    Assert.assertEquals(sampler.getSampleSize(), capacity * VALUE_SIZE);
+
+    // Expect about as many values from each half of the input, rather than only the first values
+    int secondHalfCount = 0;
+    for (byte[] sample: sampler.getSamples()) {
+      if (getIndex(sample) >= valueCount / 2) {
+        secondHalfCount++;
+      }
+    }
+    Assert.assertTrue(secondHalfCount > capacity / 4 && secondHalfCount < capacity * 3 / 4, "Got " + secondHalfCount);
+  }
+
+  @Test
+  public void testNeverExceedsBudget() {
+    int maxSampleSize = 1000;
+    Random random = new Random(0);
+    ZstdDictReservoirSampler sampler = new ZstdDictReservoirSampler(maxSampleSize, random);
+    for (int i = 0; i < 1000; i++) {
+      sampler.add(new byte[1 + random.nextInt(50)]);
+      Assert.assertTrue(sampler.getSampleSize() <= maxSampleSize);
+    }
+    Assert.assertTrue(sampler.getSampleCount() > 0);
+  }
+}
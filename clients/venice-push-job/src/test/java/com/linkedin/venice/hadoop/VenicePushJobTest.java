@@ -37,11 +37,15 @@ import com.linkedin.venice.meta.Version;
 import com.linkedin.venice.meta.VersionImpl;
 import com.linkedin.venice.utils.TestWriteUtils;
 import com.linkedin.venice.utils.VeniceProperties;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Properties;
 import java.util.Set;
 import java.util.function.Consumer;
 import org.apache.avro.Schema;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.Path;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -425,4 +429,22 @@ public class VenicePushJobTest {
     assertFalse(VenicePushJob.evaluateCompressionMetricCollectionEnabled(pushJobSetting, false));
 
   }
+
+  @Test
+  public void testGetRetiredSstFilePushStagingDirs() {
+    String storeName = "test_store";
+    Path stagingDir = new Path("/staging");
+    FileStatus[] stagingDirs = new FileStatus[] {
+        new FileStatus(0, true, 1, 0, 0, new Path(stagingDir, Version.composeKafkaTopic(storeName, 1))),
+        new FileStatus(0, true, 1, 0, 0, new Path(stagingDir, Version.composeKafkaTopic(storeName, 2))),
+        new FileStatus(0, true, 1, 0, 0, new Path(stagingDir, Version.composeKafkaTopic(storeName, 3))),
+        // The staging dirs of the other stores, and anything which is not a staging dir, are left alone
+        new FileStatus(0, true, 1, 0, 0, new Path(stagingDir, Version.composeKafkaTopic("other_store", 1))),
+        new FileStatus(0, true, 1, 0, 0, new Path(stagingDir, storeName)),
+        new FileStatus(0, false, 1, 0, 0, new Path(stagingDir, Version.composeKafkaTopic(storeName, 4))) };
+    assertEquals(
+        VenicePushJob
+            .getRetiredSstFilePushStagingDirs(stagingDirs, storeName, new HashSet<>(Arrays.asList(2, 3))),
+        Collections.singletonList(new Path(stagingDir, Version.composeKafkaTopic(storeName, 1))));
+  }
 }
@@ -0,0 +1,176 @@
+package com.linkedin.venice.hadoop.input.kafka;
+
+import static com.linkedin.venice.hadoop.input.kafka.TestKafkaInputKeyComparator.getBytesWritable;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import com.linkedin.venice.hadoop.input.kafka.avro.KafkaInputMapperValue;
+import com.linkedin.venice.hadoop.input.kafka.avro.MapperValueType;
+import com.linkedin.venice.kafka.protocol.GUID;
+import com.linkedin.venice.serialization.KeyWithChunkingSuffixSerializer;
+import com.linkedin.venice.serialization.avro.AvroProtocolDefinition;
+import com.linkedin.venice.serialization.avro.ChunkedKeySuffixSerializer;
+import com.linkedin.venice.serialization.avro.ChunkedValueManifestSerializer;
+import com.linkedin.venice.serializer.FastSerializerDeserializerFactory;
+import com.linkedin.venice.serializer.RecordDeserializer;
+import com.linkedin.venice.serializer.RecordSerializer;
+import com.linkedin.venice.storage.protocol.ChunkId;
+import com.linkedin.venice.storage.protocol.ChunkedKeySuffix;
+import com.linkedin.venice.storage.protocol.ChunkedValueManifest;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.OutputCollector;
+import org.apache.hadoop.mapred.Reporter;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class TestKafkaInputSplitCompactor {
+  private static final int VALUE_SCHEMA_ID = 1;
+  private static final RecordSerializer<KafkaInputMapperValue> KAFKA_INPUT_MAPPER_VALUE_SERIALIZER =
+      FastSerializerDeserializerFactory.getFastAvroGenericSerializer(KafkaInputMapperValue.SCHEMA$);
+  private static final RecordDeserializer<KafkaInputMapperValue> KAFKA_INPUT_MAPPER_VALUE_DESERIALIZER =
+      FastSerializerDeserializerFactory
+          .getFastAvroSpecificDeserializer(KafkaInputMapperValue.SCHEMA$, KafkaInputMapperValue.class);
+  private static final ChunkedKeySuffixSerializer CHUNKED_KEY_SUFFIX_SERIALIZER = new ChunkedKeySuffixSerializer();
+  private static final KeyWithChunkingSuffixSerializer KEY_WITH_CHUNKING_SUFFIX_SERIALIZER =
+      new KeyWithChunkingSuffixSerializer();
+  private static final ChunkedValueManifestSerializer CHUNKED_VALUE_MANIFEST_SERIALIZER =
+      new ChunkedValueManifestSerializer(true);
+
+  private final List<KafkaInputMapperValue> collectedValues = new ArrayList<>();
+  private int collectedSprayRecordCount = 0;
+  private final OutputCollector<BytesWritable, BytesWritable> output = (key, value) -> {
+    if (key.getLength() == 0) {
+      collectedSprayRecordCount++;
+    } else {
+      collectedValues.add(KAFKA_INPUT_MAPPER_VALUE_DESERIALIZER.deserialize(value.copyBytes()));
+    }
+  };
+
+  @Test
+  public void testOnlyTheLatestWriteOfEachKeyIsKept() throws IOException {
+    Reporter reporter = mock(Reporter.class);
+    byte[] key1 = "key1".getBytes();
+    byte[] key2 = "key2".getBytes();
+    try (KafkaInputSplitCompactor compactor = new KafkaInputSplitCompactor(new JobConf(), false, false, 1024 * 1024)) {
+      compactor.setOutput(output);
+      compactor.collect(getBytesWritable(key1, 0), createValue(0, MapperValueType.PUT, VALUE_SCHEMA_ID));
+      compactor.collect(getBytesWritable(key2, 1), createValue(1, MapperValueType.PUT, VALUE_SCHEMA_ID));
+      compactor.collect(getBytesWritable(key1, 2), createValue(2, MapperValueType.PUT, VALUE_SCHEMA_ID));
+      compactor.collect(getBytesWritable(key2, 3), createValue(3, MapperValueType.PUT, VALUE_SCHEMA_ID));
+      compactor.collect(getBytesWritable(key1, 4), createValue(4, MapperValueType.DELETE, -1));
+      // The records spraying all the partitions are passed through right away
+      compactor.collect(new BytesWritable(), new BytesWritable(new byte[Integer.BYTES]));
+      Assert.assertEquals(collectedSprayRecordCount, 1);
+      Assert.assertTrue(collectedValues.isEmpty());
+
+      compactor.compact(reporter);
+    }
+    // The deletes are kept as well, since the other splits of the partition may contain older values of the key
+    Assert.assertEquals(getOffsets(), Arrays.asList(4L, 3L));
+    Assert.assertEquals(collectedValues.get(0).valueType, MapperValueType.DELETE);
+    verify(reporter).incrCounter(anyString(), eq("Repush split compaction dropped count"), eq(3L));
+  }
+
+  @Test
+  public void testChunksWhichMayBelongToAnotherSplitAreKept() throws IOException {
+    Reporter reporter = mock(Reporter.class);
+    byte[] key = "key".getBytes();
+    List<BytesWritable> values = new ArrayList<>();
+    // A chunk whose manifest is not in the split
+    values.add(createChunk(0, createChunkedKeySuffix(1, 0)));
+    // A large value which gets superseded
+    values.addAll(createLargeValue(key, 1, 2));
+    // The latest large value
+    values.addAll(createLargeValue(key, 4, 3));
+    // A chunk of a large value whose manifest is in a later split
+    values.add(createChunk(7, createChunkedKeySuffix(5, 0)));
+
+    try (KafkaInputSplitCompactor compactor = new KafkaInputSplitCompactor(new JobConf(), true, false, 1024 * 1024)) {
+      compactor.setOutput(output);
+      for (int offset = 0; offset < values.size(); offset++) {
+        compactor.collect(getBytesWritable(key, offset), values.get(offset));
+      }
+      compactor.compact(reporter);
+    }
+    Assert.assertEquals(getOffsets(), Arrays.asList(7L, 6L, 5L, 4L, 0L));
+    verify(reporter).incrCounter(anyString(), eq("Repush split compaction dropped count"), eq(3L));
+  }
+
+  private List<Long> getOffsets() {
+    List<Long> offsets = new ArrayList<>();
+    for (KafkaInputMapperValue value: collectedValues) {
+      offsets.add(value.offset);
+    }
+    return offsets;
+  }
+
+  /**
+   * @return the chunks of a large value, starting at {@param offset}, followed by its manifest
+   */
+  private List<BytesWritable> createLargeValue(byte[] key, long offset, int sequenceNumber) {
+    List<BytesWritable> values = new ArrayList<>();
+    ChunkedValueManifest manifest = new ChunkedValueManifest();
+    manifest.keysWithChunkIdSuffix = new ArrayList<>();
+    manifest.schemaId = VALUE_SCHEMA_ID;
+    for (int chunkIndex = 0; chunkIndex < 2; chunkIndex++) {
+      ChunkedKeySuffix chunkedKeySuffix = createChunkedKeySuffix(sequenceNumber, chunkIndex);
+      values.add(createChunk(offset++, chunkedKeySuffix));
+      manifest.keysWithChunkIdSuffix
+          .add(KEY_WITH_CHUNKING_SUFFIX_SERIALIZER.serializeChunkedKey(key, chunkedKeySuffix));
+      manifest.size += 1;
+    }
+    KafkaInputMapperValue manifestValue = new KafkaInputMapperValue();
+    manifestValue.valueType = MapperValueType.PUT;
+    manifestValue.offset = offset;
+    manifestValue.schemaId = AvroProtocolDefinition.CHUNKED_VALUE_MANIFEST.getCurrentProtocolVersion();
+    manifestValue.value = ByteBuffer.wrap(CHUNKED_VALUE_MANIFEST_SERIALIZER.serialize("", manifest));
+    manifestValue.replicationMetadataPayload = ByteBuffer.wrap(new byte[0]);
+    values.add(serialize(manifestValue));
+    return values;
+  }
+
+  private BytesWritable createChunk(long offset, ChunkedKeySuffix chunkedKeySuffix) {
+    KafkaInputMapperValue chunk = new KafkaInputMapperValue();
+    chunk.valueType = MapperValueType.PUT;
+    chunk.offset = offset;
+    chunk.schemaId = AvroProtocolDefinition.CHUNK.getCurrentProtocolVersion();
+    chunk.value = ByteBuffer.wrap(new byte[] { (byte) offset });
+    chunk.chunkedKeySuffix = ByteBuffer.wrap(CHUNKED_KEY_SUFFIX_SERIALIZER.serialize("", chunkedKeySuffix));
+    chunk.replicationMetadataPayload = ByteBuffer.wrap(new byte[0]);
+    return serialize(chunk);
+  }
+
+  private ChunkedKeySuffix createChunkedKeySuffix(int sequenceNumber, int chunkIndex) {
+    ChunkId chunkId = new ChunkId();
+    chunkId.segmentNumber = 0;
+    chunkId.messageSequenceNumber = sequenceNumber;
+    chunkId.chunkIndex = chunkIndex;
+    chunkId.producerGUID = new GUID();
+    ChunkedKeySuffix chunkedKeySuffix = new ChunkedKeySuffix();
+    chunkedKeySuffix.chunkId = chunkId;
+    return chunkedKeySuffix;
+  }
+
+  private BytesWritable createValue(long offset, MapperValueType valueType, int schemaId) {
+    KafkaInputMapperValue value = new KafkaInputMapperValue();
+    value.valueType = valueType;
+    value.offset = offset;
+    value.schemaId = schemaId;
+    value.value = ByteBuffer.wrap(valueType == MapperValueType.PUT ? "value".getBytes() : new byte[0]);
+    value.replicationMetadataPayload = ByteBuffer.wrap(new byte[0]);
+    return serialize(value);
+  }
+
+  private BytesWritable serialize(KafkaInputMapperValue value) {
+    return new BytesWritable(KAFKA_INPUT_MAPPER_VALUE_SERIALIZER.serialize(value));
+  }
+}
@@ -0,0 +1,192 @@
+package com.linkedin.venice.hadoop.spark;
+
+import com.linkedin.venice.ConfigKeys;
+import com.linkedin.venice.hadoop.AbstractMapReduceTask;
+import com.linkedin.venice.hadoop.VeniceMRPartitioner;
+import com.linkedin.venice.partitioner.DefaultVenicePartitioner;
+import com.linkedin.venice.utils.Utils;
+import com.linkedin.venice.utils.VeniceProperties;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.io.WritableComparator;
+import org.apache.hadoop.mapred.Counters;
+import org.apache.hadoop.mapred.FileInputFormat;
+import org.apache.hadoop.mapred.FileSplit;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.MapReduceBase;
+import org.apache.hadoop.mapred.Mapper;
+import org.apache.hadoop.mapred.OutputCollector;
+import org.apache.hadoop.mapred.Reducer;
+import org.apache.hadoop.mapred.Reporter;
+import org.apache.hadoop.mapred.RunningJob;
+import org.apache.hadoop.mapred.TaskAttemptID;
+import org.apache.hadoop.mapred.TextInputFormat;
+import org.apache.hadoop.mapred.lib.NullOutputFormat;
+import org.apache.spark.SparkConf;
+import org.apache.spark.api.java.JavaSparkContext;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+
+public class TestSparkJobClientWrapper {
+  private static final String COUNTER_GROUP = "test";
+  private static final int PARTITION_COUNT = 4;
+  // The reducers run within the same JVM as the test, with the local master
+  private static final AtomicInteger CLOSED_REDUCER_COUNT = new AtomicInteger();
+
+  private JavaSparkContext sparkContext;
+  private SparkJobClientWrapper jobClientWrapper;
+
+  @BeforeClass
+  public void setUp() {
+    SparkConf sparkConf = new SparkConf().setMaster("local[2]").setAppName(TestSparkJobClientWrapper.class.getName());
+    sparkContext = new JavaSparkContext(sparkConf);
+    jobClientWrapper = new SparkJobClientWrapper(sparkContext);
+  }
+
+  @AfterClass
+  public void cleanUp() {
+    jobClientWrapper.close();
+    sparkContext.stop();
+  }
+
+  @Test
+  public void testCloseDoesNotStopAContextCreatedElsewhere() {
+    // The context of the test is already running, so the wrapper gets it rather than creating its own
+    new SparkJobClientWrapper(VeniceProperties.empty()).close();
+    Assert.assertFalse(sparkContext.sc().isStopped());
+
+    new SparkJobClientWrapper(sparkContext).close();
+    Assert.assertFalse(sparkContext.sc().isStopped());
+  }
+
+  @Test
+  public void testMapReduceJob() throws IOException {
+    File inputDir = Utils.getTempDataDirectory();
+    int distinctKeyCount = 100;
+    List<String> lines = new ArrayList<>();
+    for (int i = 0; i < distinctKeyCount; i++) {
+      lines.add("key" + i);
+      if (i % 10 == 0) {
+        lines.add("key" + i);
+      }
+    }
+    Files.write(new File(inputDir, "input1.txt").toPath(), lines.subList(0, lines.size() / 2));
+    Files.write(new File(inputDir, "input2.txt").toPath(), lines.subList(lines.size() / 2, lines.size()));
+
+    RunningJob runningJob = jobClientWrapper.runJobWithConfig(createJobConf(inputDir));
+    Assert.assertTrue(runningJob.isSuccessful());
+    Assert.assertEquals(runningJob.getJobName(), "test-job");
+    Counters counters = runningJob.getCounters();
+    Assert.assertEquals(counters.findCounter(COUNTER_GROUP, "mapped").getValue(), lines.size());
+    Assert.assertEquals(counters.findCounter(COUNTER_GROUP, "split").getValue(), lines.size());
+    Assert.assertEquals(counters.findCounter(COUNTER_GROUP, "keys").getValue(), distinctKeyCount);
+    Assert.assertEquals(counters.findCounter(COUNTER_GROUP, "values").getValue(), lines.size());
+    Assert.assertEquals(counters.findCounter(COUNTER_GROUP, "unsorted").getValue(), 0);
+    Assert.assertEquals(counters.findCounter(COUNTER_GROUP, "misrouted").getValue(), 0);
+    Assert.assertEquals(counters.findCounter(COUNTER_GROUP, "closed").getValue(), PARTITION_COUNT);
+  }
+
+  @Test
+  public void testReducersOfEmptyPartitionsAreClosed() throws IOException {
+    File inputDir = Utils.getTempDataDirectory();
+    Files.write(new File(inputDir, "input.txt").toPath(), Collections.singletonList("key"));
+
+    int closedReducerCount = CLOSED_REDUCER_COUNT.get();
+    RunningJob runningJob = jobClientWrapper.runJobWithConfig(createJobConf(inputDir));
+    Assert.assertTrue(runningJob.isSuccessful());
+    Assert.assertEquals(runningJob.getCounters().findCounter(COUNTER_GROUP, "keys").getValue(), 1);
+    // Only one reducer gets any record, but all of them get closed, like with MapReduce
+    Assert.assertEquals(CLOSED_REDUCER_COUNT.get() - closedReducerCount, PARTITION_COUNT);
+  }
+
+  private JobConf createJobConf(File inputDir) {
+    JobConf jobConf = new JobConf();
+    jobConf.setJobName("test-job");
+    FileInputFormat.setInputPaths(jobConf, new Path(inputDir.getAbsolutePath()));
+    jobConf.setInputFormat(TextInputFormat.class);
+    jobConf.setMapperClass(TestMapper.class);
+    jobConf.setPartitionerClass(VeniceMRPartitioner.class);
+    jobConf.set(ConfigKeys.PARTITIONER_CLASS, DefaultVenicePartitioner.class.getName());
+    jobConf.setReducerClass(TestReducer.class);
+    jobConf.setNumReduceTasks(PARTITION_COUNT);
+    jobConf.setOutputFormat(NullOutputFormat.class);
+    return jobConf;
+  }
+
+  public static class TestMapper extends MapReduceBase
+      implements Mapper<LongWritable, Text, BytesWritable, BytesWritable> {
+    @Override
+    public void map(
+        LongWritable offset,
+        Text line,
+        OutputCollector<BytesWritable, BytesWritable> output,
+        Reporter reporter) throws IOException {
+      byte[] key = line.toString().getBytes(StandardCharsets.UTF_8);
+      output.collect(new BytesWritable(key), new BytesWritable(new byte[] { 1 }));
+      reporter.incrCounter(COUNTER_GROUP, "mapped", 1);
+      if (reporter.getInputSplit() instanceof FileSplit) {
+        reporter.incrCounter(COUNTER_GROUP, "split", 1);
+      }
+    }
+  }
+
+  public static class TestReducer extends MapReduceBase
+      implements Reducer<BytesWritable, BytesWritable, NullWritable, NullWritable> {
+    private final DefaultVenicePartitioner venicePartitioner = new DefaultVenicePartitioner();
+    private int partition;
+    private byte[] previousKey;
+    private Reporter reporter;
+
+    @Override
+    public void configure(JobConf job) {
+      partition =
+          TaskAttemptID.forName(job.get(AbstractMapReduceTask.MAPRED_TASK_ID_PROP_NAME)).getTaskID().getId();
+    }
+
+    @Override
+    public void reduce(
+        BytesWritable key,
+        Iterator<BytesWritable> values,
+        OutputCollector<NullWritable, NullWritable> output,
+        Reporter reporter) {
+      this.reporter = reporter;
+      byte[] keyBytes = key.copyBytes();
+      if (previousKey != null
+          && WritableComparator.compareBytes(previousKey, 0, previousKey.length, keyBytes, 0, keyBytes.length) >= 0) {
+        reporter.incrCounter(COUNTER_GROUP, "unsorted", 1);
+      }
+      if (venicePartitioner.getPartitionId(keyBytes, PARTITION_COUNT) != partition) {
+        reporter.incrCounter(COUNTER_GROUP, "misrouted", 1);
+      }
+      previousKey = keyBytes;
+      reporter.incrCounter(COUNTER_GROUP, "keys", 1);
+      while (values.hasNext()) {
+        values.next();
+        reporter.incrCounter(COUNTER_GROUP, "values", 1);
+      }
+    }
+
+    @Override
+    public void close() {
+      CLOSED_REDUCER_COUNT.incrementAndGet();
+      if (reporter != null && reporter.getProgress() == 1.0) {
+        reporter.incrCounter(COUNTER_GROUP, "closed", 1);
+      }
+    }
+  }
+}
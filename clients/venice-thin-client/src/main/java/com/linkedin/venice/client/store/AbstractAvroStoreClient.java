@@ -27,11 +27,15 @@ import com.linkedin.venice.client.store.transport.TransportClientResponse;
 import com.linkedin.venice.client.store.transport.TransportClientStreamingCallback;
 import com.linkedin.venice.compression.CompressionStrategy;
 import com.linkedin.venice.compression.CompressorFactory;
+import com.linkedin.venice.compression.VeniceCompressor;
 import com.linkedin.venice.compute.ComputeRequestWrapper;
 import com.linkedin.venice.compute.protocol.response.ComputeResponseRecordV1;
 import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.exceptions.VeniceNoStoreException;
+import com.linkedin.venice.read.protocol.request.router.ScanRequestV1;
 import com.linkedin.venice.read.protocol.response.MultiGetResponseRecordV1;
+import com.linkedin.venice.read.protocol.response.ScanResponseRecordV1;
+import com.linkedin.venice.read.protocol.response.ScanResponseV1;
 import com.linkedin.venice.read.protocol.response.streaming.StreamingFooterRecordV1;
 import com.linkedin.venice.schema.SchemaData;
 import com.linkedin.venice.schema.SchemaReader;
@@ -52,6 +56,7 @@ import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -78,6 +83,7 @@ public abstract class AbstractAvroStoreClient<K, V> extends InternalAvroStoreCli
   private static final Logger LOGGER = LogManager.getLogger(AbstractAvroStoreClient.class);
   public static final String TYPE_STORAGE = "storage";
   public static final String TYPE_COMPUTE = "compute";
+  public static final String TYPE_SCAN = "scan";
   public static final String B64_FORMAT = "?f=b64";
 
   private static final Map<String, String> GET_HEADER_MAP = new HashMap<>();
@@ -87,6 +93,7 @@ public abstract class AbstractAvroStoreClient<K, V> extends InternalAvroStoreCli
   private static final Map<String, String> COMPUTE_HEADER_MAP_V3 = new HashMap<>();
   static final Map<String, String> COMPUTE_HEADER_MAP_FOR_STREAMING_V2;
   static final Map<String, String> COMPUTE_HEADER_MAP_FOR_STREAMING_V3;
+  private static final Map<String, String> SCAN_HEADER_MAP = new HashMap<>();
 
   static {
     /**
@@ -127,6 +134,13 @@ public abstract class AbstractAvroStoreClient<K, V> extends InternalAvroStoreCli
     COMPUTE_HEADER_MAP_FOR_STREAMING_V3 = new HashMap<>(COMPUTE_HEADER_MAP_V3);
     COMPUTE_HEADER_MAP_FOR_STREAMING_V3.put(HttpConstants.VENICE_STREAMING, "1");
 
+    SCAN_HEADER_MAP.put(
+        HttpConstants.VENICE_API_VERSION,
+        Integer.toString(ReadAvroProtocolDefinition.SCAN_REQUEST_V1.getProtocolVersion()));
+    SCAN_HEADER_MAP.put(
+        HttpConstants.VENICE_SUPPORTED_COMPRESSION_STRATEGY,
+        Integer.toString(CompressionStrategy.GZIP.getValue()));
+
     AvroVersion version = AvroCompatibilityHelperCommon.getRuntimeAvroVersion();
     LOGGER.info("Detected: {} on the classpath.", version);
   }
@@ -137,11 +151,15 @@ public abstract class AbstractAvroStoreClient<K, V> extends InternalAvroStoreCli
   private SchemaReader schemaReader;
   // Key serializer
   protected volatile RecordSerializer<K> keySerializer;
+  // Key deserializer, for the keys returned by scans
+  private RecordDeserializer<K> keyDeserializer;
   // Multi-get request serializer
   protected RecordSerializer<ByteBuffer> multiGetRequestSerializer;
   protected RecordSerializer<ByteBuffer> computeRequestClientKeySerializer;
 
   private RecordDeserializer<StreamingFooterRecordV1> streamingFooterRecordDeserializer;
+  private RecordSerializer<ScanRequestV1> scanRequestSerializer;
+  private RecordDeserializer<ScanResponseV1> scanResponseDeserializer;
 
   private TransportClient transportClient;
   private final Executor deserializationExecutor;
@@ -150,6 +168,7 @@ public abstract class AbstractAvroStoreClient<K, V> extends InternalAvroStoreCli
   private final CompressorFactory compressorFactory;
   private final String storageRequestPath;
   private final String computeRequestPath;
+  private final String scanRequestPath;
 
   private volatile boolean isServiceDiscovered;
 
@@ -205,6 +224,7 @@ public abstract class AbstractAvroStoreClient<K, V> extends InternalAvroStoreCli
     this.compressorFactory = new CompressorFactory();
     this.storageRequestPath = TYPE_STORAGE + "/" + clientConfig.getStoreName();
     this.computeRequestPath = TYPE_COMPUTE + "/" + clientConfig.getStoreName();
+    this.scanRequestPath = TYPE_SCAN + "/" + clientConfig.getStoreName();
   }
 
   @Override
@@ -396,6 +416,18 @@ public abstract class AbstractAvroStoreClient<K, V> extends InternalAvroStoreCli
                 .getFastAvroSpecificDeserializer(StreamingFooterRecordV1.SCHEMA$, StreamingFooterRecordV1.class)
             : SerializerDeserializerFactory
                 .getAvroSpecificDeserializer(StreamingFooterRecordV1.SCHEMA$, StreamingFooterRecordV1.class);
+        // init scan serializers
+        this.scanRequestSerializer = getClientConfig().isUseFastAvro()
+            ? FastSerializerDeserializerFactory.getAvroGenericSerializer(ScanRequestV1.SCHEMA$)
+            : SerializerDeserializerFactory.getAvroGenericSerializer(ScanRequestV1.SCHEMA$);
+        this.scanResponseDeserializer = getClientConfig().isUseFastAvro()
+            ? FastSerializerDeserializerFactory
+                .getFastAvroSpecificDeserializer(ScanResponseV1.SCHEMA$, ScanResponseV1.class)
+            : SerializerDeserializerFactory.getAvroSpecificDeserializer(ScanResponseV1.SCHEMA$, ScanResponseV1.class);
+        Schema keySchema = getSchemaReader().getKeySchema();
+        this.keyDeserializer = getClientConfig().isUseFastAvro()
+            ? FastSerializerDeserializerFactory.getFastAvroGenericDeserializer(keySchema, keySchema)
+            : SerializerDeserializerFactory.getAvroGenericDeserializer(keySchema, keySchema);
         /**
          * It is intentional to initialize {@link keySerializer} at last, so that other serializers are ready to use
          * once {@link keySerializer} is ready.
@@ -499,6 +531,56 @@ public abstract class AbstractAvroStoreClient<K, V> extends InternalAvroStoreCli
     return valueFuture;
   }
 
+  /**
+   * Fetches the pages through the routers, which keep track of the position of the scan in the continuation token, and
+   * which decompress the values when the client does not support their compression strategy.
+   */
+  @Override
+  public CompletableFuture<ScanPage<K, V>> scanByKeyPrefix(byte[] keyPrefix, String continuationToken)
+      throws VeniceClientException {
+    // Makes sure that the serializers are initialized
+    getKeySerializerForRequest();
+    Map<String, String> headerMap = SCAN_HEADER_MAP;
+    if (continuationToken != null) {
+      headerMap = new HashMap<>(SCAN_HEADER_MAP);
+      headerMap.put(HttpConstants.VENICE_SCAN_CONTINUATION_TOKEN, continuationToken);
+    }
+    ScanRequestV1 scanRequest = new ScanRequestV1();
+    scanRequest.keyPrefix = keyPrefix == null ? null : ByteBuffer.wrap(keyPrefix);
+    // The key to resume after is held by the continuation token, and the limits of the page are left to the server
+    scanRequest.resumeAfterKey = null;
+    scanRequest.maxPageSizeInBytes = 0;
+    scanRequest.maxPageTimeInMs = 0;
+    byte[] serializedScanRequest = scanRequestSerializer.serialize(scanRequest);
+
+    Map<String, String> finalHeaderMap = headerMap;
+    return requestSubmissionWithStatsHandling(
+        Optional.empty(),
+        System.nanoTime(),
+        true,
+        () -> transportClient.post(scanRequestPath, finalHeaderMap, serializedScanRequest),
+        (response, throwable, responseCompleteReporter) -> {
+          if (throwable != null) {
+            throw (throwable instanceof VeniceClientException)
+                ? (VeniceClientException) throwable
+                : new VeniceClientException("Failed to scan store: " + getStoreName(), throwable);
+          }
+          if (response == null) {
+            throw new VeniceClientException("Store: " + getStoreName() + " is not found while scanning it");
+          }
+          ScanResponseV1 scanResponse = scanResponseDeserializer.deserialize(response.getBody());
+          Map<K, V> records = new LinkedHashMap<>(scanResponse.records.size());
+          for (ScanResponseRecordV1 record: scanResponse.records) {
+            K key = keyDeserializer.deserialize(record.key);
+            ByteBuffer value = decompressRecord(response.getCompressionStrategy(), record.value);
+            RecordDeserializer<V> deserializer = getDataRecordDeserializer(record.schemaId);
+            records.put(key, tryToDeserialize(deserializer, value, record.schemaId, key));
+          }
+          responseCompleteReporter.report();
+          return new ScanPage<>(records, response.getScanContinuationToken());
+        });
+  }
+
   private byte[] serializeMultiGetRequest(List<K> keyList) {
     List<ByteBuffer> serializedKeyList = new ArrayList<>(keyList.size());
     RecordSerializer<K> keySerializer = getKeySerializerForRequest();
@@ -818,7 +900,7 @@ public abstract class AbstractAvroStoreClient<K, V> extends InternalAvroStoreCli
 
   private ByteBuffer decompressRecord(CompressionStrategy compressionStrategy, ByteBuffer data) {
     try {
-      return compressorFactory.getCompressor(compressionStrategy).decompress(data);
+      return decompressIntoSizedBuffer(compressorFactory.getCompressor(compressionStrategy), data);
     } catch (IOException e) {
       throw new VeniceClientException(
           String.format("Unable to decompress the record, compressionStrategy=%d", compressionStrategy.getValue()),
@@ -826,6 +908,25 @@ public abstract class AbstractAvroStoreClient<K, V> extends InternalAvroStoreCli
     }
   }
 
+  /**
+   * Decompresses into a buffer of the exact size read from the header of the payload when the compressor can tell
+   * it, which lets {@link com.linkedin.venice.compression.ZstdWithDictCompressor} decompress straight into it with a
+   * context borrowed from its pool. Falls back to {@link VeniceCompressor#decompress(ByteBuffer)} otherwise.
+   */
+  public static ByteBuffer decompressIntoSizedBuffer(VeniceCompressor compressor, ByteBuffer data) throws IOException {
+    int decompressedSize = compressor.getDecompressedSize(data);
+    if (decompressedSize < 0) {
+      return compressor.decompress(data);
+    }
+    ByteBuffer output = ByteBuffer.allocate(decompressedSize);
+    int actualSize = compressor.decompress(data, output);
+    if (actualSize != decompressedSize) {
+      throw new IOException(
+          "The decompressed payload size (" + actualSize + ") is not as expected (" + decompressedSize + ").");
+    }
+    return output;
+  }
+
   private interface DeserializerFunc<ENVELOPE, V> {
     V deserialize(ENVELOPE envelope, CompressionStrategy compressionStrategy);
   }
@@ -98,6 +98,23 @@ public interface AvroGenericStoreClient<K, V> extends Closeable {
             + "or VeniceGenericStoreClientFactory#createInstance() to generate a Venice avro generic client");
   }
 
+  /**
+   * Fetches the next page of the records whose serialized key starts with the given prefix, one partition of the
+   * current version after the other. The size of each page is bounded by the storage nodes. A scan which started on a
+   * version fails if the current version changes before it completes, in which case it should be restarted.
+   *
+   * The fast client fetches the pages from the storage nodes directly, while the thin client fetches them through the
+   * routers.
+   *
+   * @param keyPrefix the prefix of the serialized keys, or null to scan all the records
+   * @param continuationToken the token of the previous page, or null to start a new scan
+   */
+  @Experimental
+  default CompletableFuture<ScanPage<K, V>> scanByKeyPrefix(byte[] keyPrefix, String continuationToken)
+      throws VeniceClientException {
+    throw new VeniceClientException("'scanByKeyPrefix' is not supported.");
+  }
+
   void start() throws VeniceClientException;
 
   /**
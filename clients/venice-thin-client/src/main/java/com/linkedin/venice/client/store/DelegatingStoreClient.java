@@ -82,6 +82,12 @@ public class DelegatingStoreClient<K, V> extends InternalAvroStoreClient<K, V> {
     innerStoreClient.streamingBatchGet(keys, callback);
   }
 
+  @Override
+  public CompletableFuture<ScanPage<K, V>> scanByKeyPrefix(byte[] keyPrefix, String continuationToken)
+      throws VeniceClientException {
+    return innerStoreClient.scanByKeyPrefix(keyPrefix, continuationToken);
+  }
+
   @Override
   public void start() throws VeniceClientException {
     innerStoreClient.start();
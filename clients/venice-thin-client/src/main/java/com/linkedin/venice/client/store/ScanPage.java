@@ -0,0 +1,31 @@
+package com.linkedin.venice.client.store;
+
+import java.util.Map;
+
+
+/**
+ * One page of a key prefix scan, see {@link AvroGenericStoreClient#scanByKeyPrefix}. The records are ordered by their
+ * serialized keys within a partition. The continuation token is opaque to the caller, and is null once all the
+ * partitions have been scanned.
+ */
+public class ScanPage<K, V> {
+  private final Map<K, V> records;
+  private final String continuationToken;
+
+  public ScanPage(Map<K, V> records, String continuationToken) {
+    this.records = records;
+    this.continuationToken = continuationToken;
+  }
+
+  public Map<K, V> getRecords() {
+    return records;
+  }
+
+  public String getContinuationToken() {
+    return continuationToken;
+  }
+
+  public boolean hasMore() {
+    return continuationToken != null;
+  }
+}
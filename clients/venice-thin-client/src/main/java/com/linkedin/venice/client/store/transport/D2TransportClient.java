@@ -399,11 +399,13 @@ public class D2TransportClient extends TransportClient {
         compressionStrategy = CompressionStrategy.valueOf(Integer.parseInt(compressionHeader));
       }
 
+      String scanContinuationToken = result.getHeader(HttpConstants.VENICE_SCAN_CONTINUATION_TOKEN);
+
       /**
        * TODO: consider to pass back {@link java.io.InputStream} instead of making a copy of response bytes
        */
       byte[] body = result.getEntity().copyBytes();
-      completeFuture(statusCode, schemaId, compressionStrategy, body);
+      completeFuture(statusCode, schemaId, compressionStrategy, body, scanContinuationToken);
     }
   }
 
@@ -178,6 +178,10 @@ public class HttpTransportClient extends TransportClient {
         compressionStrategy = CompressionStrategy.valueOf(Integer.parseInt(compressionHeader.getValue()));
       }
 
+      Header scanContinuationTokenHeader = result.getFirstHeader(HttpConstants.VENICE_SCAN_CONTINUATION_TOKEN);
+      String scanContinuationToken =
+          scanContinuationTokenHeader == null ? null : scanContinuationTokenHeader.getValue();
+
       byte[] body;
       try (InputStream bodyStream = result.getEntity().getContent()) {
         body = IOUtils.toByteArray(bodyStream);
@@ -186,7 +190,7 @@ public class HttpTransportClient extends TransportClient {
         return;
       }
 
-      completeFuture(statusCode, schemaId, compressionStrategy, body);
+      completeFuture(statusCode, schemaId, compressionStrategy, body, scanContinuationToken);
     }
   }
 
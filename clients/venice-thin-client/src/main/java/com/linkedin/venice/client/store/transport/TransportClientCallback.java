@@ -23,8 +23,17 @@ public class TransportClientCallback {
   }
 
   public void completeFuture(int statusCode, int schemaId, CompressionStrategy compressionStrategy, byte[] body) {
+    completeFuture(statusCode, schemaId, compressionStrategy, body, null);
+  }
+
+  public void completeFuture(
+      int statusCode,
+      int schemaId,
+      CompressionStrategy compressionStrategy,
+      byte[] body,
+      String scanContinuationToken) {
     if ((statusCode < 300 && statusCode >= 200)) {
-      valueFuture.complete(new TransportClientResponse(schemaId, compressionStrategy, body));
+      valueFuture.complete(new TransportClientResponse(schemaId, compressionStrategy, body, scanContinuationToken));
     } else if (statusCode == HttpStatus.SC_NOT_FOUND) {
       valueFuture.complete(null);
     } else {
@@ -3,6 +3,7 @@ package com.linkedin.venice.client.store.transport;
 import com.linkedin.venice.compression.CompressionStrategy;
 import com.linkedin.venice.schema.SchemaData;
 import java.util.Arrays;
+import java.util.Objects;
 
 
 /**
@@ -12,11 +13,21 @@ public class TransportClientResponse {
   private int schemaId;
   private CompressionStrategy compressionStrategy;
   private byte[] body;
+  private String scanContinuationToken;
 
   public TransportClientResponse(int schemaId, CompressionStrategy compressionStrategy, byte[] body) {
+    this(schemaId, compressionStrategy, body, null);
+  }
+
+  public TransportClientResponse(
+      int schemaId,
+      CompressionStrategy compressionStrategy,
+      byte[] body,
+      String scanContinuationToken) {
     this.schemaId = schemaId;
     this.compressionStrategy = compressionStrategy;
     this.body = body;
+    this.scanContinuationToken = scanContinuationToken;
   }
 
   public int getSchemaId() {
@@ -31,6 +42,14 @@ public class TransportClientResponse {
     return this.body;
   }
 
+  /**
+   * @return the token of the next page of a key prefix scan served by the routers, or null if the scan is over or if
+   *         this is not the response of a scan
+   */
+  public String getScanContinuationToken() {
+    return this.scanContinuationToken;
+  }
+
   public boolean isSchemaIdValid() {
     return schemaId != SchemaData.INVALID_VALUE_SCHEMA_ID;
   }
@@ -46,7 +65,7 @@ public class TransportClientResponse {
 
     TransportClientResponse that = (TransportClientResponse) o;
     return schemaId == that.schemaId && compressionStrategy == that.compressionStrategy
-        && Arrays.equals(body, that.body);
+        && Arrays.equals(body, that.body) && Objects.equals(scanContinuationToken, that.scanContinuationToken);
   }
 
   @Override
@@ -54,6 +73,7 @@ public class TransportClientResponse {
     int result = schemaId;
     result = 31 * result + compressionStrategy.getValue();
     result = 31 * result + Arrays.hashCode(body);
+    result = 31 * result + Objects.hashCode(scanContinuationToken);
     return result;
   }
 }
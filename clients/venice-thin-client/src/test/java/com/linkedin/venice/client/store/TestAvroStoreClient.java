@@ -1,6 +1,7 @@
 package com.linkedin.venice.client.store;
 
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyMap;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.eq;
@@ -8,6 +9,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
 import com.linkedin.avroutil1.compatibility.AvroCompatibilityHelper;
+import com.linkedin.venice.HttpConstants;
 import com.linkedin.venice.client.exceptions.VeniceClientException;
 import com.linkedin.venice.client.schema.RouterBackedSchemaReader;
 import com.linkedin.venice.client.store.schemas.TestKeyRecord;
@@ -17,16 +19,23 @@ import com.linkedin.venice.client.store.transport.TransportClient;
 import com.linkedin.venice.client.store.transport.TransportClientResponse;
 import com.linkedin.venice.client.utils.StoreClientTestUtils;
 import com.linkedin.venice.compression.CompressionStrategy;
+import com.linkedin.venice.read.protocol.response.ScanResponseRecordV1;
+import com.linkedin.venice.read.protocol.response.ScanResponseV1;
+import com.linkedin.venice.serializer.FastSerializerDeserializerFactory;
 import com.linkedin.venice.serializer.RecordDeserializer;
 import com.linkedin.venice.utils.Utils;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Base64;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
 import org.apache.avro.specific.SpecificData;
+import org.mockito.ArgumentCaptor;
 import org.testng.Assert;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeClass;
@@ -138,6 +147,54 @@ public class TestAvroStoreClient {
     specificStoreClient.close();
   }
 
+  @Test(dependsOnMethods = { "testStartClient" })
+  public void testScanByKeyPrefix() throws Exception {
+    Map schemas = new HashMap<>();
+    schemas.put(1, TestValueRecord.SCHEMA$.toString());
+    byte[] multiSchemasInBytes = StoreClientTestUtils.constructMultiSchemaResponseInBytes(STORE_NAME, schemas);
+    setupSchemaResponse(multiSchemasInBytes, RouterBackedSchemaReader.TYPE_VALUE_SCHEMA + "/" + STORE_NAME);
+    setupSchemaResponse(1, TestValueRecord.SCHEMA$);
+    genericStoreClient.start();
+
+    TestKeyRecord testKey = new TestKeyRecord();
+    testKey.long_field = 1l;
+    testKey.string_field = "key";
+    TestValueRecord testValue = new TestValueRecord();
+    testValue.long_field = 2l;
+    testValue.string_field = "value";
+    ScanResponseRecordV1 record = new ScanResponseRecordV1();
+    record.key = ByteBuffer.wrap(StoreClientTestUtils.serializeRecord(testKey, TestKeyRecord.SCHEMA$));
+    record.value = ByteBuffer.wrap(StoreClientTestUtils.serializeRecord(testValue, TestValueRecord.SCHEMA$));
+    record.schemaId = 1;
+    ScanResponseV1 scanResponse = new ScanResponseV1();
+    scanResponse.records = Collections.singletonList(record);
+    byte[] scanResponseInBytes =
+        FastSerializerDeserializerFactory.getFastAvroGenericSerializer(ScanResponseV1.SCHEMA$).serialize(scanResponse);
+
+    // The router returns the token of the next page, which the client passes back as it is
+    CompletableFuture<TransportClientResponse> transportFuture = new CompletableFuture<>();
+    transportFuture.complete(
+        new TransportClientResponse(1, CompressionStrategy.NO_OP, scanResponseInBytes, "next-page-token"));
+    ArgumentCaptor<Map> headerCaptor = ArgumentCaptor.forClass(Map.class);
+    doReturn(transportFuture).when(mockTransportClient)
+        .post(eq(AbstractAvroStoreClient.TYPE_SCAN + "/" + STORE_NAME), headerCaptor.capture(), any());
+
+    ScanPage<GenericRecord, GenericRecord> page =
+        (ScanPage<GenericRecord, GenericRecord>) genericStoreClient.scanByKeyPrefix(new byte[] { 1 }, null).get();
+    Assert.assertFalse(headerCaptor.getValue().containsKey(HttpConstants.VENICE_SCAN_CONTINUATION_TOKEN));
+    Assert.assertTrue(page.hasMore());
+    Assert.assertEquals(page.getContinuationToken(), "next-page-token");
+    Assert.assertEquals(page.getRecords().size(), 1);
+    Map.Entry<GenericRecord, GenericRecord> entry = page.getRecords().entrySet().iterator().next();
+    Assert.assertEquals(entry.getKey().get("string_field").toString(), "key");
+    Assert.assertEquals(entry.getValue().get("long_field"), 2l);
+    Assert.assertEquals(entry.getValue().get("string_field").toString(), "value");
+
+    genericStoreClient.scanByKeyPrefix(new byte[] { 1 }, page.getContinuationToken()).get();
+    Assert.assertEquals(headerCaptor.getValue().get(HttpConstants.VENICE_SCAN_CONTINUATION_TOKEN), "next-page-token");
+    verify(mockTransportClient, atLeast(2)).post(any(), anyMap(), any());
+  }
+
   private void setupSchemaResponse(int schemaId, Schema schema) throws IOException {
     byte[] schemaResponseInBytes =
         StoreClientTestUtils.constructSchemaResponseInBytes(STORE_NAME, schemaId, schema.toString());
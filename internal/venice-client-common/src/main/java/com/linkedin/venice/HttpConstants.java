@@ -35,6 +35,8 @@ public class HttpConstants {
 
   public static final String VENICE_ALLOW_REDIRECT = "X-VENICE-ALLOW-REDIRECT";
 
+  public static final String VENICE_SCAN_CONTINUATION_TOKEN = "X-VENICE-SCAN-CONTINUATION-TOKEN";
+
   public static final int SC_MISDIRECTED_REQUEST = 421;
 
   private HttpConstants() {
@@ -38,6 +38,11 @@ public class NoopCompressor extends VeniceCompressor {
     return ByteBuffer.wrap(data, offset, length);
   }
 
+  @Override
+  public int getDecompressedSize(ByteBuffer data) {
+    return data.remaining();
+  }
+
   @Override
   public InputStream decompress(InputStream inputStream) throws IOException {
     return inputStream;
@@ -21,6 +21,29 @@ public abstract class VeniceCompressor implements Closeable {
 
   public abstract ByteBuffer decompress(byte[] data, int offset, int length) throws IOException;
 
+  /**
+   * @return the size of the decompressed payload, if it can be known without decompressing it, or -1 otherwise.
+   */
+  public int getDecompressedSize(ByteBuffer data) {
+    return -1;
+  }
+
+  /**
+   * Decompresses the remaining bytes of {@param data} into {@param output}, starting at the position of the latter,
+   * so that the caller can provide a pooled or direct output buffer instead of having one allocated for each call.
+   * The positions of both buffers are left unchanged.
+   *
+   * The default implementation decompresses into a temporary buffer and copies the result.
+   *
+   * @return the number of decompressed bytes written into {@param output}.
+   */
+  public int decompress(ByteBuffer data, ByteBuffer output) throws IOException {
+    ByteBuffer decompressed = decompress(data.duplicate());
+    int size = decompressed.remaining();
+    output.duplicate().put(decompressed.duplicate());
+    return size;
+  }
+
   public CompressionStrategy getCompressionStrategy() {
     return compressionStrategy;
   }
@@ -3,6 +3,7 @@ package com.linkedin.venice.compression;
 import static com.linkedin.venice.utils.ByteUtils.BYTES_PER_KB;
 import static com.linkedin.venice.utils.ByteUtils.BYTES_PER_MB;
 
+import com.github.luben.zstd.RecyclingBufferPool;
 import com.github.luben.zstd.Zstd;
 import com.github.luben.zstd.ZstdCompressCtx;
 import com.github.luben.zstd.ZstdDecompressCtx;
@@ -20,18 +21,27 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.commons.io.IOUtils;
 
 
+/**
+ * Decompression contexts are kept in a pool shared by all threads rather than in thread locals, since the number of
+ * threads decompressing values (e.g. virtual threads, or short-lived client threads) is not bounded, while the number
+ * of concurrent decompressions is. Each context holds a native copy of the digested dictionary, so this bounds the
+ * native memory used by this compressor to the peak concurrency. Decompressing once closed fails rather than
+ * allocating a context which would never be freed.
+ */
 public class ZstdWithDictCompressor extends VeniceCompressor {
   private final CloseableThreadLocal<ZstdCompressCtx> compressor;
-  private final CloseableThreadLocal<ZstdDecompressCtx> decompressor;
+  private final ConcurrentLinkedQueue<ZstdDecompressCtx> decompressorPool = new ConcurrentLinkedQueue<>();
   private final ZstdDictCompress dictCompress;
   private final ZstdDictDecompress dictDecompress;
   private final byte[] dictionary;
   private final int level;
+  private volatile boolean closed = false;
 
   public ZstdWithDictCompressor(final byte[] dictionary, int level) {
     super(CompressionStrategy.ZSTD_WITH_DICT);
@@ -40,7 +50,6 @@ public class ZstdWithDictCompressor extends VeniceCompressor {
     this.dictCompress = new ZstdDictCompress(dictionary, level);
     this.dictDecompress = new ZstdDictDecompress(dictionary);
     this.compressor = new CloseableThreadLocal<>(() -> new ZstdCompressCtx().loadDict(dictCompress).setLevel(level));
-    this.decompressor = new CloseableThreadLocal<>(() -> new ZstdDecompressCtx().loadDict(dictDecompress));
   }
 
   @Override
@@ -87,13 +96,18 @@ public class ZstdWithDictCompressor extends VeniceCompressor {
   public ByteBuffer decompress(ByteBuffer data) throws IOException {
     if (data.hasRemaining()) {
       if (data.hasArray()) {
-        return decompress(data.array(), data.position(), data.remaining());
+        return decompress(data.array(), data.arrayOffset() + data.position(), data.remaining());
       } else if (data.isDirect()) {
         int expectedSize = validateExpectedDecompressedSize(Zstd.decompressedSize(data));
         ByteBuffer output = ByteBuffer.allocateDirect(expectedSize);
-        int actualSize = decompressor.get().decompress(output, data);
+        ZstdDecompressCtx ctx = borrowDecompressor();
+        try {
+          int actualSize = ctx.decompress(output, data);
+          validateActualDecompressedSize(actualSize, expectedSize);
+        } finally {
+          releaseDecompressor(ctx);
+        }
         output.position(0);
-        validateActualDecompressedSize(actualSize, expectedSize);
         return output;
       } else {
         throw new IllegalArgumentException("The passed in ByteBuffer must be either direct or be backed by an array!");
@@ -107,28 +121,109 @@ public class ZstdWithDictCompressor extends VeniceCompressor {
   public ByteBuffer decompress(byte[] data, int offset, int length) throws IOException {
     int expectedSize = validateExpectedDecompressedSize(Zstd.decompressedSize(data, offset, length));
     ByteBuffer returnedData = ByteBuffer.allocate(expectedSize);
-    int actualSize = decompressor.get()
-        .decompressByteArray(
-            returnedData.array(),
-            returnedData.position(),
-            returnedData.remaining(),
-            data,
-            offset,
-            length);
-    validateActualDecompressedSize(actualSize, expectedSize);
+    ZstdDecompressCtx ctx = borrowDecompressor();
+    try {
+      int actualSize = ctx.decompressByteArray(
+          returnedData.array(),
+          returnedData.position(),
+          returnedData.remaining(),
+          data,
+          offset,
+          length);
+      validateActualDecompressedSize(actualSize, expectedSize);
+    } finally {
+      releaseDecompressor(ctx);
+    }
     returnedData.position(0);
     return returnedData;
   }
 
+  /**
+   * The size is read from the frame header, which {@link #compress} always populates.
+   */
+  @Override
+  public int getDecompressedSize(ByteBuffer data) {
+    long size;
+    if (!data.hasRemaining()) {
+      return -1;
+    } else if (data.isDirect()) {
+      size = Zstd.decompressedSize(data);
+    } else if (data.hasArray()) {
+      size = Zstd.decompressedSize(data.array(), data.arrayOffset() + data.position(), data.remaining());
+    } else {
+      return -1;
+    }
+    return (size <= 0 || size > Integer.MAX_VALUE) ? -1 : (int) size;
+  }
+
+  /**
+   * When both buffers are direct, or both are backed by an array, the payload is decompressed in place into
+   * {@param output} without any intermediate copy. Otherwise, this falls back to the default implementation.
+   */
+  @Override
+  public int decompress(ByteBuffer data, ByteBuffer output) throws IOException {
+    boolean direct = data.isDirect() && output.isDirect();
+    boolean heap = data.hasArray() && output.hasArray();
+    if (!direct && !heap) {
+      return super.decompress(data, output);
+    }
+    ZstdDecompressCtx ctx = borrowDecompressor();
+    try {
+      if (direct) {
+        return ctx.decompressDirectByteBuffer(
+            output,
+            output.position(),
+            output.remaining(),
+            data,
+            data.position(),
+            data.remaining());
+      }
+      return ctx.decompressByteArray(
+          output.array(),
+          output.arrayOffset() + output.position(),
+          output.remaining(),
+          data.array(),
+          data.arrayOffset() + data.position(),
+          data.remaining());
+    } finally {
+      releaseDecompressor(ctx);
+    }
+  }
+
   @Override
   public InputStream decompress(InputStream inputStream) throws IOException {
-    return new ZstdInputStream(inputStream).setDict(this.dictDecompress);
+    // Recycle the internal buffers of the stream, which are otherwise allocated for every value.
+    return new ZstdInputStream(inputStream, RecyclingBufferPool.INSTANCE).setDict(this.dictDecompress);
+  }
+
+  private ZstdDecompressCtx borrowDecompressor() {
+    if (closed) {
+      throw new IllegalStateException("Cannot decompress with a closed " + getClass().getSimpleName());
+    }
+    ZstdDecompressCtx ctx = decompressorPool.poll();
+    return ctx != null ? ctx : new ZstdDecompressCtx().loadDict(dictDecompress);
+  }
+
+  private void releaseDecompressor(ZstdDecompressCtx ctx) {
+    decompressorPool.offer(ctx);
+    if (closed) {
+      // Close may have drained the pool before this context got returned to it.
+      closeDecompressors();
+    }
+  }
+
+  private void closeDecompressors() {
+    ZstdDecompressCtx ctx;
+    while ((ctx = decompressorPool.poll()) != null) {
+      ctx.close();
+    }
   }
 
   @Override
   public void close() throws IOException {
     this.compressor.close();
-    this.decompressor.close();
+    this.closed = true;
+    closeDecompressors();
     IOUtils.closeQuietly(this.dictCompress);
     IOUtils.closeQuietly(this.dictDecompress);
   }
@@ -0,0 +1,71 @@
+package com.linkedin.venice.read;
+
+import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.utils.EncodingUtils;
+
+
+/**
+ * The position of a key prefix scan: the version being scanned, the partition being scanned and the last key which has
+ * been returned in that partition, if any. It travels between the pages of a scan as an opaque continuation token,
+ * which is built by the fast client when it scans the storage nodes directly, and by the routers for the thin client.
+ */
+public final class ScanPosition {
+  private static final String TOKEN_SEPARATOR = ":";
+
+  private final int version;
+  private final int partition;
+  private final byte[] resumeAfterKey;
+
+  public ScanPosition(int version, int partition, byte[] resumeAfterKey) {
+    this.version = version;
+    this.partition = partition;
+    this.resumeAfterKey = resumeAfterKey;
+  }
+
+  public int getVersion() {
+    return version;
+  }
+
+  public int getPartition() {
+    return partition;
+  }
+
+  /**
+   * @return the last key returned in the partition, or null if the partition is to be scanned from its start
+   */
+  public byte[] getResumeAfterKey() {
+    return resumeAfterKey;
+  }
+
+  /**
+   * @param continuationKey the continuation key of the page which was just fetched at this position, if any
+   * @return the position of the next page, or null if all the partitions have been scanned
+   */
+  public ScanPosition next(byte[] continuationKey, int partitionCount) {
+    if (continuationKey != null) {
+      return new ScanPosition(version, partition, continuationKey);
+    }
+    if (partition + 1 < partitionCount) {
+      return new ScanPosition(version, partition + 1, null);
+    }
+    return null;
+  }
+
+  public String toToken() {
+    return version + TOKEN_SEPARATOR + partition + TOKEN_SEPARATOR
+        + (resumeAfterKey == null ? "" : EncodingUtils.base64EncodeToString(resumeAfterKey));
+  }
+
+  public static ScanPosition fromToken(String token) {
+    String[] tokenParts = token.split(TOKEN_SEPARATOR, -1);
+    if (tokenParts.length != 3) {
+      throw new VeniceException("Invalid scan continuation token: " + token);
+    }
+    try {
+      byte[] resumeAfterKey = tokenParts[2].isEmpty() ? null : EncodingUtils.base64DecodeFromString(tokenParts[2]);
+      return new ScanPosition(Integer.parseInt(tokenParts[0]), Integer.parseInt(tokenParts[1]), resumeAfterKey);
+    } catch (IllegalArgumentException e) {
+      throw new VeniceException("Invalid scan continuation token: " + token, e);
+    }
+  }
+}
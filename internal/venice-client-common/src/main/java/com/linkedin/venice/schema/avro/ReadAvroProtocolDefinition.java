@@ -8,7 +8,9 @@ import com.linkedin.venice.compute.protocol.request.router.ComputeRouterRequestK
 import com.linkedin.venice.compute.protocol.response.ComputeResponseRecordV1;
 import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.read.protocol.request.router.MultiGetRouterRequestKeyV1;
+import com.linkedin.venice.read.protocol.request.router.ScanRequestV1;
 import com.linkedin.venice.read.protocol.response.MultiGetResponseRecordV1;
+import com.linkedin.venice.read.protocol.response.ScanResponseV1;
 import java.util.Optional;
 import org.apache.avro.Schema;
 import org.apache.avro.specific.SpecificRecord;
@@ -86,7 +88,17 @@ public enum ReadAvroProtocolDefinition {
    */
   COMPUTE_ROUTER_REQUEST_V1(
       1, Optional.of(ComputeRouterRequestKeyV1.class), Optional.of(ComputeRouterRequestKeyV1.SCHEMA$)
-  );
+  ),
+
+  /**
+   * Request for one page of a key prefix scan of a single partition v1.
+   */
+  SCAN_REQUEST_V1(1, Optional.of(ScanRequestV1.class), Optional.of(ScanRequestV1.SCHEMA$)),
+
+  /**
+   * Response for one page of a key prefix scan of a single partition v1.
+   */
+  SCAN_RESPONSE_V1(1, Optional.of(ScanResponseV1.class), Optional.of(ScanResponseV1.SCHEMA$));
 
   /**
    * Current version being used.
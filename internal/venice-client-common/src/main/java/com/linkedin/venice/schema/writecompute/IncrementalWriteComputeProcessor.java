@@ -0,0 +1,154 @@
+package com.linkedin.venice.schema.writecompute;
+
+import static com.linkedin.venice.schema.writecompute.WriteComputeOperation.LIST_OPS;
+import static com.linkedin.venice.schema.writecompute.WriteComputeOperation.MAP_OPS;
+import static com.linkedin.venice.schema.writecompute.WriteComputeOperation.NO_OP_ON_FIELD;
+
+import com.linkedin.avroutil1.compatibility.AvroCompatibilityHelper;
+import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.serializer.AvroBinaryCursor;
+import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
+import io.tehuti.utils.Utils;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import javax.annotation.concurrent.ThreadSafe;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.DeterministicMapOrderGenericDatumWriter;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DatumReader;
+import org.apache.avro.io.DatumWriter;
+
+
+/**
+ * This class applies partial update (write-compute) operations directly on the serialized bytes of the current value,
+ * instead of deserializing the whole value into a {@link GenericRecord}, updating it and serializing it back as
+ * {@link WriteComputeProcessor} does.
+ *
+ * The current value bytes are scanned field by field with {@link AvroBinaryCursor}:
+ *
+ * 1. Fields which are not touched by the update are copied verbatim.
+ * 2. Fields which are overwritten by a partial put are encoded from the update, without decoding the old field value.
+ * 3. Fields with collection merging operations (list or map ops) are the only ones which get decoded. The operation
+ *    is then applied with the same logic as {@link WriteComputeHandlerV1}, and the result is re-encoded.
+ *
+ * The output is byte-identical to the one of {@link WriteComputeProcessor#updateRecord} followed by a serialization
+ * with {@link DeterministicMapOrderGenericDatumWriter}. To preserve this property, untouched fields whose encoding is
+ * not canonical (see {@link AvroBinaryCursor}) are decoded and re-encoded instead of being copied.
+ *
+ * The cost of an update is therefore proportional to the size of the updated fields, plus a cheap scan of the rest
+ * of the value, rather than to a full deserialization and serialization of the value.
+ *
+ * Notice: the current value bytes must have been serialized with the given value schema. Values written with another
+ * schema should go through {@link WriteComputeProcessor}, which takes care of schema evolution.
+ */
+@ThreadSafe
+public class IncrementalWriteComputeProcessor {
+  private static final ThreadLocal<ReusableObjects> REUSABLE_OBJECTS = ThreadLocal.withInitial(ReusableObjects::new);
+
+  private final WriteComputeHandlerV1 fieldUpdateHandler = new WriteComputeHandlerV1();
+  private final Map<Schema, DatumReader<Object>> fieldReaders = new VeniceConcurrentHashMap<>();
+  private final Map<Schema, DatumWriter<Object>> fieldWriters = new VeniceConcurrentHashMap<>();
+
+  private static class ReusableObjects {
+    final AvroBinaryCursor cursor = new AvroBinaryCursor();
+    final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    final BinaryEncoder encoder = AvroCompatibilityHelper.newBinaryEncoder(outputStream, true, null);
+    BinaryDecoder decoder = null;
+  }
+
+  /**
+   * Apply write-compute operations on the serialized value.
+   *
+   * @param valueSchema the schema which the current value bytes have been serialized with, and which the write compute
+   *                    schema is derived from.
+   * @param currValueBytes serialized current value, which must not be null. The buffer position is left unchanged.
+   * @param writeComputeRecord the partial update to apply.
+   * @return the serialized updated value.
+   */
+  public byte[] updateRecordBytes(Schema valueSchema, ByteBuffer currValueBytes, GenericRecord writeComputeRecord) {
+    Utils.notNull(valueSchema);
+    Utils.notNull(currValueBytes);
+    Utils.notNull(writeComputeRecord);
+    if (valueSchema.getType() != Schema.Type.RECORD) {
+      throw new IllegalStateException("Expect a Record value schema. Got: " + valueSchema);
+    }
+    if (!WriteComputeOperation.isPartialUpdateOp(writeComputeRecord)) {
+      throw new IllegalStateException(
+          "Write Compute only support partial update. Got unexpected Write Compute record: " + writeComputeRecord);
+    }
+
+    final byte[] bytes;
+    final int offset;
+    if (currValueBytes.hasArray()) {
+      bytes = currValueBytes.array();
+      offset = currValueBytes.arrayOffset() + currValueBytes.position();
+    } else {
+      bytes = new byte[currValueBytes.remaining()];
+      currValueBytes.duplicate().get(bytes);
+      offset = 0;
+    }
+
+    ReusableObjects reusableObjects = REUSABLE_OBJECTS.get();
+    AvroBinaryCursor cursor = reusableObjects.cursor;
+    cursor.reset(bytes, offset, currValueBytes.remaining());
+    reusableObjects.outputStream.reset();
+    BinaryEncoder encoder = AvroCompatibilityHelper
+        .newBinaryEncoder(reusableObjects.outputStream, true, reusableObjects.encoder);
+
+    try {
+      for (Schema.Field valueField: valueSchema.getFields()) {
+        final Schema fieldSchema = valueField.schema();
+        final int fieldStart = cursor.getPosition();
+        cursor.resetCanonical();
+        cursor.skip(fieldSchema);
+        final int fieldEnd = cursor.getPosition();
+
+        // Same lookup as WriteComputeHandlerV1#updateValueRecord, including for fields missing from the update.
+        final Object writeComputeFieldValue = writeComputeRecord.get(valueField.name());
+        final WriteComputeOperation operation = WriteComputeOperation.getFieldOperationType(writeComputeFieldValue);
+
+        if (operation == NO_OP_ON_FIELD) {
+          if (cursor.isCanonical()) {
+            encoder.writeFixed(bytes, fieldStart, fieldEnd - fieldStart);
+          } else {
+            Object fieldValue = decodeField(reusableObjects, fieldSchema, bytes, fieldStart, fieldEnd);
+            getFieldWriter(fieldSchema).write(fieldValue, encoder);
+          }
+          continue;
+        }
+
+        Object originalFieldValue = null;
+        if (operation == LIST_OPS || operation == MAP_OPS) {
+          originalFieldValue = decodeField(reusableObjects, fieldSchema, bytes, fieldStart, fieldEnd);
+        }
+        Object updatedFieldValue =
+            fieldUpdateHandler.updateFieldValue(fieldSchema, originalFieldValue, writeComputeFieldValue);
+        getFieldWriter(fieldSchema).write(updatedFieldValue, encoder);
+      }
+      encoder.flush();
+    } catch (IOException e) {
+      throw new VeniceException("Failed to apply write compute on serialized value with schema: " + valueSchema, e);
+    }
+    return reusableObjects.outputStream.toByteArray();
+  }
+
+  private Object decodeField(ReusableObjects reusableObjects, Schema fieldSchema, byte[] bytes, int start, int end)
+      throws IOException {
+    reusableObjects.decoder =
+        AvroCompatibilityHelper.newBinaryDecoder(bytes, start, end - start, reusableObjects.decoder);
+    return getFieldReader(fieldSchema).read(null, reusableObjects.decoder);
+  }
+
+  private DatumReader<Object> getFieldReader(Schema schema) {
+    return fieldReaders.computeIfAbsent(schema, s -> new GenericDatumReader<>(s, s));
+  }
+
+  private DatumWriter<Object> getFieldWriter(Schema schema) {
+    return fieldWriters.computeIfAbsent(schema, s -> new DeterministicMapOrderGenericDatumWriter<>(s));
+  }
+}
@@ -70,8 +70,10 @@ public class WriteComputeHandlerV1 implements WriteComputeHandler {
    * @param writeComputeFieldValue write-computed value that is going to be applied
    *                          on top of original value.
    * @return The updated value
+   *
+   * Package-private so that {@link IncrementalWriteComputeProcessor} applies exactly the same field update logic.
    */
-  private Object updateFieldValue(Schema valueFieldSchema, Object originalFieldValue, Object writeComputeFieldValue) {
+  Object updateFieldValue(Schema valueFieldSchema, Object originalFieldValue, Object writeComputeFieldValue) {
     switch (valueFieldSchema.getType()) {
       case ARRAY:
         return updateArray(valueFieldSchema, (List) originalFieldValue, writeComputeFieldValue);
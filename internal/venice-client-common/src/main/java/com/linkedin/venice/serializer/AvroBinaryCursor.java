@@ -0,0 +1,240 @@
+package com.linkedin.venice.serializer;
+
+import java.util.List;
+import org.apache.avro.Schema;
+
+
+/**
+ * A cursor over Avro binary encoded bytes which is able to skip a datum of a given schema without materializing it.
+ *
+ * Besides computing the end position of a datum, the cursor tracks whether the bytes it skipped are "canonical",
+ * i.e.: whether decoding and re-encoding them with {@link org.apache.avro.generic.DeterministicMapOrderGenericDatumWriter}
+ * is guaranteed to produce the exact same bytes. The following encodings are legal Avro but not canonical:
+ *
+ * 1. Arrays and maps written in several blocks, or with negative block counts (as produced by blocking encoders).
+ * 2. Maps whose keys are not in strictly ascending order, or contain non-ASCII characters (whose ordering depends on
+ *    the runtime type of the deserialized keys).
+ * 3. Variable-length integers which are not minimally encoded, and booleans which are neither 0 nor 1.
+ *
+ * This is used to locate the fields of lazily decoded records, see {@link LazyGenericRecord}, and to copy the unchanged
+ * fields of a value as they are, see {@link com.linkedin.venice.schema.writecompute.IncrementalWriteComputeProcessor}.
+ *
+ * This class is not thread-safe.
+ */
+public final class AvroBinaryCursor {
+  private byte[] bytes;
+  private int position;
+  private int limit;
+  private boolean canonical;
+
+  public void reset(byte[] bytes, int offset, int length) {
+    this.bytes = bytes;
+    this.position = offset;
+    this.limit = offset + length;
+    this.canonical = true;
+  }
+
+  public int getPosition() {
+    return position;
+  }
+
+  /**
+   * @return whether all the bytes skipped since the last call to {@link #resetCanonical()} are canonical.
+   */
+  boolean isCanonical() {
+    return canonical;
+  }
+
+  void resetCanonical() {
+    this.canonical = true;
+  }
+
+  /**
+   * Move the cursor to the end of the datum of the given schema which starts at the current position.
+   */
+  public void skip(Schema schema) {
+    switch (schema.getType()) {
+      case NULL:
+        return;
+      case BOOLEAN:
+        ensureAvailable(1);
+        if (bytes[position] != 0 && bytes[position] != 1) {
+          canonical = false;
+        }
+        position++;
+        return;
+      case INT:
+      case LONG:
+      case ENUM:
+        readLong();
+        return;
+      case FLOAT:
+        advance(4);
+        return;
+      case DOUBLE:
+        advance(8);
+        return;
+      case STRING:
+      case BYTES:
+        advance(readLength());
+        return;
+      case FIXED:
+        advance(schema.getFixedSize());
+        return;
+      case RECORD:
+        for (Schema.Field field: schema.getFields()) {
+          skip(field.schema());
+        }
+        return;
+      case UNION:
+        List<Schema> types = schema.getTypes();
+        long index = readLong();
+        if (index < 0 || index >= types.size()) {
+          throw new IllegalStateException("Invalid union index: " + index + " for schema: " + schema);
+        }
+        skip(types.get((int) index));
+        return;
+      case ARRAY:
+        skipBlocks(schema.getElementType(), false);
+        return;
+      case MAP:
+        skipBlocks(schema.getValueType(), true);
+        return;
+      default:
+        throw new IllegalStateException("Unsupported schema type: " + schema.getType());
+    }
+  }
+
+  /**
+   * @return the size of any datum of the given schema if it is the same for all of them, or -1 otherwise.
+   */
+  public static int getFixedSize(Schema schema) {
+    switch (schema.getType()) {
+      case NULL:
+        return 0;
+      case BOOLEAN:
+        return 1;
+      case FLOAT:
+        return 4;
+      case DOUBLE:
+        return 8;
+      case FIXED:
+        return schema.getFixedSize();
+      default:
+        return -1;
+    }
+  }
+
+  private void skipBlocks(Schema itemSchema, boolean isMap) {
+    // Arrays of fixed size items, e.g. vectors of floats, are skipped one block at a time. Booleans are excluded since
+    // each of them has to be checked for canonicity.
+    int fixedItemSize = (isMap || itemSchema.getType() == Schema.Type.BOOLEAN) ? -1 : getFixedSize(itemSchema);
+    int blockCount = 0;
+    int previousKeyStart = -1;
+    int previousKeyLength = 0;
+    while (true) {
+      long itemCount = readLong();
+      if (itemCount == 0) {
+        break;
+      }
+      blockCount++;
+      if (itemCount < 0) {
+        // Negative item count means that the block size in bytes follows
+        canonical = false;
+        itemCount = -itemCount;
+        readLong();
+      }
+      if (fixedItemSize >= 0) {
+        long blockSize = itemCount * fixedItemSize;
+        if (blockSize > limit - position) {
+          ensureAvailable(Integer.MAX_VALUE);
+        }
+        advance((int) blockSize);
+        continue;
+      }
+      for (long i = 0; i < itemCount; i++) {
+        if (isMap) {
+          int keyLength = readLength();
+          int keyStart = position;
+          advance(keyLength);
+          if (canonical && (!isAscii(keyStart, keyLength)
+              || (previousKeyStart >= 0 && compareBytes(previousKeyStart, previousKeyLength, keyStart, keyLength) >= 0))) {
+            canonical = false;
+          }
+          previousKeyStart = keyStart;
+          previousKeyLength = keyLength;
+        }
+        skip(itemSchema);
+      }
+    }
+    if (blockCount > 1) {
+      canonical = false;
+    }
+  }
+
+  private boolean isAscii(int start, int length) {
+    for (int i = start; i < start + length; i++) {
+      if (bytes[i] < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int compareBytes(int start1, int length1, int start2, int length2) {
+    int commonLength = Math.min(length1, length2);
+    for (int i = 0; i < commonLength; i++) {
+      int diff = (bytes[start1 + i] & 0xff) - (bytes[start2 + i] & 0xff);
+      if (diff != 0) {
+        return diff;
+      }
+    }
+    return length1 - length2;
+  }
+
+  private int readLength() {
+    long length = readLong();
+    if (length < 0 || length > Integer.MAX_VALUE) {
+      throw new IllegalStateException("Invalid length: " + length + " at position: " + position);
+    }
+    return (int) length;
+  }
+
+  /**
+   * Read a zig-zag encoded variable-length long.
+   */
+  private long readLong() {
+    long raw = 0;
+    int shift = 0;
+    int byteCount = 0;
+    int b;
+    do {
+      ensureAvailable(1);
+      if (shift > 63) {
+        throw new IllegalStateException("Invalid long encoding at position: " + position);
+      }
+      b = bytes[position++] & 0xff;
+      raw |= ((long) (b & 0x7f)) << shift;
+      shift += 7;
+      byteCount++;
+    } while ((b & 0x80) != 0);
+    if (byteCount > 1 && b == 0) {
+      // Trailing zero byte, so this is not the minimal encoding
+      canonical = false;
+    }
+    return (raw >>> 1) ^ -(raw & 1);
+  }
+
+  private void advance(int length) {
+    ensureAvailable(length);
+    position += length;
+  }
+
+  private void ensureAvailable(int length) {
+    if (length > limit - position) {
+      throw new IllegalStateException(
+          "Unexpected end of Avro binary data, needed: " + length + " bytes at position: " + position + ", limit: "
+              + limit);
+    }
+  }
+}
@@ -0,0 +1,210 @@
+package com.linkedin.venice.serializer;
+
+import com.linkedin.avroutil1.compatibility.AvroCompatibilityHelper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryDecoder;
+
+
+/**
+ * A {@link GenericRecord} view over the serialized bytes of a record, produced by {@link LazyRecordDeserializer}.
+ *
+ * A field is only decoded the first time it is accessed, and the decoded value is cached until the view gets reset
+ * with another value. Locating a field only requires skipping the writer fields before it, which is done with
+ * {@link AvroBinaryCursor} without materializing anything, and the offsets found along the way are kept so that each
+ * byte is scanned at most once per value. Fields with a fixed encoded size are jumped over without being scanned.
+ *
+ * The view is meant to be reused across lookups, which is why it keeps its own copy of the serialized bytes: the
+ * buffers handed out by the storage engine are typically reused by the next lookup.
+ *
+ * This class is not thread-safe.
+ */
+public class LazyGenericRecord implements GenericRecord {
+  private static final Object NOT_DECODED = new Object();
+  private static final byte[] EMPTY_BYTES = new byte[0];
+  private static final int INITIAL_BUFFER_SIZE = 1024;
+
+  private final AvroBinaryCursor cursor = new AvroBinaryCursor();
+  private BinaryDecoder decoder;
+
+  private LazyRecordDeserializer deserializer;
+  private byte[] buffer = EMPTY_BYTES;
+  private int length;
+  /** Start offset of each writer field, plus the end offset of the last one */
+  private int[] writerFieldOffsets;
+  /** Number of writer fields whose end offset is known */
+  private int locatedFieldCount;
+  private Object[] values;
+
+  public LazyGenericRecord() {
+  }
+
+  void reset(LazyRecordDeserializer deserializer, ByteBuffer byteBuffer) {
+    prepare(deserializer);
+    int size = byteBuffer.remaining();
+    ensureCapacity(size);
+    byteBuffer.duplicate().get(buffer, 0, size);
+    this.length = size;
+  }
+
+  void reset(LazyRecordDeserializer deserializer, InputStream in) throws IOException {
+    prepare(deserializer);
+    ensureCapacity(Math.max(in.available(), INITIAL_BUFFER_SIZE));
+    int size = 0;
+    int read;
+    while ((read = in.read(buffer, size, buffer.length - size)) != -1) {
+      size += read;
+      if (size == buffer.length) {
+        buffer = Arrays.copyOf(buffer, buffer.length * 2);
+      }
+    }
+    this.length = size;
+  }
+
+  private void prepare(LazyRecordDeserializer deserializer) {
+    if (this.deserializer != deserializer) {
+      this.deserializer = deserializer;
+      this.writerFieldOffsets = new int[deserializer.getWriterFieldCount() + 1];
+      this.values = new Object[deserializer.getReaderSchema().getFields().size()];
+    }
+    this.locatedFieldCount = 0;
+    Arrays.fill(values, NOT_DECODED);
+  }
+
+  private void ensureCapacity(int size) {
+    if (buffer.length < size) {
+      buffer = new byte[Math.max(size, buffer.length * 2)];
+    }
+  }
+
+  @Override
+  public Schema getSchema() {
+    checkInitialized();
+    return deserializer.getReaderSchema();
+  }
+
+  @Override
+  public Object get(String key) {
+    Schema.Field field = getSchema().getField(key);
+    return field == null ? null : get(field.pos());
+  }
+
+  @Override
+  public Object get(int i) {
+    checkInitialized();
+    Object value = values[i];
+    if (value == NOT_DECODED) {
+      value = decodeField(i);
+      values[i] = value;
+    }
+    return value;
+  }
+
+  @Override
+  public void put(String key, Object v) {
+    Schema.Field field = getSchema().getField(key);
+    if (field == null) {
+      throw new IllegalArgumentException("Not a valid schema field: " + key);
+    }
+    put(field.pos(), v);
+  }
+
+  @Override
+  public void put(int i, Object v) {
+    checkInitialized();
+    values[i] = v;
+  }
+
+  /**
+   * @return a regular {@link GenericData.Record} with all the fields decoded, which stays valid after this view gets
+   *         reused.
+   */
+  public GenericData.Record toGenericRecord() {
+    GenericData.Record record = new GenericData.Record(getSchema());
+    for (int i = 0; i < values.length; i++) {
+      record.put(i, get(i));
+    }
+    return record;
+  }
+
+  private Object decodeField(int readerPos) {
+    int writerPos = deserializer.getWriterFieldIndex(readerPos);
+    if (writerPos < 0) {
+      return deserializer.getDefaultValue(readerPos);
+    }
+    try {
+      locateField(writerPos);
+      int start = writerFieldOffsets[writerPos];
+      decoder = AvroCompatibilityHelper
+          .newBinaryDecoder(buffer, start, writerFieldOffsets[writerPos + 1] - start, decoder);
+      return deserializer.decodeField(readerPos, decoder);
+    } catch (Exception e) {
+      throw new VeniceSerializationException(
+          "Could not deserialize field: " + getSchema().getFields().get(readerPos).name() + " of lazy record", e);
+    }
+  }
+
+  /**
+   * Make sure the start and end offsets of the given writer field are known.
+   */
+  private void locateField(int writerPos) {
+    while (locatedFieldCount <= writerPos) {
+      int start = writerFieldOffsets[locatedFieldCount];
+      int fixedSize = deserializer.getWriterFieldFixedSize(locatedFieldCount);
+      int end;
+      if (fixedSize >= 0) {
+        end = start + fixedSize;
+        if (end > length) {
+          throw new IllegalStateException("Unexpected end of Avro binary data at position: " + start);
+        }
+      } else {
+        cursor.reset(buffer, start, length - start);
+        cursor.skip(deserializer.getWriterFieldSchema(locatedFieldCount));
+        end = cursor.getPosition();
+      }
+      writerFieldOffsets[++locatedFieldCount] = end;
+    }
+  }
+
+  private void checkInitialized() {
+    if (deserializer == null) {
+      throw new IllegalStateException("Lazy record has not been initialized with any value");
+    }
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (o == this) {
+      return true;
+    }
+    if (!(o instanceof GenericRecord)) {
+      return false;
+    }
+    GenericRecord that = (GenericRecord) o;
+    if (!getSchema().equals(that.getSchema())) {
+      return false;
+    }
+    for (int i = 0; i < values.length; i++) {
+      if (!Objects.equals(get(i), that.get(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    return GenericData.get().hashCode(this, getSchema());
+  }
+
+  @Override
+  public String toString() {
+    return GenericData.get().toString(this);
+  }
+}
@@ -0,0 +1,180 @@
+package com.linkedin.venice.serializer;
+
+import com.linkedin.avroutil1.compatibility.AvroCompatibilityHelper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.DatumReader;
+
+
+/**
+ * A {@link RecordDeserializer} which does not decode anything up front. Instead, it copies the serialized value into
+ * a {@link LazyGenericRecord} view, which decodes each field the first time it is accessed.
+ *
+ * All the schema resolution work is done once per (writer, reader) schema pair when this class is constructed:
+ *
+ * 1. Each reader field is mapped to the position of the writer field with the same name, which is what the view needs
+ *    to skip to in order to decode it.
+ * 2. Writer fields of a fixed encoded size (e.g. float, double or fixed) are recorded, so that the view can jump over
+ *    them without scanning their bytes.
+ * 3. Each reader field present in the writer schema gets its own {@link GenericDatumReader}, which takes care of the
+ *    regular Avro schema resolution rules (type promotion, union resolution, nested records, etc.) for that field.
+ * 4. Reader fields missing from the writer schema are resolved to their default value.
+ *
+ * The views returned by this class are meant to be reused by passing them back as the {@code reuse} param, in which
+ * case no allocation happens apart from growing the view's internal buffer and the decoded field values.
+ *
+ * Only the top-level record is decoded lazily, and only the {@link ByteBuffer}, byte array and {@link InputStream}
+ * flavors of {@link RecordDeserializer} are supported, since the other ones don't give access to the serialized bytes.
+ */
+public class LazyRecordDeserializer implements RecordDeserializer<LazyGenericRecord> {
+  private static final int NOT_IN_WRITER_SCHEMA = -1;
+
+  private final Schema writerSchema;
+  private final Schema readerSchema;
+  /** Encoded size of each writer field, or -1 if it is not fixed */
+  private final int[] writerFieldFixedSizes;
+  private final Schema[] writerFieldSchemas;
+  /** Index of the writer field for each reader field, or {@link #NOT_IN_WRITER_SCHEMA} */
+  private final int[] readerToWriterFieldIndex;
+  private final DatumReader<Object>[] fieldReaders;
+  private final Object[] defaultValues;
+
+  public LazyRecordDeserializer(Schema writerSchema, Schema readerSchema) {
+    if (writerSchema.getType() != Schema.Type.RECORD || readerSchema.getType() != Schema.Type.RECORD) {
+      throw new IllegalArgumentException(
+          "Lazy deserialization is only supported for record schemas, got writer schema: " + writerSchema
+              + " and reader schema: " + readerSchema);
+    }
+    this.writerSchema = writerSchema;
+    this.readerSchema = readerSchema;
+
+    List<Schema.Field> writerFields = writerSchema.getFields();
+    this.writerFieldFixedSizes = new int[writerFields.size()];
+    this.writerFieldSchemas = new Schema[writerFields.size()];
+    for (Schema.Field writerField: writerFields) {
+      writerFieldSchemas[writerField.pos()] = writerField.schema();
+      writerFieldFixedSizes[writerField.pos()] = AvroBinaryCursor.getFixedSize(writerField.schema());
+    }
+
+    List<Schema.Field> readerFields = readerSchema.getFields();
+    this.readerToWriterFieldIndex = new int[readerFields.size()];
+    this.fieldReaders = new DatumReader[readerFields.size()];
+    this.defaultValues = new Object[readerFields.size()];
+    for (Schema.Field readerField: readerFields) {
+      int readerPos = readerField.pos();
+      Schema.Field writerField = writerSchema.getField(readerField.name());
+      if (writerField != null) {
+        readerToWriterFieldIndex[readerPos] = writerField.pos();
+        fieldReaders[readerPos] = new GenericDatumReader<>(writerField.schema(), readerField.schema());
+      } else if (AvroCompatibilityHelper.fieldHasDefault(readerField)) {
+        readerToWriterFieldIndex[readerPos] = NOT_IN_WRITER_SCHEMA;
+        defaultValues[readerPos] = AvroCompatibilityHelper.getGenericDefaultValue(readerField);
+      } else {
+        throw new IllegalArgumentException(
+            "Reader field: " + readerField.name() + " is missing from writer schema: " + writerSchema
+                + " and doesn't have a default value");
+      }
+    }
+  }
+
+  public Schema getWriterSchema() {
+    return writerSchema;
+  }
+
+  public Schema getReaderSchema() {
+    return readerSchema;
+  }
+
+  int getWriterFieldCount() {
+    return writerFieldSchemas.length;
+  }
+
+  Schema getWriterFieldSchema(int writerPos) {
+    return writerFieldSchemas[writerPos];
+  }
+
+  int getWriterFieldFixedSize(int writerPos) {
+    return writerFieldFixedSizes[writerPos];
+  }
+
+  int getWriterFieldIndex(int readerPos) {
+    return readerToWriterFieldIndex[readerPos];
+  }
+
+  /**
+   * Decode a field from the serialized bytes of its writer field.
+   */
+  Object decodeField(int readerPos, BinaryDecoder decoder) throws IOException {
+    return fieldReaders[readerPos].read(null, decoder);
+  }
+
+  /**
+   * @return a copy of the default value of a reader field missing from the writer schema, since the caller is free
+   *         to mutate it.
+   */
+  Object getDefaultValue(int readerPos) {
+    return GenericData.get().deepCopy(readerSchema.getFields().get(readerPos).schema(), defaultValues[readerPos]);
+  }
+
+  @Override
+  public LazyGenericRecord deserialize(byte[] bytes) throws VeniceSerializationException {
+    return deserialize(null, bytes);
+  }
+
+  @Override
+  public LazyGenericRecord deserialize(ByteBuffer byteBuffer) throws VeniceSerializationException {
+    return deserialize(null, byteBuffer, null);
+  }
+
+  @Override
+  public LazyGenericRecord deserialize(LazyGenericRecord reuse, ByteBuffer byteBuffer, BinaryDecoder reusedDecoder)
+      throws VeniceSerializationException {
+    LazyGenericRecord record = reuse == null ? new LazyGenericRecord() : reuse;
+    record.reset(this, byteBuffer);
+    return record;
+  }
+
+  @Override
+  public LazyGenericRecord deserialize(LazyGenericRecord reuse, byte[] bytes) throws VeniceSerializationException {
+    return deserialize(reuse, ByteBuffer.wrap(bytes), null);
+  }
+
+  @Override
+  public LazyGenericRecord deserialize(LazyGenericRecord reuse, InputStream in, BinaryDecoder reusedDecoder)
+      throws VeniceSerializationException {
+    LazyGenericRecord record = reuse == null ? new LazyGenericRecord() : reuse;
+    try {
+      record.reset(this, in);
+    } catch (IOException e) {
+      throw new VeniceSerializationException("Could not read bytes for lazy deserialization", e);
+    }
+    return record;
+  }
+
+  @Override
+  public LazyGenericRecord deserialize(BinaryDecoder decoder) throws VeniceSerializationException {
+    throw new UnsupportedOperationException("Lazy deserialization requires access to the serialized bytes");
+  }
+
+  @Override
+  public LazyGenericRecord deserialize(LazyGenericRecord reuse, BinaryDecoder decoder)
+      throws VeniceSerializationException {
+    throw new UnsupportedOperationException("Lazy deserialization requires access to the serialized bytes");
+  }
+
+  @Override
+  public Iterable<LazyGenericRecord> deserializeObjects(byte[] bytes) throws VeniceSerializationException {
+    throw new UnsupportedOperationException("Lazy deserialization doesn't support a sequence of records");
+  }
+
+  @Override
+  public Iterable<LazyGenericRecord> deserializeObjects(BinaryDecoder decoder) throws VeniceSerializationException {
+    throw new UnsupportedOperationException("Lazy deserialization doesn't support a sequence of records");
+  }
+}
@@ -69,6 +69,8 @@ public class SerializerDeserializerFactory {
       new VeniceConcurrentHashMap<>();
   private static Map<SchemaPairAndClassContainer, VsonAvroGenericDeserializer> vsonGenericDeserializerMap =
       new VeniceConcurrentHashMap<>();
+  private static Map<SchemaPairAndClassContainer, LazyRecordDeserializer> lazyRecordDeserializerMap =
+      new VeniceConcurrentHashMap<>();
 
   public static <K> RecordSerializer<K> getAvroGenericSerializer(Schema schema) {
     return avroGenericSerializerMap.computeIfAbsent(schema, key -> new AvroSerializer(key));
@@ -94,6 +96,15 @@ public class SerializerDeserializerFactory {
         .computeIfAbsent(container, key -> new AvroGenericDeserializer<>(key.writer, key.reader));
   }
 
+  /**
+   * @return a deserializer producing {@link LazyGenericRecord} views, which only decode the fields being accessed.
+   */
+  public static LazyRecordDeserializer getLazyRecordDeserializer(Schema writer, Schema reader) {
+    SchemaPairAndClassContainer container = new SchemaPairAndClassContainer(writer, reader, LazyGenericRecord.class);
+    return lazyRecordDeserializerMap
+        .computeIfAbsent(container, key -> new LazyRecordDeserializer(key.writer, key.reader));
+  }
+
   /**
    * This function is assuming that both writer and reader are using the same schema.
    * @param schema
@@ -1,8 +1,10 @@
 package com.linkedin.venice.stats;
 
+import com.linkedin.venice.utils.concurrent.BoundedVirtualThreadExecutor;
 import io.tehuti.metrics.MetricsRepository;
 import io.tehuti.metrics.Sensor;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.IntSupplier;
 
 
 /**
@@ -10,8 +12,6 @@ import java.util.concurrent.ThreadPoolExecutor;
  * queued task number.
  */
 public class ThreadPoolStats extends AbstractVeniceStats {
-  private ThreadPoolExecutor threadPoolExecutor;
-
   private Sensor activeThreadNumberSensor;
 
   private Sensor maxThreadNumberSensor;
@@ -19,14 +19,39 @@ public class ThreadPoolStats extends AbstractVeniceStats {
   private Sensor queuedTasksNumberSensor;
 
   public ThreadPoolStats(MetricsRepository metricsRepository, ThreadPoolExecutor threadPoolExecutor, String name) {
+    this(
+        metricsRepository,
+        name,
+        threadPoolExecutor::getActiveCount,
+        threadPoolExecutor::getMaximumPoolSize,
+        () -> threadPoolExecutor.getQueue().size());
+  }
+
+  /**
+   * For a {@link BoundedVirtualThreadExecutor}, the "thread number" metrics report the tasks holding a concurrency
+   * permit and the concurrency limit, since the number of virtual threads itself is not meaningful.
+   */
+  public ThreadPoolStats(MetricsRepository metricsRepository, BoundedVirtualThreadExecutor executor, String name) {
+    this(
+        metricsRepository,
+        name,
+        executor::getActiveCount,
+        executor::getMaxConcurrency,
+        executor::getQueuedTaskCount);
+  }
+
+  private ThreadPoolStats(
+      MetricsRepository metricsRepository,
+      String name,
+      IntSupplier activeThreadNumber,
+      IntSupplier maxThreadNumber,
+      IntSupplier queuedTasksNumber) {
     super(metricsRepository, name);
-    this.threadPoolExecutor = threadPoolExecutor;
 
     activeThreadNumberSensor =
-        registerSensor("active_thread_number", new LambdaStat(() -> this.threadPoolExecutor.getActiveCount()));
-    maxThreadNumberSensor =
-        registerSensor("max_thread_number", new LambdaStat(() -> this.threadPoolExecutor.getMaximumPoolSize()));
+        registerSensor("active_thread_number", new LambdaStat(() -> activeThreadNumber.getAsInt()));
+    maxThreadNumberSensor = registerSensor("max_thread_number", new LambdaStat(() -> maxThreadNumber.getAsInt()));
     queuedTasksNumberSensor =
-        registerSensor("queued_task_number", new LambdaStat(() -> this.threadPoolExecutor.getQueue().size()));
+        registerSensor("queued_task_number", new LambdaStat(() -> queuedTasksNumber.getAsInt()));
   }
 }
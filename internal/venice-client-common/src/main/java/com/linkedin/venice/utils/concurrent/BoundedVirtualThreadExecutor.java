@@ -0,0 +1,284 @@
+package com.linkedin.venice.utils.concurrent;
+
+import com.linkedin.venice.exceptions.VeniceException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+
+/**
+ * An {@link java.util.concurrent.ExecutorService} which runs every submitted task on its own virtual thread, while
+ * a {@link Semaphore} caps how many of those tasks may run concurrently.
+ *
+ * The intended use case is blocking storage lookups: a virtual thread which is parked waiting for a permit, or
+ * blocked inside a JNI call, is cheap, so there is no need to hand-tune a fixed thread count per host. The semaphore
+ * still bounds the concurrency seen by the storage engine, and tasks which are waiting for a permit are reported as
+ * "queued", so that the queue related metrics keep the same meaning as with {@link ThreadPoolFactory} pools.
+ *
+ * When the number of queued tasks reaches the queue capacity, the task is executed in the caller thread, which
+ * mirrors the {@link java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy} used by {@link ThreadPoolFactory}.
+ *
+ * A submitted task whose thread is interrupted while waiting for a permit, e.g. by {@link #shutdownNow()}, is not run,
+ * and its future is completed with the {@link InterruptedException}.
+ *
+ * Virtual threads are only available from JDK 21, and this code base is compiled for an older release, so the
+ * thread factory is obtained reflectively. Use {@link #isSupported()} before constructing an instance.
+ */
+public class BoundedVirtualThreadExecutor extends AbstractExecutorService {
+  private static final Logger LOGGER = LogManager.getLogger(BoundedVirtualThreadExecutor.class);
+
+  private static final Method OF_VIRTUAL_METHOD;
+  private static final Method BUILDER_NAME_METHOD;
+  private static final Method BUILDER_FACTORY_METHOD;
+
+  static {
+    Method ofVirtual = null;
+    Method builderName = null;
+    Method builderFactory = null;
+    try {
+      ofVirtual = Thread.class.getMethod("ofVirtual");
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      builderName = builderClass.getMethod("name", String.class, long.class);
+      builderFactory = builderClass.getMethod("factory");
+    } catch (ReflectiveOperationException e) {
+      LOGGER.debug("Virtual threads are not supported by the current JVM: {}", System.getProperty("java.version"));
+      ofVirtual = null;
+    }
+    OF_VIRTUAL_METHOD = ofVirtual;
+    BUILDER_NAME_METHOD = builderName;
+    BUILDER_FACTORY_METHOD = builderFactory;
+  }
+
+  private final String threadNamePrefix;
+  private final int maxConcurrency;
+  private final int queueCapacity;
+  private final ThreadFactory threadFactory;
+  private final Semaphore concurrencyLimiter;
+  private final AtomicInteger queuedTaskCount = new AtomicInteger();
+  private final AtomicInteger activeTaskCount = new AtomicInteger();
+  private final Set<Thread> liveThreads = new VeniceConcurrentHashMap<Thread, Boolean>().keySet(Boolean.TRUE);
+  private final Object terminationLock = new Object();
+  private volatile boolean shutdown = false;
+
+  public BoundedVirtualThreadExecutor(String threadNamePrefix, int maxConcurrency, int queueCapacity) {
+    if (!isSupported()) {
+      throw new VeniceException(
+          "Virtual threads require JDK 21 or above, current version: " + System.getProperty("java.version"));
+    }
+    if (maxConcurrency <= 0) {
+      throw new IllegalArgumentException("maxConcurrency must be positive, got: " + maxConcurrency);
+    }
+    if (queueCapacity <= 0) {
+      throw new IllegalArgumentException("queueCapacity must be positive, got: " + queueCapacity);
+    }
+    this.threadNamePrefix = threadNamePrefix;
+    this.maxConcurrency = maxConcurrency;
+    this.queueCapacity = queueCapacity;
+    this.threadFactory = createVirtualThreadFactory(threadNamePrefix + "-vt");
+    this.concurrencyLimiter = new Semaphore(maxConcurrency);
+  }
+
+  /**
+   * @return whether the current JVM is able to create virtual threads.
+   */
+  public static boolean isSupported() {
+    return OF_VIRTUAL_METHOD != null;
+  }
+
+  private static ThreadFactory createVirtualThreadFactory(String namePrefix) {
+    try {
+      Object builder = OF_VIRTUAL_METHOD.invoke(null);
+      builder = BUILDER_NAME_METHOD.invoke(builder, namePrefix, 0L);
+      return (ThreadFactory) BUILDER_FACTORY_METHOD.invoke(builder);
+    } catch (ReflectiveOperationException e) {
+      throw new VeniceException("Failed to create virtual thread factory for: " + namePrefix, e);
+    }
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    if (command == null) {
+      throw new NullPointerException();
+    }
+    if (shutdown) {
+      throw new RejectedExecutionException("Executor: " + threadNamePrefix + " has been shut down");
+    }
+    if (!tryReserveQueueSlot()) {
+      // Back pressure: same behavior as the CallerRunsPolicy of the regular thread pools.
+      command.run();
+      return;
+    }
+    Thread thread = threadFactory.newThread(() -> runTask(command));
+    liveThreads.add(thread);
+    try {
+      thread.start();
+    } catch (Throwable t) {
+      queuedTaskCount.decrementAndGet();
+      onThreadExit(thread);
+      throw t;
+    }
+  }
+
+  /**
+   * Checks the queue capacity and counts the task as queued atomically, so that concurrent callers cannot both take
+   * the last slot.
+   */
+  private boolean tryReserveQueueSlot() {
+    while (true) {
+      int queued = queuedTaskCount.get();
+      if (queued >= queueCapacity) {
+        return false;
+      }
+      if (queuedTaskCount.compareAndSet(queued, queued + 1)) {
+        return true;
+      }
+    }
+  }
+
+  private void runTask(Runnable command) {
+    boolean permitAcquired = false;
+    try {
+      concurrencyLimiter.acquire();
+      permitAcquired = true;
+    } catch (InterruptedException e) {
+      if (command instanceof InterruptibleFutureTask) {
+        ((InterruptibleFutureTask<?>) command).interruptedBeforeRun(e);
+      }
+      Thread.currentThread().interrupt();
+    } finally {
+      queuedTaskCount.decrementAndGet();
+    }
+    try {
+      if (permitAcquired) {
+        activeTaskCount.incrementAndGet();
+        try {
+          command.run();
+        } finally {
+          activeTaskCount.decrementAndGet();
+          concurrencyLimiter.release();
+        }
+      }
+    } finally {
+      onThreadExit(Thread.currentThread());
+    }
+  }
+
+  private void onThreadExit(Thread thread) {
+    liveThreads.remove(thread);
+    if (shutdown && liveThreads.isEmpty()) {
+      synchronized (terminationLock) {
+        terminationLock.notifyAll();
+      }
+    }
+  }
+
+  @Override
+  protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value) {
+    return new InterruptibleFutureTask<>(runnable, value);
+  }
+
+  @Override
+  protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+    return new InterruptibleFutureTask<>(callable);
+  }
+
+  /**
+   * A {@link FutureTask} which can be completed exceptionally without being run, so that the caller of
+   * {@link #submit} is not left waiting forever on a task which will never get a permit.
+   */
+  private static class InterruptibleFutureTask<T> extends FutureTask<T> {
+    InterruptibleFutureTask(Runnable runnable, T value) {
+      super(runnable, value);
+    }
+
+    InterruptibleFutureTask(Callable<T> callable) {
+      super(callable);
+    }
+
+    void interruptedBeforeRun(InterruptedException e) {
+      setException(e);
+    }
+  }
+
+  /**
+   * @return the number of tasks which are currently waiting for a concurrency permit.
+   */
+  public int getQueuedTaskCount() {
+    return queuedTaskCount.get();
+  }
+
+  /**
+   * @return the number of tasks which are currently holding a concurrency permit.
+   */
+  public int getActiveCount() {
+    return activeTaskCount.get();
+  }
+
+  public int getMaxConcurrency() {
+    return maxConcurrency;
+  }
+
+  @Override
+  public void shutdown() {
+    shutdown = true;
+    if (liveThreads.isEmpty()) {
+      synchronized (terminationLock) {
+        terminationLock.notifyAll();
+      }
+    }
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    shutdown();
+    for (Thread thread: liveThreads) {
+      thread.interrupt();
+    }
+    // Tasks are bound to their threads as soon as they are submitted, so there is never anything left to drain.
+    return new ArrayList<>();
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return shutdown;
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return shutdown && liveThreads.isEmpty();
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    long deadlineNs = System.nanoTime() + unit.toNanos(timeout);
+    synchronized (terminationLock) {
+      while (!isTerminated()) {
+        long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadlineNs - System.nanoTime());
+        if (remainingMs <= 0) {
+          return false;
+        }
+        terminationLock.wait(remainingMs);
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "{name=" + threadNamePrefix + ", maxConcurrency=" + maxConcurrency
+        + ", queueCapacity=" + queueCapacity + ", active=" + activeTaskCount.get() + ", queued="
+        + queuedTaskCount.get() + "}";
+  }
+}
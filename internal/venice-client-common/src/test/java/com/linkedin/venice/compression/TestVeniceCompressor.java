@@ -136,6 +136,78 @@ public class TestVeniceCompressor {
     DIRECT_BYTE_BUFFER, NON_DIRECT_BYTE_BUFFER, BYTE_ARRAY
   }
 
+  @DataProvider(name = "DecompressIntoBufferParams")
+  public static Object[][] decompressIntoBufferParamsProvider() {
+    List<Object[]> params = new ArrayList<>();
+    for (CompressionStrategy strategy: new CompressionStrategy[] { CompressionStrategy.NO_OP, CompressionStrategy.GZIP,
+        CompressionStrategy.ZSTD_WITH_DICT }) {
+      for (boolean directInput: new boolean[] { true, false }) {
+        for (boolean directOutput: new boolean[] { true, false }) {
+          params.add(new Object[] { strategy, directInput, directOutput });
+        }
+      }
+    }
+    return params.toArray(new Object[0][]);
+  }
+
+  @Test(dataProvider = "DecompressIntoBufferParams", timeOut = TEST_TIMEOUT)
+  public void testDecompressIntoBuffer(CompressionStrategy strategy, boolean directInput, boolean directOutput)
+      throws IOException {
+    try (VeniceCompressor compressor = getCompressor(strategy)) {
+      byte[] data = new byte[1000];
+      new Random().nextBytes(data);
+      byte[] compressed = compressor.compress(data);
+      int inputPadding = 2;
+      int inputSize = inputPadding + compressed.length;
+      ByteBuffer input = directInput ? ByteBuffer.allocateDirect(inputSize) : ByteBuffer.allocate(inputSize);
+      input.position(inputPadding);
+      input.put(compressed);
+      input.position(inputPadding);
+
+      int decompressedSize = compressor.getDecompressedSize(input);
+      if (strategy == CompressionStrategy.GZIP) {
+        Assert.assertEquals(decompressedSize, -1);
+      } else {
+        Assert.assertEquals(decompressedSize, data.length);
+      }
+
+      int outputPadding = 3;
+      int outputSize = outputPadding + data.length;
+      ByteBuffer output = directOutput ? ByteBuffer.allocateDirect(outputSize) : ByteBuffer.allocate(outputSize);
+      output.position(outputPadding);
+      Assert.assertEquals(compressor.decompress(input, output), data.length);
+      Assert.assertEquals(input.position(), inputPadding);
+      Assert.assertEquals(output.position(), outputPadding);
+      Assert.assertEquals(output, ByteBuffer.wrap(data));
+    }
+  }
+
+  @Test
+  public void testZstdDecompressSlicedBuffer() throws IOException {
+    try (VeniceCompressor compressor = getCompressor(CompressionStrategy.ZSTD_WITH_DICT)) {
+      byte[] data = new byte[1000];
+      new Random().nextBytes(data);
+      byte[] compressed = compressor.compress(data);
+      byte[] padded = new byte[compressed.length + 5];
+      System.arraycopy(compressed, 0, padded, 5, compressed.length);
+      // A slice has a non-zero array offset, but a position of zero
+      ByteBuffer slice = ByteBuffer.wrap(padded, 5, compressed.length).slice();
+      Assert.assertEquals(compressor.decompress(slice), ByteBuffer.wrap(data));
+    }
+  }
+
+  @Test
+  public void testZstdDecompressAfterCloseThrows() throws IOException {
+    VeniceCompressor compressor = getCompressor(CompressionStrategy.ZSTD_WITH_DICT);
+    byte[] compressed = compressor.compress(new byte[] { 1, 2, 3 });
+    Assert.assertEquals(compressor.decompress(ByteBuffer.wrap(compressed)), ByteBuffer.wrap(new byte[] { 1, 2, 3 }));
+    compressor.close();
+    Assert.assertThrows(IllegalStateException.class, () -> compressor.decompress(ByteBuffer.wrap(compressed)));
+    Assert.assertThrows(
+        IllegalStateException.class,
+        () -> compressor.decompress(ByteBuffer.wrap(compressed), ByteBuffer.allocate(3)));
+  }
+
   @Test
   public void testZSTDThrowsExceptionOnNullDictionary() {
     Assert.assertThrows(
@@ -0,0 +1,57 @@
+package com.linkedin.venice.read;
+
+import com.linkedin.venice.exceptions.VeniceException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class ScanPositionTest {
+  @Test
+  public void testTokenRoundTrip() {
+    // The key bytes cover the characters of the Base64 alphabet which are not alphanumeric, as well as the padding
+    byte[] resumeAfterKey = new byte[] { (byte) 0xfb, (byte) 0xff, (byte) 0xbf, 0, ':' };
+    ScanPosition position = new ScanPosition(3, 7, resumeAfterKey);
+    ScanPosition parsedPosition = ScanPosition.fromToken(position.toToken());
+    Assert.assertEquals(parsedPosition.getVersion(), 3);
+    Assert.assertEquals(parsedPosition.getPartition(), 7);
+    Assert.assertEquals(parsedPosition.getResumeAfterKey(), resumeAfterKey);
+
+    // The first page of a partition has no key to resume after
+    parsedPosition = ScanPosition.fromToken(new ScanPosition(3, 8, null).toToken());
+    Assert.assertEquals(parsedPosition.getVersion(), 3);
+    Assert.assertEquals(parsedPosition.getPartition(), 8);
+    Assert.assertNull(parsedPosition.getResumeAfterKey());
+  }
+
+  @Test
+  public void testInvalidToken() {
+    for (String token: new String[] { "", "3:7", "3:7:a:b", "v3:7:", "3:p7:", "3:7:not base64!" }) {
+      try {
+        ScanPosition.fromToken(token);
+        Assert.fail("Invalid token: " + token + " should have been rejected");
+      } catch (VeniceException e) {
+        Assert.assertEquals(e.getMessage(), "Invalid scan continuation token: " + token);
+      }
+    }
+  }
+
+  @Test
+  public void testNext() {
+    byte[] continuationKey = new byte[] { 1, 2 };
+    ScanPosition position = new ScanPosition(3, 1, null);
+
+    // The partition has more records
+    ScanPosition nextPosition = position.next(continuationKey, 3);
+    Assert.assertEquals(nextPosition.getVersion(), 3);
+    Assert.assertEquals(nextPosition.getPartition(), 1);
+    Assert.assertEquals(nextPosition.getResumeAfterKey(), continuationKey);
+
+    // The partition is done, the next one starts from its first key
+    nextPosition = position.next(null, 3);
+    Assert.assertEquals(nextPosition.getPartition(), 2);
+    Assert.assertNull(nextPosition.getResumeAfterKey());
+
+    // The last partition is done
+    Assert.assertNull(nextPosition.next(null, 3));
+  }
+}
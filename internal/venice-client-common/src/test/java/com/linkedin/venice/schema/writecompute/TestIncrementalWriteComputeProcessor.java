@@ -0,0 +1,275 @@
+package com.linkedin.venice.schema.writecompute;
+
+import static com.linkedin.venice.schema.writecompute.WriteComputeConstants.MAP_DIFF;
+import static com.linkedin.venice.schema.writecompute.WriteComputeConstants.MAP_UNION;
+import static com.linkedin.venice.schema.writecompute.WriteComputeConstants.SET_DIFF;
+import static com.linkedin.venice.schema.writecompute.WriteComputeConstants.SET_UNION;
+
+import com.linkedin.venice.schema.merge.CollectionTimestampMergeRecordHelper;
+import com.linkedin.venice.serializer.AvroSerializer;
+import com.linkedin.venice.serializer.avro.MapOrderingPreservingSerDeFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.Encoder;
+import org.apache.avro.io.EncoderFactory;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+/**
+ * Differential test which checks that {@link IncrementalWriteComputeProcessor} produces exactly the same bytes as
+ * {@link WriteComputeProcessor} followed by {@link AvroSerializer}.
+ */
+public class TestIncrementalWriteComputeProcessor {
+  private static final String VALUE_SCHEMA_STR = "{\"type\":\"record\",\"name\":\"TestValue\",\"fields\":["
+      + "{\"name\":\"intField\",\"type\":\"int\",\"default\":0},"
+      + "{\"name\":\"longField\",\"type\":\"long\",\"default\":0},"
+      + "{\"name\":\"floatField\",\"type\":\"float\",\"default\":0.0},"
+      + "{\"name\":\"doubleField\",\"type\":\"double\",\"default\":0.0},"
+      + "{\"name\":\"booleanField\",\"type\":\"boolean\",\"default\":false},"
+      + "{\"name\":\"stringField\",\"type\":\"string\",\"default\":\"\"},"
+      + "{\"name\":\"bytesField\",\"type\":\"bytes\",\"default\":\"\"},"
+      + "{\"name\":\"enumField\",\"type\":{\"type\":\"enum\",\"name\":\"Color\","
+      + "\"symbols\":[\"RED\",\"GREEN\",\"BLUE\"]},\"default\":\"RED\"},"
+      + "{\"name\":\"fixedField\",\"type\":{\"type\":\"fixed\",\"name\":\"FourBytes\",\"size\":4},"
+      + "\"default\":\"abcd\"},"
+      + "{\"name\":\"nestedRecord\",\"type\":{\"type\":\"record\",\"name\":\"Nested\",\"fields\":["
+      + "{\"name\":\"id\",\"type\":\"long\",\"default\":0},{\"name\":\"name\",\"type\":\"string\",\"default\":\"\"}]},"
+      + "\"default\":{\"id\":0,\"name\":\"\"}},"
+      + "{\"name\":\"intArray\",\"type\":{\"type\":\"array\",\"items\":\"int\"},\"default\":[]},"
+      + "{\"name\":\"stringArray\",\"type\":{\"type\":\"array\",\"items\":\"string\"},\"default\":[]},"
+      + "{\"name\":\"recordArray\",\"type\":{\"type\":\"array\",\"items\":\"Nested\"},\"default\":[]},"
+      + "{\"name\":\"intMap\",\"type\":{\"type\":\"map\",\"values\":\"int\"},\"default\":{}},"
+      + "{\"name\":\"recordMap\",\"type\":{\"type\":\"map\",\"values\":\"Nested\"},\"default\":{}},"
+      + "{\"name\":\"nullableIntArray\",\"type\":[\"null\",{\"type\":\"array\",\"items\":\"int\"}],\"default\":null},"
+      + "{\"name\":\"nullableStringMap\",\"type\":[\"null\",{\"type\":\"map\",\"values\":\"string\"}],"
+      + "\"default\":null},"
+      + "{\"name\":\"nullableString\",\"type\":[\"null\",\"string\"],\"default\":null}" + "]}";
+
+  private static final Schema VALUE_SCHEMA = new Schema.Parser().parse(VALUE_SCHEMA_STR);
+  private static final Schema UPDATE_SCHEMA =
+      WriteComputeSchemaConverter.getInstance().convertFromValueRecordSchema(VALUE_SCHEMA);
+
+  private final Random random = new Random(42);
+  private final IncrementalWriteComputeProcessor incrementalProcessor = new IncrementalWriteComputeProcessor();
+  private final WriteComputeProcessor writeComputeProcessor =
+      new WriteComputeProcessor(new CollectionTimestampMergeRecordHelper());
+  private final AvroSerializer<GenericRecord> valueSerializer = new AvroSerializer<>(VALUE_SCHEMA);
+
+  @Test
+  public void testRandomUpdatesMatchFullDeserialization() throws IOException {
+    for (int i = 0; i < 2000; i++) {
+      GenericRecord currValue = (GenericRecord) randomValue(VALUE_SCHEMA);
+      byte[] currValueBytes = valueSerializer.serialize(currValue);
+      GenericRecord update = randomUpdate(currValue);
+      assertSameResult(currValueBytes, update);
+    }
+  }
+
+  @Test
+  public void testNonCanonicalEncodingsMatchFullDeserialization() throws IOException {
+    for (int i = 0; i < 500; i++) {
+      GenericRecord currValue = (GenericRecord) randomValue(VALUE_SCHEMA);
+      reverseMapOrder(currValue);
+      // Blocking encoder writes arrays and maps with negative block counts, and the plain writer keeps map order.
+      ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+      Encoder encoder = EncoderFactory.get().blockingBinaryEncoder(outputStream, null);
+      new GenericDatumWriter<GenericRecord>(VALUE_SCHEMA).write(currValue, encoder);
+      encoder.flush();
+      assertSameResult(outputStream.toByteArray(), randomUpdate(currValue));
+    }
+  }
+
+  @Test
+  public void testNoOpUpdateKeepsCanonicalBytes() throws IOException {
+    GenericRecord currValue = (GenericRecord) randomValue(VALUE_SCHEMA);
+    byte[] currValueBytes = valueSerializer.serialize(currValue);
+    GenericRecord update = new GenericData.Record(UPDATE_SCHEMA);
+    for (Schema.Field field: VALUE_SCHEMA.getFields()) {
+      Schema noOpSchema = findBranch(UPDATE_SCHEMA.getField(field.name()).schema(), "NoOp");
+      update.put(field.name(), new GenericData.Record(noOpSchema));
+    }
+    byte[] result = incrementalProcessor.updateRecordBytes(VALUE_SCHEMA, ByteBuffer.wrap(currValueBytes), update);
+    Assert.assertEquals(result, currValueBytes);
+  }
+
+  @Test
+  public void testBufferWithOffset() throws IOException {
+    GenericRecord currValue = (GenericRecord) randomValue(VALUE_SCHEMA);
+    byte[] currValueBytes = valueSerializer.serialize(currValue);
+    byte[] paddedBytes = new byte[currValueBytes.length + 8];
+    System.arraycopy(currValueBytes, 0, paddedBytes, 4, currValueBytes.length);
+    ByteBuffer buffer = ByteBuffer.wrap(paddedBytes, 4, currValueBytes.length);
+    GenericRecord update = randomUpdate(currValue);
+
+    byte[] expected = incrementalProcessor.updateRecordBytes(VALUE_SCHEMA, ByteBuffer.wrap(currValueBytes), update);
+    Assert.assertEquals(incrementalProcessor.updateRecordBytes(VALUE_SCHEMA, buffer, update), expected);
+    Assert.assertEquals(buffer.position(), 4);
+  }
+
+  private void assertSameResult(byte[] currValueBytes, GenericRecord update) throws IOException {
+    GenericRecord currValue = new GenericDatumReader<GenericRecord>(VALUE_SCHEMA, VALUE_SCHEMA)
+        .read(null, DecoderFactory.get().binaryDecoder(currValueBytes, null));
+    byte[] expected = valueSerializer.serialize(writeComputeProcessor.updateRecord(VALUE_SCHEMA, currValue, update));
+    byte[] actual = incrementalProcessor.updateRecordBytes(VALUE_SCHEMA, ByteBuffer.wrap(currValueBytes), update);
+    Assert.assertEquals(actual, expected, "Mismatch for update: " + update);
+  }
+
+  /**
+   * Build a random partial update, and round-trip it through the serializers used on the ingestion path, so that
+   * string values are {@link org.apache.avro.util.Utf8} as they would be in production.
+   */
+  private GenericRecord randomUpdate(GenericRecord currValue) {
+    GenericRecord update = new GenericData.Record(UPDATE_SCHEMA);
+    for (Schema.Field field: VALUE_SCHEMA.getFields()) {
+      Schema updateFieldSchema = UPDATE_SCHEMA.getField(field.name()).schema();
+      Schema collectionOpsSchema = findBranch(updateFieldSchema, "Ops");
+      int choice = random.nextInt(collectionOpsSchema == null ? 2 : 3);
+      if (choice == 0) {
+        update.put(field.name(), new GenericData.Record(findBranch(updateFieldSchema, "NoOp")));
+      } else if (choice == 1) {
+        update.put(field.name(), randomValue(field.schema()));
+      } else {
+        update.put(field.name(), randomCollectionOps(collectionOpsSchema, currValue.get(field.name())));
+      }
+    }
+    byte[] updateBytes = MapOrderingPreservingSerDeFactory.getSerializer(UPDATE_SCHEMA).serialize(update);
+    return (GenericRecord) MapOrderingPreservingSerDeFactory.getDeserializer(UPDATE_SCHEMA, UPDATE_SCHEMA)
+        .deserialize(updateBytes);
+  }
+
+  private GenericRecord randomCollectionOps(Schema opsSchema, Object currFieldValue) {
+    GenericRecord ops = new GenericData.Record(opsSchema);
+    if (opsSchema.getField(SET_UNION) != null) {
+      List<Object> union = randomList(opsSchema.getField(SET_UNION).schema());
+      List<Object> diff = randomList(opsSchema.getField(SET_DIFF).schema());
+      if (currFieldValue instanceof List && !((List) currFieldValue).isEmpty()) {
+        List currList = (List) currFieldValue;
+        union.add(currList.get(random.nextInt(currList.size())));
+        diff.add(currList.get(random.nextInt(currList.size())));
+      }
+      ops.put(SET_UNION, union);
+      ops.put(SET_DIFF, diff);
+    } else {
+      Map<String, Object> union = new HashMap<>();
+      Schema mapUnionSchema = opsSchema.getField(MAP_UNION).schema();
+      for (Map.Entry<String, Object> entry: randomMap(mapUnionSchema).entrySet()) {
+        union.put(entry.getKey(), entry.getValue());
+      }
+      List<Object> diff = new ArrayList<>();
+      diff.add(randomString());
+      if (currFieldValue instanceof Map && !((Map) currFieldValue).isEmpty()) {
+        List<Object> currKeys = new ArrayList<>(((Map) currFieldValue).keySet());
+        diff.add(currKeys.get(random.nextInt(currKeys.size())).toString());
+      }
+      ops.put(MAP_UNION, union);
+      ops.put(MAP_DIFF, diff);
+    }
+    return ops;
+  }
+
+  private static Schema findBranch(Schema unionSchema, String nameSuffix) {
+    for (Schema branch: unionSchema.getTypes()) {
+      if (branch.getType() == Schema.Type.RECORD && branch.getName().endsWith(nameSuffix)) {
+        return branch;
+      }
+    }
+    return null;
+  }
+
+  private Object randomValue(Schema schema) {
+    switch (schema.getType()) {
+      case NULL:
+        return null;
+      case BOOLEAN:
+        return random.nextBoolean();
+      case INT:
+        // Small range, so that collection operations hit existing elements.
+        return random.nextInt(10) - 3;
+      case LONG:
+        return random.nextBoolean() ? (long) random.nextInt(10) : random.nextLong();
+      case FLOAT:
+        return random.nextFloat();
+      case DOUBLE:
+        return random.nextDouble();
+      case STRING:
+        return randomString();
+      case BYTES:
+        byte[] bytes = new byte[random.nextInt(6)];
+        random.nextBytes(bytes);
+        return ByteBuffer.wrap(bytes);
+      case FIXED:
+        byte[] fixed = new byte[schema.getFixedSize()];
+        random.nextBytes(fixed);
+        return new GenericData.Fixed(schema, fixed);
+      case ENUM:
+        return new GenericData.EnumSymbol(schema, schema.getEnumSymbols().get(random.nextInt(3)));
+      case RECORD:
+        GenericRecord record = new GenericData.Record(schema);
+        for (Schema.Field field: schema.getFields()) {
+          record.put(field.name(), randomValue(field.schema()));
+        }
+        return record;
+      case ARRAY:
+        return new GenericData.Array<>(schema, randomList(schema));
+      case MAP:
+        return randomMap(schema);
+      case UNION:
+        return randomValue(schema.getTypes().get(random.nextInt(schema.getTypes().size())));
+      default:
+        throw new IllegalStateException("Unexpected schema type: " + schema.getType());
+    }
+  }
+
+  private List<Object> randomList(Schema arraySchema) {
+    int size = random.nextInt(5);
+    List<Object> list = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      list.add(randomValue(arraySchema.getElementType()));
+    }
+    return list;
+  }
+
+  private Map<String, Object> randomMap(Schema mapSchema) {
+    int size = random.nextInt(5);
+    Map<String, Object> map = new HashMap<>();
+    for (int i = 0; i < size; i++) {
+      map.put(randomString(), randomValue(mapSchema.getValueType()));
+    }
+    return map;
+  }
+
+  private String randomString() {
+    // A few keys only, including non-ASCII ones, to get both collisions and tricky map key ordering.
+    String[] candidates = { "", "a", "b", "ab", "B", "\u00e9", "z\u00e9", "\u4e2d", "key" };
+    return candidates[random.nextInt(candidates.length)];
+  }
+
+  private static void reverseMapOrder(GenericRecord record) {
+    for (Schema.Field field: record.getSchema().getFields()) {
+      Object value = record.get(field.name());
+      if (value instanceof Map) {
+        List<Map.Entry<Object, Object>> entries = new ArrayList<>(((Map<Object, Object>) value).entrySet());
+        entries.sort((e1, e2) -> e2.getKey().toString().compareTo(e1.getKey().toString()));
+        Map<Object, Object> reversed = new LinkedHashMap<>();
+        for (Map.Entry<Object, Object> entry: entries) {
+          reversed.put(entry.getKey(), entry.getValue());
+        }
+        record.put(field.name(), reversed);
+      }
+    }
+  }
+}
@@ -0,0 +1,166 @@
+package com.linkedin.venice.serializer;
+
+import com.linkedin.avroutil1.compatibility.AvroCompatibilityHelper;
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.util.Utf8;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class LazyRecordDeserializerTest {
+  private static final Schema WRITER_SCHEMA = AvroCompatibilityHelper.parse(
+      "{\"type\": \"record\", \"name\": \"TestRecord\", \"fields\": ["
+          + "{\"name\": \"id\", \"type\": \"int\"}," + "{\"name\": \"name\", \"type\": \"string\"},"
+          + "{\"name\": \"vector\", \"type\": {\"type\": \"array\", \"items\": \"float\"}},"
+          + "{\"name\": \"tags\", \"type\": {\"type\": \"map\", \"values\": \"string\"}},"
+          + "{\"name\": \"nested\", \"type\": {\"type\": \"record\", \"name\": \"Nested\", \"fields\": ["
+          + "{\"name\": \"flag\", \"type\": \"boolean\"}, {\"name\": \"label\", \"type\": \"string\"}]}},"
+          + "{\"name\": \"optional\", \"type\": [\"null\", \"string\"], \"default\": null},"
+          + "{\"name\": \"score\", \"type\": \"double\"}," + "{\"name\": \"count\", \"type\": \"int\"}]}");
+
+  /**
+   * Compared to {@link #WRITER_SCHEMA}: "name" and "tags" are removed, "count" is promoted to long, "extra" is added
+   * with a default value, and fields are reordered.
+   */
+  private static final Schema READER_SCHEMA = AvroCompatibilityHelper.parse(
+      "{\"type\": \"record\", \"name\": \"TestRecord\", \"fields\": ["
+          + "{\"name\": \"count\", \"type\": \"long\"}," + "{\"name\": \"score\", \"type\": \"double\"},"
+          + "{\"name\": \"extra\", \"type\": {\"type\": \"array\", \"items\": \"int\"}, \"default\": [1, 2]},"
+          + "{\"name\": \"id\", \"type\": \"int\"},"
+          + "{\"name\": \"vector\", \"type\": {\"type\": \"array\", \"items\": \"float\"}},"
+          + "{\"name\": \"optional\", \"type\": [\"null\", \"string\"], \"default\": null},"
+          + "{\"name\": \"nested\", \"type\": {\"type\": \"record\", \"name\": \"Nested\", \"fields\": ["
+          + "{\"name\": \"flag\", \"type\": \"boolean\"}, {\"name\": \"label\", \"type\": \"string\"}]}}]}");
+
+  private static GenericRecord createRecord(int seed) {
+    GenericRecord nested = new GenericData.Record(WRITER_SCHEMA.getField("nested").schema());
+    nested.put("flag", seed % 2 == 0);
+    nested.put("label", "label_" + seed);
+    Map<String, String> tags = new HashMap<>();
+    for (int i = 0; i < seed % 5; i++) {
+      tags.put("tag_" + i, "value_" + seed);
+    }
+    Float[] vector = new Float[seed * 10];
+    for (int i = 0; i < vector.length; i++) {
+      vector[i] = (float) (seed + i);
+    }
+    GenericRecord record = new GenericData.Record(WRITER_SCHEMA);
+    record.put("id", seed);
+    record.put("name", "name_" + seed);
+    record.put("vector", Arrays.asList(vector));
+    record.put("tags", tags);
+    record.put("nested", nested);
+    record.put("optional", seed % 3 == 0 ? null : "optional_" + seed);
+    record.put("score", seed * 1.5);
+    record.put("count", seed * 1000);
+    return record;
+  }
+
+  private static byte[] serialize(GenericRecord record) {
+    return SerializerDeserializerFactory.getAvroGenericSerializer(record.getSchema()).serialize(record);
+  }
+
+  @Test
+  public void testSameSchema() {
+    RecordDeserializer<GenericRecord> regularDeserializer =
+        SerializerDeserializerFactory.getAvroGenericDeserializer(WRITER_SCHEMA, WRITER_SCHEMA);
+    LazyRecordDeserializer lazyDeserializer =
+        SerializerDeserializerFactory.getLazyRecordDeserializer(WRITER_SCHEMA, WRITER_SCHEMA);
+    Assert.assertSame(
+        SerializerDeserializerFactory.getLazyRecordDeserializer(WRITER_SCHEMA, WRITER_SCHEMA),
+        lazyDeserializer);
+
+    for (int seed = 0; seed < 20; seed++) {
+      byte[] bytes = serialize(createRecord(seed));
+      GenericRecord expected = regularDeserializer.deserialize(bytes);
+      LazyGenericRecord lazyRecord = lazyDeserializer.deserialize(ByteBuffer.wrap(bytes));
+      Assert.assertEquals(lazyRecord.getSchema(), WRITER_SCHEMA);
+      // Access fields in reverse order, so that later fields get located before earlier ones are decoded
+      for (int i = WRITER_SCHEMA.getFields().size() - 1; i >= 0; i--) {
+        Assert.assertEquals(lazyRecord.get(i), expected.get(i));
+      }
+      Assert.assertTrue(lazyRecord.equals(expected));
+      Assert.assertEquals(lazyRecord.toGenericRecord(), expected);
+      Assert.assertEquals(lazyRecord.hashCode(), expected.hashCode());
+      Assert.assertEquals(lazyRecord.toString(), expected.toString());
+    }
+  }
+
+  @Test
+  public void testSchemaEvolution() {
+    RecordDeserializer<GenericRecord> regularDeserializer =
+        SerializerDeserializerFactory.getAvroGenericDeserializer(WRITER_SCHEMA, READER_SCHEMA);
+    LazyRecordDeserializer lazyDeserializer = new LazyRecordDeserializer(WRITER_SCHEMA, READER_SCHEMA);
+
+    for (int seed = 0; seed < 20; seed++) {
+      byte[] bytes = serialize(createRecord(seed));
+      GenericRecord expected = regularDeserializer.deserialize(bytes);
+      LazyGenericRecord lazyRecord = lazyDeserializer.deserialize(bytes);
+      Assert.assertEquals(lazyRecord.getSchema(), READER_SCHEMA);
+      Assert.assertEquals(lazyRecord.get("count"), (long) seed * 1000);
+      Assert.assertEquals(lazyRecord.get("extra"), Arrays.asList(1, 2));
+      Assert.assertNull(lazyRecord.get("name"));
+      Assert.assertTrue(lazyRecord.equals(expected));
+    }
+  }
+
+  @Test
+  public void testMissingFieldWithoutDefault() {
+    Schema readerSchema = AvroCompatibilityHelper.parse(
+        "{\"type\": \"record\", \"name\": \"TestRecord\", \"fields\": [{\"name\": \"missing\", \"type\": \"int\"}]}");
+    Assert.assertThrows(IllegalArgumentException.class, () -> new LazyRecordDeserializer(WRITER_SCHEMA, readerSchema));
+    Assert.assertThrows(
+        IllegalArgumentException.class,
+        () -> new LazyRecordDeserializer(AvroCompatibilityHelper.parse("\"string\""), readerSchema));
+  }
+
+  @Test
+  public void testViewReuse() {
+    LazyRecordDeserializer lazyDeserializer = new LazyRecordDeserializer(WRITER_SCHEMA, READER_SCHEMA);
+    LazyGenericRecord view = new LazyGenericRecord();
+    Assert.assertThrows(IllegalStateException.class, () -> view.get(0));
+
+    // Values larger than the initial buffer, followed by smaller ones
+    for (int seed: new int[] { 200, 3, 100, 0, 7 }) {
+      byte[] bytes = serialize(createRecord(seed));
+      Assert.assertSame(lazyDeserializer.deserialize(view, ByteBuffer.wrap(bytes), null), view);
+      Assert.assertEquals(view.get("id"), seed);
+      Assert.assertEquals(((GenericRecord) view.get("nested")).get("label"), new Utf8("label_" + seed));
+
+      // Overridden values and mutated defaults must not leak into the next value
+      view.put("score", -1.0);
+      Assert.assertEquals(view.get("score"), -1.0);
+      ((List<Integer>) view.get("extra")).add(seed);
+    }
+
+    byte[] bytes = serialize(createRecord(42));
+    Assert.assertSame(lazyDeserializer.deserialize(view, new ByteArrayInputStream(bytes), null), view);
+    Assert.assertEquals(view.get("score"), 42 * 1.5);
+    Assert.assertEquals(view.get("extra"), Arrays.asList(1, 2));
+    Assert.assertEquals(view.get("vector"), createRecord(42).get("vector"));
+
+    // The view can also be moved to another schema pair
+    LazyRecordDeserializer otherDeserializer = new LazyRecordDeserializer(WRITER_SCHEMA, WRITER_SCHEMA);
+    Assert.assertSame(otherDeserializer.deserialize(view, bytes), view);
+    Assert.assertEquals(view.getSchema(), WRITER_SCHEMA);
+    Assert.assertEquals(((Map) view.get("tags")).size(), 2);
+    Assert.assertEquals(view.get("name"), new Utf8("name_42"));
+  }
+
+  @Test
+  public void testTruncatedValue() {
+    byte[] bytes = serialize(createRecord(10));
+    LazyGenericRecord view =
+        new LazyRecordDeserializer(WRITER_SCHEMA, WRITER_SCHEMA).deserialize(Arrays.copyOf(bytes, bytes.length - 5));
+    Assert.assertEquals(view.get("id"), 10);
+    Assert.assertThrows(VeniceSerializationException.class, () -> view.get("count"));
+  }
+}
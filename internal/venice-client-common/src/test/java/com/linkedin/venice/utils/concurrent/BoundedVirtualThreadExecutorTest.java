@@ -0,0 +1,99 @@
+package com.linkedin.venice.utils.concurrent;
+
+import com.linkedin.venice.exceptions.VeniceException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+
+public class BoundedVirtualThreadExecutorTest {
+  @Test
+  public void testUnsupportedRuntime() {
+    if (BoundedVirtualThreadExecutor.isSupported()) {
+      throw new SkipException("Virtual threads are supported by the current JVM");
+    }
+    Assert.assertThrows(VeniceException.class, () -> new BoundedVirtualThreadExecutor("test", 1, 1));
+  }
+
+  @Test(timeOut = 10000)
+  public void testConcurrencyIsBounded() throws InterruptedException {
+    if (!BoundedVirtualThreadExecutor.isSupported()) {
+      throw new SkipException("Virtual threads are not supported by the current JVM");
+    }
+    BoundedVirtualThreadExecutor executor = new BoundedVirtualThreadExecutor("test", 2, 100);
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch done = new CountDownLatch(5);
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    try {
+      for (int i = 0; i < 5; i++) {
+        executor.execute(() -> {
+          maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          } finally {
+            running.decrementAndGet();
+            done.countDown();
+          }
+        });
+      }
+      while (executor.getActiveCount() < 2 || executor.getQueuedTaskCount() < 3) {
+        Thread.sleep(10);
+      }
+      Assert.assertEquals(executor.getActiveCount(), 2);
+      Assert.assertEquals(executor.getQueuedTaskCount(), 3);
+
+      release.countDown();
+      Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+      Assert.assertEquals(maxRunning.get(), 2);
+    } finally {
+      executor.shutdown();
+    }
+    Assert.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    Assert.assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> {}));
+  }
+
+  @Test(timeOut = 10000)
+  public void testTaskInterruptedWhileWaitingForPermit() throws InterruptedException {
+    if (!BoundedVirtualThreadExecutor.isSupported()) {
+      throw new SkipException("Virtual threads are not supported by the current JVM");
+    }
+    BoundedVirtualThreadExecutor executor = new BoundedVirtualThreadExecutor("test", 1, 100);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger queuedTaskRunCount = new AtomicInteger();
+    Future<?> runningTask = executor.submit(() -> {
+      release.await();
+      return null;
+    });
+    while (executor.getActiveCount() < 1) {
+      Thread.sleep(10);
+    }
+    Future<?> queuedTask = executor.submit(queuedTaskRunCount::incrementAndGet);
+    while (executor.getQueuedTaskCount() < 1) {
+      Thread.sleep(10);
+    }
+
+    executor.shutdownNow();
+    Assert.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    // The future of the task which never got a permit is completed instead of hanging forever
+    try {
+      queuedTask.get(5, TimeUnit.SECONDS);
+      Assert.fail("The queued task should have failed");
+    } catch (ExecutionException e) {
+      Assert.assertTrue(e.getCause() instanceof InterruptedException);
+    } catch (TimeoutException e) {
+      Assert.fail("The future of the queued task was never completed", e);
+    }
+    Assert.assertEquals(queuedTaskRunCount.get(), 0);
+    Assert.assertTrue(runningTask.isDone());
+  }
+}
@@ -384,6 +384,25 @@ public class ConfigKeys {
       "store.writer.buffer.after.leader.logic.enabled";
   public static final String STORE_WRITER_BUFFER_MEMORY_CAPACITY = "store.writer.buffer.memory.capacity";
   public static final String STORE_WRITER_BUFFER_NOTIFY_DELTA = "store.writer.buffer.notify.delta";
+
+  /**
+   * Whether the records polled by the shared consumers of the server should be deserialized into pooled messages and
+   * envelopes, which get recycled once the drainer has persisted them, rather than allocated for each record.
+   */
+  public static final String SERVER_INGESTION_OBJECT_POOLING_ENABLED = "server.ingestion.object.pooling.enabled";
+
+  /**
+   * The maximum number of recycled objects kept by each of the pools of
+   * {@link #SERVER_INGESTION_OBJECT_POOLING_ENABLED}.
+   */
+  public static final String SERVER_INGESTION_OBJECT_POOL_CAPACITY = "server.ingestion.object.pool.capacity";
+
+  /**
+   * Whether the pooled messages of {@link #SERVER_INGESTION_OBJECT_POOLING_ENABLED} should throw when used after having
+   * been released. Intended for tests, since it adds a check to every access and a stack trace to every release.
+   */
+  public static final String SERVER_INGESTION_OBJECT_POOL_LEAK_DETECTION_ENABLED =
+      "server.ingestion.object.pool.leak.detection.enabled";
   public static final String SERVER_REST_SERVICE_STORAGE_THREAD_NUM = "server.rest.service.storage.thread.num";
   public static final String SERVER_NETTY_IDLE_TIME_SECONDS = "server.netty.idle.time.seconds";
   public static final String SERVER_MAX_REQUEST_SIZE = "server.max.request.size";
@@ -525,6 +544,38 @@ public class ConfigKeys {
    */
   public static final String SERVER_COMPUTE_FAST_AVRO_ENABLED = "server.compute.fast.avro.enabled";
 
+  /**
+   * Whether leaders apply partial updates directly on the serialized stored value, instead of deserializing the whole
+   * value into a record, updating it and serializing it back. Values which are chunked or written with a value schema
+   * other than the superset schema always go through the record based path.
+   */
+  public static final String SERVER_INCREMENTAL_WRITE_COMPUTE_ENABLED = "server.incremental.write.compute.enabled";
+
+  /**
+   * Size of the off-heap memory segments which the records of the
+   * {@link com.linkedin.venice.meta.PersistenceType#OFF_HEAP_MEMORY} storage engine are appended to. Each partition
+   * allocates at least one segment.
+   */
+  public static final String SERVER_OFF_HEAP_STORAGE_SEGMENT_SIZE = "server.off.heap.storage.segment.size";
+
+  /**
+   * Port of the endpoint serving snapshots of the local partitions to peer Da Vinci instances, which is disabled when
+   * not positive. See {@link #SERVER_SNAPSHOT_BOOTSTRAP_PEERS}.
+   */
+  public static final String SERVER_SNAPSHOT_SERVER_PORT = "server.snapshot.server.port";
+
+  /**
+   * Comma separated list of host:port of peers serving partition snapshots. A Da Vinci instance which subscribes to a
+   * partition without any local data tries to bootstrap it from these peers, in order, before falling back to
+   * consuming the whole version topic.
+   */
+  public static final String SERVER_SNAPSHOT_BOOTSTRAP_PEERS = "server.snapshot.bootstrap.peers";
+
+  /**
+   * Socket timeout when fetching a partition snapshot from a peer.
+   */
+  public static final String SERVER_SNAPSHOT_TRANSFER_TIMEOUT_SECONDS = "server.snapshot.transfer.timeout.seconds";
+
   /**
    * Whether to enable parallel lookup for batch-get.
    */
@@ -535,6 +586,35 @@ public class ConfigKeys {
    */
   public static final String SERVER_PARALLEL_BATCH_GET_CHUNK_SIZE = "server.parallel.batch.get.chunk.size";
 
+  /**
+   * Max size of the keys and values returned in a single page of a key prefix scan, whatever the client asks for.
+   */
+  public static final String SERVER_SCAN_MAX_PAGE_SIZE_IN_BYTES = "server.scan.max.page.size.in.bytes";
+
+  /**
+   * Max time spent reading a single page of a key prefix scan, whatever the client asks for.
+   */
+  public static final String SERVER_SCAN_MAX_PAGE_TIME_MS = "server.scan.max.page.time.ms";
+
+  /**
+   * Whether to run storage read and compute requests on virtual threads instead of the fixed size thread pools
+   * configured by {@link #SERVER_REST_SERVICE_STORAGE_THREAD_NUM} and {@link #SERVER_COMPUTE_THREAD_NUM}.
+   * This requires JDK 21+, and the server falls back to the fixed size thread pools on older runtimes.
+   */
+  public static final String SERVER_STORAGE_READ_VIRTUAL_THREAD_ENABLED = "server.storage.read.virtual.thread.enabled";
+
+  /**
+   * Max number of storage read requests running concurrently when virtual threads are enabled.
+   */
+  public static final String SERVER_STORAGE_READ_VIRTUAL_THREAD_MAX_CONCURRENCY =
+      "server.storage.read.virtual.thread.max.concurrency";
+
+  /**
+   * Max number of compute requests running concurrently when virtual threads are enabled.
+   */
+  public static final String SERVER_COMPUTE_VIRTUAL_THREAD_MAX_CONCURRENCY =
+      "server.compute.virtual.thread.max.concurrency";
+
   /**
    * The request early termination threshold map:
    * The key will be store name, and the value will be the actual threshold.
@@ -666,6 +746,14 @@ public class ConfigKeys {
   public static final String SERVER_INGESTION_ISOLATION_REQUEST_TIMEOUT_SECONDS =
       "server.ingestion.isolation.request.timeout.seconds";
 
+  /**
+   * Whether the forked ingestion process sends its ingestion reports to the main process through a ring in a
+   * memory-mapped file under the data base path, rather than through HTTP requests. The reports are still sent through
+   * HTTP until the main process has created the ring.
+   */
+  public static final String SERVER_INGESTION_ISOLATION_SHARED_MEMORY_REPORT_ENABLED =
+      "server.ingestion.isolation.shared.memory.report.enabled";
+
   /**
    * Timeout for single heartbeat request sent from main process to forked ingestion process.
    */
@@ -1748,6 +1836,16 @@ public class ConfigKeys {
    */
   public static final String REPLICATION_METADATA_VERSION = "replication.metadata.version";
 
+  /**
+   * Whether the new versions created by the controller let their writers use the compact encoding of the data messages,
+   * see {@link com.linkedin.venice.meta.Version#isCompactEnvelopeEnabled()}. The consumers which predate that encoding
+   * cannot read it, so this should only be turned on once all the servers, Da Vinci clients and repush jobs consuming
+   * the version topics of the cluster have been upgraded. In a multi-region setup, it has to be turned on in the
+   * parent controller, which decides the encoding used by the push jobs, as well as in the child controllers, which
+   * decide the one used by the leaders.
+   */
+  public static final String CONTROLLER_COMPACT_ENVELOPE_ENABLED = "controller.compact.envelope.enabled";
+
   /*
    * This config will specify the offset lag threshold to be used for offset lag comparison in making partition online faster.
    */
@@ -1891,4 +1989,26 @@ public class ConfigKeys {
    */
   public static final String CLIENT_PRODUCER_SCHEMA_REFRESH_INTERVAL_SECONDS =
       "client.producer.schema.refresh.interval.seconds";
+
+  /**
+   * Whether the online Venice producer accumulates its writes into a batch per partition, which gets produced once it
+   * is full or once its linger time is over, instead of producing each write on its own.
+   */
+  public static final String CLIENT_PRODUCER_BATCHING_ENABLED = "client.producer.batching.enabled";
+
+  /**
+   * The maximum time for which the first write of a batch waits for more writes to the same partition.
+   */
+  public static final String CLIENT_PRODUCER_BATCH_LINGER_MS = "client.producer.batch.linger.ms";
+
+  /**
+   * The number of writes after which a batch gets produced, without waiting for its linger time.
+   */
+  public static final String CLIENT_PRODUCER_BATCH_MAX_RECORDS = "client.producer.batch.max.records";
+
+  /**
+   * The number of threads producing the batches which are full or whose linger time is over. The batches of a given
+   * partition are produced by one thread at a time.
+   */
+  public static final String CLIENT_PRODUCER_BATCH_THREAD_NUM = "client.producer.batch.thread.num";
 }
@@ -27,6 +27,8 @@ public class VersionCreationResponse extends VersionResponse {
 
   private boolean daVinciPushStatusStoreEnabled = false;
 
+  private boolean compactEnvelopeEnabled = false;
+
   public void setPartitions(int partitions) {
     this.partitions = partitions;
   }
@@ -107,13 +109,25 @@ public class VersionCreationResponse extends VersionResponse {
     return this.daVinciPushStatusStoreEnabled;
   }
 
+  /**
+   * @return whether the data messages written to {@link #getKafkaTopic()} can use the compact envelope encoding, see
+   *         {@link com.linkedin.venice.meta.Version#isCompactEnvelopeEnabled()}.
+   */
+  public boolean isCompactEnvelopeEnabled() {
+    return compactEnvelopeEnabled;
+  }
+
+  public void setCompactEnvelopeEnabled(boolean compactEnvelopeEnabled) {
+    this.compactEnvelopeEnabled = compactEnvelopeEnabled;
+  }
+
   @JsonIgnore
   public String toString() {
     return VersionCreationResponse.class.getSimpleName() + "(partitions: " + partitions + ", replicas: " + replicas
         + ", kafkaTopic: " + kafkaTopic + ", kafkaBootstrapServers: " + kafkaBootstrapServers + ", enableSSL: "
         + enableSSL + ", compressionStrategy: " + compressionStrategy.toString() + ", partitionerClass: "
         + partitionerClass + ", partitionerParams: " + partitionerParams + ", amplificationFactor: "
-        + amplificationFactor + ", daVinciPushStatusStoreEnabled: " + daVinciPushStatusStoreEnabled + ", super: "
-        + super.toString() + ")";
+        + amplificationFactor + ", daVinciPushStatusStoreEnabled: " + daVinciPushStatusStoreEnabled
+        + ", compactEnvelopeEnabled: " + compactEnvelopeEnabled + ", super: " + super.toString() + ")";
   }
 }
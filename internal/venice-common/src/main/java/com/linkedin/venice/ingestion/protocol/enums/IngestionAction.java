@@ -1,5 +1,5 @@
 package com.linkedin.venice.ingestion.protocol.enums;
 
 public enum IngestionAction {
-  COMMAND, REPORT, METRIC, HEARTBEAT, UPDATE_METADATA, SHUTDOWN_COMPONENT
+  COMMAND, REPORT, METRIC, HEARTBEAT, UPDATE_METADATA, SHUTDOWN_COMPONENT, REPORT_BATCH
 }
@@ -33,7 +33,12 @@ public enum PersistenceType {
   /**
    * Similar to IN_MEMORY but with different retention rules of data (that is, data is evicted under certain circumstances)
    */
-  CACHE(4);
+  CACHE(4),
+
+  /**
+   * Volatile storage engine which keeps keys and values off the Java heap, in an open-addressing hash table.
+   */
+  OFF_HEAP_MEMORY(5);
 
   public final int value;
 
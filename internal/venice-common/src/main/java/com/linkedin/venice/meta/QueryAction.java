@@ -19,5 +19,8 @@ public enum QueryAction {
   ADMIN,
 
   // METADATA is a GET request to /metadata/storename on the storage node to fetch metadata for that node
-  METADATA
+  METADATA,
+
+  // SCAN is a POST request to /scan/resourcename/partition on the storage node to fetch one page of a key prefix scan
+  SCAN
 }
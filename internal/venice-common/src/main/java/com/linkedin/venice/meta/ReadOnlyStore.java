@@ -367,6 +367,16 @@ public class ReadOnlyStore implements Store {
       throw new UnsupportedOperationException();
     }
 
+    @Override
+    public boolean isCompactEnvelopeEnabled() {
+      return this.delegate.isCompactEnvelopeEnabled();
+    }
+
+    @Override
+    public void setCompactEnvelopeEnabled(boolean compactEnvelopeEnabled) {
+      throw new UnsupportedOperationException();
+    }
+
     @Override
     public String getStoreName() {
       return this.delegate.getStoreName();
@@ -124,6 +124,14 @@ public interface Version extends Comparable<Version>, DataModelBackedStructure<S
 
   void setRmdChunkingEnabled(boolean rmdChunkingEnabled);
 
+  /**
+   * @return whether the writers of the version topic can use the compact encoding of the data messages, which the
+   *         controller only enables once all the consumers of the version topics of its cluster can read it.
+   */
+  boolean isCompactEnvelopeEnabled();
+
+  void setCompactEnvelopeEnabled(boolean compactEnvelopeEnabled);
+
   String getStoreName();
 
   String getPushJobId();
@@ -165,6 +165,16 @@ public class VersionImpl implements Version {
     this.storeVersion.rmdChunkingEnabled = rmdChunkingEnabled;
   }
 
+  @Override
+  public boolean isCompactEnvelopeEnabled() {
+    return this.storeVersion.compactEnvelopeEnabled;
+  }
+
+  @Override
+  public void setCompactEnvelopeEnabled(boolean compactEnvelopeEnabled) {
+    this.storeVersion.compactEnvelopeEnabled = compactEnvelopeEnabled;
+  }
+
   @Override
   public final String getStoreName() {
     return this.storeVersion.storeName.toString();
@@ -411,6 +421,7 @@ public class VersionImpl implements Version {
     clonedVersion.setCompressionStrategy(getCompressionStrategy());
     clonedVersion.setChunkingEnabled(isChunkingEnabled());
     clonedVersion.setRmdChunkingEnabled(isRmdChunkingEnabled());
+    clonedVersion.setCompactEnvelopeEnabled(isCompactEnvelopeEnabled());
     clonedVersion.setPushType(getPushType());
     clonedVersion.setNativeReplicationEnabled(isNativeReplicationEnabled());
     clonedVersion.setPushStreamSourceAddress(getPushStreamSourceAddress());
@@ -0,0 +1,145 @@
+package com.linkedin.venice.pubsub;
+
+import com.linkedin.venice.kafka.protocol.KafkaMessageEnvelope;
+import com.linkedin.venice.message.KafkaKey;
+import com.linkedin.venice.pubsub.api.PubSubMessage;
+import com.linkedin.venice.pubsub.api.PubSubTopicPartition;
+import com.linkedin.venice.utils.pools.ObjectPool;
+import java.util.Objects;
+
+
+/**
+ * A {@link PubSubMessage} which gets recycled, along with its {@link KafkaMessageEnvelope}, once {@link #release()}
+ * is called by the last user of the message.
+ *
+ * A message must be released at most once, and must not be used anymore after having been released. With leak
+ * detection enabled, which is intended for tests, any use of a released message throws, along with the stack trace
+ * of the release, rather than silently reading the content of the next message recycled into the same object.
+ */
+public class PooledPubSubMessage implements PubSubMessage<KafkaKey, KafkaMessageEnvelope, Long> {
+  private final boolean leakDetectionEnabled;
+
+  private KafkaKey key;
+  private KafkaMessageEnvelope value;
+  private PubSubTopicPartition topicPartition;
+  private long offset;
+  private long timestamp;
+  private int payloadSize;
+  private ObjectPool<PooledPubSubMessage> messagePool;
+  private ObjectPool<KafkaMessageEnvelope> valuePool;
+  private boolean released = true;
+  private Exception releaseStackTrace;
+
+  public PooledPubSubMessage(boolean leakDetectionEnabled) {
+    this.leakDetectionEnabled = leakDetectionEnabled;
+  }
+
+  /**
+   * @param messagePool the pool this message got obtained from, and which it goes back to once released
+   * @param valuePool the pool {@param value} got obtained from, or null if the value should not be recycled
+   */
+  public void set(
+      ObjectPool<PooledPubSubMessage> messagePool,
+      KafkaKey key,
+      KafkaMessageEnvelope value,
+      ObjectPool<KafkaMessageEnvelope> valuePool,
+      PubSubTopicPartition topicPartition,
+      long offset,
+      long timestamp,
+      int payloadSize) {
+    if (!released) {
+      throw new IllegalStateException("Cannot reuse a message which has not been released: " + this);
+    }
+    this.messagePool = messagePool;
+    this.key = key;
+    this.value = value;
+    this.valuePool = valuePool;
+    this.topicPartition = Objects.requireNonNull(topicPartition);
+    this.offset = offset;
+    this.timestamp = timestamp;
+    this.payloadSize = payloadSize;
+    this.released = false;
+    this.releaseStackTrace = null;
+  }
+
+  /**
+   * Gives the message and its value back to their pools.
+   */
+  public void release() {
+    checkNotReleased();
+    released = true;
+    if (leakDetectionEnabled) {
+      releaseStackTrace = new Exception("Released at");
+    }
+    if (valuePool != null) {
+      valuePool.dispose(value);
+    }
+    key = null;
+    value = null;
+    valuePool = null;
+    topicPartition = null;
+    ObjectPool<PooledPubSubMessage> messagePool = this.messagePool;
+    this.messagePool = null;
+    messagePool.dispose(this);
+  }
+
+  public boolean isReleased() {
+    return released;
+  }
+
+  private void checkNotReleased() {
+    if (released) {
+      throw new IllegalStateException("The message has already been released", releaseStackTrace);
+    }
+  }
+
+  private void checkNotReleasedIfLeakDetectionEnabled() {
+    if (leakDetectionEnabled) {
+      checkNotReleased();
+    }
+  }
+
+  @Override
+  public KafkaKey getKey() {
+    checkNotReleasedIfLeakDetectionEnabled();
+    return key;
+  }
+
+  @Override
+  public KafkaMessageEnvelope getValue() {
+    checkNotReleasedIfLeakDetectionEnabled();
+    return value;
+  }
+
+  @Override
+  public PubSubTopicPartition getTopicPartition() {
+    checkNotReleasedIfLeakDetectionEnabled();
+    return topicPartition;
+  }
+
+  @Override
+  public Long getOffset() {
+    checkNotReleasedIfLeakDetectionEnabled();
+    return offset;
+  }
+
+  @Override
+  public long getPubSubMessageTime() {
+    checkNotReleasedIfLeakDetectionEnabled();
+    return timestamp;
+  }
+
+  @Override
+  public int getPayloadSize() {
+    checkNotReleasedIfLeakDetectionEnabled();
+    return payloadSize;
+  }
+
+  @Override
+  public String toString() {
+    if (released) {
+      return PooledPubSubMessage.class.getSimpleName() + "(released)";
+    }
+    return PooledPubSubMessage.class.getSimpleName() + "(" + topicPartition + ", offset: " + offset + ")";
+  }
+}
@@ -34,6 +34,12 @@ public class ApacheKafkaProducerConfig {
       KAFKA_CONFIG_PREFIX + ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG;
   public static final String KAFKA_PRODUCER_REQUEST_TIMEOUT_MS =
       KAFKA_CONFIG_PREFIX + ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG;
+  /**
+   * Set for each writer by {@link com.linkedin.venice.writer.VeniceWriterFactory} from the version of the topic, see
+   * {@link KafkaValueSerializer#COMPACT_ENCODING_ENABLED_CONFIG}.
+   */
+  public static final String KAFKA_COMPACT_ENVELOPE_ENABLED =
+      KAFKA_CONFIG_PREFIX + KafkaValueSerializer.COMPACT_ENCODING_ENABLED_CONFIG;
   public static final String SSL_KAFKA_BOOTSTRAP_SERVERS = "ssl." + KAFKA_BOOTSTRAP_SERVERS;
   // N.B. do not attempt to change spelling, "kakfa", without carefully replacing all instances in use and some
   // of them may be external to this repo
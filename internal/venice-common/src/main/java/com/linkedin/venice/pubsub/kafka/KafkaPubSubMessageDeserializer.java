@@ -2,14 +2,18 @@ package com.linkedin.venice.pubsub.kafka;
 
 import com.linkedin.avroutil1.compatibility.AvroCompatibilityHelper;
 import com.linkedin.venice.kafka.protocol.KafkaMessageEnvelope;
+import com.linkedin.venice.kafka.protocol.Put;
+import com.linkedin.venice.kafka.protocol.Update;
 import com.linkedin.venice.kafka.protocol.enums.MessageType;
 import com.linkedin.venice.message.KafkaKey;
 import com.linkedin.venice.pubsub.ImmutablePubSubMessage;
+import com.linkedin.venice.pubsub.PooledPubSubMessage;
 import com.linkedin.venice.pubsub.api.PubSubMessage;
 import com.linkedin.venice.pubsub.api.PubSubMessageDeserializer;
 import com.linkedin.venice.pubsub.api.PubSubTopicPartition;
 import com.linkedin.venice.serialization.KafkaKeySerializer;
 import com.linkedin.venice.serialization.avro.KafkaValueSerializer;
+import com.linkedin.venice.utils.pools.BoundedObjectPool;
 import com.linkedin.venice.utils.pools.ObjectPool;
 import org.apache.avro.Schema;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
@@ -28,14 +32,60 @@ public class KafkaPubSubMessageDeserializer implements
   private final KafkaValueSerializer valueSerializer;
   private final ObjectPool<KafkaMessageEnvelope> putEnvelopePool;
   private final ObjectPool<KafkaMessageEnvelope> updateEnvelopePool;
+  private final ObjectPool<PooledPubSubMessage> messagePool;
 
   public KafkaPubSubMessageDeserializer(
       KafkaValueSerializer valueSerializer,
       ObjectPool<KafkaMessageEnvelope> putEnvelopePool,
       ObjectPool<KafkaMessageEnvelope> updateEnvelopePool) {
+    this(valueSerializer, putEnvelopePool, updateEnvelopePool, null);
+  }
+
+  /**
+   * @param messagePool if not null, the messages are {@link PooledPubSubMessage}s obtained from this pool, which give
+   *                    themselves and their envelope back to their pools once released by their last user
+   */
+  public KafkaPubSubMessageDeserializer(
+      KafkaValueSerializer valueSerializer,
+      ObjectPool<KafkaMessageEnvelope> putEnvelopePool,
+      ObjectPool<KafkaMessageEnvelope> updateEnvelopePool,
+      ObjectPool<PooledPubSubMessage> messagePool) {
     this.valueSerializer = valueSerializer;
     this.putEnvelopePool = putEnvelopePool;
     this.updateEnvelopePool = updateEnvelopePool;
+    this.messagePool = messagePool;
+  }
+
+  /**
+   * @return a pool of envelopes which drops the references of the recycled envelopes to their producer GUID, which
+   *         might be kept by the data integrity validation, and to the buffers of their payload
+   */
+  public static BoundedObjectPool<KafkaMessageEnvelope> createEnvelopePool(int capacity) {
+    return new BoundedObjectPool<>(
+        KafkaMessageEnvelope::new,
+        KafkaPubSubMessageDeserializer::resetEnvelope,
+        capacity);
+  }
+
+  public static BoundedObjectPool<PooledPubSubMessage> createMessagePool(int capacity, boolean leakDetectionEnabled) {
+    return new BoundedObjectPool<>(() -> new PooledPubSubMessage(leakDetectionEnabled), message -> {}, capacity);
+  }
+
+  private static void resetEnvelope(KafkaMessageEnvelope envelope) {
+    if (envelope.producerMetadata != null) {
+      envelope.producerMetadata.producerGUID = null;
+    }
+    Object payload = envelope.payloadUnion;
+    if (payload instanceof Put) {
+      Put put = (Put) payload;
+      put.putValue = null;
+      put.replicationMetadataPayload = null;
+    } else if (payload instanceof Update) {
+      ((Update) payload).updateValue = null;
+    }
+    if (envelope.leaderMetadataFooter != null) {
+      envelope.leaderMetadataFooter.hostName = null;
+    }
   }
 
   @Override
@@ -44,6 +94,7 @@ public class KafkaPubSubMessageDeserializer implements
       PubSubTopicPartition topicPartition) {
     // TODO: Put the key in an object pool as well
     KafkaKey key = keySerializer.deserialize(null, consumerRecord.key());
+    ObjectPool<KafkaMessageEnvelope> envelopePool = getEnvelopePool(key.getKeyHeaderByte());
     KafkaMessageEnvelope value = null;
     if (key.isControlMessage()) {
       for (Header header: consumerRecord.headers()) {
@@ -51,7 +102,7 @@ public class KafkaPubSubMessageDeserializer implements
           try {
             Schema providedProtocolSchema = AvroCompatibilityHelper.parse(new String(header.value()));
             value = valueSerializer
-                .deserialize(consumerRecord.value(), providedProtocolSchema, getEnvelope(key.getKeyHeaderByte()));
+                .deserialize(consumerRecord.value(), providedProtocolSchema, getEnvelope(envelopePool));
           } catch (Exception e) {
             // Improper header... will ignore.
             LOGGER.warn("Received unparsable schema in protocol header: " + VENICE_TRANSPORT_PROTOCOL_HEADER, e);
@@ -61,9 +112,21 @@ public class KafkaPubSubMessageDeserializer implements
       }
     }
     if (value == null) {
-      value = valueSerializer.deserialize(consumerRecord.value(), getEnvelope(key.getKeyHeaderByte()));
+      value = valueSerializer.deserialize(consumerRecord.value(), getEnvelope(envelopePool));
+    }
+    if (messagePool != null) {
+      PooledPubSubMessage message = messagePool.get();
+      message.set(
+          messagePool,
+          key,
+          value,
+          envelopePool,
+          topicPartition,
+          consumerRecord.offset(),
+          consumerRecord.timestamp(),
+          consumerRecord.key().length + consumerRecord.value().length);
+      return message;
     }
-    // TODO: Put the message container in an object pool as well
     return new ImmutablePubSubMessage<>(
         key,
         value,
@@ -73,17 +136,24 @@ public class KafkaPubSubMessageDeserializer implements
         consumerRecord.key().length + consumerRecord.value().length);
   }
 
-  private KafkaMessageEnvelope getEnvelope(byte keyHeaderByte) {
+  /**
+   * @return the pool of the envelopes of the given type of message, or null for the types which are not pooled
+   */
+  private ObjectPool<KafkaMessageEnvelope> getEnvelopePool(byte keyHeaderByte) {
     switch (keyHeaderByte) {
       case MessageType.Constants.PUT_KEY_HEADER_BYTE:
-        return putEnvelopePool.get();
+        return putEnvelopePool;
       // No need to pool control messages since there are so few of them, and they are varied anyway, limiting reuse.
       case MessageType.Constants.CONTROL_MESSAGE_KEY_HEADER_BYTE:
-        return new KafkaMessageEnvelope();
+        return null;
       case MessageType.Constants.UPDATE_KEY_HEADER_BYTE:
-        return updateEnvelopePool.get();
+        return updateEnvelopePool;
       default:
         throw new IllegalStateException("Illegal key header byte: " + keyHeaderByte);
     }
   }
+
+  private static KafkaMessageEnvelope getEnvelope(ObjectPool<KafkaMessageEnvelope> envelopePool) {
+    return envelopePool == null ? new KafkaMessageEnvelope() : envelopePool.get();
+  }
 }
@@ -42,6 +42,9 @@ import org.apache.avro.specific.SpecificRecord;
 public enum AvroProtocolDefinition {
   /**
    * Used for the Kafka topics, including the main data topics as well as the admin topic.
+   *
+   * The data messages can also be written with the compact encoding of {@link CompactKafkaMessageEnvelopeCodec},
+   * whose magic byte is reserved as well.
    */
   KAFKA_MESSAGE_ENVELOPE(23, 11, KafkaMessageEnvelope.class),
 
@@ -135,7 +138,7 @@ public enum AvroProtocolDefinition {
   /**
    * Value schema for metadata system store.
    */
-  METADATA_SYSTEM_SCHEMA_STORE(13, StoreMetaValue.class),
+  METADATA_SYSTEM_SCHEMA_STORE(14, StoreMetaValue.class),
 
   /**
    * Key schema for push status system store.
@@ -167,6 +170,7 @@ public enum AvroProtocolDefinition {
 
   private static Set<Byte> validateMagicBytes() {
     Set<Byte> magicByteSet = new HashSet<>();
+    magicByteSet.add(CompactKafkaMessageEnvelopeCodec.MAGIC_BYTE);
     for (AvroProtocolDefinition avroProtocolDefinition: AvroProtocolDefinition.values()) {
       if (avroProtocolDefinition.magicByte.isPresent()) {
         if (magicByteSet.contains(avroProtocolDefinition.magicByte.get())) {
@@ -0,0 +1,358 @@
+package com.linkedin.venice.serialization.avro;
+
+import com.linkedin.venice.exceptions.VeniceMessageException;
+import com.linkedin.venice.kafka.protocol.Delete;
+import com.linkedin.venice.kafka.protocol.GUID;
+import com.linkedin.venice.kafka.protocol.KafkaMessageEnvelope;
+import com.linkedin.venice.kafka.protocol.LeaderMetadata;
+import com.linkedin.venice.kafka.protocol.ProducerMetadata;
+import com.linkedin.venice.kafka.protocol.Put;
+import com.linkedin.venice.kafka.protocol.Update;
+import com.linkedin.venice.kafka.protocol.enums.MessageType;
+import com.linkedin.venice.utils.ByteUtils;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.apache.avro.util.Utf8;
+
+
+/**
+ * Encodes the {@link KafkaMessageEnvelope} of the data messages (PUT, DELETE and UPDATE) into a fixed binary layout,
+ * which can be read back without going through Avro schema resolution, see
+ * {@link KafkaValueSerializer#COMPACT_ENCODING_ENABLED_CONFIG}. Control messages always keep the Avro encoding.
+ *
+ * The layout is the following:
+ *
+ * 1st byte: The magic byte, {@link #MAGIC_BYTE}, which is distinct from the one of the Avro encoding.
+ * 2nd byte: The layout version, {@link #LAYOUT_VERSION}.
+ * 3rd byte: The message type.
+ * Next 16 bytes: The producer GUID.
+ * Then: The segment number, the message sequence number, the message timestamp and the logical timestamp.
+ * Then: The fields of the payload, in the order of the Avro schema, except for the byte fields which come last.
+ * Then: A byte telling whether there is a leader metadata footer, followed by its host name, upstream offset and
+ *       upstream cluster id if there is one.
+ *
+ * The numbers are zig-zag var-length encoded, and the byte fields and strings are prefixed by their length, just like
+ * in Avro binary encoding.
+ */
+final class CompactKafkaMessageEnvelopeCodec {
+  /**
+   * Must not collide with any of the magic bytes of {@link AvroProtocolDefinition}.
+   */
+  static final byte MAGIC_BYTE = 35;
+  static final byte LAYOUT_VERSION = 1;
+
+  private static final int GUID_LENGTH = 16;
+  private static final byte NO_FOOTER = 0;
+  private static final byte LEADER_METADATA_FOOTER = 1;
+
+  private CompactKafkaMessageEnvelopeCodec() {
+  }
+
+  static boolean isCompactlyEncoded(byte[] bytes) {
+    return bytes != null && bytes.length > 0 && bytes[0] == MAGIC_BYTE;
+  }
+
+  static boolean canEncode(KafkaMessageEnvelope envelope) {
+    return envelope.messageType != MessageType.CONTROL_MESSAGE.getValue();
+  }
+
+  static byte[] encode(KafkaMessageEnvelope envelope) {
+    Output output = new Output(getEncodedSize(envelope));
+    output.writeByte(MAGIC_BYTE);
+    output.writeByte(LAYOUT_VERSION);
+    output.writeByte((byte) envelope.messageType);
+
+    ProducerMetadata producerMetadata = envelope.producerMetadata;
+    output.writeFixed(producerMetadata.producerGUID.bytes());
+    output.writeInt(producerMetadata.segmentNumber);
+    output.writeInt(producerMetadata.messageSequenceNumber);
+    output.writeLong(producerMetadata.messageTimestamp);
+    output.writeLong(producerMetadata.logicalTimestamp);
+
+    switch (MessageType.valueOf(envelope)) {
+      case PUT:
+        Put put = (Put) envelope.payloadUnion;
+        output.writeInt(put.schemaId);
+        output.writeInt(put.replicationMetadataVersionId);
+        output.writeBytes(put.putValue);
+        output.writeBytes(put.replicationMetadataPayload);
+        break;
+      case DELETE:
+        Delete delete = (Delete) envelope.payloadUnion;
+        output.writeInt(delete.schemaId);
+        output.writeInt(delete.replicationMetadataVersionId);
+        output.writeBytes(delete.replicationMetadataPayload);
+        break;
+      case UPDATE:
+        Update update = (Update) envelope.payloadUnion;
+        output.writeInt(update.schemaId);
+        output.writeInt(update.updateSchemaId);
+        output.writeBytes(update.updateValue);
+        break;
+      default:
+        throw new VeniceMessageException("Cannot compactly encode a message of type: " + envelope.messageType);
+    }
+
+    LeaderMetadata leaderMetadata = envelope.leaderMetadataFooter;
+    if (leaderMetadata == null) {
+      output.writeByte(NO_FOOTER);
+    } else {
+      output.writeByte(LEADER_METADATA_FOOTER);
+      output.writeString(leaderMetadata.hostName);
+      output.writeLong(leaderMetadata.upstreamOffset);
+      output.writeInt(leaderMetadata.upstreamKafkaClusterId);
+    }
+    return output.bytes;
+  }
+
+  private static int getEncodedSize(KafkaMessageEnvelope envelope) {
+    ProducerMetadata producerMetadata = envelope.producerMetadata;
+    int size = 3 + GUID_LENGTH + getIntSize(producerMetadata.segmentNumber)
+        + getIntSize(producerMetadata.messageSequenceNumber) + getLongSize(producerMetadata.messageTimestamp)
+        + getLongSize(producerMetadata.logicalTimestamp) + 1;
+    Object payload = envelope.payloadUnion;
+    if (payload instanceof Put) {
+      Put put = (Put) payload;
+      size += getIntSize(put.schemaId) + getIntSize(put.replicationMetadataVersionId) + getBytesSize(put.putValue)
+          + getBytesSize(put.replicationMetadataPayload);
+    } else if (payload instanceof Delete) {
+      Delete delete = (Delete) payload;
+      size += getIntSize(delete.schemaId) + getIntSize(delete.replicationMetadataVersionId)
+          + getBytesSize(delete.replicationMetadataPayload);
+    } else if (payload instanceof Update) {
+      Update update = (Update) payload;
+      size += getIntSize(update.schemaId) + getIntSize(update.updateSchemaId) + getBytesSize(update.updateValue);
+    }
+    LeaderMetadata leaderMetadata = envelope.leaderMetadataFooter;
+    if (leaderMetadata != null) {
+      int hostNameLength = getUtf8Length(leaderMetadata.hostName);
+      size += getIntSize(hostNameLength) + hostNameLength + getLongSize(leaderMetadata.upstreamOffset)
+          + getIntSize(leaderMetadata.upstreamKafkaClusterId);
+    }
+    return size;
+  }
+
+  /**
+   * Reuses the producer metadata, the GUID and the payload of {@param reuse} when they are of the expected types,
+   * in the same way as Avro does.
+   *
+   * @param wrapOriginalArray whether the byte fields should be wrapped around {@param bytes} rather than copied
+   */
+  static KafkaMessageEnvelope decode(byte[] bytes, KafkaMessageEnvelope reuse, boolean wrapOriginalArray) {
+    try {
+      Input input = new Input(bytes, wrapOriginalArray);
+      input.position = 1;
+      byte layoutVersion = input.readByte();
+      if (layoutVersion != LAYOUT_VERSION) {
+        throw new VeniceMessageException(
+            "Received compact envelope layout version '" + layoutVersion + "' which is not supported. The only "
+                + "supported layout version is '" + LAYOUT_VERSION + "'.");
+      }
+      KafkaMessageEnvelope envelope = reuse == null ? new KafkaMessageEnvelope() : reuse;
+      envelope.messageType = input.readByte();
+
+      ProducerMetadata producerMetadata = envelope.producerMetadata;
+      if (producerMetadata == null) {
+        producerMetadata = new ProducerMetadata();
+        envelope.producerMetadata = producerMetadata;
+      }
+      if (producerMetadata.producerGUID == null) {
+        producerMetadata.producerGUID = new GUID();
+      }
+      input.readFixed(producerMetadata.producerGUID.bytes());
+      producerMetadata.segmentNumber = input.readInt();
+      producerMetadata.messageSequenceNumber = input.readInt();
+      producerMetadata.messageTimestamp = input.readLong();
+      producerMetadata.logicalTimestamp = input.readLong();
+
+      Object reusedPayload = envelope.payloadUnion;
+      switch (MessageType.valueOf(envelope)) {
+        case PUT:
+          Put put = reusedPayload instanceof Put ? (Put) reusedPayload : new Put();
+          put.schemaId = input.readInt();
+          put.replicationMetadataVersionId = input.readInt();
+          put.putValue = input.readBytes();
+          put.replicationMetadataPayload = input.readBytes();
+          envelope.payloadUnion = put;
+          break;
+        case DELETE:
+          Delete delete = reusedPayload instanceof Delete ? (Delete) reusedPayload : new Delete();
+          delete.schemaId = input.readInt();
+          delete.replicationMetadataVersionId = input.readInt();
+          delete.replicationMetadataPayload = input.readBytes();
+          envelope.payloadUnion = delete;
+          break;
+        case UPDATE:
+          Update update = reusedPayload instanceof Update ? (Update) reusedPayload : new Update();
+          update.schemaId = input.readInt();
+          update.updateSchemaId = input.readInt();
+          update.updateValue = input.readBytes();
+          envelope.payloadUnion = update;
+          break;
+        default:
+          throw new VeniceMessageException("Unexpected message type in a compact envelope: " + envelope.messageType);
+      }
+
+      if (input.readByte() == NO_FOOTER) {
+        envelope.leaderMetadataFooter = null;
+      } else {
+        LeaderMetadata leaderMetadata =
+            envelope.leaderMetadataFooter == null ? new LeaderMetadata() : envelope.leaderMetadataFooter;
+        leaderMetadata.hostName = input.readString();
+        leaderMetadata.upstreamOffset = input.readLong();
+        leaderMetadata.upstreamKafkaClusterId = input.readInt();
+        envelope.leaderMetadataFooter = leaderMetadata;
+      }
+      return envelope;
+    } catch (IndexOutOfBoundsException e) {
+      throw new VeniceMessageException("Failed to decode compact envelope from: " + ByteUtils.toHexString(bytes), e);
+    }
+  }
+
+  private static int getIntSize(int value) {
+    return getVarLongSize(((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL);
+  }
+
+  private static int getLongSize(long value) {
+    return getVarLongSize((value << 1) ^ (value >> 63));
+  }
+
+  private static int getVarLongSize(long zigZagValue) {
+    int size = 1;
+    while ((zigZagValue & ~0x7FL) != 0) {
+      zigZagValue >>>= 7;
+      size++;
+    }
+    return size;
+  }
+
+  private static int getBytesSize(ByteBuffer byteBuffer) {
+    int length = byteBuffer == null ? 0 : byteBuffer.remaining();
+    return getIntSize(length) + length;
+  }
+
+  private static int getUtf8Length(CharSequence charSequence) {
+    if (charSequence instanceof Utf8) {
+      return ((Utf8) charSequence).getByteLength();
+    }
+    return charSequence.toString().getBytes(StandardCharsets.UTF_8).length;
+  }
+
+  private static class Output {
+    private final byte[] bytes;
+    private int position = 0;
+
+    private Output(int size) {
+      this.bytes = new byte[size];
+    }
+
+    private void writeByte(byte value) {
+      bytes[position++] = value;
+    }
+
+    private void writeFixed(byte[] value) {
+      System.arraycopy(value, 0, bytes, position, value.length);
+      position += value.length;
+    }
+
+    private void writeInt(int value) {
+      writeVarLong(((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL);
+    }
+
+    private void writeLong(long value) {
+      writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    private void writeVarLong(long zigZagValue) {
+      while ((zigZagValue & ~0x7FL) != 0) {
+        bytes[position++] = (byte) ((zigZagValue & 0x7F) | 0x80);
+        zigZagValue >>>= 7;
+      }
+      bytes[position++] = (byte) zigZagValue;
+    }
+
+    private void writeBytes(ByteBuffer value) {
+      if (value == null) {
+        writeInt(0);
+        return;
+      }
+      int length = value.remaining();
+      writeInt(length);
+      // Does not move the position of the buffer, which might get serialized again on retry
+      value.duplicate().get(bytes, position, length);
+      position += length;
+    }
+
+    private void writeString(CharSequence value) {
+      byte[] utf8Bytes = value instanceof Utf8
+          ? Arrays.copyOf(((Utf8) value).getBytes(), ((Utf8) value).getByteLength())
+          : value.toString().getBytes(StandardCharsets.UTF_8);
+      writeInt(utf8Bytes.length);
+      writeFixed(utf8Bytes);
+    }
+  }
+
+  private static class Input {
+    private final byte[] bytes;
+    private final boolean wrapOriginalArray;
+    private int position = 0;
+
+    private Input(byte[] bytes, boolean wrapOriginalArray) {
+      this.bytes = bytes;
+      this.wrapOriginalArray = wrapOriginalArray;
+    }
+
+    private byte readByte() {
+      return bytes[position++];
+    }
+
+    private void readFixed(byte[] destination) {
+      System.arraycopy(bytes, position, destination, 0, destination.length);
+      position += destination.length;
+    }
+
+    private int readInt() {
+      return (int) readLong();
+    }
+
+    private long readLong() {
+      long zigZagValue = 0;
+      int shift = 0;
+      byte b;
+      do {
+        if (shift > 63) {
+          throw new VeniceMessageException("Invalid var-length number in a compact envelope");
+        }
+        b = bytes[position++];
+        zigZagValue |= (long) (b & 0x7F) << shift;
+        shift += 7;
+      } while ((b & 0x80) != 0);
+      return (zigZagValue >>> 1) ^ -(zigZagValue & 1);
+    }
+
+    private ByteBuffer readBytes() {
+      int length = readLength();
+      ByteBuffer byteBuffer = wrapOriginalArray
+          ? ByteBuffer.wrap(bytes, position, length)
+          : ByteBuffer.wrap(Arrays.copyOfRange(bytes, position, position + length));
+      position += length;
+      return byteBuffer;
+    }
+
+    private Utf8 readString() {
+      int length = readLength();
+      Utf8 utf8 = new Utf8(Arrays.copyOfRange(bytes, position, position + length));
+      position += length;
+      return utf8;
+    }
+
+    private int readLength() {
+      int length = readInt();
+      if (length < 0 || length > bytes.length - position) {
+        throw new IndexOutOfBoundsException("Invalid length " + length + " at position " + position);
+      }
+      return length;
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package com.linkedin.venice.serialization.avro;
 
 import com.linkedin.venice.kafka.protocol.KafkaMessageEnvelope;
+import java.util.Map;
 import java.util.function.BiConsumer;
 import org.apache.avro.Schema;
 
@@ -13,8 +14,25 @@ import org.apache.avro.Schema;
  * This class needs to be defined explicitly, rather than just instantiating a
  * {@link InternalAvroSpecificSerializer} because it is used as a config passed to
  * the Kafka producer.
+ *
+ * Data messages can optionally be written with the compact encoding of {@link CompactKafkaMessageEnvelopeCodec}, see
+ * {@link #COMPACT_ENCODING_ENABLED_CONFIG}. Both encodings are always accepted when deserializing.
  */
 public class KafkaValueSerializer extends InternalAvroSpecificSerializer<KafkaMessageEnvelope> {
+  /**
+   * Whether the PUT, DELETE and UPDATE messages should be serialized with the compact encoding rather than with Avro.
+   * It is passed through the configs of the Kafka producer, see
+   * {@link com.linkedin.venice.pubsub.adapter.kafka.producer.ApacheKafkaProducerConfig#KAFKA_COMPACT_ENVELOPE_ENABLED}.
+   *
+   * It is not meant to be configured directly: {@link com.linkedin.venice.writer.VeniceWriterFactory} sets it for each
+   * writer from {@link com.linkedin.venice.meta.Version#isCompactEnvelopeEnabled()}, which the controller decides
+   * when creating the version. Consumers which predate the compact encoding reject the compact messages up front,
+   * since their magic byte differs from the one of {@link AvroProtocolDefinition#KAFKA_MESSAGE_ENVELOPE}.
+   */
+  public static final String COMPACT_ENCODING_ENABLED_CONFIG = "venice.compact.envelope.enabled";
+
+  private boolean compactEncodingEnabled = false;
+
   public KafkaValueSerializer() {
     super(AvroProtocolDefinition.KAFKA_MESSAGE_ENVELOPE);
   }
@@ -22,4 +40,49 @@ public class KafkaValueSerializer extends InternalAvroSpecificSerializer<KafkaMe
   public KafkaValueSerializer(BiConsumer<Integer, Schema> newSchemaEncountered) {
     super(AvroProtocolDefinition.KAFKA_MESSAGE_ENVELOPE, null, newSchemaEncountered);
   }
+
+  @Override
+  public void configure(Map<String, ?> configMap, boolean isKey) {
+    super.configure(configMap, isKey);
+    Object compactEncodingEnabled = configMap.get(COMPACT_ENCODING_ENABLED_CONFIG);
+    if (compactEncodingEnabled != null) {
+      setCompactEncodingEnabled(Boolean.parseBoolean(compactEncodingEnabled.toString()));
+    }
+  }
+
+  public void setCompactEncodingEnabled(boolean compactEncodingEnabled) {
+    this.compactEncodingEnabled = compactEncodingEnabled;
+  }
+
+  @Override
+  public byte[] serialize(String topic, KafkaMessageEnvelope object) {
+    if (compactEncodingEnabled && CompactKafkaMessageEnvelopeCodec.canEncode(object)) {
+      return CompactKafkaMessageEnvelopeCodec.encode(object);
+    }
+    return super.serialize(topic, object);
+  }
+
+  @Override
+  public KafkaMessageEnvelope deserialize(byte[] bytes, KafkaMessageEnvelope reuse) {
+    if (CompactKafkaMessageEnvelopeCodec.isCompactlyEncoded(bytes)) {
+      return CompactKafkaMessageEnvelopeCodec.decode(bytes, reuse, reuseOriginalByteArray());
+    }
+    return super.deserialize(bytes, reuse);
+  }
+
+  @Override
+  public KafkaMessageEnvelope deserialize(byte[] bytes, Schema providedProtocolSchema, KafkaMessageEnvelope reuse) {
+    if (CompactKafkaMessageEnvelopeCodec.isCompactlyEncoded(bytes)) {
+      return CompactKafkaMessageEnvelopeCodec.decode(bytes, reuse, reuseOriginalByteArray());
+    }
+    return super.deserialize(bytes, providedProtocolSchema, reuse);
+  }
+
+  /**
+   * Whether the byte fields of the compactly encoded messages should be wrapped around the serialized bytes rather
+   * than copied, see {@link OptimizedKafkaValueSerializer}.
+   */
+  protected boolean reuseOriginalByteArray() {
+    return false;
+  }
 }
@@ -25,4 +25,9 @@ public class OptimizedKafkaValueSerializer extends KafkaValueSerializer {
   protected BinaryDecoder createBinaryDecoder(byte[] bytes, int offset, int length, BinaryDecoder reuse) {
     return DECODER_FACTORY.createOptimizedBinaryDecoder(bytes, offset, length);
   }
+
+  @Override
+  protected boolean reuseOriginalByteArray() {
+    return true;
+  }
 }
@@ -1,6 +1,7 @@
 package com.linkedin.venice.store.rocksdb;
 
 import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.utils.ByteUtils;
 import java.io.File;
 
 
@@ -19,6 +20,16 @@ public class RocksDBUtils {
   private static final String TEMP_SST_FILE_PREFIX = "sst_file_";
   private static final String TEMP_RMD_SST_FILE_PREFIX = "sst_rmd_file_";
 
+  /**
+   * The key of the debug info of the End of Push control message carrying the directory where the push job staged
+   * the SST files of all the partitions, when they are built by the push job rather than by the servers.
+   */
+  public static final String SST_FILE_PUSH_STAGING_DIR_KEY = "sst_file_push_staging_dir";
+  private static final String STAGED_SST_FILE_PREFIX = "partition_";
+  private static final String STAGED_SST_FILE_SUFFIX = ".sst";
+  private static final String STAGED_SST_CHECKSUM_FILE_SUFFIX = ".checksum";
+  private static final String STAGED_SST_CHECKSUM_SEP = ":";
+
   public static String getPartitionDbName(String storeName, int partitionId) {
     return String.format(PARTITION_DB_NAME, storeName, partitionId);
   }
@@ -71,6 +82,38 @@ public class RocksDBUtils {
     return fileName.startsWith(TEMP_RMD_SST_FILE_PREFIX);
   }
 
+  public static String composeStagedSSTFileName(int partitionId) {
+    return STAGED_SST_FILE_PREFIX + partitionId + STAGED_SST_FILE_SUFFIX;
+  }
+
+  /**
+   * The checksum file of a staged SST file is written once the SST file is complete, and is also written for the
+   * partitions without any record, which have no SST file.
+   */
+  public static String composeStagedSSTChecksumFileName(int partitionId) {
+    return STAGED_SST_FILE_PREFIX + partitionId + STAGED_SST_CHECKSUM_FILE_SUFFIX;
+  }
+
+  public static String composeStagedSSTChecksum(long recordCount, byte[] checksum) {
+    return recordCount + STAGED_SST_CHECKSUM_SEP + ByteUtils.toHexString(checksum);
+  }
+
+  public static long extractStagedSSTRecordCount(String stagedSSTChecksum) {
+    return Long.parseLong(splitStagedSSTChecksum(stagedSSTChecksum)[0]);
+  }
+
+  public static byte[] extractStagedSSTChecksum(String stagedSSTChecksum) {
+    return ByteUtils.fromHexString(splitStagedSSTChecksum(stagedSSTChecksum)[1]);
+  }
+
+  private static String[] splitStagedSSTChecksum(String stagedSSTChecksum) {
+    String[] parts = stagedSSTChecksum.trim().split(STAGED_SST_CHECKSUM_SEP, -1);
+    if (parts.length != 2) {
+      throw new VeniceException("Invalid staged sst checksum: " + stagedSSTChecksum);
+    }
+    return parts;
+  }
+
   public static int extractTempSSTFileNo(String fileName) {
     if (!isTempSSTFile(fileName)) {
       throw new VeniceException("Temp SST filename should start with prefix: " + TEMP_SST_FILE_PREFIX);
@@ -0,0 +1,46 @@
+package com.linkedin.venice.utils.pools;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+
+/**
+ * Keeps up to a fixed number of disposed objects around, and hands them out again before instantiating new ones.
+ *
+ * The objects which never get disposed are simply left to the garbage collector, so it is fine to only dispose of an
+ * object on the code paths where it is known for sure not to be used anymore. Disposing of an object which is still
+ * in use, on the other hand, ends up with two users sharing it.
+ */
+public class BoundedObjectPool<O> extends AbstractObjectPool<O> {
+  private final BlockingQueue<O> disposedObjects;
+  private final Consumer<O> objectResetter;
+
+  /**
+   * @param objectResetter called on each disposed object before it goes back to the pool, to drop the references which
+   *                       could be kept by the previous user of the object, or which would keep large objects alive
+   */
+  public BoundedObjectPool(Supplier<O> objectSupplier, Consumer<O> objectResetter, int capacity) {
+    super(objectSupplier);
+    this.disposedObjects = new ArrayBlockingQueue<>(capacity);
+    this.objectResetter = objectResetter;
+  }
+
+  @Override
+  public O get() {
+    O object = disposedObjects.poll();
+    return object == null ? super.get() : object;
+  }
+
+  @Override
+  public void dispose(O object) {
+    objectResetter.accept(object);
+    // The object is left to the garbage collector if the pool is full
+    disposedObjects.offer(object);
+  }
+
+  public int getPooledObjectCount() {
+    return disposedObjects.size();
+  }
+}
@@ -0,0 +1,160 @@
+package com.linkedin.venice.writer;
+
+import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.utils.DaemonThreadFactory;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+
+/**
+ * Runs the sends of a {@link VeniceWriter} in handoff mode, see {@link VeniceWriter#ENABLE_PARTITION_HANDOFF}.
+ *
+ * Each partition has its own lock-free queue, which is drained by at most one thread of a small shared pool at any
+ * time, so the tasks of a partition run one after the other, in the order in which they were submitted, while the
+ * producer threads only enqueue. A drainer gives its thread back after {@link #MAX_TASKS_PER_DRAIN} tasks, so that a
+ * busy partition cannot starve the others.
+ *
+ * The number of pending tasks of each partition is bounded, and {@link #execute} blocks the producer thread while the
+ * partition is full.
+ */
+class PartitionHandoffExecutor {
+  private static final Logger LOGGER = LogManager.getLogger(PartitionHandoffExecutor.class);
+  private static final int MAX_TASKS_PER_DRAIN = 128;
+
+  private final ExecutorService executor;
+  private final PartitionQueue[] partitionQueues;
+  private volatile boolean closed = false;
+
+  PartitionHandoffExecutor(String name, int partitionCount, int threadCount, int maxPendingTasksPerPartition) {
+    this.executor = Executors.newFixedThreadPool(threadCount, new DaemonThreadFactory(name));
+    this.partitionQueues = new PartitionQueue[partitionCount];
+    for (int i = 0; i < partitionCount; i++) {
+      partitionQueues[i] = new PartitionQueue(maxPendingTasksPerPartition);
+    }
+  }
+
+  private static class PartitionQueue {
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    private final Semaphore pendingTaskPermits;
+
+    private PartitionQueue(int maxPendingTasks) {
+      this.pendingTaskPermits = new Semaphore(maxPendingTasks);
+    }
+
+    private boolean isIdle() {
+      return !scheduled.get() && tasks.isEmpty();
+    }
+  }
+
+  /**
+   * Blocks while the partition already has the maximum number of pending tasks.
+   */
+  void execute(int partition, Runnable task) {
+    if (closed) {
+      throw new VeniceException("Cannot hand a message off after the VeniceWriter got closed");
+    }
+    PartitionQueue partitionQueue = partitionQueues[partition];
+    try {
+      partitionQueue.pendingTaskPermits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new VeniceException("Interrupted while handing a message off to partition " + partition, e);
+    }
+    partitionQueue.tasks.add(task);
+    schedule(partitionQueue);
+  }
+
+  private void schedule(PartitionQueue partitionQueue) {
+    if (partitionQueue.scheduled.compareAndSet(false, true)) {
+      executor.execute(() -> drain(partitionQueue));
+    }
+  }
+
+  private void drain(PartitionQueue partitionQueue) {
+    Runnable task;
+    int taskCount = 0;
+    while (taskCount < MAX_TASKS_PER_DRAIN && (task = partitionQueue.tasks.poll()) != null) {
+      try {
+        task.run();
+      } catch (Throwable e) {
+        LOGGER.error("Caught an exception while running a handed off task", e);
+      } finally {
+        partitionQueue.pendingTaskPermits.release();
+      }
+      taskCount++;
+    }
+    partitionQueue.scheduled.set(false);
+    // A task might have been added after the last poll, but before the flag got cleared
+    if (!partitionQueue.tasks.isEmpty()) {
+      schedule(partitionQueue);
+    }
+  }
+
+  /**
+   * Waits for the tasks submitted to the partition so far to run. Must not be called while holding a lock that these
+   * tasks need.
+   */
+  void awaitPendingTasks(int partition) {
+    if (partitionQueues[partition].isIdle()) {
+      return;
+    }
+    CountDownLatch latch = new CountDownLatch(1);
+    execute(partition, latch::countDown);
+    await(latch);
+  }
+
+  /**
+   * Waits for the tasks submitted to all the partitions so far to run.
+   */
+  void awaitAllPendingTasks() {
+    CountDownLatch latch = new CountDownLatch(partitionQueues.length);
+    for (int partition = 0; partition < partitionQueues.length; partition++) {
+      if (partitionQueues[partition].isIdle()) {
+        latch.countDown();
+      } else {
+        execute(partition, latch::countDown);
+      }
+    }
+    await(latch);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new VeniceException("Interrupted while waiting for the handed off messages to be sent", e);
+    }
+  }
+
+  /**
+   * Runs the pending tasks, and stops the threads of the pool.
+   */
+  void close(long timeoutMs) {
+    if (closed) {
+      return;
+    }
+    try {
+      awaitAllPendingTasks();
+    } finally {
+      closed = true;
+      executor.shutdown();
+    }
+    try {
+      if (!executor.awaitTermination(timeoutMs, TimeUnit.MILLISECONDS)) {
+        LOGGER.warn("The handoff threads did not stop within {} ms", timeoutMs);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -56,6 +56,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -91,6 +92,7 @@ public class VeniceWriter<K, V, U> extends AbstractVeniceWriter<K, V, U> {
   public static final String ENABLE_CHUNKING = VENICE_WRITER_CONFIG_PREFIX + "chunking.enabled";
   public static final String ENABLE_RMD_CHUNKING =
       VENICE_WRITER_CONFIG_PREFIX + "replication.metadata.chunking.enabled";
+  public static final String ENABLE_COMPACT_ENVELOPE = VENICE_WRITER_CONFIG_PREFIX + "compact.envelope.enabled";
   public static final String MAX_ATTEMPTS_WHEN_TOPIC_MISSING =
       VENICE_WRITER_CONFIG_PREFIX + "max.attemps.when.topic.missing";
   public static final String SLEEP_TIME_MS_WHEN_TOPIC_MISSING =
@@ -113,6 +115,31 @@ public class VeniceWriter<K, V, U> extends AbstractVeniceWriter<K, V, U> {
   public static final String MAX_SIZE_FOR_USER_PAYLOAD_PER_MESSAGE_IN_BYTES =
       VENICE_WRITER_CONFIG_PREFIX + "max.size.for.user.payload.per.message.in.bytes";
 
+  /**
+   * Whether the producer threads hand their messages off to a per-partition queue, instead of contending on the lock of
+   * the partition. The queue of each partition is drained by a single thread at a time, which assigns the segment and
+   * sequence numbers and sends the messages in the order in which they were handed off, so the DIV guarantees are the
+   * same as with the lock. The messages are then sent asynchronously: the returned future and the callback also report
+   * the failures which would otherwise be thrown by the send.
+   *
+   * Large values, which get chunked, and control messages are still sent from the calling thread, after the messages
+   * already handed off to their partition.
+   */
+  public static final String ENABLE_PARTITION_HANDOFF = VENICE_WRITER_CONFIG_PREFIX + "partition.handoff.enabled";
+
+  /**
+   * The number of threads draining the partition queues when {@link #ENABLE_PARTITION_HANDOFF} is true.
+   */
+  public static final String PARTITION_HANDOFF_THREAD_COUNT =
+      VENICE_WRITER_CONFIG_PREFIX + "partition.handoff.thread.count";
+
+  /**
+   * The maximum number of messages handed off to a partition but not sent yet. The producer threads block when the
+   * queue of the partition is full.
+   */
+  public static final String PARTITION_HANDOFF_MAX_PENDING_MESSAGES =
+      VENICE_WRITER_CONFIG_PREFIX + "partition.handoff.max.pending.messages";
+
   // Config value defaults
 
   /**
@@ -143,6 +170,10 @@ public class VeniceWriter<K, V, U> extends AbstractVeniceWriter<K, V, U> {
    */
   public static final int DEFAULT_SLEEP_TIME_MS_WHEN_TOPIC_MISSING = 10 * Time.MS_PER_SECOND;
 
+  public static final int DEFAULT_PARTITION_HANDOFF_THREAD_COUNT = 2;
+
+  public static final int DEFAULT_PARTITION_HANDOFF_MAX_PENDING_MESSAGES = 1000;
+
   /**
    * The default value of the "upstreamOffset" field in avro record {@link LeaderMetadata}.
    *
@@ -235,6 +266,10 @@ public class VeniceWriter<K, V, U> extends AbstractVeniceWriter<K, V, U> {
   private final Map<CharSequence, CharSequence> defaultDebugInfo;
   private final boolean elapsedTimeForClosingSegmentEnabled;
   private final Object[] partitionLocks;
+  /**
+   * Null unless {@link #ENABLE_PARTITION_HANDOFF} is true.
+   */
+  private final PartitionHandoffExecutor partitionHandoffExecutor;
 
   private String writerId;
   /**
@@ -339,6 +374,13 @@ public class VeniceWriter<K, V, U> extends AbstractVeniceWriter<K, V, U> {
         segmentsCreationTimeArray[i] = -1L;
       }
       this.segments = new Segment[this.numberOfPartitions];
+      this.partitionHandoffExecutor = props.getBoolean(ENABLE_PARTITION_HANDOFF, false)
+          ? new PartitionHandoffExecutor(
+              "VeniceWriter-handoff-" + topicName,
+              this.numberOfPartitions,
+              props.getInt(PARTITION_HANDOFF_THREAD_COUNT, DEFAULT_PARTITION_HANDOFF_THREAD_COUNT),
+              props.getInt(PARTITION_HANDOFF_MAX_PENDING_MESSAGES, DEFAULT_PARTITION_HANDOFF_MAX_PENDING_MESSAGES))
+          : null;
       OPEN_VENICE_WRITER_COUNT.incrementAndGet();
     } catch (Exception e) {
       logger.error("VeniceWriter cannot be constructed with the props: {}", props);
@@ -354,6 +396,9 @@ public class VeniceWriter<K, V, U> extends AbstractVeniceWriter<K, V, U> {
   @Override
   public void close(boolean gracefulClose) {
     try {
+      if (partitionHandoffExecutor != null) {
+        partitionHandoffExecutor.close(closeTimeOut);
+      }
       // If {@link #broadcastEndOfPush(Map)} was already called, the {@link #endAllSegments(boolean)}
       // will not do anything (it's idempotent). Segments should not be ended if there are still data missing.
       if (gracefulClose) {
@@ -381,10 +426,13 @@ public class VeniceWriter<K, V, U> extends AbstractVeniceWriter<K, V, U> {
   }
 
   /**
-   * Call flush on the internal {@link PubSubProducerAdapter}.
+   * Call flush on the internal {@link PubSubProducerAdapter}, after sending the messages handed off so far, if any.
    */
   @Override
   public void flush() {
+    if (partitionHandoffExecutor != null) {
+      partitionHandoffExecutor.awaitAllPendingTasks();
+    }
     producerAdapter.flush();
   }
 
@@ -678,15 +726,22 @@ public class VeniceWriter<K, V, U> extends AbstractVeniceWriter<K, V, U> {
     if (serializedKey.length + serializedValue.length
         + replicationMetadataPayloadSize > maxSizeForUserPayloadPerMessageInBytes) {
       if (isChunkingEnabled) {
-        return putLargeValue(
-            serializedKey,
-            serializedValue,
-            valueSchemaId,
-            callback,
-            partition,
-            leaderMetadataWrapper,
-            logicalTs,
-            putMetadata);
+        /**
+         * The chunks are sent from the calling thread, since their keys are added to the manifest as they get sent.
+         * In handoff mode, the lock also keeps the chunks of different values from interleaving.
+         */
+        awaitHandedOffMessages(partition);
+        synchronized (this.partitionLocks[partition]) {
+          return putLargeValue(
+              serializedKey,
+              serializedValue,
+              valueSchemaId,
+              callback,
+              partition,
+              leaderMetadataWrapper,
+              logicalTs,
+              putMetadata);
+        }
       } else {
         throw new RecordTooLargeException(
             "This record exceeds the maximum size. "
@@ -1091,6 +1146,10 @@ public class VeniceWriter<K, V, U> extends AbstractVeniceWriter<K, V, U> {
    * P.S. 2: If there is too much contention on this lock, then we can consider a finer locking strategy, where the
    *         locking is per-partition, which would also be correct as far as DIV is concerned.
    *
+   * P.S. 3: With {@link #ENABLE_PARTITION_HANDOFF}, the calling thread only hands the message off to the queue of the
+   *         partition, and the lock is taken by the thread which drains that queue, so the producer threads do not
+   *         contend on it. Threads which already hold the lock, such as the retries above, send inline.
+   *
    * @param updateDIV if true, the partition's segment's checksum will be updated and its sequence number incremented
    *                  if false, the checksum and seq# update are omitted, which is the right thing to do during retries
    */
@@ -1100,6 +1159,31 @@ public class VeniceWriter<K, V, U> extends AbstractVeniceWriter<K, V, U> {
       int partition,
       PubSubProducerCallback callback,
       boolean updateDIV) {
+    if (partitionHandoffExecutor == null || Thread.holdsLock(this.partitionLocks[partition])) {
+      return sendMessage(keyProvider, valueProvider, partition, callback, updateDIV, null);
+    }
+    CompletableFuture<PubSubProduceResult> handoffFuture = new CompletableFuture<>();
+    partitionHandoffExecutor.execute(partition, () -> {
+      try {
+        sendMessage(keyProvider, valueProvider, partition, callback, updateDIV, handoffFuture);
+      } catch (Exception e) {
+        failHandedOffMessage(partition, callback, handoffFuture, e);
+      }
+    });
+    return handoffFuture;
+  }
+
+  /**
+   * @param handoffFuture the future returned by a message handed off to the queue of the partition, to be completed
+   *                      with the result of the send, or null if the calling thread is the one which sent the message
+   */
+  private Future<PubSubProduceResult> sendMessage(
+      KeyProvider keyProvider,
+      KafkaMessageEnvelopeProvider valueProvider,
+      int partition,
+      PubSubProducerCallback callback,
+      boolean updateDIV,
+      CompletableFuture<PubSubProduceResult> handoffFuture) {
     synchronized (this.partitionLocks[partition]) {
       KafkaMessageEnvelope kafkaValue = valueProvider.getKafkaMessageEnvelope();
       KafkaKey key = keyProvider.getKey(kafkaValue.producerMetadata);
@@ -1119,6 +1203,20 @@ public class VeniceWriter<K, V, U> extends AbstractVeniceWriter<K, V, U> {
           completableFutureCallBack.setCallback(new SendMessageErrorLoggerCallback(kafkaValue, logger));
         }
       }
+      if (handoffFuture != null) {
+        PubSubProducerCallback resolvedCallback = messageCallback;
+        messageCallback = (produceResult, exception) -> {
+          try {
+            resolvedCallback.onCompletion(produceResult, exception);
+          } finally {
+            if (exception == null) {
+              handoffFuture.complete(produceResult);
+            } else {
+              handoffFuture.completeExceptionally(exception);
+            }
+          }
+        };
+      }
       try {
         return producerAdapter.sendMessage(
             topicName,
@@ -1139,6 +1237,40 @@ public class VeniceWriter<K, V, U> extends AbstractVeniceWriter<K, V, U> {
     }
   }
 
+  /**
+   * Reports a failure, which the send of a handed off message would otherwise have thrown, to its callback and future.
+   */
+  private void failHandedOffMessage(
+      int partition,
+      PubSubProducerCallback callback,
+      CompletableFuture<PubSubProduceResult> handoffFuture,
+      Exception e) {
+    logger.error("Failed to send a handed off message to partition: {} of topic: {}", partition, topicName, e);
+    try {
+      if (callback instanceof CompletableFutureCallback
+          && ((CompletableFutureCallback) callback).getCallback() == null) {
+        // The failure is already logged above
+        ((CompletableFutureCallback) callback).setCallback((produceResult, exception) -> {});
+      }
+      if (callback != null) {
+        callback.onCompletion(null, e);
+      }
+    } finally {
+      handoffFuture.completeExceptionally(e);
+    }
+  }
+
+  /**
+   * In handoff mode, waits for the messages handed off to the partition so far, so that a message sent from the
+   * calling thread cannot overtake them. Does nothing if the calling thread already holds the lock of the partition,
+   * since the messages handed off are sent under that lock.
+   */
+  private void awaitHandedOffMessages(int partition) {
+    if (partitionHandoffExecutor != null && !Thread.holdsLock(this.partitionLocks[partition])) {
+      partitionHandoffExecutor.awaitPendingTasks(partition);
+    }
+  }
+
   /**
    * We only include the protocol schema headers on this writer's first message to each partition.
    */
@@ -1384,6 +1516,7 @@ public class VeniceWriter<K, V, U> extends AbstractVeniceWriter<K, V, U> {
       Map<String, String> debugInfo,
       PubSubProducerCallback callback,
       LeaderMetadataWrapper leaderMetadataWrapper) {
+    awaitHandedOffMessages(partition);
     synchronized (this.partitionLocks[partition]) {
       // Work around until we upgrade to a more modern Avro version which supports overriding the
       // String implementation.
@@ -1446,6 +1579,7 @@ public class VeniceWriter<K, V, U> extends AbstractVeniceWriter<K, V, U> {
       Map<String, String> debugInfo,
       PubSubProducerCallback callback,
       LeaderMetadataWrapper leaderMetadataWrapper) {
+    awaitHandedOffMessages(partition);
     synchronized (this.partitionLocks[partition]) {
       controlMessage.debugInfo = getDebugInfo(debugInfo);
       boolean updateCheckSum = true;
@@ -1618,6 +1752,7 @@ public class VeniceWriter<K, V, U> extends AbstractVeniceWriter<K, V, U> {
    * @param partition in which to end the current segment
    */
   public void endSegment(int partition, boolean finalSegment) {
+    awaitHandedOffMessages(partition);
     synchronized (this.partitionLocks[partition]) {
       Segment currentSegment = segments[partition];
       if (currentSegment == null) {
@@ -1,6 +1,7 @@
 package com.linkedin.venice.writer;
 
 import com.linkedin.venice.pubsub.adapter.kafka.producer.ApacheKafkaProducerAdapterFactory;
+import com.linkedin.venice.pubsub.adapter.kafka.producer.ApacheKafkaProducerConfig;
 import com.linkedin.venice.pubsub.api.PubSubProducerAdapterFactory;
 import com.linkedin.venice.stats.VeniceWriterStats;
 import com.linkedin.venice.utils.VeniceProperties;
@@ -36,7 +37,17 @@ public class VeniceWriterFactory {
   }
 
   public <K, V, U> VeniceWriter<K, V, U> createVeniceWriter(VeniceWriterOptions options) {
-    VeniceProperties props = new VeniceProperties(this.properties);
+    Properties writerProperties = new Properties();
+    writerProperties.putAll(this.properties);
+    /**
+     * The envelope encoding is decided per topic by {@link VeniceWriterOptions#isCompactEnvelopeEnabled()}, which
+     * overrides whatever the factory properties say, so that a writer can never use the compact encoding on a topic
+     * whose consumers were not told to expect it.
+     */
+    writerProperties.setProperty(
+        ApacheKafkaProducerConfig.KAFKA_COMPACT_ENVELOPE_ENABLED,
+        String.valueOf(options.isCompactEnvelopeEnabled()));
+    VeniceProperties props = new VeniceProperties(writerProperties);
     return new VeniceWriter<>(
         options,
         props,
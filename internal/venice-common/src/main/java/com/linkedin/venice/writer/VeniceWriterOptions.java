@@ -26,6 +26,7 @@ public class VeniceWriterOptions {
   private final Integer partitionCount;
   private final boolean chunkingEnabled;
   private final boolean rmdChunkingEnabled;
+  private final boolean compactEnvelopeEnabled;
   // Set this field if you want to use different broker address than the local broker address
   private final String brokerAddress;
 
@@ -69,6 +70,10 @@ public class VeniceWriterOptions {
     return rmdChunkingEnabled;
   }
 
+  public boolean isCompactEnvelopeEnabled() {
+    return compactEnvelopeEnabled;
+  }
+
   private VeniceWriterOptions(Builder builder) {
     topicName = builder.topicName;
     keySerializer = builder.keySerializer;
@@ -79,6 +84,7 @@ public class VeniceWriterOptions {
     partitionCount = builder.partitionCount;
     chunkingEnabled = builder.chunkingEnabled;
     rmdChunkingEnabled = builder.rmdChunkingEnabled;
+    compactEnvelopeEnabled = builder.compactEnvelopeEnabled;
     brokerAddress = builder.brokerAddress;
   }
 
@@ -93,6 +99,9 @@ public class VeniceWriterOptions {
         .append("chunkingEnabled:")
         .append(chunkingEnabled)
         .append(", ")
+        .append("compactEnvelopeEnabled:")
+        .append(compactEnvelopeEnabled)
+        .append(", ")
         .append("partitionCount:")
         .append(partitionCount != null ? partitionCount : "-")
         .append("}")
@@ -109,6 +118,7 @@ public class VeniceWriterOptions {
     private Integer partitionCount = null; // default null
     private boolean chunkingEnabled; // default false
     private boolean rmdChunkingEnabled; // default false
+    private boolean compactEnvelopeEnabled; // default false
     private String brokerAddress = null; // default null
 
     private void addDefaults() {
@@ -156,6 +166,15 @@ public class VeniceWriterOptions {
       return this;
     }
 
+    /**
+     * Should be set from {@link com.linkedin.venice.meta.Version#isCompactEnvelopeEnabled()} of the version whose
+     * topic is written, since the consumers can only read the compact envelope once the controller enabled it there.
+     */
+    public Builder setCompactEnvelopeEnabled(boolean compactEnvelopeEnabled) {
+      this.compactEnvelopeEnabled = compactEnvelopeEnabled;
+      return this;
+    }
+
     public Builder(String topic) {
       this.topicName = Objects.requireNonNull(topic, "Topic name cannot be null for VeniceWriterOptions");
     }
@@ -0,0 +1,107 @@
+package com.linkedin.venice.pubsub;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+import com.linkedin.venice.kafka.protocol.GUID;
+import com.linkedin.venice.kafka.protocol.KafkaMessageEnvelope;
+import com.linkedin.venice.kafka.protocol.ProducerMetadata;
+import com.linkedin.venice.kafka.protocol.Put;
+import com.linkedin.venice.kafka.protocol.enums.MessageType;
+import com.linkedin.venice.message.KafkaKey;
+import com.linkedin.venice.pubsub.api.PubSubMessage;
+import com.linkedin.venice.pubsub.api.PubSubTopicPartition;
+import com.linkedin.venice.pubsub.kafka.KafkaPubSubMessageDeserializer;
+import com.linkedin.venice.serialization.KafkaKeySerializer;
+import com.linkedin.venice.serialization.avro.OptimizedKafkaValueSerializer;
+import com.linkedin.venice.utils.pools.BoundedObjectPool;
+import java.nio.ByteBuffer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.testng.annotations.Test;
+
+
+public class PooledPubSubMessageTest {
+  private static final String TOPIC = "test_store_v1";
+
+  private final KafkaKeySerializer keySerializer = new KafkaKeySerializer();
+  private final OptimizedKafkaValueSerializer valueSerializer = new OptimizedKafkaValueSerializer();
+  private final PubSubTopicPartition topicPartition =
+      new PubSubTopicPartitionImpl(new PubSubTopicRepository().getTopic(TOPIC), 0);
+
+  @Test
+  public void testMessagesAndEnvelopesAreRecycled() {
+    BoundedObjectPool<KafkaMessageEnvelope> envelopePool = KafkaPubSubMessageDeserializer.createEnvelopePool(10);
+    BoundedObjectPool<PooledPubSubMessage> messagePool = KafkaPubSubMessageDeserializer.createMessagePool(10, false);
+    KafkaPubSubMessageDeserializer deserializer =
+        new KafkaPubSubMessageDeserializer(valueSerializer, envelopePool, envelopePool, messagePool);
+
+    PubSubMessage<KafkaKey, KafkaMessageEnvelope, Long> message =
+        deserializer.deserialize(createPutRecord(1, "value1"), topicPartition);
+    assertTrue(message instanceof PooledPubSubMessage);
+    assertEquals(message.getOffset().longValue(), 1L);
+    assertEquals(new String(message.getKey().getKey()), "key1");
+    KafkaMessageEnvelope envelope = message.getValue();
+    GUID guid = envelope.producerMetadata.producerGUID;
+    Put put = (Put) envelope.payloadUnion;
+    assertEquals(put.putValue, ByteBuffer.wrap("value1".getBytes()));
+
+    ((PooledPubSubMessage) message).release();
+    assertEquals(messagePool.getPooledObjectCount(), 1);
+    assertEquals(envelopePool.getPooledObjectCount(), 1);
+    // The references which might be kept by the previous user of the envelope are dropped
+    assertNull(envelope.producerMetadata.producerGUID);
+    assertNull(put.putValue);
+
+    PubSubMessage<KafkaKey, KafkaMessageEnvelope, Long> nextMessage =
+        deserializer.deserialize(createPutRecord(2, "value2"), topicPartition);
+    assertSame(nextMessage, message);
+    assertSame(nextMessage.getValue(), envelope);
+    assertEquals(nextMessage.getOffset().longValue(), 2L);
+    assertEquals(((Put) nextMessage.getValue().payloadUnion).putValue, ByteBuffer.wrap("value2".getBytes()));
+    // The previous GUID, which might be a key of the data integrity validation state, is left untouched
+    assertNotSame(nextMessage.getValue().producerMetadata.producerGUID, guid);
+    assertEquals(guid.bytes()[0], 1);
+
+    ((PooledPubSubMessage) nextMessage).release();
+    assertThrows(IllegalStateException.class, ((PooledPubSubMessage) nextMessage)::release);
+    assertEquals(messagePool.getPooledObjectCount(), 1);
+  }
+
+  @Test
+  public void testLeakDetection() {
+    BoundedObjectPool<KafkaMessageEnvelope> envelopePool = KafkaPubSubMessageDeserializer.createEnvelopePool(10);
+    KafkaPubSubMessageDeserializer deserializer = new KafkaPubSubMessageDeserializer(
+        valueSerializer,
+        envelopePool,
+        envelopePool,
+        KafkaPubSubMessageDeserializer.createMessagePool(10, true));
+
+    PooledPubSubMessage message =
+        (PooledPubSubMessage) deserializer.deserialize(createPutRecord(1, "value1"), topicPartition);
+    message.release();
+    assertTrue(message.isReleased());
+    IllegalStateException e = assertThrows(IllegalStateException.class, message::getValue);
+    assertEquals(e.getCause().getMessage(), "Released at");
+    assertThrows(IllegalStateException.class, message::getOffset);
+  }
+
+  private ConsumerRecord<byte[], byte[]> createPutRecord(long offset, String value) {
+    KafkaMessageEnvelope envelope = new KafkaMessageEnvelope();
+    envelope.messageType = MessageType.PUT.getValue();
+    envelope.producerMetadata = new ProducerMetadata();
+    envelope.producerMetadata.producerGUID = new GUID();
+    envelope.producerMetadata.producerGUID.bytes()[0] = (byte) offset;
+    envelope.producerMetadata.messageSequenceNumber = (int) offset;
+    Put put = new Put();
+    put.schemaId = 1;
+    put.putValue = ByteBuffer.wrap(value.getBytes());
+    put.replicationMetadataPayload = ByteBuffer.wrap(new byte[0]);
+    envelope.payloadUnion = put;
+    byte[] keyBytes = keySerializer.serialize(TOPIC, new KafkaKey(MessageType.PUT, ("key" + offset).getBytes()));
+    return new ConsumerRecord<>(TOPIC, 0, offset, keyBytes, valueSerializer.serialize(TOPIC, envelope));
+  }
+}
@@ -1,18 +1,25 @@
 package com.linkedin.venice.serialization;
 
 import com.linkedin.venice.controller.kafka.protocol.serializer.AdminOperationSerializer;
+import com.linkedin.venice.exceptions.VeniceMessageException;
 import com.linkedin.venice.kafka.protocol.ControlMessage;
 import com.linkedin.venice.kafka.protocol.EndOfSegment;
 import com.linkedin.venice.kafka.protocol.GUID;
 import com.linkedin.venice.kafka.protocol.KafkaMessageEnvelope;
+import com.linkedin.venice.kafka.protocol.LeaderMetadata;
 import com.linkedin.venice.kafka.protocol.ProducerMetadata;
 import com.linkedin.venice.kafka.protocol.Put;
+import com.linkedin.venice.kafka.protocol.Update;
 import com.linkedin.venice.kafka.protocol.enums.ControlMessageType;
 import com.linkedin.venice.kafka.protocol.enums.MessageType;
+import com.linkedin.venice.serialization.avro.AvroProtocolDefinition;
+import com.linkedin.venice.serialization.avro.InternalAvroSpecificSerializer;
+import com.linkedin.venice.serialization.avro.KafkaValueSerializer;
 import com.linkedin.venice.serialization.avro.OptimizedKafkaValueSerializer;
 import com.linkedin.venice.writer.VeniceWriter;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -86,4 +93,105 @@ public class TestOptimizedKafkaValueSerializer {
     deserializedPut.putValue.get(actualPutValueBytes);
     Assert.assertEquals(actualPutValueBytes, putValueBytes);
   }
+
+  @Test
+  public static void testCompactlyEncodedPutMessage() {
+    KafkaMessageEnvelope record = new KafkaMessageEnvelope();
+    record.messageType = MessageType.PUT.getValue();
+    record.producerMetadata = new ProducerMetadata();
+    record.producerMetadata.producerGUID = new GUID();
+    record.producerMetadata.producerGUID.bytes()[3] = 7;
+    record.producerMetadata.segmentNumber = 2;
+    record.producerMetadata.messageSequenceNumber = Integer.MAX_VALUE;
+    record.producerMetadata.messageTimestamp = System.currentTimeMillis();
+    record.producerMetadata.logicalTimestamp = -1;
+    Put put = new Put();
+    put.schemaId = 1;
+    byte[] putValueBytes = "put_value".getBytes();
+    put.putValue = ByteBuffer.wrap(putValueBytes);
+    put.replicationMetadataVersionId = VeniceWriter.VENICE_DEFAULT_TIMESTAMP_METADATA_VERSION_ID;
+    put.replicationMetadataPayload = ByteBuffer.wrap(new byte[0]);
+    record.payloadUnion = put;
+
+    OptimizedKafkaValueSerializer valueSerializer = new OptimizedKafkaValueSerializer();
+    String topic = "test_topic";
+    byte[] avroRecord = valueSerializer.serialize(topic, record);
+    valueSerializer.configure(
+        Collections.singletonMap(KafkaValueSerializer.COMPACT_ENCODING_ENABLED_CONFIG, "true"),
+        false);
+    byte[] compactRecord = valueSerializer.serialize(topic, record);
+    Assert.assertNotEquals(compactRecord[0], avroRecord[0]);
+    Assert.assertTrue(compactRecord.length <= avroRecord.length);
+
+    KafkaMessageEnvelope deserializedRecord = valueSerializer.deserialize(topic, compactRecord);
+    Assert.assertEquals(deserializedRecord, record);
+    Put deserializedPut = (Put) deserializedRecord.payloadUnion;
+    Assert.assertTrue(deserializedPut.putValue.position() > 0, "There must be some head room at the beginning");
+    Assert.assertSame(deserializedPut.putValue.array(), compactRecord);
+
+    // A serializer which does not produce the compact encoding still reads it, and copies the bytes
+    KafkaValueSerializer avroValueSerializer = new KafkaValueSerializer();
+    KafkaMessageEnvelope reuse = new KafkaMessageEnvelope();
+    Assert.assertSame(avroValueSerializer.deserialize(compactRecord, reuse), reuse);
+    Assert.assertEquals(reuse, record);
+    Assert.assertNotSame(((Put) reuse.payloadUnion).putValue.array(), compactRecord);
+    Assert.assertEquals(avroValueSerializer.deserialize(topic, avroRecord), record);
+
+    // A consumer which predates the compact encoding rejects it on its magic byte, rather than misreading it
+    InternalAvroSpecificSerializer<KafkaMessageEnvelope> legacyDeserializer =
+        AvroProtocolDefinition.KAFKA_MESSAGE_ENVELOPE.getSerializer();
+    VeniceMessageException e =
+        Assert.expectThrows(VeniceMessageException.class, () -> legacyDeserializer.deserialize(topic, compactRecord));
+    Assert.assertTrue(e.getMessage().contains("Magic Byte"), e.getMessage());
+  }
+
+  @Test
+  public static void testCompactlyEncodedUpdateMessageWithLeaderMetadata() {
+    KafkaMessageEnvelope record = new KafkaMessageEnvelope();
+    record.messageType = MessageType.UPDATE.getValue();
+    record.producerMetadata = new ProducerMetadata();
+    record.producerMetadata.producerGUID = new GUID();
+    record.producerMetadata.segmentNumber = 0;
+    record.producerMetadata.messageSequenceNumber = -5;
+    record.producerMetadata.messageTimestamp = Long.MIN_VALUE;
+    record.producerMetadata.logicalTimestamp = Long.MAX_VALUE;
+    Update update = new Update();
+    update.schemaId = 3;
+    update.updateSchemaId = 1;
+    update.updateValue = ByteBuffer.wrap("update_value".getBytes());
+    record.payloadUnion = update;
+    record.leaderMetadataFooter = new LeaderMetadata();
+    record.leaderMetadataFooter.hostName = "localhost_1234";
+    record.leaderMetadataFooter.upstreamOffset = 123456789L;
+    record.leaderMetadataFooter.upstreamKafkaClusterId = 2;
+
+    KafkaValueSerializer valueSerializer = new KafkaValueSerializer();
+    valueSerializer.setCompactEncodingEnabled(true);
+    KafkaMessageEnvelope deserializedRecord =
+        valueSerializer.deserialize("test_topic", valueSerializer.serialize("test_topic", record));
+    Assert.assertEquals(deserializedRecord.leaderMetadataFooter.hostName.toString(), "localhost_1234");
+    record.leaderMetadataFooter.hostName = deserializedRecord.leaderMetadataFooter.hostName;
+    Assert.assertEquals(deserializedRecord, record);
+  }
+
+  @Test
+  public static void testControlMessagesKeepTheAvroEncoding() {
+    KafkaMessageEnvelope record = new KafkaMessageEnvelope();
+    record.messageType = MessageType.CONTROL_MESSAGE.getValue();
+    record.producerMetadata = new ProducerMetadata();
+    record.producerMetadata.producerGUID = new GUID();
+    ControlMessage controlMessage = new ControlMessage();
+    controlMessage.controlMessageType = ControlMessageType.END_OF_SEGMENT.getValue();
+    controlMessage.debugInfo = new HashMap<>();
+    EndOfSegment endOfSegment = new EndOfSegment();
+    endOfSegment.checksumValue = ByteBuffer.wrap(new byte[0]);
+    endOfSegment.computedAggregates = new ArrayList<>();
+    controlMessage.controlMessageUnion = endOfSegment;
+    record.payloadUnion = controlMessage;
+
+    KafkaValueSerializer valueSerializer = new KafkaValueSerializer();
+    byte[] avroRecord = valueSerializer.serialize(record).array();
+    valueSerializer.setCompactEncodingEnabled(true);
+    Assert.assertEquals(valueSerializer.serialize(record).array(), avroRecord);
+  }
 }
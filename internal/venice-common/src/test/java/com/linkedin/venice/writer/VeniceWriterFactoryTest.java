@@ -5,8 +5,11 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
 
+import com.linkedin.venice.pubsub.adapter.kafka.producer.ApacheKafkaProducerConfig;
 import com.linkedin.venice.pubsub.api.PubSubProducerAdapter;
 import com.linkedin.venice.pubsub.api.PubSubProducerAdapterFactory;
 import com.linkedin.venice.utils.VeniceProperties;
@@ -34,4 +37,25 @@ public class VeniceWriterFactoryTest {
     assertNotNull(capturedBrokerAddr);
     assertEquals(capturedBrokerAddr, "store_v1@kafka:9898");
   }
+
+  @Test
+  public void testCompactEnvelopeEnabledFromWriterOptions() {
+    PubSubProducerAdapterFactory<PubSubProducerAdapter> producerFactoryMock = mock(PubSubProducerAdapterFactory.class);
+    ArgumentCaptor<VeniceProperties> propertiesCapture = ArgumentCaptor.forClass(VeniceProperties.class);
+    when(producerFactoryMock.create(propertiesCapture.capture(), eq("store_v1"), any()))
+        .thenReturn(mock(PubSubProducerAdapter.class));
+
+    // The writer options override the factory properties, so that a topic only gets the encoding of its version
+    Properties properties = new Properties();
+    properties.setProperty(ApacheKafkaProducerConfig.KAFKA_COMPACT_ENVELOPE_ENABLED, "true");
+    VeniceWriterFactory veniceWriterFactory = new VeniceWriterFactory(properties, producerFactoryMock, null);
+    veniceWriterFactory.createVeniceWriter(new VeniceWriterOptions.Builder("store_v1").build());
+    assertFalse(propertiesCapture.getValue().getBoolean(ApacheKafkaProducerConfig.KAFKA_COMPACT_ENVELOPE_ENABLED));
+
+    veniceWriterFactory
+        .createVeniceWriter(new VeniceWriterOptions.Builder("store_v1").setCompactEnvelopeEnabled(true).build());
+    assertTrue(propertiesCapture.getValue().getBoolean(ApacheKafkaProducerConfig.KAFKA_COMPACT_ENVELOPE_ENABLED));
+    // The properties of the factory are left untouched
+    assertEquals(properties.getProperty(ApacheKafkaProducerConfig.KAFKA_COMPACT_ENVELOPE_ENABLED), "true");
+  }
 }
@@ -1,18 +1,31 @@
 package com.linkedin.venice.writer;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.linkedin.venice.kafka.protocol.KafkaMessageEnvelope;
+import com.linkedin.venice.kafka.protocol.enums.MessageType;
+import com.linkedin.venice.message.KafkaKey;
 import com.linkedin.venice.partitioner.DefaultVenicePartitioner;
+import com.linkedin.venice.pubsub.api.PubSubProduceResult;
 import com.linkedin.venice.pubsub.api.PubSubProducerAdapter;
+import com.linkedin.venice.pubsub.api.PubSubProducerCallback;
 import com.linkedin.venice.serialization.VeniceKafkaSerializer;
 import com.linkedin.venice.serialization.avro.VeniceAvroKafkaSerializer;
 import com.linkedin.venice.utils.DataProviderUtils;
+import com.linkedin.venice.utils.Time;
 import com.linkedin.venice.utils.VeniceProperties;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
 import java.util.concurrent.Future;
 import org.mockito.ArgumentCaptor;
 import org.testng.Assert;
@@ -60,4 +73,83 @@ public class VeniceWriterUnitTest {
     Assert.assertEquals(putPartitionArgumentCaptor.getValue(), deletePartitionArgumentCaptor.getValue());
     Assert.assertEquals(putPartitionArgumentCaptor.getValue(), updatePartitionArgumentCaptor.getValue());
   }
+
+  @Test(timeOut = 60 * Time.MS_PER_SECOND)
+  public void testPartitionHandoffKeepsTheOrderAndTheSequenceNumbers() throws Exception {
+    int partitionCount = 4;
+    int threadCount = 8;
+    int recordsPerThread = 500;
+    List<List<KafkaKey>> sentKeys = new ArrayList<>();
+    List<List<KafkaMessageEnvelope>> sentValues = new ArrayList<>();
+    for (int i = 0; i < partitionCount; i++) {
+      sentKeys.add(Collections.synchronizedList(new ArrayList<>()));
+      sentValues.add(Collections.synchronizedList(new ArrayList<>()));
+    }
+    PubSubProducerAdapter mockedProducer = mock(PubSubProducerAdapter.class);
+    PubSubProduceResult mockedResult = mock(PubSubProduceResult.class);
+    Future mockedFuture = mock(Future.class);
+    doAnswer(invocation -> {
+      int partition = invocation.getArgument(1);
+      sentKeys.get(partition).add(invocation.getArgument(2));
+      sentValues.get(partition).add(invocation.getArgument(3));
+      ((PubSubProducerCallback) invocation.getArgument(5)).onCompletion(mockedResult, null);
+      return mockedFuture;
+    }).when(mockedProducer).sendMessage(anyString(), anyInt(), any(), any(), any(), any());
+
+    VeniceKafkaSerializer serializer = new VeniceAvroKafkaSerializer("\"string\"");
+    VeniceWriterOptions veniceWriterOptions = new VeniceWriterOptions.Builder("test").setKeySerializer(serializer)
+        .setValueSerializer(serializer)
+        .setPartitioner(new DefaultVenicePartitioner())
+        .setPartitionCount(partitionCount)
+        .build();
+    Properties properties = new Properties();
+    properties.put(VeniceWriter.ENABLE_PARTITION_HANDOFF, "true");
+    properties.put(VeniceWriter.PARTITION_HANDOFF_MAX_PENDING_MESSAGES, "10");
+    VeniceWriter<Object, Object, Object> writer =
+        new VeniceWriter(veniceWriterOptions, new VeniceProperties(properties), mockedProducer);
+
+    List<Future<PubSubProduceResult>> futures = Collections.synchronizedList(new ArrayList<>());
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < threadCount; t++) {
+      int threadId = t;
+      threads.add(new Thread(() -> {
+        for (int i = 0; i < recordsPerThread; i++) {
+          futures.add(writer.put(threadId + "-" + i, "value", 1, null));
+        }
+      }));
+    }
+    threads.forEach(Thread::start);
+    for (Thread thread: threads) {
+      thread.join();
+    }
+    writer.flush();
+    for (Future<PubSubProduceResult> future: futures) {
+      Assert.assertEquals(future.get(), mockedResult);
+    }
+    writer.close();
+
+    int putCount = 0;
+    for (int partition = 0; partition < partitionCount; partition++) {
+      List<KafkaMessageEnvelope> values = sentValues.get(partition);
+      int[] lastRecordIndexPerThread = new int[threadCount];
+      Arrays.fill(lastRecordIndexPerThread, -1);
+      for (int i = 0; i < values.size(); i++) {
+        // Start of segment, then the puts, then end of segment, without any gap in the sequence numbers
+        Assert.assertEquals(values.get(i).producerMetadata.segmentNumber, 0);
+        Assert.assertEquals(values.get(i).producerMetadata.messageSequenceNumber, i);
+        MessageType messageType = MessageType.valueOf(values.get(i));
+        boolean isFirstOrLast = i == 0 || i == values.size() - 1;
+        Assert.assertEquals(messageType, isFirstOrLast ? MessageType.CONTROL_MESSAGE : MessageType.PUT);
+        if (messageType == MessageType.PUT) {
+          String[] key = serializer.deserialize(sentKeys.get(partition).get(i).getKey()).toString().split("-");
+          int threadId = Integer.parseInt(key[0]);
+          int recordIndex = Integer.parseInt(key[1]);
+          Assert.assertTrue(recordIndex > lastRecordIndexPerThread[threadId]);
+          lastRecordIndexPerThread[threadId] = recordIndex;
+          putCount++;
+        }
+      }
+    }
+    Assert.assertEquals(putCount, threadCount * recordsPerThread);
+  }
 }
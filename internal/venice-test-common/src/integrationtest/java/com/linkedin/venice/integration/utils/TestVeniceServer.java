@@ -20,7 +20,7 @@ import io.netty.channel.ChannelHandlerContext;
 import io.tehuti.metrics.MetricsRepository;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicReference;
 
 
@@ -67,8 +67,8 @@ public class TestVeniceServer extends VeniceServer {
         resourceReadUsageTracker) {
       @Override
       protected StorageReadRequestsHandler createRequestHandler(
-          ThreadPoolExecutor executor,
-          ThreadPoolExecutor computeExecutor,
+          ExecutorService executor,
+          ExecutorService computeExecutor,
           StorageEngineRepository storageEngineRepository,
           ReadOnlyStoreRepository metadataRepository,
           ReadOnlySchemaRepository schemaRepository,
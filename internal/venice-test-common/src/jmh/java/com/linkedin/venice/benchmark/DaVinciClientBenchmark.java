@@ -7,6 +7,7 @@ import com.linkedin.avroutil1.compatibility.AvroCompatibilityHelper;
 import com.linkedin.davinci.client.DaVinciClient;
 import com.linkedin.venice.integration.utils.VeniceClusterCreateOptions;
 import com.linkedin.venice.integration.utils.VeniceClusterWrapper;
+import com.linkedin.venice.serializer.LazyGenericRecord;
 import com.linkedin.venice.utils.TestUtils;
 import com.linkedin.venice.utils.Utils;
 import java.util.ArrayList;
@@ -143,6 +144,47 @@ public class DaVinciClientBenchmark {
     Assert.assertNull(context.record, "Key=" + context.key);
   }
 
+  @State(Scope.Thread)
+  public static class LazyGetThreadContext {
+    int key;
+    LazyGenericRecord view = new LazyGenericRecord();
+
+    @Setup(Level.Invocation)
+    public void setUp(DaVinciClientBenchmark benchmark) {
+      key = ThreadLocalRandom.current().nextInt(benchmark.keyCount);
+    }
+  }
+
+  /**
+   * Reads a single small field, which sits after the large vector, by deserializing the whole record.
+   */
+  @Benchmark
+  @Threads(1)
+  public void singleGetFieldT1(SingleGetThreadContext context, Blackhole blackhole) throws Exception {
+    context.record = client.get(context.key, context.record).get();
+    Assert.assertNotNull(context.record, "Key=" + context.key);
+    blackhole.consume(context.record.get("version"));
+  }
+
+  /**
+   * Reads the same field as {@link #singleGetFieldT1} through a lazy view, which skips over the vector.
+   */
+  @Benchmark
+  @Threads(1)
+  public void lazyGetFieldT1(LazyGetThreadContext context, Blackhole blackhole) throws Exception {
+    GenericRecord record = client.getLazy(context.key, context.view).get();
+    Assert.assertNotNull(record, "Key=" + context.key);
+    blackhole.consume(record.get("version"));
+  }
+
+  @Benchmark
+  @Threads(8)
+  public void lazyGetFieldT8(LazyGetThreadContext context, Blackhole blackhole) throws Exception {
+    GenericRecord record = client.getLazy(context.key, context.view).get();
+    Assert.assertNotNull(record, "Key=" + context.key);
+    blackhole.consume(record.get("version"));
+  }
+
   @State(Scope.Thread)
   public static class BatchGetThreadContext {
     @Param({ "100" })
@@ -182,7 +224,7 @@ public class DaVinciClientBenchmark {
 
   protected String buildDenseVectorStore(VeniceClusterWrapper cluster) {
     Schema schema = AvroCompatibilityHelper.parse(
-        "{\"namespace\": \"example.avro\", \"type\": \"record\", \"name\": \"DenseVector\", \"fields\": [{\"name\": \"values\", \"type\": {\"type\": \"array\", \"items\": \"float\"}}]}");
+        "{\"namespace\": \"example.avro\", \"type\": \"record\", \"name\": \"DenseVector\", \"fields\": [{\"name\": \"values\", \"type\": {\"type\": \"array\", \"items\": \"float\"}}, {\"name\": \"version\", \"type\": \"int\"}]}");
     GenericRecord record = new GenericData.Record(schema);
     int length = valueSize / Float.BYTES;
     List<Float> values = new ArrayList<>(length);
@@ -190,6 +232,7 @@ public class DaVinciClientBenchmark {
       values.add((float) i);
     }
     record.put("values", values);
+    record.put("version", 1);
     String storeName = cluster.createStore(keyCount, record);
     cluster.createMetaSystemStore(storeName);
     return storeName;
@@ -1,10 +1,12 @@
 package com.linkedin.venice.benchmark;
 
+import static com.linkedin.venice.ConfigKeys.CONTROLLER_COMPACT_ENVELOPE_ENABLED;
 import static com.linkedin.venice.integration.utils.ServiceFactory.getGenericAvroDaVinciClient;
 
 import com.linkedin.davinci.client.DaVinciClient;
 import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.integration.utils.ServiceFactory;
+import com.linkedin.venice.integration.utils.VeniceClusterCreateOptions;
 import com.linkedin.venice.integration.utils.VeniceClusterWrapper;
 import com.linkedin.venice.utils.TestUtils;
 import com.linkedin.venice.utils.Utils;
@@ -12,6 +14,7 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Properties;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -37,6 +40,10 @@ import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 
 
+/**
+ * Measures how long a Da Vinci client takes to ingest a version, whose data messages are written with the compact
+ * envelope encoding or not, depending on {@link #compactEnvelopeEnabled}.
+ */
 @BenchmarkMode(Mode.AverageTime)
 @OutputTimeUnit(TimeUnit.NANOSECONDS)
 @State(Scope.Benchmark)
@@ -58,10 +65,20 @@ public class IngestionBenchmarkInSingleProcess {
   @Param({ "FLOAT_VECTOR" })
   protected String valueType;
 
+  @Param({ "false", "true" })
+  protected boolean compactEnvelopeEnabled;
+
   @Setup
   public void setUp() throws Exception {
     Utils.thisIsLocalhost();
-    cluster = ServiceFactory.getVeniceCluster(1, 1, 1);
+    Properties extraProperties = new Properties();
+    extraProperties.setProperty(CONTROLLER_COMPACT_ENVELOPE_ENABLED, Boolean.toString(compactEnvelopeEnabled));
+    cluster = ServiceFactory.getVeniceCluster(
+        new VeniceClusterCreateOptions.Builder().numberOfControllers(1)
+            .numberOfServers(1)
+            .numberOfRouters(1)
+            .extraProperties(extraProperties)
+            .build());
 
     if (valueType.equals("FLOAT_VECTOR")) {
       storeName = buildFloatVectorStore(cluster, Integer.parseInt(valueLength));
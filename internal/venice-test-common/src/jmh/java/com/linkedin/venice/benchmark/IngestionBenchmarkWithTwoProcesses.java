@@ -1,6 +1,7 @@
 package com.linkedin.venice.benchmark;
 
 import static com.linkedin.davinci.kafka.consumer.KafkaConsumerService.ConsumerAssignmentStrategy;
+import static com.linkedin.venice.ConfigKeys.SERVER_INGESTION_ISOLATION_SHARED_MEMORY_REPORT_ENABLED;
 import static com.linkedin.venice.ConfigKeys.SERVER_SHARED_CONSUMER_ASSIGNMENT_STRATEGY;
 import static com.linkedin.venice.ConfigKeys.SORTED_INPUT_DRAINER_SIZE;
 import static com.linkedin.venice.ConfigKeys.UNSORTED_INPUT_DRAINER_SIZE;
@@ -15,6 +16,7 @@ import com.linkedin.venice.ConfigKeys;
 import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.integration.utils.ServiceFactory;
 import com.linkedin.venice.integration.utils.VeniceClusterWrapper;
+import com.linkedin.venice.meta.IngestionMode;
 import com.linkedin.venice.meta.PersistenceType;
 import com.linkedin.venice.utils.TestUtils;
 import com.linkedin.venice.utils.Utils;
@@ -71,6 +73,20 @@ public class IngestionBenchmarkWithTwoProcesses {
   @Param({ "1", "2", "4" })
   private static int drainerSize;
 
+  /**
+   * With {@link IngestionMode#ISOLATED}, each partition is ingested by the forked process, reported back to the main
+   * process and handed over to it, so this also measures the cost of that control plane.
+   */
+  @Param({ "BUILT_IN", "ISOLATED" })
+  private static String ingestionMode;
+
+  /**
+   * Only relevant with {@link IngestionMode#ISOLATED}, where the forked process either sends its reports through HTTP
+   * requests, or through a ring in shared memory.
+   */
+  @Param({ "false", "true" })
+  private static boolean sharedMemoryReportEnabled;
+
   private String storeName;
 
   /**
@@ -80,6 +96,7 @@ public class IngestionBenchmarkWithTwoProcesses {
   private String clusterInfoFilePath;
   private String forkedProcessException;
   private String zkAddress;
+  private File restartDataBasePath;
 
   @Setup
   public void setUp() throws Exception {
@@ -98,10 +115,15 @@ public class IngestionBenchmarkWithTwoProcesses {
     }
 
     TestUtils.restoreSystemExit();
+
+    // Ingest the store once, so that restartBenchmarkTest only measures the startup with local data.
+    restartDataBasePath = Utils.getTempDataDirectory();
+    subscribeAll(restartDataBasePath);
   }
 
   @TearDown
-  public void cleanUp() {
+  public void cleanUp() throws IOException {
+    FileUtils.deleteDirectory(restartDataBasePath);
     ServiceFactory.stopVeniceClusterInAnotherProcess();
     try {
       Files.delete(Paths.get(clusterInfoFilePath));
@@ -115,31 +137,51 @@ public class IngestionBenchmarkWithTwoProcesses {
     File dataBasePath = Utils.getTempDataDirectory();
     try {
       FileUtils.deleteDirectory(dataBasePath);
-      Map<String, Object> backendConfig = new HashMap<>();
-      backendConfig.put(ConfigKeys.DATA_BASE_PATH, dataBasePath);
-      backendConfig.put(ConfigKeys.PERSISTENCE_TYPE, PersistenceType.ROCKS_DB);
-      backendConfig.put(RocksDBServerConfig.ROCKSDB_PUT_REUSE_BYTE_BUFFER, true);
-      ConsumerAssignmentStrategy strategy = ConsumerAssignmentStrategy.valueOf(sharedConsumerAssignmentStrategy);
-      backendConfig.put(SERVER_SHARED_CONSUMER_ASSIGNMENT_STRATEGY, strategy);
-      backendConfig.put(SORTED_INPUT_DRAINER_SIZE, drainerSize);
-      backendConfig.put(UNSORTED_INPUT_DRAINER_SIZE, drainerSize);
-
-      DaVinciClient<String, String> client = getGenericAvroDaVinciClientWithRetries(
-          storeName,
-          zkAddress,
-          new DaVinciConfig().setStorageClass(StorageClass.DISK),
-          backendConfig);
       // Ingest data to local folder.
-      client.subscribeAll().get(120, TimeUnit.SECONDS);
-      client.close();
-    } catch (IOException | InterruptedException | ExecutionException | TimeoutException e) {
-      throw new VeniceException(e);
+      subscribeAll(dataBasePath);
     } finally {
       FileUtils.deleteDirectory(dataBasePath);
     }
     blackhole.consume(dataBasePath);
   }
 
+  /**
+   * Measures the startup time of a Da Vinci client whose data is already on disk, which is dominated by reopening the
+   * local partitions and, with isolated ingestion, by reporting them back to the main process and handing them over.
+   */
+  @Benchmark
+  @OperationsPerInvocation(1)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public void restartBenchmarkTest(Blackhole blackhole) {
+    subscribeAll(restartDataBasePath);
+    blackhole.consume(restartDataBasePath);
+  }
+
+  private void subscribeAll(File dataBasePath) {
+    Map<String, Object> backendConfig = new HashMap<>();
+    backendConfig.put(ConfigKeys.DATA_BASE_PATH, dataBasePath);
+    backendConfig.put(ConfigKeys.PERSISTENCE_TYPE, PersistenceType.ROCKS_DB);
+    backendConfig.put(RocksDBServerConfig.ROCKSDB_PUT_REUSE_BYTE_BUFFER, true);
+    ConsumerAssignmentStrategy strategy = ConsumerAssignmentStrategy.valueOf(sharedConsumerAssignmentStrategy);
+    backendConfig.put(SERVER_SHARED_CONSUMER_ASSIGNMENT_STRATEGY, strategy);
+    backendConfig.put(SORTED_INPUT_DRAINER_SIZE, drainerSize);
+    backendConfig.put(UNSORTED_INPUT_DRAINER_SIZE, drainerSize);
+    if (IngestionMode.valueOf(ingestionMode) == IngestionMode.ISOLATED) {
+      backendConfig.putAll(TestUtils.getIngestionIsolationPropertyMap());
+      backendConfig.put(SERVER_INGESTION_ISOLATION_SHARED_MEMORY_REPORT_ENABLED, sharedMemoryReportEnabled);
+    }
+
+    try (DaVinciClient<String, String> client = getGenericAvroDaVinciClientWithRetries(
+        storeName,
+        zkAddress,
+        new DaVinciConfig().setStorageClass(StorageClass.DISK),
+        backendConfig)) {
+      client.subscribeAll().get(120, TimeUnit.SECONDS);
+    } catch (InterruptedException | ExecutionException | TimeoutException e) {
+      throw new VeniceException(e);
+    }
+  }
+
   private boolean parseClusterInfoFile() {
     try {
       VeniceProperties properties = Utils.parseProperties(clusterInfoFilePath);
@@ -0,0 +1,112 @@
+package com.linkedin.venice.benchmark;
+
+import com.linkedin.venice.kafka.protocol.GUID;
+import com.linkedin.venice.kafka.protocol.KafkaMessageEnvelope;
+import com.linkedin.venice.kafka.protocol.LeaderMetadata;
+import com.linkedin.venice.kafka.protocol.ProducerMetadata;
+import com.linkedin.venice.kafka.protocol.Put;
+import com.linkedin.venice.kafka.protocol.enums.MessageType;
+import com.linkedin.venice.serialization.avro.OptimizedKafkaValueSerializer;
+import com.linkedin.venice.writer.VeniceWriter;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+
+/**
+ * Compares the Avro encoding of the {@link KafkaMessageEnvelope} of a PUT message with its compact encoding, see
+ * {@link com.linkedin.venice.serialization.avro.KafkaValueSerializer#COMPACT_ENCODING_ENABLED_CONFIG}, on the producer
+ * side, and on the consumer side, where the envelope gets reused just like during ingestion. The serialized size of
+ * each encoding gets printed during the setup.
+ */
+@Fork(value = 1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class KafkaValueSerializerBenchmark {
+  @Param({ "false", "true" })
+  private boolean compactEncodingEnabled;
+
+  @Param({ "false", "true" })
+  private boolean leaderMetadataFooter;
+
+  @Param({ "10", "1000" })
+  private int valueSize;
+
+  private OptimizedKafkaValueSerializer serializer;
+  private KafkaMessageEnvelope envelope;
+  private KafkaMessageEnvelope reusedEnvelope;
+  private byte[] serializedEnvelope;
+
+  public static void main(String[] args) throws Exception {
+    Options options = new OptionsBuilder().include(KafkaValueSerializerBenchmark.class.getSimpleName())
+        .addProfiler(GCProfiler.class)
+        .build();
+    new Runner(options).run();
+  }
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(0);
+    envelope = new KafkaMessageEnvelope();
+    envelope.messageType = MessageType.PUT.getValue();
+    envelope.producerMetadata = new ProducerMetadata();
+    envelope.producerMetadata.producerGUID = new GUID();
+    random.nextBytes(envelope.producerMetadata.producerGUID.bytes());
+    envelope.producerMetadata.segmentNumber = 3;
+    envelope.producerMetadata.messageSequenceNumber = 123_456;
+    envelope.producerMetadata.messageTimestamp = System.currentTimeMillis();
+    envelope.producerMetadata.logicalTimestamp = VeniceWriter.VENICE_DEFAULT_LOGICAL_TS;
+    Put put = new Put();
+    byte[] value = new byte[valueSize];
+    random.nextBytes(value);
+    put.putValue = ByteBuffer.wrap(value);
+    put.schemaId = 1;
+    put.replicationMetadataVersionId = VeniceWriter.VENICE_DEFAULT_TIMESTAMP_METADATA_VERSION_ID;
+    put.replicationMetadataPayload = ByteBuffer.wrap(new byte[0]);
+    envelope.payloadUnion = put;
+    if (leaderMetadataFooter) {
+      envelope.leaderMetadataFooter = new LeaderMetadata();
+      envelope.leaderMetadataFooter.hostName = "venice-server-123.example.com_1234";
+      envelope.leaderMetadataFooter.upstreamOffset = 987_654_321L;
+      envelope.leaderMetadataFooter.upstreamKafkaClusterId = 0;
+    }
+
+    serializer = new OptimizedKafkaValueSerializer();
+    serializer.setCompactEncodingEnabled(compactEncodingEnabled);
+    serializedEnvelope = serializer.serialize("benchmark_v1", envelope);
+    reusedEnvelope = new KafkaMessageEnvelope();
+    System.out.format(
+        "%nSerialized envelope size with compact encoding %s: %d bytes%n",
+        compactEncodingEnabled ? "enabled" : "disabled",
+        serializedEnvelope.length);
+  }
+
+  @Benchmark
+  public void serialize(Blackhole blackhole) {
+    blackhole.consume(serializer.serialize("benchmark_v1", envelope));
+  }
+
+  @Benchmark
+  public void deserialize(Blackhole blackhole) {
+    blackhole.consume(serializer.deserialize(serializedEnvelope, reusedEnvelope));
+  }
+}
@@ -0,0 +1,222 @@
+package com.linkedin.venice.benchmark;
+
+import com.linkedin.venice.kafka.protocol.KafkaMessageEnvelope;
+import com.linkedin.venice.message.KafkaKey;
+import com.linkedin.venice.partitioner.DefaultVenicePartitioner;
+import com.linkedin.venice.pubsub.adapter.kafka.producer.ApacheKafkaProducerConfig;
+import com.linkedin.venice.pubsub.api.PubSubMessageHeaders;
+import com.linkedin.venice.pubsub.api.PubSubProduceResult;
+import com.linkedin.venice.pubsub.api.PubSubProducerAdapter;
+import com.linkedin.venice.pubsub.api.PubSubProducerAdapterFactory;
+import com.linkedin.venice.pubsub.api.PubSubProducerCallback;
+import com.linkedin.venice.serialization.DefaultSerializer;
+import com.linkedin.venice.serialization.avro.KafkaValueSerializer;
+import com.linkedin.venice.utils.VeniceProperties;
+import com.linkedin.venice.writer.VeniceWriter;
+import com.linkedin.venice.writer.VeniceWriterFactory;
+import com.linkedin.venice.writer.VeniceWriterOptions;
+import it.unimi.dsi.fastutil.objects.Object2DoubleMap;
+import it.unimi.dsi.fastutil.objects.Object2DoubleOpenHashMap;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+
+/**
+ * Measures the throughput of N producer threads writing through a single {@link VeniceWriter} into a producer adapter
+ * which only serializes the envelopes and burns {@link #producerWorkTokens} of CPU, with the partition locks of the
+ * writer and with {@link VeniceWriter#ENABLE_PARTITION_HANDOFF}, and with the compact envelope encoding or not, see
+ * {@link VeniceWriterOptions#isCompactEnvelopeEnabled()}. The average size of the serialized envelopes gets printed at
+ * the end of each trial. Run with {@code -t} to change the number of producer threads.
+ */
+@Fork(value = 1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(8)
+public class VeniceWriterBenchmark {
+  private static final int NUMBER_OF_KEYS = 10_000;
+  private static final int VALUE_SIZE = 100;
+
+  @Param({ "false", "true" })
+  private boolean partitionHandoffEnabled;
+
+  @Param({ "1", "16" })
+  private int partitionCount;
+
+  @Param({ "0", "100" })
+  private int producerWorkTokens;
+
+  @Param({ "false", "true" })
+  private boolean compactEnvelopeEnabled;
+
+  private VeniceWriter<byte[], byte[], byte[]> writer;
+  private NoOpProducerAdapterFactory producerAdapterFactory;
+  private byte[][] keys;
+  private byte[] value;
+
+  public static void main(String[] args) throws Exception {
+    Options options = new OptionsBuilder().include(VeniceWriterBenchmark.class.getSimpleName()).build();
+    new Runner(options).run();
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    Random random = new Random(0);
+    keys = new byte[NUMBER_OF_KEYS][];
+    for (int i = 0; i < NUMBER_OF_KEYS; i++) {
+      keys[i] = new byte[16];
+      random.nextBytes(keys[i]);
+    }
+    value = new byte[VALUE_SIZE];
+    random.nextBytes(value);
+
+    Properties properties = new Properties();
+    properties.put(VeniceWriter.ENABLE_PARTITION_HANDOFF, Boolean.toString(partitionHandoffEnabled));
+    DefaultSerializer serializer = new DefaultSerializer();
+    VeniceWriterOptions options = new VeniceWriterOptions.Builder("benchmark_v1").setKeySerializer(serializer)
+        .setValueSerializer(serializer)
+        .setWriteComputeSerializer(serializer)
+        .setPartitioner(new DefaultVenicePartitioner())
+        .setPartitionCount(partitionCount)
+        .setCompactEnvelopeEnabled(compactEnvelopeEnabled)
+        .build();
+    producerAdapterFactory = new NoOpProducerAdapterFactory(producerWorkTokens);
+    writer = new VeniceWriterFactory(properties, producerAdapterFactory, null).createVeniceWriter(options);
+  }
+
+  @TearDown(Level.Trial)
+  public void cleanUp() {
+    writer.close();
+    long messageCount = producerAdapterFactory.messageCount.sum();
+    if (messageCount > 0) {
+      System.out.println(
+          "Average serialized envelope size: " + producerAdapterFactory.serializedBytes.sum() / messageCount
+              + " bytes over " + messageCount + " messages");
+    }
+  }
+
+  @Benchmark
+  public void put(Blackhole blackhole) {
+    byte[] key = keys[ThreadLocalRandom.current().nextInt(NUMBER_OF_KEYS)];
+    blackhole.consume(writer.put(key, value, 1, null));
+  }
+
+  /**
+   * Configures the envelope serializer of each adapter the way the Kafka producer configures its value serializer, i.e.
+   * from the properties passed by {@link VeniceWriterFactory}, and accumulates the size of the serialized envelopes.
+   */
+  private static class NoOpProducerAdapterFactory implements PubSubProducerAdapterFactory<NoOpProducerAdapter> {
+    private final int workTokens;
+    private final LongAdder messageCount = new LongAdder();
+    private final LongAdder serializedBytes = new LongAdder();
+
+    private NoOpProducerAdapterFactory(int workTokens) {
+      this.workTokens = workTokens;
+    }
+
+    @Override
+    public NoOpProducerAdapter create(VeniceProperties veniceProperties, String producerName, String brokerAddress) {
+      KafkaValueSerializer valueSerializer = new KafkaValueSerializer();
+      valueSerializer.setCompactEncodingEnabled(
+          veniceProperties.getBoolean(ApacheKafkaProducerConfig.KAFKA_COMPACT_ENVELOPE_ENABLED, false));
+      return new NoOpProducerAdapter(workTokens, valueSerializer, messageCount, serializedBytes);
+    }
+
+    @Override
+    public String getName() {
+      return "NoOpProducerAdapterFactory";
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+
+  /**
+   * Acknowledges every message right away, after serializing its envelope and some CPU work standing in for the
+   * batching of a Kafka producer.
+   */
+  private static class NoOpProducerAdapter implements PubSubProducerAdapter {
+    private static final CompletableFuture<PubSubProduceResult> COMPLETED_FUTURE =
+        CompletableFuture.completedFuture(null);
+
+    private final int workTokens;
+    private final KafkaValueSerializer valueSerializer;
+    private final LongAdder messageCount;
+    private final LongAdder serializedBytes;
+
+    private NoOpProducerAdapter(
+        int workTokens,
+        KafkaValueSerializer valueSerializer,
+        LongAdder messageCount,
+        LongAdder serializedBytes) {
+      this.workTokens = workTokens;
+      this.valueSerializer = valueSerializer;
+      this.messageCount = messageCount;
+      this.serializedBytes = serializedBytes;
+    }
+
+    @Override
+    public int getNumberOfPartitions(String topic) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Future<PubSubProduceResult> sendMessage(
+        String topic,
+        Integer partition,
+        KafkaKey key,
+        KafkaMessageEnvelope value,
+        PubSubMessageHeaders headers,
+        PubSubProducerCallback callback) {
+      messageCount.increment();
+      serializedBytes.add(valueSerializer.serialize(topic, value).length);
+      Blackhole.consumeCPU(workTokens);
+      callback.onCompletion(null, null);
+      return COMPLETED_FUTURE;
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close(int closeTimeOutMs, boolean doFlush) {
+    }
+
+    @Override
+    public Object2DoubleMap<String> getMeasurableProducerMetrics() {
+      return new Object2DoubleOpenHashMap<>();
+    }
+
+    @Override
+    public String getBrokerAddress() {
+      return "localhost:1234";
+    }
+  }
+}
@@ -42,6 +42,9 @@ public class ZstdDecompressionBenchmark {
   private static int PAYLOAD_SIZE;
   private VeniceCompressor compressor;
   private ByteBuffer[] compressedPayloads;
+  private ByteBuffer[] directCompressedPayloads;
+  private ByteBuffer heapOutput;
+  private ByteBuffer directOutput;
   private byte[] dictionary;
   private Random rd = new Random();
 
@@ -50,11 +53,19 @@ public class ZstdDecompressionBenchmark {
     this.dictionary = ZstdWithDictCompressor.buildDictionaryOnSyntheticAvroData();
     this.compressor = new CompressorFactory().createCompressorWithDictionary(dictionary, Zstd.maxCompressionLevel());
     this.compressedPayloads = new ByteBuffer[NUMBER_OF_PAYLOADS];
+    this.directCompressedPayloads = new ByteBuffer[NUMBER_OF_PAYLOADS];
     for (int i = 0; i < NUMBER_OF_PAYLOADS; i++) {
       byte[] data = new byte[PAYLOAD_SIZE];
       this.rd.nextBytes(data);
       this.compressedPayloads[i] = compressor.compress(ByteBuffer.wrap(data), 0);
+      ByteBuffer directPayload = ByteBuffer.allocateDirect(compressedPayloads[i].remaining());
+      directPayload.put(compressedPayloads[i].duplicate());
+      directPayload.flip();
+      this.directCompressedPayloads[i] = directPayload;
     }
+    // Stand-ins for the pooled buffers which callers such as the router decompress into.
+    this.heapOutput = ByteBuffer.allocate(PAYLOAD_SIZE);
+    this.directOutput = ByteBuffer.allocateDirect(PAYLOAD_SIZE);
   }
 
   @Benchmark
@@ -69,6 +80,32 @@ public class ZstdDecompressionBenchmark {
     }
   }
 
+  @Benchmark
+  @OperationsPerInvocation(NUMBER_OF_PAYLOADS)
+  public void measureDecompressionIntoReusedBuffer(org.openjdk.jmh.infra.Blackhole bh) throws IOException {
+    for (int i = 0; i < NUMBER_OF_PAYLOADS; i++) {
+      bh.consume(compressor.decompress(compressedPayloads[i], heapOutput));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NUMBER_OF_PAYLOADS)
+  public void measureDirectDecompression(org.openjdk.jmh.infra.Blackhole bh) throws IOException {
+    ByteBuffer decompressed;
+    for (int i = 0; i < NUMBER_OF_PAYLOADS; i++) {
+      decompressed = compressor.decompress(directCompressedPayloads[i]);
+      bh.consume(decompressed);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NUMBER_OF_PAYLOADS)
+  public void measureDirectDecompressionIntoReusedBuffer(org.openjdk.jmh.infra.Blackhole bh) throws IOException {
+    for (int i = 0; i < NUMBER_OF_PAYLOADS; i++) {
+      bh.consume(compressor.decompress(directCompressedPayloads[i], directOutput));
+    }
+  }
+
   @Benchmark
   @OperationsPerInvocation(NUMBER_OF_PAYLOADS)
   public void measureDecompressionWithDictionaryReload(org.openjdk.jmh.infra.Blackhole bh) throws IOException {
@@ -10,6 +10,7 @@ import com.linkedin.venice.meta.IngestionMode;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import org.apache.commons.lang.ArrayUtils;
 import org.testng.annotations.DataProvider;
@@ -67,7 +68,10 @@ public class DataProviderUtils {
     DaVinciConfig cachingDaVinciConfig = new DaVinciConfig();
     cachingDaVinciConfig.setCacheConfig(new ObjectCacheConfig());
 
-    return new Object[][] { { defaultDaVinciConfig }, { cachingDaVinciConfig } };
+    DaVinciConfig parallelReadDaVinciConfig = new DaVinciConfig();
+    parallelReadDaVinciConfig.setReadExecutor(ForkJoinPool.commonPool());
+
+    return new Object[][] { { defaultDaVinciConfig }, { cachingDaVinciConfig }, { parallelReadDaVinciConfig } };
   }
 
   @DataProvider(name = "AmplificationFactor-and-ObjectCache", parallel = false)
@@ -335,6 +335,7 @@ public class TestUtils {
           response.getKafkaTopic(),
           response.getPartitions() * response.getAmplificationFactor(),
           venicePartitioner,
+          response.isCompactEnvelopeEnabled(),
           batchData,
           compressionStrategy,
           compressionDictionaryGenerator.apply(response.getKafkaTopic()));
@@ -347,6 +348,7 @@ public class TestUtils {
           response.getKafkaTopic(),
           response.getPartitions() * response.getAmplificationFactor(),
           venicePartitioner,
+          response.isCompactEnvelopeEnabled(),
           batchData);
     }
   }
@@ -359,6 +361,7 @@ public class TestUtils {
       String kafkaTopic,
       int partitionCount,
       VenicePartitioner venicePartitioner,
+      boolean compactEnvelopeEnabled,
       Stream<Map.Entry> batchData,
       CompressionStrategy compressionStrategy,
       ByteBuffer compressionDictionary) {
@@ -373,6 +376,7 @@ public class TestUtils {
     try (VeniceWriter<byte[], byte[], byte[]> writer = writerFactory.createVeniceWriter(
         new VeniceWriterOptions.Builder(kafkaTopic).setPartitionCount(partitionCount)
             .setPartitioner(venicePartitioner)
+            .setCompactEnvelopeEnabled(compactEnvelopeEnabled)
             .build())) {
       writer.broadcastStartOfPush(
           false,
@@ -406,6 +410,7 @@ public class TestUtils {
       String kafkaTopic,
       int partitionCount,
       VenicePartitioner venicePartitioner,
+      boolean compactEnvelopeEnabled,
       Stream<Map.Entry> batchData) {
 
     try (VeniceWriter<Object, Object, byte[]> writer = writerFactory.createVeniceWriter(
@@ -413,6 +418,7 @@ public class TestUtils {
             .setValueSerializer(new VeniceAvroKafkaSerializer(valueSchema))
             .setPartitionCount(partitionCount)
             .setPartitioner(venicePartitioner)
+            .setCompactEnvelopeEnabled(compactEnvelopeEnabled)
             .build())) {
       writer.broadcastStartOfPush(Collections.emptyMap());
 
@@ -6,6 +6,7 @@ import static com.linkedin.venice.ConfigKeys.CHILD_CLUSTER_ALLOWLIST;
 import static com.linkedin.venice.ConfigKeys.CLUSTER_NAME;
 import static com.linkedin.venice.ConfigKeys.CLUSTER_TO_D2;
 import static com.linkedin.venice.ConfigKeys.CLUSTER_TO_SERVER_D2;
+import static com.linkedin.venice.ConfigKeys.CONTROLLER_COMPACT_ENVELOPE_ENABLED;
 import static com.linkedin.venice.ConfigKeys.CONTROLLER_DEFAULT_READ_QUOTA_PER_ROUTER;
 import static com.linkedin.venice.ConfigKeys.CONTROLLER_DISABLE_PARENT_REQUEST_TOPIC_FOR_STREAM_PUSHES;
 import static com.linkedin.venice.ConfigKeys.CONTROLLER_JETTY_CONFIG_OVERRIDE_PREFIX;
@@ -264,6 +265,7 @@ public class VeniceControllerClusterConfig {
 
   private int defaultReadQuotaPerRouter;
   private int replicationMetadataVersion;
+  private boolean compactEnvelopeEnabled;
 
   private boolean errorLeaderReplicaFailOverEnabled;
 
@@ -407,6 +409,7 @@ public class VeniceControllerClusterConfig {
     this.defaultReadQuotaPerRouter =
         props.getInt(CONTROLLER_DEFAULT_READ_QUOTA_PER_ROUTER, DEFAULT_PER_ROUTER_READ_QUOTA);
     this.replicationMetadataVersion = props.getInt(REPLICATION_METADATA_VERSION, 1);
+    this.compactEnvelopeEnabled = props.getBoolean(CONTROLLER_COMPACT_ENVELOPE_ENABLED, false);
     this.childDatacenters = props.getString(CHILD_CLUSTER_ALLOWLIST);
     this.errorLeaderReplicaFailOverEnabled = props.getBoolean(FORCE_LEADER_ERROR_REPLICA_FAIL_OVER_ENABLED, true);
   }
@@ -674,6 +677,10 @@ public class VeniceControllerClusterConfig {
     return replicationMetadataVersion;
   }
 
+  public boolean isCompactEnvelopeEnabled() {
+    return compactEnvelopeEnabled;
+  }
+
   public String getChildDatacenters() {
     return childDatacenters;
   }
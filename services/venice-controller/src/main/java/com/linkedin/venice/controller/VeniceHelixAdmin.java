@@ -1989,6 +1989,7 @@ public class VeniceHelixAdmin implements Admin, StoreCleaner {
         handleRewindTimeOverride(store, version, rewindTimeInSecondsOverride);
 
         version.setRmdVersionId(replicationMetadataVersionId);
+        version.setCompactEnvelopeEnabled(clusterConfig.isCompactEnvelopeEnabled());
 
         repository.updateStore(store);
         LOGGER.info("Add version: {} for store: {}", version.getNumber(), storeName);
@@ -2395,6 +2396,7 @@ public class VeniceHelixAdmin implements Admin, StoreCleaner {
           store.setPersistenceType(PersistenceType.ROCKS_DB);
 
           version.setRmdVersionId(replicationMetadataVersionId);
+          version.setCompactEnvelopeEnabled(clusterConfig.isCompactEnvelopeEnabled());
 
           version.setVersionSwapDeferred(versionSwapDeferred);
 
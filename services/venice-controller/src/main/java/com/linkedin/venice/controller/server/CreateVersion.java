@@ -317,6 +317,8 @@ public class CreateVersion extends AbstractRoute {
               responseObject.setCompressionStrategy(CompressionStrategy.NO_OP);
             } else {
               responseObject.setCompressionStrategy(version.getCompressionStrategy());
+              // The compact envelope encoding is only negotiated for the version topics
+              responseObject.setCompactEnvelopeEnabled(version.isCompactEnvelopeEnabled());
             }
             if (version.isNativeReplicationEnabled() && overrideSourceFabric) {
               String childDataCenterKafkaBootstrapServer = version.getPushStreamSourceAddress();
@@ -0,0 +1,277 @@
+package com.linkedin.venice.router;
+
+import static com.linkedin.venice.router.api.VenicePathParserHelper.parseRequest;
+import static com.linkedin.venice.utils.NettyUtils.setupResponseAndFlush;
+import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_LENGTH;
+import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_TYPE;
+import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
+import static io.netty.handler.codec.http.HttpResponseStatus.INTERNAL_SERVER_ERROR;
+import static io.netty.handler.codec.http.HttpResponseStatus.METHOD_NOT_ALLOWED;
+import static io.netty.handler.codec.http.HttpResponseStatus.OK;
+import static io.netty.handler.codec.http.HttpResponseStatus.SERVICE_UNAVAILABLE;
+import static io.netty.handler.codec.http.HttpVersion.HTTP_1_1;
+
+import com.linkedin.alpini.netty4.misc.BasicFullHttpRequest;
+import com.linkedin.venice.HttpConstants;
+import com.linkedin.venice.compression.CompressionStrategy;
+import com.linkedin.venice.compression.CompressorFactory;
+import com.linkedin.venice.compression.VeniceCompressor;
+import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.meta.Instance;
+import com.linkedin.venice.meta.RoutingDataRepository;
+import com.linkedin.venice.meta.Version;
+import com.linkedin.venice.read.ScanPosition;
+import com.linkedin.venice.read.protocol.request.router.ScanRequestV1;
+import com.linkedin.venice.read.protocol.response.ScanResponseRecordV1;
+import com.linkedin.venice.read.protocol.response.ScanResponseV1;
+import com.linkedin.venice.router.api.RouterResourceType;
+import com.linkedin.venice.router.api.VenicePathParserHelper;
+import com.linkedin.venice.router.api.VeniceResponseDecompressor;
+import com.linkedin.venice.router.api.VeniceVersionFinder;
+import com.linkedin.venice.router.api.path.VeniceScanPath;
+import com.linkedin.venice.router.httpclient.PortableHttpResponse;
+import com.linkedin.venice.router.httpclient.StorageNodeClient;
+import com.linkedin.venice.schema.avro.ReadAvroProtocolDefinition;
+import com.linkedin.venice.serializer.FastSerializerDeserializerFactory;
+import com.linkedin.venice.serializer.RecordDeserializer;
+import com.linkedin.venice.serializer.RecordSerializer;
+import com.linkedin.venice.utils.ByteUtils;
+import com.linkedin.venice.utils.RedundantExceptionFilter;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.util.ReferenceCountUtil;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.commons.lang.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+
+/**
+ * Serves the key prefix scans of the thin clients, through POST /scan/{storeName} with a {@link ScanRequestV1} as body.
+ *
+ * The routers keep track of the position of a scan, so that the thin clients need to know neither the current version
+ * nor the partitions of the store: the position travels between the pages in the
+ * {@link HttpConstants#VENICE_SCAN_CONTINUATION_TOKEN} header, which a request only omits for the first page of a scan,
+ * and which a response only omits for its last page. Each page comes from a single ready-to-serve replica of the
+ * partition being scanned, like with the fast client, and its values get decompressed here when the client does not
+ * support their compression strategy.
+ */
+@ChannelHandler.Sharable
+public class RouterScanHandler extends SimpleChannelInboundHandler<HttpRequest> {
+  private static final Logger LOGGER = LogManager.getLogger(RouterScanHandler.class);
+  private static final RedundantExceptionFilter EXCEPTION_FILTER =
+      RedundantExceptionFilter.getRedundantExceptionFilter();
+  private static final String SCAN_REQUEST_VERSION =
+      Integer.toString(ReadAvroProtocolDefinition.SCAN_REQUEST_V1.getProtocolVersion());
+  private static final RecordDeserializer<ScanRequestV1> SCAN_REQUEST_DESERIALIZER =
+      FastSerializerDeserializerFactory.getFastAvroSpecificDeserializer(ScanRequestV1.SCHEMA$, ScanRequestV1.class);
+  private static final RecordSerializer<ScanRequestV1> SCAN_REQUEST_SERIALIZER =
+      FastSerializerDeserializerFactory.getFastAvroGenericSerializer(ScanRequestV1.SCHEMA$);
+  private static final RecordDeserializer<ScanResponseV1> SCAN_RESPONSE_DESERIALIZER =
+      FastSerializerDeserializerFactory.getFastAvroSpecificDeserializer(ScanResponseV1.SCHEMA$, ScanResponseV1.class);
+  private static final RecordSerializer<ScanResponseV1> SCAN_RESPONSE_SERIALIZER =
+      FastSerializerDeserializerFactory.getFastAvroGenericSerializer(ScanResponseV1.SCHEMA$);
+
+  private final VeniceVersionFinder versionFinder;
+  private final RoutingDataRepository routingDataRepository;
+  private final StorageNodeClient storageNodeClient;
+  private final CompressorFactory compressorFactory;
+
+  public RouterScanHandler(
+      VeniceVersionFinder versionFinder,
+      RoutingDataRepository routingDataRepository,
+      StorageNodeClient storageNodeClient,
+      CompressorFactory compressorFactory) {
+    this.versionFinder = versionFinder;
+    this.routingDataRepository = routingDataRepository;
+    this.storageNodeClient = storageNodeClient;
+    this.compressorFactory = compressorFactory;
+  }
+
+  @Override
+  public void channelRead0(ChannelHandlerContext ctx, HttpRequest req) {
+    VenicePathParserHelper pathHelper = parseRequest(req);
+    if (pathHelper.getResourceType() != RouterResourceType.TYPE_SCAN) {
+      // Pass request to the next channel if it's not a scan
+      ReferenceCountUtil.retain(req);
+      ctx.fireChannelRead(req);
+      return;
+    }
+
+    String storeName = pathHelper.getResourceName();
+    if (!HttpMethod.POST.equals(req.method())) {
+      sendErrorResponse(METHOD_NOT_ALLOWED, "Scans only support POST, but got: " + req.method(), ctx);
+      return;
+    }
+    if (StringUtils.isEmpty(storeName) || pathHelper.getKey() != null) {
+      sendErrorResponse(BAD_REQUEST, "Scan requests must be sent to /scan/{storeName}, but got: " + req.uri(), ctx);
+      return;
+    }
+    String apiVersion = req.headers().get(HttpConstants.VENICE_API_VERSION);
+    if (!SCAN_REQUEST_VERSION.equals(apiVersion)) {
+      sendErrorResponse(BAD_REQUEST, "Unsupported scan API version: " + apiVersion, ctx);
+      return;
+    }
+
+    try {
+      handleScan(ctx, (BasicFullHttpRequest) req, storeName);
+    } catch (VeniceException e) {
+      sendErrorResponse(HttpResponseStatus.valueOf(e.getHttpStatusCode()), e.getMessage(), ctx);
+    } catch (Exception e) {
+      String errorMsg = "Failed to scan store: " + storeName;
+      if (!EXCEPTION_FILTER.isRedundantException(errorMsg)) {
+        LOGGER.error(errorMsg, e);
+      }
+      sendErrorResponse(INTERNAL_SERVER_ERROR, errorMsg + ", error: " + e.getMessage(), ctx);
+    }
+  }
+
+  private void handleScan(ChannelHandlerContext ctx, BasicFullHttpRequest request, String storeName)
+      throws Exception {
+    int currentVersion = versionFinder.getVersion(storeName, request);
+    String continuationToken = request.headers().get(HttpConstants.VENICE_SCAN_CONTINUATION_TOKEN);
+    ScanPosition position;
+    try {
+      position = continuationToken == null
+          ? new ScanPosition(currentVersion, 0, null)
+          : ScanPosition.fromToken(continuationToken);
+    } catch (VeniceException e) {
+      sendErrorResponse(BAD_REQUEST, e.getMessage(), ctx);
+      return;
+    }
+    if (position.getVersion() != currentVersion) {
+      sendErrorResponse(
+          BAD_REQUEST,
+          "The current version of store: " + storeName + " changed from: " + position.getVersion() + " to: "
+              + currentVersion + " during the scan, please restart it",
+          ctx);
+      return;
+    }
+    String resourceName = Version.composeKafkaTopic(storeName, currentVersion);
+    int partitionCount = routingDataRepository.getNumberOfPartitions(resourceName);
+    int partition = position.getPartition();
+    if (partition < 0 || partition >= partitionCount) {
+      sendErrorResponse(BAD_REQUEST, "Invalid scan continuation token: " + continuationToken, ctx);
+      return;
+    }
+    List<Instance> instances = routingDataRepository.getReadyToServeInstances(resourceName, partition);
+    if (instances.isEmpty()) {
+      sendErrorResponse(
+          SERVICE_UNAVAILABLE,
+          "No ready-to-serve replica for partition: " + partition + " of resource: " + resourceName,
+          ctx);
+      return;
+    }
+    Instance instance = instances.get(ThreadLocalRandom.current().nextInt(instances.size()));
+
+    ScanRequestV1 scanRequest = SCAN_REQUEST_DESERIALIZER.deserialize(ByteBufUtil.getBytes(request.content()));
+    byte[] resumeAfterKey = position.getResumeAfterKey();
+    scanRequest.resumeAfterKey = resumeAfterKey == null ? null : ByteBuffer.wrap(resumeAfterKey);
+    VeniceScanPath path = new VeniceScanPath(
+        storeName,
+        currentVersion,
+        resourceName,
+        partition,
+        SCAN_REQUEST_SERIALIZER.serialize(scanRequest));
+    CompressionStrategy clientCompression = VeniceResponseDecompressor
+        .getCompressionStrategy(request.headers().get(HttpConstants.VENICE_SUPPORTED_COMPRESSION_STRATEGY));
+
+    storageNodeClient.query(
+        instance,
+        path,
+        response -> handleStorageNodeResponse(ctx, response, position, partitionCount, resourceName, clientCompression),
+        throwable -> sendErrorResponse(
+            SERVICE_UNAVAILABLE,
+            "Failed to scan partition: " + partition + " of resource: " + resourceName + " on: " + instance.getNodeId()
+                + ", error: " + throwable.getMessage(),
+            ctx),
+        () -> {
+          sendErrorResponse(
+              SERVICE_UNAVAILABLE,
+              "The scan of partition: " + partition + " of resource: " + resourceName + " got cancelled",
+              ctx);
+          return true;
+        });
+  }
+
+  private void handleStorageNodeResponse(
+      ChannelHandlerContext ctx,
+      PortableHttpResponse storageNodeResponse,
+      ScanPosition position,
+      int partitionCount,
+      String resourceName,
+      CompressionStrategy clientCompression) {
+    try {
+      ByteBuf content = storageNodeResponse.getContentInByteBuf();
+      if (storageNodeResponse.getStatusCode() != OK.code()) {
+        // Relays the errors of the storage node, such as a store which does not support scans
+        FullHttpResponse response = new DefaultFullHttpResponse(
+            HTTP_1_1,
+            HttpResponseStatus.valueOf(storageNodeResponse.getStatusCode()),
+            content);
+        response.headers().set(CONTENT_TYPE, HttpConstants.TEXT_PLAIN);
+        response.headers().set(CONTENT_LENGTH, content.readableBytes());
+        ctx.writeAndFlush(response);
+        return;
+      }
+
+      ScanResponseV1 scanResponse = SCAN_RESPONSE_DESERIALIZER.deserialize(ByteBufUtil.getBytes(content));
+      CompressionStrategy compressionStrategy = VeniceResponseDecompressor
+          .getCompressionStrategy(storageNodeResponse.getFirstHeader(HttpConstants.VENICE_COMPRESSION_STRATEGY));
+      if (compressionStrategy != CompressionStrategy.NO_OP && compressionStrategy != clientCompression) {
+        VeniceCompressor compressor = compressionStrategy == CompressionStrategy.ZSTD_WITH_DICT
+            ? compressorFactory.getVersionSpecificCompressor(resourceName)
+            : compressorFactory.getCompressor(compressionStrategy);
+        if (compressor == null) {
+          sendErrorResponse(
+              SERVICE_UNAVAILABLE,
+              "Compressor not available for resource " + resourceName + ". Dictionary not downloaded.",
+              ctx);
+          return;
+        }
+        for (ScanResponseRecordV1 record: scanResponse.records) {
+          record.value = compressor.decompress(record.value);
+        }
+        compressionStrategy = CompressionStrategy.NO_OP;
+        content = Unpooled.wrappedBuffer(SCAN_RESPONSE_SERIALIZER.serialize(scanResponse));
+      }
+
+      ScanPosition nextPosition = position.next(
+          scanResponse.continuationKey == null ? null : ByteUtils.extractByteArray(scanResponse.continuationKey),
+          partitionCount);
+      FullHttpResponse response = new DefaultFullHttpResponse(HTTP_1_1, OK, content);
+      response.headers().set(CONTENT_TYPE, HttpConstants.AVRO_BINARY);
+      response.headers().set(CONTENT_LENGTH, content.readableBytes());
+      response.headers().set(HttpConstants.VENICE_COMPRESSION_STRATEGY, compressionStrategy.getValue());
+      response.headers()
+          .set(HttpConstants.VENICE_SCHEMA_ID, storageNodeResponse.getFirstHeader(HttpConstants.VENICE_SCHEMA_ID));
+      if (nextPosition != null) {
+        response.headers().set(HttpConstants.VENICE_SCAN_CONTINUATION_TOKEN, nextPosition.toToken());
+      }
+      ctx.writeAndFlush(response);
+    } catch (IOException | RuntimeException e) {
+      String errorMsg = "Failed to handle the scan response of resource: " + resourceName;
+      if (!EXCEPTION_FILTER.isRedundantException(errorMsg)) {
+        LOGGER.error(errorMsg, e);
+      }
+      sendErrorResponse(INTERNAL_SERVER_ERROR, errorMsg + ", error: " + e.getMessage(), ctx);
+    }
+  }
+
+  private void sendErrorResponse(HttpResponseStatus status, String errorMsg, ChannelHandlerContext ctx) {
+    setupResponseAndFlush(status, errorMsg.getBytes(StandardCharsets.UTF_8), false, ctx);
+  }
+}
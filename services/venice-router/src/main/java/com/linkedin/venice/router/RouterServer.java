@@ -506,6 +506,8 @@ public class RouterServer extends AbstractVeniceService {
         config.getClusterToD2Map(),
         config.getClusterName(),
         compressorFactory);
+    RouterScanHandler scanHandler =
+        new RouterScanHandler(versionFinder, routingDataRepository, storageNodeClient, compressorFactory);
     VenicePathParser pathParser = new VenicePathParser(
         versionFinder,
         partitionFinder,
@@ -614,6 +616,7 @@ public class RouterServer extends AbstractVeniceService {
                 pipeline.addLast("VerifySslHandler", unsecureRouterSslVerificationHandler);
                 pipeline.addLast("MetadataHandler", metaDataHandler);
                 pipeline.addLast("AdminOperationsHandler", adminOperationsHandler);
+                pipeline.addLast("RouterScanHandler", scanHandler);
                 addStreamingHandler(pipeline);
                 addOptionalChannelHandlersToPipeline(pipeline);
               })
@@ -665,6 +668,7 @@ public class RouterServer extends AbstractVeniceService {
       pipeline.addLast("MetadataHandler", metaDataHandler);
       pipeline.addLast("AdminOperationsHandler", adminOperationsHandler);
       pipeline.addLast("RouterThrottleHandler", routerThrottleHandler);
+      pipeline.addLast("RouterScanHandler", scanHandler);
       addStreamingHandler(pipeline);
       addOptionalChannelHandlersToPipeline(pipeline);
     };
@@ -675,6 +679,7 @@ public class RouterServer extends AbstractVeniceService {
       pipeline.addLast("AdminOperationsHandler", adminOperationsHandler);
       pipeline.addLast("StoreAclHandler", aclHandler);
       pipeline.addLast("RouterThrottleHandler", routerThrottleHandler);
+      pipeline.addLast("RouterScanHandler", scanHandler);
       addStreamingHandler(pipeline);
       addOptionalChannelHandlersToPipeline(pipeline);
     };
@@ -59,6 +59,7 @@ public class VenicePathParser<HTTP_REQUEST extends BasicHttpRequest>
 
   public static final String TYPE_STORAGE = "storage";
   public static final String TYPE_COMPUTE = "compute";
+  public static final String TYPE_SCAN = "scan";
 
   // Admin tasks
   public static final String TASK_READ_QUOTA_THROTTLE = "readQuotaThrottle";
@@ -3,6 +3,7 @@ package com.linkedin.venice.router.api;
 import static com.linkedin.venice.HttpConstants.VENICE_SUPPORTED_COMPRESSION_STRATEGY;
 import static com.linkedin.venice.read.RequestType.MULTI_GET;
 import static com.linkedin.venice.read.RequestType.MULTI_GET_STREAMING;
+import static com.linkedin.venice.read.RequestType.SINGLE_GET;
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_GATEWAY;
 import static io.netty.handler.codec.http.HttpResponseStatus.SERVICE_UNAVAILABLE;
 
@@ -10,6 +11,7 @@ import com.linkedin.alpini.netty4.misc.BasicFullHttpRequest;
 import com.linkedin.venice.compression.CompressionStrategy;
 import com.linkedin.venice.compression.CompressorFactory;
 import com.linkedin.venice.compression.VeniceCompressor;
+import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.meta.Version;
 import com.linkedin.venice.read.RequestType;
 import com.linkedin.venice.read.protocol.response.MultiGetResponseRecordV1;
@@ -88,8 +90,7 @@ public class VeniceResponseDecompressor {
     stats.recordCompressedResponseSize(storeName, content.readableBytes());
     long startTimeInNs = System.nanoTime();
     ByteBuf copy = content.isReadOnly() ? content.copy() : content;
-    ByteBuf decompressedData =
-        Unpooled.wrappedBuffer(decompressRecord(compressionStrategy, copy.nioBuffer(), RequestType.SINGLE_GET));
+    ByteBuf decompressedData = decompressSingleGetRecord(compressionStrategy, copy);
     final long decompressionTimeInNs = System.nanoTime() - startTimeInNs;
     stats.recordDecompressionTime(storeName, LatencyUtils.getLatencyInMS(startTimeInNs));
 
@@ -168,34 +169,68 @@ public class VeniceResponseDecompressor {
     return new Pair<>(decompressedContent, CompressionStrategy.NO_OP);
   }
 
-  private ByteBuffer decompressRecord(
-      CompressionStrategy compressionStrategy,
-      ByteBuffer compressedData,
-      RequestType requestType) {
+  /**
+   * When the decompressed size is known upfront, the record is decompressed straight into a buffer obtained from the
+   * allocator of the response, which is direct if the response is, instead of into a buffer allocated for every call.
+   * The returned buffer is released by the Netty pipeline along with the response to the client.
+   */
+  private ByteBuf decompressSingleGetRecord(CompressionStrategy compressionStrategy, ByteBuf compressedData) {
+    VeniceCompressor compressor = getCompressor(compressionStrategy, SINGLE_GET);
+    ByteBuffer input = compressedData.nioBuffer();
+    int decompressedSize = compressor.getDecompressedSize(input);
+    if (decompressedSize < 0) {
+      return Unpooled.wrappedBuffer(decompressRecord(compressor, input, SINGLE_GET));
+    }
+    ByteBuf output = input.isDirect()
+        ? compressedData.alloc().directBuffer(decompressedSize, decompressedSize)
+        : compressedData.alloc().heapBuffer(decompressedSize, decompressedSize);
     try {
-      VeniceCompressor compressor;
-      if (compressionStrategy == CompressionStrategy.ZSTD_WITH_DICT) {
-        compressor = compressorFactory.getVersionSpecificCompressor(kafkaTopic);
-        if (compressor == null) {
-          throw RouterExceptionAndTrackingUtils.newVeniceExceptionAndTracking(
-              Optional.of(storeName),
-              Optional.of(requestType),
-              SERVICE_UNAVAILABLE,
-              "Compressor not available for resource " + kafkaTopic + ". Dictionary not downloaded.");
-        }
-      } else {
-        compressor = compressorFactory.getCompressor(compressionStrategy);
+      int actualSize = compressor.decompress(input, output.nioBuffer(0, decompressedSize));
+      if (actualSize != decompressedSize) {
+        throw new IOException(
+            "The decompressed payload size (" + actualSize + ") is not as expected (" + decompressedSize + ").");
       }
-      ByteBuffer decompressed = compressor.decompress(compressedData);
-      return decompressed;
+      output.writerIndex(decompressedSize);
+      return output;
+    } catch (IOException e) {
+      output.release();
+      throw newDecompressionException(SINGLE_GET, e);
+    } catch (RuntimeException e) {
+      output.release();
+      throw e;
+    }
+  }
+
+  private ByteBuffer decompressRecord(VeniceCompressor compressor, ByteBuffer compressedData, RequestType requestType) {
+    try {
+      return compressor.decompress(compressedData);
     } catch (IOException e) {
-      String errorMsg = String
-          .format("Failed to decompress data. Store: %s; Version: %d, error: %s", storeName, version, e.getMessage());
-      throw RouterExceptionAndTrackingUtils
-          .newVeniceExceptionAndTracking(Optional.of(storeName), Optional.of(requestType), BAD_GATEWAY, errorMsg);
+      throw newDecompressionException(requestType, e);
     }
   }
 
+  private VeniceCompressor getCompressor(CompressionStrategy compressionStrategy, RequestType requestType) {
+    if (compressionStrategy == CompressionStrategy.ZSTD_WITH_DICT) {
+      VeniceCompressor compressor = compressorFactory.getVersionSpecificCompressor(kafkaTopic);
+      if (compressor == null) {
+        throw RouterExceptionAndTrackingUtils.newVeniceExceptionAndTracking(
+            Optional.of(storeName),
+            Optional.of(requestType),
+            SERVICE_UNAVAILABLE,
+            "Compressor not available for resource " + kafkaTopic + ". Dictionary not downloaded.");
+      }
+      return compressor;
+    }
+    return compressorFactory.getCompressor(compressionStrategy);
+  }
+
+  private VeniceException newDecompressionException(RequestType requestType, IOException e) {
+    String errorMsg = String
+        .format("Failed to decompress data. Store: %s; Version: %d, error: %s", storeName, version, e.getMessage());
+    return RouterExceptionAndTrackingUtils
+        .newVeniceExceptionAndTracking(Optional.of(storeName), Optional.of(requestType), BAD_GATEWAY, errorMsg);
+  }
+
   private ByteBuf decompressMultiGetRecords(
       CompressionStrategy compressionStrategy,
       ByteBuf data,
@@ -205,28 +240,9 @@ public class VeniceResponseDecompressor {
         OptimizedBinaryDecoderFactory.defaultFactory()
             .createOptimizedBinaryDecoder(copy.array(), 0, copy.readableBytes()));
 
-    try {
-      VeniceCompressor compressor;
-      if (compressionStrategy == CompressionStrategy.ZSTD_WITH_DICT) {
-        compressor = compressorFactory.getVersionSpecificCompressor(kafkaTopic);
-        if (compressor == null) {
-          throw RouterExceptionAndTrackingUtils.newVeniceExceptionAndTracking(
-              Optional.of(storeName),
-              Optional.of(requestType),
-              SERVICE_UNAVAILABLE,
-              "Compressor not available for resource " + kafkaTopic + ". Dictionary not downloaded.");
-        }
-      } else {
-        compressor = compressorFactory.getCompressor(compressionStrategy);
-      }
-      for (MultiGetResponseRecordV1 record: records) {
-        record.value = compressor.decompress(record.value);
-      }
-    } catch (IOException e) {
-      String errorMsg = String
-          .format("Failed to decompress data. Store: %s; Version: %d, error: %s", storeName, version, e.getMessage());
-      throw RouterExceptionAndTrackingUtils
-          .newVeniceExceptionAndTracking(Optional.of(storeName), Optional.of(requestType), BAD_GATEWAY, errorMsg);
+    VeniceCompressor compressor = getCompressor(compressionStrategy, requestType);
+    for (MultiGetResponseRecordV1 record: records) {
+      record.value = decompressRecord(compressor, record.value, requestType);
     }
 
     return Unpooled.wrappedBuffer(recordSerializer.serializeObjects(records));
@@ -0,0 +1,84 @@
+package com.linkedin.venice.router.api.path;
+
+import static com.linkedin.venice.router.api.VenicePathParser.TYPE_SCAN;
+
+import com.linkedin.venice.read.RequestType;
+import com.linkedin.venice.router.api.RouterKey;
+import com.linkedin.venice.router.api.VenicePathParser;
+import com.linkedin.venice.schema.avro.ReadAvroProtocolDefinition;
+import io.netty.handler.codec.http.HttpMethod;
+import java.util.Collection;
+import java.util.Collections;
+import javax.annotation.Nonnull;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.ByteArrayEntity;
+
+
+/**
+ * The request for one page of a key prefix scan of a single partition, which {@link com.linkedin.venice.router.
+ * RouterScanHandler} sends to a storage node directly. Scans have no key to partition and go to a single replica, so
+ * this path never goes through the scatter-gather of the other requests.
+ */
+public class VeniceScanPath extends VenicePath {
+  private static final String SCAN_REQUEST_VERSION =
+      Integer.toString(ReadAvroProtocolDefinition.SCAN_REQUEST_V1.getProtocolVersion());
+
+  private final int partition;
+  private final byte[] body;
+
+  public VeniceScanPath(String storeName, int versionNumber, String resourceName, int partition, byte[] body) {
+    super(storeName, versionNumber, resourceName, false, -1);
+    this.partition = partition;
+    this.body = body;
+    setPartitionKeys(Collections.emptyList());
+  }
+
+  public int getPartition() {
+    return partition;
+  }
+
+  @Override
+  public RequestType getRequestType() {
+    throw new IllegalStateException("This should not be called on " + this.getClass().getSimpleName());
+  }
+
+  @Override
+  public VenicePath substitutePartitionKey(RouterKey s) {
+    throw new IllegalStateException("This should not be called on " + this.getClass().getSimpleName());
+  }
+
+  @Override
+  public VenicePath substitutePartitionKey(@Nonnull Collection<RouterKey> s) {
+    throw new IllegalStateException("This should not be called on " + this.getClass().getSimpleName());
+  }
+
+  @Override
+  public HttpUriRequest composeRouterRequestInternal(String storageNodeUri) {
+    HttpPost routerRequest = new HttpPost(storageNodeUri + getLocation());
+    routerRequest.setEntity(new ByteArrayEntity(body));
+    return routerRequest;
+  }
+
+  @Nonnull
+  @Override
+  public String getLocation() {
+    String sep = VenicePathParser.SEP;
+    return TYPE_SCAN + sep + getResourceName() + sep + partition;
+  }
+
+  @Override
+  public HttpMethod getHttpMethod() {
+    return HttpMethod.POST;
+  }
+
+  @Override
+  public byte[] getBody() {
+    return body;
+  }
+
+  @Override
+  public String getVeniceApiVersionHeader() {
+    return SCAN_REQUEST_VERSION;
+  }
+}
@@ -0,0 +1,243 @@
+package com.linkedin.venice.router;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.linkedin.alpini.netty4.misc.BasicFullHttpRequest;
+import com.linkedin.venice.HttpConstants;
+import com.linkedin.venice.compression.CompressionStrategy;
+import com.linkedin.venice.compression.CompressorFactory;
+import com.linkedin.venice.meta.Instance;
+import com.linkedin.venice.meta.RoutingDataRepository;
+import com.linkedin.venice.read.ScanPosition;
+import com.linkedin.venice.read.protocol.request.router.ScanRequestV1;
+import com.linkedin.venice.read.protocol.response.ScanResponseRecordV1;
+import com.linkedin.venice.read.protocol.response.ScanResponseV1;
+import com.linkedin.venice.router.api.VeniceVersionFinder;
+import com.linkedin.venice.router.api.path.VeniceScanPath;
+import com.linkedin.venice.router.httpclient.PortableHttpResponse;
+import com.linkedin.venice.router.httpclient.StorageNodeClient;
+import com.linkedin.venice.schema.avro.ReadAvroProtocolDefinition;
+import com.linkedin.venice.serializer.FastSerializerDeserializerFactory;
+import com.linkedin.venice.serializer.RecordDeserializer;
+import com.linkedin.venice.serializer.RecordSerializer;
+import com.linkedin.venice.utils.ByteUtils;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.function.Consumer;
+import org.mockito.ArgumentCaptor;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+
+public class TestRouterScanHandler {
+  private static final String STORE_NAME = "test_store";
+  private static final int CURRENT_VERSION = 2;
+  private static final String RESOURCE_NAME = STORE_NAME + "_v" + CURRENT_VERSION;
+  private static final int PARTITION_COUNT = 3;
+  private static final byte[] KEY_PREFIX = "key".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] KEY = "key1".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] VALUE = "value1".getBytes(StandardCharsets.UTF_8);
+
+  private static final RecordSerializer<ScanRequestV1> SCAN_REQUEST_SERIALIZER =
+      FastSerializerDeserializerFactory.getFastAvroGenericSerializer(ScanRequestV1.SCHEMA$);
+  private static final RecordDeserializer<ScanRequestV1> SCAN_REQUEST_DESERIALIZER =
+      FastSerializerDeserializerFactory.getFastAvroSpecificDeserializer(ScanRequestV1.SCHEMA$, ScanRequestV1.class);
+  private static final RecordSerializer<ScanResponseV1> SCAN_RESPONSE_SERIALIZER =
+      FastSerializerDeserializerFactory.getFastAvroGenericSerializer(ScanResponseV1.SCHEMA$);
+  private static final RecordDeserializer<ScanResponseV1> SCAN_RESPONSE_DESERIALIZER =
+      FastSerializerDeserializerFactory.getFastAvroSpecificDeserializer(ScanResponseV1.SCHEMA$, ScanResponseV1.class);
+
+  private StorageNodeClient storageNodeClient;
+  private CompressorFactory compressorFactory;
+  private RouterScanHandler scanHandler;
+
+  @BeforeMethod
+  public void setUp() {
+    VeniceVersionFinder versionFinder = mock(VeniceVersionFinder.class);
+    doReturn(CURRENT_VERSION).when(versionFinder).getVersion(anyString(), any());
+    RoutingDataRepository routingDataRepository = mock(RoutingDataRepository.class);
+    doReturn(PARTITION_COUNT).when(routingDataRepository).getNumberOfPartitions(RESOURCE_NAME);
+    doReturn(Collections.singletonList(new Instance("host_1", "host", 1234))).when(routingDataRepository)
+        .getReadyToServeInstances(anyString(), anyInt());
+    storageNodeClient = mock(StorageNodeClient.class);
+    compressorFactory = new CompressorFactory();
+    scanHandler = new RouterScanHandler(versionFinder, routingDataRepository, storageNodeClient, compressorFactory);
+  }
+
+  private static BasicFullHttpRequest scanRequest(String continuationToken, CompressionStrategy clientCompression) {
+    ScanRequestV1 scanRequest = new ScanRequestV1();
+    scanRequest.keyPrefix = ByteBuffer.wrap(KEY_PREFIX);
+    BasicFullHttpRequest request = new BasicFullHttpRequest(
+        HttpVersion.HTTP_1_1,
+        HttpMethod.POST,
+        "/scan/" + STORE_NAME,
+        Unpooled.wrappedBuffer(SCAN_REQUEST_SERIALIZER.serialize(scanRequest)),
+        -1,
+        -1);
+    request.headers()
+        .set(HttpConstants.VENICE_API_VERSION, ReadAvroProtocolDefinition.SCAN_REQUEST_V1.getProtocolVersion());
+    request.headers().set(HttpConstants.VENICE_SUPPORTED_COMPRESSION_STRATEGY, clientCompression.getValue());
+    if (continuationToken != null) {
+      request.headers().set(HttpConstants.VENICE_SCAN_CONTINUATION_TOKEN, continuationToken);
+    }
+    return request;
+  }
+
+  /**
+   * Replies to the scan requests with a single record and the given continuation key, and returns the captor of the
+   * paths which were sent to the storage node.
+   */
+  private ArgumentCaptor<VeniceScanPath> mockStorageNodeResponse(
+      byte[] value,
+      CompressionStrategy compressionStrategy,
+      byte[] continuationKey) {
+    ScanResponseRecordV1 record = new ScanResponseRecordV1();
+    record.key = ByteBuffer.wrap(KEY);
+    record.value = ByteBuffer.wrap(value);
+    record.schemaId = 1;
+    ScanResponseV1 scanResponse = new ScanResponseV1();
+    scanResponse.records = Collections.singletonList(record);
+    scanResponse.continuationKey = continuationKey == null ? null : ByteBuffer.wrap(continuationKey);
+    byte[] responseBody = SCAN_RESPONSE_SERIALIZER.serialize(scanResponse);
+
+    ArgumentCaptor<VeniceScanPath> pathCaptor = ArgumentCaptor.forClass(VeniceScanPath.class);
+    doAnswer(invocation -> {
+      PortableHttpResponse response = mock(PortableHttpResponse.class);
+      doReturn(HttpResponseStatus.OK.code()).when(response).getStatusCode();
+      doReturn(Unpooled.wrappedBuffer(responseBody)).when(response).getContentInByteBuf();
+      doReturn(Integer.toString(compressionStrategy.getValue())).when(response)
+          .getFirstHeader(HttpConstants.VENICE_COMPRESSION_STRATEGY);
+      doReturn(Integer.toString(ReadAvroProtocolDefinition.SCAN_RESPONSE_V1.getProtocolVersion())).when(response)
+          .getFirstHeader(HttpConstants.VENICE_SCHEMA_ID);
+      Consumer<PortableHttpResponse> completedCallBack = invocation.getArgument(2);
+      completedCallBack.accept(response);
+      return null;
+    }).when(storageNodeClient).query(any(), pathCaptor.capture(), any(), any(), any());
+    return pathCaptor;
+  }
+
+  private FullHttpResponse handle(BasicFullHttpRequest request) {
+    ChannelHandlerContext ctx = mock(ChannelHandlerContext.class);
+    scanHandler.channelRead0(ctx, request);
+    ArgumentCaptor<FullHttpResponse> responseCaptor = ArgumentCaptor.forClass(FullHttpResponse.class);
+    verify(ctx).writeAndFlush(responseCaptor.capture());
+    return responseCaptor.getValue();
+  }
+
+  @Test
+  public void testNonScanRequestIsPassedThrough() {
+    ChannelHandlerContext ctx = mock(ChannelHandlerContext.class);
+    BasicFullHttpRequest request =
+        new BasicFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/storage/" + STORE_NAME + "/key", -1, -1);
+    scanHandler.channelRead0(ctx, request);
+    verify(ctx).fireChannelRead(request);
+    verify(ctx, never()).writeAndFlush(any());
+  }
+
+  @Test
+  public void testFirstPageOfScan() {
+    ArgumentCaptor<VeniceScanPath> pathCaptor = mockStorageNodeResponse(VALUE, CompressionStrategy.NO_OP, KEY);
+    FullHttpResponse response = handle(scanRequest(null, CompressionStrategy.NO_OP));
+
+    // The scan starts from the first key of the first partition of the current version
+    VeniceScanPath path = pathCaptor.getValue();
+    Assert.assertEquals(path.getResourceName(), RESOURCE_NAME);
+    Assert.assertEquals(path.getLocation(), "scan/" + RESOURCE_NAME + "/0");
+    ScanRequestV1 forwardedRequest = SCAN_REQUEST_DESERIALIZER.deserialize(path.getBody());
+    Assert.assertEquals(ByteUtils.extractByteArray(forwardedRequest.keyPrefix), KEY_PREFIX);
+    Assert.assertNull(forwardedRequest.resumeAfterKey);
+
+    // The partition has more records, so the next page resumes after the continuation key
+    Assert.assertEquals(response.status(), HttpResponseStatus.OK);
+    Assert.assertEquals(
+        response.headers().get(HttpConstants.VENICE_SCAN_CONTINUATION_TOKEN),
+        new ScanPosition(CURRENT_VERSION, 0, KEY).toToken());
+    ScanResponseV1 scanResponse = SCAN_RESPONSE_DESERIALIZER.deserialize(ByteBufUtil.getBytes(response.content()));
+    Assert.assertEquals(scanResponse.records.size(), 1);
+    Assert.assertEquals(ByteUtils.extractByteArray(scanResponse.records.get(0).value), VALUE);
+  }
+
+  @Test
+  public void testLastPageOfScan() {
+    ArgumentCaptor<VeniceScanPath> pathCaptor = mockStorageNodeResponse(VALUE, CompressionStrategy.NO_OP, null);
+    String continuationToken = new ScanPosition(CURRENT_VERSION, PARTITION_COUNT - 1, KEY).toToken();
+    FullHttpResponse response = handle(scanRequest(continuationToken, CompressionStrategy.NO_OP));
+
+    VeniceScanPath path = pathCaptor.getValue();
+    Assert.assertEquals(path.getLocation(), "scan/" + RESOURCE_NAME + "/" + (PARTITION_COUNT - 1));
+    ScanRequestV1 forwardedRequest = SCAN_REQUEST_DESERIALIZER.deserialize(path.getBody());
+    Assert.assertEquals(ByteUtils.extractByteArray(forwardedRequest.resumeAfterKey), KEY);
+
+    // The last partition is over, so there is no next page
+    Assert.assertEquals(response.status(), HttpResponseStatus.OK);
+    Assert.assertFalse(response.headers().contains(HttpConstants.VENICE_SCAN_CONTINUATION_TOKEN));
+  }
+
+  @Test
+  public void testVersionChangeDuringScan() {
+    String continuationToken = new ScanPosition(CURRENT_VERSION - 1, 1, KEY).toToken();
+    FullHttpResponse response = handle(scanRequest(continuationToken, CompressionStrategy.NO_OP));
+    Assert.assertEquals(response.status(), HttpResponseStatus.BAD_REQUEST);
+    Assert.assertTrue(response.content().toString(StandardCharsets.UTF_8).contains("please restart it"));
+    verify(storageNodeClient, never()).query(any(), any(), any(), any(), any());
+  }
+
+  @Test
+  public void testInvalidContinuationToken() {
+    String continuationToken = new ScanPosition(CURRENT_VERSION, PARTITION_COUNT, null).toToken();
+    FullHttpResponse response = handle(scanRequest(continuationToken, CompressionStrategy.NO_OP));
+    Assert.assertEquals(response.status(), HttpResponseStatus.BAD_REQUEST);
+
+    response = handle(scanRequest("not a token", CompressionStrategy.NO_OP));
+    Assert.assertEquals(response.status(), HttpResponseStatus.BAD_REQUEST);
+    verify(storageNodeClient, never()).query(any(), any(), any(), any(), any());
+  }
+
+  @Test
+  public void testValuesAreDecompressedForClientWithoutCompressionSupport() throws IOException {
+    byte[] compressedValue = compressorFactory.getCompressor(CompressionStrategy.GZIP).compress(VALUE);
+    mockStorageNodeResponse(compressedValue, CompressionStrategy.GZIP, null);
+
+    // The client supports the compression of the values, which are relayed as they are
+    FullHttpResponse response = handle(scanRequest(null, CompressionStrategy.GZIP));
+    Assert.assertEquals(
+        response.headers().get(HttpConstants.VENICE_COMPRESSION_STRATEGY),
+        Integer.toString(CompressionStrategy.GZIP.getValue()));
+    ScanResponseV1 scanResponse = SCAN_RESPONSE_DESERIALIZER.deserialize(ByteBufUtil.getBytes(response.content()));
+    Assert.assertEquals(ByteUtils.extractByteArray(scanResponse.records.get(0).value), compressedValue);
+
+    // The client does not support the compression of the values, which are decompressed by the router
+    response = handle(scanRequest(null, CompressionStrategy.NO_OP));
+    Assert.assertEquals(
+        response.headers().get(HttpConstants.VENICE_COMPRESSION_STRATEGY),
+        Integer.toString(CompressionStrategy.NO_OP.getValue()));
+    scanResponse = SCAN_RESPONSE_DESERIALIZER.deserialize(ByteBufUtil.getBytes(response.content()));
+    Assert.assertEquals(ByteUtils.extractByteArray(scanResponse.records.get(0).value), VALUE);
+  }
+
+  @Test
+  public void testUnsupportedApiVersion() {
+    BasicFullHttpRequest request = scanRequest(null, CompressionStrategy.NO_OP);
+    request.headers().set(HttpConstants.VENICE_API_VERSION, "-1");
+    FullHttpResponse response = handle(request);
+    Assert.assertEquals(response.status(), HttpResponseStatus.BAD_REQUEST);
+    verify(storageNodeClient, never()).query(any(), any(), any(), any(), any());
+  }
+}
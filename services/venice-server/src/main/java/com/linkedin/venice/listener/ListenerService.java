@@ -14,6 +14,7 @@ import com.linkedin.venice.meta.ReadOnlyStoreRepository;
 import com.linkedin.venice.security.SSLFactory;
 import com.linkedin.venice.service.AbstractVeniceService;
 import com.linkedin.venice.stats.ThreadPoolStats;
+import com.linkedin.venice.utils.concurrent.BoundedVirtualThreadExecutor;
 import com.linkedin.venice.utils.concurrent.ThreadPoolFactory;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.ChannelFuture;
@@ -27,6 +28,7 @@ import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.tehuti.metrics.MetricsRepository;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import org.apache.logging.log4j.LogManager;
@@ -45,8 +47,8 @@ public class ListenerService extends AbstractVeniceService {
   private ChannelFuture serverFuture;
   private final int port;
   private final VeniceServerConfig serverConfig;
-  private final ThreadPoolExecutor executor;
-  private final ThreadPoolExecutor computeExecutor;
+  private final ExecutorService executor;
+  private final ExecutorService computeExecutor;
 
   private ThreadPoolExecutor sslHandshakeExecutor;
 
@@ -71,17 +73,45 @@ public class ListenerService extends AbstractVeniceService {
     this.serverConfig = serverConfig;
     this.port = serverConfig.getListenerPort();
 
-    executor = createThreadPool(
-        serverConfig.getRestServiceStorageThreadNum(),
-        "StorageExecutionThread",
-        serverConfig.getDatabaseLookupQueueCapacity());
-    new ThreadPoolStats(metricsRepository, executor, "storage_execution_thread_pool");
+    boolean useVirtualThreads = serverConfig.isStorageReadVirtualThreadEnabled();
+    if (useVirtualThreads && !BoundedVirtualThreadExecutor.isSupported()) {
+      LOGGER.warn(
+          "Virtual threads are enabled for storage reads but not supported by the current JVM: {}, "
+              + "falling back to the fixed size thread pools",
+          System.getProperty("java.version"));
+      useVirtualThreads = false;
+    }
 
-    computeExecutor = createThreadPool(
-        serverConfig.getServerComputeThreadNum(),
-        "StorageComputeThread",
-        serverConfig.getComputeQueueCapacity());
-    new ThreadPoolStats(metricsRepository, computeExecutor, "storage_compute_thread_pool");
+    if (useVirtualThreads) {
+      BoundedVirtualThreadExecutor virtualExecutor = new BoundedVirtualThreadExecutor(
+          "StorageExecutionThread",
+          serverConfig.getStorageReadVirtualThreadMaxConcurrency(),
+          serverConfig.getDatabaseLookupQueueCapacity());
+      new ThreadPoolStats(metricsRepository, virtualExecutor, "storage_execution_thread_pool");
+      executor = virtualExecutor;
+
+      BoundedVirtualThreadExecutor virtualComputeExecutor = new BoundedVirtualThreadExecutor(
+          "StorageComputeThread",
+          serverConfig.getComputeVirtualThreadMaxConcurrency(),
+          serverConfig.getComputeQueueCapacity());
+      new ThreadPoolStats(metricsRepository, virtualComputeExecutor, "storage_compute_thread_pool");
+      computeExecutor = virtualComputeExecutor;
+      LOGGER.info("Storage read and compute requests will be executed on virtual threads");
+    } else {
+      ThreadPoolExecutor threadPoolExecutor = createThreadPool(
+          serverConfig.getRestServiceStorageThreadNum(),
+          "StorageExecutionThread",
+          serverConfig.getDatabaseLookupQueueCapacity());
+      new ThreadPoolStats(metricsRepository, threadPoolExecutor, "storage_execution_thread_pool");
+      executor = threadPoolExecutor;
+
+      ThreadPoolExecutor computeThreadPoolExecutor = createThreadPool(
+          serverConfig.getServerComputeThreadNum(),
+          "StorageComputeThread",
+          serverConfig.getComputeQueueCapacity());
+      new ThreadPoolStats(metricsRepository, computeThreadPoolExecutor, "storage_compute_thread_pool");
+      computeExecutor = computeThreadPoolExecutor;
+    }
 
     if (sslFactory.isPresent() && serverConfig.getSslHandshakeThreadPoolSize() > 0) {
       this.sslHandshakeExecutor = createThreadPool(
@@ -177,8 +207,8 @@ public class ListenerService extends AbstractVeniceService {
   }
 
   protected StorageReadRequestsHandler createRequestHandler(
-      ThreadPoolExecutor executor,
-      ThreadPoolExecutor computeExecutor,
+      ExecutorService executor,
+      ExecutorService computeExecutor,
       StorageEngineRepository storageEngineRepository,
       ReadOnlyStoreRepository metadataRepository,
       ReadOnlySchemaRepository schemaRepository,
@@ -14,6 +14,8 @@ import com.linkedin.venice.HttpConstants;
 import com.linkedin.venice.compression.CompressionStrategy;
 import com.linkedin.venice.listener.response.BinaryResponse;
 import com.linkedin.venice.listener.response.HttpShortcutResponse;
+import com.linkedin.venice.listener.response.ScanResponse;
+import com.linkedin.venice.schema.avro.ReadAvroProtocolDefinition;
 import com.linkedin.venice.utils.ExceptionUtils;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
@@ -51,6 +53,7 @@ public class OutboundHttpWrapperHandler extends ChannelOutboundHandlerAdapter {
       if (msg instanceof ReadResponse) {
         ReadResponse obj = (ReadResponse) msg;
         statsHandler.setDatabaseLookupLatency(obj.getDatabaseLookupLatency());
+        statsHandler.setChunkedValueLookupLatency(obj.getChunkedValueLookupLatency());
         statsHandler.setStorageExecutionHandlerSubmissionWaitTime(obj.getStorageExecutionHandlerSubmissionWaitTime());
         statsHandler.setStorageExecutionQueueLen(obj.getStorageExecutionQueueLen());
         statsHandler.setSuccessRequestKeyCount(obj.getRecordCount());
@@ -123,6 +126,12 @@ public class OutboundHttpWrapperHandler extends ChannelOutboundHandlerAdapter {
           contentType = HttpConstants.TEXT_PLAIN;
           responseStatus = INTERNAL_SERVER_ERROR;
         }
+      } else if (msg instanceof ScanResponse) {
+        ScanResponse scanResponse = (ScanResponse) msg;
+        statsHandler.setSuccessRequestKeyCount(scanResponse.getRecordCount());
+        body = scanResponse.getBody();
+        compressionStrategy = scanResponse.getCompressionStrategy();
+        schemaIdHeader = ReadAvroProtocolDefinition.SCAN_RESPONSE_V1.getProtocolVersion();
       } else if (msg instanceof DefaultFullHttpResponse) {
         ctx.writeAndFlush(msg);
         return;
@@ -9,6 +9,7 @@ import com.linkedin.venice.listener.request.HealthCheckRequest;
 import com.linkedin.venice.listener.request.MetadataFetchRequest;
 import com.linkedin.venice.listener.request.MultiGetRouterRequestWrapper;
 import com.linkedin.venice.listener.request.RouterRequest;
+import com.linkedin.venice.listener.request.ScanRequest;
 import com.linkedin.venice.listener.response.HttpShortcutResponse;
 import com.linkedin.venice.meta.QueryAction;
 import io.netty.channel.ChannelHandlerContext;
@@ -124,6 +125,15 @@ public class RouterRequestHttpHandler extends SimpleChannelInboundHandler<FullHt
           statsHandler.setStoreName(metadataFetchRequest.getStoreName());
           ctx.fireChannelRead(metadataFetchRequest);
           break;
+        case SCAN:
+          if (req.method().equals(HttpMethod.POST)) {
+            ScanRequest scanRequest = ScanRequest.parseScanHttpRequest(req);
+            statsHandler.setStoreName(scanRequest.getStoreName());
+            ctx.fireChannelRead(scanRequest);
+          } else {
+            throw new VeniceException("Only support POST method for " + QueryAction.SCAN);
+          }
+          break;
         default:
           throw new VeniceException("Unrecognized query action");
       }
@@ -25,6 +25,7 @@ public class StatsHandler extends ChannelDuplexHandler {
   private String storeName = null;
   private boolean isHealthCheck;
   private double databaseLookupLatency = -1;
+  private double chunkedValueLookupLatency = -1;
   private int multiChunkLargeValueCount = -1;
   private int requestKeyCount = -1;
   private int successRequestKeyCount = -1;
@@ -135,6 +136,10 @@ public class StatsHandler extends ChannelDuplexHandler {
     this.databaseLookupLatency = latency;
   }
 
+  public void setChunkedValueLookupLatency(double latency) {
+    this.chunkedValueLookupLatency = latency;
+  }
+
   public void setReadComputeLatency(double latency) {
     this.readComputeLatency = latency;
   }
@@ -211,6 +216,7 @@ public class StatsHandler extends ChannelDuplexHandler {
       responseStatus = null;
       statCallbackExecuted = false;
       databaseLookupLatency = -1;
+      chunkedValueLookupLatency = -1;
       storageExecutionSubmissionWaitTime = -1;
       storageExecutionQueueLen = -1;
       requestKeyCount = -1;
@@ -288,6 +294,15 @@ public class StatsHandler extends ChannelDuplexHandler {
     if (storeName != null) {
       if (databaseLookupLatency >= 0) {
         serverHttpRequestStats.recordDatabaseLookupLatency(databaseLookupLatency, isAssembledMultiChunkLargeValue());
+        double nonChunkedValueLookupLatency = databaseLookupLatency - Math.max(chunkedValueLookupLatency, 0);
+        if (isAssembledMultiChunkLargeValue()) {
+          serverHttpRequestStats.recordChunkedLookupLatency(chunkedValueLookupLatency);
+          if (nonChunkedValueLookupLatency > 0) {
+            serverHttpRequestStats.recordNonChunkedLookupLatency(nonChunkedValueLookupLatency);
+          }
+        } else {
+          serverHttpRequestStats.recordNonChunkedLookupLatency(nonChunkedValueLookupLatency);
+        }
       }
       if (storageExecutionSubmissionWaitTime >= 0) {
         currentStats.recordStorageExecutionHandlerSubmissionWaitTime(storageExecutionSubmissionWaitTime);
@@ -1,6 +1,7 @@
 package com.linkedin.venice.listener;
 
 import com.linkedin.avroutil1.compatibility.AvroCompatibilityHelper;
+import com.linkedin.davinci.callback.BytesStreamingCallback;
 import com.linkedin.davinci.compression.StorageEngineBackedCompressorFactory;
 import com.linkedin.davinci.config.VeniceServerConfig;
 import com.linkedin.davinci.listener.response.AdminResponse;
@@ -35,10 +36,12 @@ import com.linkedin.venice.listener.request.HealthCheckRequest;
 import com.linkedin.venice.listener.request.MetadataFetchRequest;
 import com.linkedin.venice.listener.request.MultiGetRouterRequestWrapper;
 import com.linkedin.venice.listener.request.RouterRequest;
+import com.linkedin.venice.listener.request.ScanRequest;
 import com.linkedin.venice.listener.response.BinaryResponse;
 import com.linkedin.venice.listener.response.ComputeResponseWrapper;
 import com.linkedin.venice.listener.response.HttpShortcutResponse;
 import com.linkedin.venice.listener.response.MultiGetResponseWrapper;
+import com.linkedin.venice.listener.response.ScanResponse;
 import com.linkedin.venice.listener.response.StorageResponseObject;
 import com.linkedin.venice.meta.PartitionerConfig;
 import com.linkedin.venice.meta.PartitionerConfigImpl;
@@ -50,6 +53,8 @@ import com.linkedin.venice.partitioner.VenicePartitioner;
 import com.linkedin.venice.read.RequestType;
 import com.linkedin.venice.read.protocol.request.router.MultiGetRouterRequestKeyV1;
 import com.linkedin.venice.read.protocol.response.MultiGetResponseRecordV1;
+import com.linkedin.venice.read.protocol.response.ScanResponseRecordV1;
+import com.linkedin.venice.read.protocol.response.ScanResponseV1;
 import com.linkedin.venice.serializer.FastSerializerDeserializerFactory;
 import com.linkedin.venice.serializer.RecordSerializer;
 import com.linkedin.venice.serializer.SerializerDeserializerFactory;
@@ -61,7 +66,9 @@ import com.linkedin.venice.utils.ComputeUtils;
 import com.linkedin.venice.utils.LatencyUtils;
 import com.linkedin.venice.utils.PartitionUtils;
 import com.linkedin.venice.utils.VeniceProperties;
+import com.linkedin.venice.utils.concurrent.BoundedVirtualThreadExecutor;
 import com.linkedin.venice.utils.concurrent.VeniceConcurrentHashMap;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
@@ -77,9 +84,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
@@ -108,10 +118,12 @@ public class StorageReadRequestsHandler extends ChannelInboundHandlerAdapter {
    * using its initial value, it shouldn't cause any issue to share it.
    */
   private static final byte[] BINARY_DECODER_PARAM = new byte[16];
+  private static final RecordSerializer<ScanResponseV1> SCAN_RESPONSE_SERIALIZER =
+      FastSerializerDeserializerFactory.getAvroGenericSerializer(ScanResponseV1.getClassSchema());
 
   private final DiskHealthCheckService diskHealthCheckService;
-  private final ThreadPoolExecutor executor;
-  private final ThreadPoolExecutor computeExecutor;
+  private final ExecutorService executor;
+  private final ExecutorService computeExecutor;
   private final StorageEngineRepository storageEngineRepository;
   private final ReadOnlyStoreRepository metadataRepository;
   private final ReadOnlySchemaRepository schemaRepo;
@@ -153,9 +165,16 @@ public class StorageReadRequestsHandler extends ChannelInboundHandlerAdapter {
   private final ThreadLocal<StorageExecReusableObjects> threadLocalReusableObjects =
       ThreadLocal.withInitial(StorageExecReusableObjects::new);
 
+  /**
+   * Virtual threads are created per request, so a {@link ThreadLocal} would allocate a fresh set of reusable objects
+   * (including a 1MB buffer) for each of them. When compute requests run on virtual threads, the reusable objects are
+   * borrowed from this pool instead, whose size is naturally bounded by the compute concurrency limit.
+   */
+  private final Queue<StorageExecReusableObjects> reusableObjectsPool;
+
   public StorageReadRequestsHandler(
-      ThreadPoolExecutor executor,
-      ThreadPoolExecutor computeExecutor,
+      ExecutorService executor,
+      ExecutorService computeExecutor,
       StorageEngineRepository storageEngineRepository,
       ReadOnlyStoreRepository metadataStoreRepository,
       ReadOnlySchemaRepository schemaRepository,
@@ -182,6 +201,8 @@ public class StorageReadRequestsHandler extends ChannelInboundHandlerAdapter {
     this.serverConfig = serverConfig;
     this.compressorFactory = compressorFactory;
     this.resourceReadUsageTracker = resourceReadUsageTracker;
+    this.reusableObjectsPool =
+        (computeExecutor instanceof BoundedVirtualThreadExecutor) ? new ConcurrentLinkedQueue<>() : null;
   }
 
   @Override
@@ -254,14 +275,14 @@ public class StorageReadRequestsHandler extends ChannelInboundHandlerAdapter {
         return;
       }
 
-      final ThreadPoolExecutor executor = getExecutor(request.getRequestType());
+      final ExecutorService executor = getExecutor(request.getRequestType());
       executor.submit(() -> {
         try {
           if (request.shouldRequestBeTerminatedEarly()) {
             throw new VeniceRequestEarlyTerminationException(request.getStoreName());
           }
           double submissionWaitTime = LatencyUtils.getLatencyInMS(preSubmissionTimeNs);
-          int queueLen = executor.getQueue().size();
+          int queueLen = getQueueLength(executor);
           ReadResponse response;
           switch (request.getRequestType()) {
             case SINGLE_GET:
@@ -315,6 +336,20 @@ public class StorageReadRequestsHandler extends ChannelInboundHandlerAdapter {
     } else if (message instanceof MetadataFetchRequest) {
       MetadataResponse response = handleMetadataFetchRequest((MetadataFetchRequest) message);
       context.writeAndFlush(response);
+    } else if (message instanceof ScanRequest) {
+      ScanRequest request = (ScanRequest) message;
+      resourceReadUsageTracker.ifPresent(tracker -> tracker.recordReadUsage(request.getResourceName()));
+      getExecutor(RequestType.MULTI_GET).submit(() -> {
+        try {
+          context.writeAndFlush(handleScanRequest(request));
+        } catch (VeniceNoStoreException e) {
+          context.writeAndFlush(
+              new HttpShortcutResponse("No storage exists for: " + e.getStoreName(), HttpResponseStatus.BAD_REQUEST));
+        } catch (Exception e) {
+          LOGGER.error("Exception thrown in scan for {}", request.getResourceName(), e);
+          context.writeAndFlush(new HttpShortcutResponse(e.getMessage(), HttpResponseStatus.INTERNAL_SERVER_ERROR));
+        }
+      });
     } else {
       context.writeAndFlush(
           new HttpShortcutResponse(
@@ -323,7 +358,31 @@ public class StorageReadRequestsHandler extends ChannelInboundHandlerAdapter {
     }
   }
 
-  private ThreadPoolExecutor getExecutor(RequestType requestType) {
+  private static int getQueueLength(ExecutorService executor) {
+    if (executor instanceof ThreadPoolExecutor) {
+      return ((ThreadPoolExecutor) executor).getQueue().size();
+    }
+    if (executor instanceof BoundedVirtualThreadExecutor) {
+      return ((BoundedVirtualThreadExecutor) executor).getQueuedTaskCount();
+    }
+    return 0;
+  }
+
+  private StorageExecReusableObjects borrowReusableObjects() {
+    if (reusableObjectsPool == null) {
+      return threadLocalReusableObjects.get();
+    }
+    StorageExecReusableObjects reusableObjects = reusableObjectsPool.poll();
+    return reusableObjects == null ? new StorageExecReusableObjects() : reusableObjects;
+  }
+
+  private void releaseReusableObjects(StorageExecReusableObjects reusableObjects) {
+    if (reusableObjectsPool != null) {
+      reusableObjectsPool.offer(reusableObjects);
+    }
+  }
+
+  private ExecutorService getExecutor(RequestType requestType) {
     switch (requestType) {
       case SINGLE_GET:
       case MULTI_GET:
@@ -459,14 +518,19 @@ public class StorageReadRequestsHandler extends ChannelInboundHandlerAdapter {
         }
         int startPos = finalCur * parallelChunkSize;
         int endPos = Math.min((finalCur + 1) * parallelChunkSize, totalKeyNum);
+        List<MultiGetResponseRecordV1> records = getMultiGetRecords(
+            keyList.subList(startPos, endPos),
+            topic,
+            partitionerConfig,
+            storageEngine,
+            isChunked,
+            responseWrapper);
         for (int subChunkCur = startPos; subChunkCur < endPos; ++subChunkCur) {
           final MultiGetRouterRequestKeyV1 key = keyList.get(subChunkCur);
           if (responseKeySizeList != null) {
             responseKeySizeList.set(subChunkCur, key.keyBytes.remaining());
           }
-          int subPartitionId = getSubPartitionId(key.partitionId, topic, partitionerConfig, key.keyBytes);
-          MultiGetResponseRecordV1 record =
-              BatchGetChunkingAdapter.get(storageEngine, subPartitionId, key.keyBytes, isChunked, responseWrapper);
+          MultiGetResponseRecordV1 record = records.get(subChunkCur - startPos);
           if (record == null) {
             if (request.isStreamingRequest()) {
               // For streaming, we would like to send back non-existing keys since the end-user won't know the status of
@@ -521,10 +585,13 @@ public class StorageReadRequestsHandler extends ChannelInboundHandlerAdapter {
     responseWrapper.setCompressionStrategy(storageEngine.getCompressionStrategy());
     responseWrapper.setDatabaseLookupLatency(0);
     boolean isChunked = storageEngine.isChunked();
-    for (MultiGetRouterRequestKeyV1 key: keys) {
-      int subPartitionId = getSubPartitionId(key.partitionId, topic, partitionerConfig, key.keyBytes);
-      MultiGetResponseRecordV1 record =
-          BatchGetChunkingAdapter.get(storageEngine, subPartitionId, key.keyBytes, isChunked, responseWrapper);
+    List<MultiGetRouterRequestKeyV1> keyList = new ArrayList<>(request.getKeyCount());
+    keys.forEach(keyList::add);
+    List<MultiGetResponseRecordV1> records =
+        getMultiGetRecords(keyList, topic, partitionerConfig, storageEngine, isChunked, responseWrapper);
+    for (int i = 0; i < keyList.size(); i++) {
+      MultiGetRouterRequestKeyV1 key = keyList.get(i);
+      MultiGetResponseRecordV1 record = records.get(i);
       if (record == null) {
         if (request.isStreamingRequest()) {
           // For streaming, we would like to send back non-existing keys since the end-user won't know the status of
@@ -548,6 +615,26 @@ public class StorageReadRequestsHandler extends ChannelInboundHandlerAdapter {
     return responseWrapper;
   }
 
+  /**
+   * Looks up the given keys together, so that the chunks of the large values among them are fetched in batch.
+   */
+  private List<MultiGetResponseRecordV1> getMultiGetRecords(
+      List<MultiGetRouterRequestKeyV1> keys,
+      String topic,
+      PartitionerConfig partitionerConfig,
+      AbstractStorageEngine storageEngine,
+      boolean isChunked,
+      ReadResponse response) {
+    int[] subPartitionIds = new int[keys.size()];
+    List<ByteBuffer> keyBuffers = new ArrayList<>(keys.size());
+    for (int i = 0; i < keys.size(); i++) {
+      MultiGetRouterRequestKeyV1 key = keys.get(i);
+      subPartitionIds[i] = getSubPartitionId(key.partitionId, topic, partitionerConfig, key.keyBytes);
+      keyBuffers.add(key.keyBytes);
+    }
+    return BatchGetChunkingAdapter.get(storageEngine, subPartitionIds, keyBuffers, isChunked, response);
+  }
+
   private ReadResponse handleComputeRequest(ComputeRouterRequestWrapper request) {
     String topic = request.getResourceName();
     String storeName = request.getStoreName();
@@ -589,53 +676,56 @@ public class StorageReadRequestsHandler extends ChannelInboundHandlerAdapter {
 
     responseWrapper.setCompressionStrategy(CompressionStrategy.NO_OP);
 
-    StorageExecReusableObjects reusableObjects = threadLocalReusableObjects.get();
-
-    GenericRecord reuseValueRecord =
-        reusableObjects.reuseValueRecordMap.computeIfAbsent(valueSchema, k -> new GenericData.Record(valueSchema));
-    Schema finalComputeResultSchema1 = computeResultSchema;
-    GenericRecord reuseResultRecord = reusableObjects.reuseResultRecordMap
-        .computeIfAbsent(computeResultSchema, k -> new GenericData.Record(finalComputeResultSchema1));
+    StorageExecReusableObjects reusableObjects = borrowReusableObjects();
+    try {
+      GenericRecord reuseValueRecord = reusableObjects.reuseValueRecordMap
+          .computeIfAbsent(valueSchema, k -> new GenericData.Record(valueSchema));
+      Schema finalComputeResultSchema1 = computeResultSchema;
+      GenericRecord reuseResultRecord = reusableObjects.reuseResultRecordMap
+          .computeIfAbsent(computeResultSchema, k -> new GenericData.Record(finalComputeResultSchema1));
 
-    // Reuse the same value record and result record instances for all values
-    ByteBuffer reusedRawValue = reusableObjects.reusedByteBuffer;
-    RecordSerializer<GenericRecord> resultSerializer;
+      // Reuse the same value record and result record instances for all values
+      ByteBuffer reusedRawValue = reusableObjects.reusedByteBuffer;
+      RecordSerializer<GenericRecord> resultSerializer;
 
-    if (fastAvroEnabled) {
-      resultSerializer = FastSerializerDeserializerFactory.getFastAvroGenericSerializer(computeResultSchema);
-    } else {
-      resultSerializer = SerializerDeserializerFactory.getAvroGenericSerializer(computeResultSchema);
-    }
+      if (fastAvroEnabled) {
+        resultSerializer = FastSerializerDeserializerFactory.getFastAvroGenericSerializer(computeResultSchema);
+      } else {
+        resultSerializer = SerializerDeserializerFactory.getAvroGenericSerializer(computeResultSchema);
+      }
 
-    Map<String, Object> globalContext = new HashMap<>();
-    VeniceCompressor compressor = compressorFactory.getCompressor(compressionStrategy, topic);
-    for (ComputeRouterRequestKeyV1 key: keys) {
-      clearFieldsInReusedRecord(reuseResultRecord, computeResultSchema);
-      int subPartitionId = getSubPartitionId(key.partitionId, topic, partitionerConfig, key.keyBytes);
-      ComputeResponseRecordV1 record = computeResult(
-          storageEngine,
-          storeName,
-          key.keyBytes,
-          key.keyIndex,
-          subPartitionId,
-          computeRequestWrapper.getComputeRequestVersion(),
-          computeRequestWrapper.getOperations(),
-          compressionStrategy,
-          computeResultSchema,
-          resultSerializer,
-          reuseValueRecord,
-          reuseResultRecord,
-          reusableObjects,
-          isChunked,
-          request.isStreamingRequest(),
-          responseWrapper,
-          globalContext,
-          reusedRawValue,
-          compressor);
-      if (record != null) {
-        // TODO: streaming support in storage node
-        responseWrapper.addRecord(record);
+      Map<String, Object> globalContext = new HashMap<>();
+      VeniceCompressor compressor = compressorFactory.getCompressor(compressionStrategy, topic);
+      for (ComputeRouterRequestKeyV1 key: keys) {
+        clearFieldsInReusedRecord(reuseResultRecord, computeResultSchema);
+        int subPartitionId = getSubPartitionId(key.partitionId, topic, partitionerConfig, key.keyBytes);
+        ComputeResponseRecordV1 record = computeResult(
+            storageEngine,
+            storeName,
+            key.keyBytes,
+            key.keyIndex,
+            subPartitionId,
+            computeRequestWrapper.getComputeRequestVersion(),
+            computeRequestWrapper.getOperations(),
+            compressionStrategy,
+            computeResultSchema,
+            resultSerializer,
+            reuseValueRecord,
+            reuseResultRecord,
+            reusableObjects,
+            isChunked,
+            request.isStreamingRequest(),
+            responseWrapper,
+            globalContext,
+            reusedRawValue,
+            compressor);
+        if (record != null) {
+          // TODO: streaming support in storage node
+          responseWrapper.addRecord(record);
+        }
       }
+    } finally {
+      releaseReusableObjects(reusableObjects);
     }
 
     return responseWrapper;
@@ -755,6 +845,65 @@ public class StorageReadRequestsHandler extends ChannelInboundHandlerAdapter {
     return responseRecord;
   }
 
+  /**
+   * Reads one page of a key prefix scan. The page is bounded by the limits of the request, capped by the limits of the
+   * server, and the values are returned as they are stored, i.e. still compressed.
+   */
+  private ScanResponse handleScanRequest(ScanRequest request) {
+    String topic = request.getResourceName();
+    PartitionerConfig partitionerConfig = getPartitionerConfig(topic);
+    if (partitionerConfig != null && partitionerConfig.getAmplificationFactor() != 1) {
+      throw new VeniceException("Scan is not supported for stores with an amplification factor, resource: " + topic);
+    }
+    AbstractStorageEngine storageEngine = getStorageEngine(topic);
+    if (storageEngine.isChunked()) {
+      throw new VeniceException("Scan is not supported for chunked stores, resource: " + topic);
+    }
+
+    long maxPageSizeInBytes = request.getMaxPageSizeInBytes();
+    long maxPageTimeInMs = request.getMaxPageTimeInMs();
+    if (serverConfig != null) {
+      maxPageSizeInBytes = capLimit(maxPageSizeInBytes, serverConfig.getScanMaxPageSizeInBytes());
+      maxPageTimeInMs = capLimit(maxPageTimeInMs, serverConfig.getScanMaxPageTimeMs());
+    }
+
+    List<ScanResponseRecordV1> records = new ArrayList<>();
+    byte[] continuationKey = storageEngine.getByKeyPrefix(
+        request.getPartition(),
+        request.getKeyPrefix(),
+        request.getResumeAfterKey(),
+        maxPageSizeInBytes,
+        TimeUnit.MILLISECONDS.toNanos(maxPageTimeInMs),
+        new BytesStreamingCallback() {
+          @Override
+          public void onRecordReceived(byte[] key, byte[] value) {
+            int schemaId = ValueRecord.parseSchemaId(value);
+            if (schemaId <= 0) {
+              throw new VeniceException("Found a chunked value with schema id: " + schemaId + " in " + topic);
+            }
+            ScanResponseRecordV1 record = new ScanResponseRecordV1();
+            record.key = ByteBuffer.wrap(key);
+            record.value = ValueRecord.parseDataAsNIOByteBuffer(value);
+            record.schemaId = schemaId;
+            records.add(record);
+          }
+
+          @Override
+          public void onCompletion() {
+          }
+        });
+
+    ScanResponseV1 response = new ScanResponseV1();
+    response.records = records;
+    response.continuationKey = continuationKey == null ? null : ByteBuffer.wrap(continuationKey);
+    byte[] body = SCAN_RESPONSE_SERIALIZER.serialize(response);
+    return new ScanResponse(Unpooled.wrappedBuffer(body), storageEngine.getCompressionStrategy(), records.size());
+  }
+
+  private static long capLimit(long requestedLimit, long serverLimit) {
+    return requestedLimit <= 0 ? serverLimit : Math.min(requestedLimit, serverLimit);
+  }
+
   private AdminResponse handleServerAdminRequest(AdminRequest adminRequest) {
     switch (adminRequest.getServerAdminAction()) {
       case DUMP_INGESTION_STATE:
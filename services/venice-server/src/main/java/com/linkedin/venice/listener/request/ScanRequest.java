@@ -0,0 +1,87 @@
+package com.linkedin.venice.listener.request;
+
+import com.linkedin.venice.HttpConstants;
+import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.meta.Version;
+import com.linkedin.venice.read.protocol.request.router.ScanRequestV1;
+import com.linkedin.venice.schema.avro.ReadAvroProtocolDefinition;
+import com.linkedin.venice.serializer.FastSerializerDeserializerFactory;
+import com.linkedin.venice.utils.ByteUtils;
+import io.netty.handler.codec.http.FullHttpRequest;
+
+
+/**
+ * {@code ScanRequest} encapsulates a POST request to /scan/resourcename/partition on the storage node to fetch one page
+ * of a key prefix scan of that partition.
+ */
+public class ScanRequest {
+  private final String resourceName;
+  private final String storeName;
+  private final int partition;
+  private final byte[] keyPrefix;
+  private final byte[] resumeAfterKey;
+  private final long maxPageSizeInBytes;
+  private final long maxPageTimeInMs;
+
+  private ScanRequest(String resourceName, int partition, ScanRequestV1 request) {
+    this.resourceName = resourceName;
+    this.storeName = Version.parseStoreFromKafkaTopicName(resourceName);
+    this.partition = partition;
+    this.keyPrefix = request.keyPrefix == null ? null : ByteUtils.extractByteArray(request.keyPrefix);
+    this.resumeAfterKey = request.resumeAfterKey == null ? null : ByteUtils.extractByteArray(request.resumeAfterKey);
+    this.maxPageSizeInBytes = request.maxPageSizeInBytes;
+    this.maxPageTimeInMs = request.maxPageTimeInMs;
+  }
+
+  public static ScanRequest parseScanHttpRequest(FullHttpRequest httpRequest) {
+    String uri = httpRequest.uri();
+    String[] requestParts = RequestHelper.getRequestParts(uri);
+    if (requestParts.length != 4) {
+      // [0]""/[1]"scan"/[2]{$resourceName}/[3]{$partition}
+      throw new VeniceException("Not a valid request for a SCAN action: " + uri);
+    }
+
+    String apiVersion = httpRequest.headers().get(HttpConstants.VENICE_API_VERSION);
+    if (apiVersion == null) {
+      throw new VeniceException("Header: " + HttpConstants.VENICE_API_VERSION + " is missing");
+    }
+    int expectedApiVersion = ReadAvroProtocolDefinition.SCAN_REQUEST_V1.getProtocolVersion();
+    if (Integer.parseInt(apiVersion) != expectedApiVersion) {
+      throw new VeniceException("Expected API version: " + expectedApiVersion + ", but received: " + apiVersion);
+    }
+
+    byte[] content = new byte[httpRequest.content().readableBytes()];
+    httpRequest.content().readBytes(content);
+    ScanRequestV1 request =
+        FastSerializerDeserializerFactory.getAvroSpecificDeserializer(ScanRequestV1.class).deserialize(content);
+    return new ScanRequest(requestParts[2], Integer.parseInt(requestParts[3]), request);
+  }
+
+  public String getResourceName() {
+    return resourceName;
+  }
+
+  public String getStoreName() {
+    return storeName;
+  }
+
+  public int getPartition() {
+    return partition;
+  }
+
+  public byte[] getKeyPrefix() {
+    return keyPrefix;
+  }
+
+  public byte[] getResumeAfterKey() {
+    return resumeAfterKey;
+  }
+
+  public long getMaxPageSizeInBytes() {
+    return maxPageSizeInBytes;
+  }
+
+  public long getMaxPageTimeInMs() {
+    return maxPageTimeInMs;
+  }
+}
@@ -0,0 +1,33 @@
+package com.linkedin.venice.listener.response;
+
+import com.linkedin.venice.compression.CompressionStrategy;
+import io.netty.buffer.ByteBuf;
+
+
+/**
+ * One page of a key prefix scan, whose body is a serialized
+ * {@link com.linkedin.venice.read.protocol.response.ScanResponseV1}.
+ */
+public class ScanResponse {
+  private final ByteBuf body;
+  private final CompressionStrategy compressionStrategy;
+  private final int recordCount;
+
+  public ScanResponse(ByteBuf body, CompressionStrategy compressionStrategy, int recordCount) {
+    this.body = body;
+    this.compressionStrategy = compressionStrategy;
+    this.recordCount = recordCount;
+  }
+
+  public ByteBuf getBody() {
+    return body;
+  }
+
+  public CompressionStrategy getCompressionStrategy() {
+    return compressionStrategy;
+  }
+
+  public int getRecordCount() {
+    return recordCount;
+  }
+}
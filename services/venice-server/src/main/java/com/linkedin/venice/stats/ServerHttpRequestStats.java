@@ -26,6 +26,8 @@ public class ServerHttpRequestStats extends AbstractVeniceHttpStats {
   private final Sensor databaseLookupLatencySensor;
   private final Sensor databaseLookupLatencyForSmallValueSensor;
   private final Sensor databaseLookupLatencyForLargeValueSensor;
+  private final Sensor databaseLookupLatencyForChunkedLookupSensor;
+  private final Sensor databaseLookupLatencyForNonChunkedLookupSensor;
   private final Sensor multiChunkLargeValueCountSensor;
   private final Sensor requestKeyCountSensor;
   private final Sensor successRequestKeyCountSensor;
@@ -110,6 +112,25 @@ public class ServerHttpRequestStats extends AbstractVeniceHttpStats {
         TehutiUtils.getPercentileStatWithAvgAndMax(
             getName(),
             getFullMetricName("storage_engine_query_latency_for_large_value")));
+    /**
+     * Unlike the small/large value flavors above, which bucket the whole request latency depending on whether any
+     * large value was assembled, these split the latency of each request between the lookups of chunked values
+     * (manifests and chunks) and the lookups of regular values.
+     */
+    databaseLookupLatencyForChunkedLookupSensor = registerPerStoreAndTotal(
+        "storage_engine_query_latency_for_chunked_lookup",
+        totalStats,
+        () -> totalStats.databaseLookupLatencyForChunkedLookupSensor,
+        TehutiUtils.getPercentileStatWithAvgAndMax(
+            getName(),
+            getFullMetricName("storage_engine_query_latency_for_chunked_lookup")));
+    databaseLookupLatencyForNonChunkedLookupSensor = registerPerStoreAndTotal(
+        "storage_engine_query_latency_for_non_chunked_lookup",
+        totalStats,
+        () -> totalStats.databaseLookupLatencyForNonChunkedLookupSensor,
+        TehutiUtils.getPercentileStatWithAvgAndMax(
+            getName(),
+            getFullMetricName("storage_engine_query_latency_for_non_chunked_lookup")));
 
     storageExecutionHandlerSubmissionWaitTime = registerSensor(
         "storage_execution_handler_submission_wait_time",
@@ -332,6 +353,14 @@ public class ServerHttpRequestStats extends AbstractVeniceHttpStats {
     }
   }
 
+  public void recordChunkedLookupLatency(double latency) {
+    databaseLookupLatencyForChunkedLookupSensor.record(latency);
+  }
+
+  public void recordNonChunkedLookupLatency(double latency) {
+    databaseLookupLatencyForNonChunkedLookupSensor.record(latency);
+  }
+
   public void recordRequestKeyCount(int keyCount) {
     requestKeyCountSensor.record(keyCount);
   }
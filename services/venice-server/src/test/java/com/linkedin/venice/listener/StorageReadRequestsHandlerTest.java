@@ -3,13 +3,18 @@ package com.linkedin.venice.listener;
 import static com.linkedin.venice.router.api.VenicePathParser.TYPE_STORAGE;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.linkedin.davinci.callback.BytesStreamingCallback;
 import com.linkedin.davinci.compression.StorageEngineBackedCompressorFactory;
 import com.linkedin.davinci.config.VeniceServerConfig;
 import com.linkedin.davinci.kafka.consumer.PartitionConsumptionState;
@@ -22,14 +27,17 @@ import com.linkedin.davinci.store.AbstractStorageEngine;
 import com.linkedin.davinci.store.record.ValueRecord;
 import com.linkedin.davinci.store.rocksdb.RocksDBServerConfig;
 import com.linkedin.venice.HttpConstants;
+import com.linkedin.venice.compression.CompressionStrategy;
 import com.linkedin.venice.exceptions.VeniceException;
 import com.linkedin.venice.listener.request.AdminRequest;
 import com.linkedin.venice.listener.request.GetRouterRequest;
 import com.linkedin.venice.listener.request.HealthCheckRequest;
 import com.linkedin.venice.listener.request.MetadataFetchRequest;
 import com.linkedin.venice.listener.request.MultiGetRouterRequestWrapper;
+import com.linkedin.venice.listener.request.ScanRequest;
 import com.linkedin.venice.listener.response.HttpShortcutResponse;
 import com.linkedin.venice.listener.response.MultiGetResponseWrapper;
+import com.linkedin.venice.listener.response.ScanResponse;
 import com.linkedin.venice.listener.response.StorageResponseObject;
 import com.linkedin.venice.meta.PartitionerConfig;
 import com.linkedin.venice.meta.PartitionerConfigImpl;
@@ -42,7 +50,10 @@ import com.linkedin.venice.meta.Version;
 import com.linkedin.venice.metadata.response.VersionProperties;
 import com.linkedin.venice.offsets.OffsetRecord;
 import com.linkedin.venice.read.protocol.request.router.MultiGetRouterRequestKeyV1;
+import com.linkedin.venice.read.protocol.request.router.ScanRequestV1;
 import com.linkedin.venice.read.protocol.response.MultiGetResponseRecordV1;
+import com.linkedin.venice.read.protocol.response.ScanResponseRecordV1;
+import com.linkedin.venice.read.protocol.response.ScanResponseV1;
 import com.linkedin.venice.schema.avro.ReadAvroProtocolDefinition;
 import com.linkedin.venice.serialization.VeniceKafkaSerializer;
 import com.linkedin.venice.serialization.avro.AvroProtocolDefinition;
@@ -51,6 +62,7 @@ import com.linkedin.venice.serializer.RecordDeserializer;
 import com.linkedin.venice.serializer.RecordSerializer;
 import com.linkedin.venice.serializer.SerializerDeserializerFactory;
 import com.linkedin.venice.unit.kafka.SimplePartitioner;
+import com.linkedin.venice.utils.ByteUtils;
 import com.linkedin.venice.utils.DataProviderUtils;
 import com.linkedin.venice.utils.TestUtils;
 import io.netty.buffer.Unpooled;
@@ -586,6 +598,180 @@ public class StorageReadRequestsHandlerTest {
     }
   }
 
+  @Test
+  public static void testScanRequest() throws Exception {
+    String topic = "temp-test-topic_v1";
+    int schemaId = 1;
+    int partition = 2;
+    byte[] keyPrefix = "key_".getBytes();
+    byte[] resumeAfterKey = "key_0".getBytes();
+    List<Object> outputArray = new ArrayList<>();
+
+    // The page size is left to the server, while the page time is capped by the server
+    ScanRequestV1 scanRequest = new ScanRequestV1();
+    scanRequest.keyPrefix = ByteBuffer.wrap(keyPrefix);
+    scanRequest.resumeAfterKey = ByteBuffer.wrap(resumeAfterKey);
+    scanRequest.maxPageSizeInBytes = 0;
+    scanRequest.maxPageTimeInMs = 10000;
+    ScanRequest testRequest = createScanRequest(topic, partition, scanRequest);
+
+    AbstractStorageEngine testStore = mock(AbstractStorageEngine.class);
+    doReturn(CompressionStrategy.GZIP).when(testStore).getCompressionStrategy();
+    doAnswer(invocation -> {
+      BytesStreamingCallback callback = invocation.getArgument(5);
+      for (int i = 1; i <= 2; i++) {
+        callback.onRecordReceived(
+            ("key_" + i).getBytes(),
+            ValueRecord.create(schemaId, ("value_" + i).getBytes()).serialize());
+      }
+      callback.onCompletion();
+      return "key_2".getBytes();
+    }).when(testStore)
+        .getByKeyPrefix(
+            eq(partition),
+            eq(keyPrefix),
+            eq(resumeAfterKey),
+            eq(1024L),
+            eq(TimeUnit.MILLISECONDS.toNanos(100)),
+            any());
+    StorageEngineRepository testRepository = mock(StorageEngineRepository.class);
+    doReturn(testStore).when(testRepository).getLocalStorageEngine(topic);
+
+    VeniceServerConfig serverConfig = mock(VeniceServerConfig.class);
+    doReturn(mock(RocksDBServerConfig.class)).when(serverConfig).getRocksDBServerConfig();
+    doReturn(1024L).when(serverConfig).getScanMaxPageSizeInBytes();
+    doReturn(100L).when(serverConfig).getScanMaxPageTimeMs();
+
+    ReadOnlyStoreRepository metadataRepo = mock(ReadOnlyStoreRepository.class);
+    Store store = mock(Store.class);
+    when(store.getVersion(anyInt())).thenReturn(Optional.empty());
+    when(metadataRepo.getStoreOrThrow(anyString())).thenReturn(store);
+
+    ChannelHandlerContext mockCtx = mock(ChannelHandlerContext.class);
+    when(mockCtx.writeAndFlush(any())).then(i -> {
+      outputArray.add(i.getArguments()[0]);
+      return null;
+    });
+
+    ThreadPoolExecutor threadPoolExecutor =
+        new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(2));
+    try {
+      StorageReadRequestsHandler testHandler = new StorageReadRequestsHandler(
+          threadPoolExecutor,
+          threadPoolExecutor,
+          testRepository,
+          metadataRepo,
+          mock(ReadOnlySchemaRepository.class),
+          mock(MetadataRetriever.class),
+          null,
+          false,
+          false,
+          10,
+          serverConfig,
+          mock(StorageEngineBackedCompressorFactory.class),
+          Optional.empty());
+      testHandler.channelRead(mockCtx, testRequest);
+      waitUntilStorageExecutionHandlerRespond(outputArray);
+
+      Assert.assertEquals(outputArray.size(), 1);
+      Assert.assertTrue(outputArray.get(0) instanceof ScanResponse, "Unexpected response: " + outputArray.get(0));
+      ScanResponse scanResponse = (ScanResponse) outputArray.get(0);
+      Assert.assertEquals(scanResponse.getCompressionStrategy(), CompressionStrategy.GZIP);
+      Assert.assertEquals(scanResponse.getRecordCount(), 2);
+      byte[] body = new byte[scanResponse.getBody().readableBytes()];
+      scanResponse.getBody().readBytes(body);
+      ScanResponseV1 response =
+          SerializerDeserializerFactory.getAvroSpecificDeserializer(ScanResponseV1.class).deserialize(body);
+      Assert.assertEquals(response.records.size(), 2);
+      for (int i = 0; i < 2; i++) {
+        ScanResponseRecordV1 record = response.records.get(i);
+        Assert.assertEquals(ByteUtils.extractByteArray(record.key), ("key_" + (i + 1)).getBytes());
+        // The values are returned without the schema id header, which is returned separately
+        Assert.assertEquals(ByteUtils.extractByteArray(record.value), ("value_" + (i + 1)).getBytes());
+        Assert.assertEquals(record.schemaId, schemaId);
+      }
+      Assert.assertEquals(ByteUtils.extractByteArray(response.continuationKey), "key_2".getBytes());
+    } finally {
+      TestUtils.shutdownExecutor(threadPoolExecutor);
+    }
+  }
+
+  @Test(dataProvider = "True-and-False", dataProviderClass = DataProviderUtils.class)
+  public static void testScanRequestIsRejected(Boolean chunked) throws Exception {
+    String topic = "temp-test-topic_v1";
+    List<Object> outputArray = new ArrayList<>();
+    ScanRequest testRequest = createScanRequest(topic, 0, new ScanRequestV1());
+
+    AbstractStorageEngine testStore = mock(AbstractStorageEngine.class);
+    doReturn(chunked).when(testStore).isChunked();
+    StorageEngineRepository testRepository = mock(StorageEngineRepository.class);
+    doReturn(testStore).when(testRepository).getLocalStorageEngine(topic);
+
+    VeniceServerConfig serverConfig = mock(VeniceServerConfig.class);
+    doReturn(mock(RocksDBServerConfig.class)).when(serverConfig).getRocksDBServerConfig();
+
+    // Either the store is chunked or its version has an amplification factor
+    ReadOnlyStoreRepository metadataRepo = mock(ReadOnlyStoreRepository.class);
+    Store store = mock(Store.class);
+    Version version = mock(Version.class);
+    PartitionerConfig partitionerConfig = new PartitionerConfigImpl();
+    partitionerConfig.setAmplificationFactor(chunked ? 1 : 3);
+    when(version.getPartitionerConfig()).thenReturn(partitionerConfig);
+    when(store.getVersion(anyInt())).thenReturn(Optional.of(version));
+    when(metadataRepo.getStoreOrThrow(anyString())).thenReturn(store);
+
+    ChannelHandlerContext mockCtx = mock(ChannelHandlerContext.class);
+    when(mockCtx.writeAndFlush(any())).then(i -> {
+      outputArray.add(i.getArguments()[0]);
+      return null;
+    });
+
+    ThreadPoolExecutor threadPoolExecutor =
+        new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(2));
+    try {
+      StorageReadRequestsHandler testHandler = new StorageReadRequestsHandler(
+          threadPoolExecutor,
+          threadPoolExecutor,
+          testRepository,
+          metadataRepo,
+          mock(ReadOnlySchemaRepository.class),
+          mock(MetadataRetriever.class),
+          null,
+          false,
+          false,
+          10,
+          serverConfig,
+          mock(StorageEngineBackedCompressorFactory.class),
+          Optional.empty());
+      testHandler.channelRead(mockCtx, testRequest);
+      waitUntilStorageExecutionHandlerRespond(outputArray);
+
+      Assert.assertEquals(outputArray.size(), 1);
+      Assert.assertTrue(outputArray.get(0) instanceof HttpShortcutResponse);
+      HttpShortcutResponse obj = (HttpShortcutResponse) outputArray.get(0);
+      Assert.assertEquals(obj.getStatus(), HttpResponseStatus.INTERNAL_SERVER_ERROR);
+      String expectedMessage = chunked
+          ? "Scan is not supported for chunked stores, resource: " + topic
+          : "Scan is not supported for stores with an amplification factor, resource: " + topic;
+      Assert.assertEquals(obj.getMessage(), expectedMessage);
+      verify(testStore, never()).getByKeyPrefix(anyInt(), any(), any(), anyLong(), anyLong(), any());
+    } finally {
+      TestUtils.shutdownExecutor(threadPoolExecutor);
+    }
+  }
+
+  private static ScanRequest createScanRequest(String topic, int partition, ScanRequestV1 scanRequest) {
+    // [0]""/[1]"scan"/[2]{$resourceName}/[3]{$partition}
+    String uri = "/" + QueryAction.SCAN.toString().toLowerCase() + "/" + topic + "/" + partition;
+    byte[] postBody =
+        SerializerDeserializerFactory.getAvroGenericSerializer(ScanRequestV1.SCHEMA$).serialize(scanRequest);
+    FullHttpRequest httpRequest =
+        new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, uri, Unpooled.wrappedBuffer(postBody));
+    httpRequest.headers()
+        .set(HttpConstants.VENICE_API_VERSION, ReadAvroProtocolDefinition.SCAN_REQUEST_V1.getProtocolVersion());
+    return ScanRequest.parseScanHttpRequest(httpRequest);
+  }
+
   @Test
   public static void testUnrecognizedRequestInStorageExecutionHandler() throws Exception {
     List<Object> outputArray = new ArrayList<Object>();
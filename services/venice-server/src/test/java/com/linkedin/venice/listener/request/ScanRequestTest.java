@@ -0,0 +1,96 @@
+package com.linkedin.venice.listener.request;
+
+import com.linkedin.venice.HttpConstants;
+import com.linkedin.venice.exceptions.VeniceException;
+import com.linkedin.venice.meta.QueryAction;
+import com.linkedin.venice.read.protocol.request.router.ScanRequestV1;
+import com.linkedin.venice.schema.avro.ReadAvroProtocolDefinition;
+import com.linkedin.venice.serializer.FastSerializerDeserializerFactory;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpVersion;
+import java.nio.ByteBuffer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class ScanRequestTest {
+  private static final String RESOURCE_NAME = "test_store_v1";
+  private static final String SCAN_URI_PREFIX = "/" + QueryAction.SCAN.toString().toLowerCase() + "/";
+
+  @Test
+  public void testParseScanHttpRequest() {
+    ScanRequestV1 scanRequest = new ScanRequestV1();
+    scanRequest.keyPrefix = ByteBuffer.wrap("prefix".getBytes());
+    scanRequest.resumeAfterKey = ByteBuffer.wrap("prefix_1".getBytes());
+    scanRequest.maxPageSizeInBytes = 1024;
+    scanRequest.maxPageTimeInMs = 100;
+    FullHttpRequest httpRequest = createHttpRequest(SCAN_URI_PREFIX + RESOURCE_NAME + "/3", scanRequest);
+
+    ScanRequest request = ScanRequest.parseScanHttpRequest(httpRequest);
+    Assert.assertEquals(request.getResourceName(), RESOURCE_NAME);
+    Assert.assertEquals(request.getStoreName(), "test_store");
+    Assert.assertEquals(request.getPartition(), 3);
+    Assert.assertEquals(request.getKeyPrefix(), "prefix".getBytes());
+    Assert.assertEquals(request.getResumeAfterKey(), "prefix_1".getBytes());
+    Assert.assertEquals(request.getMaxPageSizeInBytes(), 1024);
+    Assert.assertEquals(request.getMaxPageTimeInMs(), 100);
+  }
+
+  @Test
+  public void testParseScanHttpRequestOfFirstPage() {
+    // Neither the prefix nor the resume key are set when the first page of a full scan is requested
+    FullHttpRequest httpRequest = createHttpRequest(SCAN_URI_PREFIX + RESOURCE_NAME + "/0", new ScanRequestV1());
+
+    ScanRequest request = ScanRequest.parseScanHttpRequest(httpRequest);
+    Assert.assertEquals(request.getPartition(), 0);
+    Assert.assertNull(request.getKeyPrefix());
+    Assert.assertNull(request.getResumeAfterKey());
+    Assert.assertEquals(request.getMaxPageSizeInBytes(), 0);
+    Assert.assertEquals(request.getMaxPageTimeInMs(), 0);
+  }
+
+  @Test
+  public void testParseInvalidScanHttpRequest() {
+    String uri = SCAN_URI_PREFIX + RESOURCE_NAME;
+    try {
+      ScanRequest.parseScanHttpRequest(createHttpRequest(uri, new ScanRequestV1()));
+      Assert.fail("Venice Exception was not thrown");
+    } catch (VeniceException e) {
+      Assert.assertEquals(e.getMessage(), "Not a valid request for a SCAN action: " + uri);
+    }
+
+    FullHttpRequest httpRequest = createHttpRequest(SCAN_URI_PREFIX + RESOURCE_NAME + "/0", new ScanRequestV1());
+    httpRequest.headers().remove(HttpConstants.VENICE_API_VERSION);
+    try {
+      ScanRequest.parseScanHttpRequest(httpRequest);
+      Assert.fail("Venice Exception was not thrown");
+    } catch (VeniceException e) {
+      Assert.assertEquals(e.getMessage(), "Header: " + HttpConstants.VENICE_API_VERSION + " is missing");
+    }
+
+    httpRequest = createHttpRequest(SCAN_URI_PREFIX + RESOURCE_NAME + "/0", new ScanRequestV1());
+    int apiVersion = ReadAvroProtocolDefinition.SCAN_REQUEST_V1.getProtocolVersion();
+    httpRequest.headers().set(HttpConstants.VENICE_API_VERSION, apiVersion + 1);
+    try {
+      ScanRequest.parseScanHttpRequest(httpRequest);
+      Assert.fail("Venice Exception was not thrown");
+    } catch (VeniceException e) {
+      Assert.assertEquals(
+          e.getMessage(),
+          "Expected API version: " + apiVersion + ", but received: " + (apiVersion + 1));
+    }
+  }
+
+  private static FullHttpRequest createHttpRequest(String uri, ScanRequestV1 scanRequest) {
+    byte[] content =
+        FastSerializerDeserializerFactory.getAvroGenericSerializer(ScanRequestV1.SCHEMA$).serialize(scanRequest);
+    FullHttpRequest httpRequest =
+        new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, uri, Unpooled.wrappedBuffer(content));
+    httpRequest.headers()
+        .set(HttpConstants.VENICE_API_VERSION, ReadAvroProtocolDefinition.SCAN_REQUEST_V1.getProtocolVersion());
+    return httpRequest;
+  }
+}